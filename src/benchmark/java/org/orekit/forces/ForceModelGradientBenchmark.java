@@ -0,0 +1,161 @@
+/* Copyright 2002-2016 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.forces;
+
+import java.util.concurrent.TimeUnit;
+
+import org.hipparchus.analysis.differentiation.DerivativeStructure;
+import org.hipparchus.geometry.euclidean.threed.FieldRotation;
+import org.hipparchus.geometry.euclidean.threed.FieldVector3D;
+import org.hipparchus.geometry.euclidean.threed.Rotation;
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.orekit.Utils;
+import org.orekit.bodies.CelestialBodyFactory;
+import org.orekit.bodies.OneAxisEllipsoid;
+import org.orekit.errors.OrekitException;
+import org.orekit.forces.drag.DragForce;
+import org.orekit.forces.drag.IsotropicDrag;
+import org.orekit.forces.drag.atmosphere.HarrisPriester;
+import org.orekit.forces.gravity.HolmesFeatherstoneAttractionModel;
+import org.orekit.forces.gravity.NewtonianAttraction;
+import org.orekit.forces.gravity.ThirdBodyAttraction;
+import org.orekit.forces.gravity.potential.GRGSFormatReader;
+import org.orekit.forces.gravity.potential.GravityFieldFactory;
+import org.orekit.forces.radiation.IsotropicRadiationSingleCoefficient;
+import org.orekit.forces.radiation.SolarRadiationPressure;
+import org.orekit.frames.Frame;
+import org.orekit.frames.FramesFactory;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.Constants;
+import org.orekit.utils.Gradient;
+import org.orekit.utils.IERSConventions;
+
+/** Benchmark comparing {@link ForceModel#accelerationGradient accelerationGradient}
+ * with {@link ForceModel#accelerationDerivatives(AbsoluteDate, Frame, FieldVector3D,
+ * FieldVector3D, FieldRotation, DerivativeStructure) accelerationDerivatives}, with
+ * the 7 free parameters used for state transition matrices.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ForceModelGradientBenchmark {
+
+    @Param({"newtonian", "thirdBody", "holmesFeatherstone", "drag", "radiation"})
+    private String model;
+
+    private ForceModel                         forceModel;
+    private AbsoluteDate                       date;
+    private Frame                              frame;
+    private FieldVector3D<DerivativeStructure> positionDS;
+    private FieldVector3D<DerivativeStructure> velocityDS;
+    private FieldRotation<DerivativeStructure> rotationDS;
+    private DerivativeStructure                massDS;
+    private FieldVector3D<Gradient>            positionG;
+    private FieldVector3D<Gradient>            velocityG;
+    private FieldRotation<Gradient>            rotationG;
+    private Gradient                           massG;
+
+    @Setup
+    public void setUp() throws OrekitException {
+        Utils.setDataRoot("regular-data:potential/grgs-format");
+        GravityFieldFactory.addPotentialCoefficientsReader(new GRGSFormatReader("grim4s4_gr", true));
+        final OneAxisEllipsoid earth =
+                new OneAxisEllipsoid(Constants.WGS84_EARTH_EQUATORIAL_RADIUS,
+                                     Constants.WGS84_EARTH_FLATTENING,
+                                     FramesFactory.getITRF(IERSConventions.IERS_2010, true));
+        switch (model) {
+            case "newtonian" :
+                forceModel = new NewtonianAttraction(Constants.EIGEN5C_EARTH_MU);
+                break;
+            case "thirdBody" :
+                forceModel = new ThirdBodyAttraction(CelestialBodyFactory.getMoon());
+                break;
+            case "holmesFeatherstone" :
+                forceModel = new HolmesFeatherstoneAttractionModel(earth.getBodyFrame(),
+                                                                   GravityFieldFactory.getNormalizedProvider(20, 20));
+                break;
+            case "drag" :
+                forceModel = new DragForce(new HarrisPriester(CelestialBodyFactory.getSun(), earth),
+                                           new IsotropicDrag(2.5, 1.2));
+                break;
+            default :
+                forceModel = new SolarRadiationPressure(CelestialBodyFactory.getSun(),
+                                                        Constants.WGS84_EARTH_EQUATORIAL_RADIUS,
+                                                        new IsotropicRadiationSingleCoefficient(2.5, 0.7));
+        }
+
+        date  = new AbsoluteDate(2003, 3, 5, 0, 24, 0.0, TimeScalesFactory.getTAI());
+        frame = FramesFactory.getGCRF();
+        final Vector3D p = new Vector3D(6.46885878304673824e+06, -1.88050918456274318e+06, -1.32931592294715829e+04);
+        final Vector3D v = new Vector3D(2.14718074509906819e+03, 7.38239351251748485e+03, -1.14097953925384523e+01);
+        final Rotation r = Rotation.IDENTITY;
+        final double   m = 1000.0;
+
+        positionDS = new FieldVector3D<DerivativeStructure>(new DerivativeStructure(7, 1, 0, p.getX()),
+                                                            new DerivativeStructure(7, 1, 1, p.getY()),
+                                                            new DerivativeStructure(7, 1, 2, p.getZ()));
+        velocityDS = new FieldVector3D<DerivativeStructure>(new DerivativeStructure(7, 1, 3, v.getX()),
+                                                            new DerivativeStructure(7, 1, 4, v.getY()),
+                                                            new DerivativeStructure(7, 1, 5, v.getZ()));
+        rotationDS = new FieldRotation<DerivativeStructure>(new DerivativeStructure(7, 1, r.getQ0()),
+                                                            new DerivativeStructure(7, 1, r.getQ1()),
+                                                            new DerivativeStructure(7, 1, r.getQ2()),
+                                                            new DerivativeStructure(7, 1, r.getQ3()),
+                                                            false);
+        massDS     = new DerivativeStructure(7, 1, 6, m);
+
+        positionG = new FieldVector3D<Gradient>(Gradient.variable(7, 0, p.getX()),
+                                                Gradient.variable(7, 1, p.getY()),
+                                                Gradient.variable(7, 2, p.getZ()));
+        velocityG = new FieldVector3D<Gradient>(Gradient.variable(7, 3, v.getX()),
+                                                Gradient.variable(7, 4, v.getY()),
+                                                Gradient.variable(7, 5, v.getZ()));
+        rotationG = new FieldRotation<Gradient>(Gradient.constant(7, r.getQ0()),
+                                                Gradient.constant(7, r.getQ1()),
+                                                Gradient.constant(7, r.getQ2()),
+                                                Gradient.constant(7, r.getQ3()),
+                                                false);
+        massG     = Gradient.variable(7, 6, m);
+
+    }
+
+    @Benchmark
+    public FieldVector3D<DerivativeStructure> derivativeStructure() throws OrekitException {
+        return forceModel.accelerationDerivatives(date, frame, positionDS, velocityDS, rotationDS, massDS);
+    }
+
+    @Benchmark
+    public FieldVector3D<Gradient> gradient() throws OrekitException {
+        return forceModel.accelerationGradient(date, frame, positionG, velocityG, rotationG, massG);
+    }
+
+}
@@ -0,0 +1,120 @@
+/* Copyright 2002-2016 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.forces.drag.atmosphere;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hipparchus.util.FastMath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.orekit.SolarInputs97to05;
+import org.orekit.Utils;
+import org.orekit.bodies.CelestialBodyFactory;
+import org.orekit.bodies.OneAxisEllipsoid;
+import org.orekit.errors.OrekitException;
+import org.orekit.frames.FramesFactory;
+import org.orekit.utils.IERSConventions;
+
+/** Benchmark for concurrent {@link DTM2000} density evaluations.
+ * <p>
+ * All threads share the same model instance, each thread evaluating
+ * density along its own slowly drifting path. Throughput per thread
+ * should stay constant as the number of threads increases.
+ * </p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class ConcurrentDTM2000Benchmark {
+
+    @State(Scope.Benchmark)
+    public static class SharedModel {
+
+        private final AtomicInteger threads = new AtomicInteger();
+        private DTM2000 atm;
+
+        @Setup
+        public void setUp() throws OrekitException {
+            Utils.setDataRoot("regular-data");
+            final OneAxisEllipsoid earth =
+                    new OneAxisEllipsoid(6378136.460, 1.0 / 298.257222101,
+                                         FramesFactory.getITRF(IERSConventions.IERS_2010, true));
+            atm = new DTM2000(SolarInputs97to05.getInstance(), CelestialBodyFactory.getSun(), earth);
+        }
+
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadPath {
+
+        private double longitude;
+
+        @Setup
+        public void setUp(final SharedModel shared) {
+            longitude = 0.1 * shared.threads.getAndIncrement();
+        }
+
+    }
+
+    private double density(final SharedModel shared, final ThreadPath path)
+        throws OrekitException {
+        path.longitude = (path.longitude + 1.0e-3) % (2 * FastMath.PI);
+        return shared.atm.getDensity(185, 500000.0, path.longitude, 0.7,
+                                     path.longitude, 150.0, 140.0, 3.0, 2.5);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public double oneThread(final SharedModel shared, final ThreadPath path)
+        throws OrekitException {
+        return density(shared, path);
+    }
+
+    @Benchmark
+    @Threads(2)
+    public double twoThreads(final SharedModel shared, final ThreadPath path)
+        throws OrekitException {
+        return density(shared, path);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public double fourThreads(final SharedModel shared, final ThreadPath path)
+        throws OrekitException {
+        return density(shared, path);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public double maxThreads(final SharedModel shared, final ThreadPath path)
+        throws OrekitException {
+        return density(shared, path);
+    }
+
+}
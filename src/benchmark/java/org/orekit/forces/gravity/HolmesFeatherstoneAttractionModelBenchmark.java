@@ -0,0 +1,102 @@
+/* Copyright 2002-2016 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.forces.gravity;
+
+import java.util.concurrent.TimeUnit;
+
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.orekit.Utils;
+import org.orekit.errors.OrekitException;
+import org.orekit.forces.gravity.potential.GRGSFormatReader;
+import org.orekit.forces.gravity.potential.GravityFieldFactory;
+import org.orekit.frames.FramesFactory;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.IERSConventions;
+
+/** Benchmark for {@link HolmesFeatherstoneAttractionModel} evaluation
+ * in the central body frame, at several degree/order.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HolmesFeatherstoneAttractionModelBenchmark {
+
+    @Param({"2", "8", "20", "60"})
+    private int degree;
+
+    private HolmesFeatherstoneAttractionModel model;
+    private AbsoluteDate                      date;
+    private Vector3D                          position;
+    private double[]                          positions;
+    private double[]                          gradients;
+
+    @Setup
+    public void setUp() throws OrekitException {
+        Utils.setDataRoot("regular-data:potential/grgs-format");
+        GravityFieldFactory.addPotentialCoefficientsReader(new GRGSFormatReader("grim4s4_gr", true));
+        model    = new HolmesFeatherstoneAttractionModel(FramesFactory.getITRF(IERSConventions.IERS_2010, true),
+                                                         GravityFieldFactory.getNormalizedProvider(degree, degree));
+        date     = new AbsoluteDate(2004, 1, 1, 23, 30, 00.000, TimeScalesFactory.getUTC());
+        position = new Vector3D(3220103.0, 69623.0, 6449822.0);
+        positions = new double[3 * 100];
+        gradients = new double[positions.length];
+        for (int i = 0; i < positions.length; i += 3) {
+            final Vector3D p = new Vector3D(0.01 * i, 0.5 + 0.002 * i).scalarMultiply(position.getNorm());
+            positions[i]     = p.getX();
+            positions[i + 1] = p.getY();
+            positions[i + 2] = p.getZ();
+        }
+    }
+
+    @Benchmark
+    public double nonCentralPart() throws OrekitException {
+        return model.nonCentralPart(date, position);
+    }
+
+    @Benchmark
+    public double[] gradient() throws OrekitException {
+        return model.gradient(date, position);
+    }
+
+    @Benchmark
+    public double[] batchGradient() throws OrekitException {
+        // 100 positions per invocation
+        model.gradient(date, positions, positions.length / 3, gradients);
+        return gradients;
+    }
+
+    @Benchmark
+    public HolmesFeatherstoneAttractionModel.GradientHessian gradientHessian() throws OrekitException {
+        return model.gradientHessian(date, position);
+    }
+
+}
@@ -0,0 +1,104 @@
+/* Copyright 2002-2016 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.frames;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.orekit.Utils;
+import org.orekit.errors.OrekitException;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.IERSConventions;
+import org.orekit.utils.OrekitConfiguration;
+
+/** Benchmark for concurrent GCRF to ITRF transforms, comparing
+ * {@link org.orekit.utils.GenericTimeStampedCache generic} and
+ * {@link org.orekit.utils.ConcurrentTimeStampedCache lock-free} caches.
+ * <p>
+ * All threads share the same frames, and each thread computes
+ * transforms at its own slowly drifting date within one day.
+ * </p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@Threads(Threads.MAX)
+public class ConcurrentFramesBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class SharedFrames {
+
+        @Param({"false", "true"})
+        private boolean lockFree;
+
+        private final AtomicInteger threads = new AtomicInteger();
+        private Frame        gcrf;
+        private Frame        itrf;
+        private AbsoluteDate start;
+
+        @Setup
+        public void setUp() throws OrekitException {
+            OrekitConfiguration.setLockFreeCaches(lockFree);
+            Utils.setDataRoot("regular-data");
+            gcrf  = FramesFactory.getGCRF();
+            itrf  = FramesFactory.getITRF(IERSConventions.IERS_2010, false);
+            start = new AbsoluteDate(2004, 6, 1, 0, 0, 00.000, TimeScalesFactory.getUTC());
+        }
+
+        @TearDown
+        public void tearDown() {
+            OrekitConfiguration.setLockFreeCaches(false);
+        }
+
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadDate {
+
+        private double offset;
+
+        @Setup
+        public void setUp(final SharedFrames shared) {
+            offset = 600.0 * shared.threads.getAndIncrement();
+        }
+
+    }
+
+    @Benchmark
+    public Transform gcrfToItrf(final SharedFrames shared, final ThreadDate date)
+        throws OrekitException {
+        date.offset = (date.offset + 0.5) % 86400.0;
+        return shared.gcrf.getTransformTo(shared.itrf, shared.start.shiftedBy(date.offset));
+    }
+
+}
@@ -0,0 +1,92 @@
+/* Copyright 2002-2016 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.frames;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.orekit.Utils;
+import org.orekit.errors.OrekitException;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.IERSConventions;
+
+/** Benchmark for {@link Frame#getTransformTo(Frame, AbsoluteDate)} between
+ * GCRF, ITRF and TEME.
+ * <p>
+ * Each invocation computes transforms for one day with a 60 seconds step,
+ * so the interpolation caches are exercised both on hits and on misses.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FramesBenchmark {
+
+    private static final int    POINTS = 1440;
+    private static final double STEP   = 60.0;
+
+    private Frame        gcrf;
+    private Frame        itrf;
+    private Frame        teme;
+    private AbsoluteDate start;
+
+    @Setup
+    public void setUp() throws OrekitException {
+        Utils.setDataRoot("regular-data");
+        gcrf  = FramesFactory.getGCRF();
+        itrf  = FramesFactory.getITRF(IERSConventions.IERS_2010, true);
+        teme  = FramesFactory.getTEME();
+        start = new AbsoluteDate(2004, 6, 1, 0, 0, 00.000, TimeScalesFactory.getUTC());
+    }
+
+    @Benchmark
+    public void gcrfToItrf(final Blackhole blackhole) throws OrekitException {
+        transforms(gcrf, itrf, blackhole);
+    }
+
+    @Benchmark
+    public void gcrfToTeme(final Blackhole blackhole) throws OrekitException {
+        transforms(gcrf, teme, blackhole);
+    }
+
+    @Benchmark
+    public void temeToItrf(final Blackhole blackhole) throws OrekitException {
+        transforms(teme, itrf, blackhole);
+    }
+
+    private void transforms(final Frame from, final Frame to, final Blackhole blackhole)
+        throws OrekitException {
+        for (int i = 0; i < POINTS; ++i) {
+            blackhole.consume(from.getTransformTo(to, start.shiftedBy(i * STEP)));
+        }
+    }
+
+}
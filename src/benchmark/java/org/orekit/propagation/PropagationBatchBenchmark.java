@@ -0,0 +1,95 @@
+/* Copyright 2002-2016 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.orekit.Utils;
+import org.orekit.errors.OrekitException;
+import org.orekit.propagation.analytical.tle.TLE;
+import org.orekit.propagation.analytical.tle.TLEPropagator;
+import org.orekit.time.AbsoluteDate;
+
+/** Benchmark for {@link PropagationBatch}, compared to a sequential loop.
+ * <p>
+ * Each invocation propagates a catalog of TLE objects over one day,
+ * sampled on a common 10 minutes grid.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PropagationBatchBenchmark {
+
+    private static final double DURATION = 86400.0;
+    private static final double STEP     = 600.0;
+
+    @Param({"1000"})
+    private int size;
+
+    private TLE[]        catalog;
+    private AbsoluteDate target;
+
+    @Setup
+    public void setUp() throws OrekitException {
+        Utils.setDataRoot("regular-data");
+        final TLE leo = new TLE("1 27421U 02021A   02124.48976499 -.00021470  00000-0 -89879-2 0    20",
+                                "2 27421  98.7490 199.5121 0001333 133.9522 226.1918 14.26113993    62");
+        final TLE deep = new TLE("1 04632U 70093B   04031.91070959 -.00000084  00000-0  10000-3 0  9955",
+                                 "2 04632  11.4628 273.1101 1450506 207.6000 143.9350  1.20231981 44145");
+        catalog = new TLE[size];
+        for (int i = 0; i < size; ++i) {
+            catalog[i] = (i % 10 == 0) ? deep : leo;
+        }
+        target = leo.getDate().shiftedBy(DURATION);
+    }
+
+    @Benchmark
+    public void sequential(final Blackhole blackhole) throws OrekitException {
+        for (final TLE tle : catalog) {
+            final Propagator propagator = TLEPropagator.selectExtrapolator(tle);
+            propagator.setMasterMode(STEP, (currentState, isLast) -> blackhole.consume(currentState));
+            blackhole.consume(propagator.propagate(target));
+        }
+    }
+
+    @Benchmark
+    public void batch(final Blackhole blackhole) throws OrekitException {
+        final PropagationBatch batch = new PropagationBatch();
+        for (final TLE tle : catalog) {
+            batch.addPropagator(TLEPropagator.selectExtrapolator(tle), target);
+        }
+        batch.setStepHandler(STEP, (index, currentState, isLast) -> blackhole.consume(currentState));
+        blackhole.consume(batch.propagate());
+    }
+
+}
@@ -0,0 +1,96 @@
+/* Copyright 2002-2016 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.analytical;
+
+import java.util.concurrent.TimeUnit;
+
+import org.hipparchus.util.FastMath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.orekit.Utils;
+import org.orekit.errors.OrekitException;
+import org.orekit.forces.gravity.potential.GravityFieldFactory;
+import org.orekit.forces.gravity.potential.UnnormalizedSphericalHarmonicsProvider;
+import org.orekit.frames.FramesFactory;
+import org.orekit.orbits.KeplerianOrbit;
+import org.orekit.orbits.Orbit;
+import org.orekit.orbits.PositionAngle;
+import org.orekit.propagation.Propagator;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScalesFactory;
+
+/** Benchmark for {@link KeplerianPropagator} and {@link EcksteinHechlerPropagator}.
+ * <p>
+ * Each invocation propagates one day of orbit with a 60 seconds output step.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AnalyticalPropagatorBenchmark {
+
+    private static final int    POINTS = 1440;
+    private static final double STEP   = 60.0;
+
+    private AbsoluteDate start;
+    private Propagator   keplerian;
+    private Propagator   ecksteinHechler;
+
+    @Setup
+    public void setUp() throws OrekitException {
+        Utils.setDataRoot("regular-data:potential/icgem-format");
+        final UnnormalizedSphericalHarmonicsProvider provider =
+                GravityFieldFactory.getUnnormalizedProvider(6, 0);
+        start = new AbsoluteDate(2004, 1, 1, 23, 30, 00.000, TimeScalesFactory.getUTC());
+        final Orbit orbit = new KeplerianOrbit(7200000.0, 0.001, FastMath.toRadians(98.0),
+                                               FastMath.toRadians(42.0), FastMath.toRadians(12.0),
+                                               FastMath.toRadians(3.0), PositionAngle.MEAN,
+                                               FramesFactory.getEME2000(), start, provider.getMu());
+        keplerian       = new KeplerianPropagator(orbit);
+        ecksteinHechler = new EcksteinHechlerPropagator(orbit, provider);
+    }
+
+    @Benchmark
+    public void keplerian(final Blackhole blackhole) throws OrekitException {
+        propagate(keplerian, blackhole);
+    }
+
+    @Benchmark
+    public void ecksteinHechler(final Blackhole blackhole) throws OrekitException {
+        propagate(ecksteinHechler, blackhole);
+    }
+
+    private void propagate(final Propagator propagator, final Blackhole blackhole)
+        throws OrekitException {
+        for (int i = 0; i < POINTS; ++i) {
+            blackhole.consume(propagator.propagate(start.shiftedBy(i * STEP)));
+        }
+    }
+
+}
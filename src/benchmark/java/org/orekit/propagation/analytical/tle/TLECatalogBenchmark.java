@@ -0,0 +1,95 @@
+/* Copyright 2002-2016 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.analytical.tle;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.orekit.Utils;
+import org.orekit.errors.OrekitException;
+import org.orekit.time.AbsoluteDate;
+
+/** Benchmark for {@link TLECatalog}, compared to one {@link TLEPropagator} per object.
+ * <p>
+ * Each invocation evaluates a catalog of 1000 near Earth objects
+ * over one day with a 60 seconds step.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TLECatalogBenchmark {
+
+    private static final int    SIZE   = 1000;
+    private static final int    POINTS = 1440;
+    private static final double STEP   = 60.0;
+
+    private List<TLEPropagator> propagators;
+    private TLECatalog          catalog;
+    private double[]            buffer;
+    private AbsoluteDate        start;
+
+    @Setup
+    public void setUp() throws OrekitException {
+        Utils.setDataRoot("regular-data");
+        final TLE tle = new TLE("1 27421U 02021A   02124.48976499 -.00021470  00000-0 -89879-2 0    20",
+                                "2 27421  98.7490 199.5121 0001333 133.9522 226.1918 14.26113993    62");
+        final List<TLE> tles = new ArrayList<TLE>();
+        propagators = new ArrayList<TLEPropagator>();
+        for (int i = 0; i < SIZE; ++i) {
+            tles.add(tle);
+            propagators.add(TLEPropagator.selectExtrapolator(tle));
+        }
+        catalog = new TLECatalog(tles);
+        buffer  = new double[TLECatalog.COMPONENTS * SIZE];
+        start   = tle.getDate();
+    }
+
+    @Benchmark
+    public void propagators(final Blackhole blackhole) throws OrekitException {
+        for (int i = 0; i < POINTS; ++i) {
+            final AbsoluteDate date = start.shiftedBy(i * STEP);
+            for (final TLEPropagator propagator : propagators) {
+                blackhole.consume(propagator.getPVCoordinates(date));
+            }
+        }
+    }
+
+    @Benchmark
+    public void catalog(final Blackhole blackhole) {
+        for (int i = 0; i < POINTS; ++i) {
+            blackhole.consume(catalog.getPVCoordinates(start.shiftedBy(i * STEP), buffer));
+        }
+        blackhole.consume(buffer);
+    }
+
+}
@@ -0,0 +1,94 @@
+/* Copyright 2002-2016 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.analytical.tle;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.orekit.Utils;
+import org.orekit.errors.OrekitException;
+import org.orekit.time.AbsoluteDate;
+
+/** Benchmark for {@link TLEPropagator}, in both near Earth (SGP4)
+ * and deep space (SDP4) modes.
+ * <p>
+ * Each invocation propagates one day with a 60 seconds output step,
+ * both through the {@link TLEPropagator#getPVCoordinates(AbsoluteDate)
+ * raw position-velocity} path and through the full {@link
+ * TLEPropagator#propagate(AbsoluteDate) spacecraft state} path.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TLEPropagatorBenchmark {
+
+    private static final int    POINTS = 1440;
+    private static final double STEP   = 60.0;
+
+    @Param({"SGP4", "SDP4"})
+    private String model;
+
+    private TLEPropagator propagator;
+    private AbsoluteDate  start;
+
+    @Setup
+    public void setUp() throws OrekitException {
+        Utils.setDataRoot("regular-data");
+        final TLE tle;
+        if ("SGP4".equals(model)) {
+            // SPOT 5, low Earth orbit
+            tle = new TLE("1 27421U 02021A   02124.48976499 -.00021470  00000-0 -89879-2 0    20",
+                          "2 27421  98.7490 199.5121 0001333 133.9522 226.1918 14.26113993    62");
+        } else {
+            // geosynchronous transfer debris, deep space orbit
+            tle = new TLE("1 04632U 70093B   04031.91070959 -.00000084  00000-0  10000-3 0  9955",
+                          "2 04632  11.4628 273.1101 1450506 207.6000 143.9350  1.20231981 44145");
+        }
+        propagator = TLEPropagator.selectExtrapolator(tle);
+        start      = tle.getDate();
+    }
+
+    @Benchmark
+    public void pvCoordinates(final Blackhole blackhole) throws OrekitException {
+        for (int i = 0; i < POINTS; ++i) {
+            blackhole.consume(propagator.getPVCoordinates(start.shiftedBy(i * STEP)));
+        }
+    }
+
+    @Benchmark
+    public void spacecraftState(final Blackhole blackhole) throws OrekitException {
+        for (int i = 0; i < POINTS; ++i) {
+            blackhole.consume(propagator.propagate(start.shiftedBy(i * STEP)));
+        }
+    }
+
+}
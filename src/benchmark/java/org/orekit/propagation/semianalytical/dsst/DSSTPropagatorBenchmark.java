@@ -0,0 +1,105 @@
+/* Copyright 2002-2016 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.semianalytical.dsst;
+
+import java.util.concurrent.TimeUnit;
+
+import org.hipparchus.ode.nonstiff.AdaptiveStepsizeIntegrator;
+import org.hipparchus.ode.nonstiff.DormandPrince853Integrator;
+import org.hipparchus.util.FastMath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.orekit.Utils;
+import org.orekit.bodies.CelestialBodyFactory;
+import org.orekit.errors.OrekitException;
+import org.orekit.forces.gravity.potential.GravityFieldFactory;
+import org.orekit.forces.gravity.potential.UnnormalizedSphericalHarmonicsProvider;
+import org.orekit.frames.Frame;
+import org.orekit.frames.FramesFactory;
+import org.orekit.orbits.KeplerianOrbit;
+import org.orekit.orbits.Orbit;
+import org.orekit.orbits.PositionAngle;
+import org.orekit.propagation.SpacecraftState;
+import org.orekit.propagation.semianalytical.dsst.forces.DSSTThirdBody;
+import org.orekit.propagation.semianalytical.dsst.forces.DSSTTesseral;
+import org.orekit.propagation.semianalytical.dsst.forces.DSSTZonal;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.Constants;
+
+/** Benchmark for {@link DSSTPropagator} with zonal, tesseral and third body
+ * force models, in both mean and osculating output modes.
+ * <p>
+ * Each invocation propagates a GPS-like orbit over five days.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DSSTPropagatorBenchmark {
+
+    @Param({"true", "false"})
+    private boolean meanOnly;
+
+    private DSSTPropagator  propagator;
+    private SpacecraftState initialState;
+
+    @Setup
+    public void setUp() throws OrekitException {
+        Utils.setDataRoot("regular-data:potential/icgem-format");
+        final UnnormalizedSphericalHarmonicsProvider provider =
+                GravityFieldFactory.getUnnormalizedProvider(4, 4);
+        final Frame earthFrame = CelestialBodyFactory.getEarth().getBodyOrientedFrame();
+        final AbsoluteDate date = new AbsoluteDate(2003, 4, 16, 0, 46, 42.400, TimeScalesFactory.getUTC());
+        final Orbit orbit = new KeplerianOrbit(26559890., 0.0041632, FastMath.toRadians(55.2),
+                                               FastMath.toRadians(315.4985), FastMath.toRadians(130.7562),
+                                               FastMath.toRadians(44.2377), PositionAngle.MEAN,
+                                               FramesFactory.getEME2000(), date, provider.getMu());
+        initialState = new SpacecraftState(orbit);
+
+        final double minStep = orbit.getKeplerianPeriod();
+        final double[][] tolerances = DSSTPropagator.tolerances(1.0, orbit);
+        final AdaptiveStepsizeIntegrator integrator =
+                new DormandPrince853Integrator(minStep, 100 * minStep, tolerances[0], tolerances[1]);
+        propagator = new DSSTPropagator(integrator, meanOnly);
+        propagator.addForceModel(new DSSTZonal(provider, 4, 3, 9));
+        propagator.addForceModel(new DSSTTesseral(earthFrame, Constants.WGS84_EARTH_ANGULAR_VELOCITY, provider,
+                                                  4, 4, 4, 8, 4, 4, 2));
+        propagator.addForceModel(new DSSTThirdBody(CelestialBodyFactory.getSun()));
+        propagator.addForceModel(new DSSTThirdBody(CelestialBodyFactory.getMoon()));
+
+    }
+
+    @Benchmark
+    public SpacecraftState propagate() throws OrekitException {
+        propagator.setInitialState(initialState, true);
+        return propagator.propagate(initialState.getDate().shiftedBy(5 * Constants.JULIAN_DAY));
+    }
+
+}
@@ -0,0 +1,83 @@
+/* Copyright 2002-2016 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.time;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.orekit.Utils;
+import org.orekit.errors.OrekitException;
+
+/** Benchmark for {@link AbsoluteDate} arithmetic and conversions.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AbsoluteDateBenchmark {
+
+    private TimeScale    utc;
+    private AbsoluteDate date1;
+    private AbsoluteDate date2;
+    private double       dt;
+
+    @Setup
+    public void setUp() throws OrekitException {
+        Utils.setDataRoot("regular-data");
+        utc   = TimeScalesFactory.getUTC();
+        date1 = new AbsoluteDate(2004, 6, 1, 0, 0, 00.000, utc);
+        date2 = new AbsoluteDate(2004, 6, 3, 12, 34, 56.789, utc);
+        dt    = 123.456789;
+    }
+
+    @Benchmark
+    public AbsoluteDate shiftedBy() {
+        return date1.shiftedBy(dt);
+    }
+
+    @Benchmark
+    public double durationFrom() {
+        return date2.durationFrom(date1);
+    }
+
+    @Benchmark
+    public int compareTo() {
+        return date1.compareTo(date2);
+    }
+
+    @Benchmark
+    public AbsoluteDate fromComponents() {
+        return new AbsoluteDate(2004, 6, 3, 12, 34, 56.789, utc);
+    }
+
+    @Benchmark
+    public DateTimeComponents toComponents() {
+        return date2.getComponents(utc);
+    }
+
+}
@@ -0,0 +1,195 @@
+/* Copyright 2002-2016 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.bodies;
+
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.frames.Frame;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.TimeStampedPVCoordinates;
+
+/** Celestial body wrapper caching position-velocity lookups.
+ * <p>
+ * Several models (third body attraction, solar radiation pressure,
+ * eclipse detectors, attitude laws...) often request the position of
+ * the same body (typically Sun and Moon) at the same date and in the same
+ * frame, each request involving ephemerides evaluation and frames transforms.
+ * This wrapper stores the last computed position-velocity coordinates in a
+ * bounded table of slots indexed by date and frame, so repeated lookups are
+ * almost free. The table is thread-safe and lock-free: slots hold immutable
+ * entries that are replaced atomically, a concurrent replacement merely
+ * losing an entry that will be recomputed if needed again.
+ * </p>
+ * <p>
+ * Cached coordinates are exactly the ones computed by the wrapped body, no
+ * interpolation is involved, so results are identical to the non-cached ones.
+ * </p>
+ * @see CelestialBodyFactory#setCelestialBodiesCacheSlots(int)
+ * @author Luc Maisonobe
+ * @since 9.0
+ */
+public class CachedCelestialBody implements CelestialBody {
+
+    /** Serializable UID. */
+    private static final long serialVersionUID = 20170205L;
+
+    /** Multiplier for hash codes mixing. */
+    private static final int MIX = 0x9E3779B9;
+
+    /** Wrapped body. */
+    private final CelestialBody body;
+
+    /** Cache slots. */
+    private final transient AtomicReferenceArray<Entry> slots;
+
+    /** Simple constructor.
+     * @param body wrapped body
+     * @param nbSlots number of cache slots
+     */
+    public CachedCelestialBody(final CelestialBody body, final int nbSlots) {
+        if (nbSlots < 1) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL, nbSlots, 1);
+        }
+        this.body  = body;
+        this.slots = new AtomicReferenceArray<Entry>(nbSlots);
+    }
+
+    /** Get the wrapped body.
+     * @return wrapped body
+     */
+    public CelestialBody getBody() {
+        return body;
+    }
+
+    /** Get the number of cache slots.
+     * @return number of cache slots
+     */
+    public int getSlots() {
+        return slots.length();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public TimeStampedPVCoordinates getPVCoordinates(final AbsoluteDate date, final Frame frame)
+        throws OrekitException {
+
+        // look for an already computed entry
+        final int h     = (date.hashCode() ^ System.identityHashCode(frame)) * MIX;
+        final int index = ((h ^ (h >>> 16)) & Integer.MAX_VALUE) % slots.length();
+        final Entry entry = slots.get(index);
+        if (entry != null && entry.frame == frame && entry.date.equals(date)) {
+            return entry.pv;
+        }
+
+        // compute and store a new entry
+        final TimeStampedPVCoordinates pv = body.getPVCoordinates(date, frame);
+        slots.set(index, new Entry(date, frame, pv));
+        return pv;
+
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Frame getInertiallyOrientedFrame() throws OrekitException {
+        return body.getInertiallyOrientedFrame();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Frame getBodyOrientedFrame() throws OrekitException {
+        return body.getBodyOrientedFrame();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String getName() {
+        return body.getName();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double getGM() {
+        return body.getGM();
+    }
+
+    /** Replace the instance with a data transfer object for serialization.
+     * @return data transfer object that will be serialized
+     */
+    private Object writeReplace() {
+        return new DataTransferObject(body, slots.length());
+    }
+
+    /** Cache entry. */
+    private static class Entry {
+
+        /** Date of the entry. */
+        private final AbsoluteDate date;
+
+        /** Frame of the entry. */
+        private final Frame frame;
+
+        /** Cached coordinates. */
+        private final TimeStampedPVCoordinates pv;
+
+        /** Simple constructor.
+         * @param date date of the entry
+         * @param frame frame of the entry
+         * @param pv cached coordinates
+         */
+        Entry(final AbsoluteDate date, final Frame frame, final TimeStampedPVCoordinates pv) {
+            this.date  = date;
+            this.frame = frame;
+            this.pv    = pv;
+        }
+
+    }
+
+    /** Internal class used only for serialization. */
+    private static class DataTransferObject implements Serializable {
+
+        /** Serializable UID. */
+        private static final long serialVersionUID = 20170205L;
+
+        /** Wrapped body. */
+        private final CelestialBody body;
+
+        /** Number of cache slots. */
+        private final int nbSlots;
+
+        /** Simple constructor.
+         * @param body wrapped body
+         * @param nbSlots number of cache slots
+         */
+        DataTransferObject(final CelestialBody body, final int nbSlots) {
+            this.body    = body;
+            this.nbSlots = nbSlots;
+        }
+
+        /** Replace the deserialized data transfer object with a {@link CachedCelestialBody}.
+         * @return replacement {@link CachedCelestialBody}
+         */
+        private Object readResolve() {
+            return new CachedCelestialBody(body, nbSlots);
+        }
+
+    }
+
+}
@@ -21,7 +21,9 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.hipparchus.exception.LocalizedCoreFormats;
 import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
 import org.orekit.errors.OrekitMessages;
 
 /** Factory class for bodies of the solar system.
@@ -121,6 +123,9 @@ public class CelestialBodyFactory {
     private static final Map<String, CelestialBody> CELESTIAL_BODIES_MAP =
         new HashMap<String, CelestialBody>();
 
+    /** Number of position-velocity cache slots for loaded bodies (0 if bodies are not wrapped). */
+    private static int cacheSlots = 0;
+
     /** Private constructor.
      * <p>This class is a utility class, it should neither have a public
      * nor a default constructor. This private constructor prevents
@@ -307,6 +312,45 @@ public class CelestialBodyFactory {
         }
     }
 
+    /** Set the number of position-velocity cache slots for celestial bodies.
+     * <p>
+     * If the number of slots is strictly positive, bodies returned by the
+     * factory are {@link CachedCelestialBody wrapped} in a thread-safe cache
+     * so repeated position-velocity lookups at the same date and in the same
+     * frame (for example from several force models and event detectors
+     * during one integration step) are almost free. If the number of slots
+     * is 0, which is the default, bodies are returned as provided by the loaders.
+     * </p>
+     * <p>
+     * Calling this method clears all loaded celestial bodies, as if {@link
+     * #clearCelestialBodyCache()} was called, so subsequent calls to {@link
+     * #getBody(String)} return bodies consistent with the setting.
+     * </p>
+     * @param slots number of cache slots (0 to disable caching)
+     * @see #getCelestialBodiesCacheSlots()
+     * @since 9.0
+     */
+    public static void setCelestialBodiesCacheSlots(final int slots) {
+        if (slots < 0) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL, slots, 0);
+        }
+        synchronized (CELESTIAL_BODIES_MAP) {
+            CELESTIAL_BODIES_MAP.clear();
+            cacheSlots = slots;
+        }
+    }
+
+    /** Get the number of position-velocity cache slots for celestial bodies.
+     * @return number of cache slots (0 if caching is disabled)
+     * @see #setCelestialBodiesCacheSlots(int)
+     * @since 9.0
+     */
+    public static int getCelestialBodiesCacheSlots() {
+        synchronized (CELESTIAL_BODIES_MAP) {
+            return cacheSlots;
+        }
+    }
+
     /** Get the solar system barycenter aggregated body.
      * @return solar system barycenter aggregated body
      * @exception OrekitException if the celestial body cannot be built
@@ -457,6 +501,11 @@ public class CelestialBodyFactory {
 
                 }
 
+                if (cacheSlots > 0) {
+                    // wrap the body in a position-velocity cache
+                    body = new CachedCelestialBody(body, cacheSlots);
+                }
+
                 // save the body
                 CELESTIAL_BODIES_MAP.put(name, body);
 
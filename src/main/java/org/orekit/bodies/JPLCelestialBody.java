@@ -281,7 +281,10 @@ class JPLCelestialBody implements CelestialBody {
             try {
                 // first try to use the factory, in order to avoid building a new instance
                 // each time we deserialize and have the object properly cached
-                final CelestialBody factoryProvided = CelestialBodyFactory.getBody(name);
+                CelestialBody factoryProvided = CelestialBodyFactory.getBody(name);
+                if (factoryProvided instanceof CachedCelestialBody) {
+                    factoryProvided = ((CachedCelestialBody) factoryProvided).getBody();
+                }
                 if (factoryProvided instanceof JPLCelestialBody) {
                     final JPLCelestialBody jplBody = (JPLCelestialBody) factoryProvided;
                     if (supportedNames.equals(jplBody.supportedNames) && generateType == jplBody.generateType) {
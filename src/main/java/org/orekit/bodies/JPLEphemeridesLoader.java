@@ -16,11 +16,17 @@
  */
 package org.orekit.bodies;
 
+import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
 import java.text.ParseException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
@@ -29,6 +35,7 @@ import java.util.SortedSet;
 import java.util.TreeSet;
 import java.util.concurrent.atomic.AtomicReference;
 
+import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.util.FastMath;
 import org.orekit.data.DataLoader;
 import org.orekit.data.DataProvidersManager;
@@ -65,6 +72,15 @@ import org.orekit.utils.TimeStampedGenerator;
  * Usually, big-endian files contain <code>bigendian</code> in their names, while little-endian files
  * contain <code>littleendian</code> in their names.</p>
  * <p>The loader supports files in TDB or TCB time scales.</p>
+ * <p>Loaders built with the {@link #JPLEphemeridesLoader(String, EphemerisType)
+ * supported names constructor} read the files as streams through the {@link
+ * DataProvidersManager} and keep the parsed Chebyshev polynomials in a cache.
+ * Loaders built with the {@link #JPLEphemeridesLoader(EphemerisType, File...)
+ * files constructor} memory-map the (uncompressed) files instead, and evaluate
+ * the Chebyshev polynomials directly from the mapped data, the record covering
+ * a date being located by simple arithmetic on its index. This second mode does
+ * not parse anything after the headers and does not hold any coefficient in heap
+ * memory, which is interesting for long propagations.</p>
  * @author Luc Maisonobe
  */
 public class JPLEphemeridesLoader implements CelestialBodyLoader {
@@ -186,9 +202,15 @@ public class JPLEphemeridesLoader implements CelestialBodyLoader {
     /** Regular expression for supported files names. */
     private final String supportedNames;
 
-    /** Ephemeris for selected body. */
+    /** Memory-mapped files (null if files are read as streams). */
+    private final File[] files;
+
+    /** Ephemeris for selected body (null if files are memory-mapped). */
     private final GenericTimeStampedCache<PosVelChebyshev> ephemerides;
 
+    /** Memory-mapped segments, sorted by start epoch (null if files are read as streams). */
+    private final List<MappedSegment> segments;
+
     /** Constants defined in the file. */
     private final AtomicReference<Map<String, Double>> constants;
 
@@ -240,25 +262,102 @@ public class JPLEphemeridesLoader implements CelestialBodyLoader {
         throws OrekitException {
 
         this.supportedNames = supportedNames;
+        this.files          = null;
         constants = new AtomicReference<Map<String, Double>>();
 
         this.generateType  = generateType;
-        if (generateType == EphemerisType.SOLAR_SYSTEM_BARYCENTER) {
-            loadType = EphemerisType.EARTH_MOON;
-        } else if (generateType == EphemerisType.EARTH_MOON) {
-            loadType = EphemerisType.MOON;
-        } else {
-            loadType = generateType;
-        }
+        this.loadType      = getLoadType(generateType);
 
         ephemerides = new GenericTimeStampedCache<PosVelChebyshev>(2, OrekitConfiguration.getCacheSlotsNumber(),
                 Double.POSITIVE_INFINITY, FIFTY_DAYS,
                 new EphemerisParser(), PosVelChebyshev.class);
+        segments          = null;
         maxChunksDuration = Double.NaN;
         chunksDuration    = Double.NaN;
 
     }
 
+    /** Create a loader for memory-mapped JPL ephemerides binary files.
+     * <p>
+     * The files are mapped in memory and only their headers are parsed at
+     * construction. The Chebyshev coefficients are read from the mapped data
+     * only when positions are requested. The files must therefore be regular
+     * uncompressed files, they are not retrieved through the {@link DataProvidersManager}.
+     * </p>
+     * <p>
+     * Celestial bodies loaded by this loader are serialized using a regular expression
+     * matching the files names, so they can be deserialized only if files with the same
+     * names are available to the {@link DataProvidersManager}.
+     * </p>
+     * @param generateType ephemeris type to generate
+     * @param files JPL ephemerides binary files (may overlap, but should cover
+     * the time range of interest without gaps)
+     * @exception OrekitException if no files are provided or if files cannot be
+     * mapped or are not JPL ephemerides binary files
+     * @since 9.0
+     */
+    public JPLEphemeridesLoader(final EphemerisType generateType, final File ... files)
+        throws OrekitException {
+
+        if (files.length == 0) {
+            throw new OrekitException(OrekitMessages.NO_JPL_EPHEMERIDES_BINARY_FILES_FOUND);
+        }
+
+        final StringBuilder builder = new StringBuilder();
+        for (final File file : files) {
+            builder.append(builder.length() == 0 ? "^(?:" : "|");
+            builder.append("\\Q").append(file.getName()).append("\\E");
+        }
+        this.supportedNames = builder.append(")$").toString();
+        this.files          = files.clone();
+        constants = new AtomicReference<Map<String, Double>>();
+
+        this.generateType  = generateType;
+        this.loadType      = getLoadType(generateType);
+
+        ephemerides       = null;
+        maxChunksDuration = Double.NaN;
+        chunksDuration    = Double.NaN;
+
+        final List<MappedSegment> mapped = new ArrayList<MappedSegment>(files.length);
+        for (final File file : files) {
+            mapped.add(mapSegment(file));
+        }
+        Collections.sort(mapped, new Comparator<MappedSegment>() {
+            /** {@inheritDoc} */
+            public int compare(final MappedSegment s1, final MappedSegment s2) {
+                return s1.start.compareTo(s2.start);
+            }
+        });
+        segments = mapped;
+
+    }
+
+    /** Get the ephemeris type to load for an ephemeris type to generate.
+     * @param generateType ephemeris type to generate
+     * @return ephemeris type to load
+     */
+    private static EphemerisType getLoadType(final EphemerisType generateType) {
+        if (generateType == EphemerisType.SOLAR_SYSTEM_BARYCENTER) {
+            return EphemerisType.EARTH_MOON;
+        } else if (generateType == EphemerisType.EARTH_MOON) {
+            return EphemerisType.MOON;
+        } else {
+            return generateType;
+        }
+    }
+
+    /** Create a loader for another ephemeris type, using the same files as the instance.
+     * @param type ephemeris type to generate
+     * @return loader for the specified type
+     * @exception OrekitException if the header constants cannot be read
+     */
+    private JPLEphemeridesLoader createLoader(final EphemerisType type) throws OrekitException {
+        return (files == null) ?
+               new JPLEphemeridesLoader(supportedNames, type) :
+               new JPLEphemeridesLoader(type, files);
+    }
+
     /** Load celestial body.
      * @param name name of the celestial body
      * @return loaded celestial body
@@ -274,18 +373,17 @@ public class JPLEphemeridesLoader implements CelestialBodyLoader {
         switch (generateType) {
             case SOLAR_SYSTEM_BARYCENTER : {
                 scale = -1.0;
-                final JPLEphemeridesLoader parentLoader =
-                        new JPLEphemeridesLoader(supportedNames, EphemerisType.EARTH_MOON);
+                final JPLEphemeridesLoader parentLoader = createLoader(EphemerisType.EARTH_MOON);
                 final CelestialBody parentBody =
                         parentLoader.loadCelestialBody(CelestialBodyFactory.EARTH_MOON);
                 definingFrameAlignedWithICRF = parentBody.getInertiallyOrientedFrame();
-                rawPVProvider = new EphemerisRawPVProvider();
+                rawPVProvider = createRawPVProvider();
                 break;
             }
             case EARTH_MOON :
                 scale         = 1.0 / (1.0 + getLoadedEarthMoonMassRatio());
                 definingFrameAlignedWithICRF =  FramesFactory.getGCRF();
-                rawPVProvider = new EphemerisRawPVProvider();
+                rawPVProvider = createRawPVProvider();
                 break;
             case EARTH :
                 scale         = 1.0;
@@ -295,16 +393,15 @@ public class JPLEphemeridesLoader implements CelestialBodyLoader {
             case MOON :
                 scale         =  1.0;
                 definingFrameAlignedWithICRF =  FramesFactory.getGCRF();
-                rawPVProvider = new EphemerisRawPVProvider();
+                rawPVProvider = createRawPVProvider();
                 break;
             default : {
                 scale = 1.0;
-                final JPLEphemeridesLoader parentLoader =
-                        new JPLEphemeridesLoader(supportedNames, EphemerisType.SOLAR_SYSTEM_BARYCENTER);
+                final JPLEphemeridesLoader parentLoader = createLoader(EphemerisType.SOLAR_SYSTEM_BARYCENTER);
                 final CelestialBody parentBody =
                         parentLoader.loadCelestialBody(CelestialBodyFactory.SOLAR_SYSTEM_BARYCENTER);
                 definingFrameAlignedWithICRF = parentBody.getInertiallyOrientedFrame();
-                rawPVProvider = new EphemerisRawPVProvider();
+                rawPVProvider = createRawPVProvider();
             }
         }
 
@@ -314,6 +411,13 @@ public class JPLEphemeridesLoader implements CelestialBodyLoader {
 
     }
 
+    /** Create the raw position-velocity provider using ephemeris.
+     * @return raw position-velocity provider
+     */
+    private RawPVProvider createRawPVProvider() {
+        return (segments == null) ? new EphemerisRawPVProvider() : new MappedRawPVProvider();
+    }
+
     /** Get astronomical unit.
      * @return astronomical unit in meters
      * @exception OrekitException if constants cannot be loaded
@@ -525,6 +629,91 @@ public class JPLEphemeridesLoader implements CelestialBodyLoader {
 
     }
 
+    /** Check and parse the two header records.
+     * @param first first header record
+     * @param second second header record
+     * @param name name of the file (or zip entry)
+     * @exception OrekitException if the header is not a JPL ephemerides binary file header
+     * or is not consistent with already loaded files
+     */
+    private void parseHeaderRecords(final byte[] first, final byte[] second, final String name)
+        throws OrekitException {
+
+        if (constants.get() == null) {
+            constants.compareAndSet(null, parseConstants(first, second, name));
+        }
+
+        // check astronomical unit consistency
+        final double au = 1000 * extractDouble(first, HEADER_ASTRONOMICAL_UNIT_OFFSET);
+        if ((au < 1.4e11) || (au > 1.6e11)) {
+            throw new OrekitException(OrekitMessages.NOT_A_JPL_EPHEMERIDES_BINARY_FILE, name);
+        }
+        if (FastMath.abs(getLoadedAstronomicalUnit() - au) >= 10.0) {
+            throw new OrekitException(OrekitMessages.INCONSISTENT_ASTRONOMICAL_UNIT_IN_FILES,
+                                      getLoadedAstronomicalUnit(), au);
+        }
+
+        // check Earth-Moon mass ratio consistency
+        final double emRat = extractDouble(first, HEADER_EM_RATIO_OFFSET);
+        if ((emRat < 80) || (emRat > 82)) {
+            throw new OrekitException(OrekitMessages.NOT_A_JPL_EPHEMERIDES_BINARY_FILE, name);
+        }
+        if (FastMath.abs(getLoadedEarthMoonMassRatio() - emRat) >= 1.0e-5) {
+            throw new OrekitException(OrekitMessages.INCONSISTENT_EARTH_MOON_RATIO_IN_FILES,
+                                      getLoadedEarthMoonMassRatio(), emRat);
+        }
+
+        // parse first header record
+        parseFirstHeaderRecord(first, name);
+
+    }
+
+    /** Map a file in memory.
+     * @param file file to map
+     * @return mapped segment
+     * @exception OrekitException if the file cannot be mapped or is not
+     * a JPL ephemerides binary file
+     */
+    private MappedSegment mapSegment(final File file) throws OrekitException {
+
+        if (!file.isFile()) {
+            throw new OrekitException(OrekitMessages.UNABLE_TO_FIND_FILE, file.getAbsolutePath());
+        }
+
+        try (FileInputStream input = new FileInputStream(file)) {
+
+            // read and parse header records
+            final String name   = file.getName();
+            final byte[] first  = readFirstRecord(input, name);
+            final byte[] second = new byte[first.length];
+            if (!readInRecord(input, second, 0)) {
+                throw new OrekitException(OrekitMessages.UNABLE_TO_READ_JPL_HEADER, name);
+            }
+            parseHeaderRecords(first, second, name);
+
+            // map the data records, using several buffers for huge files
+            // (a mapping remains valid after the channel has been closed)
+            final int  recordSize     = first.length;
+            final long nbRecords      = file.length() / recordSize;
+            final int  perBuffer      = Integer.MAX_VALUE / recordSize;
+            final int  nbBuffers      = (int) ((nbRecords + perBuffer - 1) / perBuffer);
+            final ByteBuffer[] buffers = new ByteBuffer[nbBuffers];
+            final FileChannel channel = input.getChannel();
+            for (int i = 0; i < nbBuffers; ++i) {
+                final long offset = ((long) i) * perBuffer * recordSize;
+                final long size   = FastMath.min(nbRecords * recordSize - offset, ((long) perBuffer) * recordSize);
+                buffers[i] = channel.map(FileChannel.MapMode.READ_ONLY, offset, size).
+                             order(bigEndian ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN);
+            }
+
+            return new MappedSegment(buffers, perBuffer, recordSize, (int) nbRecords - 2);
+
+        } catch (IOException ioe) {
+            throw new OrekitException(ioe, LocalizedCoreFormats.SIMPLE_MESSAGE, ioe.getLocalizedMessage());
+        }
+
+    }
+
     /** Read first header record.
      * @param input input stream
      * @param name name of the file (or zip entry)
@@ -706,8 +895,15 @@ public class JPLEphemeridesLoader implements CelestialBodyLoader {
      * @return extracted date
      */
     private AbsoluteDate extractDate(final byte[] record, final int offset) {
+        return toDate(extractDouble(record, offset), timeScale);
+    }
 
-        final double t = extractDouble(record, offset);
+    /** Convert a julian day into a date.
+     * @param t julian day
+     * @param scale time scale in which the julian day is defined
+     * @return converted date
+     */
+    private static AbsoluteDate toDate(final double t, final TimeScale scale) {
         int    jDay    = (int) FastMath.floor(t);
         double seconds = (t + 0.5 - jDay) * Constants.JULIAN_DAY;
         if (seconds >= Constants.JULIAN_DAY) {
@@ -715,7 +911,7 @@ public class JPLEphemeridesLoader implements CelestialBodyLoader {
             seconds -= Constants.JULIAN_DAY;
         }
         return new AbsoluteDate(new DateComponents(DateComponents.JULIAN_EPOCH, jDay),
-                                new TimeComponents(seconds), timeScale);
+                                new TimeComponents(seconds), scale);
     }
 
     /** Extract a double from a record.
@@ -902,32 +1098,8 @@ public class JPLEphemeridesLoader implements CelestialBodyLoader {
                 throw new OrekitException(OrekitMessages.UNABLE_TO_READ_JPL_HEADER, name);
             }
 
-            if (constants.get() == null) {
-                constants.compareAndSet(null, parseConstants(first, second, name));
-            }
-
-            // check astronomical unit consistency
-            final double au = 1000 * extractDouble(first, HEADER_ASTRONOMICAL_UNIT_OFFSET);
-            if ((au < 1.4e11) || (au > 1.6e11)) {
-                throw new OrekitException(OrekitMessages.NOT_A_JPL_EPHEMERIDES_BINARY_FILE, name);
-            }
-            if (FastMath.abs(getLoadedAstronomicalUnit() - au) >= 10.0) {
-                throw new OrekitException(OrekitMessages.INCONSISTENT_ASTRONOMICAL_UNIT_IN_FILES,
-                                          getLoadedAstronomicalUnit(), au);
-            }
-
-            // check Earth-Moon mass ratio consistency
-            final double emRat = extractDouble(first, HEADER_EM_RATIO_OFFSET);
-            if ((emRat < 80) || (emRat > 82)) {
-                throw new OrekitException(OrekitMessages.NOT_A_JPL_EPHEMERIDES_BINARY_FILE, name);
-            }
-            if (FastMath.abs(getLoadedEarthMoonMassRatio() - emRat) >= 1.0e-5) {
-                throw new OrekitException(OrekitMessages.INCONSISTENT_EARTH_MOON_RATIO_IN_FILES,
-                                          getLoadedEarthMoonMassRatio(), emRat);
-            }
-
-            // parse first header record
-            parseFirstHeaderRecord(first, name);
+            // check and parse header records
+            parseHeaderRecords(first, second, name);
 
             if (startEpoch.compareTo(end) < 0 && finalEpoch.compareTo(start) > 0) {
                 // this file contains data in the range we are looking for, read it
@@ -1031,6 +1203,199 @@ public class JPLEphemeridesLoader implements CelestialBodyLoader {
 
     }
 
+    /** Memory-mapped JPL ephemerides file. */
+    private class MappedSegment {
+
+        /** Mapped buffers, each one holding an integer number of records. */
+        private final ByteBuffer[] buffers;
+
+        /** Number of records per buffer. */
+        private final int perBuffer;
+
+        /** Size of the records (in bytes). */
+        private final int recordSize;
+
+        /** Number of data records. */
+        private final int nbRecords;
+
+        /** Start epoch of the file. */
+        private final AbsoluteDate start;
+
+        /** Final epoch of the file. */
+        private final AbsoluteDate end;
+
+        /** Time scale of the date coordinates. */
+        private final TimeScale scale;
+
+        /** Duration of the records (in seconds). */
+        private final double recordDuration;
+
+        /** Duration of the chunks (in seconds). */
+        private final double duration;
+
+        /** Number of chunks per record for the selected body. */
+        private final int nbChunks;
+
+        /** Number of coefficients for the selected body. */
+        private final int nbCoeffs;
+
+        /** Index of the first data for the selected body. */
+        private final int first;
+
+        /** Number of components contained in the file. */
+        private final int nbComponents;
+
+        /** Unit of the position coordinates (as a multiple of meters). */
+        private final double unit;
+
+        /** Last used record (may be null). */
+        private volatile MappedRecord lastRecord;
+
+        /** Simple constructor.
+         * <p>
+         * The header-related data are retrieved from the last
+         * parsed header.
+         * </p>
+         * @param buffers mapped buffers, each one holding an integer number of records
+         * @param perBuffer number of records per buffer
+         * @param recordSize size of the records (in bytes)
+         * @param nbRecords number of data records
+         */
+        MappedSegment(final ByteBuffer[] buffers, final int perBuffer,
+                      final int recordSize, final int nbRecords) {
+            this.buffers        = buffers;
+            this.perBuffer      = perBuffer;
+            this.recordSize     = recordSize;
+            this.nbRecords      = nbRecords;
+            this.start          = startEpoch;
+            this.end            = finalEpoch;
+            this.scale          = timeScale;
+            this.recordDuration = chunks * chunksDuration;
+            this.duration       = chunksDuration;
+            this.nbChunks       = chunks;
+            this.nbCoeffs       = coeffs;
+            this.first          = firstIndex;
+            this.nbComponents   = components;
+            this.unit           = positionUnit;
+        }
+
+        /** Check if a date is covered by the segment.
+         * @param date date to check
+         * @return true if date is covered by the segment
+         */
+        public boolean covers(final AbsoluteDate date) {
+            return date.offsetFrom(start, scale) >= -0.001 && date.offsetFrom(end, scale) <= 0.001;
+        }
+
+        /** Get a data record.
+         * @param index index of the data record
+         * @return data record
+         */
+        private MappedRecord getRecord(final int index) {
+            MappedRecord record = lastRecord;
+            if (record == null || record.index != index) {
+                final int        r      = index + 2;
+                final ByteBuffer buffer = buffers[r / perBuffer];
+                final int        offset = (r % perBuffer) * recordSize;
+                record = new MappedRecord(index, buffer, offset,
+                                          toDate(buffer.getDouble(offset + DATA_START_RANGE_OFFSET), scale),
+                                          toDate(buffer.getDouble(offset + DATE_END_RANGE_OFFSET),   scale));
+                lastRecord = record;
+            }
+            return record;
+        }
+
+        /** Get the position-velocity-acceleration at a specified date.
+         * @param date date at which position-velocity-acceleration is requested
+         * @return position-velocity-acceleration at specified date
+         */
+        public PVCoordinates getPositionVelocityAcceleration(final AbsoluteDate date) {
+
+            // locate the record by arithmetic on its index
+            int index = (int) FastMath.floor(date.offsetFrom(start, scale) / recordDuration);
+            MappedRecord record = getRecord(FastMath.max(0, FastMath.min(nbRecords - 1, index)));
+
+            // safety net for records boundaries rounding
+            while (record.index > 0 && date.compareTo(record.rangeStart) < 0) {
+                record = getRecord(record.index - 1);
+            }
+            while (record.index < nbRecords - 1 && date.compareTo(record.rangeEnd) >= 0) {
+                record = getRecord(record.index + 1);
+            }
+
+            // locate the chunk within the record
+            // (chunks boundaries are shifted from record start, not offset in the file time scale)
+            index = (int) FastMath.floor(date.durationFrom(record.rangeStart) / duration);
+            final int i = FastMath.max(0, FastMath.min(nbChunks - 1, index));
+            final AbsoluteDate chunkStart = (i == 0) ? record.rangeStart : record.rangeStart.shiftedBy(i * duration);
+
+            // evaluate the Chebyshev polynomials directly from mapped data
+            final ByteBuffer buffer = record.buffer;
+            final int        base   = record.offset + 8 * (first + nbComponents * i * nbCoeffs - 1);
+            final int        xBase  = base;
+            final int        yBase  = base + 8 * nbCoeffs;
+            final int        zBase  = base + 16 * nbCoeffs;
+            return PosVelChebyshev.evaluate(date.offsetFrom(chunkStart, scale), duration, nbCoeffs,
+                k -> unit * buffer.getDouble(xBase + 8 * k),
+                k -> unit * buffer.getDouble(yBase + 8 * k),
+                k -> unit * buffer.getDouble(zBase + 8 * k));
+
+        }
+
+    }
+
+    /** Memory-mapped data record. */
+    private static class MappedRecord {
+
+        /** Index of the data record. */
+        private final int index;
+
+        /** Buffer containing the record. */
+        private final ByteBuffer buffer;
+
+        /** Offset of the record within the buffer. */
+        private final int offset;
+
+        /** Start of the time range covered by the record. */
+        private final AbsoluteDate rangeStart;
+
+        /** End of the time range covered by the record. */
+        private final AbsoluteDate rangeEnd;
+
+        /** Simple constructor.
+         * @param index index of the data record
+         * @param buffer buffer containing the record
+         * @param offset offset of the record within the buffer
+         * @param rangeStart start of the time range covered by the record
+         * @param rangeEnd end of the time range covered by the record
+         */
+        MappedRecord(final int index, final ByteBuffer buffer, final int offset,
+                     final AbsoluteDate rangeStart, final AbsoluteDate rangeEnd) {
+            this.index      = index;
+            this.buffer     = buffer;
+            this.offset     = offset;
+            this.rangeStart = rangeStart;
+            this.rangeEnd   = rangeEnd;
+        }
+
+    }
+
+    /** Raw position-velocity provider using memory-mapped ephemeris. */
+    private class MappedRawPVProvider implements RawPVProvider {
+
+        /** {@inheritDoc} */
+        public PVCoordinates getRawPV(final AbsoluteDate date) throws OrekitException {
+            for (final MappedSegment segment : segments) {
+                if (segment.covers(date)) {
+                    return segment.getPositionVelocityAcceleration(date);
+                }
+            }
+            throw new OrekitException(OrekitMessages.OUT_OF_RANGE_EPHEMERIDES_DATE, date,
+                                      segments.get(0).start, segments.get(segments.size() - 1).end);
+        }
+
+    }
+
     /** Raw position-velocity provider providing always zero. */
     private static class ZeroRawPVProvider implements RawPVProvider {
 
@@ -17,6 +17,7 @@
 package org.orekit.bodies;
 
 import java.io.Serializable;
+import java.util.function.IntToDoubleFunction;
 
 import org.hipparchus.geometry.euclidean.threed.Vector3D;
 import org.orekit.time.AbsoluteDate;
@@ -94,17 +95,39 @@ class PosVelChebyshev implements TimeStamped, Serializable {
      * @return position-velocity-acceleration at specified date
      */
     public PVCoordinates getPositionVelocityAcceleration(final AbsoluteDate date) {
+        return evaluate(date.offsetFrom(start, timeScale), duration, xCoeffs.length,
+            k -> xCoeffs[k], k -> yCoeffs[k], k -> zCoeffs[k]);
+    }
+
+    /** Evaluate position-velocity-acceleration from Chebyshev polynomials coefficients.
+     * <p>
+     * The coefficients are retrieved through accessors, so they can be
+     * read from any storage (arrays, memory-mapped files...).
+     * </p>
+     * @param dt offset from the start of the validity range (s)
+     * @param duration duration of the validity range (s)
+     * @param n number of coefficients for each component
+     * @param xCoeffs accessor for Chebyshev polynomials coefficients for the X component
+     * @param yCoeffs accessor for Chebyshev polynomials coefficients for the Y component
+     * @param zCoeffs accessor for Chebyshev polynomials coefficients for the Z component
+     * @return position-velocity-acceleration at specified offset
+     * @since 9.0
+     */
+    static PVCoordinates evaluate(final double dt, final double duration, final int n,
+                                  final IntToDoubleFunction xCoeffs,
+                                  final IntToDoubleFunction yCoeffs,
+                                  final IntToDoubleFunction zCoeffs) {
 
         // normalize date
-        final double t = (2 * date.offsetFrom(start, timeScale) - duration) / duration;
+        final double t = (2 * dt - duration) / duration;
         final double twoT = 2 * t;
 
         // initialize Chebyshev polynomials recursion
         double pKm1 = 1;
         double pK   = t;
-        double xP   = xCoeffs[0];
-        double yP   = yCoeffs[0];
-        double zP   = zCoeffs[0];
+        double xP   = xCoeffs.applyAsDouble(0);
+        double yP   = yCoeffs.applyAsDouble(0);
+        double zP   = zCoeffs.applyAsDouble(0);
 
         // initialize Chebyshev polynomials derivatives recursion
         double qKm1 = 0;
@@ -121,22 +144,26 @@ class PosVelChebyshev implements TimeStamped, Serializable {
         double zA   = 0;
 
         // combine polynomials by applying coefficients
-        for (int k = 1; k < xCoeffs.length; ++k) {
+        for (int k = 1; k < n; ++k) {
+
+            final double xK = xCoeffs.applyAsDouble(k);
+            final double yK = yCoeffs.applyAsDouble(k);
+            final double zK = zCoeffs.applyAsDouble(k);
 
             // consider last computed polynomials on position
-            xP += xCoeffs[k] * pK;
-            yP += yCoeffs[k] * pK;
-            zP += zCoeffs[k] * pK;
+            xP += xK * pK;
+            yP += yK * pK;
+            zP += zK * pK;
 
             // consider last computed polynomials on velocity
-            xV += xCoeffs[k] * qK;
-            yV += yCoeffs[k] * qK;
-            zV += zCoeffs[k] * qK;
+            xV += xK * qK;
+            yV += yK * qK;
+            zV += zK * qK;
 
             // consider last computed polynomials on acceleration
-            xA += xCoeffs[k] * rK;
-            yA += yCoeffs[k] * rK;
-            zA += zCoeffs[k] * rK;
+            xA += xK * rK;
+            yA += yK * rK;
+            zA += zK * rK;
 
             // compute next Chebyshev polynomial value
             final double pKm2 = pKm1;
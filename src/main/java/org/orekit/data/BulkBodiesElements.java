@@ -0,0 +1,235 @@
+/* Copyright 2002-2016 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.data;
+
+/** Elements of the bodies having an effect on nutation, at several dates.
+ * <p>This class stores the elements as one primitive array per element,
+ * so series terms can compute their arguments for all dates in tight loops.</p>
+ * @author Luc Maisonobe
+ * @since 9.0
+ */
+class BulkBodiesElements {
+
+    /** Offsets in Julian centuries. */
+    private final double[] tc;
+
+    /** Tide parameters γ = GMST + π. */
+    private final double[] gamma;
+
+    /** Mean anomalies of the Moon. */
+    private final double[] l;
+
+    /** Mean anomalies of the Sun. */
+    private final double[] lPrime;
+
+    /** L - Ω where L is the mean longitude of the Moon. */
+    private final double[] f;
+
+    /** Mean elongations of the Moon from the Sun. */
+    private final double[] d;
+
+    /** Mean longitudes of the ascending node of the Moon. */
+    private final double[] omega;
+
+    /** Mean Mercury longitudes. */
+    private final double[] lMe;
+
+    /** Mean Venus longitudes. */
+    private final double[] lVe;
+
+    /** Mean Earth longitudes. */
+    private final double[] lE;
+
+    /** Mean Mars longitudes. */
+    private final double[] lMa;
+
+    /** Mean Jupiter longitudes. */
+    private final double[] lJu;
+
+    /** Mean Saturn longitudes. */
+    private final double[] lSa;
+
+    /** Mean Uranus longitudes. */
+    private final double[] lUr;
+
+    /** Mean Neptune longitudes. */
+    private final double[] lNe;
+
+    /** General accumulated precessions in longitude. */
+    private final double[] pa;
+
+    /** Simple constructor.
+     * @param elements bodies elements, one for each date
+     */
+    BulkBodiesElements(final BodiesElements[] elements) {
+        final int n = elements.length;
+        tc     = new double[n];
+        gamma  = new double[n];
+        l      = new double[n];
+        lPrime = new double[n];
+        f      = new double[n];
+        d      = new double[n];
+        omega  = new double[n];
+        lMe    = new double[n];
+        lVe    = new double[n];
+        lE     = new double[n];
+        lMa    = new double[n];
+        lJu    = new double[n];
+        lSa    = new double[n];
+        lUr    = new double[n];
+        lNe    = new double[n];
+        pa     = new double[n];
+        for (int k = 0; k < n; ++k) {
+            tc[k]     = elements[k].getTC();
+            gamma[k]  = elements[k].getGamma();
+            l[k]      = elements[k].getL();
+            lPrime[k] = elements[k].getLPrime();
+            f[k]      = elements[k].getF();
+            d[k]      = elements[k].getD();
+            omega[k]  = elements[k].getOmega();
+            lMe[k]    = elements[k].getLMe();
+            lVe[k]    = elements[k].getLVe();
+            lE[k]     = elements[k].getLE();
+            lMa[k]    = elements[k].getLMa();
+            lJu[k]    = elements[k].getLJu();
+            lSa[k]    = elements[k].getLSa();
+            lUr[k]    = elements[k].getLUr();
+            lNe[k]    = elements[k].getLNe();
+            pa[k]     = elements[k].getPa();
+        }
+    }
+
+    /** Get the number of dates.
+     * @return number of dates
+     */
+    public int size() {
+        return tc.length;
+    }
+
+    /** Get the offsets in Julian centuries.
+     * @return offsets in Julian centuries (the array is not copied)
+     */
+    public double[] getTC() {
+        return tc;
+    }
+
+    /** Get the tide parameters γ = GMST + π.
+     * @return tide parameters (the array is not copied)
+     */
+    public double[] getGamma() {
+        return gamma;
+    }
+
+    /** Get the mean anomalies of the Moon.
+     * @return mean anomalies of the Moon (the array is not copied)
+     */
+    public double[] getL() {
+        return l;
+    }
+
+    /** Get the mean anomalies of the Sun.
+     * @return mean anomalies of the Sun (the array is not copied)
+     */
+    public double[] getLPrime() {
+        return lPrime;
+    }
+
+    /** Get L - Ω where L is the mean longitude of the Moon.
+     * @return L - Ω (the array is not copied)
+     */
+    public double[] getF() {
+        return f;
+    }
+
+    /** Get the mean elongations of the Moon from the Sun.
+     * @return mean elongations of the Moon from the Sun (the array is not copied)
+     */
+    public double[] getD() {
+        return d;
+    }
+
+    /** Get the mean longitudes of the ascending node of the Moon.
+     * @return mean longitudes of the ascending node of the Moon (the array is not copied)
+     */
+    public double[] getOmega() {
+        return omega;
+    }
+
+    /** Get the mean Mercury longitudes.
+     * @return mean Mercury longitudes (the array is not copied)
+     */
+    public double[] getLMe() {
+        return lMe;
+    }
+
+    /** Get the mean Venus longitudes.
+     * @return mean Venus longitudes (the array is not copied)
+     */
+    public double[] getLVe() {
+        return lVe;
+    }
+
+    /** Get the mean Earth longitudes.
+     * @return mean Earth longitudes (the array is not copied)
+     */
+    public double[] getLE() {
+        return lE;
+    }
+
+    /** Get the mean Mars longitudes.
+     * @return mean Mars longitudes (the array is not copied)
+     */
+    public double[] getLMa() {
+        return lMa;
+    }
+
+    /** Get the mean Jupiter longitudes.
+     * @return mean Jupiter longitudes (the array is not copied)
+     */
+    public double[] getLJu() {
+        return lJu;
+    }
+
+    /** Get the mean Saturn longitudes.
+     * @return mean Saturn longitudes (the array is not copied)
+     */
+    public double[] getLSa() {
+        return lSa;
+    }
+
+    /** Get the mean Uranus longitudes.
+     * @return mean Uranus longitudes (the array is not copied)
+     */
+    public double[] getLUr() {
+        return lUr;
+    }
+
+    /** Get the mean Neptune longitudes.
+     * @return mean Neptune longitudes (the array is not copied)
+     */
+    public double[] getLNe() {
+        return lNe;
+    }
+
+    /** Get the general accumulated precessions in longitude.
+     * @return general accumulated precessions in longitude (the array is not copied)
+     */
+    public double[] getPa() {
+        return pa;
+    }
+
+}
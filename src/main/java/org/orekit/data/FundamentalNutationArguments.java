@@ -286,6 +286,24 @@ public class FundamentalNutationArguments implements Serializable {
 
     }
 
+    /** Evaluate all fundamental arguments for several dates (Delaunay plus planetary).
+     * <p>
+     * This method is intended to be used together with {@link
+     * PoissonSeries.CompiledSeries#value(BodiesElements[])} to evaluate
+     * series on a set of dates in one pass.
+     * </p>
+     * @param dates dates at which arguments are requested
+     * @return all fundamental arguments for the dates (Delaunay plus planetary)
+     * @since 9.0
+     */
+    public BodiesElements[] evaluateAll(final AbsoluteDate[] dates) {
+        final BodiesElements[] elements = new BodiesElements[dates.length];
+        for (int k = 0; k < dates.length; ++k) {
+            elements[k] = evaluateAll(dates[k]);
+        }
+        return elements;
+    }
+
     /** Evaluate a polynomial.
      * @param tc offset in Julian centuries
      * @param coefficients polynomial coefficients (ordered from low degrees to high degrees)
@@ -112,6 +112,32 @@ class GeneralTerm<T extends RealFieldElement<T>> extends SeriesTerm<T> {
 
     }
 
+    /** {@inheritDoc} */
+    protected void argument(final BulkBodiesElements elements, final double[] arguments) {
+        final double[] l      = elements.getL();
+        final double[] lPrime = elements.getLPrime();
+        final double[] f      = elements.getF();
+        final double[] d      = elements.getD();
+        final double[] omega  = elements.getOmega();
+        final double[] lMe    = elements.getLMe();
+        final double[] lVe    = elements.getLVe();
+        final double[] lE     = elements.getLE();
+        final double[] lMa    = elements.getLMa();
+        final double[] lJu    = elements.getLJu();
+        final double[] lSa    = elements.getLSa();
+        final double[] lUr    = elements.getLUr();
+        final double[] lNe    = elements.getLNe();
+        final double[] pa     = elements.getPa();
+        for (int k = 0; k < arguments.length; ++k) {
+            arguments[k] = cL * l[k] + cLPrime * lPrime[k] + cF * f[k] +
+                           cD * d[k] + cOmega * omega[k] +
+                           cMe * lMe[k] + cVe * lVe[k] + cE  * lE[k] +
+                           cMa * lMa[k] + cJu * lJu[k] +
+                           cSa * lSa[k] + cUr * lUr[k] +
+                           cNe * lNe[k] + cPa * pa[k];
+        }
+    }
+
     /** {@inheritDoc} */
     protected T argument(final FieldBodiesElements<T> elements) {
         return elements.getL().multiply(cL).
@@ -0,0 +1,867 @@
+/* Copyright 2002-2016 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.data;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.lang.ref.SoftReference;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+
+import org.hipparchus.exception.DummyLocalizable;
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.utils.ParallelExecution;
+
+
+/**  Provider for data files stored in a directories tree on filesystem, using an index.
+ * <p>
+ * This class handles the same directories trees as {@link DirectoryCrawler}
+ * (recursive sub-directories, gzip-compressed files, zip/jar archives), and
+ * feeds the {@link DataLoader data loaders} with files in the same order, but
+ * it avoids browsing the whole tree again at each call to {@link
+ * #feed(Pattern, DataLoader) feed}:
+ * </p>
+ * <ul>
+ *   <li>the directories contents are kept in an index, which is checked
+ *   at each call using only the directories last modification time, so
+ *   only the directories that did change are listed again,</li>
+ *   <li>the index can be persisted in a file, so a new application run
+ *   can reuse it without listing the tree,</li>
+ *   <li>the list of files matching the supported names pattern of each
+ *   loader is memorized (and persisted along with the index), so the
+ *   pattern is not applied again to all files names,</li>
+ *   <li>the uncompressed contents of files already read are kept behind soft
+ *   references, together with the files sizes and last modification times,
+ *   so unchanged files are not read again while memory is available (the
+ *   garbage collector may reclaim these contents at any time, they are
+ *   then simply read again),</li>
+ *   <li>if an executor service is provided, the files matching the
+ *   pattern are read and uncompressed in parallel, a few files ahead
+ *   of the loader.</li>
+ * </ul>
+ * <p>
+ * Even when files are read in parallel, the data loader
+ * is still fed sequentially, from the thread calling {@link #feed(Pattern,
+ * DataLoader) feed}, in the same order as {@link DirectoryCrawler}, so loaders
+ * do not need to be thread-safe. Reads are started only while the loader
+ * still accepts data, and at most {@link #READ_AHEAD} files are read
+ * ahead of the loader, so memory consumption remains bounded and the
+ * pending reads are cancelled as soon as the loader stops accepting data.
+ * </p>
+ * @see DirectoryCrawler
+ * @see DataProvidersManager
+ * @author Luc Maisonobe
+ * @since 9.0
+ */
+public class IndexedDirectoryCrawler implements DataProvider {
+
+    /** Maximum number of files read ahead of the loader in parallel mode. */
+    public static final int READ_AHEAD = 4;
+
+    /** Header of index files. */
+    private static final String INDEX_HEADER = "# Orekit data index v2";
+
+    /** Prefix for root lines in index files. */
+    private static final String ROOT_PREFIX = "root ";
+
+    /** Relative path of the root directory. */
+    private static final String ROOT_PATH = ".";
+
+    /** Code for directory lines in index files. */
+    private static final String DIRECTORY_CODE = "D";
+
+    /** Code for pattern lines in index files. */
+    private static final String PATTERN_CODE = "P";
+
+    /** Code for match lines in index files. */
+    private static final String MATCH_CODE = "M";
+
+    /** Separator between fields in index files. */
+    private static final String SEPARATOR = "\t";
+
+    /** Encoding of index files. */
+    private static final String ENCODING = "UTF-8";
+
+    /** Size of the buffer used for reading files. */
+    private static final int BUFFER_SIZE = 8192;
+
+    /** Root directory. */
+    private final File root;
+
+    /** File where the index is persisted (may be null). */
+    private final File indexFile;
+
+    /** Executor service for reading files (may be null). */
+    private final ExecutorService executor;
+
+    /** Index of directories, keyed by path relative to root. */
+    private final Map<String, DirectoryEntry> directories;
+
+    /** Memorized matches, keyed by pattern. */
+    private final Map<String, List<Candidate>> matches;
+
+    /** Cached files contents, keyed by path relative to root. */
+    private final Map<String, CachedContent> contents;
+
+    /** Indicator for index loaded from file. */
+    private boolean indexLoaded;
+
+    /** Build a data files crawler with neither persistent index nor parallel reading.
+     * @param root root of the directories tree (must be a directory)
+     * @exception OrekitException if root is not a directory
+     */
+    public IndexedDirectoryCrawler(final File root) throws OrekitException {
+        this(root, null, null);
+    }
+
+    /** Build a data files crawler.
+     * <p>
+     * If the index file exists, it is read at first call to {@link
+     * #feed(Pattern, DataLoader) feed}, provided it refers to the
+     * same root directory. It is written back each time the directories
+     * tree is found to have changed or a new pattern is matched.
+     * </p>
+     * @param root root of the directories tree (must be a directory)
+     * @param indexFile file where the index is persisted (may be null
+     * if index should be kept only in memory)
+     * @param executor executor service for reading files in parallel
+     * (may be null if files should be read sequentially)
+     * @exception OrekitException if root is not a directory
+     */
+    public IndexedDirectoryCrawler(final File root, final File indexFile,
+                                   final ExecutorService executor)
+        throws OrekitException {
+        if (!root.isDirectory()) {
+            throw new OrekitException(OrekitMessages.NOT_A_DIRECTORY, root.getAbsolutePath());
+        }
+        this.root        = root;
+        this.indexFile   = indexFile;
+        this.executor    = executor;
+        this.directories = new HashMap<String, DirectoryEntry>();
+        this.matches     = new HashMap<String, List<Candidate>>();
+        this.contents    = new ConcurrentHashMap<String, CachedContent>();
+        this.indexLoaded = false;
+    }
+
+    /** {@inheritDoc} */
+    public boolean feed(final Pattern supported, final DataLoader visitor)
+        throws OrekitException {
+        try {
+            final List<Candidate> candidates = getCandidates(supported);
+            if (executor == null) {
+                return feedSequentially(supported, visitor, candidates);
+            } else {
+                return feedInParallel(supported, visitor, candidates);
+            }
+        } catch (IOException ioe) {
+            throw new OrekitException(ioe, new DummyLocalizable(ioe.getMessage()));
+        } catch (ParseException pe) {
+            throw new OrekitException(pe, new DummyLocalizable(pe.getMessage()));
+        }
+    }
+
+    /** Get the number of directories in the index.
+     * @return number of directories in the index
+     * @exception OrekitException if the index cannot be updated
+     */
+    public int getIndexedDirectories() throws OrekitException {
+        try {
+            synchronized (directories) {
+                updateIndex();
+                return directories.size();
+            }
+        } catch (IOException ioe) {
+            throw new OrekitException(ioe, LocalizedCoreFormats.SIMPLE_MESSAGE, ioe.getLocalizedMessage());
+        }
+    }
+
+    /** Clear the cached files contents.
+     * <p>
+     * The directories index and the memorized matches are preserved.
+     * </p>
+     */
+    public void clearContentsCache() {
+        contents.clear();
+    }
+
+    /** Feed a data file loader, reading files sequentially.
+     * @param supported pattern for file names supported by the visitor
+     * @param visitor data file visitor to feed
+     * @param candidates files and archives to consider
+     * @return true if something has been loaded
+     * @exception OrekitException if some data is missing, duplicated
+     * or can't be read
+     * @exception IOException if data cannot be read
+     * @exception ParseException if data cannot be read
+     */
+    private boolean feedSequentially(final Pattern supported, final DataLoader visitor,
+                                     final List<Candidate> candidates)
+        throws OrekitException, IOException, ParseException {
+
+        OrekitException delayedException = null;
+        boolean loaded = false;
+        for (final Candidate candidate : candidates) {
+            try {
+                if (visitor.stillAcceptsData()) {
+                    if (candidate.archive) {
+                        loaded = new ZipJarCrawler(candidate.file).feed(supported, visitor) || loaded;
+                    } else {
+                        loadData(visitor, candidate, new ByteArrayInputStream(getContent(candidate)));
+                        loaded = true;
+                    }
+                }
+            } catch (OrekitException oe) {
+                delayedException = oe;
+            }
+        }
+
+        if (!loaded && delayedException != null) {
+            throw delayedException;
+        }
+
+        return loaded;
+
+    }
+
+    /** Feed a data file loader, reading files in parallel.
+     * @param supported pattern for file names supported by the visitor
+     * @param visitor data file visitor to feed
+     * @param candidates files and archives to consider
+     * @return true if something has been loaded
+     * @exception OrekitException if some data is missing, duplicated
+     * or can't be read
+     * @exception IOException if data cannot be read
+     * @exception ParseException if data cannot be read
+     */
+    private boolean feedInParallel(final Pattern supported, final DataLoader visitor,
+                                   final List<Candidate> candidates)
+        throws OrekitException, IOException, ParseException {
+
+        // pending reads, started at most READ_AHEAD files ahead of the loader
+        final List<Future<byte[]>> futures =
+                new ArrayList<Future<byte[]>>(Collections.<Future<byte[]>>nCopies(candidates.size(), null));
+        int next = 0;
+
+        try {
+            OrekitException delayedException = null;
+            boolean loaded = false;
+            for (int i = 0; i < candidates.size(); ++i) {
+                final Candidate candidate = candidates.get(i);
+                if (visitor.stillAcceptsData()) {
+
+                    // start new reads as the loader progresses
+                    for (; next < candidates.size() && next <= i + READ_AHEAD; ++next) {
+                        futures.set(next, startReading(candidates.get(next)));
+                    }
+
+                    // read errors are not delayed, as in sequential mode
+                    final byte[] content = candidate.archive ? null : waitForContent(futures.get(i));
+                    futures.set(i, null);
+
+                    try {
+                        if (candidate.archive) {
+                            loaded = new ZipJarCrawler(candidate.file).feed(supported, visitor) || loaded;
+                        } else {
+                            loadData(visitor, candidate, new ByteArrayInputStream(content));
+                            loaded = true;
+                        }
+                    } catch (OrekitException oe) {
+                        delayedException = oe;
+                    }
+
+                }
+            }
+
+            if (!loaded && delayedException != null) {
+                throw delayedException;
+            }
+
+            return loaded;
+
+        } finally {
+            // cancel pending reads that are not needed anymore
+            ParallelExecution.cancelAll(futures);
+        }
+
+    }
+
+    /** Wait for a file content read in the executor service.
+     * @param future future content of the file
+     * @return content of the file
+     * @exception OrekitException if the calling thread is interrupted
+     * @exception IOException if file cannot be read
+     */
+    private byte[] waitForContent(final Future<byte[]> future)
+        throws OrekitException, IOException {
+        try {
+            return ParallelExecution.get(future);
+        } catch (OrekitException oe) {
+            if (oe.getCause() instanceof IOException) {
+                throw (IOException) oe.getCause();
+            }
+            throw oe;
+        }
+    }
+
+    /** Start reading a file in the executor service.
+     * @param candidate file to read
+     * @return future content of the file, or null for archives
+     */
+    private Future<byte[]> startReading(final Candidate candidate) {
+        if (candidate.archive) {
+            // archives are crawled directly from the calling thread
+            return null;
+        }
+        return executor.submit(new Callable<byte[]>() {
+            /** {@inheritDoc} */
+            @Override
+            public byte[] call() throws IOException {
+                return getContent(candidate);
+            }
+        });
+    }
+
+    /** Feed a data loader with a file content.
+     * @param visitor data file visitor to feed
+     * @param candidate file from which content is read
+     * @param input stream for file content (already uncompressed), will be closed
+     * @exception OrekitException if some data is missing, duplicated
+     * or can't be read
+     * @exception IOException if data cannot be read
+     * @exception ParseException if data cannot be read
+     */
+    private void loadData(final DataLoader visitor, final Candidate candidate, final InputStream input)
+        throws OrekitException, IOException, ParseException {
+        try {
+            visitor.loadData(input, candidate.file.getPath());
+        } finally {
+            input.close();
+        }
+    }
+
+    /** Open a stream for reading a file.
+     * @param candidate file to read
+     * @return stream for file content (already uncompressed)
+     * @exception IOException if file cannot be opened
+     */
+    private InputStream openStream(final Candidate candidate) throws IOException {
+        final InputStream input = new FileInputStream(candidate.file);
+        if (!candidate.gzip) {
+            return input;
+        }
+        try {
+            return new GZIPInputStream(input);
+        } catch (IOException ioe) {
+            input.close();
+            throw ioe;
+        }
+    }
+
+    /** Get the content of a file, using the cache if the file did not change.
+     * @param candidate file to read
+     * @return file content (already uncompressed)
+     * @exception IOException if file cannot be read
+     */
+    private byte[] getContent(final Candidate candidate) throws IOException {
+
+        // file metadata are retrieved before reading, so a file changed
+        // during the read will be read again at next call
+        final long length       = candidate.file.length();
+        final long lastModified = candidate.file.lastModified();
+
+        final CachedContent cached = contents.get(candidate.path);
+        if (cached != null && cached.length == length && cached.lastModified == lastModified) {
+            final byte[] content = cached.content.get();
+            if (content != null) {
+                return content;
+            }
+        }
+
+        final byte[] content = readContent(candidate);
+        contents.put(candidate.path, new CachedContent(length, lastModified, content));
+        return content;
+
+    }
+
+    /** Read the whole content of a file.
+     * @param candidate file to read
+     * @return file content (already uncompressed)
+     * @exception IOException if file cannot be read
+     */
+    private byte[] readContent(final Candidate candidate) throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final InputStream input = openStream(candidate);
+        try {
+            final byte[] buffer = new byte[BUFFER_SIZE];
+            for (int n = input.read(buffer); n >= 0; n = input.read(buffer)) {
+                output.write(buffer, 0, n);
+            }
+        } finally {
+            input.close();
+        }
+        return output.toByteArray();
+    }
+
+    /** Get the files and archives that should be considered for a pattern.
+     * @param supported pattern for file names supported by the visitor
+     * @return files and archives to consider, in crawling order
+     * @exception IOException if index cannot be read or written
+     */
+    private List<Candidate> getCandidates(final Pattern supported) throws IOException {
+        synchronized (directories) {
+
+            boolean changed = updateIndex();
+            if (changed) {
+                // the tree has changed, previous matches are obsolete
+                matches.clear();
+                // forget the contents of removed files
+                final Set<String> removed = new HashSet<String>();
+                for (final String path : contents.keySet()) {
+                    if (!new File(root, path).isFile()) {
+                        removed.add(path);
+                    }
+                }
+                contents.keySet().removeAll(removed);
+            }
+
+            final String key = supported.pattern();
+            List<Candidate> candidates = matches.get(key);
+            if (candidates == null) {
+                candidates = new ArrayList<Candidate>();
+                select(supported, root, ROOT_PATH, candidates);
+                matches.put(key, candidates);
+                changed = true;
+            }
+
+            if (changed && indexFile != null) {
+                writeIndex();
+            }
+
+            return candidates;
+
+        }
+    }
+
+    /** Select the files and archives that should be considered for a pattern.
+     * @param supported pattern for file names supported by the visitor
+     * @param directory current directory
+     * @param path path of current directory relative to root
+     * @param candidates list where selected files and archives should be added
+     */
+    private void select(final Pattern supported, final File directory, final String path,
+                        final List<Candidate> candidates) {
+        for (final Child child : directories.get(path).children) {
+            final File   file      = new File(directory, child.name);
+            final String childPath = childPath(path, child.name);
+            switch (child.kind) {
+                case DIRECTORY :
+                    select(supported, file, childPath, candidates);
+                    break;
+                case ARCHIVE :
+                    candidates.add(new Candidate(file, childPath, true, false));
+                    break;
+                default : {
+                    // remove suffix from gzip files
+                    final Matcher gzipMatcher = GZIP_FILE_PATTERN.matcher(child.name);
+                    final String baseName = gzipMatcher.matches() ? gzipMatcher.group(1) : child.name;
+                    if (supported.matcher(baseName).matches()) {
+                        candidates.add(new Candidate(file, childPath, false, gzipMatcher.matches()));
+                    }
+                }
+            }
+        }
+    }
+
+    /** Update the index, listing again only the directories that did change.
+     * @return true if the index was changed
+     * @exception IOException if index file cannot be read
+     */
+    private boolean updateIndex() throws IOException {
+
+        if (!indexLoaded) {
+            indexLoaded = true;
+            if (indexFile != null && indexFile.exists()) {
+                readIndex();
+            }
+        }
+
+        final Set<String> visited = new HashSet<String>();
+        boolean changed = update(root, ROOT_PATH, visited);
+
+        // drop directories that have been removed
+        if (directories.keySet().retainAll(visited)) {
+            changed = true;
+        }
+
+        return changed;
+
+    }
+
+    /** Update the index for one directory and its sub-directories.
+     * @param directory current directory
+     * @param path path of current directory relative to root
+     * @param visited set where visited directories paths should be added
+     * @return true if the index was changed
+     */
+    private boolean update(final File directory, final String path, final Set<String> visited) {
+
+        visited.add(path);
+
+        boolean changed = false;
+        DirectoryEntry entry = directories.get(path);
+        final long lastModified = directory.lastModified();
+        if (entry == null || entry.lastModified != lastModified) {
+
+            // list the directory content
+            final File[] list = directory.listFiles();
+            Arrays.sort(list);
+            final List<Child> children = new ArrayList<Child>(list.length);
+            for (final File file : list) {
+                final ChildKind kind;
+                if (file.isDirectory()) {
+                    kind = ChildKind.DIRECTORY;
+                } else if (ZIP_ARCHIVE_PATTERN.matcher(file.getName()).matches()) {
+                    kind = ChildKind.ARCHIVE;
+                } else {
+                    kind = ChildKind.FILE;
+                }
+                children.add(new Child(file.getName(), kind));
+            }
+
+            entry = new DirectoryEntry(lastModified, children);
+            directories.put(path, entry);
+            changed = true;
+
+        }
+
+        // check sub-directories
+        for (final Child child : entry.children) {
+            if (child.kind == ChildKind.DIRECTORY) {
+                changed = update(new File(directory, child.name), childPath(path, child.name), visited) ||
+                          changed;
+            }
+        }
+
+        return changed;
+
+    }
+
+    /** Read the index file.
+     * <p>
+     * If the index file refers to another root or has an unknown
+     * format, it is silently ignored.
+     * </p>
+     * @exception IOException if index file cannot be read
+     */
+    private void readIndex() throws IOException {
+        final BufferedReader reader =
+                new BufferedReader(new InputStreamReader(new FileInputStream(indexFile), ENCODING));
+        try {
+
+            if (!INDEX_HEADER.equals(reader.readLine())) {
+                return;
+            }
+            final String rootLine = reader.readLine();
+            if (rootLine == null || !rootLine.equals(ROOT_PREFIX + root.getAbsolutePath())) {
+                return;
+            }
+
+            final Map<String, DirectoryEntry>  readDirectories = new HashMap<String, DirectoryEntry>();
+            final Map<String, List<Candidate>> readMatches     = new HashMap<String, List<Candidate>>();
+            List<Child>     children   = null;
+            List<Candidate> candidates = null;
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                final String[] fields = line.split(SEPARATOR, 3);
+                if (fields.length == 3 && DIRECTORY_CODE.equals(fields[0])) {
+                    // start of a directory section
+                    children   = new ArrayList<Child>();
+                    candidates = null;
+                    readDirectories.put(fields[2], new DirectoryEntry(Long.parseLong(fields[1]), children));
+                } else if (line.startsWith(PATTERN_CODE + SEPARATOR)) {
+                    // start of a matches section
+                    children   = null;
+                    candidates = new ArrayList<Candidate>();
+                    readMatches.put(line.substring(PATTERN_CODE.length() + SEPARATOR.length()), candidates);
+                } else if (fields.length == 2 && children != null) {
+                    children.add(new Child(fields[1], ChildKind.parse(fields[0])));
+                } else if (fields.length == 3 && MATCH_CODE.equals(fields[0]) && candidates != null) {
+                    candidates.add(Candidate.parse(root, fields[1], fields[2]));
+                } else {
+                    // corrupted index, it will be rebuilt from scratch
+                    return;
+                }
+            }
+
+            directories.putAll(readDirectories);
+            matches.putAll(readMatches);
+
+        } catch (IllegalArgumentException iae) {
+            // corrupted index, it will be rebuilt from scratch
+            return;
+        } finally {
+            reader.close();
+        }
+    }
+
+    /** Write the index file.
+     * @exception IOException if index file cannot be written
+     */
+    private void writeIndex() throws IOException {
+        final PrintWriter writer =
+                new PrintWriter(new OutputStreamWriter(new FileOutputStream(indexFile), ENCODING));
+        try {
+            writer.println(INDEX_HEADER);
+            writer.println(ROOT_PREFIX + root.getAbsolutePath());
+            final List<String> paths = new ArrayList<String>(directories.keySet());
+            paths.sort(null);
+            for (final String path : paths) {
+                final DirectoryEntry entry = directories.get(path);
+                writer.println(DIRECTORY_CODE + SEPARATOR + entry.lastModified + SEPARATOR + path);
+                for (final Child child : entry.children) {
+                    writer.println(child.kind.getCode() + SEPARATOR + child.name);
+                }
+            }
+            final List<String> patterns = new ArrayList<String>(matches.keySet());
+            patterns.sort(null);
+            for (final String pattern : patterns) {
+                if (pattern.indexOf('\n') < 0 && pattern.indexOf('\r') < 0) {
+                    // memorize which files match the pattern of each loader
+                    writer.println(PATTERN_CODE + SEPARATOR + pattern);
+                    for (final Candidate candidate : matches.get(pattern)) {
+                        writer.println(MATCH_CODE + SEPARATOR + candidate.getCode() + SEPARATOR + candidate.path);
+                    }
+                }
+            }
+        } finally {
+            writer.close();
+        }
+        if (writer.checkError()) {
+            throw new IOException(indexFile.getAbsolutePath());
+        }
+    }
+
+    /** Build the relative path of a child directory.
+     * @param path path of parent directory relative to root
+     * @param name name of the child directory
+     * @return path of the child directory relative to root
+     */
+    private static String childPath(final String path, final String name) {
+        return ROOT_PATH.equals(path) ? name : (path + "/" + name);
+    }
+
+    /** Kind of directories children. */
+    private enum ChildKind {
+
+        /** Sub-directory. */
+        DIRECTORY("d"),
+
+        /** Zip/jar archive. */
+        ARCHIVE("a"),
+
+        /** Regular (possibly gzip-compressed) file. */
+        FILE("f");
+
+        /** Code used in index files. */
+        private final String code;
+
+        /** Simple constructor.
+         * @param code code used in index files
+         */
+        ChildKind(final String code) {
+            this.code = code;
+        }
+
+        /** Get the code used in index files.
+         * @return code used in index files
+         */
+        public String getCode() {
+            return code;
+        }
+
+        /** Parse a code from index files.
+         * @param code code used in index files
+         * @return kind corresponding to the code
+         * @exception IllegalArgumentException if code is unknown
+         */
+        public static ChildKind parse(final String code) throws IllegalArgumentException {
+            for (final ChildKind kind : values()) {
+                if (kind.code.equals(code)) {
+                    return kind;
+                }
+            }
+            throw new IllegalArgumentException(code);
+        }
+
+    }
+
+    /** Child of a directory. */
+    private static class Child {
+
+        /** Name of the child. */
+        private final String name;
+
+        /** Kind of the child. */
+        private final ChildKind kind;
+
+        /** Simple constructor.
+         * @param name name of the child
+         * @param kind kind of the child
+         */
+        Child(final String name, final ChildKind kind) {
+            this.name = name;
+            this.kind = kind;
+        }
+
+    }
+
+    /** Indexed directory. */
+    private static class DirectoryEntry {
+
+        /** Last modification time of the directory. */
+        private final long lastModified;
+
+        /** Children of the directory, in crawling order. */
+        private final List<Child> children;
+
+        /** Simple constructor.
+         * @param lastModified last modification time of the directory
+         * @param children children of the directory, in crawling order
+         */
+        DirectoryEntry(final long lastModified, final List<Child> children) {
+            this.lastModified = lastModified;
+            this.children     = children;
+        }
+
+    }
+
+    /** Cached file content. */
+    private static class CachedContent {
+
+        /** File length when content was read. */
+        private final long length;
+
+        /** File last modification time when content was read. */
+        private final long lastModified;
+
+        /** Uncompressed content. */
+        private final SoftReference<byte[]> content;
+
+        /** Simple constructor.
+         * @param length file length when content was read
+         * @param lastModified file last modification time when content was read
+         * @param content uncompressed content
+         */
+        CachedContent(final long length, final long lastModified, final byte[] content) {
+            this.length       = length;
+            this.lastModified = lastModified;
+            this.content      = new SoftReference<byte[]>(content);
+        }
+
+    }
+
+    /** File or archive to consider for feeding a loader. */
+    private static class Candidate {
+
+        /** Code for zip/jar archives in index files. */
+        private static final String ARCHIVE_CODE = "a";
+
+        /** Code for gzip-compressed files in index files. */
+        private static final String GZIP_CODE = "g";
+
+        /** Code for regular files in index files. */
+        private static final String FILE_CODE = "f";
+
+        /** File or archive. */
+        private final File file;
+
+        /** Path of the file or archive relative to root. */
+        private final String path;
+
+        /** Indicator for zip/jar archives. */
+        private final boolean archive;
+
+        /** Indicator for gzip-compressed files. */
+        private final boolean gzip;
+
+        /** Simple constructor.
+         * @param file file or archive
+         * @param path path of the file or archive relative to root
+         * @param archive indicator for zip/jar archives
+         * @param gzip indicator for gzip-compressed files
+         */
+        Candidate(final File file, final String path, final boolean archive, final boolean gzip) {
+            this.file    = file;
+            this.path    = path;
+            this.archive = archive;
+            this.gzip    = gzip;
+        }
+
+        /** Get the code used in index files.
+         * @return code used in index files
+         */
+        public String getCode() {
+            return archive ? ARCHIVE_CODE : (gzip ? GZIP_CODE : FILE_CODE);
+        }
+
+        /** Parse a candidate from index files.
+         * @param root root of the directories tree
+         * @param code code used in index files
+         * @param path path of the file or archive relative to root
+         * @return parsed candidate
+         * @exception IllegalArgumentException if code is unknown
+         */
+        public static Candidate parse(final File root, final String code, final String path)
+            throws IllegalArgumentException {
+            final File file = new File(root, path);
+            if (ARCHIVE_CODE.equals(code)) {
+                return new Candidate(file, path, true, false);
+            } else if (GZIP_CODE.equals(code)) {
+                return new Candidate(file, path, false, true);
+            } else if (FILE_CODE.equals(code)) {
+                return new Candidate(file, path, false, false);
+            }
+            throw new IllegalArgumentException(code);
+        }
+
+    }
+
+}
@@ -83,6 +83,25 @@ class PlanetaryTerm<T extends RealFieldElement<T>> extends SeriesTerm<T> {
                cNe * elements.getLNe() + cPa * elements.getPa();
     }
 
+    /** {@inheritDoc} */
+    protected void argument(final BulkBodiesElements elements, final double[] arguments) {
+        final double[] lMe = elements.getLMe();
+        final double[] lVe = elements.getLVe();
+        final double[] lE  = elements.getLE();
+        final double[] lMa = elements.getLMa();
+        final double[] lJu = elements.getLJu();
+        final double[] lSa = elements.getLSa();
+        final double[] lUr = elements.getLUr();
+        final double[] lNe = elements.getLNe();
+        final double[] pa  = elements.getPa();
+        for (int k = 0; k < arguments.length; ++k) {
+            arguments[k] = cMe * lMe[k] + cVe * lVe[k] + cE  * lE[k] +
+                           cMa * lMa[k] + cJu * lJu[k] +
+                           cSa * lSa[k] + cUr * lUr[k] +
+                           cNe * lNe[k] + cPa * pa[k];
+        }
+    }
+
     /** {@inheritDoc} */
     protected T argument(final FieldBodiesElements<T> elements) {
         return elements.getLMe().multiply(cMe).
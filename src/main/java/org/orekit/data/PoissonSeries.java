@@ -140,6 +140,24 @@ public class PoissonSeries<T extends RealFieldElement<T>> {
          */
         S[] value(FieldBodiesElements<S> elements);
 
+        /** Evaluate a set of Poisson series at several dates.
+         * <p>
+         * The default implementation simply evaluates the series
+         * at each date in turn.
+         * </p>
+         * @param elements bodies elements for nutation, one for each date
+         * @return value of the series, as an array indexed first by date
+         * and then by series
+         * @since 9.0
+         */
+        default double[][] value(final BodiesElements[] elements) {
+            final double[][] values = new double[elements.length][];
+            for (int k = 0; k < elements.length; ++k) {
+                values[k] = value(elements[k]);
+            }
+            return values;
+        }
+
     }
 
     /** Join several nutation series, for fast simultaneous evaluation.
@@ -235,6 +253,60 @@ public class PoissonSeries<T extends RealFieldElement<T>> {
 
             }
 
+            /** {@inheritDoc}
+             * <p>
+             * The elements are first gathered in one primitive array per element.
+             * The loop is then term-major: each term computes its arguments and values
+             * at all dates in tight loops over these arrays, reusing the same buffers
+             * for all terms, before the next term is considered. As the terms are
+             * evaluated with the same operations and summed up in the same order for
+             * each date, the result is exactly the same as evaluating the series at
+             * each date in turn.
+             * </p>
+             */
+            @Override
+            public double[][] value(final BodiesElements[] elements) {
+
+                final BulkBodiesElements bulk = new BulkBodiesElements(elements);
+                final double[]   arguments    = new double[elements.length];
+                final double[][] termValues   = new double[elements.length][polynomials.length];
+
+                // non-polynomial part
+                // compute sum accurately, using Møller-Knuth TwoSum algorithm without branching
+                // the following statements must NOT be simplified, they rely on floating point
+                // arithmetic properties (rounding and representable numbers)
+                final double[][] npHigh = new double[elements.length][polynomials.length];
+                final double[][] npLow  = new double[elements.length][polynomials.length];
+                for (final SeriesTerm<S> term : joinedTerms) {
+                    term.value(bulk, arguments, termValues);
+                    for (int k = 0; k < elements.length; ++k) {
+                        final double[] termValue = termValues[k];
+                        final double[] high      = npHigh[k];
+                        final double[] low       = npLow[k];
+                        for (int i = 0; i < termValue.length; ++i) {
+                            final double v       = termValue[i];
+                            final double sum     = high[i] + v;
+                            final double sPrime  = sum - v;
+                            final double tPrime  = sum - sPrime;
+                            final double deltaS  = high[i]  - sPrime;
+                            final double deltaT  = v - tPrime;
+                            low[i]  += deltaS   + deltaT;
+                            high[i]  = sum;
+                        }
+                    }
+                }
+
+                // add residual and polynomial part
+                final double[] tc = bulk.getTC();
+                for (int k = 0; k < elements.length; ++k) {
+                    for (int i = 0; i < polynomials.length; ++i) {
+                        npHigh[k][i] += npLow[k][i] + polynomials[i].value(tc[k]);
+                    }
+                }
+                return npHigh;
+
+            }
+
             /** {@inheritDoc} */
             @Override
             public S[] value(final FieldBodiesElements<S> elements) {
@@ -138,6 +138,50 @@ abstract class SeriesTerm<T extends RealFieldElement<T>> {
      */
     protected abstract double argument(BodiesElements elements);
 
+    /** Evaluate the value of the series term at several dates.
+     * <p>
+     * The arguments are computed for all dates first, directly from the
+     * primitive arrays of elements, and the values are computed with the
+     * same operations as {@link #value(BodiesElements)}, so they are
+     * exactly the same as the ones computed date by date.
+     * </p>
+     * @param elements bodies elements for nutation at all dates
+     * @param arguments placeholder for the arguments, one for each date
+     * @param values placeholder for the values of the series term,
+     * as an array indexed first by date and then by series
+     * @since 9.0
+     */
+    public void value(final BulkBodiesElements elements, final double[] arguments, final double[][] values) {
+
+        // preliminary computation
+        argument(elements, arguments);
+        final double[] tc = elements.getTC();
+
+        // compute each function at each date
+        for (int k = 0; k < arguments.length; ++k) {
+            final double   sin     = FastMath.sin(arguments[k]);
+            final double   cos     = FastMath.cos(arguments[k]);
+            final double[] valuesK = values[k];
+            for (int i = 0; i < sinCoeff.length; ++i) {
+                double s = 0;
+                double c = 0;
+                for (int j = sinCoeff[i].length - 1; j >= 0; --j) {
+                    s = s * tc[k] + sinCoeff[i][j];
+                    c = c * tc[k] + cosCoeff[i][j];
+                }
+                valuesK[i] = s * sin + c * cos;
+            }
+        }
+
+    }
+
+    /** Compute the argument at several dates.
+     * @param elements luni-solar and planetary elements at all dates
+     * @param arguments placeholder for the arguments, one for each date
+     * @since 9.0
+     */
+    protected abstract void argument(BulkBodiesElements elements, double[] arguments);
+
     /** Evaluate the value of the series term.
      * @param elements bodies elements for nutation
      * @return value of the series term
@@ -80,6 +80,21 @@ class TideTerm<T extends RealFieldElement<T>> extends SeriesTerm<T> {
                cD * elements.getD() + cOmega * elements.getOmega();
     }
 
+    /** {@inheritDoc} */
+    protected void argument(final BulkBodiesElements elements, final double[] arguments) {
+        final double[] gamma  = elements.getGamma();
+        final double[] l      = elements.getL();
+        final double[] lPrime = elements.getLPrime();
+        final double[] f      = elements.getF();
+        final double[] d      = elements.getD();
+        final double[] omega  = elements.getOmega();
+        for (int k = 0; k < arguments.length; ++k) {
+            arguments[k] = cGamma * gamma[k] +
+                           cL * l[k] + cLPrime * lPrime[k] + cF * f[k] +
+                           cD * d[k] + cOmega * omega[k];
+        }
+    }
+
     /** {@inheritDoc} */
     protected T argument(final FieldBodiesElements<T> elements) {
         return elements.getGamma().multiply(cGamma).
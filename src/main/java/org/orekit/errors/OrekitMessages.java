@@ -182,7 +182,10 @@ public enum OrekitMessages implements Localizable {
     NOT_A_SUPPORTED_SEM_ALMANAC_FILE("file {0} is not a supported SEM almanac file"),
     NO_YUMA_ALMANAC_AVAILABLE("no Yuma almanac file found"),
     NOT_A_SUPPORTED_YUMA_ALMANAC_FILE("file {0} is not a supported Yuma almanac file"),
-    NOT_ENOUGH_GNSS_FOR_DOP("only {0} GNSS orbits are provided while {1} are needed to compute the DOP");
+    NOT_ENOUGH_GNSS_FOR_DOP("only {0} GNSS orbits are provided while {1} are needed to compute the DOP"),
+    NOT_A_GRIDDED_GRAVITY_FIELD_FILE("file {0} is not a gridded gravity field file"),
+    NOT_A_CHEBYSHEV_EPHEMERIS_FILE("file {0} is not a Chebyshev ephemeris file"),
+    NOT_A_PRECOMPUTED_TRANSFORMS_FILE("file {0} is not a precomputed transforms file");
 
     // CHECKSTYLE: resume JavadocVariable check
 
@@ -21,6 +21,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 
 import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.exception.MathRuntimeException;
@@ -80,6 +81,9 @@ public class BatchLSEstimator {
     /** Optimum found. */
     private Optimum optimum;
 
+    /** Executor for measurements estimations. */
+    private ExecutorService measurementsExecutor;
+
     /** Counter for the evaluations. */
     private Incrementor evaluationsCounter;
 
@@ -102,6 +106,7 @@ public class BatchLSEstimator {
         this.lsBuilder                      = new LeastSquaresBuilder();
         this.estimations                    = null;
         this.observer                       = null;
+        this.measurementsExecutor           = null;
 
         // our model computes value and Jacobian in one call,
         // so we don't use the lazy evaluation feature
@@ -121,6 +126,29 @@ public class BatchLSEstimator {
         this.observer = observer;
     }
 
+    /** Set the executor for measurements estimations.
+     * <p>
+     * By default, measurements are estimated sequentially by the propagation
+     * thread, as the orbit is propagated. If an executor is set, the estimations
+     * are submitted to it as soon as the propagated state is available, and
+     * hence run concurrently with each other and with the remaining of the
+     * propagation. Whatever the executor, the residuals and Jacobians are
+     * assembled in chronological order, so the estimation results are the
+     * same as in the sequential case.
+     * </p>
+     * <p>
+     * The executor is not shut down by the estimator, it is the responsibility
+     * of the caller to manage its life cycle. When an executor is used, all
+     * measurements and their modifiers must support concurrent estimations.
+     * </p>
+     * @param measurementsExecutor executor for measurements estimations (may be null to
+     * estimate measurements sequentially, which is the default)
+     * @since 9.0
+     */
+    public void setMeasurementsExecutor(final ExecutorService measurementsExecutor) {
+        this.measurementsExecutor = measurementsExecutor;
+    }
+
     /** Add a measurement.
      * @param measurement measurement to add
      * @exception OrekitException if the measurement has a parameter
@@ -336,7 +364,7 @@ public class BatchLSEstimator {
             }
         };
         final Model model = new Model(propagatorBuilder, measurements, estimatedMeasurementsParameters,
-                                      modelObserver);
+                                      modelObserver, measurementsExecutor);
         lsBuilder.model(model);
 
         // add a validator for orbital parameters
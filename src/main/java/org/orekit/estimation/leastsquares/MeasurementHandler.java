@@ -16,7 +16,11 @@
  */
 package org.orekit.estimation.leastsquares;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.orekit.errors.OrekitException;
 import org.orekit.errors.OrekitInternalError;
@@ -26,9 +30,18 @@ import org.orekit.propagation.SpacecraftState;
 import org.orekit.propagation.sampling.OrekitStepHandler;
 import org.orekit.propagation.sampling.OrekitStepInterpolator;
 import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.ParallelExecution;
 
 /** {@link org.orekit.propagation.sampling.OrekitStepHandler Step handler} picking up
  * {@link ObservedMeasurement measurements}.
+ * <p>
+ * If an executor is provided, measurements estimations are submitted to it
+ * as soon as the interpolated state is available, so they are performed
+ * concurrently with the remaining of the propagation. The estimations are
+ * then fetched to the model sequentially, in chronological order, when the
+ * last step is handled, so the residuals and Jacobian are assembled exactly
+ * as in the sequential case.
+ * </p>
  * @author Luc Maisonobe
  * @since 8.0
  */
@@ -46,13 +59,29 @@ class MeasurementHandler implements OrekitStepHandler {
     /** Index of the next measurement component in the model. */
     private int index;
 
+    /** Executor for measurements estimations (null for sequential estimation). */
+    private final ExecutorService executor;
+
+    /** Pending estimations, in chronological order. */
+    private final List<Future<EstimatedMeasurement<?>>> pending;
+
+    /** Model indices of the pending estimations first components. */
+    private final List<Integer> pendingIndices;
+
     /** Simple constructor.
      * @param model least squares model
      * @param precompensated underlying measurements
+     * @param executor executor for measurements estimations
+     * (if null, estimations are performed sequentially within the propagation thread)
+     * @since 9.0
      */
-    MeasurementHandler(final Model model, final List<PreCompensation> precompensated) {
+    MeasurementHandler(final Model model, final List<PreCompensation> precompensated,
+                       final ExecutorService executor) {
         this.model          = model;
         this.precompensated = precompensated;
+        this.executor       = executor;
+        this.pending        = new ArrayList<Future<EstimatedMeasurement<?>>>();
+        this.pendingIndices = new ArrayList<Integer>();
     }
 
     /** {@inheritDoc} */
@@ -60,6 +89,8 @@ class MeasurementHandler implements OrekitStepHandler {
     public void init(final SpacecraftState initialState, final AbsoluteDate target) {
         number = 0;
         index  = 0;
+        // estimations left over by an interrupted propagation are useless
+        discardPending();
     }
 
     /** {@inheritDoc} */
@@ -67,39 +98,85 @@ class MeasurementHandler implements OrekitStepHandler {
     public void handleStep(final OrekitStepInterpolator interpolator, final boolean isLast)
         throws OrekitException {
 
-        while (number < precompensated.size()) {
+        boolean handled = false;
+        try {
+
+            while (number < precompensated.size()) {
 
-            // consider the next measurement to handle
-            final PreCompensation next = precompensated.get(number);
+                // consider the next measurement to handle
+                final PreCompensation next = precompensated.get(number);
 
-            if (next.getDate().compareTo(interpolator.getCurrentState().getDate()) > 0) {
-                // the next date is past the end of the interpolator,
-                // it will be picked-up in a future step
-                if (isLast) {
-                    // this should never happen
-                    throw new OrekitInternalError(null);
+                if (next.getDate().compareTo(interpolator.getCurrentState().getDate()) > 0) {
+                    // the next date is past the end of the interpolator,
+                    // it will be picked-up in a future step
+                    if (isLast) {
+                        // this should never happen
+                        throw new OrekitInternalError(null);
+                    }
+                    break;
                 }
-                return;
+
+                // get the observed measurement
+                final ObservedMeasurement<?> observed = next.getMeasurement();
+
+                // estimate the theoretical measurement
+                final SpacecraftState state      = interpolator.getInterpolatedState(next.getDate());
+                final int             iteration  = model.getIterationsCount();
+                final int             evaluation = model.getEvaluationsCount();
+                if (executor == null) {
+                    // fetch the evaluated measurement to the estimator
+                    model.fetchEvaluatedMeasurement(index, observed.estimate(iteration, evaluation, state));
+                } else {
+                    // defer the estimation to the executor
+                    pending.add(executor.submit(new Callable<EstimatedMeasurement<?>>() {
+                        /** {@inheritDoc} */
+                        @Override
+                        public EstimatedMeasurement<?> call() throws OrekitException {
+                            return observed.estimate(iteration, evaluation, state);
+                        }
+                    }));
+                    pendingIndices.add(index);
+                }
+
+                // prepare handling of next measurement
+                ++number;
+                index += observed.getDimension();
+
             }
 
-            // get the observed measurement
-            final ObservedMeasurement<?> observed = next.getMeasurement();
+            if (isLast) {
+                fetchPending();
+            }
 
-            // estimate the theoretical measurement
-            final SpacecraftState         state     = interpolator.getInterpolatedState(next.getDate());
-            final EstimatedMeasurement<?> estimated = observed.estimate(model.getIterationsCount(),
-                                                                        model.getEvaluationsCount(),
-                                                                        state);
+            handled = true;
 
-            // fetch the evaluated measurement to the estimator
-            model.fetchEvaluatedMeasurement(index, estimated);
+        } finally {
+            if (!handled) {
+                // don't leave estimations running if something went wrong
+                discardPending();
+            }
+        }
 
-            // prepare handling of next measurement
-            ++number;
-            index += observed.getDimension();
+    }
 
+    /** Fetch the pending estimations to the model, in chronological order.
+     * @exception OrekitException if some estimation or Jacobian computation failed
+     */
+    private void fetchPending() throws OrekitException {
+        try {
+            for (int i = 0; i < pending.size(); ++i) {
+                model.fetchEvaluatedMeasurement(pendingIndices.get(i), ParallelExecution.get(pending.get(i)));
+            }
+        } finally {
+            discardPending();
         }
+    }
 
+    /** Cancel the pending estimations and forget about them. */
+    private void discardPending() {
+        ParallelExecution.cancelAll(pending);
+        pending.clear();
+        pendingIndices.clear();
     }
 
 }
@@ -21,6 +21,7 @@ import java.util.HashMap;
 import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 
 import org.hipparchus.linear.Array2DRowRealMatrix;
 import org.hipparchus.linear.ArrayRealVector;
@@ -78,6 +79,9 @@ class Model implements MultivariateJacobianFunction {
     /** Observer to be notified at orbit changes. */
     private final ModelObserver observer;
 
+    /** Executor for measurements estimations (null for sequential estimation). */
+    private final ExecutorService executor;
+
     /** Counter for the evaluations. */
     private Incrementor evaluationsCounter;
 
@@ -104,11 +108,13 @@ class Model implements MultivariateJacobianFunction {
      * @param measurements measurements
      * @param estimatedMeasurementsParameters estimated measurements parameters
      * @param observer observer to be notified at model calls
+     * @param executor executor for measurements estimations
+     * (if null, estimations are performed sequentially within the propagation thread)
      * @exception OrekitException if some propagator parameter cannot be set properly
      */
     Model(final NumericalPropagatorBuilder propagatorBuilder,
           final List<ObservedMeasurement<?>> measurements, final ParameterDriversList estimatedMeasurementsParameters,
-          final ModelObserver observer)
+          final ModelObserver observer, final ExecutorService executor)
         throws OrekitException {
 
         this.propagatorBuilder               = propagatorBuilder;
@@ -117,6 +123,7 @@ class Model implements MultivariateJacobianFunction {
         this.parameterColumns                = new HashMap<String, Integer>(estimatedMeasurementsParameters.getDrivers().size());
         this.evaluations                     = new IdentityHashMap<ObservedMeasurement<?>, EstimatedMeasurement<?>>(measurements.size());
         this.observer                        = observer;
+        this.executor                        = executor;
 
         // allocate vector and matrix
         int rows = 0;
@@ -254,7 +261,7 @@ class Model implements MultivariateJacobianFunction {
             }
         }
         precompensated.sort(new ChronologicalComparator());
-        propagator.setMasterMode(new MeasurementHandler(this, precompensated));
+        propagator.setMasterMode(new MeasurementHandler(this, precompensated, executor));
 
         firstDate = precompensated.get(0).getDate();
         lastDate  = precompensated.get(precompensated.size() - 1).getDate();
@@ -27,6 +27,7 @@ import org.orekit.propagation.SpacecraftState;
 import org.orekit.propagation.events.EventDetector;
 import org.orekit.propagation.numerical.TimeDerivativesEquations;
 import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.Gradient;
 import org.orekit.utils.ParameterDriver;
 
 /** This interface represents a force modifying spacecraft motion.
@@ -113,6 +114,58 @@ public interface ForceModel {
                                        FieldRotation<DerivativeStructure> rotation, DerivativeStructure mass)
         throws OrekitException;
 
+    /** Compute acceleration gradient with respect to state parameters.
+     * <p>
+     * This method is similar to {@link #accelerationDerivatives(AbsoluteDate, Frame,
+     * FieldVector3D, FieldVector3D, FieldRotation, DerivativeStructure)} but uses the
+     * lightweight first order {@link Gradient} type instead of the general
+     * {@link DerivativeStructure}. It is the method used by {@link
+     * org.orekit.propagation.numerical.PartialDerivativesEquations} to compute state
+     * transition matrices. The free parameters have the same meaning as in {@link
+     * #accelerationDerivatives(AbsoluteDate, Frame, FieldVector3D, FieldVector3D,
+     * FieldRotation, DerivativeStructure)}.
+     * </p>
+     * <p>
+     * The default implementation converts the parameters to {@link DerivativeStructure},
+     * calls {@link #accelerationDerivatives(AbsoluteDate, Frame, FieldVector3D,
+     * FieldVector3D, FieldRotation, DerivativeStructure)} and converts the result back.
+     * Force models for which a direct computation is faster should override it.
+     * </p>
+     * @param date current date
+     * @param frame inertial reference frame for state (both orbit and attitude)
+     * @param position position of spacecraft in reference frame
+     * @param velocity velocity of spacecraft in reference frame
+     * @param rotation orientation (attitude) of the spacecraft with respect to reference frame
+     * @param mass spacecraft mass
+     * @return acceleration with gradient specified by the input parameters own gradients
+     * @exception OrekitException if derivatives cannot be computed
+     * @since 9.0
+     */
+    default FieldVector3D<Gradient> accelerationGradient(final AbsoluteDate date, final Frame frame,
+                                                         final FieldVector3D<Gradient> position,
+                                                         final FieldVector3D<Gradient> velocity,
+                                                         final FieldRotation<Gradient> rotation,
+                                                         final Gradient mass)
+        throws OrekitException {
+        final FieldVector3D<DerivativeStructure> acceleration =
+                accelerationDerivatives(date, frame,
+                                        new FieldVector3D<DerivativeStructure>(position.getX().toDerivativeStructure(),
+                                                                               position.getY().toDerivativeStructure(),
+                                                                               position.getZ().toDerivativeStructure()),
+                                        new FieldVector3D<DerivativeStructure>(velocity.getX().toDerivativeStructure(),
+                                                                               velocity.getY().toDerivativeStructure(),
+                                                                               velocity.getZ().toDerivativeStructure()),
+                                        new FieldRotation<DerivativeStructure>(rotation.getQ0().toDerivativeStructure(),
+                                                                               rotation.getQ1().toDerivativeStructure(),
+                                                                               rotation.getQ2().toDerivativeStructure(),
+                                                                               rotation.getQ3().toDerivativeStructure(),
+                                                                               false),
+                                        mass.toDerivativeStructure());
+        return new FieldVector3D<Gradient>(new Gradient(acceleration.getX()),
+                                           new Gradient(acceleration.getY()),
+                                           new Gradient(acceleration.getZ()));
+    }
+
     /** Compute acceleration derivatives with respect to additional parameters.
      * @param s spacecraft state
      * @param paramName name of the parameter with respect to which derivatives are required
@@ -16,6 +16,7 @@
  */
 package org.orekit.forces.drag;
 
+import org.hipparchus.RealFieldElement;
 import org.hipparchus.analysis.differentiation.DerivativeStructure;
 import org.hipparchus.geometry.euclidean.threed.FieldRotation;
 import org.hipparchus.geometry.euclidean.threed.FieldVector3D;
@@ -31,6 +32,7 @@ import org.orekit.propagation.events.EventDetector;
 import org.orekit.propagation.numerical.TimeDerivativesEquations;
 import org.orekit.time.AbsoluteDate;
 import org.orekit.utils.FieldPVCoordinates;
+import org.orekit.utils.Gradient;
 import org.orekit.utils.ParameterDriver;
 
 
@@ -109,61 +111,125 @@ public class DragForce extends AbstractForceModel {
                                                                       final DerivativeStructure mass)
         throws OrekitException {
 
-        // retrieve derivation properties
-        final int parameters = mass.getFreeParameters();
-        final int order      = mass.getOrder();
-
-        // get atmosphere properties in atmosphere own frame
-        final Frame      atmFrame  = atmosphere.getFrame();
-        final Transform  toBody    = frame.getTransformTo(atmFrame, date);
-        final FieldVector3D<DerivativeStructure> posBodyDS = toBody.transformPosition(position);
-        final Vector3D   posBody   = posBodyDS.toVector3D();
-        final Vector3D   vAtmBody  = atmosphere.getVelocity(date, posBody, atmFrame);
-
-        // estimate density model by finite differences and composition
+        // the density model is estimated by finite differences and composition,
         // the following implementation works only for first order derivatives.
         // this could be improved by adding a new method
         // getDensity(AbsoluteDate, DerivativeStructure, Frame)
         // to the Atmosphere interface
-        if (order > 1) {
-            throw new OrekitException(OrekitMessages.OUT_OF_RANGE_DERIVATION_ORDER, order);
+        if (mass.getOrder() > 1) {
+            throw new OrekitException(OrekitMessages.OUT_OF_RANGE_DERIVATION_ORDER, mass.getOrder());
         }
-        final double delta  = 1.0;
-        final double x      = posBody.getX();
-        final double y      = posBody.getY();
-        final double z      = posBody.getZ();
-        final double rho0   = atmosphere.getDensity(date, posBody, atmFrame);
-        final double dRhodX = (atmosphere.getDensity(date, new Vector3D(x + delta, y,         z),         atmFrame) - rho0) / delta;
-        final double dRhodY = (atmosphere.getDensity(date, new Vector3D(x,         y + delta, z),         atmFrame) - rho0) / delta;
-        final double dRhodZ = (atmosphere.getDensity(date, new Vector3D(x,         y,         z + delta), atmFrame) - rho0) / delta;
-        final double[] dXdQ = posBodyDS.getX().getAllDerivatives();
-        final double[] dYdQ = posBodyDS.getY().getAllDerivatives();
-        final double[] dZdQ = posBodyDS.getZ().getAllDerivatives();
-        final double[] rhoAll = new double[dXdQ.length];
-        rhoAll[0] = rho0;
-        for (int i = 1; i < rhoAll.length; ++i) {
-            rhoAll[i] = dRhodX * dXdQ[i] + dRhodY * dYdQ[i] + dRhodZ * dZdQ[i];
-        }
-        final DerivativeStructure rho = new DerivativeStructure(parameters, order, rhoAll);
+
+        final Frame     atmFrame = atmosphere.getFrame();
+        final Transform toBody   = frame.getTransformTo(atmFrame, date);
+        final FieldVector3D<DerivativeStructure> posBody = toBody.transformPosition(position);
+
+        // compute acceleration with all its partial derivatives
+        return spacecraft.dragAcceleration(date, frame, position, rotation, mass,
+                                           density(date, atmFrame, posBody),
+                                           relativeVelocity(date, toBody, posBody, velocity));
+
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public FieldVector3D<Gradient> accelerationGradient(final AbsoluteDate date, final Frame frame,
+                                                        final FieldVector3D<Gradient> position,
+                                                        final FieldVector3D<Gradient> velocity,
+                                                        final FieldRotation<Gradient> rotation,
+                                                        final Gradient mass)
+        throws OrekitException {
+
+        final Frame     atmFrame = atmosphere.getFrame();
+        final Transform toBody   = frame.getTransformTo(atmFrame, date);
+        final FieldVector3D<Gradient> posBody = toBody.transformPosition(position);
+
+        // compute acceleration with all its partial derivatives
+        return spacecraft.dragAccelerationGradient(date, frame, position, rotation, mass,
+                                                   density(date, atmFrame, posBody),
+                                                   relativeVelocity(date, toBody, posBody, velocity));
+
+    }
+
+    /** Compute density with first order derivatives.
+     * @param date current date
+     * @param atmFrame atmosphere frame
+     * @param posBody position in atmosphere frame
+     * @param <T> type of the field elements
+     * @return density, with first order derivatives
+     * @exception OrekitException if density cannot be computed
+     */
+    private <T extends RealFieldElement<T>> T density(final AbsoluteDate date, final Frame atmFrame,
+                                                      final FieldVector3D<T> posBody)
+        throws OrekitException {
+
+        // estimate density model by finite differences and composition
+        final double[] rhoDiff = densityDifferences(date, posBody.toVector3D(), atmFrame);
+
+        // position offset, with zero value and the position partial derivatives
+        final FieldVector3D<T> dp = posBody.subtract(posBody.toVector3D());
+
+        return dp.getX().multiply(rhoDiff[1]).
+               add(dp.getY().multiply(rhoDiff[2])).
+               add(dp.getZ().multiply(rhoDiff[3])).
+               add(rhoDiff[0]);
+
+    }
+
+    /** Compute relative velocity of atmosphere with respect to spacecraft.
+     * @param date current date
+     * @param toBody transform from inertial frame to atmosphere frame
+     * @param posBody position in atmosphere frame
+     * @param velocity velocity of spacecraft in inertial frame
+     * @param <T> type of the field elements
+     * @return relative velocity in inertial frame
+     * @exception OrekitException if atmosphere velocity cannot be computed
+     */
+    private <T extends RealFieldElement<T>> FieldVector3D<T> relativeVelocity(final AbsoluteDate date,
+                                                                              final Transform toBody,
+                                                                              final FieldVector3D<T> posBody,
+                                                                              final FieldVector3D<T> velocity)
+        throws OrekitException {
+
+        final Vector3D vAtmBody = atmosphere.getVelocity(date, posBody.toVector3D(), atmosphere.getFrame());
 
         // we consider that at first order the atmosphere velocity in atmosphere frame
         // does not depend on local position; however atmosphere velocity in inertial
         // frame DOES depend on position since the transform between the frames depends
         // on it, due to central body rotation rate and velocity composition.
         // So we use the transform to get the correct partial derivatives on vAtm
-        final FieldVector3D<DerivativeStructure> vAtmBodyDS =
-                new FieldVector3D<DerivativeStructure>(new DerivativeStructure(parameters, order, vAtmBody.getX()),
-                                                       new DerivativeStructure(parameters, order, vAtmBody.getY()),
-                                                       new DerivativeStructure(parameters, order, vAtmBody.getZ()));
-        final FieldPVCoordinates<DerivativeStructure> pvAtmBody = new FieldPVCoordinates<DerivativeStructure>(posBodyDS, vAtmBodyDS);
-        final FieldPVCoordinates<DerivativeStructure> pvAtm     = toBody.getInverse().transformPVCoordinates(pvAtmBody);
+        final T zero = posBody.getX().getField().getZero();
+        final FieldVector3D<T> vAtmBodyF = new FieldVector3D<T>(zero.add(vAtmBody.getX()),
+                                                                zero.add(vAtmBody.getY()),
+                                                                zero.add(vAtmBody.getZ()));
+        final FieldPVCoordinates<T> pvAtmBody = new FieldPVCoordinates<T>(posBody, vAtmBodyF);
+        final FieldPVCoordinates<T> pvAtm     = toBody.getInverse().transformPVCoordinates(pvAtmBody);
 
         // now we can compute relative velocity, it takes into account partial derivatives with respect to position
-        final FieldVector3D<DerivativeStructure> relativeVelocity = pvAtm.getVelocity().subtract(velocity);
+        return pvAtm.getVelocity().subtract(velocity);
 
-        // compute acceleration with all its partial derivatives
-        return spacecraft.dragAcceleration(date, frame, position, rotation, mass, rho, relativeVelocity);
+    }
 
+    /** Estimate density and its derivatives with respect to position by finite differences.
+     * @param date current date
+     * @param posBody position in atmosphere frame
+     * @param atmFrame atmosphere frame
+     * @return density and its partial derivatives with respect to x, y and z in atmosphere frame
+     * @exception OrekitException if density cannot be computed
+     */
+    private double[] densityDifferences(final AbsoluteDate date, final Vector3D posBody, final Frame atmFrame)
+        throws OrekitException {
+        final double delta  = 1.0;
+        final double x      = posBody.getX();
+        final double y      = posBody.getY();
+        final double z      = posBody.getZ();
+        final double rho0   = atmosphere.getDensity(date, posBody, atmFrame);
+        final double dRhodX = (atmosphere.getDensity(date, new Vector3D(x + delta, y,         z),         atmFrame) - rho0) / delta;
+        final double dRhodY = (atmosphere.getDensity(date, new Vector3D(x,         y + delta, z),         atmFrame) - rho0) / delta;
+        final double dRhodZ = (atmosphere.getDensity(date, new Vector3D(x,         y,         z + delta), atmFrame) - rho0) / delta;
+        return new double[] {
+            rho0, dRhodX, dRhodY, dRhodZ
+        };
     }
 
     /** {@inheritDoc} */
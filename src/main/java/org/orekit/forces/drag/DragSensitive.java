@@ -28,6 +28,7 @@ import org.hipparchus.ode.LocalizedODEFormats;
 import org.orekit.errors.OrekitException;
 import org.orekit.frames.Frame;
 import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.Gradient;
 import org.orekit.utils.ParameterDriver;
 
 /** Interface for spacecraft that are sensitive to atmospheric drag forces.
@@ -89,6 +90,55 @@ public interface DragSensitive {
                                                         DerivativeStructure density, FieldVector3D<DerivativeStructure> relativeVelocity)
         throws OrekitException;
 
+    /** Compute the acceleration due to drag, with state gradient.
+     * <p>
+     * This method is similar to {@link #dragAcceleration(AbsoluteDate, Frame,
+     * FieldVector3D, FieldRotation, DerivativeStructure, DerivativeStructure,
+     * FieldVector3D)} but uses the lightweight first order {@link Gradient} type.
+     * </p>
+     * <p>
+     * The default implementation converts the parameters to {@link DerivativeStructure},
+     * calls {@link #dragAcceleration(AbsoluteDate, Frame, FieldVector3D, FieldRotation,
+     * DerivativeStructure, DerivativeStructure, FieldVector3D)} and converts the result back.
+     * </p>
+     * @param date current date
+     * @param frame inertial reference frame for state (both orbit and attitude)
+     * @param position position of spacecraft in reference frame
+     * @param rotation orientation (attitude) of the spacecraft with respect to reference frame
+     * @param mass spacecraft mass
+     * @param density atmospheric density at spacecraft position
+     * @param relativeVelocity relative velocity of atmosphere with respect to spacecraft,
+     * in the same inertial frame as spacecraft orbit (m/s)
+     * @return spacecraft acceleration in the same inertial frame as spacecraft orbit (m/s²)
+     * @throws OrekitException if acceleration cannot be computed
+     * @since 9.0
+     */
+    default FieldVector3D<Gradient> dragAccelerationGradient(final AbsoluteDate date, final Frame frame,
+                                                             final FieldVector3D<Gradient> position,
+                                                             final FieldRotation<Gradient> rotation,
+                                                             final Gradient mass, final Gradient density,
+                                                             final FieldVector3D<Gradient> relativeVelocity)
+        throws OrekitException {
+        final FieldVector3D<DerivativeStructure> acceleration =
+                dragAcceleration(date, frame,
+                                 new FieldVector3D<DerivativeStructure>(position.getX().toDerivativeStructure(),
+                                                                        position.getY().toDerivativeStructure(),
+                                                                        position.getZ().toDerivativeStructure()),
+                                 new FieldRotation<DerivativeStructure>(rotation.getQ0().toDerivativeStructure(),
+                                                                        rotation.getQ1().toDerivativeStructure(),
+                                                                        rotation.getQ2().toDerivativeStructure(),
+                                                                        rotation.getQ3().toDerivativeStructure(),
+                                                                        false),
+                                 mass.toDerivativeStructure(),
+                                 density.toDerivativeStructure(),
+                                 new FieldVector3D<DerivativeStructure>(relativeVelocity.getX().toDerivativeStructure(),
+                                                                        relativeVelocity.getY().toDerivativeStructure(),
+                                                                        relativeVelocity.getZ().toDerivativeStructure()));
+        return new FieldVector3D<Gradient>(new Gradient(acceleration.getX()),
+                                           new Gradient(acceleration.getY()),
+                                           new Gradient(acceleration.getZ()));
+    }
+
     /** Compute acceleration due to drag, with parameters derivatives.
      * @param date current date
      * @param frame inertial reference frame for state (both orbit and attitude)
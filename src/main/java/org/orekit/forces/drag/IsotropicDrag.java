@@ -16,6 +16,7 @@
  */
 package org.orekit.forces.drag;
 
+import org.hipparchus.RealFieldElement;
 import org.hipparchus.analysis.differentiation.DerivativeStructure;
 import org.hipparchus.geometry.euclidean.threed.FieldRotation;
 import org.hipparchus.geometry.euclidean.threed.FieldVector3D;
@@ -27,6 +28,7 @@ import org.orekit.errors.OrekitInternalError;
 import org.orekit.errors.OrekitMessages;
 import org.orekit.frames.Frame;
 import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.Gradient;
 import org.orekit.utils.ParameterDriver;
 import org.orekit.utils.ParameterObserver;
 
@@ -104,8 +106,28 @@ public class IsotropicDrag implements DragSensitive {
     public FieldVector3D<DerivativeStructure> dragAcceleration(final AbsoluteDate date, final Frame frame, final FieldVector3D<DerivativeStructure> position,
                                                                final FieldRotation<DerivativeStructure> rotation, final DerivativeStructure mass,
                                                                final DerivativeStructure density, final FieldVector3D<DerivativeStructure> relativeVelocity) {
-        return new FieldVector3D<DerivativeStructure>(relativeVelocity.getNorm().multiply(density.multiply(dragCoeff * crossSection / 2)).divide(mass),
-                              relativeVelocity);
+        return acceleration(mass, density, relativeVelocity);
+    }
+
+    /** {@inheritDoc} */
+    public FieldVector3D<Gradient> dragAccelerationGradient(final AbsoluteDate date, final Frame frame, final FieldVector3D<Gradient> position,
+                                                            final FieldRotation<Gradient> rotation, final Gradient mass,
+                                                            final Gradient density, final FieldVector3D<Gradient> relativeVelocity) {
+        return acceleration(mass, density, relativeVelocity);
+    }
+
+    /** Compute drag acceleration.
+     * @param mass current mass
+     * @param density atmospheric density at spacecraft position
+     * @param relativeVelocity relative velocity of atmosphere with respect to spacecraft,
+     * in the same inertial frame as spacecraft orbit (m/s)
+     * @param <T> type of the field elements
+     * @return spacecraft acceleration in the same inertial frame as spacecraft orbit (m/s²)
+     */
+    private <T extends RealFieldElement<T>> FieldVector3D<T> acceleration(final T mass, final T density,
+                                                                          final FieldVector3D<T> relativeVelocity) {
+        return new FieldVector3D<T>(relativeVelocity.getNorm().multiply(density.multiply(dragCoeff * crossSection / 2)).divide(mass),
+                                    relativeVelocity);
     }
 
     /** {@inheritDoc} */
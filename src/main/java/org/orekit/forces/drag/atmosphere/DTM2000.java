@@ -20,7 +20,6 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.util.Arrays;
 import java.util.Calendar;
 import java.util.GregorianCalendar;
 
@@ -86,6 +85,18 @@ import org.orekit.utils.PVCoordinatesProvider;
  * All these data can be found on the <a href="http://sec.noaa.gov/Data/index.html">
  * NOAA (National Oceanic and Atmospheric Administration) website.</a>
  * </p>
+ * <p>
+ * Density evaluations do not share any mutable state, so one instance can be
+ * used concurrently by several threads, for example by several numerical
+ * propagators sharing the same {@link org.orekit.forces.drag.DragForce drag force model},
+ * provided the {@link DTM2000InputParameters input parameters} can themselves
+ * be queried concurrently (which is the case for
+ * {@link org.orekit.forces.drag.atmosphere.data.MarshallSolarActivityFutureEstimation}).
+ * The {@link #getT()}, {@link #getTinf()}, {@link #getMam()} and
+ * {@link #getPartialDensities(int)} getters refer to the last completed
+ * evaluation (they return 0 before the first one), so they should only be
+ * used when the instance is not shared.
+ * </p>
  *
  *
  * @author R. Biancale, S. Bruinsma: original fortran routine
@@ -177,109 +188,10 @@ public class DTM2000 implements Atmosphere {
     private static double[] t0   = null;
     private static double[] tp   = null;
 
-    /** Partial derivatives. */
-    private double[] dtt;
-    private double[] dh;
-    private double[] dhe;
-    private double[] dox;
-    private double[] daz2;
-    private double[] do2;
-    private double[] daz;
-    private double[] dt0;
-    private double[] dtp;
-
     // CHECKSTYLE: resume JavadocVariable check
 
-    /** Number of days in current year. */
-    private int cachedDay;
-
-    /** Instant solar flux. f[1] = instantaneous flux; f[2] = 0. (not used). */
-    private double[] cachedF = new double[3];
-
-    /** Mean solar flux. fbar[1] = mean flux; fbar[2] = 0. (not used). */
-    private double[] cachedFbar = new double[3];
-
-    /** Kp coefficients.
-     * <ul>
-     *   <li>akp[1] = 3-hourly kp</li>
-     *   <li>akp[2] = 0 (not used)</li>
-     *   <li>akp[3] = mean kp of last 24 hours</li>
-     *   <li>akp[4] = 0 (not used)</li>
-     * </ul>
-     */
-    private double[] akp = new double[5];
-
-    /** Geodetic altitude in km (minimum altitude: 120 km). */
-    private double cachedAlti;
-
-    /** Local solar time (rad). */
-    private double cachedHl;
-
-    /** Geodetic Latitude (rad). */
-    private double alat;
-
-    /** Geodetic longitude (rad). */
-    private double xlon;
-
-    /** Temperature at altitude z (K). */
-    private double tz;
-
-    /** Exospheric temperature. */
-    private double tinf;
-
-    /** Vertical gradient of T a 120 km. */
-    private double tp120;
-
-    /** Total density (g/cm3). */
-    private double ro;
-
-    /** Mean atomic mass. */
-    private double wmm;
-
-    /** Partial densities in (g/cm3).
-     * d(1) = hydrogen
-     * d(2) = helium
-     * d(3) = atomic oxygen
-     * d(4) = molecular nitrogen
-     * d(5) = molecular oxygen
-     * d(6) = atomic nitrogen
-     */
-    private double[] d = new double[7];
-
-    // CHECKSTYLE: stop JavadocVariable check
-
-    /** Legendre coefficients. */
-    private double p10;
-    private double p20;
-    private double p30;
-    private double p40;
-    private double p50;
-    private double p60;
-    private double p11;
-    private double p21;
-    private double p31;
-    private double p41;
-    private double p51;
-    private double p22;
-    private double p32;
-    private double p42;
-    private double p52;
-    private double p62;
-    private double p33;
-    private double p10mg;
-    private double p20mg;
-    private double p40mg;
-
-    /** Local time intermediate values. */
-    private double hl0;
-    private double ch;
-    private double sh;
-    private double c2h;
-    private double s2h;
-    private double c3h;
-    private double s3h;
-
-    // CHECKSTYLE: resume JavadocVariable check
+    /** Last computation performed. */
+    private transient volatile Computation lastComputation;
 
     /** Sun position. */
     private PVCoordinatesProvider sun;
@@ -310,27 +222,6 @@ public class DTM2000 implements Atmosphere {
         this.earth = earth;
         this.sun = sun;
         this.inputParams = parameters;
-
-        dtt  = new double[tt.length];
-        dh   = new double[tt.length];
-        dhe  = new double[tt.length];
-        dox  = new double[tt.length];
-        daz2 = new double[tt.length];
-        do2  = new double[tt.length];
-        daz  = new double[tt.length];
-        dt0  = new double[tt.length];
-        dtp  = new double[tt.length];
-
-        Arrays.fill(dtt,  Double.NaN);
-        Arrays.fill(dh,   Double.NaN);
-        Arrays.fill(dhe,  Double.NaN);
-        Arrays.fill(dox,  Double.NaN);
-        Arrays.fill(daz2, Double.NaN);
-        Arrays.fill(do2,  Double.NaN);
-        Arrays.fill(daz,  Double.NaN);
-        Arrays.fill(dt0,  Double.NaN);
-        Arrays.fill(dtp,  Double.NaN);
-
     }
 
     /** {@inheritDoc} */
@@ -351,391 +242,20 @@ public class DTM2000 implements Atmosphere {
      * @return the local density (kg/m³)
      * @exception OrekitException if altitude is outside of supported range
      */
-    public synchronized double getDensity(final int day,
-                                          final double alti, final double lon, final double lat,
-                                          final double hl, final double f, final double fbar,
-                                          final double akp3, final double akp24)
+    public double getDensity(final int day,
+                             final double alti, final double lon, final double lat,
+                             final double hl, final double f, final double fbar,
+                             final double akp3, final double akp24)
         throws OrekitException {
         final double threshold = 120000;
         if (alti < threshold) {
             throw new OrekitException(OrekitMessages.ALTITUDE_BELOW_ALLOWED_THRESHOLD,
                                       alti, threshold);
         }
-        this.cachedDay  = day;
-        this.cachedAlti = alti / 1000;
-        xlon = lon;
-        alat = lat;
-        this.cachedHl = hl;
-        this.cachedF[1] = f;
-        this.cachedFbar[1] = fbar;
-        akp[1] = akp3;
-        akp[3] = akp24;
-        computation();
-        return ro * 1000;
-    }
-
-
-    /** Computes output vales once the inputs are set.
-     */
-    private synchronized void computation() {
-        ro = 0.0;
-
-        final double zlb = ZLB0; // + dzlb ??
-
-        // compute Legendre polynomials wrt geographic pole
-        final double c = FastMath.sin(alat);
-        final double c2 = c * c;
-        final double c4 = c2 * c2;
-        final double s = FastMath.cos(alat);
-        final double s2 = s * s;
-        p10 = c;
-        p20 = 1.5 * c2 - 0.5;
-        p30 = c * (2.5 * c2 - 1.5);
-        p40 = 4.375 * c4 - 3.75 * c2 + 0.375;
-        p50 = c * (7.875 * c4 - 8.75 * c2 + 1.875);
-        p60 = (5.5 * c * p50 - 2.5 * p40) / 3.0;
-        p11 = s;
-        p21 = 3.0 * c * s;
-        p31 = s * (7.5 * c2 - 1.5);
-        p41 = c * s * (17.5 * c2 - 7.5);
-        p51 = s * (39.375 * c4 - 26.25 * c2 + 1.875);
-        p22 = 3.0 * s2;
-        p32 = 15.0 * c * s2;
-        p42 = s2 * (52.5 * c2 - 7.5);
-        p52 = 3.0 * c * p42 - 2.0 * p32;
-        p62 = 2.75 * c * p52 - 1.75 * p42;
-        p33 = 15.0 * s * s2;
-
-        // compute Legendre polynomials wrt magnetic pole (79N, 71W)
-        final double clmlmg = FastMath.cos(xlon - XLMG);
-        final double cmg  = s * CPMG * clmlmg + c * SPMG;
-        final double cmg2 = cmg * cmg;
-        final double cmg4 = cmg2 * cmg2;
-        p10mg = cmg;
-        p20mg = 1.5 * cmg2 - 0.5;
-        p40mg = 4.375 * cmg4 - 3.75 * cmg2 + 0.375;
-
-        // local time
-        hl0 = cachedHl;
-        ch  = FastMath.cos(hl0);
-        sh  = FastMath.sin(hl0);
-        c2h = ch * ch - sh * sh;
-        s2h = 2.0 * ch * sh;
-        c3h = c2h * ch - s2h * sh;
-        s3h = s2h * ch + c2h * sh;
-
-        //  compute function g(l) / tinf, t120, tp120
-        int kleq = 1;
-        final double gdelt = gFunction(tt, dtt, 1, kleq);
-        dtt[1] = 1.0 + gdelt;
-        tinf   = tt[1] * dtt[1];
-
-        kleq = 0; // equinox
-
-        if ((cachedDay < 59) || (cachedDay > 284)) {
-            kleq = -1; // north winter
-        }
-        if ((cachedDay > 99) && (cachedDay < 244)) {
-            kleq = 1; // north summer
-        }
-
-        final double gdelt0 =  gFunction(t0, dt0, 0, kleq);
-        dt0[1] = (t0[1] + gdelt0) / t0[1];
-        final double t120 = t0[1] + gdelt0;
-        final double gdeltp = gFunction(tp, dtp, 0, kleq);
-        dtp[1] = (tp[1] + gdeltp) / tp[1];
-        tp120 = tp[1] + gdeltp;
-
-        // compute n(z) concentrations: H, He, O, N2, O2, N
-        final double sigma   = tp120 / (tinf - t120);
-        final double dzeta   = (RE + zlb) / (RE + cachedAlti);
-        final double zeta    = (cachedAlti - zlb) * dzeta;
-        final double sigzeta = sigma * zeta;
-        final double expsz   = FastMath.exp(-sigzeta);
-        tz = tinf - (tinf - t120) * expsz;
-
-        final double[] dbase = new double[7];
-
-        kleq = 1;
-
-        final double gdelh = gFunction(h, dh, 0, kleq);
-        dh[1] = FastMath.exp(gdelh);
-        dbase[1] = h[1] * dh[1];
-
-        final double gdelhe = gFunction(he, dhe, 0, kleq);
-        dhe[1] = FastMath.exp(gdelhe);
-        dbase[2] = he[1] * dhe[1];
-
-        final double gdelo = gFunction(o, dox, 1, kleq);
-        dox[1] = FastMath.exp(gdelo);
-        dbase[3] = o[1] * dox[1];
-
-        final double gdelaz2 = gFunction(az2, daz2, 1, kleq);
-        daz2[1] = FastMath.exp(gdelaz2);
-        dbase[4] = az2[1] * daz2[1];
-
-        final double gdelo2 = gFunction(o2, do2, 1, kleq);
-        do2[1] = FastMath.exp(gdelo2);
-        dbase[5] = o2[1] * do2[1];
-
-        final double gdelaz = gFunction(az, daz, 1, kleq);
-        daz[1] = FastMath.exp(gdelaz);
-        dbase[6] = az[1] * daz[1];
-
-        final double zlbre  = 1.0 + zlb / RE;
-        final double glb    = (GSURF / (zlbre * zlbre)) / (sigma * RGAS * tinf);
-        final double t120tz = t120 / tz;
-
-        final double[] cc = new double[7];
-        final double[] fz = new double[7];
-
-        for (int i = 1; i <= 6; i++) {
-            final double gamma = MA[i] * glb;
-            final double upapg = 1.0 + ALEFA[i] + gamma;
-            fz[i] = FastMath.pow(t120tz, upapg) * FastMath.exp(-sigzeta * gamma);
-            // concentrations of H, He, O, N2, O2, N (particles/cm³)
-            cc[i] = dbase[i] * fz[i];
-            // densities of H, He, O, N2, O2, N (g/cm³)
-            d[i]  = cc[i] * VMA[i];
-            // total density
-            ro += d[i];
-        }
-
-        // mean atomic mass
-        wmm = ro / (VMA[1] * (cc[1] + cc[2] + cc[3] + cc[4] + cc[5] + cc[6]));
-
-    }
-
-    /** Computation of function G.
-     * @param a vector of coefficients for computation
-     * @param da vector of partial derivatives
-     * @param ff0 coefficient flag (1 for Ox, Az, He, T°; 0 for H and tp120)
-     * @param kle_eq season indicator flag (summer, winter, equinox)
-     * @return value of G
-     */
-    private synchronized double gFunction(final double[] a, final double[] da,
-                                          final int ff0, final int kle_eq) {
-
-        final double[] fmfb   = new double[3];
-        final double[] fbm150 = new double[3];
-
-        // latitude terms
-        da[2]  = p20;
-        da[3]  = p40;
-        da[74] = p10;
-        double a74 = a[74];
-        double a77 = a[77];
-        double a78 = a[78];
-        if (kle_eq == -1) {
-            // winter
-            a74 = -a74;
-            a77 = -a77;
-            a78 = -a78;
-        }
-        if (kle_eq == 0 ) {
-            // equinox
-            a74 = semestrialCorrection(a74);
-            a77 = semestrialCorrection(a77);
-            a78 = semestrialCorrection(a78);
-        }
-        da[77] = p30;
-        da[78] = p50;
-        da[79] = p60;
-
-        // flux terms
-        fmfb[1]   = cachedF[1] - cachedFbar[1];
-        fmfb[2]   = cachedF[2] - cachedFbar[2];
-        fbm150[1] = cachedFbar[1] - 150.0;
-        fbm150[2] = cachedFbar[2];
-        da[4]     = fmfb[1];
-        da[6]     = fbm150[1];
-        da[4]     = da[4] + a[70] * fmfb[2];
-        da[6]     = da[6] + a[71] * fbm150[2];
-        da[70]    = fmfb[2] * (a[4] + 2.0 * a[5] * da[4] + a[82] * p10 +
-                               a[83] * p20 + a[84] * p30);
-        da[71]    = fbm150[2] * (a[6] + 2.0 * a[69] * da[6] + a[85] * p10 +
-                                 a[86] * p20 + a[87] * p30);
-        da[5]     = da[4] * da[4];
-        da[69]    = da[6] * da[6];
-        da[82]    = da[4] * p10;
-        da[83]    = da[4] * p20;
-        da[84]    = da[4] * p30;
-        da[85]    = da[6] * p20;
-        da[86]    = da[6] * p30;
-        da[87]    = da[6] * p40;
-
-        // Kp terms
-        final int ikp  = 62;
-        final int ikpm = 67;
-        final double c2fi = 1.0 - p10mg * p10mg;
-        final double dkp  = akp[1] + (a[ikp] + c2fi * a[ikp + 1]) * akp[2];
-        double dakp = a[7] + a[8] * p20mg + a[68] * p40mg +
-                      2.0 * dkp * (a[60] + a[61] * p20mg +
-                                   a[75] * 2.0 * dkp * dkp);
-        da[ikp] = dakp * akp[2];
-        da[ikp + 1] = da[ikp] * c2fi;
-        final double dkpm  = akp[3] + a[ikpm] * akp[4];
-        final double dakpm = a[64] + a[65] * p20mg + a[72] * p40mg +
-                             2.0 * dkpm * (a[66] + a[73] * p20mg +
-                                           a[76] * 2.0 * dkpm * dkpm);
-        da[ikpm] = dakpm * akp[4];
-        da[7]    = dkp;
-        da[8]    = p20mg * dkp;
-        da[68]   = p40mg * dkp;
-        da[60]   = dkp * dkp;
-        da[61]   = p20mg * da[60];
-        da[75]   = da[60] * da[60];
-        da[64]   = dkpm;
-        da[65]   = p20mg * dkpm;
-        da[72]   = p40mg * dkpm;
-        da[66]   = dkpm * dkpm;
-        da[73]   = p20mg * da[66];
-        da[76]   = da[66] * da[66];
-
-        // non-periodic g(l) function
-        double f0 = a[4]  * da[4]  + a[5]  * da[5]  + a[6]  * da[6]  +
-                    a[69] * da[69] + a[82] * da[82] + a[83] * da[83] +
-                    a[84] * da[84] + a[85] * da[85] + a[86] * da[86] +
-                    a[87] * da[87];
-        final double f1f = 1.0 + f0 * ff0;
-
-        f0 = f0 + a[2] * da[2] + a[3] * da[3] + a74 * da[74] +
-             a77 * da[77] + a[7] * da[7] + a[8] * da[8] +
-             a[60] * da[60] + a[61] * da[61] + a[68] * da[68] +
-             a[64] * da[64] + a[65] * da[65] + a[66] * da[66] +
-             a[72] * da[72] + a[73] * da[73] + a[75] * da[75] +
-             a[76] * da[76] + a78   * da[78] + a[79] * da[79];
-//      termes annuels symetriques en latitude
-        da[9]  = FastMath.cos(ROT * (cachedDay - a[11]));
-        da[10] = p20 * da[9];
-//      termes semi-annuels symetriques en latitude
-        da[12] = FastMath.cos(ROT2 * (cachedDay - a[14]));
-        da[13] = p20 * da[12];
-//      termes annuels non symetriques en latitude
-        final double coste = FastMath.cos(ROT * (cachedDay - a[18]));
-        da[15] = p10 * coste;
-        da[16] = p30 * coste;
-        da[17] = p50 * coste;
-//      terme  semi-annuel  non symetrique  en latitude
-        final double cos2te = FastMath.cos(ROT2 * (cachedDay - a[20]));
-        da[19] = p10 * cos2te;
-        da[39] = p30 * cos2te;
-        da[59] = p50 * cos2te;
-//      termes diurnes [et couples annuel]
-        da[21] = p11 * ch;
-        da[22] = p31 * ch;
-        da[23] = p51 * ch;
-        da[24] = da[21] * coste;
-        da[25] = p21 * ch * coste;
-        da[26] = p11 * sh;
-        da[27] = p31 * sh;
-        da[28] = p51 * sh;
-        da[29] = da[26] * coste;
-        da[30] = p21 * sh * coste;
-//      termes semi-diurnes [et couples annuel]
-        da[31] = p22 * c2h;
-        da[37] = p42 * c2h;
-        da[32] = p32 * c2h * coste;
-        da[33] = p22 * s2h;
-        da[38] = p42 * s2h;
-        da[34] = p32 * s2h * coste;
-        da[88] = p32 * c2h;
-        da[89] = p32 * s2h;
-        da[90] = p52 * c2h;
-        da[91] = p52 * s2h;
-        double a88 = a[88];
-        double a89 = a[89];
-        double a90 = a[90];
-        double a91 = a[91];
-        if (kle_eq == -1) {            //hiver
-            a88 = -a88;
-            a89 = -a89;
-            a90 = -a90;
-            a91 = -a91;
-        }
-        if (kle_eq == 0) {             //equinox
-            a88 = semestrialCorrection(a88);
-            a89 = semestrialCorrection(a89);
-            a90 = semestrialCorrection(a90);
-            a91 = semestrialCorrection(a91);
-        }
-        da[92] = p62 * c2h;
-        da[93] = p62 * s2h;
-//      termes ter-diurnes
-        da[35] = p33 * c3h;
-        da[36] = p33 * s3h;
-//      fonction g[l] periodique
-        double fp = a[9]  * da[9]  + a[10] * da[10] + a[12] * da[12] + a[13] * da[13] +
-                    a[15] * da[15] + a[16] * da[16] + a[17] * da[17] + a[19] * da[19] +
-                    a[21] * da[21] + a[22] * da[22] + a[23] * da[23] + a[24] * da[24] +
-                    a[25] * da[25] + a[26] * da[26] + a[27] * da[27] + a[28] * da[28] +
-                    a[29] * da[29] + a[30] * da[30] + a[31] * da[31] + a[32] * da[32] +
-                    a[33] * da[33] + a[34] * da[34] + a[35] * da[35] + a[36] * da[36] +
-                    a[37] * da[37] + a[38] * da[38] + a[39] * da[39] + a[59] * da[59] +
-                    a88   * da[88] + a89   * da[89] + a90   * da[90] + a91   * da[91] +
-                    a[92] * da[92] + a[93] * da[93];
-//      termes d'activite magnetique
-        da[40] = p10 * coste * dkp;
-        da[41] = p30 * coste * dkp;
-        da[42] = p50 * coste * dkp;
-        da[43] = p11 * ch * dkp;
-        da[44] = p31 * ch * dkp;
-        da[45] = p51 * ch * dkp;
-        da[46] = p11 * sh * dkp;
-        da[47] = p31 * sh * dkp;
-        da[48] = p51 * sh * dkp;
-
-//      fonction g[l] periodique supplementaire
-        fp += a[40] * da[40] + a[41] * da[41] + a[42] * da[42] + a[43] * da[43] +
-              a[44] * da[44] + a[45] * da[45] + a[46] * da[46] + a[47] * da[47] +
-              a[48] * da[48];
-
-        dakp = (a[40] * p10 + a[41] * p30 + a[42] * p50) * coste +
-               (a[43] * p11 + a[44] * p31 + a[45] * p51) * ch +
-               (a[46] * p11 + a[47] * p31 + a[48] * p51) * sh;
-        da[ikp] += dakp * akp[2];
-        da[ikp + 1] = da[ikp] + dakp * c2fi * akp[2];
-//      termes de longitude
-        final double clfl = FastMath.cos(xlon);
-        da[49] = p11 * clfl;
-        da[50] = p21 * clfl;
-        da[51] = p31 * clfl;
-        da[52] = p41 * clfl;
-        da[53] = p51 * clfl;
-        final double slfl = FastMath.sin(xlon);
-        da[54] = p11 * slfl;
-        da[55] = p21 * slfl;
-        da[56] = p31 * slfl;
-        da[57] = p41 * slfl;
-        da[58] = p51 * slfl;
-
-//      fonction g[l] periodique supplementaire
-        fp += a[49] * da[49] + a[50] * da[50] + a[51] * da[51] + a[52] * da[52] +
-              a[53] * da[53] + a[54] * da[54] + a[55] * da[55] + a[56] * da[56] +
-              a[57] * da[57] + a[58] * da[58];
-
-//      fonction g(l) totale (couplage avec le flux)
-        return f0 + fp * f1f;
-
-    }
-
-
-    /** Apply a correction coefficient to the given parameter.
-     * @param param the parameter to correct
-     * @return the corrected parameter
-     */
-    private synchronized double semestrialCorrection(final double param) {
-        final int debeq_pr = 59;
-        final int debeq_au = 244;
-        final double result;
-        if (cachedDay >= 100) {
-            final double xmult  = (cachedDay - debeq_au) / 40.0;
-            result = param - 2.0 * param * xmult;
-        } else {
-            final double xmult  = (cachedDay - debeq_pr) / 40.0;
-            result = 2.0 * param * xmult - param;
-        }
-        return result;
+        final Computation computation = new Computation(day, alti / 1000, lon, lat, hl,
+                                                        f, fbar, akp3, akp24);
+        lastComputation = computation;
+        return computation.ro * 1000;
     }
 
 
@@ -808,7 +328,8 @@ public class DTM2000 implements Atmosphere {
      * @return the exospheric temperature (K)
      */
     public double getTinf() {
-        return tinf;
+        final Computation last = lastComputation;
+        return (last == null) ? 0.0 : last.tinf;
     }
 
     /** Get the local temperature.
@@ -817,7 +338,8 @@ public class DTM2000 implements Atmosphere {
      * @return the temperature at altitude z (K)
      */
     public double getT() {
-        return tz;
+        final Computation last = lastComputation;
+        return (last == null) ? 0.0 : last.tz;
     }
 
     /** Get the local mean atomic mass.
@@ -826,7 +348,8 @@ public class DTM2000 implements Atmosphere {
      * @return the local mean atomic mass
      */
     public double getMam() {
-        return wmm;
+        final Computation last = lastComputation;
+        return (last == null) ? 0.0 : last.wmm;
     }
 
     /** Get the local partial density of the selected element.
@@ -840,7 +363,8 @@ public class DTM2000 implements Atmosphere {
         if (identifier < 1 || identifier > 6) {
             throw new IllegalArgumentException("element identifier is not correct");
         }
-        return d[identifier] * 1000;
+        final Computation last = lastComputation;
+        return (last == null) ? 0.0 : last.d[identifier] * 1000;
     }
 
     /** Get the local density.
@@ -889,4 +413,493 @@ public class DTM2000 implements Atmosphere {
 
     }
 
+    /** Local holder for intermediate results.
+     * <p>
+     * A new instance is built for each density evaluation, so evaluations
+     * do not share any mutable state and the model can be used concurrently
+     * by several threads.
+     * </p>
+     * @since 9.0
+     */
+    private static class Computation {
+
+        /** Number of days in current year. */
+        private final int day;
+
+        /** Instant solar flux. f[1] = instantaneous flux; f[2] = 0. (not used). */
+        private final double[] f = new double[3];
+
+        /** Mean solar flux. fbar[1] = mean flux; fbar[2] = 0. (not used). */
+        private final double[] fbar = new double[3];
+
+        /** Kp coefficients.
+         * <ul>
+         *   <li>akp[1] = 3-hourly kp</li>
+         *   <li>akp[2] = 0 (not used)</li>
+         *   <li>akp[3] = mean kp of last 24 hours</li>
+         *   <li>akp[4] = 0 (not used)</li>
+         * </ul>
+         */
+        private final double[] akp = new double[5];
+
+        /** Geodetic altitude in km (minimum altitude: 120 km). */
+        private final double alti;
+
+        /** Local solar time (rad). */
+        private final double hl;
+
+        /** Geodetic Latitude (rad). */
+        private final double alat;
+
+        /** Geodetic longitude (rad). */
+        private final double xlon;
+
+        /** Temperature at altitude z (K). */
+        private double tz;
+
+        /** Exospheric temperature. */
+        private double tinf;
+
+        /** Vertical gradient of T a 120 km. */
+        private double tp120;
+
+        /** Total density (g/cm3). */
+        private double ro;
+
+        /** Mean atomic mass. */
+        private double wmm;
+
+        /** Partial densities in (g/cm3).
+         * d(1) = hydrogen
+         * d(2) = helium
+         * d(3) = atomic oxygen
+         * d(4) = molecular nitrogen
+         * d(5) = molecular oxygen
+         * d(6) = atomic nitrogen
+         */
+        private final double[] d = new double[7];
+
+
+        // CHECKSTYLE: stop JavadocVariable check
+
+        /** Legendre coefficients. */
+        private double p10;
+        private double p20;
+        private double p30;
+        private double p40;
+        private double p50;
+        private double p60;
+        private double p11;
+        private double p21;
+        private double p31;
+        private double p41;
+        private double p51;
+        private double p22;
+        private double p32;
+        private double p42;
+        private double p52;
+        private double p62;
+        private double p33;
+        private double p10mg;
+        private double p20mg;
+        private double p40mg;
+
+        /** Local time intermediate values. */
+        private double hl0;
+        private double ch;
+        private double sh;
+        private double c2h;
+        private double s2h;
+        private double c3h;
+        private double s3h;
+
+        // CHECKSTYLE: resume JavadocVariable check
+
+        /** Simple constructor.
+         * @param day day of year
+         * @param alti altitude in kilometers
+         * @param lon local longitude (rad)
+         * @param lat local latitude (rad)
+         * @param hl local solar time in rad (O hr = 0 rad)
+         * @param f instantaneous solar flux (F10.7)
+         * @param fbar mean solar flux (F10.7)
+         * @param akp3 3 hrs geomagnetic activity index (1-9)
+         * @param akp24 Mean of last 24 hrs geomagnetic activity index (1-9)
+         */
+        Computation(final int day,
+                    final double alti, final double lon, final double lat,
+                    final double hl, final double f, final double fbar,
+                    final double akp3, final double akp24) {
+            this.day     = day;
+            this.alti    = alti;
+            this.xlon    = lon;
+            this.alat    = lat;
+            this.hl      = hl;
+            this.f[1]    = f;
+            this.fbar[1] = fbar;
+            this.akp[1]  = akp3;
+            this.akp[3]  = akp24;
+            computation();
+        }
+
+        /** Computes output vales once the inputs are set.
+         */
+        private void computation() {
+
+            // working storage for partial derivatives, shared by all elements
+            final double[] da = new double[NLATM + 1];
+
+            ro = 0.0;
+
+            final double zlb = ZLB0; // + dzlb ??
+
+            // compute Legendre polynomials wrt geographic pole
+            final double c = FastMath.sin(alat);
+            final double c2 = c * c;
+            final double c4 = c2 * c2;
+            final double s = FastMath.cos(alat);
+            final double s2 = s * s;
+            p10 = c;
+            p20 = 1.5 * c2 - 0.5;
+            p30 = c * (2.5 * c2 - 1.5);
+            p40 = 4.375 * c4 - 3.75 * c2 + 0.375;
+            p50 = c * (7.875 * c4 - 8.75 * c2 + 1.875);
+            p60 = (5.5 * c * p50 - 2.5 * p40) / 3.0;
+            p11 = s;
+            p21 = 3.0 * c * s;
+            p31 = s * (7.5 * c2 - 1.5);
+            p41 = c * s * (17.5 * c2 - 7.5);
+            p51 = s * (39.375 * c4 - 26.25 * c2 + 1.875);
+            p22 = 3.0 * s2;
+            p32 = 15.0 * c * s2;
+            p42 = s2 * (52.5 * c2 - 7.5);
+            p52 = 3.0 * c * p42 - 2.0 * p32;
+            p62 = 2.75 * c * p52 - 1.75 * p42;
+            p33 = 15.0 * s * s2;
+
+            // compute Legendre polynomials wrt magnetic pole (79N, 71W)
+            final double clmlmg = FastMath.cos(xlon - XLMG);
+            final double cmg  = s * CPMG * clmlmg + c * SPMG;
+            final double cmg2 = cmg * cmg;
+            final double cmg4 = cmg2 * cmg2;
+            p10mg = cmg;
+            p20mg = 1.5 * cmg2 - 0.5;
+            p40mg = 4.375 * cmg4 - 3.75 * cmg2 + 0.375;
+
+            // local time
+            hl0 = hl;
+            ch  = FastMath.cos(hl0);
+            sh  = FastMath.sin(hl0);
+            c2h = ch * ch - sh * sh;
+            s2h = 2.0 * ch * sh;
+            c3h = c2h * ch - s2h * sh;
+            s3h = s2h * ch + c2h * sh;
+
+            //  compute function g(l) / tinf, t120, tp120
+            int kleq = 1;
+            final double gdelt = gFunction(tt, da, 1, kleq);
+            tinf = tt[1] * (1.0 + gdelt);
+
+            kleq = 0; // equinox
+
+            if ((day < 59) || (day > 284)) {
+                kleq = -1; // north winter
+            }
+            if ((day > 99) && (day < 244)) {
+                kleq = 1; // north summer
+            }
+
+            final double gdelt0 =  gFunction(t0, da, 0, kleq);
+            final double t120 = t0[1] + gdelt0;
+            final double gdeltp = gFunction(tp, da, 0, kleq);
+            tp120 = tp[1] + gdeltp;
+
+            // compute n(z) concentrations: H, He, O, N2, O2, N
+            final double sigma   = tp120 / (tinf - t120);
+            final double dzeta   = (RE + zlb) / (RE + alti);
+            final double zeta    = (alti - zlb) * dzeta;
+            final double sigzeta = sigma * zeta;
+            final double expsz   = FastMath.exp(-sigzeta);
+            tz = tinf - (tinf - t120) * expsz;
+
+            final double[] dbase = new double[7];
+
+            kleq = 1;
+
+            final double gdelh = gFunction(h, da, 0, kleq);
+            dbase[1] = h[1] * FastMath.exp(gdelh);
+
+            final double gdelhe = gFunction(he, da, 0, kleq);
+            dbase[2] = he[1] * FastMath.exp(gdelhe);
+
+            final double gdelo = gFunction(o, da, 1, kleq);
+            dbase[3] = o[1] * FastMath.exp(gdelo);
+
+            final double gdelaz2 = gFunction(az2, da, 1, kleq);
+            dbase[4] = az2[1] * FastMath.exp(gdelaz2);
+
+            final double gdelo2 = gFunction(o2, da, 1, kleq);
+            dbase[5] = o2[1] * FastMath.exp(gdelo2);
+
+            final double gdelaz = gFunction(az, da, 1, kleq);
+            dbase[6] = az[1] * FastMath.exp(gdelaz);
+
+            final double zlbre  = 1.0 + zlb / RE;
+            final double glb    = (GSURF / (zlbre * zlbre)) / (sigma * RGAS * tinf);
+            final double t120tz = t120 / tz;
+
+            final double[] cc = new double[7];
+            final double[] fz = new double[7];
+
+            for (int i = 1; i <= 6; i++) {
+                final double gamma = MA[i] * glb;
+                final double upapg = 1.0 + ALEFA[i] + gamma;
+                fz[i] = FastMath.pow(t120tz, upapg) * FastMath.exp(-sigzeta * gamma);
+                // concentrations of H, He, O, N2, O2, N (particles/cm³)
+                cc[i] = dbase[i] * fz[i];
+                // densities of H, He, O, N2, O2, N (g/cm³)
+                d[i]  = cc[i] * VMA[i];
+                // total density
+                ro += d[i];
+            }
+
+            // mean atomic mass
+            wmm = ro / (VMA[1] * (cc[1] + cc[2] + cc[3] + cc[4] + cc[5] + cc[6]));
+
+        }
+
+        /** Computation of function G.
+         * @param a vector of coefficients for computation
+         * @param da vector of partial derivatives
+         * @param ff0 coefficient flag (1 for Ox, Az, He, T°; 0 for H and tp120)
+         * @param kle_eq season indicator flag (summer, winter, equinox)
+         * @return value of G
+         */
+        private double gFunction(final double[] a, final double[] da,
+                                 final int ff0, final int kle_eq) {
+
+            final double[] fmfb   = new double[3];
+            final double[] fbm150 = new double[3];
+
+            // latitude terms
+            da[2]  = p20;
+            da[3]  = p40;
+            da[74] = p10;
+            double a74 = a[74];
+            double a77 = a[77];
+            double a78 = a[78];
+            if (kle_eq == -1) {
+                // winter
+                a74 = -a74;
+                a77 = -a77;
+                a78 = -a78;
+            }
+            if (kle_eq == 0 ) {
+                // equinox
+                a74 = semestrialCorrection(a74);
+                a77 = semestrialCorrection(a77);
+                a78 = semestrialCorrection(a78);
+            }
+            da[77] = p30;
+            da[78] = p50;
+            da[79] = p60;
+
+            // flux terms
+            fmfb[1]   = f[1] - fbar[1];
+            fmfb[2]   = f[2] - fbar[2];
+            fbm150[1] = fbar[1] - 150.0;
+            fbm150[2] = fbar[2];
+            da[4]     = fmfb[1];
+            da[6]     = fbm150[1];
+            da[4]     = da[4] + a[70] * fmfb[2];
+            da[6]     = da[6] + a[71] * fbm150[2];
+            da[70]    = fmfb[2] * (a[4] + 2.0 * a[5] * da[4] + a[82] * p10 +
+                                   a[83] * p20 + a[84] * p30);
+            da[71]    = fbm150[2] * (a[6] + 2.0 * a[69] * da[6] + a[85] * p10 +
+                                     a[86] * p20 + a[87] * p30);
+            da[5]     = da[4] * da[4];
+            da[69]    = da[6] * da[6];
+            da[82]    = da[4] * p10;
+            da[83]    = da[4] * p20;
+            da[84]    = da[4] * p30;
+            da[85]    = da[6] * p20;
+            da[86]    = da[6] * p30;
+            da[87]    = da[6] * p40;
+
+            // Kp terms
+            final int ikp  = 62;
+            final int ikpm = 67;
+            final double c2fi = 1.0 - p10mg * p10mg;
+            final double dkp  = akp[1] + (a[ikp] + c2fi * a[ikp + 1]) * akp[2];
+            double dakp = a[7] + a[8] * p20mg + a[68] * p40mg +
+                          2.0 * dkp * (a[60] + a[61] * p20mg +
+                                       a[75] * 2.0 * dkp * dkp);
+            da[ikp] = dakp * akp[2];
+            da[ikp + 1] = da[ikp] * c2fi;
+            final double dkpm  = akp[3] + a[ikpm] * akp[4];
+            final double dakpm = a[64] + a[65] * p20mg + a[72] * p40mg +
+                                 2.0 * dkpm * (a[66] + a[73] * p20mg +
+                                               a[76] * 2.0 * dkpm * dkpm);
+            da[ikpm] = dakpm * akp[4];
+            da[7]    = dkp;
+            da[8]    = p20mg * dkp;
+            da[68]   = p40mg * dkp;
+            da[60]   = dkp * dkp;
+            da[61]   = p20mg * da[60];
+            da[75]   = da[60] * da[60];
+            da[64]   = dkpm;
+            da[65]   = p20mg * dkpm;
+            da[72]   = p40mg * dkpm;
+            da[66]   = dkpm * dkpm;
+            da[73]   = p20mg * da[66];
+            da[76]   = da[66] * da[66];
+
+            // non-periodic g(l) function
+            double f0 = a[4]  * da[4]  + a[5]  * da[5]  + a[6]  * da[6]  +
+                        a[69] * da[69] + a[82] * da[82] + a[83] * da[83] +
+                        a[84] * da[84] + a[85] * da[85] + a[86] * da[86] +
+                        a[87] * da[87];
+            final double f1f = 1.0 + f0 * ff0;
+
+            f0 = f0 + a[2] * da[2] + a[3] * da[3] + a74 * da[74] +
+                 a77 * da[77] + a[7] * da[7] + a[8] * da[8] +
+                 a[60] * da[60] + a[61] * da[61] + a[68] * da[68] +
+                 a[64] * da[64] + a[65] * da[65] + a[66] * da[66] +
+                 a[72] * da[72] + a[73] * da[73] + a[75] * da[75] +
+                 a[76] * da[76] + a78   * da[78] + a[79] * da[79];
+    //      termes annuels symetriques en latitude
+            da[9]  = FastMath.cos(ROT * (day - a[11]));
+            da[10] = p20 * da[9];
+    //      termes semi-annuels symetriques en latitude
+            da[12] = FastMath.cos(ROT2 * (day - a[14]));
+            da[13] = p20 * da[12];
+    //      termes annuels non symetriques en latitude
+            final double coste = FastMath.cos(ROT * (day - a[18]));
+            da[15] = p10 * coste;
+            da[16] = p30 * coste;
+            da[17] = p50 * coste;
+    //      terme  semi-annuel  non symetrique  en latitude
+            final double cos2te = FastMath.cos(ROT2 * (day - a[20]));
+            da[19] = p10 * cos2te;
+            da[39] = p30 * cos2te;
+            da[59] = p50 * cos2te;
+    //      termes diurnes [et couples annuel]
+            da[21] = p11 * ch;
+            da[22] = p31 * ch;
+            da[23] = p51 * ch;
+            da[24] = da[21] * coste;
+            da[25] = p21 * ch * coste;
+            da[26] = p11 * sh;
+            da[27] = p31 * sh;
+            da[28] = p51 * sh;
+            da[29] = da[26] * coste;
+            da[30] = p21 * sh * coste;
+    //      termes semi-diurnes [et couples annuel]
+            da[31] = p22 * c2h;
+            da[37] = p42 * c2h;
+            da[32] = p32 * c2h * coste;
+            da[33] = p22 * s2h;
+            da[38] = p42 * s2h;
+            da[34] = p32 * s2h * coste;
+            da[88] = p32 * c2h;
+            da[89] = p32 * s2h;
+            da[90] = p52 * c2h;
+            da[91] = p52 * s2h;
+            double a88 = a[88];
+            double a89 = a[89];
+            double a90 = a[90];
+            double a91 = a[91];
+            if (kle_eq == -1) {            //hiver
+                a88 = -a88;
+                a89 = -a89;
+                a90 = -a90;
+                a91 = -a91;
+            }
+            if (kle_eq == 0) {             //equinox
+                a88 = semestrialCorrection(a88);
+                a89 = semestrialCorrection(a89);
+                a90 = semestrialCorrection(a90);
+                a91 = semestrialCorrection(a91);
+            }
+            da[92] = p62 * c2h;
+            da[93] = p62 * s2h;
+    //      termes ter-diurnes
+            da[35] = p33 * c3h;
+            da[36] = p33 * s3h;
+    //      fonction g[l] periodique
+            double fp = a[9]  * da[9]  + a[10] * da[10] + a[12] * da[12] + a[13] * da[13] +
+                        a[15] * da[15] + a[16] * da[16] + a[17] * da[17] + a[19] * da[19] +
+                        a[21] * da[21] + a[22] * da[22] + a[23] * da[23] + a[24] * da[24] +
+                        a[25] * da[25] + a[26] * da[26] + a[27] * da[27] + a[28] * da[28] +
+                        a[29] * da[29] + a[30] * da[30] + a[31] * da[31] + a[32] * da[32] +
+                        a[33] * da[33] + a[34] * da[34] + a[35] * da[35] + a[36] * da[36] +
+                        a[37] * da[37] + a[38] * da[38] + a[39] * da[39] + a[59] * da[59] +
+                        a88   * da[88] + a89   * da[89] + a90   * da[90] + a91   * da[91] +
+                        a[92] * da[92] + a[93] * da[93];
+    //      termes d'activite magnetique
+            da[40] = p10 * coste * dkp;
+            da[41] = p30 * coste * dkp;
+            da[42] = p50 * coste * dkp;
+            da[43] = p11 * ch * dkp;
+            da[44] = p31 * ch * dkp;
+            da[45] = p51 * ch * dkp;
+            da[46] = p11 * sh * dkp;
+            da[47] = p31 * sh * dkp;
+            da[48] = p51 * sh * dkp;
+
+    //      fonction g[l] periodique supplementaire
+            fp += a[40] * da[40] + a[41] * da[41] + a[42] * da[42] + a[43] * da[43] +
+                  a[44] * da[44] + a[45] * da[45] + a[46] * da[46] + a[47] * da[47] +
+                  a[48] * da[48];
+
+            dakp = (a[40] * p10 + a[41] * p30 + a[42] * p50) * coste +
+                   (a[43] * p11 + a[44] * p31 + a[45] * p51) * ch +
+                   (a[46] * p11 + a[47] * p31 + a[48] * p51) * sh;
+            da[ikp] += dakp * akp[2];
+            da[ikp + 1] = da[ikp] + dakp * c2fi * akp[2];
+    //      termes de longitude
+            final double clfl = FastMath.cos(xlon);
+            da[49] = p11 * clfl;
+            da[50] = p21 * clfl;
+            da[51] = p31 * clfl;
+            da[52] = p41 * clfl;
+            da[53] = p51 * clfl;
+            final double slfl = FastMath.sin(xlon);
+            da[54] = p11 * slfl;
+            da[55] = p21 * slfl;
+            da[56] = p31 * slfl;
+            da[57] = p41 * slfl;
+            da[58] = p51 * slfl;
+
+    //      fonction g[l] periodique supplementaire
+            fp += a[49] * da[49] + a[50] * da[50] + a[51] * da[51] + a[52] * da[52] +
+                  a[53] * da[53] + a[54] * da[54] + a[55] * da[55] + a[56] * da[56] +
+                  a[57] * da[57] + a[58] * da[58];
+
+    //      fonction g(l) totale (couplage avec le flux)
+            return f0 + fp * f1f;
+
+        }
+
+
+        /** Apply a correction coefficient to the given parameter.
+         * @param param the parameter to correct
+         * @return the corrected parameter
+         */
+        private double semestrialCorrection(final double param) {
+            final int debeq_pr = 59;
+            final int debeq_au = 244;
+            final double result;
+            if (day >= 100) {
+                final double xmult  = (day - debeq_au) / 40.0;
+                result = param - 2.0 * param * xmult;
+            } else {
+                final double xmult  = (day - debeq_pr) / 40.0;
+                result = 2.0 * param * xmult - param;
+            }
+            return result;
+        }
+
+    }
+
 }
@@ -76,6 +76,11 @@ import org.orekit.time.TimeStamped;
  * Conversion from Ap index values in the MSAFE file to Kp values used by the atmosphere
  * model is done using Jacchia's equation in [1].
  * </p>
+ * <p>
+ * Once data have been loaded (either explicitly or lazily by the first call
+ * to {@link #getMinDate()} or {@link #getMaxDate()}), instances can be queried
+ * concurrently from several threads.
+ * </p>
  *
  * <h2>References</h2>
  *
@@ -120,11 +125,11 @@ public class MarshallSolarActivityFutureEstimation implements DTM2000InputParame
     /** Last available date. */
     private AbsoluteDate lastDate;
 
-    /** Previous set of solar activity parameters. */
-    private LineParameters previousParam;
+    /** Indicator for completed lazy loading. */
+    private transient volatile boolean loaded;
 
-    /** Current set of solar activity parameters. */
-    private LineParameters currentParam;
+    /** Last bracketing pair of solar activity parameters. */
+    private transient volatile Bracket bracket;
 
     /** Regular expression for supported files names. */
     private final String supportedNames;
@@ -191,10 +196,15 @@ public class MarshallSolarActivityFutureEstimation implements DTM2000InputParame
     }
 
     /** Find the data bracketing a specified date.
+     * <p>
+     * The bracket is returned as one immutable object, so callers always
+     * see a consistent pair even if other threads update the cache.
+     * </p>
      * @param date date to bracket
+     * @return bracketing pair of solar activity parameters
      * @throws OrekitException if specified date is out of range
      */
-    private void bracketDate(final AbsoluteDate date) throws OrekitException {
+    private Bracket bracketDate(final AbsoluteDate date) throws OrekitException {
 
         if ((date.durationFrom(firstDate) < 0) || (date.durationFrom(lastDate) > 0)) {
             throw new OrekitException(OrekitMessages.OUT_OF_RANGE_EPHEMERIDES_DATE,
@@ -202,22 +212,26 @@ public class MarshallSolarActivityFutureEstimation implements DTM2000InputParame
         }
 
         // don't search if the cached selection is fine
-        if ((previousParam != null) &&
-            (date.durationFrom(previousParam.getDate()) > 0) &&
-            (date.durationFrom(currentParam.getDate()) <= 0 )) {
-            return;
+        final Bracket cached = bracket;
+        if ((cached != null) &&
+            (date.durationFrom(cached.previous.getDate()) > 0) &&
+            (date.durationFrom(cached.current.getDate()) <= 0 )) {
+            return cached;
         }
 
+        final Bracket selected;
         if (date.equals(firstDate)) {
-            currentParam  = (LineParameters) data.tailSet(date.shiftedBy(1)).first();
-            previousParam = (LineParameters) data.first();
+            selected = new Bracket((LineParameters) data.first(),
+                                   (LineParameters) data.tailSet(date.shiftedBy(1)).first());
         } else if (date.equals(lastDate)) {
-            currentParam  = (LineParameters) data.last();
-            previousParam = (LineParameters) data.headSet(date.shiftedBy(-1)).last();
+            selected = new Bracket((LineParameters) data.headSet(date.shiftedBy(-1)).last(),
+                                   (LineParameters) data.last());
         } else {
-            currentParam  = (LineParameters) data.tailSet(date).first();
-            previousParam = (LineParameters) data.headSet(date).last();
+            selected = new Bracket((LineParameters) data.headSet(date).last(),
+                                   (LineParameters) data.tailSet(date).first());
         }
+        bracket = selected;
+        return selected;
 
     }
 
@@ -230,20 +244,36 @@ public class MarshallSolarActivityFutureEstimation implements DTM2000InputParame
 
     /** {@inheritDoc} */
     public AbsoluteDate getMinDate() throws OrekitException {
-        if (firstDate == null) {
-            DataProvidersManager.getInstance().feed(getSupportedNames(), this);
-        }
+        loadIfNeeded();
         return firstDate;
     }
 
     /** {@inheritDoc} */
     public AbsoluteDate getMaxDate() throws OrekitException {
-        if (firstDate == null) {
-            DataProvidersManager.getInstance().feed(getSupportedNames(), this);
-        }
+        loadIfNeeded();
         return lastDate;
     }
 
+    /** Load data if it has not been loaded yet.
+     * <p>
+     * Loading is done at most once, even if several threads request
+     * the date range simultaneously.
+     * </p>
+     * @exception OrekitException if data cannot be loaded
+     */
+    private void loadIfNeeded() throws OrekitException {
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) {
+                    if (firstDate == null) {
+                        DataProvidersManager.getInstance().feed(getSupportedNames(), this);
+                    }
+                    loaded = true;
+                }
+            }
+        }
+    }
+
     /** {@inheritDoc} */
     public double getInstantFlux(final AbsoluteDate date) throws OrekitException {
         return getMeanFlux(date);
@@ -253,14 +283,14 @@ public class MarshallSolarActivityFutureEstimation implements DTM2000InputParame
     public double getMeanFlux(final AbsoluteDate date) throws OrekitException {
 
         // get the neighboring dates
-        bracketDate(date);
+        final Bracket selected = bracketDate(date);
 
         // perform a linear interpolation
-        final AbsoluteDate previousDate = previousParam.getDate();
-        final AbsoluteDate currentDate  = currentParam.getDate();
+        final AbsoluteDate previousDate = selected.previous.getDate();
+        final AbsoluteDate currentDate  = selected.current.getDate();
         final double dt                 = currentDate.durationFrom(previousDate);
-        final double previousF107       = previousParam.getF107();
-        final double currentF107        = currentParam.getF107();
+        final double previousF107       = selected.previous.getF107();
+        final double currentF107        = selected.current.getF107();
         final double previousWeight     = currentDate.durationFrom(date)  / dt;
         final double currentWeight      = date.durationFrom(previousDate) / dt;
 
@@ -290,10 +320,10 @@ public class MarshallSolarActivityFutureEstimation implements DTM2000InputParame
      * @exception OrekitException if specified date is out of range
      */
     public DateComponents getFileDate(final AbsoluteDate date) throws OrekitException {
-        bracketDate(date);
-        final double dtP = date.durationFrom(previousParam.getDate());
-        final double dtC = currentParam.getDate().durationFrom(date);
-        return (dtP < dtC) ? previousParam.getFileDate() : currentParam.getFileDate();
+        final Bracket selected = bracketDate(date);
+        final double dtP = date.durationFrom(selected.previous.getDate());
+        final double dtC = selected.current.getDate().durationFrom(date);
+        return (dtP < dtC) ? selected.previous.getFileDate() : selected.current.getFileDate();
     }
 
     /** The Kp index is derived from the Ap index.
@@ -327,14 +357,14 @@ public class MarshallSolarActivityFutureEstimation implements DTM2000InputParame
     public double get24HoursKp(final AbsoluteDate date) throws OrekitException {
 
         // get the neighboring dates
-        bracketDate(date);
+        final Bracket selected = bracketDate(date);
 
         // perform a linear interpolation
-        final AbsoluteDate previousDate = previousParam.getDate();
-        final AbsoluteDate currentDate  = currentParam.getDate();
+        final AbsoluteDate previousDate = selected.previous.getDate();
+        final AbsoluteDate currentDate  = selected.current.getDate();
         final double dt                 = currentDate.durationFrom(previousDate);
-        final double previousAp         = previousParam.getAp();
-        final double currentAp          = currentParam.getAp();
+        final double previousAp         = selected.previous.getAp();
+        final double currentAp          = selected.current.getAp();
         final double previousWeight     = currentDate.durationFrom(date)  / dt;
         final double currentWeight      = date.durationFrom(previousDate) / dt;
         final double ap                 = previousAp * previousWeight + currentAp * currentWeight;
@@ -344,6 +374,26 @@ public class MarshallSolarActivityFutureEstimation implements DTM2000InputParame
         return 1.89 * FastMath.asinh(0.154 * ap);
     }
 
+    /** Immutable pair of solar activity parameters bracketing a date. */
+    private static class Bracket {
+
+        /** Previous set of solar activity parameters. */
+        private final LineParameters previous;
+
+        /** Current set of solar activity parameters. */
+        private final LineParameters current;
+
+        /** Simple constructor.
+         * @param previous previous set of solar activity parameters
+         * @param current current set of solar activity parameters
+         */
+        Bracket(final LineParameters previous, final LineParameters current) {
+            this.previous = previous;
+            this.current  = current;
+        }
+
+    }
+
     /** Container class for Solar activity indexes.  */
     private static class LineParameters implements TimeStamped, Serializable {
 
@@ -0,0 +1,1010 @@
+/* Copyright 2002-2016 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.forces.gravity;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+
+import org.hipparchus.analysis.differentiation.DerivativeStructure;
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.geometry.euclidean.threed.FieldRotation;
+import org.hipparchus.geometry.euclidean.threed.FieldVector3D;
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.linear.Array2DRowRealMatrix;
+import org.hipparchus.linear.RealMatrix;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.MathUtils;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.errors.OrekitInternalError;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.forces.AbstractForceModel;
+import org.orekit.forces.gravity.potential.NormalizedSphericalHarmonicsProvider;
+import org.orekit.forces.gravity.potential.TideSystem;
+import org.orekit.forces.gravity.potential.TideSystemProvider;
+import org.orekit.frames.Frame;
+import org.orekit.frames.Transform;
+import org.orekit.propagation.SpacecraftState;
+import org.orekit.propagation.events.EventDetector;
+import org.orekit.propagation.numerical.TimeDerivativesEquations;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.ParameterDriver;
+import org.orekit.utils.ParameterObserver;
+
+/** Surrogate for the non-central part of a gravity field, interpolated on a spherical shell grid.
+ * <p>
+ * Evaluating high degree spherical harmonics expansions at each integration step
+ * is costly. For applications that can trade some accuracy for speed (long arcs
+ * screening for example), this force model interpolates the gradient of the
+ * non-central part of the gravity field, which has been computed beforehand by a
+ * {@link HolmesFeatherstoneAttractionModel} on a regular grid in radius, latitude
+ * and longitude, and stored in a binary file by {@link
+ * #write(NormalizedSphericalHarmonicsProvider, AbsoluteDate, double, double, double, int, File)}.
+ * The file is memory-mapped, so large grids do not use heap memory and the operating
+ * system shares their pages between all processes using them.
+ * </p>
+ * <p>
+ * The grid spacing is selected when the file is written, by refining the grid until
+ * the interpolation error estimated on a validation sample is below a user-specified
+ * accuracy. Interpolation is performed independently along the three grid axes using
+ * Lagrange polynomials, so the interpolated acceleration and its derivatives with
+ * respect to position are continuous inside grid cells.
+ * </p>
+ * <p>
+ * As for {@link HolmesFeatherstoneAttractionModel}, this force model only computes
+ * the non-central part of the gravity field, the central attraction must be added
+ * separately with a {@link NewtonianAttraction} model. The field is frozen at the date
+ * used for building the grid, so time-dependent gravity fields are not supported.
+ * The grid only covers a spherical shell between a minimum and a maximum radius,
+ * attempting to evaluate the field outside of this shell triggers an exception.
+ * </p>
+ * @see HolmesFeatherstoneAttractionModel
+ * @author Luc Maisonobe
+ * @since 9.0
+ */
+public class GriddedAttractionModel extends AbstractForceModel implements TideSystemProvider {
+
+    /** Magic number identifying the file format ("OGRV"). */
+    private static final int MAGIC = 0x4f475256;
+
+    /** File format version. */
+    private static final int VERSION = 1;
+
+    /** Header size in bytes. */
+    private static final int HEADER_SIZE = 96;
+
+    /** Offset of the estimated error in the header. */
+    private static final int ERROR_OFFSET = 88;
+
+    /** Maximum number of grid refinements when building the grid. */
+    private static final int MAX_REFINEMENTS = 8;
+
+    /** Maximum number of grid nodes. */
+    private static final long MAX_NODES = 1L << 25;
+
+    /** Number of points used to validate the grid. */
+    private static final int VALIDATION_POINTS = 1000;
+
+    /** Seed for the validation points generator. */
+    private static final int VALIDATION_SEED = 0x3b6c5e71;
+
+    /** Central attraction scaling factor.
+     * <p>
+     * We use a power of 2 to avoid numeric noise introduction
+     * in the multiplications/divisions sequences.
+     * </p>
+     */
+    private static final double MU_SCALE = FastMath.scalb(1.0, 32);
+
+    /** Drivers for force model parameters. */
+    private final ParameterDriver[] parametersDrivers;
+
+    /** Rotating body. */
+    private final Frame bodyFrame;
+
+    /** Tide system used in the gravity field. */
+    private final TideSystem tideSystem;
+
+    /** Central attraction coefficient used when building the grid. */
+    private final double gridMu;
+
+    /** Central attraction coefficient. */
+    private double mu;
+
+    /** Minimum radius of the validity shell. */
+    private final double minRadius;
+
+    /** Maximum radius of the validity shell. */
+    private final double maxRadius;
+
+    /** Interpolation error estimated when building the grid. */
+    private final double estimatedError;
+
+    /** Interpolation grid. */
+    private final Grid grid;
+
+    /** Simple constructor.
+     * @param centralBodyFrame rotating body frame
+     * @param file grid file, as written by {@link
+     * #write(NormalizedSphericalHarmonicsProvider, AbsoluteDate, double, double, double, int, File)}
+     * @exception OrekitException if file cannot be mapped or is not a gridded gravity field file
+     */
+    public GriddedAttractionModel(final Frame centralBodyFrame, final File file)
+        throws OrekitException {
+
+        if (!file.exists()) {
+            throw new OrekitException(OrekitMessages.UNABLE_TO_FIND_FILE, file.getAbsolutePath());
+        }
+
+        final ByteBuffer buffer = map(file);
+
+        try {
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                throw new OrekitException(OrekitMessages.NOT_A_GRIDDED_GRAVITY_FIELD_FILE, file.getAbsolutePath());
+            }
+            final int tideIndex = buffer.getInt(8);
+            final int points    = buffer.getInt(12);
+            final int nR        = buffer.getInt(16);
+            final int nLat      = buffer.getInt(20);
+            final int nLon      = buffer.getInt(24);
+            if (tideIndex < 0 || tideIndex >= TideSystem.values().length ||
+                points < 2 || nR < points || nLat < points || nLon < points ||
+                buffer.capacity() != HEADER_SIZE + 24L * nR * nLat * nLon) {
+                throw new OrekitException(OrekitMessages.NOT_A_GRIDDED_GRAVITY_FIELD_FILE, file.getAbsolutePath());
+            }
+            tideSystem     = TideSystem.values()[tideIndex];
+            gridMu         = buffer.getDouble(32);
+            minRadius      = buffer.getDouble(72);
+            maxRadius      = buffer.getDouble(80);
+            estimatedError = buffer.getDouble(ERROR_OFFSET);
+            buffer.position(HEADER_SIZE);
+            grid = new Grid(points, nR, nLat, nLon,
+                            buffer.getDouble(40), buffer.getDouble(48),
+                            buffer.getDouble(56), buffer.getDouble(64),
+                            buffer.slice().asDoubleBuffer());
+        } catch (IndexOutOfBoundsException | BufferUnderflowException e) {
+            throw new OrekitException(OrekitMessages.NOT_A_GRIDDED_GRAVITY_FIELD_FILE, file.getAbsolutePath());
+        }
+
+        this.parametersDrivers = new ParameterDriver[1];
+        try {
+            parametersDrivers[0] = new ParameterDriver(NewtonianAttraction.CENTRAL_ATTRACTION_COEFFICIENT,
+                                                       gridMu, MU_SCALE, 0.0, Double.POSITIVE_INFINITY);
+            parametersDrivers[0].addObserver(new ParameterObserver() {
+                /** {@inheritDoc} */
+                @Override
+                public void valueChanged(final double previousValue, final ParameterDriver driver) {
+                    GriddedAttractionModel.this.mu = driver.getValue();
+                }
+            });
+        } catch (OrekitException oe) {
+            // this should never occur as valueChanged above never throws an exception
+            throw new OrekitInternalError(oe);
+        };
+
+        this.bodyFrame = centralBodyFrame;
+        this.mu        = gridMu;
+
+    }
+
+    /** Compute the gradient of a gravity field on a grid and write it to a binary file.
+     * <p>
+     * The grid covers the spherical shell between {@code minRadius} and {@code maxRadius},
+     * which is slightly extended so the full interpolation sample is available near
+     * shell boundaries. The grid is first built with a spacing related to the field
+     * maximum degree, and refined by halving its steps until the maximum interpolation
+     * error on a sample of random points within the shell is below {@code accuracy}.
+     * </p>
+     * <p>
+     * As the grid size increases by a factor 8 at each refinement, building a grid for
+     * high degree fields and tight accuracy may take a significant time and produce a
+     * large file. It is intended to be done once, the file being reused afterwards.
+     * The gradients are streamed to a temporary file in the same directory as they
+     * are computed, and this file is memory-mapped for validation, so heap usage does
+     * not depend on the grid size. Each refinement uses a new temporary file, so no
+     * file is ever truncated while it is still mapped. Once the accuracy is reached,
+     * the temporary file is moved to its final location, replacing any existing file.
+     * If the accuracy cannot be reached, the target file is left untouched.
+     * </p>
+     * @param provider provider for spherical harmonics
+     * @param date date at which the gravity field should be frozen
+     * @param minRadius minimum radius of the validity shell (m)
+     * @param maxRadius maximum radius of the validity shell (m)
+     * @param accuracy target accuracy on the non-central acceleration (m/s²)
+     * @param interpolationPoints number of points to use for interpolation
+     * along each grid axis (at least 2)
+     * @param file file to write
+     * @return maximum interpolation error found on the validation sample (m/s²)
+     * @exception OrekitIllegalArgumentException if interpolation points number is
+     * less than 2 or shell is empty
+     * @exception OrekitException if gravity field cannot be computed, accuracy cannot
+     * be reached without exceeding 2<sup>25</sup> grid nodes, or file cannot be written
+     */
+    public static double write(final NormalizedSphericalHarmonicsProvider provider, final AbsoluteDate date,
+                               final double minRadius, final double maxRadius,
+                               final double accuracy, final int interpolationPoints,
+                               final File file)
+        throws OrekitException {
+
+        if (interpolationPoints < 2) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL, interpolationPoints, 2);
+        }
+        if (!(minRadius > 0)) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED,
+                                                     minRadius, 0);
+        }
+        if (!(maxRadius > minRadius)) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED,
+                                                     maxRadius, minRadius);
+        }
+
+        // reference model (the frame is not used as we evaluate gradients in body frame)
+        final HolmesFeatherstoneAttractionModel reference =
+                new HolmesFeatherstoneAttractionModel(null, provider);
+
+        // initial grid: four points per wavelength of the highest degree terms
+        final int pad = interpolationPoints / 2 + 1;
+        int nLon = FastMath.max(8, 4 * provider.getMaxDegree());
+        final File directory = file.getAbsoluteFile().getParentFile();
+        try {
+            for (int refinement = 0; refinement <= MAX_REFINEMENTS; ++refinement) {
+
+                final double angularStep = MathUtils.TWO_PI / nLon;
+                final double radialStep  = minRadius * angularStep;
+                final int    nR          = (int) FastMath.ceil((maxRadius - minRadius) / radialStep) + 1 + 2 * pad;
+                final int    nLat        = nLon / 2 + 2 * pad;
+                final long   nodes       = ((long) nR) * nLat * nLon;
+                if (nodes > MAX_NODES) {
+                    // the grid would be too large to be handled
+                    throw new OrekitException(LocalizedCoreFormats.MAX_COUNT_EXCEEDED, MAX_NODES);
+                }
+
+                // compute gradients at grid nodes, streaming them to a new temporary file
+                final File tmp = File.createTempFile(file.getName(), ".tmp", directory);
+                final Grid layout = new Grid(interpolationPoints, nR, nLat, nLon,
+                                             minRadius - pad * radialStep, radialStep,
+                                             -0.5 * FastMath.PI + (0.5 - pad) * angularStep, angularStep,
+                                             null);
+                try {
+                    write(layout, provider, reference, date, minRadius, maxRadius, tmp);
+
+                    // estimate interpolation error, using the memory-mapped file
+                    final ByteBuffer buffer = map(tmp);
+                    buffer.position(HEADER_SIZE);
+                    final Grid grid = new Grid(interpolationPoints, nR, nLat, nLon,
+                                               layout.firstR, layout.stepR, layout.firstLat, layout.stepLat,
+                                               buffer.slice().asDoubleBuffer());
+                    final double error = validate(grid, reference, date, minRadius, maxRadius);
+                    if (error <= accuracy) {
+                        try (RandomAccessFile raf = new RandomAccessFile(tmp, "rw")) {
+                            raf.seek(ERROR_OFFSET);
+                            raf.writeDouble(error);
+                        }
+                        moveIntoPlace(tmp, file);
+                        return error;
+                    }
+                } finally {
+                    discard(tmp);
+                }
+
+                nLon *= 2;
+
+            }
+
+        } catch (IOException ioe) {
+            throw new OrekitException(ioe, LocalizedCoreFormats.SIMPLE_MESSAGE, ioe.getLocalizedMessage());
+        }
+
+        throw new OrekitException(LocalizedCoreFormats.MAX_COUNT_EXCEEDED, MAX_REFINEMENTS);
+
+    }
+
+    /** Move a temporary file to its final location.
+     * @param tmp temporary file
+     * @param file final file, which is replaced if it already exists
+     * @exception IOException if file cannot be moved
+     */
+    private static void moveIntoPlace(final File tmp, final File file) throws IOException {
+        try {
+            Files.move(tmp.toPath(), file.toPath(),
+                       StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException amnse) {
+            Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /** Discard a temporary file if it still exists.
+     * <p>
+     * Some operating systems do not allow deleting a file while it is still
+     * memory-mapped, and mappings are released only when the buffers are
+     * garbage collected. In this case, the file is deleted when the virtual
+     * machine exits.
+     * </p>
+     * @param tmp temporary file
+     */
+    private static void discard(final File tmp) {
+        try {
+            Files.deleteIfExists(tmp.toPath());
+        } catch (IOException ioe) {
+            tmp.deleteOnExit();
+        }
+    }
+
+    /** Map a grid file in memory.
+     * @param file file to map
+     * @return read-only buffer mapping the whole file
+     * @exception OrekitException if file cannot be mapped
+     */
+    private static ByteBuffer map(final File file) throws OrekitException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r");
+             FileChannel channel = raf.getChannel()) {
+            // the mapping remains valid after the channel has been closed
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException ioe) {
+            throw new OrekitException(ioe, LocalizedCoreFormats.SIMPLE_MESSAGE, ioe.getLocalizedMessage());
+        }
+    }
+
+    /** Estimate the interpolation error of a grid.
+     * @param grid grid to check
+     * @param reference reference model
+     * @param date date at which the gravity field is frozen
+     * @param minRadius minimum radius of the validity shell (m)
+     * @param maxRadius maximum radius of the validity shell (m)
+     * @return maximum interpolation error on a sample of random points
+     * @exception OrekitException if reference gravity field cannot be computed
+     */
+    private static double validate(final Grid grid, final HolmesFeatherstoneAttractionModel reference,
+                                   final AbsoluteDate date, final double minRadius, final double maxRadius)
+        throws OrekitException {
+
+        // random points uniformly distributed in directions
+        final RandomGenerator random    = new Well19937a(VALIDATION_SEED);
+        final double[]        positions = new double[3 * VALIDATION_POINTS];
+        for (int i = 0; i < positions.length; i += 3) {
+            final double r      = minRadius + random.nextDouble() * (maxRadius - minRadius);
+            final double sinLat = 2 * random.nextDouble() - 1;
+            final double cosLat = FastMath.sqrt(1 - sinLat * sinLat);
+            final double lon    = MathUtils.TWO_PI * random.nextDouble();
+            positions[i]     = r * cosLat * FastMath.cos(lon);
+            positions[i + 1] = r * cosLat * FastMath.sin(lon);
+            positions[i + 2] = r * sinLat;
+        }
+        final double[] gradients = new double[positions.length];
+        reference.gradient(date, positions, VALIDATION_POINTS, gradients);
+
+        double maxError = 0;
+        final double[] interpolated = new double[3];
+        for (int i = 0; i < positions.length; i += 3) {
+            grid.interpolate(positions[i], positions[i + 1], positions[i + 2], interpolated, null);
+            final double dx = interpolated[0] - gradients[i];
+            final double dy = interpolated[1] - gradients[i + 1];
+            final double dz = interpolated[2] - gradients[i + 2];
+            maxError = FastMath.max(maxError, FastMath.sqrt(dx * dx + dy * dy + dz * dz));
+        }
+
+        return maxError;
+
+    }
+
+    /** Compute the gradients at grid nodes and write them to a binary file.
+     * <p>
+     * The gradients are written one latitude row at a time, and the
+     * estimated error is written as NaN, to be patched after validation.
+     * </p>
+     * @param layout grid layout (its data are not used)
+     * @param provider provider for spherical harmonics
+     * @param reference reference model
+     * @param date date at which the gravity field is frozen
+     * @param minRadius minimum radius of the validity shell (m)
+     * @param maxRadius maximum radius of the validity shell (m)
+     * @param file file to write
+     * @exception OrekitException if reference gravity field cannot be computed
+     * @exception IOException if file cannot be written
+     */
+    private static void write(final Grid layout, final NormalizedSphericalHarmonicsProvider provider,
+                              final HolmesFeatherstoneAttractionModel reference, final AbsoluteDate date,
+                              final double minRadius, final double maxRadius, final File file)
+        throws OrekitException, IOException {
+        try (DataOutputStream out =
+                        new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(provider.getTideSystem().ordinal());
+            out.writeInt(layout.points);
+            out.writeInt(layout.nR);
+            out.writeInt(layout.nLat);
+            out.writeInt(layout.nLon);
+            out.writeInt(0);
+            out.writeDouble(provider.getMu());
+            out.writeDouble(layout.firstR);
+            out.writeDouble(layout.stepR);
+            out.writeDouble(layout.firstLat);
+            out.writeDouble(layout.stepLat);
+            out.writeDouble(minRadius);
+            out.writeDouble(maxRadius);
+            out.writeDouble(Double.NaN);
+            final double[] positions = new double[3 * layout.nLon];
+            final double[] gradients = new double[3 * layout.nLon];
+            for (int i = 0; i < layout.nR; ++i) {
+                for (int j = 0; j < layout.nLat; ++j) {
+                    for (int k = 0; k < layout.nLon; ++k) {
+                        layout.nodePosition(i, j, k, positions, 3 * k);
+                    }
+                    reference.gradient(date, positions, layout.nLon, gradients);
+                    for (final double g : gradients) {
+                        out.writeDouble(g);
+                    }
+                }
+            }
+        }
+    }
+
+    /** {@inheritDoc} */
+    public TideSystem getTideSystem() {
+        return tideSystem;
+    }
+
+    /** Get the minimum radius of the validity shell.
+     * @return minimum radius of the validity shell (m)
+     */
+    public double getMinRadius() {
+        return minRadius;
+    }
+
+    /** Get the maximum radius of the validity shell.
+     * @return maximum radius of the validity shell (m)
+     */
+    public double getMaxRadius() {
+        return maxRadius;
+    }
+
+    /** Get the interpolation error estimated when the grid was built.
+     * @return interpolation error estimated when the grid was built (m/s²)
+     */
+    public double getEstimatedError() {
+        return estimatedError;
+    }
+
+    /** Get the number of points used for interpolation along each grid axis.
+     * @return number of points used for interpolation along each grid axis
+     */
+    public int getInterpolationPoints() {
+        return grid.points;
+    }
+
+    /** Get the angular step of the grid.
+     * @return angular step of the grid, in latitude and longitude (rad)
+     */
+    public double getAngularStep() {
+        return grid.stepLon;
+    }
+
+    /** Get the radial step of the grid.
+     * @return radial step of the grid (m)
+     */
+    public double getRadialStep() {
+        return grid.stepR;
+    }
+
+    /** Compute the gradient of the non-central part of the gravity field.
+     * @param position position at which gravity field is desired in body frame
+     * @return gradient of the non-central part of the gravity field
+     * @exception OrekitException if position is outside of the grid validity shell
+     */
+    public double[] gradient(final Vector3D position)
+        throws OrekitException {
+        final double[] gradient = new double[3];
+        interpolate(position, gradient, null);
+        return gradient;
+    }
+
+    /** Compute both the gradient and the hessian of the non-central part of the gravity field.
+     * @param position position at which gravity field is desired in body frame
+     * @return gradient and hessian of the non-central part of the gravity field
+     * @exception OrekitException if position is outside of the grid validity shell
+     */
+    public HolmesFeatherstoneAttractionModel.GradientHessian gradientHessian(final Vector3D position)
+        throws OrekitException {
+        final double[]   gradient = new double[3];
+        final double[][] hessian  = new double[3][3];
+        interpolate(position, gradient, hessian);
+        return new HolmesFeatherstoneAttractionModel.GradientHessian(gradient, hessian);
+    }
+
+    /** Interpolate the gradient and Hessian of the non-central part of the gravity field.
+     * @param position position at which gravity field is desired in body frame
+     * @param gradient placeholder for gradient
+     * @param hessian placeholder for Hessian (may be null if Hessian is not needed)
+     * @exception OrekitException if position is outside of the grid validity shell
+     */
+    private void interpolate(final Vector3D position, final double[] gradient, final double[][] hessian)
+        throws OrekitException {
+
+        final double r = position.getNorm();
+        if (r < minRadius || r > maxRadius) {
+            throw new OrekitException(LocalizedCoreFormats.OUT_OF_RANGE_SIMPLE, r, minRadius, maxRadius);
+        }
+
+        grid.interpolate(position.getX(), position.getY(), position.getZ(), gradient, hessian);
+
+        // take current central attraction coefficient into account
+        final double ratio = mu / gridMu;
+        for (int i = 0; i < 3; ++i) {
+            gradient[i] *= ratio;
+            if (hessian != null) {
+                for (int j = 0; j < 3; ++j) {
+                    hessian[i][j] *= ratio;
+                }
+            }
+        }
+
+    }
+
+    /** {@inheritDoc} */
+    public void addContribution(final SpacecraftState s, final TimeDerivativesEquations adder)
+        throws OrekitException {
+
+        // get the position in body frame
+        final AbsoluteDate date       = s.getDate();
+        final Transform fromBodyFrame = bodyFrame.getTransformTo(s.getFrame(), date);
+        final Transform toBodyFrame   = fromBodyFrame.getInverse();
+        final Vector3D position       = toBodyFrame.transformPosition(s.getPVCoordinates().getPosition());
+
+        // gradient of the non-central part of the gravity field
+        final Vector3D gInertial = fromBodyFrame.transformVector(new Vector3D(gradient(position)));
+
+        adder.addXYZAcceleration(gInertial.getX(), gInertial.getY(), gInertial.getZ());
+
+    }
+
+    /** {@inheritDoc} */
+    public EventDetector[] getEventsDetectors() {
+        return new EventDetector[0];
+    }
+
+    /** {@inheritDoc} */
+    public FieldVector3D<DerivativeStructure> accelerationDerivatives(final AbsoluteDate date, final Frame frame,
+                                                                      final FieldVector3D<DerivativeStructure> position, final FieldVector3D<DerivativeStructure> velocity,
+                                                                      final FieldRotation<DerivativeStructure> rotation, final DerivativeStructure mass)
+        throws OrekitException {
+
+        // get the position in body frame
+        final Transform fromBodyFrame = bodyFrame.getTransformTo(frame, date);
+        final Transform toBodyFrame   = fromBodyFrame.getInverse();
+        final Vector3D positionBody   = toBodyFrame.transformPosition(position.toVector3D());
+
+        // compute gradient and Hessian
+        final HolmesFeatherstoneAttractionModel.GradientHessian gh = gradientHessian(positionBody);
+
+        // gradient of the non-central part of the gravity field
+        final double[] gInertial = fromBodyFrame.transformVector(new Vector3D(gh.getGradient())).toArray();
+
+        // Hessian of the non-central part of the gravity field
+        final RealMatrix hBody     = new Array2DRowRealMatrix(gh.getHessian(), false);
+        final RealMatrix rot       = new Array2DRowRealMatrix(toBodyFrame.getRotation().getMatrix());
+        final RealMatrix hInertial = rot.transpose().multiply(hBody).multiply(rot);
+
+        // distribute all partial derivatives in a compact acceleration vector
+        final int parameters       = mass.getFreeParameters();
+        final int order            = mass.getOrder();
+        final double[] derivatives = new double[1 + parameters];
+        final DerivativeStructure[] accDer = new DerivativeStructure[3];
+        for (int i = 0; i < 3; ++i) {
+
+            // first element is value of acceleration (i.e. gradient of field)
+            derivatives[0] = gInertial[i];
+
+            // next three elements are one row of the Jacobian of acceleration (i.e. Hessian of field)
+            derivatives[1] = hInertial.getEntry(i, 0);
+            derivatives[2] = hInertial.getEntry(i, 1);
+            derivatives[3] = hInertial.getEntry(i, 2);
+
+            // next elements (three or four depending on mass being used or not) are left as 0
+
+            accDer[i] = new DerivativeStructure(parameters, order, derivatives);
+
+        }
+
+        return new FieldVector3D<DerivativeStructure>(accDer);
+
+    }
+
+    /** {@inheritDoc} */
+    public FieldVector3D<DerivativeStructure> accelerationDerivatives(final SpacecraftState s, final String paramName)
+        throws OrekitException, IllegalArgumentException {
+
+        complainIfNotSupported(paramName);
+
+        // get the position in body frame
+        final AbsoluteDate date       = s.getDate();
+        final Transform fromBodyFrame = bodyFrame.getTransformTo(s.getFrame(), date);
+        final Transform toBodyFrame   = fromBodyFrame.getInverse();
+        final Vector3D position       = toBodyFrame.transformPosition(s.getPVCoordinates().getPosition());
+
+        // gradient of the non-central part of the gravity field
+        final Vector3D gInertial = fromBodyFrame.transformVector(new Vector3D(gradient(position)));
+
+        return new FieldVector3D<DerivativeStructure>(new DerivativeStructure(1, 1, gInertial.getX(), gInertial.getX() / mu),
+                                                      new DerivativeStructure(1, 1, gInertial.getY(), gInertial.getY() / mu),
+                                                      new DerivativeStructure(1, 1, gInertial.getZ(), gInertial.getZ() / mu));
+
+    }
+
+    /** {@inheritDoc} */
+    public ParameterDriver[] getParametersDrivers() {
+        return parametersDrivers.clone();
+    }
+
+    /** Regular grid in radius, latitude and longitude. */
+    private static class Grid {
+
+        /** Number of points used for interpolation along each axis. */
+        private final int points;
+
+        /** Number of nodes along radius. */
+        private final int nR;
+
+        /** Number of nodes along latitude. */
+        private final int nLat;
+
+        /** Number of nodes along longitude. */
+        private final int nLon;
+
+        /** Radius of first node. */
+        private final double firstR;
+
+        /** Radial step. */
+        private final double stepR;
+
+        /** Latitude of first node. */
+        private final double firstLat;
+
+        /** Latitude step. */
+        private final double stepLat;
+
+        /** Longitude step. */
+        private final double stepLon;
+
+        /** Distance to the polar axis below which the Hessian is computed by finite differences.
+         * <p>
+         * It is also the finite differences step. As a small fraction of the radial
+         * step, it keeps the truncation error below the interpolation error and
+         * remains within the radial padding of the grid.
+         * </p>
+         */
+        private final double polarRadius;
+
+        /** Gradients at nodes (three components per node, longitude index varying fastest). */
+        private final DoubleBuffer data;
+
+        /** Per-thread working storage for interpolation. */
+        private final ThreadLocal<Workspace> workspaces;
+
+        /** Simple constructor.
+         * @param points number of points used for interpolation along each axis
+         * @param nR number of nodes along radius
+         * @param nLat number of nodes along latitude
+         * @param nLon number of nodes along longitude (covering the full circle)
+         * @param firstR radius of first node
+         * @param stepR radial step
+         * @param firstLat latitude of first node
+         * @param stepLat latitude step
+         * @param data gradients at nodes (may be null if grid is used only for nodes positions)
+         */
+        Grid(final int points, final int nR, final int nLat, final int nLon,
+             final double firstR, final double stepR, final double firstLat, final double stepLat,
+             final DoubleBuffer data) {
+            this.points      = points;
+            this.nR          = nR;
+            this.nLat        = nLat;
+            this.nLon        = nLon;
+            this.firstR      = firstR;
+            this.stepR       = stepR;
+            this.firstLat    = firstLat;
+            this.stepLat     = stepLat;
+            this.stepLon     = MathUtils.TWO_PI / nLon;
+            this.polarRadius = stepR / 64;
+            this.data        = data;
+            this.workspaces  = ThreadLocal.withInitial(() -> new Workspace(points));
+        }
+
+        /** Compute the Cartesian position of a node.
+         * <p>
+         * Latitudes of padding nodes beyond the poles are allowed, they
+         * simply correspond to points on the other side of the pole.
+         * </p>
+         * @param i radius index
+         * @param j latitude index
+         * @param k longitude index
+         * @param positions placeholder for the position
+         * @param offset offset of the position in the placeholder
+         */
+        void nodePosition(final int i, final int j, final int k,
+                          final double[] positions, final int offset) {
+            final double r   = firstR + i * stepR;
+            final double lat = firstLat + j * stepLat;
+            final double lon = -FastMath.PI + k * stepLon;
+            final double rcosLat = r * FastMath.cos(lat);
+            positions[offset]     = rcosLat * FastMath.cos(lon);
+            positions[offset + 1] = rcosLat * FastMath.sin(lon);
+            positions[offset + 2] = r * FastMath.sin(lat);
+        }
+
+        /** Interpolate the gradient and its Hessian.
+         * <p>
+         * The caller must ensure the position is within the validity shell.
+         * </p>
+         * @param x abscissa of position in body frame
+         * @param y ordinate of position in body frame
+         * @param z height of position in body frame
+         * @param gradient placeholder for gradient
+         * @param hessian placeholder for Hessian (may be null if Hessian is not needed)
+         */
+        void interpolate(final double x, final double y, final double z,
+                         final double[] gradient, final double[][] hessian) {
+
+            if (hessian != null && x * x + y * y < polarRadius * polarRadius) {
+                // close to the polar axis, the longitude derivatives in the chain rule are singular
+                polarInterpolate(x, y, z, gradient, hessian);
+                return;
+            }
+
+            // spherical coordinates
+            final double rho2 = x * x + y * y;
+            final double rho  = FastMath.sqrt(rho2);
+            final double r2   = rho2 + z * z;
+            final double r    = FastMath.sqrt(r2);
+            final double lat  = FastMath.atan2(z, rho);
+            final double lon  = FastMath.atan2(y, x);
+
+            // interpolation stencils
+            final double sR   = (r   - firstR)      / stepR;
+            final double sLat = (lat - firstLat)    / stepLat;
+            final double sLon = (lon + FastMath.PI) / stepLon;
+            final int i0 = (int) FastMath.floor(sR)   - (points - 1) / 2;
+            final int j0 = (int) FastMath.floor(sLat) - (points - 1) / 2;
+            final int k0 = (int) FastMath.floor(sLon) - (points - 1) / 2;
+
+            // Lagrange weights and their derivatives along each axis
+            final boolean withDerivatives = hessian != null;
+            final Workspace workspace = workspaces.get();
+            final double[] wR    = workspace.wR;
+            final double[] wLat  = workspace.wLat;
+            final double[] wLon  = workspace.wLon;
+            final double[] dwR   = withDerivatives ? workspace.dwR   : null;
+            final double[] dwLat = withDerivatives ? workspace.dwLat : null;
+            final double[] dwLon = withDerivatives ? workspace.dwLon : null;
+            lagrange(sR   - i0, wR,   dwR);
+            lagrange(sLat - j0, wLat, dwLat);
+            lagrange(sLon - k0, wLon, dwLon);
+
+            // tensor product interpolation
+            final double[] g      = workspace.g;
+            final double[] dgdR   = workspace.dgdR;
+            final double[] dgdLat = workspace.dgdLat;
+            final double[] dgdLon = workspace.dgdLon;
+            Arrays.fill(g,      0.0);
+            Arrays.fill(dgdR,   0.0);
+            Arrays.fill(dgdLat, 0.0);
+            Arrays.fill(dgdLon, 0.0);
+            for (int a = 0; a < points; ++a) {
+                for (int b = 0; b < points; ++b) {
+                    final int rowStart = ((i0 + a) * nLat + j0 + b) * nLon;
+                    final double wRLat = wR[a] * wLat[b];
+                    for (int c = 0; c < points; ++c) {
+                        // longitude is periodic
+                        final int k = (k0 + c + nLon) % nLon;
+                        final int index = 3 * (rowStart + k);
+                        final double w = wRLat * wLon[c];
+                        for (int l = 0; l < 3; ++l) {
+                            final double v = data.get(index + l);
+                            g[l] += w * v;
+                            if (withDerivatives) {
+                                dgdR[l]   += dwR[a] * wLat[b]  * wLon[c]  * v;
+                                dgdLat[l] += wR[a]  * dwLat[b] * wLon[c]  * v;
+                                dgdLon[l] += wRLat  * dwLon[c] * v;
+                            }
+                        }
+                    }
+                }
+            }
+
+            System.arraycopy(g, 0, gradient, 0, 3);
+
+            if (withDerivatives) {
+
+                // Jacobian of spherical coordinates with respect to Cartesian coordinates
+                final double rhoR2  = rho * r2;
+                final double dRdX   = x / r;
+                final double dRdY   = y / r;
+                final double dRdZ   = z / r;
+                final double dLatdX = -x * z / rhoR2;
+                final double dLatdY = -y * z / rhoR2;
+                final double dLatdZ = rho / r2;
+                final double dLondX = -y / rho2;
+                final double dLondY = x / rho2;
+
+                // chain rule
+                for (int l = 0; l < 3; ++l) {
+                    final double gR   = dgdR[l]   / stepR;
+                    final double gLat = dgdLat[l] / stepLat;
+                    final double gLon = dgdLon[l] / stepLon;
+                    hessian[l][0] = gR * dRdX + gLat * dLatdX + gLon * dLondX;
+                    hessian[l][1] = gR * dRdY + gLat * dLatdY + gLon * dLondY;
+                    hessian[l][2] = gR * dRdZ + gLat * dLatdZ;
+                }
+
+            }
+
+        }
+
+        /** Interpolate the gradient and its Hessian close to the polar axis.
+         * <p>
+         * The Hessian is computed by central differences of the interpolated gradient,
+         * which remains regular on the polar axis, using {@link #polarRadius} as the step.
+         * </p>
+         * @param x abscissa of position in body frame
+         * @param y ordinate of position in body frame
+         * @param z height of position in body frame
+         * @param gradient placeholder for gradient
+         * @param hessian placeholder for Hessian
+         */
+        private void polarInterpolate(final double x, final double y, final double z,
+                                      final double[] gradient, final double[][] hessian) {
+
+            interpolate(x, y, z, gradient, null);
+
+            final Workspace workspace = workspaces.get();
+            final double[]  plus      = workspace.plus;
+            final double[]  minus     = workspace.minus;
+            for (int m = 0; m < 3; ++m) {
+                final double dx = (m == 0) ? polarRadius : 0;
+                final double dy = (m == 1) ? polarRadius : 0;
+                final double dz = (m == 2) ? polarRadius : 0;
+                interpolate(x + dx, y + dy, z + dz, plus,  null);
+                interpolate(x - dx, y - dy, z - dz, minus, null);
+                for (int l = 0; l < 3; ++l) {
+                    hessian[l][m] = (plus[l] - minus[l]) / (2 * polarRadius);
+                }
+            }
+
+            // the Hessian of a potential is symmetric
+            for (int l = 0; l < 3; ++l) {
+                for (int m = 0; m < l; ++m) {
+                    final double mean = 0.5 * (hessian[l][m] + hessian[m][l]);
+                    hessian[l][m] = mean;
+                    hessian[m][l] = mean;
+                }
+            }
+
+        }
+
+        /** Compute Lagrange weights for interpolation on uniform nodes 0, 1, ... n-1.
+         * @param t normalized abscissa
+         * @param w placeholder for weights
+         * @param dw placeholder for weights derivatives (may be null if not needed)
+         */
+        private static void lagrange(final double t, final double[] w, final double[] dw) {
+            final int n = w.length;
+            for (int k = 0; k < n; ++k) {
+                double product = 1;
+                for (int m = 0; m < n; ++m) {
+                    if (m != k) {
+                        product *= (t - m) / (k - m);
+                    }
+                }
+                w[k] = product;
+                if (dw != null) {
+                    double sum = 0;
+                    for (int l = 0; l < n; ++l) {
+                        if (l != k) {
+                            double partial = 1.0 / (k - l);
+                            for (int m = 0; m < n; ++m) {
+                                if (m != k && m != l) {
+                                    partial *= (t - m) / (k - m);
+                                }
+                            }
+                            sum += partial;
+                        }
+                    }
+                    dw[k] = sum;
+                }
+            }
+        }
+
+    }
+
+    /** Working storage for grid interpolation.
+     * <p>
+     * One instance is used per thread, so interpolation does not
+     * allocate any array and remains thread-safe.
+     * </p>
+     */
+    private static class Workspace {
+
+        /** Lagrange weights along radius. */
+        private final double[] wR;
+
+        /** Lagrange weights along latitude. */
+        private final double[] wLat;
+
+        /** Lagrange weights along longitude. */
+        private final double[] wLon;
+
+        /** Lagrange weights derivatives along radius. */
+        private final double[] dwR;
+
+        /** Lagrange weights derivatives along latitude. */
+        private final double[] dwLat;
+
+        /** Lagrange weights derivatives along longitude. */
+        private final double[] dwLon;
+
+        /** Interpolated gradient. */
+        private final double[] g;
+
+        /** Derivatives of gradient with respect to normalized radius. */
+        private final double[] dgdR;
+
+        /** Derivatives of gradient with respect to normalized latitude. */
+        private final double[] dgdLat;
+
+        /** Derivatives of gradient with respect to normalized longitude. */
+        private final double[] dgdLon;
+
+        /** Gradient at positive shift for finite differences near the polar axis. */
+        private final double[] plus;
+
+        /** Gradient at negative shift for finite differences near the polar axis. */
+        private final double[] minus;
+
+        /** Simple constructor.
+         * @param points number of points used for interpolation along each axis
+         */
+        Workspace(final int points) {
+            wR     = new double[points];
+            wLat   = new double[points];
+            wLon   = new double[points];
+            dwR    = new double[points];
+            dwLat  = new double[points];
+            dwLon  = new double[points];
+            g      = new double[3];
+            dgdR   = new double[3];
+            dgdLat = new double[3];
+            dgdLon = new double[3];
+            plus   = new double[3];
+            minus  = new double[3];
+        }
+
+    }
+
+}
@@ -19,6 +19,7 @@ package org.orekit.forces.gravity;
 
 import java.io.Serializable;
 
+import org.hipparchus.RealFieldElement;
 import org.hipparchus.analysis.differentiation.DerivativeStructure;
 import org.hipparchus.geometry.euclidean.threed.FieldRotation;
 import org.hipparchus.geometry.euclidean.threed.FieldVector3D;
@@ -27,6 +28,7 @@ import org.hipparchus.geometry.euclidean.threed.Vector3D;
 import org.hipparchus.linear.Array2DRowRealMatrix;
 import org.hipparchus.linear.RealMatrix;
 import org.hipparchus.util.FastMath;
+import org.hipparchus.util.MathArrays;
 import org.orekit.errors.OrekitException;
 import org.orekit.errors.OrekitInternalError;
 import org.orekit.forces.AbstractForceModel;
@@ -40,6 +42,7 @@ import org.orekit.propagation.SpacecraftState;
 import org.orekit.propagation.events.EventDetector;
 import org.orekit.propagation.numerical.TimeDerivativesEquations;
 import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.Gradient;
 import org.orekit.utils.ParameterDriver;
 import org.orekit.utils.ParameterObserver;
 
@@ -67,6 +70,12 @@ import org.orekit.utils.ParameterObserver;
  * computers and mobile devices do have sufficient memory so this caching has become
  * feasible nowadays.
  * <p>
+ * The working arrays used by the recursions are allocated once per thread and
+ * reused for all evaluations, so evaluating the field does not allocate these
+ * arrays at each call while instances can still be shared between threads.
+ * Several positions can be evaluated at once using {@link #gradient(AbsoluteDate,
+ * double[], int, double[])}.
+ * </p>
  * @author Luc Maisonobe
  * @since 6.0
  */
@@ -111,6 +120,9 @@ public class HolmesFeatherstoneAttractionModel extends AbstractForceModel implem
     /** Scaled sectorial Pbar<sub>m,m</sub>/u<sup>m</sup> &times; 2<sup>-SCALING</sup>. */
     private final double[] sectorial;
 
+    /** Per-thread working storage for recursions. */
+    private final ThreadLocal<Workspace> workspaces;
+
     /** Creates a new instance.
      * @param centralBodyFrame rotating body frame
      * @param provider provider for spherical harmonics
@@ -171,6 +183,9 @@ public class HolmesFeatherstoneAttractionModel extends AbstractForceModel implem
             sectorial[m] = FastMath.sqrt((2 * m + 1) / (2.0 * m)) * sectorial[m - 1];
         }
 
+        final int order = provider.getMaxOrder();
+        workspaces = ThreadLocal.withInitial(() -> new Workspace(degree, order));
+
     }
 
     /** {@inheritDoc} */
@@ -202,10 +217,11 @@ public class HolmesFeatherstoneAttractionModel extends AbstractForceModel implem
         final int order  = provider.getMaxOrder();
         final NormalizedSphericalHarmonics harmonics = provider.onDate(date);
 
-        // allocate the columns for recursion
-        double[] pnm0Plus2 = new double[degree + 1];
-        double[] pnm0Plus1 = new double[degree + 1];
-        double[] pnm0      = new double[degree + 1];
+        // get the columns for recursion
+        final Workspace workspace = workspaces.get();
+        double[] pnm0Plus2 = workspace.pnm0Plus2;
+        double[] pnm0Plus1 = workspace.pnm0Plus1;
+        double[] pnm0      = workspace.pnm0;
 
         // compute polar coordinates
         final double x   = position.getX();
@@ -222,10 +238,10 @@ public class HolmesFeatherstoneAttractionModel extends AbstractForceModel implem
         final double tOu = z / rho;
 
         // compute distance powers
-        final double[] aOrN = createDistancePowersArray(provider.getAe() / r);
+        final double[] aOrN = fillDistancePowersArray(provider.getAe() / r, workspace.aOrN);
 
         // compute longitude cosines/sines
-        final double[][] cosSinLambda = createCosSinArrays(position.getX() / rho, position.getY() / rho);
+        final double[][] cosSinLambda = fillCosSinArrays(x / rho, y / rho, workspace.cosSin);
 
         // outer summation over order
         int    index = 0;
@@ -276,21 +292,68 @@ public class HolmesFeatherstoneAttractionModel extends AbstractForceModel implem
      */
     public double[] gradient(final AbsoluteDate date, final Vector3D position)
         throws OrekitException {
+        final double[] gradient = new double[3];
+        gradient(provider.onDate(date), position.getX(), position.getY(), position.getZ(),
+                 workspaces.get(), gradient, 0);
+        return gradient;
+    }
+
+    /** Compute the gradient of the non-central part of the gravity field for several positions.
+     * <p>
+     * This method is intended for evaluating the field at many points at once,
+     * for example on a grid or for a set of satellites at the same date. The
+     * spherical harmonics coefficients are retrieved only once, and no object
+     * is created for each point.
+     * </p>
+     * <p>
+     * The positions and gradients are stored as three consecutive values x, y, z
+     * for each point.
+     * </p>
+     * @param date current date
+     * @param positions positions at which gravity field is desired in body frame (m),
+     * must have at least 3 × count elements
+     * @param count number of points
+     * @param gradients placeholder for gradients of the non-central part of the
+     * gravity field, must have at least 3 × count elements
+     * @exception OrekitException if spherical harmonics cannot be computed at date
+     * @since 9.0
+     */
+    public void gradient(final AbsoluteDate date, final double[] positions, final int count,
+                         final double[] gradients)
+        throws OrekitException {
+        final NormalizedSphericalHarmonics harmonics = provider.onDate(date);
+        final Workspace workspace = workspaces.get();
+        for (int i = 0; i < 3 * count; i += 3) {
+            gradient(harmonics, positions[i], positions[i + 1], positions[i + 2],
+                     workspace, gradients, i);
+        }
+    }
+
+    /** Compute the gradient of the non-central part of the gravity field.
+     * @param harmonics spherical harmonics at current date
+     * @param x abscissa of position at which gravity field is desired in body frame
+     * @param y ordinate of position at which gravity field is desired in body frame
+     * @param z height of position at which gravity field is desired in body frame
+     * @param workspace working storage for recursion
+     * @param gradient placeholder for gradient of the non-central part of the gravity field
+     * @param offset offset of the gradient in the placeholder
+     * @exception OrekitException if spherical harmonics cannot be retrieved
+     */
+    private void gradient(final NormalizedSphericalHarmonics harmonics,
+                          final double x, final double y, final double z,
+                          final Workspace workspace, final double[] gradient, final int offset)
+        throws OrekitException {
 
         final int degree = provider.getMaxDegree();
         final int order  = provider.getMaxOrder();
-        final NormalizedSphericalHarmonics harmonics = provider.onDate(date);
 
-        // allocate the columns for recursion
-        double[] pnm0Plus2  = new double[degree + 1];
-        double[] pnm0Plus1  = new double[degree + 1];
-        double[] pnm0       = new double[degree + 1];
-        final double[] pnm1 = new double[degree + 1];
+        // get the columns for recursion
+        double[] pnm0Plus2  = workspace.pnm0Plus2;
+        double[] pnm0Plus1  = workspace.pnm0Plus1;
+        double[] pnm0       = workspace.pnm0;
+        final double[] pnm1 = workspace.pnm1;
 
         // compute polar coordinates
-        final double x    = position.getX();
-        final double y    = position.getY();
-        final double z    = position.getZ();
         final double x2   = x * x;
         final double y2   = y * y;
         final double z2   = z * z;
@@ -303,15 +366,17 @@ public class HolmesFeatherstoneAttractionModel extends AbstractForceModel implem
         final double tOu  = z / rho;
 
         // compute distance powers
-        final double[] aOrN = createDistancePowersArray(provider.getAe() / r);
+        final double[] aOrN = fillDistancePowersArray(provider.getAe() / r, workspace.aOrN);
 
         // compute longitude cosines/sines
-        final double[][] cosSinLambda = createCosSinArrays(position.getX() / rho, position.getY() / rho);
+        final double[][] cosSinLambda = fillCosSinArrays(x / rho, y / rho, workspace.cosSin);
 
         // outer summation over order
         int    index = 0;
         double value = 0;
-        final double[] gradient = new double[3];
+        double gR      = 0;
+        double gLambda = 0;
+        double gTheta  = 0;
         for (int m = degree; m >= 0; --m) {
 
             // compute tesseral terms with derivatives
@@ -350,10 +415,10 @@ public class HolmesFeatherstoneAttractionModel extends AbstractForceModel implem
                 // (and hence at index 1) and our theta is its phi (and hence at index 2)
                 final double sML = cosSinLambda[1][m];
                 final double cML = cosSinLambda[0][m];
-                value            = value       * u + sML * sumDegreeS        + cML * sumDegreeC;
-                gradient[0]      = gradient[0] * u + sML * dSumDegreeSdR     + cML * dSumDegreeCdR;
-                gradient[1]      = gradient[1] * u + m * (cML * sumDegreeS - sML * sumDegreeC);
-                gradient[2]      = gradient[2] * u + sML * dSumDegreeSdTheta + cML * dSumDegreeCdTheta;
+                value            = value   * u + sML * sumDegreeS        + cML * sumDegreeC;
+                gR               = gR      * u + sML * dSumDegreeSdR     + cML * dSumDegreeCdR;
+                gLambda          = gLambda * u + m * (cML * sumDegreeS - sML * sumDegreeC);
+                gTheta           = gTheta  * u + sML * dSumDegreeSdTheta + cML * dSumDegreeCdTheta;
 
             }
 
@@ -366,20 +431,24 @@ public class HolmesFeatherstoneAttractionModel extends AbstractForceModel implem
         }
 
         // scale back
-        value       = FastMath.scalb(value,       SCALING);
-        gradient[0] = FastMath.scalb(gradient[0], SCALING);
-        gradient[1] = FastMath.scalb(gradient[1], SCALING);
-        gradient[2] = FastMath.scalb(gradient[2], SCALING);
+        value   = FastMath.scalb(value,   SCALING);
+        gR      = FastMath.scalb(gR,      SCALING);
+        gLambda = FastMath.scalb(gLambda, SCALING);
+        gTheta  = FastMath.scalb(gTheta,  SCALING);
 
         // apply the global mu/r factor
         final double muOr = mu / r;
         value            *= muOr;
-        gradient[0]       = muOr * gradient[0] - value / r;
-        gradient[1]      *= muOr;
-        gradient[2]      *= muOr;
+        gR                = muOr * gR - value / r;
+        gLambda          *= muOr;
+        gTheta           *= muOr;
 
         // convert gradient from spherical to Cartesian
-        return new SphericalCoordinates(position).toCartesianGradient(gradient);
+        // (same computation as SphericalCoordinates.toCartesianGradient, without object creation)
+        final double rhoR2 = rho * r2;
+        gradient[offset]     = gR * (x / r) + gLambda * (-y / rho2) + gTheta * (x * z / rhoR2);
+        gradient[offset + 1] = gR * (y / r) + gLambda * (x / rho2)  + gTheta * (y * z / rhoR2);
+        gradient[offset + 2] = gR * (z / r)                         + gTheta * (-rho / r2);
 
     }
 
@@ -396,13 +465,14 @@ public class HolmesFeatherstoneAttractionModel extends AbstractForceModel implem
         final int order  = provider.getMaxOrder();
         final NormalizedSphericalHarmonics harmonics = provider.onDate(date);
 
-        // allocate the columns for recursion
-        double[] pnm0Plus2  = new double[degree + 1];
-        double[] pnm0Plus1  = new double[degree + 1];
-        double[] pnm0       = new double[degree + 1];
-        double[] pnm1Plus1  = new double[degree + 1];
-        double[] pnm1       = new double[degree + 1];
-        final double[] pnm2 = new double[degree + 1];
+        // get the columns for recursion
+        final Workspace workspace = workspaces.get();
+        double[] pnm0Plus2  = workspace.pnm0Plus2;
+        double[] pnm0Plus1  = workspace.pnm0Plus1;
+        double[] pnm0       = workspace.pnm0;
+        double[] pnm1Plus1  = workspace.pnm1Plus1;
+        double[] pnm1       = workspace.pnm1;
+        final double[] pnm2 = workspace.pnm2;
 
         // compute polar coordinates
         final double x    = position.getX();
@@ -420,10 +490,10 @@ public class HolmesFeatherstoneAttractionModel extends AbstractForceModel implem
         final double tOu  = z / rho;
 
         // compute distance powers
-        final double[] aOrN = createDistancePowersArray(provider.getAe() / r);
+        final double[] aOrN = fillDistancePowersArray(provider.getAe() / r, workspace.aOrN);
 
         // compute longitude cosines/sines
-        final double[][] cosSinLambda = createCosSinArrays(position.getX() / rho, position.getY() / rho);
+        final double[][] cosSinLambda = fillCosSinArrays(x / rho, y / rho, workspace.cosSin);
 
         // outer summation over order
         int    index = 0;
@@ -577,12 +647,12 @@ public class HolmesFeatherstoneAttractionModel extends AbstractForceModel implem
 
     /** Compute a/r powers array.
      * @param aOr a/r
-     * @return array containing (a/r)<sup>n</sup>
+     * @param aOrN array to fill with (a/r)<sup>n</sup>
+     * @return aOrN array
      */
-    private double[] createDistancePowersArray(final double aOr) {
+    private double[] fillDistancePowersArray(final double aOr, final double[] aOrN) {
 
         // initialize array
-        final double[] aOrN = new double[provider.getMaxDegree() + 1];
         aOrN[0] = 1;
         aOrN[1] = aOr;
 
@@ -600,13 +670,14 @@ public class HolmesFeatherstoneAttractionModel extends AbstractForceModel implem
     /** Compute longitude cosines and sines.
      * @param cosLambda cos(λ)
      * @param sinLambda sin(λ)
-     * @return array containing cos(m &times; λ) in row 0
+     * @param cosSin array to fill with cos(m &times; λ) in row 0
      * and sin(m &times; λ) in row 1
+     * @return cosSin array
      */
-    private double[][] createCosSinArrays(final double cosLambda, final double sinLambda) {
+    private double[][] fillCosSinArrays(final double cosLambda, final double sinLambda,
+                                        final double[][] cosSin) {
 
         // initialize arrays
-        final double[][] cosSin = new double[2][provider.getMaxOrder() + 1];
         cosSin[0][0] = 1;
         cosSin[1][0] = 0;
         if (provider.getMaxOrder() > 0) {
@@ -662,6 +733,13 @@ public class HolmesFeatherstoneAttractionModel extends AbstractForceModel implem
 
         final double u2 = u * u;
 
+        // P(m+1, m+2) does not exist, but it is multiplied by h(m+1, m) = 0 below,
+        // so the entry reused from the workspace must be reset, otherwise a stale
+        // non-finite value from a previous evaluation would propagate as NaN
+        if (m + 1 <= degree) {
+            pnm0Plus2[m + 1] = 0;
+        }
+
         // initialize recursion from sectorial terms
         int n = FastMath.max(2, m);
         if (n == m) {
@@ -758,6 +836,33 @@ public class HolmesFeatherstoneAttractionModel extends AbstractForceModel implem
                                                                       final FieldVector3D<DerivativeStructure> position, final FieldVector3D<DerivativeStructure> velocity,
                                                                       final FieldRotation<DerivativeStructure> rotation, final DerivativeStructure mass)
         throws OrekitException {
+        return acceleration(date, frame, position);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public FieldVector3D<Gradient> accelerationGradient(final AbsoluteDate date, final Frame frame,
+                                                        final FieldVector3D<Gradient> position, final FieldVector3D<Gradient> velocity,
+                                                        final FieldRotation<Gradient> rotation, final Gradient mass)
+        throws OrekitException {
+        return acceleration(date, frame, position);
+    }
+
+    /** Compute acceleration and its first order derivatives.
+     * <p>
+     * The acceleration is linearized around the current position, using the
+     * Hessian of the gravity field, so only first order derivatives are computed.
+     * </p>
+     * @param date current date
+     * @param frame inertial reference frame for state (both orbit and attitude)
+     * @param position position of spacecraft in reference frame
+     * @param <T> type of the field elements
+     * @return acceleration
+     * @exception OrekitException if frames transforms cannot be computed
+     */
+    private <T extends RealFieldElement<T>> FieldVector3D<T> acceleration(final AbsoluteDate date, final Frame frame,
+                                                                          final FieldVector3D<T> position)
+        throws OrekitException {
 
         // get the position in body frame
         final Transform fromBodyFrame = bodyFrame.getTransformTo(frame, date);
@@ -775,28 +880,20 @@ public class HolmesFeatherstoneAttractionModel extends AbstractForceModel implem
         final RealMatrix rot       = new Array2DRowRealMatrix(toBodyFrame.getRotation().getMatrix());
         final RealMatrix hInertial = rot.transpose().multiply(hBody).multiply(rot);
 
-        // distribute all partial derivatives in a compact acceleration vector
-        final int parameters       = mass.getFreeParameters();
-        final int order            = mass.getOrder();
-        final double[] derivatives = new double[1 + parameters];
-        final DerivativeStructure[] accDer = new DerivativeStructure[3];
-        for (int i = 0; i < 3; ++i) {
-
-            // first element is value of acceleration (i.e. gradient of field)
-            derivatives[0] = gInertial[i];
-
-            // next three elements are one row of the Jacobian of acceleration (i.e. Hessian of field)
-            derivatives[1] = hInertial.getEntry(i, 0);
-            derivatives[2] = hInertial.getEntry(i, 1);
-            derivatives[3] = hInertial.getEntry(i, 2);
-
-            // next elements (three or four depending on mass being used or not) are left as 0
-
-            accDer[i] = new DerivativeStructure(parameters, order, derivatives);
+        // position offset, with zero value and the position partial derivatives
+        final FieldVector3D<T> dp = position.subtract(position.toVector3D());
 
+        // value is the acceleration (i.e. gradient of field), partial derivatives
+        // are the Jacobian of acceleration (i.e. Hessian of field) times position derivatives
+        final T[] acc = MathArrays.buildArray(position.getX().getField(), 3);
+        for (int i = 0; i < 3; ++i) {
+            acc[i] = dp.getX().multiply(hInertial.getEntry(i, 0)).
+                     add(dp.getY().multiply(hInertial.getEntry(i, 1))).
+                     add(dp.getZ().multiply(hInertial.getEntry(i, 2))).
+                     add(gInertial[i]);
         }
 
-        return new FieldVector3D<DerivativeStructure>(accDer);
+        return new FieldVector3D<T>(acc);
 
     }
 
@@ -826,4 +923,53 @@ public class HolmesFeatherstoneAttractionModel extends AbstractForceModel implem
         return parametersDrivers.clone();
     }
 
+    /** Working storage for recursions.
+     * <p>
+     * One instance is used per thread, so field evaluations do not
+     * allocate any array and remain thread-safe.
+     * </p>
+     */
+    private static class Workspace {
+
+        /** Scaled P<sub>n,m+2</sub>/u<sup>m+2</sup>. */
+        private final double[] pnm0Plus2;
+
+        /** Scaled P<sub>n,m+1</sub>/u<sup>m+1</sup>. */
+        private final double[] pnm0Plus1;
+
+        /** Scaled P<sub>n,m</sub>/u<sup>m</sup>. */
+        private final double[] pnm0;
+
+        /** Scaled dP<sub>n,m+1</sub>/u<sup>m+1</sup>. */
+        private final double[] pnm1Plus1;
+
+        /** Scaled dP<sub>n,m</sub>/u<sup>m</sup>. */
+        private final double[] pnm1;
+
+        /** Scaled d²P<sub>n,m</sub>/u<sup>m</sup>. */
+        private final double[] pnm2;
+
+        /** Distance powers (a/r)<sup>n</sup>. */
+        private final double[] aOrN;
+
+        /** Longitude cosines and sines. */
+        private final double[][] cosSin;
+
+        /** Simple constructor.
+         * @param degree max degree
+         * @param order max order
+         */
+        Workspace(final int degree, final int order) {
+            pnm0Plus2 = new double[degree + 1];
+            pnm0Plus1 = new double[degree + 1];
+            pnm0      = new double[degree + 1];
+            pnm1Plus1 = new double[degree + 1];
+            pnm1      = new double[degree + 1];
+            pnm2      = new double[degree + 1];
+            aOrN      = new double[degree + 1];
+            cosSin    = new double[2][order + 1];
+        }
+
+    }
+
 }
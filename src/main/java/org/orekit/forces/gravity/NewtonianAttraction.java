@@ -16,6 +16,7 @@
  */
 package org.orekit.forces.gravity;
 
+import org.hipparchus.RealFieldElement;
 import org.hipparchus.analysis.differentiation.DerivativeStructure;
 import org.hipparchus.geometry.euclidean.threed.FieldRotation;
 import org.hipparchus.geometry.euclidean.threed.FieldVector3D;
@@ -29,6 +30,7 @@ import org.orekit.propagation.SpacecraftState;
 import org.orekit.propagation.events.EventDetector;
 import org.orekit.propagation.numerical.TimeDerivativesEquations;
 import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.Gradient;
 import org.orekit.utils.ParameterDriver;
 import org.orekit.utils.ParameterObserver;
 
@@ -83,10 +85,26 @@ public class NewtonianAttraction extends AbstractForceModel {
                                                                       final FieldVector3D<DerivativeStructure> position, final FieldVector3D<DerivativeStructure> velocity,
                                                                       final FieldRotation<DerivativeStructure> rotation, final DerivativeStructure mass)
         throws OrekitException {
+        return acceleration(position);
+    }
 
-        final DerivativeStructure r2 = position.getNormSq();
-        return new FieldVector3D<DerivativeStructure>(r2.sqrt().multiply(r2).reciprocal().multiply(-mu), position);
+    /** {@inheritDoc} */
+    @Override
+    public FieldVector3D<Gradient> accelerationGradient(final AbsoluteDate date, final Frame frame,
+                                                        final FieldVector3D<Gradient> position, final FieldVector3D<Gradient> velocity,
+                                                        final FieldRotation<Gradient> rotation, final Gradient mass)
+        throws OrekitException {
+        return acceleration(position);
+    }
 
+    /** Compute acceleration.
+     * @param position position of spacecraft in reference frame
+     * @param <T> type of the field elements
+     * @return acceleration
+     */
+    private <T extends RealFieldElement<T>> FieldVector3D<T> acceleration(final FieldVector3D<T> position) {
+        final T r2 = position.getNormSq();
+        return new FieldVector3D<T>(r2.sqrt().multiply(r2).reciprocal().multiply(-mu), position);
     }
 
     /** {@inheritDoc} */
@@ -33,6 +33,7 @@ import org.orekit.propagation.numerical.TimeDerivativesEquations;
 import org.orekit.time.AbsoluteDate;
 import org.orekit.time.UT1Scale;
 import org.orekit.utils.Constants;
+import org.orekit.utils.Gradient;
 import org.orekit.utils.IERSConventions;
 import org.orekit.utils.OrekitConfiguration;
 import org.orekit.utils.ParameterDriver;
@@ -141,6 +142,19 @@ public class SolidTides extends AbstractForceModel {
         return attractionModel.accelerationDerivatives(date, frame, position, velocity, rotation, mass);
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public FieldVector3D<Gradient> accelerationGradient(final AbsoluteDate date,
+                                                        final Frame frame,
+                                                        final FieldVector3D<Gradient> position,
+                                                        final FieldVector3D<Gradient> velocity,
+                                                        final FieldRotation<Gradient> rotation,
+                                                        final Gradient mass)
+        throws OrekitException {
+        // delegate to underlying attraction model
+        return attractionModel.accelerationGradient(date, frame, position, velocity, rotation, mass);
+    }
+
     /** {@inheritDoc} */
     @Override
     public FieldVector3D<DerivativeStructure> accelerationDerivatives(final SpacecraftState s,
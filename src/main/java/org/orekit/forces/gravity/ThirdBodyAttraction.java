@@ -16,6 +16,7 @@
  */
 package org.orekit.forces.gravity;
 
+import org.hipparchus.RealFieldElement;
 import org.hipparchus.analysis.differentiation.DerivativeStructure;
 import org.hipparchus.geometry.euclidean.threed.FieldRotation;
 import org.hipparchus.geometry.euclidean.threed.FieldVector3D;
@@ -30,6 +31,7 @@ import org.orekit.propagation.SpacecraftState;
 import org.orekit.propagation.events.EventDetector;
 import org.orekit.propagation.numerical.TimeDerivativesEquations;
 import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.Gradient;
 import org.orekit.utils.ParameterDriver;
 import org.orekit.utils.ParameterObserver;
 
@@ -113,16 +115,41 @@ public class ThirdBodyAttraction extends AbstractForceModel {
                                                                       final FieldRotation<DerivativeStructure> rotation,
                                                                       final DerivativeStructure mass)
         throws OrekitException {
+        return acceleration(date, frame, position);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public FieldVector3D<Gradient> accelerationGradient(final AbsoluteDate date, final Frame frame,
+                                                        final FieldVector3D<Gradient> position,
+                                                        final FieldVector3D<Gradient> velocity,
+                                                        final FieldRotation<Gradient> rotation,
+                                                        final Gradient mass)
+        throws OrekitException {
+        return acceleration(date, frame, position);
+    }
+
+    /** Compute acceleration.
+     * @param date current date
+     * @param frame inertial reference frame for state (both orbit and attitude)
+     * @param position position of spacecraft in reference frame
+     * @param <T> type of the field elements
+     * @return acceleration
+     * @exception OrekitException if body position cannot be computed
+     */
+    private <T extends RealFieldElement<T>> FieldVector3D<T> acceleration(final AbsoluteDate date, final Frame frame,
+                                                                          final FieldVector3D<T> position)
+        throws OrekitException {
 
         // compute bodies separation vectors and squared norm
-        final Vector3D centralToBody    = body.getPVCoordinates(date, frame).getPosition();
-        final double r2Central          = centralToBody.getNormSq();
-        final FieldVector3D<DerivativeStructure> satToBody = position.subtract(centralToBody).negate();
-        final DerivativeStructure r2Sat = satToBody.getNormSq();
+        final Vector3D centralToBody = body.getPVCoordinates(date, frame).getPosition();
+        final double r2Central       = centralToBody.getNormSq();
+        final FieldVector3D<T> satToBody = position.subtract(centralToBody).negate();
+        final T r2Sat = satToBody.getNormSq();
 
         // compute relative acceleration
-        final FieldVector3D<DerivativeStructure> satAcc =
-                new FieldVector3D<DerivativeStructure>(r2Sat.sqrt().multiply(r2Sat).reciprocal().multiply(gm), satToBody);
+        final FieldVector3D<T> satAcc =
+                new FieldVector3D<T>(r2Sat.sqrt().multiply(r2Sat).reciprocal().multiply(gm), satToBody);
         final Vector3D centralAcc =
                 new Vector3D(gm / (r2Central * FastMath.sqrt(r2Central)), centralToBody);
         return satAcc.subtract(centralAcc);
@@ -16,6 +16,7 @@
  */
 package org.orekit.forces.radiation;
 
+import org.hipparchus.RealFieldElement;
 import org.hipparchus.analysis.differentiation.DerivativeStructure;
 import org.hipparchus.geometry.euclidean.threed.FieldRotation;
 import org.hipparchus.geometry.euclidean.threed.FieldVector3D;
@@ -27,6 +28,7 @@ import org.orekit.errors.OrekitInternalError;
 import org.orekit.errors.OrekitMessages;
 import org.orekit.frames.Frame;
 import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.Gradient;
 import org.orekit.utils.ParameterDriver;
 import org.orekit.utils.ParameterObserver;
 
@@ -134,8 +136,25 @@ public class IsotropicRadiationCNES95Convention implements RadiationSensitive {
     public FieldVector3D<DerivativeStructure> radiationPressureAcceleration(final AbsoluteDate date, final Frame frame, final FieldVector3D<DerivativeStructure> position,
                                                                             final FieldRotation<DerivativeStructure> rotation, final DerivativeStructure mass,
                                                                             final FieldVector3D<DerivativeStructure> flux) {
+        return acceleration(mass, flux);
+    }
+
+    /** {@inheritDoc} */
+    public FieldVector3D<Gradient> radiationPressureAccelerationGradient(final AbsoluteDate date, final Frame frame, final FieldVector3D<Gradient> position,
+                                                                         final FieldRotation<Gradient> rotation, final Gradient mass,
+                                                                         final FieldVector3D<Gradient> flux) {
+        return acceleration(mass, flux);
+    }
+
+    /** Compute radiation pressure acceleration.
+     * @param mass current mass
+     * @param flux radiation flux in the same inertial frame as spacecraft orbit
+     * @param <T> type of the field elements
+     * @return spacecraft acceleration in the same inertial frame as spacecraft orbit (m/s²)
+     */
+    private <T extends RealFieldElement<T>> FieldVector3D<T> acceleration(final T mass, final FieldVector3D<T> flux) {
         final double kP = crossSection * (1 + 4 * (1.0 - alpha) * (1.0 - tau) / 9.0);
-        return new FieldVector3D<DerivativeStructure>(mass.reciprocal().multiply(kP), flux);
+        return new FieldVector3D<T>(mass.reciprocal().multiply(kP), flux);
     }
 
     /** {@inheritDoc} */
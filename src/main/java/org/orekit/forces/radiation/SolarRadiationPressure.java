@@ -16,6 +16,7 @@
  */
 package org.orekit.forces.radiation;
 
+import org.hipparchus.RealFieldElement;
 import org.hipparchus.analysis.differentiation.DerivativeStructure;
 import org.hipparchus.geometry.euclidean.threed.FieldRotation;
 import org.hipparchus.geometry.euclidean.threed.FieldVector3D;
@@ -32,6 +33,7 @@ import org.orekit.propagation.events.handlers.EventHandler;
 import org.orekit.propagation.numerical.TimeDerivativesEquations;
 import org.orekit.time.AbsoluteDate;
 import org.orekit.utils.Constants;
+import org.orekit.utils.Gradient;
 import org.orekit.utils.PVCoordinatesProvider;
 import org.orekit.utils.ParameterDriver;
 
@@ -193,16 +195,46 @@ public class SolarRadiationPressure extends AbstractForceModel {
                                               final FieldRotation<DerivativeStructure> rotation, final DerivativeStructure mass)
         throws OrekitException {
 
-        final FieldVector3D<DerivativeStructure> sunSatVector = position.subtract(sun.getPVCoordinates(date, frame).getPosition());
-        final DerivativeStructure r2  = sunSatVector.getNormSq();
+        // compute acceleration with all its partial derivatives
+        return spacecraft.radiationPressureAcceleration(date, frame, position, rotation, mass,
+                                                        flux(date, frame, position));
 
-        // compute flux
-        final double ratio = getLightingRatio(position.toVector3D(), frame, date);
-        final DerivativeStructure rawP = r2.reciprocal().multiply(kRef * ratio);
-        final FieldVector3D<DerivativeStructure> flux = new FieldVector3D<DerivativeStructure>(rawP.divide(r2.sqrt()), sunSatVector);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public FieldVector3D<Gradient> accelerationGradient(final AbsoluteDate date, final Frame frame,
+                                                        final FieldVector3D<Gradient> position,
+                                                        final FieldVector3D<Gradient> velocity,
+                                                        final FieldRotation<Gradient> rotation,
+                                                        final Gradient mass)
+        throws OrekitException {
 
         // compute acceleration with all its partial derivatives
-        return spacecraft.radiationPressureAcceleration(date, frame, position, rotation, mass, flux);
+        return spacecraft.radiationPressureAccelerationGradient(date, frame, position, rotation, mass,
+                                                                flux(date, frame, position));
+
+    }
+
+    /** Compute radiation flux.
+     * @param date current date
+     * @param frame inertial reference frame for state (both orbit and attitude)
+     * @param position position of spacecraft in reference frame
+     * @param <T> type of the field elements
+     * @return radiation flux in reference frame
+     * @exception OrekitException if sun position cannot be computed
+     */
+    private <T extends RealFieldElement<T>> FieldVector3D<T> flux(final AbsoluteDate date, final Frame frame,
+                                                                  final FieldVector3D<T> position)
+        throws OrekitException {
+
+        final FieldVector3D<T> sunSatVector = position.subtract(sun.getPVCoordinates(date, frame).getPosition());
+        final T r2  = sunSatVector.getNormSq();
+
+        // compute flux
+        final double ratio = getLightingRatio(position.toVector3D(), frame, date);
+        final T rawP = r2.reciprocal().multiply(kRef * ratio);
+        return new FieldVector3D<T>(rawP.divide(r2.sqrt()), sunSatVector);
 
     }
 
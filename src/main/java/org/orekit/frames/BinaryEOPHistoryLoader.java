@@ -0,0 +1,208 @@
+/* Copyright 2002-2016 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.frames;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.SortedSet;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitInternalError;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.utils.IERSConventions;
+
+/** Loader for Earth Orientation Parameters compiled in a binary file.
+ * <p>
+ * Parsing IERS bulletins, EOP C04 and rapid data files at each application
+ * start may be slow. This class allows to compile an already loaded
+ * {@link EOPHistory} into a compact binary file using {@link #write(EOPHistory, File)},
+ * and to load it back later on. The file is memory-mapped when read, so the
+ * operating system shares its pages between all processes using it.
+ * </p>
+ * <p>
+ * The file contains only already converted entries, so the nutation correction
+ * converter is ignored when filling up history. It also records the IERS
+ * conventions of the history it was compiled from, so the loader can be registered
+ * using:
+ * </p>
+ * <pre>
+ *   BinaryEOPHistoryLoader loader = new BinaryEOPHistoryLoader(file);
+ *   FramesFactory.addEOPHistoryLoader(loader.getConventions(), loader);
+ * </pre>
+ * @see FramesFactory#addEOPHistoryLoader(IERSConventions, EOPHistoryLoader)
+ * @author Luc Maisonobe
+ * @since 9.0
+ */
+public class BinaryEOPHistoryLoader implements EOPHistoryLoader {
+
+    /** Magic number identifying the file format ("OEOP"). */
+    private static final int MAGIC = 0x4f454f50;
+
+    /** File format version. */
+    private static final int VERSION = 1;
+
+    /** Header size in bytes. */
+    private static final int HEADER_SIZE = 16;
+
+    /** Record size in bytes (one int, one padding int and eight doubles). */
+    private static final int RECORD_SIZE = 72;
+
+    /** Memory-mapped content of the file. */
+    private final ByteBuffer buffer;
+
+    /** IERS conventions of the compiled history. */
+    private final IERSConventions conventions;
+
+    /** Number of entries in the file. */
+    private final int size;
+
+    /** Simple constructor.
+     * @param file compiled file, as written by {@link #write(EOPHistory, File)}
+     * @exception OrekitException if file cannot be mapped or is not a compiled EOP file
+     */
+    public BinaryEOPHistoryLoader(final File file) throws OrekitException {
+
+        if (!file.exists()) {
+            throw new OrekitException(OrekitMessages.UNABLE_TO_FIND_FILE, file.getAbsolutePath());
+        }
+
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r");
+             FileChannel channel = raf.getChannel()) {
+            // the mapping remains valid after the channel has been closed
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException ioe) {
+            throw new OrekitException(ioe, LocalizedCoreFormats.SIMPLE_MESSAGE, ioe.getLocalizedMessage());
+        }
+
+        try {
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                throw new OrekitException(OrekitMessages.NOT_A_SUPPORTED_IERS_DATA_FILE, file.getAbsolutePath());
+            }
+            conventions = getConventions(buffer.getInt(8));
+            size        = buffer.getInt(12);
+            if (conventions == null || size < 0 || buffer.capacity() != HEADER_SIZE + (long) size * RECORD_SIZE) {
+                throw new OrekitException(OrekitMessages.NOT_A_SUPPORTED_IERS_DATA_FILE, file.getAbsolutePath());
+            }
+        } catch (IndexOutOfBoundsException | BufferUnderflowException e) {
+            throw new OrekitException(OrekitMessages.NOT_A_SUPPORTED_IERS_DATA_FILE, file.getAbsolutePath());
+        }
+
+    }
+
+    /** Compile an EOP history into a binary file.
+     * @param history history to compile
+     * @param file file to write
+     * @exception OrekitException if file cannot be written
+     */
+    public static void write(final EOPHistory history, final File file)
+        throws OrekitException {
+        try (DataOutputStream out =
+                        new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(getCode(history.getConventions()));
+            out.writeInt(history.getEntries().size());
+            for (final EOPEntry entry : history.getEntries()) {
+                out.writeInt(entry.getMjd());
+                out.writeInt(0);
+                out.writeDouble(entry.getUT1MinusUTC());
+                out.writeDouble(entry.getLOD());
+                out.writeDouble(entry.getX());
+                out.writeDouble(entry.getY());
+                out.writeDouble(entry.getDdPsi());
+                out.writeDouble(entry.getDdEps());
+                out.writeDouble(entry.getDx());
+                out.writeDouble(entry.getDy());
+            }
+        } catch (IOException ioe) {
+            throw new OrekitException(ioe, LocalizedCoreFormats.SIMPLE_MESSAGE, ioe.getLocalizedMessage());
+        }
+    }
+
+    /** Get the code identifying IERS conventions in compiled files.
+     * <p>
+     * An explicit code is used rather than the enumerate ordinal,
+     * so the file format does not depend on declaration order.
+     * </p>
+     * @param iersConventions IERS conventions
+     * @return code identifying the conventions
+     */
+    private static int getCode(final IERSConventions iersConventions) {
+        switch (iersConventions) {
+            case IERS_1996 :
+                return 1996;
+            case IERS_2003 :
+                return 2003;
+            case IERS_2010 :
+                return 2010;
+            default :
+                // this should never happen
+                throw new OrekitInternalError(null);
+        }
+    }
+
+    /** Get the IERS conventions identified by a code in compiled files.
+     * @param code code identifying the conventions
+     * @return IERS conventions, or null if code is unknown
+     */
+    private static IERSConventions getConventions(final int code) {
+        for (final IERSConventions iersConventions : IERSConventions.values()) {
+            if (getCode(iersConventions) == code) {
+                return iersConventions;
+            }
+        }
+        return null;
+    }
+
+    /** Get the IERS conventions of the compiled history.
+     * @return IERS conventions of the compiled history
+     */
+    public IERSConventions getConventions() {
+        return conventions;
+    }
+
+    /** Get the number of entries in the compiled file.
+     * @return number of entries in the compiled file
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /** {@inheritDoc} */
+    public void fillHistory(final IERSConventions.NutationCorrectionConverter converter,
+                            final SortedSet<EOPEntry> history)
+        throws OrekitException {
+        for (int i = 0; i < size; ++i) {
+            // use absolute accesses only, so the shared buffer position is never changed
+            final int offset = HEADER_SIZE + i * RECORD_SIZE;
+            history.add(new EOPEntry(buffer.getInt(offset),
+                                     buffer.getDouble(offset +  8), buffer.getDouble(offset + 16),
+                                     buffer.getDouble(offset + 24), buffer.getDouble(offset + 32),
+                                     buffer.getDouble(offset + 40), buffer.getDouble(offset + 48),
+                                     buffer.getDouble(offset + 56), buffer.getDouble(offset + 64)));
+        }
+    }
+
+}
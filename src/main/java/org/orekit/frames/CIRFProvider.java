@@ -17,6 +17,8 @@
 package org.orekit.frames;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.hipparchus.geometry.euclidean.threed.Rotation;
 import org.hipparchus.geometry.euclidean.threed.Vector3D;
@@ -86,8 +88,32 @@ class CIRFProvider implements EOPBasedTransformProvider {
      * library cannot be read
      */
     public Transform getTransform(final AbsoluteDate date) throws OrekitException {
+        return buildTransform(date, xysPxy2Function.value(date));
+    }
+
+    /** {@inheritDoc}
+     * <p>
+     * The precession-nutation series are evaluated for all dates at once,
+     * which is faster than evaluating them date by date.
+     * </p>
+     */
+    @Override
+    public List<Transform> getTransforms(final List<AbsoluteDate> dates) throws OrekitException {
+        final List<double[]>  xys        = xysPxy2Function.value(dates);
+        final List<Transform> transforms = new ArrayList<Transform>(dates.size());
+        for (int i = 0; i < dates.size(); ++i) {
+            transforms.add(buildTransform(dates.get(i), xys.get(i)));
+        }
+        return transforms;
+    }
+
+    /** Build the transform from GCRF to CIRF2000 at the specified date.
+     * @param date date of the transform
+     * @param xys CIP/CIO components at date, without EOP corrections
+     * @return transform at the specified date
+     */
+    private Transform buildTransform(final AbsoluteDate date, final double[] xys) {
 
-        final double[] xys  = xysPxy2Function.value(date);
         final double[] dxdy = eopHistory.getNonRotatinOriginNutationCorrection(date);
 
         // position of the Celestial Intermediate Pole (CIP)
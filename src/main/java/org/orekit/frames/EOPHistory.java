@@ -29,6 +29,7 @@ import org.orekit.errors.TimeStampedCacheException;
 import org.orekit.time.AbsoluteDate;
 import org.orekit.time.TimeFunction;
 import org.orekit.time.TimeStamped;
+import org.orekit.utils.ConcurrentTimeStampedCache;
 import org.orekit.utils.Constants;
 import org.orekit.utils.GenericTimeStampedCache;
 import org.orekit.utils.IERSConventions;
@@ -462,13 +463,23 @@ public class EOPHistory implements Serializable {
         CachedCorrection(final TimeFunction<double[]> tidalCorrection) {
             this.step            = 60 * 60;
             this.tidalCorrection = tidalCorrection;
-            this.cache           =
-                new GenericTimeStampedCache<TidalCorrectionEntry>(8,
-                                                                  OrekitConfiguration.getCacheSlotsNumber(),
-                                                                  Constants.JULIAN_DAY * 30,
-                                                                  Constants.JULIAN_DAY,
-                                                                  this,
-                                                                  TidalCorrectionEntry.class);
+            if (OrekitConfiguration.isLockFreeCaches()) {
+                this.cache =
+                    new ConcurrentTimeStampedCache<TidalCorrectionEntry>(8,
+                                                                         OrekitConfiguration.getCacheSlotsNumber(),
+                                                                         Constants.JULIAN_DAY * 30,
+                                                                         Constants.JULIAN_DAY,
+                                                                         this,
+                                                                         TidalCorrectionEntry.class);
+            } else {
+                this.cache =
+                    new GenericTimeStampedCache<TidalCorrectionEntry>(8,
+                                                                      OrekitConfiguration.getCacheSlotsNumber(),
+                                                                      Constants.JULIAN_DAY * 30,
+                                                                      Constants.JULIAN_DAY,
+                                                                      this,
+                                                                      TidalCorrectionEntry.class);
+            }
         }
 
         /** {@inheritDoc} */
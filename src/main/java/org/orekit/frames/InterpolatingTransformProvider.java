@@ -26,7 +26,10 @@ import org.orekit.errors.OrekitExceptionWrapper;
 import org.orekit.time.AbsoluteDate;
 import org.orekit.utils.AngularDerivativesFilter;
 import org.orekit.utils.CartesianDerivativesFilter;
+import org.orekit.utils.ConcurrentTimeStampedCache;
 import org.orekit.utils.GenericTimeStampedCache;
+import org.orekit.utils.OrekitConfiguration;
+import org.orekit.utils.TimeStampedCache;
 import org.orekit.utils.TimeStampedGenerator;
 
 /** Transform provider using thread-safe interpolation on transforms sample.
@@ -64,8 +67,17 @@ public class InterpolatingTransformProvider implements TransformProvider {
     /** Grid points time step. */
     private final double step;
 
+    /** Maximum number of independent cached time slots. */
+    private final int maxSlots;
+
+    /** Maximum duration span in seconds of one slot. */
+    private final double maxSpan;
+
+    /** Time interval above which a new slot is created. */
+    private final double newSlotInterval;
+
     /** Cache for sample points. */
-    private final transient GenericTimeStampedCache<Transform> cache;
+    private final transient TimeStampedCache<Transform> cache;
 
     /** Simple constructor.
      * @param rawProvider provider for raw (non-interpolated) transforms
@@ -88,14 +100,22 @@ public class InterpolatingTransformProvider implements TransformProvider {
                                           final AbsoluteDate earliest, final AbsoluteDate latest,
                                           final int gridPoints, final double step,
                                           final int maxSlots, final double maxSpan, final double newSlotInterval) {
-        this.rawProvider = rawProvider;
-        this.cFilter     = cFilter;
-        this.aFilter     = aFilter;
-        this.earliest    = earliest;
-        this.latest      = latest;
-        this.step        = step;
-        this.cache       = new GenericTimeStampedCache<Transform>(gridPoints, maxSlots, maxSpan, newSlotInterval,
-                                                                  new Generator(), Transform.class);
+        this.rawProvider     = rawProvider;
+        this.cFilter         = cFilter;
+        this.aFilter         = aFilter;
+        this.earliest        = earliest;
+        this.latest          = latest;
+        this.step            = step;
+        this.maxSlots        = maxSlots;
+        this.maxSpan         = maxSpan;
+        this.newSlotInterval = newSlotInterval;
+        if (OrekitConfiguration.isLockFreeCaches()) {
+            this.cache = new ConcurrentTimeStampedCache<Transform>(gridPoints, maxSlots, maxSpan, newSlotInterval,
+                                                                   new Generator(), Transform.class);
+        } else {
+            this.cache = new GenericTimeStampedCache<Transform>(gridPoints, maxSlots, maxSpan, newSlotInterval,
+                                                                new Generator(), Transform.class);
+        }
     }
 
     /** Get the underlying provider for raw (non-interpolated) transforms.
@@ -147,7 +167,7 @@ public class InterpolatingTransformProvider implements TransformProvider {
     private Object writeReplace() {
         return new DTO(rawProvider, cFilter.getMaxOrder(), aFilter.getMaxOrder(),
                        earliest, latest, cache.getNeighborsSize(), step,
-                       cache.getMaxSlots(), cache.getMaxSpan(), cache.getNewSlotQuantumGap());
+                       maxSlots, maxSpan, newSlotInterval);
     }
 
     /** Internal class used only for serialization. */
@@ -238,13 +258,13 @@ public class InterpolatingTransformProvider implements TransformProvider {
         public List<Transform> generate(final Transform existing, final AbsoluteDate date) {
 
             try {
-                final List<Transform> generated = new ArrayList<Transform>();
+                final List<AbsoluteDate> dates = new ArrayList<AbsoluteDate>();
 
                 if (existing == null) {
 
                     // no prior existing transforms, just generate a first set
                     for (int i = 0; i < cache.getNeighborsSize(); ++i) {
-                        generated.add(rawProvider.getTransform(date.shiftedBy(i * step)));
+                        dates.add(date.shiftedBy(i * step));
                     }
 
                 } else {
@@ -257,19 +277,21 @@ public class InterpolatingTransformProvider implements TransformProvider {
                         // forward generation
                         do {
                             t = t.shiftedBy(step);
-                            generated.add(generated.size(), rawProvider.getTransform(t));
+                            dates.add(dates.size(), t);
                         } while (t.compareTo(date) <= 0);
                     } else {
                         // backward generation
                         do {
                             t = t.shiftedBy(-step);
-                            generated.add(0, rawProvider.getTransform(t));
+                            dates.add(0, t);
                         } while (t.compareTo(date) >= 0);
                     }
                 }
 
-                // return the generated transforms
-                return generated;
+                // generate all the transforms at once,
+                // so raw providers can evaluate their models in bulk
+                return rawProvider.getTransforms(dates);
+
             } catch (OrekitException oe) {
                 throw new OrekitExceptionWrapper(oe);
             }
@@ -0,0 +1,337 @@
+/* Copyright 2002-2016 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.frames;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.Serializable;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.geometry.euclidean.threed.Rotation;
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.util.FastMath;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.errors.OrekitInternalError;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.AngularCoordinates;
+import org.orekit.utils.AngularDerivativesFilter;
+import org.orekit.utils.CartesianDerivativesFilter;
+import org.orekit.utils.PVCoordinates;
+
+/** Transform provider interpolating a dense grid of transforms precomputed in a binary file.
+ * <p>
+ * Computing transforms between celestial and terrestrial frames involves evaluating
+ * large nutation series and interpolating Earth Orientation Parameters, which must
+ * first be loaded. This provider avoids all this by interpolating transforms that
+ * have been computed beforehand on a regular time grid and stored in a binary file
+ * by {@link #write(Frame, Frame, AbsoluteDate, AbsoluteDate, double, int, File)}.
+ * The file is memory-mapped, so it is only paged in from disk as needed and the
+ * operating system shares its pages between all processes using it.
+ * </p>
+ * <p>
+ * Typical use is to precompute the GCRF to ITRF transform for a service time range,
+ * and to build at startup a frame with:
+ * </p>
+ * <pre>
+ *   Frame itrf = new Frame(FramesFactory.getGCRF(),
+ *                          new PrecomputedTransformProvider(file),
+ *                          "precomputed ITRF");
+ * </pre>
+ * <p>
+ * The interpolation is a Hermite interpolation using positions, velocities,
+ * rotations and rotation rates from the grid.
+ * </p>
+ * @see InterpolatingTransformProvider
+ * @author Luc Maisonobe
+ * @since 9.0
+ */
+public class PrecomputedTransformProvider implements TransformProvider {
+
+    /** Serializable UID. */
+    private static final long serialVersionUID = 20170301L;
+
+    /** Magic number identifying the file format ("OTRF"). */
+    private static final int MAGIC = 0x4f545246;
+
+    /** File format version. */
+    private static final int VERSION = 1;
+
+    /** Header size in bytes. */
+    private static final int HEADER_SIZE = 32;
+
+    /** Number of doubles per grid point. */
+    private static final int COMPONENTS = 13;
+
+    /** Record size in bytes. */
+    private static final int RECORD_SIZE = 8 * COMPONENTS;
+
+    /** Compiled file. */
+    private final File file;
+
+    /** Memory-mapped content of the file. */
+    private final transient ByteBuffer buffer;
+
+    /** Number of grid points. */
+    private final int size;
+
+    /** Number of points used for interpolation. */
+    private final int interpolationPoints;
+
+    /** Offset of first grid point with respect to J2000 epoch. */
+    private final double t0;
+
+    /** Grid step. */
+    private final double step;
+
+    /** Simple constructor.
+     * @param file compiled file, as written by
+     * {@link #write(Frame, Frame, AbsoluteDate, AbsoluteDate, double, int, File)}
+     * @exception OrekitException if file cannot be mapped or is not a compiled transforms file
+     */
+    public PrecomputedTransformProvider(final File file) throws OrekitException {
+
+        this.file = file;
+        if (!file.exists()) {
+            throw new OrekitException(OrekitMessages.UNABLE_TO_FIND_FILE, file.getAbsolutePath());
+        }
+
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r");
+             FileChannel channel = raf.getChannel()) {
+            // the mapping remains valid after the channel has been closed
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException ioe) {
+            throw new OrekitException(ioe, LocalizedCoreFormats.SIMPLE_MESSAGE, ioe.getLocalizedMessage());
+        }
+
+        try {
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                throw new OrekitException(OrekitMessages.NOT_A_PRECOMPUTED_TRANSFORMS_FILE, file.getAbsolutePath());
+            }
+            size                = buffer.getInt(8);
+            interpolationPoints = buffer.getInt(12);
+            t0                  = buffer.getDouble(16);
+            step                = buffer.getDouble(24);
+            if (interpolationPoints < 2 || size < interpolationPoints || !(step > 0) ||
+                buffer.capacity() != HEADER_SIZE + (long) size * RECORD_SIZE) {
+                throw new OrekitException(OrekitMessages.NOT_A_PRECOMPUTED_TRANSFORMS_FILE, file.getAbsolutePath());
+            }
+        } catch (IndexOutOfBoundsException | BufferUnderflowException e) {
+            throw new OrekitException(OrekitMessages.NOT_A_PRECOMPUTED_TRANSFORMS_FILE, file.getAbsolutePath());
+        }
+
+    }
+
+    /** Precompute transforms between two frames and write them to a binary file.
+     * <p>
+     * The transforms computed are the ones from {@code parent} to {@code child}, so the
+     * provider built from the file can be used to define a frame equivalent to {@code child}
+     * as a child of {@code parent}. The grid covers at least the [{@code start}, {@code end}]
+     * range, which is slightly extended so the full interpolation sample is available near
+     * range boundaries.
+     * </p>
+     * @param parent parent frame
+     * @param child child frame
+     * @param start start of the time range to cover
+     * @param end end of the time range to cover
+     * @param step grid step (s)
+     * @param interpolationPoints number of points to use for interpolation (at least 2)
+     * @param file file to write
+     * @exception OrekitIllegalArgumentException if interpolation points number is less than 2
+     * @exception OrekitException if transforms cannot be computed or file cannot be written
+     */
+    public static void write(final Frame parent, final Frame child,
+                             final AbsoluteDate start, final AbsoluteDate end,
+                             final double step, final int interpolationPoints,
+                             final File file)
+        throws OrekitException {
+
+        if (interpolationPoints < 2) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL, interpolationPoints, 2);
+        }
+
+        // align grid on an integer number of steps since J2000 epoch
+        final int    margin   = interpolationPoints / 2;
+        final double first    = (FastMath.floor(start.durationFrom(AbsoluteDate.J2000_EPOCH) / step) - margin) * step;
+        final int    size     = (int) FastMath.ceil((end.durationFrom(AbsoluteDate.J2000_EPOCH) - first) / step) +
+                                margin + 1;
+
+        try (DataOutputStream out =
+                        new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(size);
+            out.writeInt(interpolationPoints);
+            out.writeDouble(first);
+            out.writeDouble(step);
+            for (int i = 0; i < size; ++i) {
+                final Transform t        = parent.getTransformTo(child, gridDate(first, step, i));
+                final Vector3D  p        = t.getTranslation();
+                final Vector3D  v        = t.getVelocity();
+                final Rotation  r        = t.getRotation();
+                final Vector3D  rate     = t.getRotationRate();
+                out.writeDouble(p.getX());
+                out.writeDouble(p.getY());
+                out.writeDouble(p.getZ());
+                out.writeDouble(v.getX());
+                out.writeDouble(v.getY());
+                out.writeDouble(v.getZ());
+                out.writeDouble(r.getQ0());
+                out.writeDouble(r.getQ1());
+                out.writeDouble(r.getQ2());
+                out.writeDouble(r.getQ3());
+                out.writeDouble(rate.getX());
+                out.writeDouble(rate.getY());
+                out.writeDouble(rate.getZ());
+            }
+        } catch (IOException ioe) {
+            throw new OrekitException(ioe, LocalizedCoreFormats.SIMPLE_MESSAGE, ioe.getLocalizedMessage());
+        }
+
+    }
+
+    /** Get the date of a grid point.
+     * @param first offset of first grid point with respect to J2000 epoch
+     * @param step grid step
+     * @param i index of the grid point
+     * @return date of the grid point
+     */
+    private static AbsoluteDate gridDate(final double first, final double step, final int i) {
+        return AbsoluteDate.J2000_EPOCH.shiftedBy(first + i * step);
+    }
+
+    /** Get the first date of the grid.
+     * @return first date of the grid
+     */
+    public AbsoluteDate getMinDate() {
+        return gridDate(t0, step, 0);
+    }
+
+    /** Get the last date of the grid.
+     * @return last date of the grid
+     */
+    public AbsoluteDate getMaxDate() {
+        return gridDate(t0, step, size - 1);
+    }
+
+    /** Get the grid step.
+     * @return grid step
+     */
+    public double getStep() {
+        return step;
+    }
+
+    /** Get the number of points used for interpolation.
+     * @return number of points used for interpolation
+     */
+    public int getInterpolationPoints() {
+        return interpolationPoints;
+    }
+
+    /** {@inheritDoc} */
+    public Transform getTransform(final AbsoluteDate date) throws OrekitException {
+
+        final double dt = date.durationFrom(AbsoluteDate.J2000_EPOCH) - t0;
+        if (dt < 0 || dt > (size - 1) * step) {
+            throw new OrekitException(OrekitMessages.OUT_OF_RANGE_EPHEMERIDES_DATE,
+                                      date, getMinDate(), getMaxDate());
+        }
+
+        // select the grid points surrounding the date
+        final int central = (int) FastMath.floor(dt / step);
+        final int i0      = FastMath.max(0, FastMath.min(size - interpolationPoints,
+                                                         central - (interpolationPoints - 1) / 2));
+
+        final List<Transform> sample = new ArrayList<Transform>(interpolationPoints);
+        for (int i = i0; i < i0 + interpolationPoints; ++i) {
+            // use absolute accesses only, so the shared buffer position is never changed
+            final int offset = HEADER_SIZE + i * RECORD_SIZE;
+            final PVCoordinates cartesian =
+                    new PVCoordinates(new Vector3D(buffer.getDouble(offset),      buffer.getDouble(offset +  8),
+                                                   buffer.getDouble(offset + 16)),
+                                      new Vector3D(buffer.getDouble(offset + 24), buffer.getDouble(offset + 32),
+                                                   buffer.getDouble(offset + 40)));
+            final AngularCoordinates angular =
+                    new AngularCoordinates(new Rotation(buffer.getDouble(offset + 48), buffer.getDouble(offset + 56),
+                                                        buffer.getDouble(offset + 64), buffer.getDouble(offset + 72),
+                                                        false),
+                                           new Vector3D(buffer.getDouble(offset + 80), buffer.getDouble(offset + 88),
+                                                        buffer.getDouble(offset + 96)),
+                                           Vector3D.ZERO);
+            final AbsoluteDate gridDate = gridDate(t0, step, i);
+            sample.add(new Transform(gridDate,
+                                     new Transform(gridDate, cartesian),
+                                     new Transform(gridDate, angular)));
+        }
+
+        return Transform.interpolate(date,
+                                     CartesianDerivativesFilter.USE_PV,
+                                     AngularDerivativesFilter.USE_RR,
+                                     sample);
+
+    }
+
+    /** Replace the instance with a data transfer object for serialization.
+     * <p>
+     * This intermediate class serializes only the file name, not its content.
+     * </p>
+     * @return data transfer object that will be serialized
+     */
+    private Object writeReplace() {
+        return new DataTransferObject(file);
+    }
+
+    /** Internal class used only for serialization. */
+    private static class DataTransferObject implements Serializable {
+
+        /** Serializable UID. */
+        private static final long serialVersionUID = 20170301L;
+
+        /** Compiled file. */
+        private final File file;
+
+        /** Simple constructor.
+         * @param file compiled file
+         */
+        DataTransferObject(final File file) {
+            this.file = file;
+        }
+
+        /** Replace the deserialized data transfer object with a {@link PrecomputedTransformProvider}.
+         * @return replacement {@link PrecomputedTransformProvider}
+         */
+        private Object readResolve() {
+            try {
+                return new PrecomputedTransformProvider(file);
+            } catch (OrekitException oe) {
+                throw new OrekitInternalError(oe);
+            }
+        }
+
+    }
+
+}
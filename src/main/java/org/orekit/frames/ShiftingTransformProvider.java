@@ -27,7 +27,10 @@ import org.orekit.errors.OrekitExceptionWrapper;
 import org.orekit.time.AbsoluteDate;
 import org.orekit.utils.AngularDerivativesFilter;
 import org.orekit.utils.CartesianDerivativesFilter;
+import org.orekit.utils.ConcurrentTimeStampedCache;
 import org.orekit.utils.GenericTimeStampedCache;
+import org.orekit.utils.OrekitConfiguration;
+import org.orekit.utils.TimeStampedCache;
 import org.orekit.utils.TimeStampedGenerator;
 
 /** Transform provider using thread-safe shifts on transforms sample.
@@ -47,8 +50,17 @@ public class ShiftingTransformProvider implements TransformProvider {
     /** First level cache. */
     private final InterpolatingTransformProvider interpolatingProvider;
 
+    /** Maximum number of independent cached time slots. */
+    private final int maxSlots;
+
+    /** Maximum duration span in seconds of one slot. */
+    private final double maxSpan;
+
+    /** Time interval above which a new slot is created. */
+    private final double newSlotInterval;
+
     /** Cache for sample points. */
-    private final transient GenericTimeStampedCache<Transform> cache;
+    private final transient TimeStampedCache<Transform> cache;
 
     /** Simple constructor.
      * @param rawProvider provider for raw (non-interpolated) transforms
@@ -89,8 +101,16 @@ public class ShiftingTransformProvider implements TransformProvider {
     private ShiftingTransformProvider(final InterpolatingTransformProvider interpolatingProvider,
                                      final int maxSlots, final double maxSpan, final double newSlotInterval) {
         this.interpolatingProvider = interpolatingProvider;
-        this.cache = new GenericTimeStampedCache<Transform>(2, maxSlots, maxSpan, newSlotInterval,
-                                                            new Generator(), Transform.class);
+        this.maxSlots              = maxSlots;
+        this.maxSpan               = maxSpan;
+        this.newSlotInterval       = newSlotInterval;
+        if (OrekitConfiguration.isLockFreeCaches()) {
+            this.cache = new ConcurrentTimeStampedCache<Transform>(2, maxSlots, maxSpan, newSlotInterval,
+                                                                   new Generator(), Transform.class);
+        } else {
+            this.cache = new GenericTimeStampedCache<Transform>(2, maxSlots, maxSpan, newSlotInterval,
+                                                                new Generator(), Transform.class);
+        }
     }
 
     /** Get the underlying provider for raw (non-interpolated) transforms.
@@ -145,7 +165,7 @@ public class ShiftingTransformProvider implements TransformProvider {
      */
     private Object writeReplace() {
         return new DTO(interpolatingProvider,
-                       cache.getMaxSlots(), cache.getMaxSpan(), cache.getNewSlotQuantumGap());
+                       maxSlots, maxSpan, newSlotInterval);
     }
 
     /** Internal class used only for serialization. */
@@ -17,6 +17,8 @@
 package org.orekit.frames;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.hipparchus.geometry.euclidean.threed.Rotation;
 import org.hipparchus.geometry.euclidean.threed.RotationConvention;
@@ -83,9 +85,31 @@ class TODProvider implements EOPBasedTransformProvider {
      * library cannot be read
      */
     public Transform getTransform(final AbsoluteDate date) throws OrekitException {
+        return buildTransform(date, nutationFunction.value(date));
+    }
+
+    /** {@inheritDoc}
+     * <p>
+     * The nutation series are evaluated for all dates at once,
+     * which is faster than evaluating them date by date.
+     * </p>
+     */
+    @Override
+    public List<Transform> getTransforms(final List<AbsoluteDate> dates) throws OrekitException {
+        final List<double[]>  angles     = nutationFunction.value(dates);
+        final List<Transform> transforms = new ArrayList<Transform>(dates.size());
+        for (int i = 0; i < dates.size(); ++i) {
+            transforms.add(buildTransform(dates.get(i), angles.get(i)));
+        }
+        return transforms;
+    }
 
-        // compute nutation angles
-        final double[] angles = nutationFunction.value(date);
+    /** Build the transform from Mean Of Date at specified date.
+     * @param date date of the transform
+     * @param angles nutation angles at date
+     * @return transform at the specified date
+     */
+    private Transform buildTransform(final AbsoluteDate date, final double[] angles) {
 
         // compute the mean obliquity of the ecliptic
         final double moe = obliquityFunction.value(date);
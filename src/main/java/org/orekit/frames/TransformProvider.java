@@ -18,6 +18,8 @@
 package org.orekit.frames;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.orekit.errors.OrekitException;
 import org.orekit.time.AbsoluteDate;
@@ -37,4 +39,24 @@ public interface TransformProvider extends Serializable {
      */
     Transform getTransform(AbsoluteDate date) throws OrekitException;
 
+    /** Get the {@link Transform transforms} corresponding to several dates.
+     * <p>
+     * This method is used for example to fill interpolation grids in bulk.
+     * The default implementation simply calls {@link #getTransform(AbsoluteDate)}
+     * for each date in turn. Implementations for which some computation
+     * can be shared between dates may override it.
+     * </p>
+     * @param dates dates
+     * @return transforms at specified dates, in the same order as the dates
+     * @exception OrekitException if transform cannot be computed at some date
+     * @since 9.0
+     */
+    default List<Transform> getTransforms(final List<AbsoluteDate> dates) throws OrekitException {
+        final List<Transform> transforms = new ArrayList<Transform>(dates.size());
+        for (final AbsoluteDate date : dates) {
+            transforms.add(getTransform(date));
+        }
+        return transforms;
+    }
+
 }
@@ -310,6 +310,17 @@ public class EquinoctialOrbit extends Orbit {
      * @return the eccentric longitude argument
      */
     private double meanToEccentric(final double lM) {
+        return meanToEccentric(lM, ex, ey);
+    }
+
+    /** Computes the eccentric longitude argument from the mean longitude argument.
+     * @param lM = M + ω + Ω mean longitude argument (rad)
+     * @param ex e cos(ω + Ω), first component of eccentricity vector
+     * @param ey e sin(ω + Ω), second component of eccentricity vector
+     * @return the eccentric longitude argument
+     * @since 9.0
+     */
+    public static double meanToEccentric(final double lM, final double ex, final double ey) {
         // Generalization of Kepler equation to equinoctial parameters
         // with lE = PA + RAAN + E and
         //      lM = PA + RAAN + M = lE - ex.sin(lE) + ey.cos(lE)
@@ -351,8 +362,37 @@ public class EquinoctialOrbit extends Orbit {
     /** {@inheritDoc} */
     protected TimeStampedPVCoordinates initPVCoordinates() {
 
-        // get equinoctial parameters
-        final double lE = getLE();
+        final double[] pv = new double[6];
+        toCartesian(a, ex, ey, hx, hy, getLE(), getMu(), pv);
+
+        final Vector3D position     = new Vector3D(pv[0], pv[1], pv[2]);
+        final Vector3D velocity     = new Vector3D(pv[3], pv[4], pv[5]);
+        final double r2             = position.getNormSq();
+        final Vector3D acceleration = new Vector3D(-getMu() / (r2 * FastMath.sqrt(r2)), position);
+
+        return new TimeStampedPVCoordinates(getDate(), position, velocity, acceleration);
+
+    }
+
+    /** Compute position and velocity from equinoctial elements.
+     * <p>
+     * This method does not create any object, it is intended for callers
+     * that need many positions and velocities without building orbits.
+     * </p>
+     * @param a semi-major axis (m)
+     * @param ex e cos(ω + Ω), first component of eccentricity vector
+     * @param ey e sin(ω + Ω), second component of eccentricity vector
+     * @param hx tan(i/2) cos(Ω), first component of inclination vector
+     * @param hy tan(i/2) sin(Ω), second component of inclination vector
+     * @param lE = E + ω + Ω eccentric longitude argument (rad)
+     * @param mu central attraction coefficient (m³/s²)
+     * @param pv placeholder for position (m) and velocity (m/s),
+     * in the frame of the elements
+     * @since 9.0
+     */
+    public static void toCartesian(final double a, final double ex, final double ey,
+                                   final double hx, final double hy, final double lE,
+                                   final double mu, final double[] pv) {
 
         // inclination-related intermediate parameters
         final double hx2   = hx * hx;
@@ -385,19 +425,16 @@ public class EquinoctialOrbit extends Orbit {
         final double x      = a * ((1 - beta * ey2) * cLe + beta * exey * sLe - ex);
         final double y      = a * ((1 - beta * ex2) * sLe + beta * exey * cLe - ey);
 
-        final double factor = FastMath.sqrt(getMu() / a) / (1 - exCeyS);
+        final double factor = FastMath.sqrt(mu / a) / (1 - exCeyS);
         final double xdot   = factor * (-sLe + beta * ey * exCeyS);
         final double ydot   = factor * ( cLe - beta * ex * exCeyS);
 
-        final Vector3D position =
-            new Vector3D(x * ux + y * vx, x * uy + y * vy, x * uz + y * vz);
-        final double r2 = position.getNormSq();
-        final Vector3D velocity =
-            new Vector3D(xdot * ux + ydot * vx, xdot * uy + ydot * vy, xdot * uz + ydot * vz);
-
-        final Vector3D acceleration = new Vector3D(-getMu() / (r2 * FastMath.sqrt(r2)), position);
-
-        return new TimeStampedPVCoordinates(getDate(), position, velocity, acceleration);
+        pv[0] = x * ux + y * vx;
+        pv[1] = x * uy + y * vy;
+        pv[2] = x * uz + y * vz;
+        pv[3] = xdot * ux + ydot * vx;
+        pv[4] = xdot * uy + ydot * vy;
+        pv[5] = xdot * uz + ydot * vz;
 
     }
 
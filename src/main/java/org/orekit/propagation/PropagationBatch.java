@@ -0,0 +1,378 @@
+/* Copyright 2002-2016 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.hipparchus.exception.MathRuntimeException;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitExceptionWrapper;
+import org.orekit.propagation.sampling.BatchFixedStepHandler;
+import org.orekit.propagation.sampling.OrekitFixedStepHandler;
+import org.orekit.time.AbsoluteDate;
+
+/** Engine propagating a batch of independent propagators in parallel.
+ * <p>
+ * This class is intended for propagating large catalogs of objects, for
+ * example thousands of {@link org.orekit.propagation.analytical.tle.TLEPropagator
+ * TLE propagators}, but it can handle any {@link Propagator} implementation,
+ * and propagators of different types can be mixed in the same batch. The
+ * propagations are distributed on a {@link ForkJoinPool fork-join pool}, so
+ * idle threads steal work from busy ones and the load remains balanced even
+ * if some propagations are much longer than other ones.
+ * </p>
+ * <p>
+ * Each propagator has its own target date, and optionally its own start date.
+ * If all propagators share the same start date and a {@link
+ * #setStepHandler(double, BatchFixedStepHandler) step handler} is set, all
+ * objects are sampled on a common time grid.
+ * </p>
+ * <p>
+ * A failure in one propagation does not abort the batch: the exception is
+ * recorded in the corresponding {@link Result result} and the other propagations
+ * proceed normally. Only {@link OrekitException Orekit exceptions} (including
+ * wrapped ones), Hipparchus exceptions and illegal argument or illegal state
+ * exceptions are considered to be propagation failures, other unchecked
+ * exceptions abort the batch.
+ * </p>
+ * <p>
+ * Each propagator is used by exactly one thread during the batch run, so
+ * propagators instances must not be shared between several batch entries.
+ * Objects shared between propagators must be thread-safe. This is the case
+ * for {@link org.orekit.frames.Frame frames} and {@link
+ * org.orekit.bodies.CelestialBody celestial bodies} provided by Orekit
+ * factories, as their caches are synchronized. Models that hold mutable
+ * internal state (like some atmosphere models) must not be shared between
+ * force models used in different propagators, one instance should be
+ * created for each propagator instead.
+ * </p>
+ * <p>
+ * Propagating the batch changes the {@link Propagator#getMode() operating mode}
+ * of all propagators, which are set either in {@link Propagator#MASTER_MODE master
+ * mode} if a step handler has been set or in {@link Propagator#SLAVE_MODE slave
+ * mode} otherwise.
+ * </p>
+ * @see BatchFixedStepHandler
+ * @author Luc Maisonobe
+ * @since 9.0
+ */
+public class PropagationBatch {
+
+    /** Pool running the propagations. */
+    private final ForkJoinPool pool;
+
+    /** Batch entries. */
+    private final List<Entry> entries;
+
+    /** Step size for the step handler. */
+    private double step;
+
+    /** Step handler (may be null). */
+    private BatchFixedStepHandler handler;
+
+    /** Simple constructor, using the {@link ForkJoinPool#commonPool() common pool}.
+     */
+    public PropagationBatch() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /** Simple constructor.
+     * @param pool pool in which propagations should be run
+     */
+    public PropagationBatch(final ForkJoinPool pool) {
+        this.pool    = pool;
+        this.entries = new ArrayList<Entry>();
+        this.step    = Double.NaN;
+        this.handler = null;
+    }
+
+    /** Add a propagator to the batch.
+     * <p>
+     * Propagation will start at propagator initial state date.
+     * </p>
+     * @param propagator propagator to add
+     * @param target target date for this propagator
+     * @return index of the propagator within the batch
+     */
+    public int addPropagator(final Propagator propagator, final AbsoluteDate target) {
+        return addPropagator(propagator, null, target);
+    }
+
+    /** Add a propagator to the batch.
+     * @param propagator propagator to add
+     * @param start start date for this propagator (if null, propagation
+     * starts at propagator initial state date)
+     * @param target target date for this propagator
+     * @return index of the propagator within the batch
+     * @see Propagator#propagate(AbsoluteDate, AbsoluteDate)
+     */
+    public int addPropagator(final Propagator propagator,
+                             final AbsoluteDate start, final AbsoluteDate target) {
+        entries.add(new Entry(propagator, start, target));
+        return entries.size() - 1;
+    }
+
+    /** Get the number of propagators in the batch.
+     * @return number of propagators in the batch
+     */
+    public int getPropagatorsNumber() {
+        return entries.size();
+    }
+
+    /** Get one propagator from the batch.
+     * @param index index of the propagator within the batch
+     * @return propagator at specified index
+     */
+    public Propagator getPropagator(final int index) {
+        return entries.get(index).propagator;
+    }
+
+    /** Set a step handler called for all propagators.
+     * @param fixedStep fixed step size (s)
+     * @param stepHandler step handler, must be thread-safe (may be null
+     * to remove a previously set handler)
+     */
+    public void setStepHandler(final double fixedStep, final BatchFixedStepHandler stepHandler) {
+        this.step    = fixedStep;
+        this.handler = stepHandler;
+    }
+
+    /** Propagate all the propagators of the batch.
+     * <p>
+     * This method returns only once all propagations have completed, either
+     * normally or with a failure.
+     * </p>
+     * @return propagation results, in the same order as the propagators
+     * were added to the batch
+     */
+    public List<Result> propagate() {
+        final Result[] results = new Result[entries.size()];
+        if (results.length > 0) {
+            pool.invoke(new BatchTask(results, 0, results.length));
+        }
+        return Collections.unmodifiableList(Arrays.asList(results));
+    }
+
+    /** Propagate one entry of the batch.
+     * @param index index of the entry
+     * @return propagation result
+     */
+    private Result propagate(final int index) {
+
+        final Entry entry = entries.get(index);
+
+        try {
+
+            if (handler == null) {
+                entry.propagator.setSlaveMode();
+            } else {
+                entry.propagator.setMasterMode(step, new IndexedHandler(index, handler));
+            }
+
+            final SpacecraftState finalState = (entry.start == null) ?
+                                               entry.propagator.propagate(entry.target) :
+                                               entry.propagator.propagate(entry.start, entry.target);
+            return new Result(index, entry.propagator, finalState, null);
+
+        } catch (OrekitException oe) {
+            return new Result(index, entry.propagator, null, oe);
+        } catch (OrekitExceptionWrapper oew) {
+            return new Result(index, entry.propagator, null, oew.getException());
+        } catch (MathRuntimeException mre) {
+            return new Result(index, entry.propagator, null, new OrekitException(mre));
+        } catch (IllegalArgumentException | IllegalStateException ie) {
+            return new Result(index, entry.propagator, null, ie);
+        }
+
+    }
+
+    /** Fork-join task propagating a range of entries. */
+    private class BatchTask extends RecursiveAction {
+
+        /** Serializable UID. */
+        private static final long serialVersionUID = 20170301L;
+
+        /** Placeholder for the results. */
+        private final Result[] results;
+
+        /** Index of the first entry (included). */
+        private final int from;
+
+        /** Index of the last entry (excluded). */
+        private final int to;
+
+        /** Simple constructor.
+         * @param results placeholder for the results
+         * @param from index of the first entry (included)
+         * @param to index of the last entry (excluded)
+         */
+        BatchTask(final Result[] results, final int from, final int to) {
+            this.results = results;
+            this.from    = from;
+            this.to      = to;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                results[from] = propagate(from);
+            } else {
+                // split the range, idle workers will steal the forked halves
+                final int middle = (from + to) >>> 1;
+                invokeAll(new BatchTask(results, from, middle),
+                          new BatchTask(results, middle, to));
+            }
+        }
+
+    }
+
+    /** Adapter from {@link BatchFixedStepHandler} to {@link OrekitFixedStepHandler}. */
+    private static class IndexedHandler implements OrekitFixedStepHandler {
+
+        /** Index of the propagator within the batch. */
+        private final int index;
+
+        /** Underlying batch handler. */
+        private final BatchFixedStepHandler handler;
+
+        /** Simple constructor.
+         * @param index index of the propagator within the batch
+         * @param handler underlying batch handler
+         */
+        IndexedHandler(final int index, final BatchFixedStepHandler handler) {
+            this.index   = index;
+            this.handler = handler;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void init(final SpacecraftState s0, final AbsoluteDate t, final double step)
+            throws OrekitException {
+            handler.init(index, s0, t, step);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void handleStep(final SpacecraftState currentState, final boolean isLast)
+            throws OrekitException {
+            handler.handleStep(index, currentState, isLast);
+        }
+
+    }
+
+    /** Container for one batch entry. */
+    private static class Entry {
+
+        /** Propagator. */
+        private final Propagator propagator;
+
+        /** Start date (may be null). */
+        private final AbsoluteDate start;
+
+        /** Target date. */
+        private final AbsoluteDate target;
+
+        /** Simple constructor.
+         * @param propagator propagator
+         * @param start start date (may be null)
+         * @param target target date
+         */
+        Entry(final Propagator propagator, final AbsoluteDate start, final AbsoluteDate target) {
+            this.propagator = propagator;
+            this.start      = start;
+            this.target     = target;
+        }
+
+    }
+
+    /** Container for the result of one propagation. */
+    public static class Result {
+
+        /** Index of the propagator within the batch. */
+        private final int index;
+
+        /** Propagator. */
+        private final Propagator propagator;
+
+        /** Final state (null if propagation failed). */
+        private final SpacecraftState finalState;
+
+        /** Failure cause (null if propagation succeeded). */
+        private final Exception failure;
+
+        /** Simple constructor.
+         * @param index index of the propagator within the batch
+         * @param propagator propagator
+         * @param finalState final state (null if propagation failed)
+         * @param failure failure cause (null if propagation succeeded)
+         */
+        private Result(final int index, final Propagator propagator,
+                       final SpacecraftState finalState, final Exception failure) {
+            this.index      = index;
+            this.propagator = propagator;
+            this.finalState = finalState;
+            this.failure    = failure;
+        }
+
+        /** Get the index of the propagator within the batch.
+         * @return index of the propagator within the batch
+         */
+        public int getIndex() {
+            return index;
+        }
+
+        /** Get the propagator.
+         * @return propagator
+         */
+        public Propagator getPropagator() {
+            return propagator;
+        }
+
+        /** Check if the propagation succeeded.
+         * @return true if the propagation succeeded
+         */
+        public boolean isSuccessful() {
+            return failure == null;
+        }
+
+        /** Get the final state.
+         * @return final state, or null if propagation failed
+         */
+        public SpacecraftState getFinalState() {
+            return finalState;
+        }
+
+        /** Get the failure cause.
+         * <p>
+         * The failure is either an {@link OrekitException} or an {@link
+         * IllegalArgumentException}/{@link IllegalStateException}.
+         * </p>
+         * @return failure cause, or null if propagation succeeded
+         */
+        public Exception getFailure() {
+            return failure;
+        }
+
+    }
+
+}
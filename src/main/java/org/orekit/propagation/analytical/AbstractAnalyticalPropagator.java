@@ -22,17 +22,23 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.PriorityQueue;
 import java.util.Queue;
 
+import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.exception.MathRuntimeException;
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
 import org.hipparchus.util.FastMath;
 import org.orekit.attitudes.Attitude;
 import org.orekit.attitudes.AttitudeProvider;
 import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
 import org.orekit.errors.OrekitInternalError;
 import org.orekit.frames.Frame;
+import org.orekit.frames.Transform;
 import org.orekit.orbits.Orbit;
 import org.orekit.propagation.AbstractPropagator;
 import org.orekit.propagation.AdditionalStateProvider;
@@ -44,6 +50,7 @@ import org.orekit.propagation.events.EventState.EventOccurrence;
 import org.orekit.propagation.events.handlers.EventHandler.Action;
 import org.orekit.propagation.sampling.OrekitStepInterpolator;
 import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.PVCoordinates;
 import org.orekit.utils.PVCoordinatesProvider;
 import org.orekit.utils.TimeStampedPVCoordinates;
 
@@ -78,6 +85,9 @@ public abstract class AbstractAnalyticalPropagator extends AbstractPropagator {
     /** Event steps. */
     private final Collection<EventState<?>> eventsStates;
 
+    /** Indicator for events sampling on a grid shared by all detectors. */
+    private boolean sharedEventsSampling;
+
     /** Build a new instance.
      * @param attitudeProvider provider for attitude computation
      */
@@ -88,6 +98,41 @@ public abstract class AbstractAnalyticalPropagator extends AbstractPropagator {
         lastPropagationEnd       = AbsoluteDate.FUTURE_INFINITY;
         statesInitialized        = false;
         eventsStates             = new ArrayList<EventState<?>>();
+        sharedEventsSampling     = false;
+    }
+
+    /** Set the events sampling mode.
+     * <p>
+     * By default, each event detector samples each propagation step independently,
+     * using its own grid depending on its {@link EventDetector#getMaxCheckInterval()
+     * max check interval} and on the date of its last event, and the state is
+     * computed again for each sampled date. When many detectors are used (for
+     * example one elevation detector per ground station), the same step is therefore
+     * propagated a large number of times at close but different dates.
+     * </p>
+     * <p>
+     * If shared sampling is enabled, one grid is built for each step, based on the
+     * smallest max check interval among all detectors, and each detector checks the
+     * subset of this grid it needs. The states are computed only once per date and
+     * cached for the duration of the step, so they are also reused during root
+     * finding and when all detectors are advanced to an event date.
+     * </p>
+     * @param sharedEventsSampling if true, events detectors share the same sampling grid
+     * and the computed states
+     * @see #isSharedEventsSampling()
+     * @since 9.0
+     */
+    public void setSharedEventsSampling(final boolean sharedEventsSampling) {
+        this.sharedEventsSampling = sharedEventsSampling;
+    }
+
+    /** Check if events detectors share the same sampling grid.
+     * @return true if events detectors share the same sampling grid and the computed states
+     * @see #setSharedEventsSampling(boolean)
+     * @since 9.0
+     */
+    public boolean isSharedEventsSampling() {
+        return sharedEventsSampling;
     }
 
     /** {@inheritDoc} */
@@ -162,7 +207,16 @@ public abstract class AbstractAnalyticalPropagator extends AbstractPropagator {
                     t = target;
                 }
                 final SpacecraftState current = updateAdditionalStates(basicPropagate(t));
-                final BasicStepInterpolator interpolator = new BasicStepInterpolator(dt >= 0, previous, current);
+                final Map<AbsoluteDate, SpacecraftState> cache;
+                if (sharedEventsSampling) {
+                    cache = new HashMap<AbsoluteDate, SpacecraftState>();
+                    cache.put(previous.getDate(), previous);
+                    cache.put(current.getDate(),  current);
+                } else {
+                    cache = null;
+                }
+                final BasicStepInterpolator interpolator =
+                                new BasicStepInterpolator(dt >= 0, previous, current, cache);
 
 
                 // accept the step, trigger events and step handlers
@@ -219,8 +273,23 @@ public abstract class AbstractAnalyticalPropagator extends AbstractPropagator {
             }
         });
 
+        final double gridStep;
+        if (sharedEventsSampling && !eventsStates.isEmpty()) {
+            // build a grid shared by all detectors
+            double minCheck = Double.POSITIVE_INFINITY;
+            for (final EventState<?> state : eventsStates) {
+                minCheck = FastMath.min(minCheck, state.getEventDetector().getMaxCheckInterval());
+            }
+            final double stepDuration = current.getDate().durationFrom(previous.getDate());
+            final int gridSize = FastMath.max(1, (int) FastMath.ceil(FastMath.abs(stepDuration) / minCheck));
+            gridStep = stepDuration / gridSize;
+        } else {
+            gridStep = Double.NaN;
+        }
+        final AbsoluteDate gridStart = previous.getDate();
+
         for (final EventState<?> state : eventsStates) {
-            if (state.evaluateStep(interpolator)) {
+            if (evaluateStep(state, interpolator, gridStart, gridStep)) {
                 // the event occurs during the current step
                 occurringEvents.add(state);
             }
@@ -263,7 +332,7 @@ public abstract class AbstractAnalyticalPropagator extends AbstractPropagator {
                     // this lets the user integrate to a STOP event and then restart
                     // integration from the same time.
                     eventState = interpolator.getInterpolatedState(occurrence.getStopDate());
-                    restricted = new BasicStepInterpolator(restricted.isForward(), previous, eventState);
+                    restricted = restricted.restrictStep(previous, eventState);
                 }
 
                 // handle the first part of the step, up to the event
@@ -289,10 +358,10 @@ public abstract class AbstractAnalyticalPropagator extends AbstractPropagator {
 
                 // prepare handling of the remaining part of the step
                 previous = eventState;
-                restricted         = new BasicStepInterpolator(restricted.isForward(), eventState, current);
+                restricted         = restricted.restrictStep(eventState, current);
 
                 // check if the same event occurs again in the remaining part of the step
-                if (currentEvent.evaluateStep(restricted)) {
+                if (evaluateStep(currentEvent, restricted, gridStart, gridStep)) {
                     // the event occurs during the current step
                     occurringEvents.add(currentEvent);
                 }
@@ -321,6 +390,22 @@ public abstract class AbstractAnalyticalPropagator extends AbstractPropagator {
 
     }
 
+    /** Evaluate the impact of the proposed step on an event detector.
+     * @param state event state to check
+     * @param interpolator step interpolator for the proposed step
+     * @param gridStart start date of the grid shared by all detectors
+     * @param gridStep step of the grid shared by all detectors (NaN if sampling is not shared)
+     * @return true if the event detector triggers an event before the end of the proposed step
+     * @exception OrekitException if the switching function cannot be evaluated
+     */
+    private boolean evaluateStep(final EventState<?> state, final OrekitStepInterpolator interpolator,
+                                 final AbsoluteDate gridStart, final double gridStep)
+        throws OrekitException {
+        return Double.isNaN(gridStep) || gridStep == 0.0 ?
+               state.evaluateStep(interpolator) :
+               state.evaluateStep(interpolator, gridStart, gridStep);
+    }
+
     /** Get the mass.
      * @param date target date for the orbit
      * @return mass mass
@@ -353,6 +438,111 @@ public abstract class AbstractAnalyticalPropagator extends AbstractPropagator {
     protected abstract Orbit propagateOrbit(AbsoluteDate date)
         throws OrekitException;
 
+    /** Propagate positions and velocities on a regular time grid, without any object creation.
+     * <p>
+     * This method is intended for generating dense ephemerides with large numbers
+     * of points. As {@link #basicPropagate(AbsoluteDate)}, it does <strong>not</strong>
+     * call any handler nor any discrete events, and it does not compute attitude or
+     * additional states. The positions and velocities are stored as three consecutive
+     * values x, y, z for each grid point, in the same order as the grid.
+     * </p>
+     * <p>
+     * Propagators that override {@link #basicPropagatePV(AbsoluteDate, double, double[])}
+     * do not create any object per point as long as the output frame is the
+     * {@link #getFrame() propagator frame}. If another output frame is used, one
+     * frame transform is computed for each point.
+     * </p>
+     * @param start first date of the grid
+     * @param step time step between grid points (s)
+     * @param count number of grid points
+     * @param frame output frame
+     * @param positions placeholder for positions (m), must have at least 3 × count elements
+     * @param velocities placeholder for velocities (m/s), must have at least 3 × count
+     * elements (may be null if velocities are not needed)
+     * @exception OrekitException if propagation cannot reach some grid point
+     * @since 9.0
+     */
+    public void propagatePV(final AbsoluteDate start, final double step, final int count,
+                            final Frame frame, final double[] positions, final double[] velocities)
+        throws OrekitException {
+
+        checkBufferSize(positions, count);
+        if (velocities != null) {
+            checkBufferSize(velocities, count);
+        }
+
+        final boolean sameFrame = frame == getFrame();
+        final double[] pv = new double[6];
+        for (int k = 0; k < count; ++k) {
+
+            final double dt = k * step;
+            basicPropagatePV(start, dt, pv);
+
+            final int i = 3 * k;
+            if (sameFrame) {
+                positions[i]     = pv[0];
+                positions[i + 1] = pv[1];
+                positions[i + 2] = pv[2];
+                if (velocities != null) {
+                    velocities[i]     = pv[3];
+                    velocities[i + 1] = pv[4];
+                    velocities[i + 2] = pv[5];
+                }
+            } else {
+                final Transform t = getFrame().getTransformTo(frame, start.shiftedBy(dt));
+                final PVCoordinates converted =
+                        t.transformPVCoordinates(new PVCoordinates(new Vector3D(pv[0], pv[1], pv[2]),
+                                                                   new Vector3D(pv[3], pv[4], pv[5])));
+                positions[i]     = converted.getPosition().getX();
+                positions[i + 1] = converted.getPosition().getY();
+                positions[i + 2] = converted.getPosition().getZ();
+                if (velocities != null) {
+                    velocities[i]     = converted.getVelocity().getX();
+                    velocities[i + 1] = converted.getVelocity().getY();
+                    velocities[i + 2] = converted.getVelocity().getZ();
+                }
+            }
+
+        }
+
+    }
+
+    /** Check a buffer size.
+     * @param buffer buffer to check
+     * @param count number of grid points
+     */
+    private void checkBufferSize(final double[] buffer, final int count) {
+        if (buffer.length < 3 * count) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                     buffer.length, 3 * count);
+        }
+    }
+
+    /** Propagate position and velocity without any fancy features.
+     * <p>
+     * This method is used by {@link #propagatePV(AbsoluteDate, double, int, Frame, double[], double[])}.
+     * The default implementation relies on {@link #propagateOrbit(AbsoluteDate)}, derived
+     * classes are encouraged to override it with an implementation that does not create
+     * any object.
+     * </p>
+     * @param reference reference date
+     * @param dt time offset with respect to reference date (s)
+     * @param pv placeholder for position (m) and velocity (m/s) in {@link #getFrame()
+     * propagator frame} at date reference + dt, as six values x, y, z, vx, vy, vz
+     * @exception OrekitException if propagation cannot reach specified date
+     * @since 9.0
+     */
+    protected void basicPropagatePV(final AbsoluteDate reference, final double dt, final double[] pv)
+        throws OrekitException {
+        final PVCoordinates coordinates = propagateOrbit(reference.shiftedBy(dt)).getPVCoordinates(getFrame());
+        pv[0] = coordinates.getPosition().getX();
+        pv[1] = coordinates.getPosition().getY();
+        pv[2] = coordinates.getPosition().getZ();
+        pv[3] = coordinates.getVelocity().getX();
+        pv[4] = coordinates.getVelocity().getY();
+        pv[5] = coordinates.getVelocity().getZ();
+    }
+
     /** Propagate an orbit without any fancy features.
      * <p>This method is similar in spirit to the {@link #propagate} method,
      * except that it does <strong>not</strong> call any handler during
@@ -541,17 +731,36 @@ public abstract class AbstractAnalyticalPropagator extends AbstractPropagator {
         /** Forward propagation indicator. */
         private final boolean forward;
 
+        /** Cache for interpolated states (null if states are not cached). */
+        private final Map<AbsoluteDate, SpacecraftState> cache;
+
         /** Simple constructor.
          * @param isForward integration direction indicator
          * @param previousState start of the step
          * @param currentState end of the step
+         * @param cache cache for interpolated states (null if states should not be cached)
          */
         BasicStepInterpolator(final boolean isForward,
                               final SpacecraftState previousState,
-                              final SpacecraftState currentState) {
+                              final SpacecraftState currentState,
+                              final Map<AbsoluteDate, SpacecraftState> cache) {
             this.forward             = isForward;
             this.previousState   = previousState;
             this.currentState    = currentState;
+            this.cache           = cache;
+        }
+
+        /** Create an interpolator restricted to a part of the step.
+         * <p>
+         * The restricted interpolator shares the cache of the instance.
+         * </p>
+         * @param newPreviousState start of the restricted step
+         * @param newCurrentState end of the restricted step
+         * @return restricted interpolator
+         */
+        BasicStepInterpolator restrictStep(final SpacecraftState newPreviousState,
+                                           final SpacecraftState newCurrentState) {
+            return new BasicStepInterpolator(forward, newPreviousState, newCurrentState, cache);
         }
 
         /** {@inheritDoc} */
@@ -580,6 +789,27 @@ public abstract class AbstractAnalyticalPropagator extends AbstractPropagator {
         public SpacecraftState getInterpolatedState(final AbsoluteDate date)
             throws OrekitException {
 
+            if (cache == null) {
+                return computeState(date);
+            }
+
+            SpacecraftState state = cache.get(date);
+            if (state == null) {
+                state = computeState(date);
+                cache.put(date, state);
+            }
+            return state;
+
+        }
+
+        /** Compute the state at some date.
+         * @param date date of the state
+         * @return state at date
+         * @exception OrekitException if state cannot be computed
+         */
+        private SpacecraftState computeState(final AbsoluteDate date)
+            throws OrekitException {
+
             // compute the basic spacecraft state
             final SpacecraftState basicState = basicPropagate(date);
 
@@ -0,0 +1,656 @@
+/* Copyright 2002-2016 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.analytical;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.util.FastMath;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.frames.Frame;
+import org.orekit.orbits.CartesianOrbit;
+import org.orekit.orbits.Orbit;
+import org.orekit.propagation.BoundedPropagator;
+import org.orekit.propagation.SpacecraftState;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.PVCoordinatesProvider;
+import org.orekit.utils.TimeStampedPVCoordinates;
+
+/** Bounded propagator based on piecewise Chebyshev polynomials.
+ * <p>
+ * This class compresses a trajectory into a sequence of segments, each one
+ * holding Chebyshev polynomials for the three position components, in the
+ * spirit of the JPL ephemerides or SPICE SPK types 2 and 3. Velocity and
+ * acceleration are obtained by differentiating the polynomials. The segments
+ * are built by {@link #fit(PVCoordinatesProvider, Frame, double, AbsoluteDate,
+ * AbsoluteDate, int, double, double) fitting} a reference trajectory (typically
+ * another {@link BoundedPropagator} like an {@link Ephemeris} or an
+ * integrated ephemeris), with adaptive lengths so the position error is below
+ * a user-specified tolerance at the check points of each segment (the extrema
+ * of the Chebyshev polynomial of the fitting degree, including the segment
+ * boundaries). The error between these check points is not verified, it is only
+ * expected to remain of the same order for smooth trajectories. Compared to
+ * tabulated ephemerides with Hermite interpolation, this requires much fewer
+ * data for the same accuracy.
+ * </p>
+ * <p>
+ * Ephemerides can be {@link #write(File) written} to binary files that
+ * can later be {@link #ChebyshevEphemeris(File, Frame) memory-mapped}, so
+ * large ephemerides do not use heap memory and the operating system shares
+ * their pages between all processes using them. The segment containing a
+ * date is found by a binary search, restricted by an index of evenly spaced
+ * buckets to the few segments overlapping the bucket of the date (so the
+ * search is O(log n) in the worst case and usually needs one or two comparisons),
+ * and {@link #getPositionVelocityAcceleration(AbsoluteDate, double[])}
+ * evaluates the polynomials without any allocation.
+ * </p>
+ * <p>
+ * The trajectory only contains the orbit, so the spacecraft mass is fixed to
+ * {@link #DEFAULT_MASS} and attitude is computed by the attitude provider
+ * configured in the propagator.
+ * </p>
+ * @author Luc Maisonobe
+ * @since 9.0
+ */
+public class ChebyshevEphemeris extends AbstractAnalyticalPropagator implements BoundedPropagator {
+
+    /** Magic number identifying the file format ("OCHE"). */
+    private static final int MAGIC = 0x4f434845;
+
+    /** File format version. */
+    private static final int VERSION = 1;
+
+    /** Header size in bytes. */
+    private static final int HEADER_SIZE = 48;
+
+    /** Maximum number of segment halvings when fitting. */
+    private static final int MAX_HALVINGS = 32;
+
+    /** Initial number of segments allocated when fitting. */
+    private static final int INITIAL_CAPACITY = 64;
+
+    /** Tolerance on dates outside of the ephemeris range (s). */
+    private static final double EXTRAPOLATION_TOLERANCE = 1.0e-3;
+
+    /** Reference frame. */
+    private final Frame frame;
+
+    /** Central attraction coefficient. */
+    private final double mu;
+
+    /** Start of the ephemeris. */
+    private final AbsoluteDate minDate;
+
+    /** End of the ephemeris. */
+    private final AbsoluteDate maxDate;
+
+    /** Degree of the Chebyshev polynomials. */
+    private final int degree;
+
+    /** Number of segments. */
+    private final int nbSegments;
+
+    /** Segments boundaries, as offsets from {@link #minDate} (nbSegments + 1 elements). */
+    private final DoubleBuffer boundaries;
+
+    /** Chebyshev coefficients, packed segment by segment and component by component. */
+    private final DoubleBuffer coefficients;
+
+    /** Maximum position error found when fitting. */
+    private final double fittingError;
+
+    /** Size of the index buckets. */
+    private final double bucketSize;
+
+    /** Index of the segment containing the start of each bucket (nbSegments + 1 elements). */
+    private final int[] buckets;
+
+    /** Build an ephemeris from a memory-mapped file.
+     * @param file ephemeris file, as written by {@link #write(File)}
+     * @param frame frame in which the ephemeris was fitted (it is not stored in the file)
+     * @exception OrekitException if file cannot be mapped or is not a Chebyshev ephemeris file
+     */
+    public ChebyshevEphemeris(final File file, final Frame frame)
+        throws OrekitException {
+
+        super(DEFAULT_LAW);
+
+        if (!file.exists()) {
+            throw new OrekitException(OrekitMessages.UNABLE_TO_FIND_FILE, file.getAbsolutePath());
+        }
+
+        final ByteBuffer buffer;
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r");
+             FileChannel channel = raf.getChannel()) {
+            // the mapping remains valid after the channel has been closed
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException ioe) {
+            throw new OrekitException(ioe, LocalizedCoreFormats.SIMPLE_MESSAGE, ioe.getLocalizedMessage());
+        }
+
+        try {
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                throw new OrekitException(OrekitMessages.NOT_A_CHEBYSHEV_EPHEMERIS_FILE, file.getAbsolutePath());
+            }
+            final int n = buffer.getInt(8);
+            final int s = buffer.getInt(12);
+            if (n < 1 || s < 1 ||
+                buffer.capacity() != HEADER_SIZE + 8L * (s + 1) + 24L * s * (n + 1)) {
+                throw new OrekitException(OrekitMessages.NOT_A_CHEBYSHEV_EPHEMERIS_FILE, file.getAbsolutePath());
+            }
+            this.frame        = frame;
+            this.degree       = n;
+            this.nbSegments   = s;
+            this.minDate      = AbsoluteDate.J2000_EPOCH.shiftedBy(buffer.getDouble(16)).shiftedBy(buffer.getDouble(24));
+            this.mu           = buffer.getDouble(32);
+            this.fittingError = buffer.getDouble(40);
+            buffer.position(HEADER_SIZE);
+            final DoubleBuffer data = buffer.slice().asDoubleBuffer();
+            data.limit(s + 1);
+            this.boundaries   = data.slice();
+            data.limit(data.capacity());
+            data.position(s + 1);
+            this.coefficients = data.slice();
+        } catch (IndexOutOfBoundsException | BufferUnderflowException e) {
+            throw new OrekitException(OrekitMessages.NOT_A_CHEBYSHEV_EPHEMERIS_FILE, file.getAbsolutePath());
+        }
+
+        this.maxDate    = minDate.shiftedBy(boundaries.get(nbSegments));
+        this.bucketSize = boundaries.get(nbSegments) / nbSegments;
+        this.buckets    = buildBuckets();
+
+    }
+
+    /** Build an ephemeris from in-memory data.
+     * @param frame reference frame
+     * @param mu central attraction coefficient (m³/s²)
+     * @param minDate start of the ephemeris
+     * @param degree degree of the Chebyshev polynomials
+     * @param nbSegments number of segments
+     * @param boundaries segments boundaries, as offsets from {@code minDate}
+     * @param coefficients Chebyshev coefficients, packed segment by segment and component by component
+     * @param fittingError maximum position error found when fitting
+     */
+    private ChebyshevEphemeris(final Frame frame, final double mu, final AbsoluteDate minDate,
+                               final int degree, final int nbSegments,
+                               final double[] boundaries, final double[] coefficients,
+                               final double fittingError) {
+        super(DEFAULT_LAW);
+        this.frame        = frame;
+        this.mu           = mu;
+        this.minDate      = minDate;
+        this.maxDate      = minDate.shiftedBy(boundaries[nbSegments]);
+        this.degree       = degree;
+        this.nbSegments   = nbSegments;
+        this.boundaries   = DoubleBuffer.wrap(boundaries, 0, nbSegments + 1).slice();
+        this.coefficients = DoubleBuffer.wrap(coefficients, 0, 3 * nbSegments * (degree + 1)).slice();
+        this.fittingError = fittingError;
+        this.bucketSize   = boundaries[nbSegments] / nbSegments;
+        this.buckets      = buildBuckets();
+    }
+
+    /** Fit an ephemeris to a reference trajectory.
+     * <p>
+     * Segments are built from start to end. Each segment is first attempted
+     * with the maximum duration (or twice the duration of the previous segment
+     * if it was shorter), and its duration is halved until the position error
+     * between the Chebyshev polynomials and the reference trajectory is below
+     * the tolerance. The error is checked at the extrema of the Chebyshev polynomial
+     * of the fitting degree, which lie between the fitting nodes and include the
+     * segment boundaries.
+     * </p>
+     * <p>
+     * As the reference trajectory is evaluated out of chronological order,
+     * it should preferably be a {@link BoundedPropagator} rather than a
+     * propagator that restarts from its initial state at each call.
+     * </p>
+     * @param reference reference trajectory
+     * @param frame frame in which the ephemeris should be fitted
+     * @param mu central attraction coefficient (m³/s²)
+     * @param start start of the ephemeris
+     * @param end end of the ephemeris
+     * @param degree degree of the Chebyshev polynomials (at least 2)
+     * @param maxDuration maximum segment duration (s)
+     * @param tolerance position tolerance (m)
+     * @return fitted ephemeris
+     * @exception OrekitIllegalArgumentException if degree is less than 2,
+     * end is not after start, or max duration or tolerance are not strictly positive
+     * @exception OrekitException if reference trajectory cannot be computed
+     * or tolerance cannot be reached even with very short segments
+     */
+    public static ChebyshevEphemeris fit(final PVCoordinatesProvider reference, final Frame frame,
+                                         final double mu, final AbsoluteDate start, final AbsoluteDate end,
+                                         final int degree, final double maxDuration, final double tolerance)
+        throws OrekitException {
+
+        if (degree < 2) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL, degree, 2);
+        }
+        final double total = end.durationFrom(start);
+        if (!(total > 0)) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED,
+                                                     total, 0);
+        }
+        if (!(maxDuration > 0)) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED,
+                                                     maxDuration, 0);
+        }
+        if (!(tolerance > 0)) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED,
+                                                     tolerance, 0);
+        }
+
+        // fitting nodes and validation points on [-1; 1]
+        final int      n          = degree + 1;
+        final double[] nodes      = new double[n];
+        final double[] validation = new double[n + 1];
+        for (int k = 0; k < n; ++k) {
+            nodes[k] = FastMath.cos(FastMath.PI * (k + 0.5) / n);
+        }
+        for (int k = 0; k <= n; ++k) {
+            validation[k] = FastMath.cos(FastMath.PI * k / n);
+        }
+        final double[][] cosines = new double[n][n];
+        for (int j = 0; j < n; ++j) {
+            for (int k = 0; k < n; ++k) {
+                cosines[j][k] = FastMath.cos(FastMath.PI * j * (k + 0.5) / n);
+            }
+        }
+
+        double[] segmentsBoundaries   = new double[INITIAL_CAPACITY + 1];
+        double[] segmentsCoefficients = new double[INITIAL_CAPACITY * 3 * n];
+        final double[] samples        = new double[3 * n];
+        final double[] segment        = new double[3 * n];
+        final DoubleBuffer segmentBuffer = DoubleBuffer.wrap(segment);
+        final double[] pva            = new double[9];
+
+        int    nbSegments = 0;
+        double maxError   = 0;
+        double t0         = 0;
+        double duration   = FastMath.min(maxDuration, total);
+        boolean last      = false;
+        while (!last) {
+
+            // try to fit a segment, halving it until tolerance is met
+            double error = Double.POSITIVE_INFINITY;
+            for (int halvings = 0; error > tolerance; ++halvings) {
+
+                if (halvings > MAX_HALVINGS) {
+                    throw new OrekitException(LocalizedCoreFormats.MAX_COUNT_EXCEEDED, MAX_HALVINGS);
+                }
+                if (halvings > 0) {
+                    duration *= 0.5;
+                }
+                last = duration >= total - t0;
+                if (last) {
+                    duration = total - t0;
+                }
+
+                // sample reference trajectory at fitting nodes
+                final double mid  = t0 + 0.5 * duration;
+                final double half = 0.5 * duration;
+                for (int k = 0; k < n; ++k) {
+                    final Vector3D p = reference.getPVCoordinates(start.shiftedBy(mid + half * nodes[k]), frame).getPosition();
+                    samples[3 * k]     = p.getX();
+                    samples[3 * k + 1] = p.getY();
+                    samples[3 * k + 2] = p.getZ();
+                }
+
+                // compute Chebyshev coefficients
+                for (int c = 0; c < 3; ++c) {
+                    for (int j = 0; j < n; ++j) {
+                        double sum = 0;
+                        for (int k = 0; k < n; ++k) {
+                            sum += samples[3 * k + c] * cosines[j][k];
+                        }
+                        segment[c * n + j] = (j == 0 ? 1.0 : 2.0) * sum / n;
+                    }
+                }
+
+                // check error at validation points
+                error = 0;
+                for (final double x : validation) {
+                    final Vector3D p = reference.getPVCoordinates(start.shiftedBy(mid + half * x), frame).getPosition();
+                    evaluate(segmentBuffer, 0, n, x, duration, pva);
+                    error = FastMath.max(error, Vector3D.distance(p, new Vector3D(pva[0], pva[1], pva[2])));
+                }
+
+            }
+
+            // store segment
+            if (nbSegments + 1 >= segmentsBoundaries.length) {
+                segmentsBoundaries   = Arrays.copyOf(segmentsBoundaries, 2 * nbSegments + 1);
+                segmentsCoefficients = Arrays.copyOf(segmentsCoefficients, 2 * nbSegments * 3 * n);
+            }
+            System.arraycopy(segment, 0, segmentsCoefficients, nbSegments * 3 * n, 3 * n);
+            t0 = last ? total : t0 + duration;
+            segmentsBoundaries[++nbSegments] = t0;
+            maxError = FastMath.max(maxError, error);
+
+            // attempt a longer segment next time
+            duration = FastMath.min(2 * duration, maxDuration);
+
+        }
+
+        return new ChebyshevEphemeris(frame, mu, splitDate(start), degree, nbSegments,
+                                      segmentsBoundaries, segmentsCoefficients, maxError);
+
+    }
+
+    /** Write the ephemeris to a binary file.
+     * <p>
+     * The file can be loaded back using the {@link #ChebyshevEphemeris(File, Frame)}
+     * constructor. The frame is not stored in the file.
+     * </p>
+     * @param file file to write
+     * @exception OrekitException if file cannot be written
+     */
+    public void write(final File file) throws OrekitException {
+        try (DataOutputStream out =
+                        new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            final double whole = FastMath.floor(minDate.durationFrom(AbsoluteDate.J2000_EPOCH));
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(degree);
+            out.writeInt(nbSegments);
+            out.writeDouble(whole);
+            out.writeDouble(minDate.durationFrom(AbsoluteDate.J2000_EPOCH.shiftedBy(whole)));
+            out.writeDouble(mu);
+            out.writeDouble(fittingError);
+            for (int i = 0; i < boundaries.capacity(); ++i) {
+                out.writeDouble(boundaries.get(i));
+            }
+            for (int i = 0; i < coefficients.capacity(); ++i) {
+                out.writeDouble(coefficients.get(i));
+            }
+        } catch (IOException ioe) {
+            throw new OrekitException(ioe, LocalizedCoreFormats.SIMPLE_MESSAGE, ioe.getLocalizedMessage());
+        }
+    }
+
+    /** Rebuild a date from its whole seconds and fractional offsets to J2000.
+     * <p>
+     * This is the way dates are read from files, so ephemerides fitted in memory
+     * and ephemerides read back from files produce identical results.
+     * </p>
+     * @param date date to rebuild
+     * @return rebuilt date
+     */
+    private static AbsoluteDate splitDate(final AbsoluteDate date) {
+        final double       whole   = FastMath.floor(date.durationFrom(AbsoluteDate.J2000_EPOCH));
+        final AbsoluteDate shifted = AbsoluteDate.J2000_EPOCH.shiftedBy(whole);
+        return shifted.shiftedBy(date.durationFrom(shifted));
+    }
+
+    /** Get the degree of the Chebyshev polynomials.
+     * @return degree of the Chebyshev polynomials
+     */
+    public int getDegree() {
+        return degree;
+    }
+
+    /** Get the number of segments.
+     * @return number of segments
+     */
+    public int getNumberOfSegments() {
+        return nbSegments;
+    }
+
+    /** Get the central attraction coefficient.
+     * @return central attraction coefficient (m³/s²)
+     */
+    public double getMu() {
+        return mu;
+    }
+
+    /** Get the maximum position error found when fitting.
+     * @return maximum position error found when fitting (m)
+     */
+    public double getFittingError() {
+        return fittingError;
+    }
+
+    /** {@inheritDoc} */
+    public AbsoluteDate getMinDate() {
+        return minDate;
+    }
+
+    /** {@inheritDoc} */
+    public AbsoluteDate getMaxDate() {
+        return maxDate;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Frame getFrame() {
+        return frame;
+    }
+
+    /** Get position, velocity and acceleration without any allocation.
+     * @param date date at which position, velocity and acceleration are desired
+     * @param pva placeholder where to put position (elements 0 to 2), velocity
+     * (elements 3 to 5) and acceleration (elements 6 to 8), in ephemeris frame
+     * @exception OrekitException if date is outside of ephemeris range
+     * (with a 1 millisecond tolerance to cope with rounding errors)
+     */
+    public void getPositionVelocityAcceleration(final AbsoluteDate date, final double[] pva)
+        throws OrekitException {
+
+        final double dt = date.durationFrom(minDate);
+        if (dt < -EXTRAPOLATION_TOLERANCE || dt > boundaries.get(nbSegments) + EXTRAPOLATION_TOLERANCE) {
+            throw new OrekitException(OrekitMessages.OUT_OF_RANGE_EPHEMERIDES_DATE,
+                                      date, minDate, maxDate);
+        }
+
+        final int    index = locate(dt);
+        final double t0    = boundaries.get(index);
+        final double t1    = boundaries.get(index + 1);
+        evaluate(coefficients, 3 * index * (degree + 1), degree + 1,
+                 (2 * dt - (t0 + t1)) / (t1 - t0), t1 - t0, pva);
+
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public TimeStampedPVCoordinates getPVCoordinates(final AbsoluteDate date, final Frame f)
+        throws OrekitException {
+        final double[] pva = new double[9];
+        getPositionVelocityAcceleration(date, pva);
+        final TimeStampedPVCoordinates pv =
+                        new TimeStampedPVCoordinates(date,
+                                                     new Vector3D(pva[0], pva[1], pva[2]),
+                                                     new Vector3D(pva[3], pva[4], pva[5]),
+                                                     new Vector3D(pva[6], pva[7], pva[8]));
+        return (f == frame) ? pv : frame.getTransformTo(f, date).transformPVCoordinates(pv);
+    }
+
+    /** {@inheritDoc} */
+    protected Orbit propagateOrbit(final AbsoluteDate date) throws OrekitException {
+        return new CartesianOrbit(getPVCoordinates(date, frame), frame, mu);
+    }
+
+    /** {@inheritDoc} */
+    protected double getMass(final AbsoluteDate date) {
+        return DEFAULT_MASS;
+    }
+
+    /** Try (and fail) to reset the initial state.
+     * <p>
+     * This method always throws an exception, as ephemerides cannot be reset.
+     * </p>
+     * @param state new initial state to consider
+     * @exception OrekitException always thrown as ephemerides cannot be reset
+     */
+    public void resetInitialState(final SpacecraftState state)
+        throws OrekitException {
+        throw new OrekitException(OrekitMessages.NON_RESETABLE_STATE);
+    }
+
+    /** {@inheritDoc} */
+    protected void resetIntermediateState(final SpacecraftState state, final boolean forward)
+        throws OrekitException {
+        throw new OrekitException(OrekitMessages.NON_RESETABLE_STATE);
+    }
+
+    /** {@inheritDoc} */
+    public SpacecraftState getInitialState() throws OrekitException {
+        return basicPropagate(getMinDate());
+    }
+
+    /** Build the index of segments.
+     * @return index of the segment containing the start of each bucket
+     */
+    private int[] buildBuckets() {
+        final int[] index = new int[nbSegments + 1];
+        int segment = 0;
+        for (int b = 0; b < nbSegments; ++b) {
+            final double t = b * bucketSize;
+            while (segment < nbSegments - 1 && boundaries.get(segment + 1) <= t) {
+                ++segment;
+            }
+            index[b] = segment;
+        }
+        index[nbSegments] = nbSegments - 1;
+        return index;
+    }
+
+    /** Locate the segment containing an offset.
+     * @param dt offset from {@link #getMinDate()}
+     * @return index of the segment containing the offset
+     */
+    private int locate(final double dt) {
+
+        // the bucket gives a narrow range of candidate segments
+        final int b = FastMath.min((int) (dt / bucketSize), nbSegments - 1);
+        int low  = buckets[b];
+        int high = buckets[b + 1];
+
+        // binary search within the range (typically one or two segments)
+        while (low < high) {
+            final int middle = (low + high + 1) / 2;
+            if (boundaries.get(middle) <= dt) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+
+        return low;
+
+    }
+
+    /** Evaluate position, velocity and acceleration from Chebyshev coefficients.
+     * @param data buffer containing the coefficients
+     * @param offset index of the first coefficient of the segment in the buffer
+     * @param n number of coefficients for each component
+     * @param t normalized time within the segment, in [-1; 1]
+     * @param duration segment duration
+     * @param pva placeholder where to put position, velocity and acceleration
+     */
+    private static void evaluate(final DoubleBuffer data, final int offset, final int n,
+                                 final double t, final double duration, final double[] pva) {
+
+        final double twoT = 2 * t;
+
+        // initialize Chebyshev polynomials recursion
+        double pKm1 = 1;
+        double pK   = t;
+        double xP   = data.get(offset);
+        double yP   = data.get(offset + n);
+        double zP   = data.get(offset + 2 * n);
+
+        // initialize Chebyshev polynomials derivatives recursion
+        double qKm1 = 0;
+        double qK   = 1;
+        double xV   = 0;
+        double yV   = 0;
+        double zV   = 0;
+
+        // initialize Chebyshev polynomials second derivatives recursion
+        double rKm1 = 0;
+        double rK   = 0;
+        double xA   = 0;
+        double yA   = 0;
+        double zA   = 0;
+
+        // combine polynomials by applying coefficients
+        for (int k = 1; k < n; ++k) {
+
+            final double xK = data.get(offset + k);
+            final double yK = data.get(offset + n + k);
+            final double zK = data.get(offset + 2 * n + k);
+
+            // consider last computed polynomials on position
+            xP += xK * pK;
+            yP += yK * pK;
+            zP += zK * pK;
+
+            // consider last computed polynomials on velocity
+            xV += xK * qK;
+            yV += yK * qK;
+            zV += zK * qK;
+
+            // consider last computed polynomials on acceleration
+            xA += xK * rK;
+            yA += yK * rK;
+            zA += zK * rK;
+
+            // compute next Chebyshev polynomial value
+            final double pKm2 = pKm1;
+            pKm1 = pK;
+            pK   = twoT * pKm1 - pKm2;
+
+            // compute next Chebyshev polynomial derivative
+            final double qKm2 = qKm1;
+            qKm1 = qK;
+            qK   = twoT * qKm1 + 2 * pKm1 - qKm2;
+
+            // compute next Chebyshev polynomial second derivative
+            final double rKm2 = rKm1;
+            rKm1 = rK;
+            rK   = twoT * rKm1 + 4 * qKm1 - rKm2;
+
+        }
+
+        final double vScale = 2 / duration;
+        final double aScale = vScale * vScale;
+        pva[0] = xP;
+        pva[1] = yP;
+        pva[2] = zP;
+        pva[3] = xV * vScale;
+        pva[4] = yV * vScale;
+        pva[5] = zV * vScale;
+        pva[6] = xA * aScale;
+        pva[7] = yA * aScale;
+        pva[8] = zA * aScale;
+
+    }
+
+}
@@ -22,8 +22,6 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.SortedSet;
 
-import org.hipparchus.analysis.differentiation.DerivativeStructure;
-import org.hipparchus.geometry.euclidean.threed.FieldVector3D;
 import org.hipparchus.geometry.euclidean.threed.Vector3D;
 import org.hipparchus.util.FastMath;
 import org.hipparchus.util.MathUtils;
@@ -91,6 +89,15 @@ public class EcksteinHechlerPropagator extends AbstractAnalyticalPropagator impl
     /** All models. */
     private transient TimeSpanMap<EHModel> models;
 
+    /** Indicator for a single model throughout the timeline. */
+    private transient boolean singleModel;
+
+    /** Buffer for osculating parameters and their derivatives. */
+    private final double[] parametersBuffer = new double[18];
+
+    /** Buffer for position, velocity and acceleration. */
+    private final double[] pvaBuffer = new double[9];
+
     /** Reference radius of the central body attraction model (m). */
     private double referenceRadius;
 
@@ -333,6 +340,7 @@ public class EcksteinHechlerPropagator extends AbstractAnalyticalPropagator impl
         this.initialModel = computeMeanParameters((CircularOrbit) OrbitType.CIRCULAR.convertType(state.getOrbit()),
                                                   state.getMass());
         this.models       = new TimeSpanMap<EHModel>(initialModel);
+        this.singleModel  = true;
     }
 
     /** {@inheritDoc} */
@@ -345,6 +353,7 @@ public class EcksteinHechlerPropagator extends AbstractAnalyticalPropagator impl
         } else {
             models.addValidBefore(newModel, state.getDate());
         }
+        singleModel = false;
     }
 
     /** Compute mean parameters according to the Eckstein-Hechler analytical model.
@@ -373,21 +382,22 @@ public class EcksteinHechlerPropagator extends AbstractAnalyticalPropagator impl
         final double thresholdE      = epsilon * (1 + current.mean.getE());
         final double thresholdAngles = epsilon * FastMath.PI;
 
+        final double[] parameters = new double[18];
         int i = 0;
         while (i++ < 100) {
 
             // recompute the osculating parameters from the current mean parameters
-            final DerivativeStructure[] parameters = current.propagateParameters(current.mean.getDate());
+            current.propagateParameters(0.0, parameters);
 
             // adapted parameters residuals
-            final double deltaA      = osculating.getA()          - parameters[0].getValue();
-            final double deltaEx     = osculating.getCircularEx() - parameters[1].getValue();
-            final double deltaEy     = osculating.getCircularEy() - parameters[2].getValue();
-            final double deltaI      = osculating.getI()          - parameters[3].getValue();
+            final double deltaA      = osculating.getA()          - parameters[0];
+            final double deltaEx     = osculating.getCircularEx() - parameters[3];
+            final double deltaEy     = osculating.getCircularEy() - parameters[6];
+            final double deltaI      = osculating.getI()          - parameters[9];
             final double deltaRAAN   = MathUtils.normalizeAngle(osculating.getRightAscensionOfAscendingNode() -
-                                                                parameters[4].getValue(),
+                                                                parameters[12],
                                                                 0.0);
-            final double deltaAlphaM = MathUtils.normalizeAngle(osculating.getAlphaM() - parameters[5].getValue(), 0.0);
+            final double deltaAlphaM = MathUtils.normalizeAngle(osculating.getAlphaM() - parameters[15], 0.0);
 
             // update mean parameters
             current = new EHModel(new CircularOrbit(current.mean.getA()          + deltaA,
@@ -422,11 +432,39 @@ public class EcksteinHechlerPropagator extends AbstractAnalyticalPropagator impl
         throws OrekitException {
         // compute Cartesian parameters, taking derivatives into account
         // to make sure velocity and acceleration are consistent
-        final EHModel current = models.get(date);
-        return new CartesianOrbit(toCartesian(date, current.propagateParameters(date)),
+        final EHModel current    = models.get(date);
+        final double[] parameters = new double[18];
+        final double[] pva        = new double[9];
+        current.propagateParameters(date.durationFrom(current.mean.getDate()), parameters);
+        toCartesian(parameters, pva);
+        return new CartesianOrbit(new TimeStampedPVCoordinates(date,
+                                                               new Vector3D(pva[0], pva[1], pva[2]),
+                                                               new Vector3D(pva[3], pva[4], pva[5]),
+                                                               new Vector3D(pva[6], pva[7], pva[8])),
                                   current.mean.getFrame(), mu);
     }
 
+    /** {@inheritDoc}
+     * <p>
+     * This implementation shares the model with {@link #propagateOrbit(AbsoluteDate)},
+     * but evaluates it directly into internal buffers. It does not create any object
+     * as long as the output frame is the mean orbit frame and no intermediate state
+     * has been reset.
+     * </p>
+     */
+    @Override
+    protected void basicPropagatePV(final AbsoluteDate reference, final double dt, final double[] pv)
+        throws OrekitException {
+        final EHModel current = singleModel ? initialModel : models.get(reference.shiftedBy(dt));
+        if (current.mean.getFrame() != getFrame()) {
+            super.basicPropagatePV(reference, dt, pv);
+        } else {
+            current.propagateParameters(reference.durationFrom(current.mean.getDate()) + dt, parametersBuffer);
+            toCartesian(parametersBuffer, pvaBuffer);
+            System.arraycopy(pvaBuffer, 0, pv, 0, 6);
+        }
+    }
+
     /** Local class for Eckstein-Hechler model, with fixed mean parameters. */
     private static class EHModel implements Serializable {
 
@@ -439,6 +477,9 @@ public class EcksteinHechlerPropagator extends AbstractAnalyticalPropagator impl
         /** Constant mass. */
         private final double mass;
 
+        /** Mean latitude argument of the mean orbit. */
+        private final double meanAlphaM;
+
         // CHECKSTYLE: stop JavadocVariable check
 
         // preprocessed values
@@ -511,6 +552,7 @@ public class EcksteinHechlerPropagator extends AbstractAnalyticalPropagator impl
 
             this.mean            = mean;
             this.mass            = mass;
+            this.meanAlphaM      = mean.getAlphaM();
 
             // preliminary processing
             double q = referenceRadius / mean.getA();
@@ -635,222 +677,433 @@ public class EcksteinHechlerPropagator extends AbstractAnalyticalPropagator impl
 
         }
 
-        /** Extrapolate an orbit up to a specific target date.
-         * @param date target date for the orbit
-         * @return propagated parameters
-         * @exception OrekitException if some parameters are out of bounds
+        /** Extrapolate osculating parameters up to a specific offset.
+         * <p>
+         * The parameters are stored as a, ex, ey, i, raan and alphaM, each
+         * one followed by its first and second time derivatives. No object
+         * is created. Derivatives are combined using the same sequence of
+         * operations as a {@code DerivativeStructure} with one free parameter
+         * at order 2, so results do not depend on the evaluation path.
+         * </p>
+         * @param dt time offset with respect to mean orbit date (s)
+         * @param parameters placeholder for the 18 propagated values
          */
-        public DerivativeStructure[] propagateParameters(final AbsoluteDate date)
-            throws OrekitException {
+        public void propagateParameters(final double dt, final double[] parameters) {
 
             // keplerian evolution
-            final DerivativeStructure dt =
-                    new DerivativeStructure(1, 2, 0, date.durationFrom(mean.getDate()));
-            final DerivativeStructure xnot = dt.multiply(xnotDot);
+            final double xnot = dt * xnotDot;
 
             // secular effects
 
             // eccentricity
-            final DerivativeStructure x   = xnot.multiply(rdpom + rdpomp);
-            final DerivativeStructure cx  = x.cos();
-            final DerivativeStructure sx  = x.sin();
-            final DerivativeStructure exm = cx.multiply(mean.getCircularEx()).
-                                            add(sx.multiply(eps2 - (1.0 - eps1) * mean.getCircularEy()));
-            final DerivativeStructure eym = sx.multiply((1.0 + eps1) * mean.getCircularEx()).
-                                            add(cx.multiply(mean.getCircularEy() - eps2)).
-                                            add(eps2);
+            final double w         = xnotDot * (rdpom + rdpomp);
+            final double x         = xnot * (rdpom + rdpomp);
+            final double cx        = FastMath.cos(x);
+            final double sx        = FastMath.sin(x);
+            final double cxDot     = -sx * w;
+            final double sxDot     =  cx * w;
+            final double cxDotDot  = -cx * w * w;
+            final double sxDotDot  = -sx * w * w;
+            final double fx        = eps2 - (1.0 - eps1) * mean.getCircularEy();
+            final double fy1       = (1.0 + eps1) * mean.getCircularEx();
+            final double fy2       = mean.getCircularEy() - eps2;
+            final double exm       = cx * mean.getCircularEx() + sx * fx;
+            final double exmDot    = cxDot * mean.getCircularEx() + sxDot * fx;
+            final double exmDotDot = cxDotDot * mean.getCircularEx() + sxDotDot * fx;
+            final double eym       = sx * fy1 + cx * fy2 + eps2;
+            final double eymDot    = sxDot * fy1 + cxDot * fy2;
+            final double eymDotDot = sxDotDot * fy1 + cxDotDot * fy2;
 
             // no secular effect on inclination
 
             // right ascension of ascending node
-            final DerivativeStructure omm =
-                    new DerivativeStructure(1, 2,
-                                            MathUtils.normalizeAngle(mean.getRightAscensionOfAscendingNode() + ommD * xnot.getValue(),
-                                                                     FastMath.PI),
-                                            ommD * xnotDot,
-                                            0.0);
+            final double omm    = MathUtils.normalizeAngle(mean.getRightAscensionOfAscendingNode() + ommD * xnot,
+                                                           FastMath.PI);
+            final double ommDot = ommD * xnotDot;
 
             // latitude argument
-            final DerivativeStructure xlm =
-                    new DerivativeStructure(1, 2,
-                                            MathUtils.normalizeAngle(mean.getAlphaM() + aMD * xnot.getValue(), FastMath.PI),
-                                            aMD * xnotDot,
-                                            0.0);
+            final double xlm    = MathUtils.normalizeAngle(meanAlphaM + aMD * xnot, FastMath.PI);
+            final double xlmDot = aMD * xnotDot;
 
             // periodical terms
-            final DerivativeStructure cl1 = xlm.cos();
-            final DerivativeStructure sl1 = xlm.sin();
-            final DerivativeStructure cl2 = cl1.multiply(cl1).subtract(sl1.multiply(sl1));
-            final DerivativeStructure sl2 = cl1.multiply(sl1).add(sl1.multiply(cl1));
-            final DerivativeStructure cl3 = cl2.multiply(cl1).subtract(sl2.multiply(sl1));
-            final DerivativeStructure sl3 = cl2.multiply(sl1).add(sl2.multiply(cl1));
-            final DerivativeStructure cl4 = cl3.multiply(cl1).subtract(sl3.multiply(sl1));
-            final DerivativeStructure sl4 = cl3.multiply(sl1).add(sl3.multiply(cl1));
-            final DerivativeStructure cl5 = cl4.multiply(cl1).subtract(sl4.multiply(sl1));
-            final DerivativeStructure sl5 = cl4.multiply(sl1).add(sl4.multiply(cl1));
-            final DerivativeStructure cl6 = cl5.multiply(cl1).subtract(sl5.multiply(sl1));
-
-            final DerivativeStructure qh  = eym.subtract(eps2).multiply(kh);
-            final DerivativeStructure ql  = exm.multiply(kl);
-
-            final DerivativeStructure exmCl1 = exm.multiply(cl1);
-            final DerivativeStructure exmSl1 = exm.multiply(sl1);
-            final DerivativeStructure eymCl1 = eym.multiply(cl1);
-            final DerivativeStructure eymSl1 = eym.multiply(sl1);
-            final DerivativeStructure exmCl2 = exm.multiply(cl2);
-            final DerivativeStructure exmSl2 = exm.multiply(sl2);
-            final DerivativeStructure eymCl2 = eym.multiply(cl2);
-            final DerivativeStructure eymSl2 = eym.multiply(sl2);
-            final DerivativeStructure exmCl3 = exm.multiply(cl3);
-            final DerivativeStructure exmSl3 = exm.multiply(sl3);
-            final DerivativeStructure eymCl3 = eym.multiply(cl3);
-            final DerivativeStructure eymSl3 = eym.multiply(sl3);
-            final DerivativeStructure exmCl4 = exm.multiply(cl4);
-            final DerivativeStructure exmSl4 = exm.multiply(sl4);
-            final DerivativeStructure eymCl4 = eym.multiply(cl4);
-            final DerivativeStructure eymSl4 = eym.multiply(sl4);
+            final double cl1       = FastMath.cos(xlm);
+            final double sl1       = FastMath.sin(xlm);
+            final double cl1Dot    = -sl1 * xlmDot;
+            final double sl1Dot    =  cl1 * xlmDot;
+            final double cl1DotDot = -cl1 * xlmDot * xlmDot;
+            final double sl1DotDot = -sl1 * xlmDot * xlmDot;
+            final double cl2       = cl1 * cl1 - sl1 * sl1;
+            final double cl2Dot    = productDot(cl1, cl1Dot, cl1, cl1Dot) - productDot(sl1, sl1Dot, sl1, sl1Dot);
+            final double cl2DotDot = productDotDot(cl1, cl1Dot, cl1DotDot, cl1, cl1Dot, cl1DotDot) -
+                                     productDotDot(sl1, sl1Dot, sl1DotDot, sl1, sl1Dot, sl1DotDot);
+            final double sl2       = cl1 * sl1 + sl1 * cl1;
+            final double sl2Dot    = productDot(cl1, cl1Dot, sl1, sl1Dot) + productDot(sl1, sl1Dot, cl1, cl1Dot);
+            final double sl2DotDot = productDotDot(cl1, cl1Dot, cl1DotDot, sl1, sl1Dot, sl1DotDot) +
+                                     productDotDot(sl1, sl1Dot, sl1DotDot, cl1, cl1Dot, cl1DotDot);
+            final double cl3       = cl2 * cl1 - sl2 * sl1;
+            final double cl3Dot    = productDot(cl2, cl2Dot, cl1, cl1Dot) - productDot(sl2, sl2Dot, sl1, sl1Dot);
+            final double cl3DotDot = productDotDot(cl2, cl2Dot, cl2DotDot, cl1, cl1Dot, cl1DotDot) -
+                                     productDotDot(sl2, sl2Dot, sl2DotDot, sl1, sl1Dot, sl1DotDot);
+            final double sl3       = cl2 * sl1 + sl2 * cl1;
+            final double sl3Dot    = productDot(cl2, cl2Dot, sl1, sl1Dot) + productDot(sl2, sl2Dot, cl1, cl1Dot);
+            final double sl3DotDot = productDotDot(cl2, cl2Dot, cl2DotDot, sl1, sl1Dot, sl1DotDot) +
+                                     productDotDot(sl2, sl2Dot, sl2DotDot, cl1, cl1Dot, cl1DotDot);
+            final double cl4       = cl3 * cl1 - sl3 * sl1;
+            final double cl4Dot    = productDot(cl3, cl3Dot, cl1, cl1Dot) - productDot(sl3, sl3Dot, sl1, sl1Dot);
+            final double cl4DotDot = productDotDot(cl3, cl3Dot, cl3DotDot, cl1, cl1Dot, cl1DotDot) -
+                                     productDotDot(sl3, sl3Dot, sl3DotDot, sl1, sl1Dot, sl1DotDot);
+            final double sl4       = cl3 * sl1 + sl3 * cl1;
+            final double sl4Dot    = productDot(cl3, cl3Dot, sl1, sl1Dot) + productDot(sl3, sl3Dot, cl1, cl1Dot);
+            final double sl4DotDot = productDotDot(cl3, cl3Dot, cl3DotDot, sl1, sl1Dot, sl1DotDot) +
+                                     productDotDot(sl3, sl3Dot, sl3DotDot, cl1, cl1Dot, cl1DotDot);
+            final double cl5       = cl4 * cl1 - sl4 * sl1;
+            final double cl5Dot    = productDot(cl4, cl4Dot, cl1, cl1Dot) - productDot(sl4, sl4Dot, sl1, sl1Dot);
+            final double cl5DotDot = productDotDot(cl4, cl4Dot, cl4DotDot, cl1, cl1Dot, cl1DotDot) -
+                                     productDotDot(sl4, sl4Dot, sl4DotDot, sl1, sl1Dot, sl1DotDot);
+            final double sl5       = cl4 * sl1 + sl4 * cl1;
+            final double sl5Dot    = productDot(cl4, cl4Dot, sl1, sl1Dot) + productDot(sl4, sl4Dot, cl1, cl1Dot);
+            final double sl5DotDot = productDotDot(cl4, cl4Dot, cl4DotDot, sl1, sl1Dot, sl1DotDot) +
+                                     productDotDot(sl4, sl4Dot, sl4DotDot, cl1, cl1Dot, cl1DotDot);
+            final double cl6       = cl5 * cl1 - sl5 * sl1;
+            final double cl6Dot    = productDot(cl5, cl5Dot, cl1, cl1Dot) - productDot(sl5, sl5Dot, sl1, sl1Dot);
+            final double cl6DotDot = productDotDot(cl5, cl5Dot, cl5DotDot, cl1, cl1Dot, cl1DotDot) -
+                                     productDotDot(sl5, sl5Dot, sl5DotDot, sl1, sl1Dot, sl1DotDot);
+
+            final double qh       = (eym - eps2) * kh;
+            final double qhDot    = eymDot * kh;
+            final double qhDotDot = eymDotDot * kh;
+            final double ql       = exm * kl;
+            final double qlDot    = exmDot * kl;
+            final double qlDotDot = exmDotDot * kl;
+
+            final double exmCl1       = exm * cl1;
+            final double exmCl1Dot    = productDot(exm, exmDot, cl1, cl1Dot);
+            final double exmCl1DotDot = productDotDot(exm, exmDot, exmDotDot, cl1, cl1Dot, cl1DotDot);
+            final double exmSl1       = exm * sl1;
+            final double exmSl1Dot    = productDot(exm, exmDot, sl1, sl1Dot);
+            final double exmSl1DotDot = productDotDot(exm, exmDot, exmDotDot, sl1, sl1Dot, sl1DotDot);
+            final double eymCl1       = eym * cl1;
+            final double eymCl1Dot    = productDot(eym, eymDot, cl1, cl1Dot);
+            final double eymCl1DotDot = productDotDot(eym, eymDot, eymDotDot, cl1, cl1Dot, cl1DotDot);
+            final double eymSl1       = eym * sl1;
+            final double eymSl1Dot    = productDot(eym, eymDot, sl1, sl1Dot);
+            final double eymSl1DotDot = productDotDot(eym, eymDot, eymDotDot, sl1, sl1Dot, sl1DotDot);
+            final double exmCl2       = exm * cl2;
+            final double exmCl2Dot    = productDot(exm, exmDot, cl2, cl2Dot);
+            final double exmCl2DotDot = productDotDot(exm, exmDot, exmDotDot, cl2, cl2Dot, cl2DotDot);
+            final double exmSl2       = exm * sl2;
+            final double exmSl2Dot    = productDot(exm, exmDot, sl2, sl2Dot);
+            final double exmSl2DotDot = productDotDot(exm, exmDot, exmDotDot, sl2, sl2Dot, sl2DotDot);
+            final double eymCl2       = eym * cl2;
+            final double eymCl2Dot    = productDot(eym, eymDot, cl2, cl2Dot);
+            final double eymCl2DotDot = productDotDot(eym, eymDot, eymDotDot, cl2, cl2Dot, cl2DotDot);
+            final double eymSl2       = eym * sl2;
+            final double eymSl2Dot    = productDot(eym, eymDot, sl2, sl2Dot);
+            final double eymSl2DotDot = productDotDot(eym, eymDot, eymDotDot, sl2, sl2Dot, sl2DotDot);
+            final double exmCl3       = exm * cl3;
+            final double exmCl3Dot    = productDot(exm, exmDot, cl3, cl3Dot);
+            final double exmCl3DotDot = productDotDot(exm, exmDot, exmDotDot, cl3, cl3Dot, cl3DotDot);
+            final double exmSl3       = exm * sl3;
+            final double exmSl3Dot    = productDot(exm, exmDot, sl3, sl3Dot);
+            final double exmSl3DotDot = productDotDot(exm, exmDot, exmDotDot, sl3, sl3Dot, sl3DotDot);
+            final double eymCl3       = eym * cl3;
+            final double eymCl3Dot    = productDot(eym, eymDot, cl3, cl3Dot);
+            final double eymCl3DotDot = productDotDot(eym, eymDot, eymDotDot, cl3, cl3Dot, cl3DotDot);
+            final double eymSl3       = eym * sl3;
+            final double eymSl3Dot    = productDot(eym, eymDot, sl3, sl3Dot);
+            final double eymSl3DotDot = productDotDot(eym, eymDot, eymDotDot, sl3, sl3Dot, sl3DotDot);
+            final double exmCl4       = exm * cl4;
+            final double exmCl4Dot    = productDot(exm, exmDot, cl4, cl4Dot);
+            final double exmCl4DotDot = productDotDot(exm, exmDot, exmDotDot, cl4, cl4Dot, cl4DotDot);
+            final double exmSl4       = exm * sl4;
+            final double exmSl4Dot    = productDot(exm, exmDot, sl4, sl4Dot);
+            final double exmSl4DotDot = productDotDot(exm, exmDot, exmDotDot, sl4, sl4Dot, sl4DotDot);
+            final double eymCl4       = eym * cl4;
+            final double eymCl4Dot    = productDot(eym, eymDot, cl4, cl4Dot);
+            final double eymCl4DotDot = productDotDot(eym, eymDot, eymDotDot, cl4, cl4Dot, cl4DotDot);
+            final double eymSl4       = eym * sl4;
+            final double eymSl4Dot    = productDot(eym, eymDot, sl4, sl4Dot);
+            final double eymSl4DotDot = productDotDot(eym, eymDot, eymDotDot, sl4, sl4Dot, sl4DotDot);
 
             // semi major axis
-            final DerivativeStructure rda = exmCl1.multiply(ax1).
-                                            add(eymSl1.multiply(ay1)).
-                                            add(sl1.multiply(as1)).
-                                            add(cl2.multiply(ac2)).
-                                            add(exmCl3.add(eymSl3).multiply(axy3)).
-                                            add(sl3.multiply(as3)).
-                                            add(cl4.multiply(ac4)).
-                                            add(sl5.multiply(as5)).
-                                            add(cl6.multiply(ac6));
+            final double rda       = exmCl1 * ax1 + eymSl1 * ay1 + sl1 * as1 + cl2 * ac2 +
+                                     (exmCl3 + eymSl3) * axy3 + sl3 * as3 + cl4 * ac4 +
+                                     sl5 * as5 + cl6 * ac6;
+            final double rdaDot    = exmCl1Dot * ax1 + eymSl1Dot * ay1 + sl1Dot * as1 + cl2Dot * ac2 +
+                                     (exmCl3Dot + eymSl3Dot) * axy3 + sl3Dot * as3 + cl4Dot * ac4 +
+                                     sl5Dot * as5 + cl6Dot * ac6;
+            final double rdaDotDot = exmCl1DotDot * ax1 + eymSl1DotDot * ay1 + sl1DotDot * as1 + cl2DotDot * ac2 +
+                                     (exmCl3DotDot + eymSl3DotDot) * axy3 + sl3DotDot * as3 + cl4DotDot * ac4 +
+                                     sl5DotDot * as5 + cl6DotDot * ac6;
 
             // eccentricity
-            final DerivativeStructure rdex = cl1.multiply(ex1).
-                                             add(exmCl2.multiply(exx2)).
-                                             add(eymSl2.multiply(exy2)).
-                                             add(cl3.multiply(ex3)).
-                                             add(exmCl4.add(eymSl4).multiply(ex4));
-            final DerivativeStructure rdey = sl1.multiply(ey1).
-                                             add(exmSl2.multiply(eyx2)).
-                                             add(eymCl2.multiply(eyy2)).
-                                             add(sl3.multiply(ey3)).
-                                             add(exmSl4.subtract(eymCl4).multiply(ey4));
+            final double rdex       = cl1 * ex1 + exmCl2 * exx2 + eymSl2 * exy2 + cl3 * ex3 +
+                                      (exmCl4 + eymSl4) * ex4;
+            final double rdexDot    = cl1Dot * ex1 + exmCl2Dot * exx2 + eymSl2Dot * exy2 + cl3Dot * ex3 +
+                                      (exmCl4Dot + eymSl4Dot) * ex4;
+            final double rdexDotDot = cl1DotDot * ex1 + exmCl2DotDot * exx2 + eymSl2DotDot * exy2 + cl3DotDot * ex3 +
+                                      (exmCl4DotDot + eymSl4DotDot) * ex4;
+            final double rdey       = sl1 * ey1 + exmSl2 * eyx2 + eymCl2 * eyy2 + sl3 * ey3 +
+                                      (exmSl4 - eymCl4) * ey4;
+            final double rdeyDot    = sl1Dot * ey1 + exmSl2Dot * eyx2 + eymCl2Dot * eyy2 + sl3Dot * ey3 +
+                                      (exmSl4Dot - eymCl4Dot) * ey4;
+            final double rdeyDotDot = sl1DotDot * ey1 + exmSl2DotDot * eyx2 + eymCl2DotDot * eyy2 + sl3DotDot * ey3 +
+                                      (exmSl4DotDot - eymCl4DotDot) * ey4;
 
             // ascending node
-            final DerivativeStructure rdom = exmSl1.multiply(rx1).
-                                             add(eymCl1.multiply(ry1)).
-                                             add(sl2.multiply(r2)).
-                                             add(eymCl3.subtract(exmSl3).multiply(r3)).
-                                             add(ql.multiply(rl));
+            final double rdom       = exmSl1 * rx1 + eymCl1 * ry1 + sl2 * r2 +
+                                      (eymCl3 - exmSl3) * r3 + ql * rl;
+            final double rdomDot    = exmSl1Dot * rx1 + eymCl1Dot * ry1 + sl2Dot * r2 +
+                                      (eymCl3Dot - exmSl3Dot) * r3 + qlDot * rl;
+            final double rdomDotDot = exmSl1DotDot * rx1 + eymCl1DotDot * ry1 + sl2DotDot * r2 +
+                                      (eymCl3DotDot - exmSl3DotDot) * r3 + qlDotDot * rl;
 
             // inclination
-            final DerivativeStructure rdxi = eymSl1.multiply(iy1).
-                                             add(exmCl1.multiply(ix1)).
-                                             add(cl2.multiply(i2)).
-                                             add(exmCl3.add(eymSl3).multiply(i3)).
-                                             add(qh.multiply(ih));
+            final double rdxi       = eymSl1 * iy1 + exmCl1 * ix1 + cl2 * i2 +
+                                      (exmCl3 + eymSl3) * i3 + qh * ih;
+            final double rdxiDot    = eymSl1Dot * iy1 + exmCl1Dot * ix1 + cl2Dot * i2 +
+                                      (exmCl3Dot + eymSl3Dot) * i3 + qhDot * ih;
+            final double rdxiDotDot = eymSl1DotDot * iy1 + exmCl1DotDot * ix1 + cl2DotDot * i2 +
+                                      (exmCl3DotDot + eymSl3DotDot) * i3 + qhDotDot * ih;
 
             // latitude argument
-            final DerivativeStructure rdxl = exmSl1.multiply(lx1).
-                                             add(eymCl1.multiply(ly1)).
-                                             add(sl2.multiply(l2)).
-                                             add(exmSl3.subtract(eymCl3).multiply(l3)).
-                                             add(ql.multiply(ll));
+            final double rdxl       = exmSl1 * lx1 + eymCl1 * ly1 + sl2 * l2 +
+                                      (exmSl3 - eymCl3) * l3 + ql * ll;
+            final double rdxlDot    = exmSl1Dot * lx1 + eymCl1Dot * ly1 + sl2Dot * l2 +
+                                      (exmSl3Dot - eymCl3Dot) * l3 + qlDot * ll;
+            final double rdxlDotDot = exmSl1DotDot * lx1 + eymCl1DotDot * ly1 + sl2DotDot * l2 +
+                                      (exmSl3DotDot - eymCl3DotDot) * l3 + qlDotDot * ll;
 
             // osculating parameters
-            return new DerivativeStructure[] {
-                rda.add(1.0).multiply(mean.getA()),
-                rdex.add(exm),
-                rdey.add(eym),
-                rdxi.add(xim),
-                rdom.add(omm),
-                rdxl.add(xlm)
-            };
+            parameters[ 0] = (rda + 1.0) * mean.getA();
+            parameters[ 1] = rdaDot * mean.getA();
+            parameters[ 2] = rdaDotDot * mean.getA();
+            parameters[ 3] = rdex + exm;
+            parameters[ 4] = rdexDot + exmDot;
+            parameters[ 5] = rdexDotDot + exmDotDot;
+            parameters[ 6] = rdey + eym;
+            parameters[ 7] = rdeyDot + eymDot;
+            parameters[ 8] = rdeyDotDot + eymDotDot;
+            parameters[ 9] = rdxi + xim;
+            parameters[10] = rdxiDot;
+            parameters[11] = rdxiDotDot;
+            parameters[12] = rdom + omm;
+            parameters[13] = rdomDot + ommDot;
+            parameters[14] = rdomDotDot;
+            parameters[15] = rdxl + xlm;
+            parameters[16] = rdxlDot + xlmDot;
+            parameters[17] = rdxlDotDot;
 
         }
 
     }
 
     /** Convert circular parameters <em>with derivatives</em> to Cartesian coordinates.
-     * @param date date of the orbital parameters
-     * @param parameters circular parameters (a, ex, ey, i, raan, alphaM)
-     * @return Cartesian coordinates consistent with values and derivatives
+     * <p>
+     * No object is created. As in {@link EHModel#propagateParameters(double, double[])},
+     * derivatives are combined using the same sequence of operations as a
+     * {@code DerivativeStructure} with one free parameter at order 2.
+     * </p>
+     * @param parameters circular parameters (a, ex, ey, i, raan, alphaM), each
+     * one followed by its first and second time derivatives
+     * @param pva placeholder for position (m), velocity (m/s) and acceleration (m/s²),
+     * consistent with parameters values and derivatives
      */
-    private TimeStampedPVCoordinates toCartesian(final AbsoluteDate date, final DerivativeStructure[] parameters) {
-
-        // evaluate coordinates in the orbit canonical reference frame
-        final DerivativeStructure cosOmega = parameters[4].cos();
-        final DerivativeStructure sinOmega = parameters[4].sin();
-        final DerivativeStructure cosI     = parameters[3].cos();
-        final DerivativeStructure sinI     = parameters[3].sin();
-        final DerivativeStructure alphaE   = meanToEccentric(parameters[5], parameters[1], parameters[2]);
-        final DerivativeStructure cosAE    = alphaE.cos();
-        final DerivativeStructure sinAE    = alphaE.sin();
-        final DerivativeStructure ex2      = parameters[1].multiply(parameters[1]);
-        final DerivativeStructure ey2      = parameters[2].multiply(parameters[2]);
-        final DerivativeStructure exy      = parameters[1].multiply(parameters[2]);
-        final DerivativeStructure q        = ex2.add(ey2).subtract(1).negate().sqrt();
-        final DerivativeStructure beta     = q.add(1).reciprocal();
-        final DerivativeStructure bx2      = beta.multiply(ex2);
-        final DerivativeStructure by2      = beta.multiply(ey2);
-        final DerivativeStructure bxy      = beta.multiply(exy);
-        final DerivativeStructure u        = bxy.multiply(sinAE).subtract(parameters[1].add(by2.subtract(1).multiply(cosAE)));
-        final DerivativeStructure v        = bxy.multiply(cosAE).subtract(parameters[2].add(bx2.subtract(1).multiply(sinAE)));
-        final DerivativeStructure x        = parameters[0].multiply(u);
-        final DerivativeStructure y        = parameters[0].multiply(v);
+    private static void toCartesian(final double[] parameters, final double[] pva) {
+
+        final double a            = parameters[ 0];
+        final double aDot         = parameters[ 1];
+        final double aDotDot      = parameters[ 2];
+        final double ex           = parameters[ 3];
+        final double exDot        = parameters[ 4];
+        final double exDotDot     = parameters[ 5];
+        final double ey           = parameters[ 6];
+        final double eyDot        = parameters[ 7];
+        final double eyDotDot     = parameters[ 8];
+        final double iDot         = parameters[10];
+        final double iDotDot      = parameters[11];
+        final double raanDot      = parameters[13];
+        final double raanDotDot   = parameters[14];
+        final double alphaM       = parameters[15];
+        final double alphaMDot    = parameters[16];
+        final double alphaMDotDot = parameters[17];
+
+        // eccentric latitude argument, from the generalization of Kepler equation
+        // to circular parameters, with alphaE = PA + E and
+        //      alphaM = PA + M = alphaE - ex.sin(alphaE) + ey.cos(alphaE)
+        // the iterations are performed on values and derivatives simultaneously
+        double alphaE              = alphaM;
+        double alphaEDot           = alphaMDot;
+        double alphaEDotDot        = alphaMDotDot;
+        double alphaEMalphaM       = 0.0;
+        double alphaEMalphaMDot    = 0.0;
+        double alphaEMalphaMDotDot = 0.0;
+        double cosAE               = FastMath.cos(alphaE);
+        double sinAE               = FastMath.sin(alphaE);
+        double cosAEDot            = -sinAE * alphaEDot;
+        double sinAEDot            =  cosAE * alphaEDot;
+        double cosAEDotDot         = -cosAE * alphaEDot * alphaEDot - sinAE * alphaEDotDot;
+        double sinAEDotDot         = -sinAE * alphaEDot * alphaEDot + cosAE * alphaEDotDot;
+        double shift               = 0.0;
+        int    iter                = 0;
+        do {
+            final double f2       = ex * sinAE - ey * cosAE;
+            final double f2Dot    = productDot(ex, exDot, sinAE, sinAEDot) -
+                                    productDot(ey, eyDot, cosAE, cosAEDot);
+            final double f2DotDot = productDotDot(ex, exDot, exDotDot, sinAE, sinAEDot, sinAEDotDot) -
+                                    productDotDot(ey, eyDot, eyDotDot, cosAE, cosAEDot, cosAEDotDot);
+            final double f1       = 1.0 - ex * cosAE - ey * sinAE;
+            final double f1Dot    = -productDot(ex, exDot, cosAE, cosAEDot) -
+                                    productDot(ey, eyDot, sinAE, sinAEDot);
+            final double f1DotDot = -productDotDot(ex, exDot, exDotDot, cosAE, cosAEDot, cosAEDotDot) -
+                                    productDotDot(ey, eyDot, eyDotDot, sinAE, sinAEDot, sinAEDotDot);
+            final double f0       = alphaEMalphaM - f2;
+            final double f0Dot    = alphaEMalphaMDot - f2Dot;
+            final double f0DotDot = alphaEMalphaMDotDot - f2DotDot;
+
+            final double f12       = f1 * 2;
+            final double f12Dot    = f1Dot * 2;
+            final double f12DotDot = f1DotDot * 2;
+
+            // shift = f0 f12 / (f1 f12 - f0 f2), the division being a multiplication by the reciprocal
+            final double num       = f0 * f12;
+            final double numDot    = productDot(f0, f0Dot, f12, f12Dot);
+            final double numDotDot = productDotDot(f0, f0Dot, f0DotDot, f12, f12Dot, f12DotDot);
+            final double den       = f1 * f12 - f0 * f2;
+            final double denDot    = productDot(f1, f1Dot, f12, f12Dot) - productDot(f0, f0Dot, f2, f2Dot);
+            final double denDotDot = productDotDot(f1, f1Dot, f1DotDot, f12, f12Dot, f12DotDot) -
+                                     productDotDot(f0, f0Dot, f0DotDot, f2, f2Dot, f2DotDot);
+            final double inv       = 1.0 / den;
+            final double invDot    = -(inv * inv) * denDot;
+            final double invDotDot = 2 * inv * inv * inv * denDot * denDot - inv * inv * denDotDot;
+            shift                     = num * inv;
+            final double shiftDot     = productDot(num, numDot, inv, invDot);
+            final double shiftDotDot  = productDotDot(num, numDot, numDotDot, inv, invDot, invDotDot);
+
+            alphaEMalphaM       -= shift;
+            alphaEMalphaMDot    -= shiftDot;
+            alphaEMalphaMDotDot -= shiftDotDot;
+            alphaE               = alphaM       + alphaEMalphaM;
+            alphaEDot            = alphaMDot    + alphaEMalphaMDot;
+            alphaEDotDot         = alphaMDotDot + alphaEMalphaMDotDot;
+            cosAE                = FastMath.cos(alphaE);
+            sinAE                = FastMath.sin(alphaE);
+            cosAEDot             = -sinAE * alphaEDot;
+            sinAEDot             =  cosAE * alphaEDot;
+            cosAEDotDot          = -cosAE * alphaEDot * alphaEDot - sinAE * alphaEDotDot;
+            sinAEDotDot          = -sinAE * alphaEDot * alphaEDot + cosAE * alphaEDotDot;
+
+        } while ((++iter < 50) && (FastMath.abs(shift) > 1.0e-12));
+
+        // orbital plane orientation
+        final double cosI           = FastMath.cos(parameters[9]);
+        final double sinI           = FastMath.sin(parameters[9]);
+        final double sinIDot        =  cosI * iDot;
+        final double cosIDot        = -sinI * iDot;
+        final double cosIDotDot     = -cosI * iDot * iDot - sinI * iDotDot;
+        final double sinIDotDot     = -sinI * iDot * iDot + cosI * iDotDot;
+        final double cosOmega       = FastMath.cos(parameters[12]);
+        final double sinOmega       = FastMath.sin(parameters[12]);
+        final double cosOmegaDot    = -sinOmega * raanDot;
+        final double sinOmegaDot    =  cosOmega * raanDot;
+        final double cosOmegaDotDot = -cosOmega * raanDot * raanDot - sinOmega * raanDotDot;
+        final double sinOmegaDotDot = -sinOmega * raanDot * raanDot + cosOmega * raanDotDot;
+
+        // eccentricity-related intermediate parameters
+        final double ex2        = ex * ex;
+        final double ex2Dot     = productDot(ex, exDot, ex, exDot);
+        final double ex2DotDot  = productDotDot(ex, exDot, exDotDot, ex, exDot, exDotDot);
+        final double ey2        = ey * ey;
+        final double ey2Dot     = productDot(ey, eyDot, ey, eyDot);
+        final double ey2DotDot  = productDotDot(ey, eyDot, eyDotDot, ey, eyDot, eyDotDot);
+        final double exy        = ex * ey;
+        final double exyDot     = productDot(ex, exDot, ey, eyDot);
+        final double exyDotDot  = productDotDot(ex, exDot, exDotDot, ey, eyDot, eyDotDot);
+        final double z          = 1.0 - (ex2 + ey2);
+        final double zDot       = -(ex2Dot + ey2Dot);
+        final double zDotDot    = -(ex2DotDot + ey2DotDot);
+        final double q          = FastMath.sqrt(z);
+        final double sqrtDot    = 0.5 / q;
+        final double sqrtDotDot = sqrtDot * (1.0 / z * -0.5);
+        final double qDot       = sqrtDot * zDot;
+        final double qDotDot    = sqrtDotDot * zDot * zDot + sqrtDot * zDotDot;
+        final double beta       = 1.0 / (q + 1.0);
+        final double betaDot    = -(beta * beta) * qDot;
+        final double betaDotDot = 2 * beta * beta * beta * qDot * qDot - beta * beta * qDotDot;
+        final double bx2        = beta * ex2;
+        final double bx2Dot     = productDot(beta, betaDot, ex2, ex2Dot);
+        final double bx2DotDot  = productDotDot(beta, betaDot, betaDotDot, ex2, ex2Dot, ex2DotDot);
+        final double by2        = beta * ey2;
+        final double by2Dot     = productDot(beta, betaDot, ey2, ey2Dot);
+        final double by2DotDot  = productDotDot(beta, betaDot, betaDotDot, ey2, ey2Dot, ey2DotDot);
+        final double bxy        = beta * exy;
+        final double bxyDot     = productDot(beta, betaDot, exy, exyDot);
+        final double bxyDotDot  = productDotDot(beta, betaDot, betaDotDot, exy, exyDot, exyDotDot);
+
+        // coordinates in the orbital plane
+        final double u       = bxy * sinAE - (ex + (by2 - 1) * cosAE);
+        final double uDot    = productDot(bxy, bxyDot, sinAE, sinAEDot) -
+                               (exDot + productDot(by2 - 1, by2Dot, cosAE, cosAEDot));
+        final double uDotDot = productDotDot(bxy, bxyDot, bxyDotDot, sinAE, sinAEDot, sinAEDotDot) -
+                               (exDotDot + productDotDot(by2 - 1, by2Dot, by2DotDot, cosAE, cosAEDot, cosAEDotDot));
+        final double v       = bxy * cosAE - (ey + (bx2 - 1) * sinAE);
+        final double vDot    = productDot(bxy, bxyDot, cosAE, cosAEDot) -
+                               (eyDot + productDot(bx2 - 1, bx2Dot, sinAE, sinAEDot));
+        final double vDotDot = productDotDot(bxy, bxyDot, bxyDotDot, cosAE, cosAEDot, cosAEDotDot) -
+                               (eyDotDot + productDotDot(bx2 - 1, bx2Dot, bx2DotDot, sinAE, sinAEDot, sinAEDotDot));
+        final double x       = a * u;
+        final double xDot    = productDot(a, aDot, u, uDot);
+        final double xDotDot = productDotDot(a, aDot, aDotDot, u, uDot, uDotDot);
+        final double y       = a * v;
+        final double yDot    = productDot(a, aDot, v, vDot);
+        final double yDotDot = productDotDot(a, aDot, aDotDot, v, vDot, vDotDot);
 
         // canonical orbit reference frame
-        final FieldVector3D<DerivativeStructure> p =
-                new FieldVector3D<DerivativeStructure>(x.multiply(cosOmega).subtract(y.multiply(cosI.multiply(sinOmega))),
-                                                       x.multiply(sinOmega).add(y.multiply(cosI.multiply(cosOmega))),
-                                                       y.multiply(sinI));
-
-        // dispatch derivatives
-        final Vector3D p0 = new Vector3D(p.getX().getValue(),
-                                         p.getY().getValue(),
-                                         p.getZ().getValue());
-        final Vector3D p1 = new Vector3D(p.getX().getPartialDerivative(1),
-                                         p.getY().getPartialDerivative(1),
-                                         p.getZ().getPartialDerivative(1));
-        final Vector3D p2 = new Vector3D(p.getX().getPartialDerivative(2),
-                                         p.getY().getPartialDerivative(2),
-                                         p.getZ().getPartialDerivative(2));
-        return new TimeStampedPVCoordinates(date, p0, p1, p2);
+        final double cosISinOmega       = cosI * sinOmega;
+        final double cosISinOmegaDot    = productDot(cosI, cosIDot, sinOmega, sinOmegaDot);
+        final double cosISinOmegaDotDot = productDotDot(cosI, cosIDot, cosIDotDot, sinOmega, sinOmegaDot, sinOmegaDotDot);
+        final double cosICosOmega       = cosI * cosOmega;
+        final double cosICosOmegaDot    = productDot(cosI, cosIDot, cosOmega, cosOmegaDot);
+        final double cosICosOmegaDotDot = productDotDot(cosI, cosIDot, cosIDotDot, cosOmega, cosOmegaDot, cosOmegaDotDot);
+
+        pva[0] = x * cosOmega - y * cosISinOmega;
+        pva[1] = x * sinOmega + y * cosICosOmega;
+        pva[2] = y * sinI;
+        pva[3] = productDot(x, xDot, cosOmega, cosOmegaDot) - productDot(y, yDot, cosISinOmega, cosISinOmegaDot);
+        pva[4] = productDot(x, xDot, sinOmega, sinOmegaDot) + productDot(y, yDot, cosICosOmega, cosICosOmegaDot);
+        pva[5] = productDot(y, yDot, sinI, sinIDot);
+        pva[6] = productDotDot(x, xDot, xDotDot, cosOmega, cosOmegaDot, cosOmegaDotDot) -
+                 productDotDot(y, yDot, yDotDot, cosISinOmega, cosISinOmegaDot, cosISinOmegaDotDot);
+        pva[7] = productDotDot(x, xDot, xDotDot, sinOmega, sinOmegaDot, sinOmegaDotDot) +
+                 productDotDot(y, yDot, yDotDot, cosICosOmega, cosICosOmegaDot, cosICosOmegaDotDot);
+        pva[8] = productDotDot(y, yDot, yDotDot, sinI, sinIDot, sinIDotDot);
 
     }
 
-    /** Computes the eccentric latitude argument from the mean latitude argument.
-     * @param alphaM = M + Ω mean latitude argument (rad)
-     * @param ex e cos(Ω), first component of circular eccentricity vector
-     * @param ey e sin(Ω), second component of circular eccentricity vector
-     * @return the eccentric latitude argument.
+    /** Compute the first time derivative of a product f × g.
+     * @param f value of the left factor
+     * @param fDot first time derivative of the left factor
+     * @param g value of the right factor
+     * @param gDot first time derivative of the right factor
+     * @return first time derivative of f × g
      */
-    private DerivativeStructure meanToEccentric(final DerivativeStructure alphaM,
-                                                final DerivativeStructure ex,
-                                                final DerivativeStructure ey) {
-        // Generalization of Kepler equation to circular parameters
-        // with alphaE = PA + E and
-        //      alphaM = PA + M = alphaE - ex.sin(alphaE) + ey.cos(alphaE)
-        DerivativeStructure alphaE        = alphaM;
-        DerivativeStructure shift         = alphaM.getField().getZero();
-        DerivativeStructure alphaEMalphaM = alphaM.getField().getZero();
-        DerivativeStructure cosAlphaE     = alphaE.cos();
-        DerivativeStructure sinAlphaE     = alphaE.sin();
-        int                 iter          = 0;
-        do {
-            final DerivativeStructure f2 = ex.multiply(sinAlphaE).subtract(ey.multiply(cosAlphaE));
-            final DerivativeStructure f1 = alphaM.getField().getOne().subtract(ex.multiply(cosAlphaE)).subtract(ey.multiply(sinAlphaE));
-            final DerivativeStructure f0 = alphaEMalphaM.subtract(f2);
-
-            final DerivativeStructure f12 = f1.multiply(2);
-            shift = f0.multiply(f12).divide(f1.multiply(f12).subtract(f0.multiply(f2)));
-
-            alphaEMalphaM  = alphaEMalphaM.subtract(shift);
-            alphaE         = alphaM.add(alphaEMalphaM);
-            cosAlphaE      = alphaE.cos();
-            sinAlphaE      = alphaE.sin();
-
-        } while ((++iter < 50) && (FastMath.abs(shift.getValue()) > 1.0e-12));
-
-        return alphaE;
+    private static double productDot(final double f, final double fDot,
+                                     final double g, final double gDot) {
+        return f * gDot + fDot * g;
+    }
 
+    /** Compute the second time derivative of a product f × g.
+     * @param f value of the left factor
+     * @param fDot first time derivative of the left factor
+     * @param fDotDot second time derivative of the left factor
+     * @param g value of the right factor
+     * @param gDot first time derivative of the right factor
+     * @param gDotDot second time derivative of the right factor
+     * @return second time derivative of f × g
+     */
+    private static double productDotDot(final double f, final double fDot, final double fDotDot,
+                                        final double g, final double gDot, final double gDotDot) {
+        return f * gDotDot + 2 * fDot * gDot + fDotDot * g;
     }
 
     /** {@inheritDoc} */
@@ -22,6 +22,7 @@ import java.util.Set;
 
 import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
 import org.hipparchus.util.FastMath;
 import org.orekit.attitudes.Attitude;
 import org.orekit.attitudes.AttitudeProvider;
@@ -29,6 +30,7 @@ import org.orekit.errors.OrekitException;
 import org.orekit.errors.OrekitInternalError;
 import org.orekit.errors.OrekitMessages;
 import org.orekit.frames.Frame;
+import org.orekit.orbits.CartesianOrbit;
 import org.orekit.orbits.Orbit;
 import org.orekit.propagation.BoundedPropagator;
 import org.orekit.propagation.SpacecraftState;
@@ -40,6 +42,17 @@ import org.orekit.utils.TimeStampedPVCoordinates;
 /** This class is designed to accept and handle tabulated orbital entries.
  * Tabulated entries are classified and then extrapolated in way to obtain
  * continuous output, with accuracy and computation methods configured by the user.
+ * <p>
+ * When all entries are {@link CartesianOrbit Cartesian orbits} sampled with a constant
+ * step (as is the case for most ephemerides files), {@link
+ * #getPositionVelocityAcceleration(AbsoluteDate, double[])} uses a fast path: the
+ * neighboring entries are found by index arithmetic and the Hermite interpolation
+ * polynomial is built and evaluated in Newton form from positions, velocities and
+ * accelerations stored in primitive arrays. This gives the same results as the
+ * general interpolation up to rounding errors, without creating any intermediate
+ * objects. As this fast path bypasses {@link #propagate(AbsoluteDate)}, it does not
+ * trigger events detectors and step handlers.
+ * </p>
  *
  * @author Fabien Maussion
  * @author V&eacute;ronique Pommier-Maurussane
@@ -50,6 +63,9 @@ public class Ephemeris extends AbstractAnalyticalPropagator implements BoundedPr
     /** Serializable UID. */
     private static final long serialVersionUID = 20151022L;
 
+    /** Tolerance on sampling dates for considering the grid is uniform (s). */
+    private static final double UNIFORM_TOLERANCE = 1.0e-9;
+
      /** First date in range. */
     private final AbsoluteDate minDate;
 
@@ -68,6 +84,22 @@ public class Ephemeris extends AbstractAnalyticalPropagator implements BoundedPr
     /** Thread-safe cache. */
     private final transient ImmutableTimeStampedCache<SpacecraftState> cache;
 
+    /** Sampling step for uniform grids (NaN if sampling is not uniform). */
+    private final transient double uniformStep;
+
+    /** Number of entries for uniform grids. */
+    private final transient int uniformEntries;
+
+    /** Positions, velocities and accelerations for uniform grids (null if sampling is not uniform).
+     * <p>
+     * Derivatives are scaled to step units, entry i uses elements 9 i to 9 i + 8.
+     * </p>
+     */
+    private final transient double[] uniformSamples;
+
+    /** Per-thread Newton coefficients of the last neighbors set used on uniform grids. */
+    private final transient ThreadLocal<NewtonCoefficients> newtonCoefficients;
+
     /** Constructor with tabulated states.
      * @param states tabulates states
      * @param interpolationPoints number of points to use in interpolation
@@ -105,6 +137,61 @@ public class Ephemeris extends AbstractAnalyticalPropagator implements BoundedPr
 
         // set up cache
         cache = new ImmutableTimeStampedCache<SpacecraftState>(interpolationPoints, states);
+
+        // set up fast path for uniform grids
+        final List<SpacecraftState> sorted = cache.getAll();
+        final double step = sorted.size() < 2 ?
+                            Double.NaN :
+                            sorted.get(sorted.size() - 1).getDate().durationFrom(sorted.get(0).getDate()) /
+                            (sorted.size() - 1);
+        boolean uniform = step > 0;
+        for (int i = 0; uniform && i < sorted.size(); ++i) {
+            final SpacecraftState state = sorted.get(i);
+            uniform = state.getOrbit() instanceof CartesianOrbit &&
+                      FastMath.abs(state.getDate().durationFrom(sorted.get(0).getDate()) - i * step) <= UNIFORM_TOLERANCE;
+        }
+        if (uniform) {
+            uniformStep         = step;
+            uniformEntries      = sorted.size();
+            uniformSamples      = extractSamples(sorted, step);
+        } else {
+            uniformStep         = Double.NaN;
+            uniformEntries      = 0;
+            uniformSamples      = null;
+        }
+        newtonCoefficients = ThreadLocal.withInitial(() -> new NewtonCoefficients(interpolationPoints));
+
+    }
+
+    /** Store a vector in an array.
+     * @param v vector to store
+     * @param array array where to store the vector
+     * @param index index of the first component in the array
+     */
+    private static void storeVector(final Vector3D v, final double[] array, final int index) {
+        array[index]     = v.getX();
+        array[index + 1] = v.getY();
+        array[index + 2] = v.getZ();
+    }
+
+    /** Extract positions, velocities and accelerations from entries on a uniform grid.
+     * <p>
+     * Derivatives are scaled by the step, so the Hermite polynomials can
+     * use abscissae expressed in step units.
+     * </p>
+     * @param sorted sorted entries
+     * @param step sampling step
+     * @return sample data, entry i uses elements 9 i to 9 i + 8
+     */
+    private static double[] extractSamples(final List<SpacecraftState> sorted, final double step) {
+        final double[] pva = new double[9 * sorted.size()];
+        for (int i = 0; i < sorted.size(); ++i) {
+            final TimeStampedPVCoordinates pv = sorted.get(i).getPVCoordinates();
+            storeVector(pv.getPosition(),                                      pva, 9 * i);
+            storeVector(new Vector3D(step, pv.getVelocity()),                  pva, 9 * i + 3);
+            storeVector(new Vector3D(0.5 * step * step, pv.getAcceleration()), pva, 9 * i + 6);
+        }
+        return pva;
     }
 
     /** Get the first date of the range.
@@ -160,6 +247,150 @@ public class Ephemeris extends AbstractAnalyticalPropagator implements BoundedPr
         return propagate(date).getPVCoordinates(f);
     }
 
+    /** Get position, velocity and acceleration in ephemeris frame.
+     * <p>
+     * If entries are uniformly sampled Cartesian orbits, this method does not
+     * perform any allocation. It then interpolates the samples directly, so
+     * contrary to {@link #getPVCoordinates(AbsoluteDate, Frame)} it does not
+     * trigger events detectors and step handlers.
+     * </p>
+     * @param date date at which position, velocity and acceleration are desired
+     * @param pva placeholder where to put position (elements 0 to 2), velocity
+     * (elements 3 to 5) and acceleration (elements 6 to 8), in ephemeris frame
+     * @exception OrekitException if date is outside of ephemeris range
+     * @since 9.0
+     */
+    public void getPositionVelocityAcceleration(final AbsoluteDate date, final double[] pva)
+        throws OrekitException {
+        if (isInUniformGrid(date)) {
+            interpolateUniform(date, pva);
+        } else {
+            final TimeStampedPVCoordinates pv = propagate(date).getPVCoordinates(frame);
+            storeVector(pv.getPosition(),     pva, 0);
+            storeVector(pv.getVelocity(),     pva, 3);
+            storeVector(pv.getAcceleration(), pva, 6);
+        }
+    }
+
+    /** Check if the fast path for uniform grids can be used.
+     * @param date date at which position, velocity and acceleration are desired
+     * @return true if entries are uniformly sampled Cartesian orbits and date is in range
+     */
+    private boolean isInUniformGrid(final AbsoluteDate date) {
+        if (uniformSamples == null) {
+            return false;
+        }
+        final double dt = date.durationFrom(minDate);
+        return dt >= 0 && dt <= maxDate.durationFrom(minDate);
+    }
+
+    /** Interpolate position, velocity and acceleration on a uniform grid.
+     * <p>
+     * The neighbors are selected exactly as {@link ImmutableTimeStampedCache#getNeighbors(AbsoluteDate)}
+     * does. Each of the neighbors holds value, first derivative and second derivative,
+     * so the Newton form of the Hermite polynomial uses 3n confluent abscissae, expressed
+     * in step units. Its coefficients are computed by divided differences in a per-thread
+     * array, which is reused as long as successive requests from the same thread share
+     * the same neighbors, so the cost of building the coefficients is proportional to
+     * the number of distinct neighbors sets used and not to the number of entries.
+     * </p>
+     * @param date interpolation date
+     * @param pva placeholder where to put position, velocity and acceleration
+     */
+    private void interpolateUniform(final AbsoluteDate date, final double[] pva) {
+
+        // select neighbors
+        final int    size    = 3 * cache.getNeighborsSize();
+        final double x       = date.durationFrom(minDate) / uniformStep;
+        final int    central = FastMath.min((int) FastMath.floor(x), uniformEntries - 1);
+        final int    end     = FastMath.min(uniformEntries, FastMath.max(0, central - (size / 3 - 1) / 2) + size / 3);
+        final int    start   = end - size / 3;
+        final double u       = x - start;
+
+        // Newton coefficients, computed by confluent divided differences,
+        // coefficient i of component c is at index 3 i + c
+        final NewtonCoefficients coefficients = newtonCoefficients.get();
+        final double[] q = coefficients.q;
+        if (coefficients.start != start) {
+            computeNewtonCoefficients(start, size, q);
+            coefficients.start = start;
+        }
+
+        // evaluate Newton form of Hermite polynomial and its derivatives
+        double pX = 0;
+        double pY = 0;
+        double pZ = 0;
+        double vX = 0;
+        double vY = 0;
+        double vZ = 0;
+        double aX = 0;
+        double aY = 0;
+        double aZ = 0;
+        double n0 = 1;
+        double n1 = 0;
+        double n2 = 0;
+        for (int i = 0; i < size; ++i) {
+
+            final double cX = q[3 * i];
+            final double cY = q[3 * i + 1];
+            final double cZ = q[3 * i + 2];
+
+            pX += cX * n0;
+            pY += cY * n0;
+            pZ += cZ * n0;
+            vX += cX * n1;
+            vY += cY * n1;
+            vZ += cZ * n1;
+            aX += cX * n2;
+            aY += cY * n2;
+            aZ += cZ * n2;
+
+            // next Newton basis polynomial and its derivatives
+            final double d = u - i / 3;
+            n2 = n2 * d + 2 * n1;
+            n1 = n1 * d + n0;
+            n0 = n0 * d;
+
+        }
+
+        pva[0] = pX;
+        pva[1] = pY;
+        pva[2] = pZ;
+        pva[3] = vX / uniformStep;
+        pva[4] = vY / uniformStep;
+        pva[5] = vZ / uniformStep;
+        final double h2 = uniformStep * uniformStep;
+        pva[6] = aX / h2;
+        pva[7] = aY / h2;
+        pva[8] = aZ / h2;
+
+    }
+
+    /** Compute Newton coefficients by confluent divided differences.
+     * @param start index of the first neighbor
+     * @param size number of confluent abscissae (three times the number of neighbors)
+     * @param q placeholder for the coefficients, coefficient i of component c is at index 3 i + c
+     */
+    private void computeNewtonCoefficients(final int start, final int size, final double[] q) {
+        for (int i = 0; i < size; ++i) {
+            final int node = 9 * (start + i / 3);
+            q[3 * i]     = uniformSamples[node];
+            q[3 * i + 1] = uniformSamples[node + 1];
+            q[3 * i + 2] = uniformSamples[node + 2];
+        }
+        for (int order = 1; order < size; ++order) {
+            for (int i = size - 1; i >= order; --i) {
+                final int node      = i / 3;
+                final int otherNode = (i - order) / 3;
+                for (int c = 0; c < 3; ++c) {
+                    q[3 * i + c] = (node == otherNode) ?
+                                   uniformSamples[9 * (start + node) + 3 * order + c] :
+                                   (q[3 * i + c] - q[3 * (i - 1) + c]) / (node - otherNode);
+                }
+            }
+        }
+    }
+
     /** Try (and fail) to reset the initial state.
      * <p>
      * This method always throws an exception, as ephemerides cannot be reset.
@@ -261,6 +492,25 @@ public class Ephemeris extends AbstractAnalyticalPropagator implements BoundedPr
 
     }
 
+    /** Newton coefficients for one neighbors set on uniform grids. */
+    private static class NewtonCoefficients {
+
+        /** Coefficients, coefficient i of component c is at index 3 i + c. */
+        private final double[] q;
+
+        /** Index of the first neighbor (-1 if coefficients have not been computed yet). */
+        private int start;
+
+        /** Simple constructor.
+         * @param interpolationPoints number of points to use in interpolation
+         */
+        NewtonCoefficients(final int interpolationPoints) {
+            this.q     = new double[9 * interpolationPoints];
+            this.start = -1;
+        }
+
+    }
+
     /** Internal PVCoordinatesProvider for attitude computation. */
     private static class LocalPVProvider implements PVCoordinatesProvider, Serializable {
 
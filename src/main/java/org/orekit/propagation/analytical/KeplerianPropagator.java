@@ -22,9 +22,12 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.SortedSet;
 
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.MathUtils;
 import org.orekit.attitudes.AttitudeProvider;
 import org.orekit.errors.OrekitException;
 import org.orekit.errors.OrekitInternalError;
+import org.orekit.orbits.EquinoctialOrbit;
 import org.orekit.orbits.Orbit;
 import org.orekit.orbits.OrbitType;
 import org.orekit.orbits.PositionAngle;
@@ -48,6 +51,15 @@ public class KeplerianPropagator extends AbstractAnalyticalPropagator implements
     /** All states. */
     private transient TimeSpanMap<SpacecraftState> states;
 
+    /** Indicator for a single state throughout the timeline. */
+    private transient boolean singleState;
+
+    /** Orbit corresponding to the cached equinoctial elements. */
+    private transient Orbit cachedOrbit;
+
+    /** Cached equinoctial elements (a, ex, ey, hx, hy, lM) and Keplerian mean motion. */
+    private final double[] cachedElements = new double[7];
+
     /** Build a propagator from orbit only.
      * <p>The central attraction coefficient μ is set to the same value used
      * for the initial orbit definition. Mass and attitude provider are set to
@@ -135,6 +147,7 @@ public class KeplerianPropagator extends AbstractAnalyticalPropagator implements
         super.resetInitialState(state);
         initialState = state;
         states       = new TimeSpanMap<SpacecraftState>(initialState);
+        singleState  = true;
     }
 
     /** {@inheritDoc} */
@@ -145,6 +158,7 @@ public class KeplerianPropagator extends AbstractAnalyticalPropagator implements
         } else {
             states.addValidBefore(state, state.getDate());
         }
+        singleState = false;
     }
 
     /** {@inheritDoc} */
@@ -163,6 +177,47 @@ public class KeplerianPropagator extends AbstractAnalyticalPropagator implements
 
     }
 
+    /** {@inheritDoc}
+     * <p>
+     * This implementation performs Keplerian motion on equinoctial elements.
+     * It does not create any object as long as the output frame is the orbit
+     * frame and no intermediate state has been reset. Hyperbolic orbits are
+     * delegated to the default implementation.
+     * </p>
+     */
+    @Override
+    protected void basicPropagatePV(final AbsoluteDate reference, final double dt, final double[] pv)
+        throws OrekitException {
+
+        final Orbit orbit = singleState ?
+                            initialState.getOrbit() :
+                            states.get(reference.shiftedBy(dt)).getOrbit();
+        if (orbit.getA() < 0 || orbit.getFrame() != getFrame()) {
+            super.basicPropagatePV(reference, dt, pv);
+            return;
+        }
+
+        if (orbit != cachedOrbit) {
+            cachedElements[0] = orbit.getA();
+            cachedElements[1] = orbit.getEquinoctialEx();
+            cachedElements[2] = orbit.getEquinoctialEy();
+            cachedElements[3] = orbit.getHx();
+            cachedElements[4] = orbit.getHy();
+            cachedElements[5] = orbit.getLM();
+            cachedElements[6] = orbit.getKeplerianMeanMotion();
+            cachedOrbit       = orbit;
+        }
+
+        // Keplerian motion on mean longitude argument
+        final double lM = MathUtils.normalizeAngle(cachedElements[5] +
+                                                   cachedElements[6] * (reference.durationFrom(orbit.getDate()) + dt),
+                                                   FastMath.PI);
+        final double lE = EquinoctialOrbit.meanToEccentric(lM, cachedElements[1], cachedElements[2]);
+        EquinoctialOrbit.toCartesian(cachedElements[0], cachedElements[1], cachedElements[2],
+                                     cachedElements[3], cachedElements[4], lE, orbit.getMu(), pv);
+
+    }
+
     /** {@inheritDoc}*/
     protected double getMass(final AbsoluteDate date) {
         return states.get(date).getMass();
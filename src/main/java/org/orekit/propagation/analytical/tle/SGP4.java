@@ -34,6 +34,12 @@ import org.orekit.errors.OrekitException;
  */
 public class SGP4 extends TLEPropagator {
 
+    /** Number of elements updated by {@link #secularUpdate secular update}. */
+    static final int SECULAR_SIZE = 5;
+
+    /** Number of constants used by {@link #secularUpdate secular update}. */
+    static final int CONSTANTS_SIZE = 27;
+
     /** If perige is less than 220 km, some calculus are avoided. */
     private boolean lessThan220;
 
@@ -53,6 +59,9 @@ public class SGP4 extends TLEPropagator {
     private double c5;
     // CHECKSTYLE: resume JavadocVariable check
 
+    /** Constants used by {@link #secularUpdate secular update}, packed in one array. */
+    private double[] constants;
+
     /** Constructor for a unique initial TLE.
      * @param initialTLE the TLE to propagate.
      * @param attitudeProvider provider for attitude computation
@@ -97,24 +106,97 @@ public class SGP4 extends TLEPropagator {
         }
 
         c5 = 2 * coef1 * a0dp * beta02 * (1 + 2.75 * (etasq + eeta) + eeta * etasq);
+
+        // pack the constants needed at each propagation
+        // (this method is called by the base class constructor, before any field initializer)
+        constants = new double[] {
+            tle.getMeanAnomaly(), tle.getPerigeeArgument(), tle.getRaan(), tle.getE(), tle.getBStar(),
+            a0dp, xn0dp, xmdot, omgdot, xnodot, xnodcf, eta, c1, c4, c5, t2cof,
+            lessThan220 ? 1.0 : 0.0, delM0, d2, d3, d4, t3cof, t4cof, t5cof, sinM0, omgcof, xmcof
+        };
+
         // initialized
     }
 
+    /** Copy the constants used by {@link #secularUpdate secular update}.
+     * @param destination array where constants should be copied, must have
+     * at least {@link #CONSTANTS_SIZE} elements after offset
+     * @param offset index of the first constant in destination array
+     */
+    void getConstants(final double[] destination, final int offset) {
+        System.arraycopy(constants, 0, destination, offset, CONSTANTS_SIZE);
+    }
+
     /** Propagation proper to each propagator (SGP or SDP).
      * @param tSince the offset from initial epoch (min)
      */
     protected void sxpPropagate(final double tSince) {
 
+        final double[] secular = getSecularBuffer();
+        secularUpdate(tSince, constants, 0, secular);
+
+        a     = secular[0];
+        e     = secular[1];
+        omega = secular[2];
+        xnode = secular[3];
+        xl    = secular[4];
+        i     = tle.getI();
+
+    }
+
+    /** Update for secular gravity and atmospheric drag.
+     * <p>
+     * This method is shared between {@link #sxpPropagate(double)} and {@link TLECatalog},
+     * so both compute exactly the same elements.
+     * </p>
+     * @param tSince the offset from initial epoch (min)
+     * @param constants packed constants, as copied by {@link #getConstants(double[], int)}
+     * @param offset index of the first constant in the packed array
+     * @param elements placeholder for the updated semi major axis, eccentricity,
+     * perigee argument, right ascension of ascending node and L from SPTRCK #3
+     */
+    static void secularUpdate(final double tSince, final double[] constants, final int offset,
+                              final double[] elements) {
+
+        // unpack the constants, in the order of sxpInitialize
+        final double meanAnomaly     = constants[offset];
+        final double perigeeArgument = constants[offset +  1];
+        final double raan            = constants[offset +  2];
+        final double e0              = constants[offset +  3];
+        final double bStar           = constants[offset +  4];
+        final double a0dp            = constants[offset +  5];
+        final double xn0dp           = constants[offset +  6];
+        final double xmdot           = constants[offset +  7];
+        final double omgdot          = constants[offset +  8];
+        final double xnodot          = constants[offset +  9];
+        final double xnodcf          = constants[offset + 10];
+        final double eta             = constants[offset + 11];
+        final double c1              = constants[offset + 12];
+        final double c4              = constants[offset + 13];
+        final double c5              = constants[offset + 14];
+        final double t2cof           = constants[offset + 15];
+        final boolean lessThan220    = constants[offset + 16] != 0.0;
+        final double delM0           = constants[offset + 17];
+        final double d2              = constants[offset + 18];
+        final double d3              = constants[offset + 19];
+        final double d4              = constants[offset + 20];
+        final double t3cof           = constants[offset + 21];
+        final double t4cof           = constants[offset + 22];
+        final double t5cof           = constants[offset + 23];
+        final double sinM0           = constants[offset + 24];
+        final double omgcof          = constants[offset + 25];
+        final double xmcof           = constants[offset + 26];
+
         // Update for secular gravity and atmospheric drag.
-        final double xmdf = tle.getMeanAnomaly() + xmdot * tSince;
-        final double omgadf = tle.getPerigeeArgument() + omgdot * tSince;
-        final double xn0ddf = tle.getRaan() + xnodot * tSince;
-        omega = omgadf;
+        final double xmdf = meanAnomaly + xmdot * tSince;
+        final double omgadf = perigeeArgument + omgdot * tSince;
+        final double xn0ddf = raan + xnodot * tSince;
+        double omega = omgadf;
         double xmp = xmdf;
         final double tsq = tSince * tSince;
-        xnode = xn0ddf + xnodcf * tsq;
+        final double xnode = xn0ddf + xnodcf * tsq;
         double tempa = 1 - c1 * tSince;
-        double tempe = tle.getBStar() * c4 * tSince;
+        double tempe = bStar * c4 * tSince;
         double templ = t2cof * tsq;
 
         if (!lessThan220) {
@@ -127,21 +209,23 @@ public class SGP4 extends TLEPropagator {
             final double tcube = tsq * tSince;
             final double tfour = tSince * tcube;
             tempa = tempa - d2 * tsq - d3 * tcube - d4 * tfour;
-            tempe = tempe + tle.getBStar() * c5 * (FastMath.sin(xmp) - sinM0);
+            tempe = tempe + bStar * c5 * (FastMath.sin(xmp) - sinM0);
             templ = templ + t3cof * tcube + tfour * (t4cof + tSince * t5cof);
         }
 
-        a = a0dp * tempa * tempa;
-        e = tle.getE() - tempe;
+        final double a = a0dp * tempa * tempa;
+        double e = e0 - tempe;
 
         // A highly arbitrary lower limit on e,  of 1e-6:
         if (e < 1e-6) {
             e = 1e-6;
         }
 
-        xl = xmp + omega + xnode + xn0dp * templ;
-
-        i = tle.getI();
+        elements[0] = a;
+        elements[1] = e;
+        elements[2] = omega;
+        elements[3] = xnode;
+        elements[4] = xmp + omega + xnode + xn0dp * templ;
 
     }
 
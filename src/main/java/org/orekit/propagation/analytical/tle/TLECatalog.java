@@ -0,0 +1,288 @@
+/* Copyright 2002-2016 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.analytical.tle;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.time.AbsoluteDate;
+
+/** Catalog-scale evaluation of TLE positions and velocities.
+ * <p>
+ * This class is intended for applications that need positions and velocities
+ * of thousands of objects at the same dates, like conjunction screening. The
+ * initialized SGP4 model constants for all near Earth objects are packed in
+ * one primitive array (consecutive constants for each object), and the positions
+ * and velocities are written directly in caller-provided buffers, without any
+ * allocation per object or per date.
+ * </p>
+ * <p>
+ * Near Earth objects evaluation shares the {@link SGP4} computation code,
+ * so the results are bit-for-bit identical to the ones of
+ * {@link TLEPropagator#getPVCoordinates(AbsoluteDate)}.
+ * Deep space objects (period greater than 225 minutes) rely on a stateful resonance
+ * integrator, they are delegated to one {@link DeepSDP4} instance each, using its
+ * allocation-free evaluation path.
+ * </p>
+ * <p>
+ * Results are stored in TEME frame, in meters and meters per second, as six
+ * consecutive values x, y, z, vx, vy, vz for each object, in catalog order.
+ * If an object cannot be propagated at some date (for example because its
+ * eccentricity becomes too large), its six components are set to NaN and
+ * the evaluation of the other objects proceeds normally.
+ * </p>
+ * <p>
+ * Instances of this class are <em>not</em> thread-safe, as deep space objects
+ * evaluation modifies the state of the underlying propagators.
+ * </p>
+ * @see TLEPropagator
+ * @author Luc Maisonobe
+ * @since 9.0
+ */
+public class TLECatalog {
+
+    /** Number of components per object in results buffers. */
+    public static final int COMPONENTS = 6;
+
+    /** Underlying TLE. */
+    private final List<TLE> tles;
+
+    /** Deep space propagators (null for near Earth objects). */
+    private final TLEPropagator[] deep;
+
+    /** TLE epochs. */
+    private final AbsoluteDate[] epoch;
+
+    /** Placeholder for deep space objects evaluation. */
+    private final double[] deepPV;
+
+    /** Placeholder for near Earth objects secular update. */
+    private final double[] secular;
+
+    /** Placeholder for offsets between evaluation start and TLE epochs (s). */
+    private final double[] startOffset;
+
+    /** Initial inclinations. */
+    private final double[] i0;
+
+    /** Cosines of initial inclinations. */
+    private final double[] cosi0;
+
+    /** Sines of initial inclinations. */
+    private final double[] sini0;
+
+    /** SGP4 constants, packed as {@link SGP4#CONSTANTS_SIZE} consecutive values per object. */
+    private final double[] constants;
+
+    /** Build a catalog from a collection of TLE.
+     * @param tles TLE to load in the catalog (their order is preserved)
+     * @exception OrekitException if some model cannot be initialized
+     */
+    public TLECatalog(final Collection<TLE> tles) throws OrekitException {
+
+        this.tles = Collections.unmodifiableList(new ArrayList<TLE>(tles));
+        final int n = this.tles.size();
+
+        deep            = new TLEPropagator[n];
+        deepPV          = new double[COMPONENTS];
+        secular         = new double[SGP4.SECULAR_SIZE];
+        startOffset     = new double[n];
+        epoch           = new AbsoluteDate[n];
+        i0              = new double[n];
+        cosi0           = new double[n];
+        sini0           = new double[n];
+        constants       = new double[n * SGP4.CONSTANTS_SIZE];
+
+        for (int k = 0; k < n; ++k) {
+
+            final TLE tle = this.tles.get(k);
+            epoch[k] = tle.getDate();
+
+            // let the regular propagator select and initialize the model
+            final TLEPropagator propagator = TLEPropagator.selectExtrapolator(tle);
+            if (propagator instanceof SGP4) {
+                final SGP4 sgp4 = (SGP4) propagator;
+                i0[k]    = tle.getI();
+                cosi0[k] = sgp4.cosi0;
+                sini0[k] = sgp4.sini0;
+                sgp4.getConstants(constants, k * SGP4.CONSTANTS_SIZE);
+            } else {
+                deep[k] = propagator;
+            }
+
+        }
+
+    }
+
+    /** Get the number of objects in the catalog.
+     * @return number of objects in the catalog
+     */
+    public int size() {
+        return tles.size();
+    }
+
+    /** Get the TLE of one object.
+     * @param index index of the object in the catalog
+     * @return TLE of the object
+     */
+    public TLE getTLE(final int index) {
+        return tles.get(index);
+    }
+
+    /** Get all the TLE in the catalog.
+     * @return unmodifiable list of all TLE, in catalog order
+     */
+    public List<TLE> getTLEs() {
+        return tles;
+    }
+
+    /** Check if an object is handled by the deep space model.
+     * @param index index of the object in the catalog
+     * @return true if the object is handled by the deep space model
+     */
+    public boolean isDeepSpace(final int index) {
+        return deep[index] != null;
+    }
+
+    /** Compute positions and velocities of all objects at one date.
+     * @param date evaluation date
+     * @param pv placeholder for the results, must have at least
+     * {@link #COMPONENTS} × {@link #size()} elements
+     * @return number of objects that could not be propagated
+     * (their components are set to NaN)
+     */
+    public int getPVCoordinates(final AbsoluteDate date, final double[] pv) {
+        checkBufferSize(pv, 1);
+        computeStartOffsets(date);
+        return evaluate(0.0, pv, 0);
+    }
+
+    /** Compute positions and velocities of all objects on a regular time grid.
+     * <p>
+     * The results for grid point {@code p} and object {@code k} start at
+     * index {@code COMPONENTS * (p * size() + k)} in the buffer.
+     * </p>
+     * @param start first date of the grid
+     * @param step time step between grid points (s)
+     * @param points number of grid points
+     * @param pv placeholder for the results, must have at least
+     * {@link #COMPONENTS} × {@link #size()} × points elements
+     * @return total number of evaluations that failed
+     * (their components are set to NaN)
+     */
+    public int getPVCoordinates(final AbsoluteDate start, final double step, final int points,
+                                final double[] pv) {
+        checkBufferSize(pv, points);
+        computeStartOffsets(start);
+        int failures = 0;
+        for (int p = 0; p < points; ++p) {
+            failures += evaluate(p * step, pv, p * COMPONENTS * size());
+        }
+        return failures;
+    }
+
+    /** Check buffer size.
+     * @param pv placeholder for the results
+     * @param points number of grid points
+     */
+    private void checkBufferSize(final double[] pv, final int points) {
+        final int required = COMPONENTS * size() * points;
+        if (pv.length < required) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                     pv.length, required);
+        }
+    }
+
+    /** Compute the offsets between evaluation start and all TLE epochs.
+     * @param start start of the evaluation
+     */
+    private void computeStartOffsets(final AbsoluteDate start) {
+        for (int k = 0; k < epoch.length; ++k) {
+            startOffset[k] = start.durationFrom(epoch[k]);
+        }
+    }
+
+    /** Evaluate all objects at one date.
+     * <p>
+     * The {@link #startOffset start offsets} must have been computed beforehand.
+     * </p>
+     * @param dt time shift with respect to evaluation start (s)
+     * @param pv placeholder for the results
+     * @param offset index of the first object in the buffer
+     * @return number of objects that could not be propagated
+     */
+    private int evaluate(final double dt, final double[] pv, final int offset) {
+        int failures = 0;
+        for (int k = 0; k < deep.length; ++k) {
+            final int first = offset + COMPONENTS * k;
+            final double dtEpoch = startOffset[k] + dt;
+            final boolean success;
+            if (deep[k] == null) {
+                success = nearEarth(k, dtEpoch / 60.0, pv, first);
+            } else {
+                success = deepSpace(k, dtEpoch, pv, first);
+            }
+            if (!success) {
+                Arrays.fill(pv, first, first + COMPONENTS, Double.NaN);
+                ++failures;
+            }
+        }
+        return failures;
+    }
+
+    /** Evaluate one deep space object.
+     * @param k index of the object in the catalog
+     * @param dtEpoch the offset from TLE epoch (s)
+     * @param pv placeholder for the results
+     * @param first index of the first component in the buffer
+     * @return true if evaluation succeeded
+     */
+    private boolean deepSpace(final int k, final double dtEpoch, final double[] pv, final int first) {
+        try {
+            deep[k].basicPropagatePV(epoch[k], dtEpoch, deepPV);
+            System.arraycopy(deepPV, 0, pv, first, COMPONENTS);
+            return true;
+        } catch (OrekitException oe) {
+            return false;
+        }
+    }
+
+    /** Evaluate one near Earth object.
+     * <p>
+     * This method uses the same computation as {@link SGP4#sxpPropagate(double)}
+     * followed by the position-velocity computation of {@link TLEPropagator}.
+     * </p>
+     * @param k index of the object in the catalog
+     * @param tSince the offset from initial epoch (min)
+     * @param pv placeholder for the results
+     * @param first index of the first component in the buffer
+     * @return true if evaluation succeeded
+     */
+    private boolean nearEarth(final int k, final double tSince, final double[] pv, final int first) {
+        SGP4.secularUpdate(tSince, constants, k * SGP4.CONSTANTS_SIZE, secular);
+        return TLEPropagator.computePVCoordinates(secular[0], secular[1], i0[k],
+                                                  secular[2], secular[3], secular[4],
+                                                  cosi0[k], sini0[k], pv, first);
+    }
+
+}
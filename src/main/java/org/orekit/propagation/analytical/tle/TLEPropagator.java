@@ -162,6 +162,17 @@ public abstract class TLEPropagator extends AbstractAnalyticalPropagator {
     /** Spacecraft mass (kg). */
     private final double mass;
 
+    /** Placeholder for position and velocity (the propagator state is already mutable). */
+    private final double[] pvBuffer = new double[6];
+
+    /** Placeholder for the secular elements updated by {@link SGP4}.
+     * <p>
+     * It is initialized here so it is already available when the
+     * constructor performs the first propagation.
+     * </p>
+     */
+    private final double[] secularBuffer = new double[SGP4.SECULAR_SIZE];
+
     /** Protected constructor for derived classes.
      * @param initialTLE the unique TLE to propagate
      * @param attitudeProvider provider for attitude computation
@@ -222,6 +233,13 @@ public abstract class TLEPropagator extends AbstractAnalyticalPropagator {
         }
     }
 
+    /** Get the placeholder for the secular elements updated by {@link SGP4}.
+     * @return placeholder for the secular elements
+     */
+    double[] getSecularBuffer() {
+        return secularBuffer;
+    }
+
     /** Get the Earth gravity coefficient used for TLE propagation.
      * @return the Earth gravity coefficient.
      */
@@ -339,6 +357,44 @@ public abstract class TLEPropagator extends AbstractAnalyticalPropagator {
      * (too large eccentricity, too low perigee ...)
      */
     private PVCoordinates computePVCoordinates() throws OrekitException {
+        computePVCoordinates(pvBuffer);
+        return new PVCoordinates(new Vector3D(pvBuffer[0], pvBuffer[1], pvBuffer[2]),
+                                 new Vector3D(pvBuffer[3], pvBuffer[4], pvBuffer[5]));
+    }
+
+    /** Retrieves the position and velocity, without creating any object.
+     * @param pv placeholder for position (m) and velocity (m/s)
+     * @exception OrekitException if current orbit is out of supported range
+     * (too large eccentricity, too low perigee ...)
+     */
+    private void computePVCoordinates(final double[] pv) throws OrekitException {
+        if (!computePVCoordinates(a, e, i, omega, xnode, xl, cosi0, sini0, pv, 0)) {
+            throw new OrekitException(OrekitMessages.TOO_LARGE_ECCENTRICITY_FOR_PROPAGATION_MODEL, e);
+        }
+    }
+
+    /** Retrieves the position and velocity from propagated elements, without creating any object.
+     * <p>
+     * This method is shared between the propagators and {@link TLECatalog},
+     * so both compute exactly the same coordinates.
+     * </p>
+     * @param a final semi major axis
+     * @param e final eccentricity
+     * @param i final inclination
+     * @param omega final perigee argument
+     * @param xnode final RAAN
+     * @param xl L from SPTRCK #3
+     * @param cosi0 cosinus original inclination
+     * @param sini0 sinus original inclination
+     * @param pv placeholder for position (m) and velocity (m/s)
+     * @param first index of the first component in the placeholder
+     * @return false if the eccentricity is too large for the propagation model
+     * (in which case the placeholder is not modified)
+     */
+    static boolean computePVCoordinates(final double a, final double e, final double i,
+                                        final double omega, final double xnode, final double xl,
+                                        final double cosi0, final double sini0,
+                                        final double[] pv, final int first) {
 
         // Long period periodics
         final double axn = e * FastMath.cos(omega);
@@ -364,7 +420,7 @@ public abstract class TLEPropagator extends AbstractAnalyticalPropagator {
         final double x7thm1 = 7.0 * cosi0Sq - 1.0;
 
         if (e > (1 - 1e-6)) {
-            throw new OrekitException(OrekitMessages.TOO_LARGE_ECCENTRICITY_FOR_PROPAGATION_MODEL, e);
+            return false;
         }
 
         // Solve Kepler's' Equation.
@@ -436,7 +492,9 @@ public abstract class TLEPropagator extends AbstractAnalyticalPropagator {
 
         // Position and velocity
         final double cr = 1000 * rk * TLEConstants.EARTH_RADIUS;
-        final Vector3D pos = new Vector3D(cr * ux, cr * uy, cr * uz);
+        pv[first]     = cr * ux;
+        pv[first + 1] = cr * uy;
+        pv[first + 2] = cr * uz;
 
         final double rdot   = TLEConstants.XKE * FastMath.sqrt(a) * esinE / r;
         final double rfdot  = TLEConstants.XKE * FastMath.sqrt(pl) / r;
@@ -448,11 +506,11 @@ public abstract class TLEPropagator extends AbstractAnalyticalPropagator {
         final double vz     = sinik * cosuk;
 
         final double cv = 1000.0 * TLEConstants.EARTH_RADIUS / 60.0;
-        final Vector3D vel = new Vector3D(cv * (rdotk * ux + rfdotk * vx),
-                                          cv * (rdotk * uy + rfdotk * vy),
-                                          cv * (rdotk * uz + rfdotk * vz));
+        pv[first + 3] = cv * (rdotk * ux + rfdotk * vx);
+        pv[first + 4] = cv * (rdotk * uy + rfdotk * vy);
+        pv[first + 5] = cv * (rdotk * uz + rfdotk * vz);
 
-        return new PVCoordinates(pos, vel);
+        return true;
 
     }
 
@@ -484,6 +542,20 @@ public abstract class TLEPropagator extends AbstractAnalyticalPropagator {
         return mass;
     }
 
+    /** {@inheritDoc}
+     * <p>
+     * This implementation does not create any object for near-Earth TLE.
+     * For deep-space TLE, the SDP4 model relies on {@code FastMath.pow},
+     * which uses a small temporary array at each call.
+     * </p>
+     */
+    @Override
+    protected void basicPropagatePV(final AbsoluteDate reference, final double dt, final double[] pv)
+        throws OrekitException {
+        sxpPropagate((reference.durationFrom(tle.getDate()) + dt) / 60.0);
+        computePVCoordinates(pv);
+    }
+
     /** {@inheritDoc} */
     protected Orbit propagateOrbit(final AbsoluteDate date) throws OrekitException {
         return new CartesianOrbit(getPVCoordinates(date), teme, date, TLEConstants.MU);
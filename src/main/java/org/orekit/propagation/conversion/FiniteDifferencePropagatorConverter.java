@@ -16,6 +16,11 @@
  */
 package org.orekit.propagation.conversion;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+
 import org.hipparchus.analysis.MultivariateVectorFunction;
 import org.hipparchus.linear.MatrixUtils;
 import org.hipparchus.linear.RealMatrix;
@@ -24,10 +29,14 @@ import org.hipparchus.optim.nonlinear.vector.leastsquares.MultivariateJacobianFu
 import org.hipparchus.util.Pair;
 import org.orekit.errors.OrekitException;
 import org.orekit.errors.OrekitExceptionWrapper;
+import org.orekit.errors.OrekitMessages;
 import org.orekit.propagation.Propagator;
 import org.orekit.propagation.SpacecraftState;
 import org.orekit.utils.PVCoordinates;
+import org.orekit.utils.InstanceFactory;
+import org.orekit.utils.ParallelExecution;
 import org.orekit.utils.ParameterDriver;
+import org.orekit.utils.ParameterDriversList;
 
 /** Propagator converter using finite differences to compute the jacobian.
  * @author Pascal Parraud
@@ -38,6 +47,15 @@ public class FiniteDifferencePropagatorConverter extends AbstractPropagatorConve
     /** Propagator builder. */
     private final PropagatorBuilder builder;
 
+    /** Executor service for perturbed propagations (null for sequential computation). */
+    private ExecutorService executor;
+
+    /** Factory for propagator builder copies used by parallel tasks (null for sequential computation). */
+    private InstanceFactory<? extends PropagatorBuilder> copiesFactory;
+
+    /** Propagator builder copies used by parallel tasks. */
+    private List<PropagatorBuilder> copies;
+
     /** Simple constructor.
      * @param factory builder for adapted propagator
      * @param threshold absolute threshold for optimization algorithm
@@ -47,7 +65,51 @@ public class FiniteDifferencePropagatorConverter extends AbstractPropagatorConve
                                                final double threshold,
                                                final int maxIterations) {
         super(factory, threshold, maxIterations);
-        this.builder = factory;
+        this.builder       = factory;
+        this.executor      = null;
+        this.copiesFactory = null;
+        this.copies        = new ArrayList<PropagatorBuilder>();
+    }
+
+    /** Set the executor service used to compute the Jacobian.
+     * <p>
+     * If an executor service is set, the nominal propagation and all the propagations
+     * with perturbed orbital or propagation parameters are run concurrently, each one
+     * in a separate task. Each task builds and runs its propagator using its own
+     * propagator builder copy, built once by the factory and reused for all subsequent
+     * evaluations, so force models and attitude providers are never shared between
+     * tasks and non thread-safe models (like {@link org.orekit.forces.drag.DragForce
+     * DragForce} with {@link org.orekit.forces.drag.atmosphere.JB2006 JB2006} or {@link
+     * org.orekit.forces.drag.atmosphere.JB2008 JB2008} atmospheres, or {@link
+     * org.orekit.forces.maneuvers.ConstantThrustManeuver ConstantThrustManeuver}) can
+     * be used. Before each evaluation, the selection status and values of the orbital
+     * and propagation parameters of the builder set at construction are copied into the
+     * copies. The factory must therefore build new independent builders, with new force
+     * models, configured exactly as the builder set at construction. The Jacobian is
+     * exactly the same as the one computed without executor.
+     * </p>
+     * <p>
+     * By default, no executor is set and propagations are run sequentially.
+     * </p>
+     * @param executorService executor service to use (null for sequential computation)
+     * @param factory factory for propagator builder copies (ignored if executor is null)
+     * @see #getExecutor()
+     * @since 9.0
+     */
+    public void setExecutor(final ExecutorService executorService,
+                            final InstanceFactory<? extends PropagatorBuilder> factory) {
+        this.executor      = executorService;
+        this.copiesFactory = (executorService == null) ? null : factory;
+        this.copies        = new ArrayList<PropagatorBuilder>();
+    }
+
+    /** Get the executor service used to compute the Jacobian.
+     * @return executor service used (null for sequential computation)
+     * @see #setExecutor(ExecutorService, InstanceFactory)
+     * @since 9.0
+     */
+    public ExecutorService getExecutor() {
+        return executor;
     }
 
     /** {@inheritDoc} */
@@ -60,6 +122,98 @@ public class FiniteDifferencePropagatorConverter extends AbstractPropagatorConve
         return new ObjectiveFunctionJacobian();
     }
 
+    /** Evaluate a propagator at sample points.
+     * @param propagator propagator to evaluate
+     * @return position/velocity at sample points
+     * @exception OrekitException if propagation fails
+     */
+    private double[] evaluate(final Propagator propagator) throws OrekitException {
+        final double[] eval = new double[getTargetSize()];
+        int k = 0;
+        for (SpacecraftState state : getSample()) {
+            final PVCoordinates pv = propagator.getPVCoordinates(state.getDate(), getFrame());
+            eval[k++] = pv.getPosition().getX();
+            eval[k++] = pv.getPosition().getY();
+            eval[k++] = pv.getPosition().getZ();
+            if (!isOnlyPosition()) {
+                eval[k++] = pv.getVelocity().getX();
+                eval[k++] = pv.getVelocity().getY();
+                eval[k++] = pv.getVelocity().getZ();
+            }
+        }
+        return eval;
+    }
+
+    /** Evaluate several parameters sets at sample points in parallel.
+     * @param parameters normalized parameters sets to evaluate
+     * @return position/velocity at sample points, for each parameters set
+     * @exception OrekitException if propagation fails
+     */
+    private double[][] evaluateInParallel(final List<double[]> parameters) throws OrekitException {
+        final List<Callable<double[]>> tasks = new ArrayList<Callable<double[]>>(parameters.size());
+        for (int k = 0; k < parameters.size(); ++k) {
+            final PropagatorBuilder copy = getCopy(k);
+            final double[]          arg  = parameters.get(k);
+            tasks.add(new Callable<double[]>() {
+                /** {@inheritDoc} */
+                @Override
+                public double[] call() throws OrekitException {
+                    return evaluate(copy.buildPropagator(arg));
+                }
+            });
+        }
+        final List<double[]> evals = ParallelExecution.invokeAll(executor, tasks);
+        return evals.toArray(new double[evals.size()][]);
+    }
+
+    /** Get a propagator builder copy, with parameters synchronized with the main builder.
+     * @param index index of the copy
+     * @return propagator builder copy
+     * @exception OrekitException if a parameter of the main builder is not supported by the copy
+     */
+    private PropagatorBuilder getCopy(final int index) throws OrekitException {
+        while (copies.size() <= index) {
+            copies.add(copiesFactory.create());
+        }
+        final PropagatorBuilder copy = copies.get(index);
+        synchronize(builder.getOrbitalParametersDrivers(), copy.getOrbitalParametersDrivers());
+        synchronize(builder.getPropagationParametersDrivers(), copy.getPropagationParametersDrivers());
+        return copy;
+    }
+
+    /** Copy selection status and values of parameters drivers.
+     * @param from drivers to copy
+     * @param to drivers to update
+     * @exception OrekitException if a parameter is not supported by the updated drivers
+     */
+    private static void synchronize(final ParameterDriversList from, final ParameterDriversList to)
+        throws OrekitException {
+        for (final ParameterDriver driver : from.getDrivers()) {
+            boolean found = false;
+            for (final ParameterDriver target : to.getDrivers()) {
+                if (target.getName().equals(driver.getName())) {
+                    target.setSelected(driver.isSelected());
+                    target.setValue(driver.getValue());
+                    found = true;
+                }
+            }
+            if (!found) {
+                final StringBuilder names = new StringBuilder();
+                for (final ParameterDriver target : to.getDrivers()) {
+                    if (names.length() > 0) {
+                        names.append(", ");
+                    }
+                    names.append(target.getName());
+                }
+                if (names.length() == 0) {
+                    names.append("<none>");
+                }
+                throw new OrekitException(OrekitMessages.UNSUPPORTED_PARAMETER_NAME,
+                                          driver.getName(), names.toString());
+            }
+        }
+    }
+
     /** Internal class for computing position/velocity at sample points. */
     private class ObjectiveFunction implements MultivariateVectorFunction {
 
@@ -67,26 +221,7 @@ public class FiniteDifferencePropagatorConverter extends AbstractPropagatorConve
         public double[] value(final double[] arg)
             throws IllegalArgumentException, OrekitExceptionWrapper {
             try {
-                final Propagator propagator = builder.buildPropagator(arg);
-                final double[] eval = new double[getTargetSize()];
-                int k = 0;
-                for (SpacecraftState state : getSample()) {
-                    final PVCoordinates pv = propagator.getPVCoordinates(state.getDate(), getFrame());
-                    if (Double.isNaN(pv.getMomentum().getNorm())) {
-                        propagator.getPVCoordinates(state.getDate(), getFrame());
-                    }
-                    eval[k++] = pv.getPosition().getX();
-                    eval[k++] = pv.getPosition().getY();
-                    eval[k++] = pv.getPosition().getZ();
-                    if (!isOnlyPosition()) {
-                        eval[k++] = pv.getVelocity().getX();
-                        eval[k++] = pv.getVelocity().getY();
-                        eval[k++] = pv.getVelocity().getZ();
-                    }
-                }
-
-                return eval;
-
+                return evaluate(builder.buildPropagator(arg));
             } catch (OrekitException ex) {
                 throw new OrekitExceptionWrapper(ex);
             }
@@ -117,12 +252,26 @@ public class FiniteDifferencePropagatorConverter extends AbstractPropagatorConve
             }
 
             final double[][] jacob = new double[getTargetSize()][arg.length];
-            final double[] eval = f.value(arg);
-            final double[] arg1 = new double[arg.length];
+            final double[][] evals = new double[arg.length + 1][];
+            try {
+                if (executor == null) {
+                    evals[0] = f.value(arg);
+                } else {
+                    // run nominal and perturbed propagations in parallel,
+                    // each one with its own propagator builder copy
+                    final List<double[]> parameters = new ArrayList<double[]>(arg.length + 1);
+                    parameters.add(arg);
+                    for (int j = 0; j < arg.length; j++) {
+                        parameters.add(perturb(arg, j, increment[j]));
+                    }
+                    System.arraycopy(evaluateInParallel(parameters), 0, evals, 0, arg.length + 1);
+                }
+            } catch (OrekitException oe) {
+                throw new OrekitExceptionWrapper(oe);
+            }
+            final double[] eval = evals[0];
             for (int j = 0; j < arg.length; j++) {
-                System.arraycopy(arg, 0, arg1, 0, arg.length);
-                arg1[j] += increment[j];
-                final double[] eval1 = f.value(arg1);
+                final double[] eval1 = (evals[j + 1] != null) ? evals[j + 1] : f.value(perturb(arg, j, increment[j]));
                 for (int t = 0; t < eval.length; t++) {
                     jacob[t][j] = (eval1[t] - eval[t]) / increment[j];
                 }
@@ -133,6 +282,18 @@ public class FiniteDifferencePropagatorConverter extends AbstractPropagatorConve
 
         }
 
+        /** Perturb one parameter.
+         * @param arg nominal parameters
+         * @param j index of the parameter to perturb
+         * @param h perturbation
+         * @return perturbed parameters
+         */
+        private double[] perturb(final double[] arg, final int j, final double h) {
+            final double[] arg1 = arg.clone();
+            arg1[j] += h;
+            return arg1;
+        }
+
     }
 
 }
@@ -0,0 +1,581 @@
+/* Copyright 2002-2016 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.events;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.util.FastMath;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.frames.Frame;
+import org.orekit.frames.TopocentricFrame;
+import org.orekit.propagation.BoundedPropagator;
+import org.orekit.propagation.SpacecraftState;
+import org.orekit.propagation.events.handlers.EventHandler;
+import org.orekit.propagation.sampling.OrekitStepInterpolator;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.PVCoordinates;
+import org.orekit.utils.ParallelExecution;
+
+/** Finder for visibility windows between many ground stations and many satellites.
+ * <p>
+ * Computing visibility windows for a large number of station/satellite
+ * pairs by adding one {@link ElevationDetector} per pair to separate
+ * propagations is costly, as each pair requires evaluating the satellite
+ * state and the elevation at a high rate throughout the search interval,
+ * even when the satellite is far below the station horizon. This finder
+ * is designed for this use case:
+ * </p>
+ * <ul>
+ *   <li>the satellites trajectories are provided as {@link BoundedPropagator
+ *   bounded propagators} (typically {@link org.orekit.propagation.analytical.Ephemeris
+ *   ephemerides}), which allow random access to states,</li>
+ *   <li>each satellite trajectory is first sampled on a coarse grid and each
+ *   coarse interval is enclosed in a bounding sphere in the body frame,</li>
+ *   <li>for each station, the intervals for which the bounding sphere is
+ *   entirely outside of the station visibility cone (i.e. below the lowest
+ *   elevation defined by the detector minimum elevation or mask) are pruned
+ *   without further computation,</li>
+ *   <li>the remaining intervals are searched using the station {@link
+ *   ElevationDetector} itself, with the same {@link EventState} machinery
+ *   used by propagators, so rise and set dates have the same accuracy
+ *   as with a regular propagation,</li>
+ *   <li>culminations are located within each window using an {@link
+ *   ElevationExtremumDetector} with the same settings as the station detector,</li>
+ *   <li>states are computed on a fine grid shared by all stations and cached,
+ *   so stations seeing the same satellite at the same time reuse the states,</li>
+ *   <li>if an executor service is provided, satellites are processed in parallel.</li>
+ * </ul>
+ * <p>
+ * The stations are defined by {@link ElevationDetector elevation detectors},
+ * with their {@link ElevationDetector#getTopocentricFrame() topocentric frame},
+ * {@link ElevationDetector#withConstantElevation(double) minimum elevation} or
+ * {@link ElevationDetector#withElevationMask(org.orekit.utils.ElevationMask)
+ * elevation mask}, {@link ElevationDetector#withRefraction(org.orekit.models.AtmosphericRefractionModel)
+ * refraction model}, {@link ElevationDetector#getMaxCheckInterval() max check interval}
+ * and {@link ElevationDetector#getThreshold() convergence threshold}. The event handlers
+ * of these detectors are ignored. When a refraction model is used, a conservative margin
+ * of 2 degrees is removed from the elevation used for pruning.
+ * </p>
+ * <p>
+ * The bounding spheres are built from the chord between coarse grid points, enlarged
+ * according to an acceleration bound of 12 m/s² in the body frame, which holds for
+ * satellites orbiting the Earth. Within this assumption, no visibility window can be
+ * pruned by mistake. The coarse step must remain small with respect to the orbital
+ * period (a few minutes for low Earth orbits) for the spheres to be small and pruning
+ * to be efficient.
+ * </p>
+ * @see AccessWindow
+ * @author Luc Maisonobe
+ * @since 9.0
+ */
+public class AccessFinder {
+
+    /** Maximum number of states cached for each satellite. */
+    private static final int STATES_CACHE_SIZE = 4096;
+
+    /** Elevation margin for pruning when a refraction model is used. */
+    private static final double REFRACTION_MARGIN = FastMath.toRadians(2.0);
+
+    /** Step of the coarse grid used for pruning. */
+    private final double coarseStep;
+
+    /** Executor service for processing satellites in parallel (null for sequential processing). */
+    private final ExecutorService executor;
+
+    /** Build a finder processing satellites sequentially.
+     * @param coarseStep step of the coarse grid used for pruning (s)
+     */
+    public AccessFinder(final double coarseStep) {
+        this(coarseStep, null);
+    }
+
+    /** Build a finder processing satellites in parallel.
+     * @param coarseStep step of the coarse grid used for pruning (s)
+     * @param executor executor service for processing satellites in parallel
+     * (if null, satellites are processed sequentially)
+     */
+    public AccessFinder(final double coarseStep, final ExecutorService executor) {
+        if (coarseStep <= 0) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED,
+                                                     coarseStep, 0.0);
+        }
+        this.coarseStep = coarseStep;
+        this.executor   = executor;
+    }
+
+    /** Find the visibility windows.
+     * <p>
+     * The windows are sorted by satellite index, then by station index, then
+     * chronologically.
+     * </p>
+     * @param stations stations, defined by their elevation detectors
+     * @param satellites satellites trajectories
+     * @param start start of the search interval
+     * @param end end of the search interval (must be after start)
+     * @return visibility windows
+     * @exception OrekitException if some state cannot be computed
+     */
+    public List<AccessWindow> findAccesses(final List<ElevationDetector> stations,
+                                           final List<? extends BoundedPropagator> satellites,
+                                           final AbsoluteDate start, final AbsoluteDate end)
+        throws OrekitException {
+
+        final double duration = end.durationFrom(start);
+        if (duration <= 0) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED,
+                                                     duration, 0.0);
+        }
+
+        // prepare stations
+        final List<Station> prepared = new ArrayList<Station>(stations.size());
+        double minCheck = Double.POSITIVE_INFINITY;
+        for (final ElevationDetector detector : stations) {
+            prepared.add(new Station(detector, start));
+            minCheck = FastMath.min(minCheck, detector.getMaxCheckInterval());
+        }
+
+        // set up the grids, the coarse grid points being a subset of the fine grid points
+        final int    coarseSize = FastMath.max(1, (int) FastMath.ceil(duration / coarseStep));
+        final double h          = duration / coarseSize;
+        final int    ratio      = FastMath.max(1, (int) FastMath.ceil(h / minCheck));
+        final Grid   grid       = new Grid(start, end, coarseSize, ratio, h / ratio);
+
+        // process satellites
+        final List<AccessWindow> windows = new ArrayList<AccessWindow>();
+        if (executor == null) {
+            for (int i = 0; i < satellites.size(); ++i) {
+                windows.addAll(new SatelliteTask(prepared, i, satellites.get(i), grid).call());
+            }
+        } else {
+            final List<SatelliteTask> tasks = new ArrayList<SatelliteTask>(satellites.size());
+            for (int i = 0; i < satellites.size(); ++i) {
+                tasks.add(new SatelliteTask(prepared, i, satellites.get(i), grid));
+            }
+            for (final List<AccessWindow> satelliteWindows : ParallelExecution.invokeAll(executor, tasks)) {
+                windows.addAll(satelliteWindows);
+            }
+        }
+
+        return windows;
+
+    }
+
+    /** Sampling grids shared by all stations and satellites. */
+    private static class Grid {
+
+        /** Start of the search interval. */
+        private final AbsoluteDate start;
+
+        /** End of the search interval. */
+        private final AbsoluteDate end;
+
+        /** Number of coarse intervals. */
+        private final int coarseSize;
+
+        /** Number of fine intervals in each coarse interval. */
+        private final int ratio;
+
+        /** Fine step. */
+        private final double fineStep;
+
+        /** Simple constructor.
+         * @param start start of the search interval
+         * @param end end of the search interval
+         * @param coarseSize number of coarse intervals
+         * @param ratio number of fine intervals in each coarse interval
+         * @param fineStep fine step
+         */
+        Grid(final AbsoluteDate start, final AbsoluteDate end,
+             final int coarseSize, final int ratio, final double fineStep) {
+            this.start      = start;
+            this.end        = end;
+            this.coarseSize = coarseSize;
+            this.ratio      = ratio;
+            this.fineStep   = fineStep;
+        }
+
+        /** Get a coarse grid date.
+         * @param k index of the coarse grid point
+         * @return date of the coarse grid point
+         */
+        AbsoluteDate getCoarseDate(final int k) {
+            return (k == coarseSize) ? end : start.shiftedBy((k * ratio) * fineStep);
+        }
+
+    }
+
+    /** Station data prepared for pruning. */
+    private static class Station {
+
+        /** Elevation detector defining the station. */
+        private final ElevationDetector detector;
+
+        /** Body frame. */
+        private final Frame bodyFrame;
+
+        /** Station position in body frame. */
+        private final Vector3D position;
+
+        /** Station zenith in body frame. */
+        private final Vector3D zenith;
+
+        /** Lowest possible true elevation for visibility. */
+        private final double lowestElevation;
+
+        /** Simple constructor.
+         * @param detector elevation detector defining the station
+         * @param date date at which station position is computed
+         * @exception OrekitException if station position cannot be computed
+         */
+        Station(final ElevationDetector detector, final AbsoluteDate date)
+            throws OrekitException {
+            final TopocentricFrame topo = detector.getTopocentricFrame();
+            this.detector  = detector;
+            this.bodyFrame = topo.getParentShape().getBodyFrame();
+            this.position  = topo.getTransformTo(bodyFrame, date).transformPosition(Vector3D.ZERO);
+            this.zenith    = topo.getZenith();
+            final double elevation = (detector.getElevationMask() == null) ?
+                                     detector.getMinElevation() :
+                                     detector.getElevationMask().getMinElevation();
+            this.lowestElevation = (detector.getRefractionModel() == null) ?
+                                   elevation : elevation - REFRACTION_MARGIN;
+        }
+
+        /** Check if a satellite may be visible within a bounding sphere.
+         * @param sphere bounding sphere, as an array containing center
+         * coordinates in body frame and radius
+         * @return true if the satellite may be visible
+         */
+        boolean mayBeVisible(final double[] sphere) {
+            final double dx       = sphere[0] - position.getX();
+            final double dy       = sphere[1] - position.getY();
+            final double dz       = sphere[2] - position.getZ();
+            final double distance = FastMath.sqrt(dx * dx + dy * dy + dz * dz);
+            if (distance <= sphere[3]) {
+                // the station is inside the bounding sphere
+                return true;
+            }
+            final double sinCenter  = (dx * zenith.getX() + dy * zenith.getY() + dz * zenith.getZ()) / distance;
+            final double maxElevation = FastMath.asin(FastMath.max(-1.0, FastMath.min(1.0, sinCenter))) +
+                                        FastMath.asin(sphere[3] / distance);
+            return maxElevation >= lowestElevation;
+        }
+
+    }
+
+    /** Task finding all visibility windows for one satellite. */
+    private static class SatelliteTask implements Callable<List<AccessWindow>> {
+
+        /** Stations. */
+        private final List<Station> stations;
+
+        /** Index of the satellite. */
+        private final int satelliteIndex;
+
+        /** Sampling grids. */
+        private final Grid grid;
+
+        /** Interpolator providing satellite states. */
+        private final PropagatorInterpolator interpolator;
+
+        /** Simple constructor.
+         * @param stations stations
+         * @param satelliteIndex index of the satellite
+         * @param propagator satellite trajectory
+         * @param grid sampling grids
+         */
+        SatelliteTask(final List<Station> stations, final int satelliteIndex,
+                      final BoundedPropagator propagator, final Grid grid) {
+            this.stations       = stations;
+            this.satelliteIndex = satelliteIndex;
+            this.grid           = grid;
+            this.interpolator   = new PropagatorInterpolator(propagator);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public List<AccessWindow> call() throws OrekitException {
+
+            // sample the trajectory on the coarse grid
+            final SpacecraftState[] coarse = new SpacecraftState[grid.coarseSize + 1];
+            for (int k = 0; k <= grid.coarseSize; ++k) {
+                coarse[k] = interpolator.getInterpolatedState(grid.getCoarseDate(k));
+            }
+
+            final Map<Frame, double[][]> spheresMap = new HashMap<Frame, double[][]>();
+            final List<AccessWindow> windows = new ArrayList<AccessWindow>();
+            for (int i = 0; i < stations.size(); ++i) {
+
+                final Station station = stations.get(i);
+                double[][] spheres = spheresMap.get(station.bodyFrame);
+                if (spheres == null) {
+                    spheres = boundingSpheres(coarse, station.bodyFrame);
+                    spheresMap.put(station.bodyFrame, spheres);
+                }
+
+                // search visibility only in merged intervals that were not pruned
+                int k = 0;
+                while (k < grid.coarseSize) {
+                    if (station.mayBeVisible(spheres[k])) {
+                        int kEnd = k + 1;
+                        while (kEnd < grid.coarseSize && station.mayBeVisible(spheres[kEnd])) {
+                            ++kEnd;
+                        }
+                        search(i, station, coarse[k], coarse[kEnd], windows);
+                        k = kEnd;
+                    } else {
+                        ++k;
+                    }
+                }
+
+            }
+
+            return windows;
+
+        }
+
+        /** Compute the bounding spheres of all coarse intervals.
+         * @param coarse states on the coarse grid
+         * @param bodyFrame body frame in which spheres should be computed
+         * @return bounding spheres, as arrays containing center coordinates and radius
+         * @exception OrekitException if states cannot be converted to body frame
+         */
+        private double[][] boundingSpheres(final SpacecraftState[] coarse, final Frame bodyFrame)
+            throws OrekitException {
+            final double[][] spheres = new double[coarse.length - 1][];
+            PVCoordinates pv1 = coarse[0].getPVCoordinates(bodyFrame);
+            for (int k = 0; k < spheres.length; ++k) {
+                final PVCoordinates pv0 = pv1;
+                pv1 = coarse[k + 1].getPVCoordinates(bodyFrame);
+                final double dt = coarse[k + 1].getDate().durationFrom(coarse[k].getDate());
+                spheres[k] = new double[4];
+                BoundingSpheres.compute(pv0, pv1, dt, BoundingSpheres.DEFAULT_MAX_ACCELERATION,
+                                        spheres[k], 0);
+            }
+            return spheres;
+        }
+
+        /** Search visibility windows in an interval.
+         * @param stationIndex index of the station
+         * @param station station
+         * @param s0 state at interval start
+         * @param s1 state at interval end
+         * @param windows list where found windows should be added
+         * @exception OrekitException if some state cannot be computed
+         */
+        private void search(final int stationIndex, final Station station,
+                            final SpacecraftState s0, final SpacecraftState s1,
+                            final List<AccessWindow> windows)
+            throws OrekitException {
+
+            final DirectionRecorder<ElevationDetector> recorder = new DirectionRecorder<ElevationDetector>();
+            final ElevationDetector detector = station.detector.withHandler(recorder);
+            final EventState<ElevationDetector> eventState = new EventState<ElevationDetector>(detector);
+            interpolator.setInterval(s0, s1);
+            eventState.init(s0, s1.getDate());
+            eventState.reinitializeBegin(interpolator);
+
+            AbsoluteDate windowStart = (detector.g(s0) > 0) ? s0.getDate() : null;
+            boolean      rise        = false;
+            while (eventState.evaluateStep(interpolator, grid.start, grid.fineStep)) {
+                final SpacecraftState state = interpolator.getInterpolatedState(eventState.getEventDate());
+                eventState.doEvent(state);
+                if (recorder.increasing) {
+                    windowStart = state.getDate();
+                    rise        = true;
+                } else if (windowStart != null) {
+                    windows.add(buildWindow(stationIndex, station, windowStart, rise, state.getDate(), true));
+                    windowStart = null;
+                }
+            }
+
+            if (windowStart != null) {
+                // the satellite is still visible at interval end
+                windows.add(buildWindow(stationIndex, station, windowStart, rise, s1.getDate(), false));
+            }
+
+        }
+
+        /** Build a visibility window, locating its culmination.
+         * @param stationIndex index of the station
+         * @param station station
+         * @param start start date of the window
+         * @param rise if true, the start date corresponds to a real rise
+         * @param end end date of the window
+         * @param set if true, the end date corresponds to a real set
+         * @return visibility window
+         * @exception OrekitException if some state cannot be computed
+         */
+        private AccessWindow buildWindow(final int stationIndex, final Station station,
+                                         final AbsoluteDate start, final boolean rise,
+                                         final AbsoluteDate end, final boolean set)
+            throws OrekitException {
+
+            final DirectionRecorder<ElevationExtremumDetector> recorder =
+                            new DirectionRecorder<ElevationExtremumDetector>();
+            final ElevationExtremumDetector detector =
+                            new ElevationExtremumDetector(station.detector.getMaxCheckInterval(),
+                                                          station.detector.getThreshold(),
+                                                          station.detector.getTopocentricFrame()).
+                            withHandler(recorder);
+            final EventState<ElevationExtremumDetector> eventState =
+                            new EventState<ElevationExtremumDetector>(detector);
+            final SpacecraftState s0 = interpolator.getInterpolatedState(start);
+            final SpacecraftState s1 = interpolator.getInterpolatedState(end);
+            interpolator.setInterval(s0, s1);
+            eventState.init(s0, end);
+            eventState.reinitializeBegin(interpolator);
+
+            // start with the highest window boundary
+            final double e0 = detector.getElevation(s0);
+            final double e1 = detector.getElevation(s1);
+            AbsoluteDate culmination = (e0 >= e1) ? start : end;
+            double       elevation   = FastMath.max(e0, e1);
+
+            // look for elevation maxima within the window
+            while (eventState.evaluateStep(interpolator, grid.start, grid.fineStep)) {
+                final SpacecraftState state = interpolator.getInterpolatedState(eventState.getEventDate());
+                eventState.doEvent(state);
+                if (!recorder.increasing) {
+                    final double e = detector.getElevation(state);
+                    if (e > elevation) {
+                        culmination = state.getDate();
+                        elevation   = e;
+                    }
+                }
+            }
+
+            return new AccessWindow(stationIndex, satelliteIndex, start, rise, end, set, culmination, elevation);
+
+        }
+
+    }
+
+    /** Handler recording the direction of the last event.
+     * @param <T> type of the detector
+     */
+    private static class DirectionRecorder<T extends EventDetector> implements EventHandler<T> {
+
+        /** Direction of the last event. */
+        private boolean increasing;
+
+        /** {@inheritDoc} */
+        @Override
+        public Action eventOccurred(final SpacecraftState s, final T detector, final boolean isIncreasing) {
+            this.increasing = isIncreasing;
+            return Action.CONTINUE;
+        }
+
+    }
+
+    /** Interpolator providing states from a bounded propagator, with a cache. */
+    private static class PropagatorInterpolator implements OrekitStepInterpolator {
+
+        /** Satellite trajectory. */
+        private final BoundedPropagator propagator;
+
+        /** Cache for states. */
+        private final Map<AbsoluteDate, SpacecraftState> cache;
+
+        /** State at interval start. */
+        private SpacecraftState previous;
+
+        /** State at interval end. */
+        private SpacecraftState current;
+
+        /** Simple constructor.
+         * @param propagator satellite trajectory
+         */
+        PropagatorInterpolator(final BoundedPropagator propagator) {
+            this.propagator = propagator;
+            this.cache      = new LinkedHashMap<AbsoluteDate, SpacecraftState>(STATES_CACHE_SIZE, 0.75f, true) {
+
+                /** Serializable UID. */
+                private static final long serialVersionUID = 20170315L;
+
+                /** {@inheritDoc} */
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<AbsoluteDate, SpacecraftState> eldest) {
+                    return size() > STATES_CACHE_SIZE;
+                }
+
+            };
+        }
+
+        /** Set the current interval.
+         * @param s0 state at interval start
+         * @param s1 state at interval end
+         */
+        void setInterval(final SpacecraftState s0, final SpacecraftState s1) {
+            this.previous = s0;
+            this.current  = s1;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public SpacecraftState getPreviousState() {
+            return previous;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean isPreviousStateInterpolated() {
+            return false;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public SpacecraftState getCurrentState() {
+            return current;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean isCurrentStateInterpolated() {
+            return false;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public SpacecraftState getInterpolatedState(final AbsoluteDate date)
+            throws OrekitException {
+            SpacecraftState state = cache.get(date);
+            if (state == null) {
+                state = propagator.propagate(date);
+                cache.put(date, state);
+            }
+            return state;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean isForward() {
+            return true;
+        }
+
+    }
+
+}
@@ -0,0 +1,146 @@
+/* Copyright 2002-2016 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.events;
+
+import org.orekit.time.AbsoluteDate;
+
+/** Container for one station-to-satellite visibility window.
+ * <p>
+ * Instances of this class are produced by {@link AccessFinder}.
+ * </p>
+ * @see AccessFinder
+ * @author Luc Maisonobe
+ * @since 9.0
+ */
+public class AccessWindow {
+
+    /** Index of the station. */
+    private final int stationIndex;
+
+    /** Index of the satellite. */
+    private final int satelliteIndex;
+
+    /** Start date of the window. */
+    private final AbsoluteDate start;
+
+    /** Indicator for start date corresponding to a real rise. */
+    private final boolean rise;
+
+    /** End date of the window. */
+    private final AbsoluteDate end;
+
+    /** Indicator for end date corresponding to a real set. */
+    private final boolean set;
+
+    /** Culmination date. */
+    private final AbsoluteDate culmination;
+
+    /** Elevation at culmination. */
+    private final double culminationElevation;
+
+    /** Simple constructor.
+     * @param stationIndex index of the station
+     * @param satelliteIndex index of the satellite
+     * @param start start date of the window
+     * @param rise if true, the start date corresponds to a real rise,
+     * otherwise it is the start of the search interval
+     * @param end end date of the window
+     * @param set if true, the end date corresponds to a real set,
+     * otherwise it is the end of the search interval
+     * @param culmination culmination date
+     * @param culminationElevation elevation at culmination (rad)
+     */
+    public AccessWindow(final int stationIndex, final int satelliteIndex,
+                        final AbsoluteDate start, final boolean rise,
+                        final AbsoluteDate end, final boolean set,
+                        final AbsoluteDate culmination, final double culminationElevation) {
+        this.stationIndex         = stationIndex;
+        this.satelliteIndex       = satelliteIndex;
+        this.start                = start;
+        this.rise                 = rise;
+        this.end                  = end;
+        this.set                  = set;
+        this.culmination          = culmination;
+        this.culminationElevation = culminationElevation;
+    }
+
+    /** Get the index of the station.
+     * @return index of the station in the list provided to the finder
+     */
+    public int getStationIndex() {
+        return stationIndex;
+    }
+
+    /** Get the index of the satellite.
+     * @return index of the satellite in the list provided to the finder
+     */
+    public int getSatelliteIndex() {
+        return satelliteIndex;
+    }
+
+    /** Get the start date of the window.
+     * @return start date of the window
+     * @see #isRise()
+     */
+    public AbsoluteDate getStart() {
+        return start;
+    }
+
+    /** Check if the start date corresponds to a real rise.
+     * @return true if the start date corresponds to a real rise, false if
+     * the satellite was already visible at the start of the search interval
+     */
+    public boolean isRise() {
+        return rise;
+    }
+
+    /** Get the end date of the window.
+     * @return end date of the window
+     * @see #isSet()
+     */
+    public AbsoluteDate getEnd() {
+        return end;
+    }
+
+    /** Check if the end date corresponds to a real set.
+     * @return true if the end date corresponds to a real set, false if
+     * the satellite was still visible at the end of the search interval
+     */
+    public boolean isSet() {
+        return set;
+    }
+
+    /** Get the culmination date.
+     * <p>
+     * If the window is truncated by the search interval and the elevation
+     * is monotonic within the window, the culmination is the window boundary
+     * with the highest elevation.
+     * </p>
+     * @return culmination date
+     */
+    public AbsoluteDate getCulmination() {
+        return culmination;
+    }
+
+    /** Get the geometric elevation at culmination.
+     * @return geometric elevation at culmination, without refraction (rad)
+     */
+    public double getCulminationElevation() {
+        return culminationElevation;
+    }
+
+}
@@ -0,0 +1,74 @@
+/* Copyright 2002-2016 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.events;
+
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.orekit.utils.PVCoordinates;
+
+/** Utility class for bounding spheres of trajectory arcs.
+ * <p>
+ * If the acceleration norm remains below some bound A along an arc of
+ * duration dt, the distance between the trajectory and the chord joining
+ * the arc ends is at most A t (dt - t) / 2 &le; A dt<sup>2</sup> / 8 (this is
+ * the classical remainder of linear interpolation). The sphere centered on
+ * the chord middle point, with radius half the chord length plus A dt<sup>2</sup> / 8,
+ * therefore contains the whole arc. The enclosure is guaranteed as long as
+ * the acceleration bound holds, regardless of the sampling step.
+ * </p>
+ * @see AccessFinder
+ * @see ConjunctionFinder
+ * @author Luc Maisonobe
+ * @since 9.0
+ */
+class BoundingSpheres {
+
+    /** Default bound for acceleration norm (m/s²).
+     * <p>
+     * This bound is larger than Earth gravity at equator (9.8 m/s²) plus
+     * the Coriolis and centrifugal accelerations of low Earth orbits in
+     * an Earth-fixed frame (about 1.2 m/s²).
+     * </p>
+     */
+    static final double DEFAULT_MAX_ACCELERATION = 12.0;
+
+    /** Private constructor.
+     * <p>This class is a utility class, it should neither have a public
+     * nor a default constructor. This private constructor prevents
+     * the compiler from generating one automatically.</p>
+     */
+    private BoundingSpheres() {
+    }
+
+    /** Compute the bounding sphere of an arc.
+     * @param pv0 coordinates at arc start
+     * @param pv1 coordinates at arc end
+     * @param dt arc duration
+     * @param maxAcceleration bound for acceleration norm along the arc
+     * @param sphere placeholder for center coordinates and radius
+     * @param offset index of the first sphere element in the placeholder
+     */
+    static void compute(final PVCoordinates pv0, final PVCoordinates pv1, final double dt,
+                        final double maxAcceleration, final double[] sphere, final int offset) {
+        final Vector3D p0 = pv0.getPosition();
+        final Vector3D p1 = pv1.getPosition();
+        sphere[offset]     = 0.5 * (p0.getX() + p1.getX());
+        sphere[offset + 1] = 0.5 * (p0.getY() + p1.getY());
+        sphere[offset + 2] = 0.5 * (p0.getZ() + p1.getZ());
+        sphere[offset + 3] = 0.5 * Vector3D.distance(p0, p1) + 0.125 * maxAcceleration * dt * dt;
+    }
+
+}
@@ -0,0 +1,99 @@
+/* Copyright 2002-2016 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.events;
+
+import org.orekit.time.AbsoluteDate;
+
+/** Container for one close approach between two objects.
+ * <p>
+ * Instances of this class are produced by {@link ConjunctionFinder}.
+ * </p>
+ * @see ConjunctionFinder
+ * @author Luc Maisonobe
+ * @since 9.0
+ */
+public class Conjunction {
+
+    /** Index of the first object. */
+    private final int firstIndex;
+
+    /** Index of the second object. */
+    private final int secondIndex;
+
+    /** Time of closest approach. */
+    private final AbsoluteDate date;
+
+    /** Miss distance. */
+    private final double missDistance;
+
+    /** Relative speed at closest approach. */
+    private final double relativeSpeed;
+
+    /** Simple constructor.
+     * @param firstIndex index of the first object
+     * @param secondIndex index of the second object
+     * @param date time of closest approach
+     * @param missDistance miss distance (m)
+     * @param relativeSpeed relative speed at closest approach (m/s)
+     */
+    public Conjunction(final int firstIndex, final int secondIndex, final AbsoluteDate date,
+                       final double missDistance, final double relativeSpeed) {
+        this.firstIndex    = firstIndex;
+        this.secondIndex   = secondIndex;
+        this.date          = date;
+        this.missDistance  = missDistance;
+        this.relativeSpeed = relativeSpeed;
+    }
+
+    /** Get the index of the first object.
+     * @return index of the first object in the list provided to the finder
+     * (always smaller than {@link #getSecondIndex()})
+     */
+    public int getFirstIndex() {
+        return firstIndex;
+    }
+
+    /** Get the index of the second object.
+     * @return index of the second object in the list provided to the finder
+     * (always larger than {@link #getFirstIndex()})
+     */
+    public int getSecondIndex() {
+        return secondIndex;
+    }
+
+    /** Get the time of closest approach.
+     * @return time of closest approach
+     */
+    public AbsoluteDate getDate() {
+        return date;
+    }
+
+    /** Get the miss distance.
+     * @return miss distance (m)
+     */
+    public double getMissDistance() {
+        return missDistance;
+    }
+
+    /** Get the relative speed at closest approach.
+     * @return relative speed at closest approach (m/s)
+     */
+    public double getRelativeSpeed() {
+        return relativeSpeed;
+    }
+
+}
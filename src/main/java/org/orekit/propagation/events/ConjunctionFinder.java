@@ -0,0 +1,669 @@
+/* Copyright 2002-2016 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.events;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+
+import org.hipparchus.analysis.UnivariateFunction;
+import org.hipparchus.analysis.solvers.AllowedSolution;
+import org.hipparchus.analysis.solvers.BracketedUnivariateSolver;
+import org.hipparchus.analysis.solvers.BracketingNthOrderBrentSolver;
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.util.FastMath;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitExceptionWrapper;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.frames.Frame;
+import org.orekit.propagation.Propagator;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.PVCoordinates;
+import org.orekit.utils.ParallelExecution;
+
+/** Finder for close approaches within a catalog of objects.
+ * <p>
+ * Checking all pairs of a large catalog by computing their distances at a high
+ * rate is prohibitive, as the number of pairs grows quadratically with the
+ * catalog size. This finder uses a screening approach:
+ * </p>
+ * <ul>
+ *   <li>all objects are sampled on a common time grid, the search interval
+ *   being processed in chunks of a few time bins to limit memory consumption,</li>
+ *   <li>the trajectory of each object in each time bin is enclosed in a bounding
+ *   sphere centered on the chord between the grid points, whose radius accounts for
+ *   the maximum acceleration of the objects,</li>
+ *   <li>the radial extent of each object over a chunk (i.e. the sampled equivalent of
+ *   its perigee and apogee) is used to reject at once pairs of objects flying at
+ *   different altitudes,</li>
+ *   <li>the bounding spheres of each time bin are grouped in classes of similar radii,
+ *   each class being indexed in its own uniform spatial grid whose cells are larger than
+ *   the largest sphere diameter in the class plus the screening distance, so only objects
+ *   in neighboring cells need to be compared and a few large spheres (for example objects
+ *   close to perigee on highly eccentric orbits) do not coarsen the grid for the others,</li>
+ *   <li>candidate pairs, for which the bounding spheres are closer than the screening
+ *   distance, are refined by locating the roots of the range rate with a root finder,
+ *   which provides the times of closest approach.</li>
+ * </ul>
+ * <p>
+ * Sampling, screening and refinement are performed in parallel if an executor service
+ * is provided. The objects can be any {@link Propagator} allowing random access to
+ * states, typically {@link org.orekit.propagation.BoundedPropagator bounded propagators}
+ * or {@link org.orekit.propagation.analytical.tle.TLEPropagator TLE propagators}. The
+ * sampling step must remain small with respect to the orbital periods (a few minutes for
+ * low Earth orbits). Closest approaches located exactly at the boundaries of the search
+ * interval are not reported.
+ * </p>
+ * <p>
+ * The bounding spheres are guaranteed to enclose the trajectories as long as the
+ * acceleration norm of all objects in the finder frame remains below the configured
+ * bound. The default bound (12 m/s²) covers objects orbiting the Earth, including
+ * the inertial accelerations of low Earth orbits in an Earth-fixed frame. It must be
+ * increased for objects performing high thrust maneuvers, otherwise close approaches
+ * occurring during the maneuvers may be missed.
+ * </p>
+ * <p>
+ * As propagators are generally not thread-safe, each one is used by only one thread at
+ * a time. During sampling, each object belongs to a single task, so sampling scales with
+ * the number of threads. During refinement, one object may be involved in several candidate
+ * pairs refined by different tasks; these tasks are serialized on the object propagator
+ * (they synchronize on the propagator instance), so refinement of a catalog where one
+ * object has many close approaches does not benefit from parallelism. The propagators
+ * must not be used by other threads while the search is running.
+ * </p>
+ * @see Conjunction
+ * @author Luc Maisonobe
+ * @since 9.0
+ */
+public class ConjunctionFinder {
+
+    /** Number of time bins in each chunk. */
+    private static final int CHUNK_BINS = 64;
+
+    /** Number of objects sampled by each task. */
+    private static final int SAMPLING_BLOCK = 256;
+
+    /** Maximum number of evaluations for time of closest approach search. */
+    private static final int MAX_EVALUATIONS = 100;
+
+    /** Number of bits used for each cell index in spatial grid keys. */
+    private static final int CELL_BITS = 21;
+
+    /** Mask for cell indices in spatial grid keys. */
+    private static final long CELL_MASK = (1L << CELL_BITS) - 1;
+
+    /** Frame in which objects are sampled. */
+    private final Frame frame;
+
+    /** Screening distance. */
+    private final double screeningDistance;
+
+    /** Sampling step. */
+    private final double samplingStep;
+
+    /** Convergence threshold for times of closest approach. */
+    private final double threshold;
+
+    /** Bound for objects acceleration norm. */
+    private final double maxAcceleration;
+
+    /** Executor service for parallel processing (null for sequential processing). */
+    private final ExecutorService executor;
+
+    /** Build a finder with sequential processing.
+     * @param frame frame in which objects are sampled
+     * @param screeningDistance screening distance (m)
+     * @param samplingStep sampling step (s)
+     * @param threshold convergence threshold for times of closest approach (s)
+     */
+    public ConjunctionFinder(final Frame frame, final double screeningDistance,
+                             final double samplingStep, final double threshold) {
+        this(frame, screeningDistance, samplingStep, threshold, null);
+    }
+
+    /** Build a finder with parallel processing.
+     * <p>
+     * This constructor uses a default bound of 12 m/s² for objects acceleration.
+     * </p>
+     * @param frame frame in which objects are sampled
+     * @param screeningDistance screening distance (m)
+     * @param samplingStep sampling step (s)
+     * @param threshold convergence threshold for times of closest approach (s)
+     * @param executor executor service for parallel processing
+     * (if null, processing is sequential)
+     */
+    public ConjunctionFinder(final Frame frame, final double screeningDistance,
+                             final double samplingStep, final double threshold,
+                             final ExecutorService executor) {
+        this(frame, screeningDistance, samplingStep, threshold,
+             BoundingSpheres.DEFAULT_MAX_ACCELERATION, executor);
+    }
+
+    /** Build a finder with parallel processing and custom acceleration bound.
+     * @param frame frame in which objects are sampled
+     * @param screeningDistance screening distance (m)
+     * @param samplingStep sampling step (s)
+     * @param threshold convergence threshold for times of closest approach (s)
+     * @param maxAcceleration bound for objects acceleration norm in the
+     * finder frame (m/s²)
+     * @param executor executor service for parallel processing
+     * (if null, processing is sequential)
+     */
+    public ConjunctionFinder(final Frame frame, final double screeningDistance,
+                             final double samplingStep, final double threshold,
+                             final double maxAcceleration, final ExecutorService executor) {
+        checkPositive(screeningDistance);
+        checkPositive(samplingStep);
+        checkPositive(threshold);
+        checkPositive(maxAcceleration);
+        this.frame             = frame;
+        this.screeningDistance = screeningDistance;
+        this.samplingStep      = samplingStep;
+        this.threshold         = threshold;
+        this.maxAcceleration   = maxAcceleration;
+        this.executor          = executor;
+    }
+
+    /** Check a parameter is strictly positive.
+     * @param value parameter value
+     */
+    private static void checkPositive(final double value) {
+        if (value <= 0) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED,
+                                                     value, 0.0);
+        }
+    }
+
+    /** Find the close approaches.
+     * <p>
+     * The close approaches are sorted chronologically.
+     * </p>
+     * @param objects objects trajectories
+     * @param start start of the search interval
+     * @param end end of the search interval (must be after start)
+     * @return close approaches with miss distance smaller than screening distance
+     * @exception OrekitException if some state cannot be computed
+     */
+    public List<Conjunction> findConjunctions(final List<? extends Propagator> objects,
+                                              final AbsoluteDate start, final AbsoluteDate end)
+        throws OrekitException {
+
+        final double duration = end.durationFrom(start);
+        checkPositive(duration);
+        final int    bins = FastMath.max(1, (int) FastMath.ceil(duration / samplingStep));
+        final Grid   grid = new Grid(objects, start, end, bins, duration / bins);
+
+        // screening, by chunks of time bins
+        final Map<Long, List<Integer>> candidates = new LinkedHashMap<Long, List<Integer>>();
+        for (int chunkStart = 0; chunkStart < bins; chunkStart += CHUNK_BINS) {
+
+            // sample all objects over the chunk
+            final Chunk chunk = new Chunk(objects.size(), chunkStart, FastMath.min(CHUNK_BINS, bins - chunkStart));
+            final List<Task<Void>> samplingTasks = new ArrayList<Task<Void>>();
+            for (int first = 0; first < objects.size(); first += SAMPLING_BLOCK) {
+                final int blockStart = first;
+                final int blockEnd   = FastMath.min(objects.size(), first + SAMPLING_BLOCK);
+                samplingTasks.add(() -> {
+                    for (int i = blockStart; i < blockEnd; ++i) {
+                        chunk.sample(grid, i, maxAcceleration);
+                    }
+                    return null;
+                });
+            }
+            run(samplingTasks);
+
+            // screen each time bin
+            final List<Task<long[]>> screeningTasks = new ArrayList<Task<long[]>>();
+            for (int b = 0; b < chunk.size; ++b) {
+                final int bin = b;
+                screeningTasks.add(() -> chunk.screen(bin, screeningDistance));
+            }
+            final List<long[]> screened = run(screeningTasks);
+            for (int b = 0; b < chunk.size; ++b) {
+                for (final long key : screened.get(b)) {
+                    List<Integer> pairBins = candidates.get(key);
+                    if (pairBins == null) {
+                        pairBins = new ArrayList<Integer>();
+                        candidates.put(key, pairBins);
+                    }
+                    pairBins.add(chunkStart + b);
+                }
+            }
+
+        }
+
+        // refine candidate pairs
+        final List<Task<List<Conjunction>>> refinementTasks = new ArrayList<Task<List<Conjunction>>>();
+        for (final Map.Entry<Long, List<Integer>> entry : candidates.entrySet()) {
+            final int i = (int) (entry.getKey() / objects.size());
+            final int j = (int) (entry.getKey() % objects.size());
+            refinementTasks.add(() -> refine(grid, i, j, entry.getValue()));
+        }
+        final List<Conjunction> conjunctions = new ArrayList<Conjunction>();
+        for (final List<Conjunction> list : run(refinementTasks)) {
+            conjunctions.addAll(list);
+        }
+
+        Collections.sort(conjunctions, new Comparator<Conjunction>() {
+            /** {@inheritDoc} */
+            @Override
+            public int compare(final Conjunction c1, final Conjunction c2) {
+                final int c = c1.getDate().compareTo(c2.getDate());
+                if (c != 0) {
+                    return c;
+                }
+                return (c1.getFirstIndex() != c2.getFirstIndex()) ?
+                       Integer.compare(c1.getFirstIndex(), c2.getFirstIndex()) :
+                       Integer.compare(c1.getSecondIndex(), c2.getSecondIndex());
+            }
+        });
+
+        return conjunctions;
+
+    }
+
+    /** Refine a candidate pair.
+     * @param grid sampling grid
+     * @param i index of the first object
+     * @param j index of the second object
+     * @param pairBins time bins in which the pair is a candidate
+     * @return close approaches found
+     * @exception OrekitException if some state cannot be computed
+     */
+    private List<Conjunction> refine(final Grid grid, final int i, final int j, final List<Integer> pairBins)
+        throws OrekitException {
+
+        final List<Conjunction> conjunctions = new ArrayList<Conjunction>();
+        final BracketedUnivariateSolver<UnivariateFunction> solver =
+                        new BracketingNthOrderBrentSolver(0, threshold, 0, 5);
+
+        int index = 0;
+        while (index < pairBins.size()) {
+
+            // merge consecutive bins
+            final int kStart = pairBins.get(index);
+            int kEnd = kStart + 1;
+            while (++index < pairBins.size() && pairBins.get(index) == kEnd) {
+                ++kEnd;
+            }
+
+            // look for range rate sign changes from negative to positive
+            AbsoluteDate ta = grid.getDate(kStart);
+            double       fa = rangeRate(grid, i, j, ta);
+            for (int k = kStart + 1; k <= kEnd; ++k) {
+                final AbsoluteDate tb = grid.getDate(k);
+                final double       fb = rangeRate(grid, i, j, tb);
+                if (fa < 0 && fb >= 0) {
+
+                    // locate time of closest approach
+                    final AbsoluteDate t0 = ta;
+                    final UnivariateFunction f = dt -> {
+                        try {
+                            return rangeRate(grid, i, j, t0.shiftedBy(dt));
+                        } catch (OrekitException oe) {
+                            throw new OrekitExceptionWrapper(oe);
+                        }
+                    };
+                    final double dtRoot;
+                    try {
+                        dtRoot = solver.solve(MAX_EVALUATIONS, f, 0, tb.durationFrom(ta), AllowedSolution.ANY_SIDE);
+                    } catch (OrekitExceptionWrapper oew) {
+                        throw oew.getException();
+                    }
+                    final AbsoluteDate  tca = ta.shiftedBy(dtRoot);
+                    final PVCoordinates pvi = grid.getPV(i, tca);
+                    final PVCoordinates pvj = grid.getPV(j, tca);
+                    final double distance = Vector3D.distance(pvi.getPosition(), pvj.getPosition());
+                    if (distance <= screeningDistance) {
+                        conjunctions.add(new Conjunction(i, j, tca, distance,
+                                                         Vector3D.distance(pvi.getVelocity(), pvj.getVelocity())));
+                    }
+
+                }
+                ta = tb;
+                fa = fb;
+            }
+
+        }
+
+        return conjunctions;
+
+    }
+
+    /** Compute the range rate between two objects.
+     * @param grid sampling grid
+     * @param i index of the first object
+     * @param j index of the second object
+     * @param date date
+     * @return range rate (scaled by range)
+     * @exception OrekitException if some state cannot be computed
+     */
+    private double rangeRate(final Grid grid, final int i, final int j, final AbsoluteDate date)
+        throws OrekitException {
+        final PVCoordinates pvi = grid.getPV(i, date);
+        final PVCoordinates pvj = grid.getPV(j, date);
+        return Vector3D.dotProduct(pvj.getPosition().subtract(pvi.getPosition()),
+                                   pvj.getVelocity().subtract(pvi.getVelocity()));
+    }
+
+    /** Run tasks, either sequentially or in parallel.
+     * @param tasks tasks to run
+     * @param <T> type of the tasks results
+     * @return tasks results, in tasks order
+     * @exception OrekitException if some task fails
+     */
+    private <T> List<T> run(final List<Task<T>> tasks) throws OrekitException {
+
+        if (executor == null) {
+            final List<T> results = new ArrayList<T>(tasks.size());
+            for (final Task<T> task : tasks) {
+                results.add(task.call());
+            }
+            return results;
+        }
+
+        return ParallelExecution.invokeAll(executor, tasks);
+
+    }
+
+    /** Task that can be run sequentially or in parallel.
+     * @param <T> type of the task result
+     */
+    private interface Task<T> extends Callable<T> {
+
+        /** {@inheritDoc} */
+        @Override
+        T call() throws OrekitException;
+
+    }
+
+    /** Sampling grid. */
+    private class Grid {
+
+        /** Objects trajectories. */
+        private final List<? extends Propagator> objects;
+
+        /** Start of the search interval. */
+        private final AbsoluteDate start;
+
+        /** End of the search interval. */
+        private final AbsoluteDate end;
+
+        /** Number of time bins. */
+        private final int bins;
+
+        /** Time step. */
+        private final double step;
+
+        /** Simple constructor.
+         * @param objects objects trajectories
+         * @param start start of the search interval
+         * @param end end of the search interval
+         * @param bins number of time bins
+         * @param step time step
+         */
+        Grid(final List<? extends Propagator> objects,
+             final AbsoluteDate start, final AbsoluteDate end,
+             final int bins, final double step) {
+            this.objects = objects;
+            this.start   = start;
+            this.end     = end;
+            this.bins    = bins;
+            this.step    = step;
+        }
+
+        /** Get a grid date.
+         * @param k index of the grid point
+         * @return date of the grid point
+         */
+        AbsoluteDate getDate(final int k) {
+            return (k == bins) ? end : start.shiftedBy(k * step);
+        }
+
+        /** Get the coordinates of an object.
+         * <p>
+         * As propagators are generally not thread-safe, calls for the
+         * same object are serialized by synchronizing on its propagator.
+         * </p>
+         * @param i index of the object
+         * @param date date
+         * @return coordinates of the object in finder frame
+         * @exception OrekitException if state cannot be computed
+         */
+        PVCoordinates getPV(final int i, final AbsoluteDate date) throws OrekitException {
+            final Propagator propagator = objects.get(i);
+            synchronized (propagator) {
+                return propagator.propagate(date).getPVCoordinates(frame);
+            }
+        }
+
+    }
+
+    /** Screening data for one chunk of time bins. */
+    private static class Chunk {
+
+        /** Index of the first time bin of the chunk. */
+        private final int first;
+
+        /** Number of time bins in the chunk. */
+        private final int size;
+
+        /** Bounding spheres of all objects, as center coordinates and radius for each time bin. */
+        private final double[][] spheres;
+
+        /** Minimum radius of all objects over the chunk. */
+        private final double[] rMin;
+
+        /** Maximum radius of all objects over the chunk. */
+        private final double[] rMax;
+
+        /** Simple constructor.
+         * @param objects number of objects
+         * @param first index of the first time bin of the chunk
+         * @param size number of time bins in the chunk
+         */
+        Chunk(final int objects, final int first, final int size) {
+            this.first   = first;
+            this.size    = size;
+            this.spheres = new double[objects][];
+            this.rMin    = new double[objects];
+            this.rMax    = new double[objects];
+        }
+
+        /** Sample one object over the chunk.
+         * @param grid sampling grid
+         * @param i index of the object
+         * @param maxAcceleration bound for acceleration norm
+         * @exception OrekitException if state cannot be computed
+         */
+        void sample(final Grid grid, final int i, final double maxAcceleration)
+            throws OrekitException {
+            final double[] s = new double[4 * size];
+            double min = Double.POSITIVE_INFINITY;
+            double max = 0;
+            PVCoordinates pv1 = grid.getPV(i, grid.getDate(first));
+            for (int b = 0; b < size; ++b) {
+                final PVCoordinates pv0 = pv1;
+                pv1 = grid.getPV(i, grid.getDate(first + b + 1));
+                final double dt = grid.getDate(first + b + 1).durationFrom(grid.getDate(first + b));
+                BoundingSpheres.compute(pv0, pv1, dt, maxAcceleration, s, 4 * b);
+                final double norm = FastMath.sqrt(s[4 * b]     * s[4 * b] +
+                                                  s[4 * b + 1] * s[4 * b + 1] +
+                                                  s[4 * b + 2] * s[4 * b + 2]);
+                min = FastMath.min(min, norm - s[4 * b + 3]);
+                max = FastMath.max(max, norm + s[4 * b + 3]);
+            }
+            spheres[i] = s;
+            rMin[i]    = min;
+            rMax[i]    = max;
+        }
+
+        /** Screen one time bin.
+         * @param b index of the time bin within the chunk
+         * @param distance screening distance
+         * @return keys of the candidate pairs
+         */
+        long[] screen(final int b, final double distance) {
+
+            final int n = spheres.length;
+
+            // group spheres by radius class (binary exponent of the radius),
+            // so a few large spheres do not coarsen the cells used for the others
+            final int[] classes = new int[n];
+            final Map<Integer, Layer> layersMap = new HashMap<Integer, Layer>();
+            for (int i = 0; i < n; ++i) {
+                final double r = spheres[i][4 * b + 3];
+                classes[i] = FastMath.getExponent(FastMath.max(r, Double.MIN_NORMAL));
+                Layer layer = layersMap.get(classes[i]);
+                if (layer == null) {
+                    layer = new Layer(classes[i]);
+                    layersMap.put(classes[i], layer);
+                }
+                layer.maxRadius = FastMath.max(layer.maxRadius, r);
+            }
+            final List<Layer> layers = new ArrayList<Layer>(layersMap.values());
+            Collections.sort(layers, (l1, l2) -> Integer.compare(l1.exponent, l2.exponent));
+
+            // spatial index of each class, as linked lists of objects in each cell;
+            // the cells must be large enough for all close pairs within the class
+            // to be in neighboring cells
+            final int[] next = new int[n];
+            for (final Layer layer : layers) {
+                layer.cellSize = 2 * layer.maxRadius + distance;
+            }
+            for (int i = 0; i < n; ++i) {
+                final Layer layer = layersMap.get(classes[i]);
+                final long  key   = cellKey(index(spheres[i][4 * b],     layer.cellSize),
+                                            index(spheres[i][4 * b + 1], layer.cellSize),
+                                            index(spheres[i][4 * b + 2], layer.cellSize));
+                final Integer head = layer.heads.get(key);
+                next[i] = (head == null) ? -1 : head;
+                layer.heads.put(key, i);
+            }
+
+            long[] pairs = new long[16];
+            int    count = 0;
+            for (int i = 0; i < n; ++i) {
+
+                final double xi = spheres[i][4 * b];
+                final double yi = spheres[i][4 * b + 1];
+                final double zi = spheres[i][4 * b + 2];
+                final double ri = spheres[i][4 * b + 3];
+
+                // compare with objects from the same class or from classes with larger
+                // spheres, whose cells are large enough for close pairs to be neighbors;
+                // each pair is therefore found once, from the object with smaller sphere
+                for (final Layer layer : layers) {
+                    if (layer.exponent < classes[i]) {
+                        continue;
+                    }
+                    final long ix = index(xi, layer.cellSize);
+                    final long iy = index(yi, layer.cellSize);
+                    final long iz = index(zi, layer.cellSize);
+                    for (long dx = -1; dx <= 1; ++dx) {
+                        for (long dy = -1; dy <= 1; ++dy) {
+                            for (long dz = -1; dz <= 1; ++dz) {
+                                final Integer head = layer.heads.get(cellKey(ix + dx, iy + dy, iz + dz));
+                                for (int j = (head == null) ? -1 : head; j >= 0; j = next[j]) {
+                                    if (layer.exponent == classes[i] && j >= i) {
+                                        // pair handled from the other object
+                                        continue;
+                                    }
+                                    if (rMin[i] > rMax[j] + distance || rMin[j] > rMax[i] + distance) {
+                                        // radial filter: the objects fly at different altitudes
+                                        continue;
+                                    }
+                                    final double ddx = xi - spheres[j][4 * b];
+                                    final double ddy = yi - spheres[j][4 * b + 1];
+                                    final double ddz = zi - spheres[j][4 * b + 2];
+                                    final double max = ri + spheres[j][4 * b + 3] + distance;
+                                    if (ddx * ddx + ddy * ddy + ddz * ddz <= max * max) {
+                                        if (count == pairs.length) {
+                                            final long[] tmp = new long[2 * pairs.length];
+                                            System.arraycopy(pairs, 0, tmp, 0, count);
+                                            pairs = tmp;
+                                        }
+                                        pairs[count++] = ((long) FastMath.min(i, j)) * n + FastMath.max(i, j);
+                                    }
+                                }
+                            }
+                        }
+                    }
+                }
+
+            }
+
+            final long[] result = new long[count];
+            System.arraycopy(pairs, 0, result, 0, count);
+            return result;
+
+        }
+
+        /** Compute the index of a spatial grid cell along one axis.
+         * @param x coordinate along the axis
+         * @param cellSize size of the cells
+         * @return index of the cell
+         */
+        private static long index(final double x, final double cellSize) {
+            return (long) FastMath.floor(x / cellSize);
+        }
+
+        /** Build the key of a spatial grid cell.
+         * @param ix index of the cell along X
+         * @param iy index of the cell along Y
+         * @param iz index of the cell along Z
+         * @return cell key
+         */
+        private static long cellKey(final long ix, final long iy, final long iz) {
+            return ((ix & CELL_MASK) << (2 * CELL_BITS)) | ((iy & CELL_MASK) << CELL_BITS) | (iz & CELL_MASK);
+        }
+
+    }
+
+    /** Spatial grid for one class of bounding spheres radii. */
+    private static class Layer {
+
+        /** Binary exponent of the spheres radii in the class. */
+        private final int exponent;
+
+        /** Heads of the linked lists of objects in each cell. */
+        private final Map<Long, Integer> heads;
+
+        /** Largest sphere radius in the class. */
+        private double maxRadius;
+
+        /** Size of the cells. */
+        private double cellSize;
+
+        /** Simple constructor.
+         * @param exponent binary exponent of the spheres radii in the class
+         */
+        Layer(final int exponent) {
+            this.exponent = exponent;
+            this.heads    = new HashMap<Long, Integer>();
+        }
+
+    }
+
+}
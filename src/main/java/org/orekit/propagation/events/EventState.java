@@ -244,6 +244,82 @@ public class EventState<T extends EventDetector> implements Serializable {
 
     }
 
+    /** Evaluate the impact of the proposed step on the event detector, sampling on a shared grid.
+     * <p>
+     * This method is similar to {@link #evaluateStep(OrekitStepInterpolator)}, but
+     * instead of sampling the step with points depending on the detector own
+     * start time, it uses a regular grid shared by all detectors, defined by
+     * its start date and its step. The detector only checks the grid points
+     * it needs to fulfill its own {@link EventDetector#getMaxCheckInterval()
+     * max check interval}, i.e. one point every {@code stride} grid points,
+     * plus the step end. As all detectors with the same max check interval
+     * sample the same dates, even after some of them have been restarted
+     * at an event date, the states at these dates can be interpolated only
+     * once if the interpolator caches them.
+     * </p>
+     * @param interpolator step interpolator for the proposed step
+     * @param gridStart start date of the shared grid
+     * @param gridStep step of the shared grid (must be non-zero, its sign
+     * must be consistent with propagation direction)
+     * @return true if the event detector triggers an event before
+     * the end of the proposed step (this implies the step should be
+     * rejected)
+     * @exception OrekitException if the switching function
+     * cannot be evaluated
+     * @exception MathRuntimeException if an event cannot be located
+     * @since 9.0
+     */
+    public boolean evaluateStep(final OrekitStepInterpolator interpolator,
+                                final AbsoluteDate gridStart, final double gridStep)
+        throws OrekitException, MathRuntimeException {
+
+        forward = interpolator.isForward();
+        final SpacecraftState s1 = interpolator.getCurrentState();
+        final AbsoluteDate t1 = s1.getDate();
+        final double dt = t1.durationFrom(t0);
+        if (FastMath.abs(dt) < detector.getThreshold()) {
+            // we cannot do anything on such a small step, don't trigger any events
+            return false;
+        }
+
+        // select the grid points checked by this detector
+        final int stride = FastMath.max(1, (int) FastMath.floor(detector.getMaxCheckInterval() / FastMath.abs(gridStep)));
+        final int last   = (int) FastMath.ceil(t1.durationFrom(gridStart) / gridStep);
+        final int first  = stride * FastMath.max(1, (int) FastMath.floor(t0.durationFrom(gridStart) / gridStep / stride));
+
+        AbsoluteDate ta = t0;
+        double ga = g0;
+        for (int k = first; k < last + stride; k += stride) {
+
+            // evaluate handler value at the grid point
+            final AbsoluteDate tb = (k >= last) ? t1 : gridStart.shiftedBy(k * gridStep);
+            if (!strictlyAfter(ta, tb)) {
+                // this grid point is before detector start time (may happen just after an event)
+                continue;
+            }
+            final double gb = g(interpolator.getInterpolatedState(tb));
+
+            // check events occurrence
+            if (gb == 0.0 || (g0Positive ^ (gb > 0))) {
+                // there is a sign change: an event is expected during this step
+                if (findRoot(interpolator, ta, ga, tb, gb)) {
+                    return true;
+                }
+            } else {
+                // no sign change: there is no event for now
+                ta = tb;
+                ga = gb;
+            }
+
+        }
+
+        // no event during the whole step
+        pendingEvent     = false;
+        pendingEventTime = null;
+        return false;
+
+    }
+
     /**
      * Find a root in a bracketing interval.
      *
@@ -17,12 +17,15 @@
 package org.orekit.propagation.integration;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.exception.MathRuntimeException;
 import org.hipparchus.ode.DenseOutputModel;
 import org.hipparchus.ode.EquationsMapper;
@@ -40,6 +43,7 @@ import org.hipparchus.util.Precision;
 import org.orekit.attitudes.AttitudeProvider;
 import org.orekit.errors.OrekitException;
 import org.orekit.errors.OrekitExceptionWrapper;
+import org.orekit.errors.OrekitIllegalArgumentException;
 import org.orekit.errors.OrekitIllegalStateException;
 import org.orekit.errors.OrekitMessages;
 import org.orekit.frames.Frame;
@@ -62,6 +66,9 @@ import org.orekit.time.AbsoluteDate;
  */
 public abstract class AbstractIntegratedPropagator extends AbstractPropagator {
 
+    /** Number of states kept in the events states cache. */
+    private static final int EVENTS_CACHE_SIZE = 64;
+
     /** Event detectors not related to force models. */
     private final List<EventDetector> detectors;
 
@@ -94,6 +101,18 @@ public abstract class AbstractIntegratedPropagator extends AbstractPropagator {
      */
     private boolean meanOrbit;
 
+    /** Indicator for sharing states between events detectors. */
+    private boolean sharedEventsSampling;
+
+    /** Cache for states shared between events detectors. */
+    private final Map<Double, CachedState> eventsCache;
+
+    /** Degree of the compact ephemeris polynomials (negative for regular ephemeris). */
+    private int compactDegree;
+
+    /** Lowest degree of compact ephemeris coefficients stored in single precision. */
+    private int compactSinglePrecisionDegree;
+
     /** Build a new instance.
      * @param integrator numerical integrator to use for propagation.
      * @param meanOrbit output only the mean orbit.
@@ -101,8 +120,111 @@ public abstract class AbstractIntegratedPropagator extends AbstractPropagator {
     protected AbstractIntegratedPropagator(final ODEIntegrator integrator, final boolean meanOrbit) {
         detectors           = new ArrayList<EventDetector>();
         additionalEquations = new ArrayList<AdditionalEquations>();
-        this.integrator     = integrator;
-        this.meanOrbit      = meanOrbit;
+        this.integrator                   = integrator;
+        this.meanOrbit                    = meanOrbit;
+        this.sharedEventsSampling         = false;
+        this.compactDegree                = -1;
+        this.compactSinglePrecisionDegree = Integer.MAX_VALUE;
+        this.eventsCache                  = new LinkedHashMap<Double, CachedState>(EVENTS_CACHE_SIZE, 0.75f, true) {
+
+            /** Serializable UID. */
+            private static final long serialVersionUID = 20170310L;
+
+            /** {@inheritDoc} */
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Double, CachedState> eldest) {
+                return size() > EVENTS_CACHE_SIZE;
+            }
+
+        };
+    }
+
+    /** Set the events sampling mode.
+     * <p>
+     * In integrated propagators, the sampling of each step for events detection
+     * is driven by the underlying integrator, and each detector interpolates the
+     * states it needs independently. When many detectors are used (for example one
+     * elevation detector per ground station), the same raw interpolated state is
+     * converted again and again into a full {@link SpacecraftState} (orbit, attitude
+     * and additional states) for each detector.
+     * </p>
+     * <p>
+     * If shared sampling is enabled, the converted states are cached and shared by all
+     * detectors, so detectors sharing the same {@link EventDetector#getMaxCheckInterval()
+     * max check interval} convert each sampled state only once. The cache is checked
+     * against the raw state content, so states reset by events are never mixed up.
+     * </p>
+     * @param sharedEventsSampling if true, events detectors share the computed states
+     * @see #isSharedEventsSampling()
+     * @since 9.0
+     */
+    public void setSharedEventsSampling(final boolean sharedEventsSampling) {
+        this.sharedEventsSampling = sharedEventsSampling;
+    }
+
+    /** Set the storage used for generated ephemerides.
+     * <p>
+     * By default, ephemerides generated in {@link #setEphemerisMode() ephemeris mode}
+     * keep references to all the step interpolators created by the integrator,
+     * which may be memory intensive for long propagations. If compact storage is
+     * enabled, each step is fitted by Chebyshev polynomials as soon as it is
+     * completed and only the polynomials coefficients are stored, packed in primitive
+     * arrays (see {@link CompactDenseOutputModel}). This costs {@code degree + 1}
+     * interpolations per step during propagation, but the ephemeris is much lighter.
+     * </p>
+     * <p>
+     * The degree should be at least the degree of the integrator dense output
+     * (7 for {@link org.hipparchus.ode.nonstiff.DormandPrince853Integrator
+     * Dormand-Prince 8(5,3)}) in order to preserve its accuracy.
+     * </p>
+     * @param degree degree of the Chebyshev polynomials, a negative value
+     * reverts to the regular storage of step interpolators
+     * @param singlePrecisionDegree lowest degree of Chebyshev coefficients stored
+     * in single precision (use {@code Integer.MAX_VALUE} to store everything in double precision)
+     * @exception OrekitIllegalArgumentException if degree is 0, or if compact storage
+     * is enabled with a single precision degree lower than 1
+     * @see #getCompactDegree()
+     * @see #getCompactSinglePrecisionDegree()
+     * @since 9.0
+     */
+    public void setCompactEphemeris(final int degree, final int singlePrecisionDegree) {
+        if (degree == 0) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL, degree, 1);
+        }
+        if (degree > 0 && singlePrecisionDegree < 1) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL,
+                                                     singlePrecisionDegree, 1);
+        }
+        this.compactDegree                = degree;
+        this.compactSinglePrecisionDegree = singlePrecisionDegree;
+    }
+
+    /** Get the degree of the compact ephemeris polynomials.
+     * @return degree of the compact ephemeris polynomials, negative if
+     * ephemerides use regular storage of step interpolators
+     * @see #setCompactEphemeris(int, int)
+     * @since 9.0
+     */
+    public int getCompactDegree() {
+        return compactDegree;
+    }
+
+    /** Get the lowest degree of compact ephemeris coefficients stored in single precision.
+     * @return lowest degree of compact ephemeris coefficients stored in single precision
+     * @see #setCompactEphemeris(int, int)
+     * @since 9.0
+     */
+    public int getCompactSinglePrecisionDegree() {
+        return compactSinglePrecisionDegree;
+    }
+
+    /** Check if events detectors share the computed states.
+     * @return true if events detectors share the computed states
+     * @see #setSharedEventsSampling(boolean)
+     * @since 9.0
+     */
+    public boolean isSharedEventsSampling() {
+        return sharedEventsSampling;
     }
 
     /** Initialize the mapper. */
@@ -438,6 +560,7 @@ public abstract class AbstractIntegratedPropagator extends AbstractPropagator {
             final ExpandableODE mathODE = createODE(integrator, mathInitialState);
             equationsMapper = mathODE.getMapper();
             mathInterpolator = null;
+            eventsCache.clear();
 
             // initialize mode handler
             if (modeHandler != null) {
@@ -603,6 +726,51 @@ public abstract class AbstractIntegratedPropagator extends AbstractPropagator {
 
     }
 
+    /** Get a complete state for events detection, sharing it between detectors if configured.
+     * @param t current value of the independent <I>time</I> variable
+     * @param y array containing the current value of the state vector
+     * @return complete state
+     * @exception OrekitException if state cannot be mapped
+     */
+    private SpacecraftState getEventsState(final double t, final double[] y)
+        throws OrekitException {
+
+        if (!sharedEventsSampling) {
+            return getCompleteState(t, y);
+        }
+
+        final Double key = t;
+        final CachedState cached = eventsCache.get(key);
+        if (cached != null && Arrays.equals(cached.y, y)) {
+            return cached.state;
+        }
+
+        final SpacecraftState state = getCompleteState(t, y);
+        eventsCache.put(key, new CachedState(y.clone(), state));
+        return state;
+
+    }
+
+    /** Container for states shared between events detectors. */
+    private static class CachedState {
+
+        /** Raw state vector. */
+        private final double[] y;
+
+        /** Complete state. */
+        private final SpacecraftState state;
+
+        /** Simple constructor.
+         * @param y raw state vector
+         * @param state complete state
+         */
+        CachedState(final double[] y, final SpacecraftState state) {
+            this.y     = y;
+            this.state = state;
+        }
+
+    }
+
     /** Differential equations for the main state (orbit, attitude and mass). */
     public interface MainStateEquations {
 
@@ -788,7 +956,7 @@ public abstract class AbstractIntegratedPropagator extends AbstractPropagator {
             try {
                 if (!Precision.equals(lastT, s.getTime(), 0)) {
                     lastT = s.getTime();
-                    lastG = detector.g(getCompleteState(s.getTime(), s.getCompleteState()));
+                    lastG = detector.g(getEventsState(s.getTime(), s.getCompleteState()));
                 }
                 return lastG;
             } catch (OrekitException oe) {
@@ -998,7 +1166,9 @@ public abstract class AbstractIntegratedPropagator extends AbstractPropagator {
         public void initialize(final boolean activateHandlers,
                                final AbsoluteDate targetDate) {
             this.activate = activateHandlers;
-            this.model    = new DenseOutputModel();
+            this.model    = compactDegree < 0 ?
+                            new DenseOutputModel() :
+                            new CompactDenseOutputModel(compactDegree, compactSinglePrecisionDegree);
             this.endDate  = targetDate;
 
             // ephemeris will be generated when last step is processed
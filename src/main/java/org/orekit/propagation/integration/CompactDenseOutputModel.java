@@ -0,0 +1,490 @@
+/* Copyright 2002-2016 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.integration;
+
+import java.util.Arrays;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.exception.MathIllegalStateException;
+import org.hipparchus.ode.DenseOutputModel;
+import org.hipparchus.ode.LocalizedODEFormats;
+import org.hipparchus.ode.ODEStateAndDerivative;
+import org.hipparchus.ode.sampling.ODEStateInterpolator;
+import org.hipparchus.util.FastMath;
+import org.orekit.errors.OrekitIllegalArgumentException;
+
+/** Compact storage of the continuous output of an integration.
+ * <p>
+ * The regular {@link DenseOutputModel} keeps a reference to each step
+ * interpolator provided by the integrator, which implies preserving
+ * all internal arrays of the integrator (states, stages, derivatives...)
+ * as objects scattered throughout the heap. This class rather samples
+ * each step interpolator at Chebyshev nodes when the step is completed
+ * and stores only the coefficients of the Chebyshev polynomials that
+ * fit the complete state vector throughout the step. All coefficients
+ * for all steps are packed in a few primitive arrays, which is much
+ * lighter for both memory and serialization.
+ * </p>
+ * <p>
+ * If the integrator dense output is a polynomial whose degree is lower
+ * than or equal to the {@link #getDegree() degree} of the model (for
+ * example degree 7 for {@link org.hipparchus.ode.nonstiff.DormandPrince853Integrator
+ * Dormand-Prince 8(5,3)}), the fitted polynomial is the dense output
+ * itself, up to rounding errors. Derivatives are computed by differentiating
+ * the fitted polynomial. The price to pay is {@code degree + 1} calls to the
+ * step interpolator for each step during integration.
+ * </p>
+ * <p>
+ * As high order Chebyshev coefficients are typically several orders of
+ * magnitude smaller than the low order ones, they can optionally be stored
+ * as single precision numbers, thus reducing memory footprint further
+ * at a very small accuracy cost.
+ * </p>
+ * <p>
+ * The step containing an interpolation time is found in constant time
+ * when steps are evenly spaced (as with fixed step integrators or
+ * long propagations with an adaptive integrator running at its natural
+ * step size), and using a binary search otherwise.
+ * </p>
+ * @see AbstractIntegratedPropagator#setCompactEphemeris(int, int)
+ * @author Luc Maisonobe
+ * @since 9.0
+ */
+public class CompactDenseOutputModel extends DenseOutputModel {
+
+    /** Serializable UID. */
+    private static final long serialVersionUID = 20170315L;
+
+    /** Initial number of steps allocated. */
+    private static final int INITIAL_CAPACITY = 64;
+
+    /** Degree of the Chebyshev polynomials. */
+    private final int degree;
+
+    /** Number of Chebyshev coefficients stored in double precision. */
+    private final int nbDouble;
+
+    /** Number of Chebyshev coefficients stored in single precision. */
+    private final int nbFloat;
+
+    /** Initial integration time. */
+    private double initialTime;
+
+    /** Final integration time. */
+    private double finalTime;
+
+    /** Integration direction indicator. */
+    private boolean forward;
+
+    /** Dimensions of primary and secondary states. */
+    private int[] dimensions;
+
+    /** Dimension of the complete state. */
+    private int completeDimension;
+
+    /** Number of stored steps. */
+    private int nbSteps;
+
+    /** Steps boundaries (nbSteps + 1 elements used). */
+    private double[] boundaries;
+
+    /** Low order Chebyshev coefficients, packed step by step and component by component. */
+    private double[] doubleCoefficients;
+
+    /** High order Chebyshev coefficients, packed step by step and component by component. */
+    private float[] floatCoefficients;
+
+    /** Chebyshev nodes on [-1; 1] (only used during integration). */
+    private transient double[] nodes;
+
+    /** Chebyshev polynomials values at nodes (only used during integration). */
+    private transient double[][] cosines;
+
+    /** Build an empty model with all coefficients stored in double precision.
+     * @param degree degree of the Chebyshev polynomials (must be at least 1)
+     */
+    public CompactDenseOutputModel(final int degree) {
+        this(degree, degree + 1);
+    }
+
+    /** Build an empty model.
+     * <p>
+     * Chebyshev coefficients up to {@code singlePrecisionDegree - 1} are stored
+     * in double precision, coefficients from {@code singlePrecisionDegree} to
+     * {@code degree} are stored in single precision. Setting {@code singlePrecisionDegree}
+     * to {@code degree + 1} or more stores everything in double precision.
+     * </p>
+     * @param degree degree of the Chebyshev polynomials (must be at least 1)
+     * @param singlePrecisionDegree lowest degree of Chebyshev coefficients stored
+     * in single precision (must be at least 1)
+     */
+    public CompactDenseOutputModel(final int degree, final int singlePrecisionDegree) {
+        if (degree < 1) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL, degree, 1);
+        }
+        if (singlePrecisionDegree < 1) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL,
+                                                     singlePrecisionDegree, 1);
+        }
+        this.degree   = degree;
+        this.nbDouble = FastMath.min(singlePrecisionDegree, degree + 1);
+        this.nbFloat  = degree + 1 - nbDouble;
+        this.nbSteps  = 0;
+    }
+
+    /** Get the degree of the Chebyshev polynomials.
+     * @return degree of the Chebyshev polynomials
+     */
+    public int getDegree() {
+        return degree;
+    }
+
+    /** Get the lowest degree of Chebyshev coefficients stored in single precision.
+     * @return lowest degree of Chebyshev coefficients stored in single precision
+     * (greater than {@link #getDegree()} if all coefficients are stored in double precision)
+     */
+    public int getSinglePrecisionDegree() {
+        return nbDouble;
+    }
+
+    /** Get the number of steps stored.
+     * @return number of steps stored
+     */
+    public int getNumberOfSteps() {
+        return nbSteps;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void init(final ODEStateAndDerivative initialState, final double t) {
+
+        initialTime = initialState.getTime();
+        finalTime   = t;
+        forward     = t >= initialTime;
+
+        dimensions = new int[initialState.getNumberOfSecondaryStates() + 1];
+        dimensions[0] = initialState.getPrimaryStateDimension();
+        for (int i = 1; i < dimensions.length; ++i) {
+            dimensions[i] = initialState.getSecondaryStateDimension(i);
+        }
+        completeDimension = initialState.getCompleteStateDimension();
+
+        nbSteps            = 0;
+        boundaries         = new double[INITIAL_CAPACITY + 1];
+        doubleCoefficients = new double[INITIAL_CAPACITY * completeDimension * nbDouble];
+        floatCoefficients  = new float[INITIAL_CAPACITY * completeDimension * nbFloat];
+        boundaries[0]      = initialTime;
+
+    }
+
+    /** Append another model at the end of the instance.
+     * @param model model to add at the end of the instance, it must be
+     * a {@link CompactDenseOutputModel} with the same settings
+     * @exception MathIllegalArgumentException if the model to append is not
+     * compatible with the instance (dimension of the state vector, degree,
+     * propagation direction, hole between the dates)
+     */
+    @Override
+    public void append(final DenseOutputModel model)
+        throws MathIllegalArgumentException {
+
+        if (!(model instanceof CompactDenseOutputModel)) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.UNSUPPORTED_OPERATION);
+        }
+        final CompactDenseOutputModel other = (CompactDenseOutputModel) model;
+
+        if (other.nbSteps == 0) {
+            return;
+        }
+
+        // the packing of the coefficients depends on these settings,
+        // they must match even if the instance is still empty
+        if (degree != other.degree || nbDouble != other.nbDouble) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                   other.degree, degree);
+        }
+
+        if (nbSteps == 0) {
+            initialTime        = other.initialTime;
+            forward            = other.forward;
+            dimensions         = other.dimensions.clone();
+            completeDimension  = other.completeDimension;
+            boundaries         = new double[1];
+            boundaries[0]      = other.boundaries[0];
+            doubleCoefficients = new double[0];
+            floatCoefficients  = new float[0];
+        } else {
+
+            if (dimensions.length != other.dimensions.length) {
+                throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                       other.dimensions.length, dimensions.length);
+            }
+            for (int i = 0; i < dimensions.length; ++i) {
+                if (dimensions[i] != other.dimensions[i]) {
+                    throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                           other.dimensions[i], dimensions[i]);
+                }
+            }
+
+            if (forward != other.forward) {
+                throw new MathIllegalArgumentException(LocalizedODEFormats.PROPAGATION_DIRECTION_MISMATCH);
+            }
+
+            final double step = boundaries[nbSteps] - boundaries[nbSteps - 1];
+            final double gap  = other.boundaries[0] - boundaries[nbSteps];
+            if (FastMath.abs(gap) > 1.0e-3 * FastMath.abs(step)) {
+                // there is a hole between the two models
+                throw new MathIllegalArgumentException(LocalizedODEFormats.HOLE_BETWEEN_MODELS_TIME_RANGES,
+                                                       FastMath.abs(gap));
+            }
+
+        }
+
+        // concatenate the packed arrays
+        final int n = nbSteps + other.nbSteps;
+        final double[] newBoundaries = Arrays.copyOf(boundaries, n + 1);
+        System.arraycopy(other.boundaries, 1, newBoundaries, nbSteps + 1, other.nbSteps);
+        final int dSize = completeDimension * nbDouble;
+        final double[] newDouble = Arrays.copyOf(doubleCoefficients, n * dSize);
+        System.arraycopy(other.doubleCoefficients, 0, newDouble, nbSteps * dSize, other.nbSteps * dSize);
+        final int fSize = completeDimension * nbFloat;
+        final float[] newFloat = Arrays.copyOf(floatCoefficients, n * fSize);
+        System.arraycopy(other.floatCoefficients, 0, newFloat, nbSteps * fSize, other.nbSteps * fSize);
+
+        boundaries         = newBoundaries;
+        doubleCoefficients = newDouble;
+        floatCoefficients  = newFloat;
+        nbSteps            = n;
+        finalTime          = other.finalTime;
+
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void handleStep(final ODEStateInterpolator interpolator, final boolean isLast)
+        throws MathIllegalStateException {
+
+        final double t0   = interpolator.getPreviousState().getTime();
+        final double t1   = interpolator.getCurrentState().getTime();
+        final double mid  = 0.5 * (t0 + t1);
+        final double half = 0.5 * (t1 - t0);
+
+        if (half != 0) {
+
+            if (nodes == null) {
+                setUpNodes();
+            }
+            ensureCapacity(nbSteps + 1);
+
+            // sample the step at Chebyshev nodes
+            final int n = degree + 1;
+            final double[][] samples = new double[n][];
+            for (int k = 0; k < n; ++k) {
+                samples[k] = interpolator.getInterpolatedState(mid + half * nodes[k]).getCompleteState();
+            }
+
+            // compute Chebyshev coefficients for all components
+            final int dOffset = nbSteps * completeDimension * nbDouble;
+            final int fOffset = nbSteps * completeDimension * nbFloat;
+            for (int i = 0; i < completeDimension; ++i) {
+                for (int j = 0; j < n; ++j) {
+                    double sum = 0;
+                    for (int k = 0; k < n; ++k) {
+                        sum += samples[k][i] * cosines[j][k];
+                    }
+                    final double c = (j == 0 ? 1.0 : 2.0) * sum / n;
+                    if (j < nbDouble) {
+                        doubleCoefficients[dOffset + i * nbDouble + j] = c;
+                    } else {
+                        floatCoefficients[fOffset + i * nbFloat + j - nbDouble] = (float) c;
+                    }
+                }
+            }
+
+            boundaries[++nbSteps] = t1;
+
+        }
+
+        if (isLast) {
+            finalTime = t1;
+            trim();
+        }
+
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double getInitialTime() {
+        return initialTime;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double getFinalTime() {
+        return finalTime;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ODEStateAndDerivative getInterpolatedState(final double time) {
+
+        // select the step
+        final int    index = locate(time);
+        final double t0    = boundaries[index];
+        final double t1    = boundaries[index + 1];
+        final double half  = 0.5 * (t1 - t0);
+        final double x     = (time - 0.5 * (t0 + t1)) / half;
+
+        // Chebyshev polynomials of first kind T and second kind U at x
+        final int n = degree + 1;
+        final double[] t = new double[n];
+        final double[] u = new double[n];
+        t[0] = 1;
+        u[0] = 1;
+        t[1] = x;
+        u[1] = 2 * x;
+        for (int j = 2; j < n; ++j) {
+            t[j] = 2 * x * t[j - 1] - t[j - 2];
+            u[j] = 2 * x * u[j - 1] - u[j - 2];
+        }
+
+        // evaluate the series and their derivatives, using d(T_j)/dx = j U_{j-1}
+        final double[] y    = new double[completeDimension];
+        final double[] yDot = new double[completeDimension];
+        final int dOffset = index * completeDimension * nbDouble;
+        final int fOffset = index * completeDimension * nbFloat;
+        for (int i = 0; i < completeDimension; ++i) {
+            double value      = 0;
+            double derivative = 0;
+            for (int j = 0; j < n; ++j) {
+                final double c = (j < nbDouble) ?
+                                 doubleCoefficients[dOffset + i * nbDouble + j] :
+                                 floatCoefficients[fOffset + i * nbFloat + j - nbDouble];
+                value += c * t[j];
+                if (j > 0) {
+                    derivative += c * j * u[j - 1];
+                }
+            }
+            y[i]    = value;
+            yDot[i] = derivative / half;
+        }
+
+        // split the complete state
+        final double[] primary    = Arrays.copyOfRange(y,    0, dimensions[0]);
+        final double[] primaryDot = Arrays.copyOfRange(yDot, 0, dimensions[0]);
+        if (dimensions.length == 1) {
+            return new ODEStateAndDerivative(time, primary, primaryDot);
+        }
+        final double[][] secondary    = new double[dimensions.length - 1][];
+        final double[][] secondaryDot = new double[dimensions.length - 1][];
+        int start = dimensions[0];
+        for (int i = 1; i < dimensions.length; ++i) {
+            secondary[i - 1]    = Arrays.copyOfRange(y,    start, start + dimensions[i]);
+            secondaryDot[i - 1] = Arrays.copyOfRange(yDot, start, start + dimensions[i]);
+            start += dimensions[i];
+        }
+        return new ODEStateAndDerivative(time, primary, primaryDot, secondary, secondaryDot);
+
+    }
+
+    /** Locate the step containing a time.
+     * <p>
+     * Times before the first step (resp. after the last step) are
+     * mapped to the first (resp. last) step, hence they are extrapolated.
+     * </p>
+     * @param time time to locate
+     * @return index of the step containing the time
+     */
+    private int locate(final double time) {
+
+        if (nbSteps == 0) {
+            throw new MathIllegalStateException(LocalizedCoreFormats.UNSUPPORTED_OPERATION);
+        }
+
+        // use a key that increases with the integration direction
+        final double sign = forward ? +1 : -1;
+        final double key  = sign * time;
+
+        if (nbSteps == 1 || key <= sign * boundaries[1]) {
+            return 0;
+        } else if (key >= sign * boundaries[nbSteps - 1]) {
+            return nbSteps - 1;
+        }
+
+        // first guess, which is exact or almost exact for evenly spaced steps
+        final int guess = FastMath.max(0, FastMath.min(nbSteps - 1,
+                                                       (int) (nbSteps * (time - boundaries[0]) /
+                                                              (boundaries[nbSteps] - boundaries[0]))));
+        for (int i = FastMath.max(0, guess - 1); i <= FastMath.min(nbSteps - 1, guess + 1); ++i) {
+            if (key >= sign * boundaries[i] && key <= sign * boundaries[i + 1]) {
+                return i;
+            }
+        }
+
+        // fall back to binary search
+        int low  = 0;
+        int high = nbSteps - 1;
+        while (low < high) {
+            final int middle = (low + high + 1) / 2;
+            if (sign * boundaries[middle] <= key) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+
+    }
+
+    /** Set up the Chebyshev nodes and polynomials values at nodes.
+     */
+    private void setUpNodes() {
+        final int n = degree + 1;
+        nodes   = new double[n];
+        cosines = new double[n][n];
+        for (int k = 0; k < n; ++k) {
+            nodes[k] = FastMath.cos(FastMath.PI * (k + 0.5) / n);
+        }
+        for (int j = 0; j < n; ++j) {
+            for (int k = 0; k < n; ++k) {
+                cosines[j][k] = FastMath.cos(FastMath.PI * j * (k + 0.5) / n);
+            }
+        }
+    }
+
+    /** Ensure the packed arrays can hold the specified number of steps.
+     * @param steps number of steps to hold
+     */
+    private void ensureCapacity(final int steps) {
+        if (steps + 1 > boundaries.length) {
+            final int capacity = FastMath.max(steps, 2 * (boundaries.length - 1));
+            boundaries         = Arrays.copyOf(boundaries,         capacity + 1);
+            doubleCoefficients = Arrays.copyOf(doubleCoefficients, capacity * completeDimension * nbDouble);
+            floatCoefficients  = Arrays.copyOf(floatCoefficients,  capacity * completeDimension * nbFloat);
+        }
+    }
+
+    /** Trim the packed arrays to the number of steps stored.
+     */
+    private void trim() {
+        boundaries         = Arrays.copyOf(boundaries,         nbSteps + 1);
+        doubleCoefficients = Arrays.copyOf(doubleCoefficients, nbSteps * completeDimension * nbDouble);
+        floatCoefficients  = Arrays.copyOf(floatCoefficients,  nbSteps * completeDimension * nbFloat);
+    }
+
+}
@@ -16,6 +16,11 @@
  */
 package org.orekit.propagation.numerical;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+
 import org.hipparchus.analysis.differentiation.DerivativeStructure;
 import org.hipparchus.geometry.euclidean.threed.FieldRotation;
 import org.hipparchus.geometry.euclidean.threed.FieldVector3D;
@@ -32,6 +37,8 @@ import org.orekit.orbits.Orbit;
 import org.orekit.propagation.SpacecraftState;
 import org.orekit.time.AbsoluteDate;
 import org.orekit.utils.PVCoordinates;
+import org.orekit.utils.InstanceFactory;
+import org.orekit.utils.ParallelExecution;
 import org.orekit.utils.ParameterDriver;
 
 /** Class helping implementation of partial derivatives in {@link ForceModel force models} implementations.
@@ -54,6 +61,15 @@ public class Jacobianizer {
     /** Step used for finite difference computation with respect to spacecraft position. */
     private double hPos;
 
+    /** Executor service for shifted accelerations (null for sequential computation). */
+    private ExecutorService executor;
+
+    /** Factory for force model copies used by parallel tasks (null for sequential computation). */
+    private InstanceFactory<? extends ForceModel> copiesFactory;
+
+    /** Force model copies used by parallel tasks. */
+    private List<ForceModel> copies;
+
     /** Simple constructor.
      * <p>
      * The step size used for partial derivatives with respect to parameters is
@@ -66,13 +82,62 @@ public class Jacobianizer {
      */
     public Jacobianizer(final ForceModel forceModel, final double mu, final double hPos) {
 
-        this.forceModel = forceModel;
-        this.mu         = mu;
-        this.hPos       = hPos;
+        this.forceModel    = forceModel;
+        this.mu            = mu;
+        this.hPos          = hPos;
+        this.executor      = null;
+        this.copiesFactory = null;
+        this.copies        = new ArrayList<ForceModel>();
 
     }
 
+    /** Set the executor service used to compute shifted accelerations.
+     * <p>
+     * If an executor service is set, the nominal acceleration and the accelerations
+     * for the states shifted along each position, velocity and mass component are
+     * computed concurrently, each one in a separate task. The wrapped force model
+     * is used only by the task computing the nominal acceleration, the other tasks
+     * each use their own force model copy, built once by the factory and reused
+     * for all subsequent calls. Before each evaluation, the values of the wrapped
+     * model {@link ForceModel#getParametersDrivers() parameters} are copied into
+     * the copies, so non thread-safe models (like {@link
+     * org.orekit.forces.drag.DragForce DragForce} with {@link
+     * org.orekit.forces.drag.atmosphere.JB2006 JB2006} or {@link
+     * org.orekit.forces.drag.atmosphere.JB2008 JB2008} atmospheres) can be used.
+     * The factory must therefore build new independent instances, configured
+     * exactly as the wrapped model. The derivatives are exactly the same as the
+     * ones computed without executor.
+     * </p>
+     * <p>
+     * Derivatives with respect to force model parameters are always computed
+     * sequentially, using the wrapped force model.
+     * </p>
+     * <p>
+     * By default, no executor is set and accelerations are computed sequentially.
+     * </p>
+     * @param executorService executor service to use (null for sequential computation)
+     * @param factory factory for force model copies (ignored if executor is null)
+     * @see #getExecutor()
+     * @since 9.0
+     */
+    public void setExecutor(final ExecutorService executorService,
+                            final InstanceFactory<? extends ForceModel> factory) {
+        this.executor      = executorService;
+        this.copiesFactory = (executorService == null) ? null : factory;
+        this.copies        = new ArrayList<ForceModel>();
+    }
+
+    /** Get the executor service used to compute shifted accelerations.
+     * @return executor service used (null for sequential computation)
+     * @see #setExecutor(ExecutorService, InstanceFactory)
+     * @since 9.0
+     */
+    public ExecutorService getExecutor() {
+        return executor;
+    }
+
     /** Compute acceleration.
+     * @param model force model to use
      * @param retriever acceleration retriever to use for storing acceleration
      * @param date current date
      * @param frame inertial reference frame for state (both orbit and attitude)
@@ -82,17 +147,17 @@ public class Jacobianizer {
      * @param mass spacecraft mass
      * @exception OrekitException if the underlying force models cannot compute the acceleration
      */
-    private void computeShiftedAcceleration(final AccelerationRetriever retriever,
+    private void computeShiftedAcceleration(final ForceModel model, final AccelerationRetriever retriever,
                                             final AbsoluteDate date, final Frame frame,
                                             final Vector3D position, final Vector3D velocity,
                                             final Rotation rotation, final double mass)
         throws OrekitException {
         final Orbit shiftedORbit = new CartesianOrbit(new PVCoordinates(position, velocity), frame, date, mu);
         retriever.setOrbit(shiftedORbit);
-        forceModel.addContribution(new SpacecraftState(shiftedORbit,
-                                                       new Attitude(date, frame, rotation, Vector3D.ZERO, Vector3D.ZERO),
-                                                       mass),
-                                   retriever);
+        model.addContribution(new SpacecraftState(shiftedORbit,
+                                                  new Attitude(date, frame, rotation, Vector3D.ZERO, Vector3D.ZERO),
+                                                  mass),
+                              retriever);
     }
 
     /** Compute acceleration and derivatives with respect to state.
@@ -125,39 +190,47 @@ public class Jacobianizer {
         // estimate mass step, applying the same relative value as position
         final double hMass = mass.getValue() * hPos / FastMath.sqrt(r2);
 
-        // compute nominal acceleration
-        final AccelerationRetriever nominal = new AccelerationRetriever();
-        computeShiftedAcceleration(nominal, date, frame, p0, v0, rotation.toRotation(), mass.getValue());
-        final double[] a0 = nominal.getAcceleration().toArray();
-
-        // compute accelerations with shifted states
-        final AccelerationRetriever shifted = new AccelerationRetriever();
+        // set up nominal state (index 0) and shifted states
+        final int        nbCases   = (parameters < 7) ? 7 : 8;
+        final Vector3D[] positions  = new Vector3D[nbCases];
+        final Vector3D[] velocities = new Vector3D[nbCases];
+        final Rotation[] rotations  = new Rotation[nbCases];
+        final double[]   masses     = new double[nbCases];
+        final double[]   steps      = new double[nbCases];
+        positions[0]  = p0;
+        velocities[0] = v0;
+        rotations[0]  = rotation.toRotation();
+        masses[0]     = mass.getValue();
+        for (int k = 1; k < nbCases; ++k) {
+            final int    index = k - 1;
+            final double h     = (index < 3) ? hPos : ((index < 6) ? hVel : hMass);
+            // shift position by hPos along x, y and z, velocity by hVel along x, y and z, mass by hMass
+            positions[k]  = (index < 3) ? shift(position, index, h) : p0;
+            velocities[k] = (index < 3 || index > 5) ? v0 : shift(velocity, index, h);
+            rotations[k]  = shift(rotation, index, h);
+            masses[k]     = shift(mass, index, h);
+            steps[k]      = h;
+        }
 
-        // shift position by hPos alon x, y and z
-        computeShiftedAcceleration(shifted, date, frame, shift(position, 0, hPos), v0, shift(rotation, 0, hPos), shift(mass, 0, hPos));
-        final double[] derPx = new Vector3D(1 / hPos, shifted.getAcceleration(), -1 / hPos, nominal.getAcceleration()).toArray();
-        computeShiftedAcceleration(shifted, date, frame, shift(position, 1, hPos), v0, shift(rotation, 1, hPos), shift(mass, 1, hPos));
-        final double[] derPy = new Vector3D(1 / hPos, shifted.getAcceleration(), -1 / hPos, nominal.getAcceleration()).toArray();
-        computeShiftedAcceleration(shifted, date, frame, shift(position, 2, hPos), v0, shift(rotation, 2, hPos), shift(mass, 2, hPos));
-        final double[] derPz = new Vector3D(1 / hPos, shifted.getAcceleration(), -1 / hPos, nominal.getAcceleration()).toArray();
-
-        // shift velocity by hVel alon x, y and z
-        computeShiftedAcceleration(shifted, date, frame, p0, shift(velocity, 3, hVel), shift(rotation, 3, hVel), shift(mass, 3, hVel));
-        final double[] derVx = new Vector3D(1 / hVel, shifted.getAcceleration(), -1 / hVel, nominal.getAcceleration()).toArray();
-        computeShiftedAcceleration(shifted, date, frame, p0, shift(velocity, 4, hVel), shift(rotation, 4, hVel), shift(mass, 4, hVel));
-        final double[] derVy = new Vector3D(1 / hVel, shifted.getAcceleration(), -1 / hVel, nominal.getAcceleration()).toArray();
-        computeShiftedAcceleration(shifted, date, frame, p0, shift(velocity, 5, hVel), shift(rotation, 5, hVel), shift(mass, 5, hVel));
-        final double[] derVz = new Vector3D(1 / hVel, shifted.getAcceleration(), -1 / hVel, nominal.getAcceleration()).toArray();
-
-        final double[] derM;
-        if (parameters < 7) {
-            derM = null;
-        } else {
-            // shift mass by hMass
-            computeShiftedAcceleration(shifted, date, frame, p0, v0, shift(rotation, 6, hMass), shift(mass, 6, hMass));
-            derM = new Vector3D(1 / hMass, shifted.getAcceleration(), -1 / hMass, nominal.getAcceleration()).toArray();
+        // compute nominal and shifted accelerations
+        final Vector3D[] accelerations = (executor == null) ?
+                                         computeSequentially(date, frame, positions, velocities, rotations, masses) :
+                                         computeInParallel(date, frame, positions, velocities, rotations, masses);
+        final double[] a0 = accelerations[0].toArray();
 
+        // finite differences
+        final double[][] der = new double[nbCases][];
+        for (int k = 1; k < nbCases; ++k) {
+            der[k] = new Vector3D(1 / steps[k], accelerations[k], -1 / steps[k], accelerations[0]).toArray();
         }
+        final double[] derPx = der[1];
+        final double[] derPy = der[2];
+        final double[] derPz = der[3];
+        final double[] derVx = der[4];
+        final double[] derVy = der[5];
+        final double[] derVz = der[6];
+        final double[] derM  = (nbCases > 7) ? der[7] : null;
+
         final double[] derivatives = new double[1 + parameters];
         final DerivativeStructure[] accDer = new DerivativeStructure[3];
         for (int i = 0; i < 3; ++i) {
@@ -188,6 +261,80 @@ public class Jacobianizer {
 
     }
 
+    /** Compute accelerations sequentially.
+     * @param date current date
+     * @param frame inertial reference frame for state (both orbit and attitude)
+     * @param positions positions of spacecraft in reference frame
+     * @param velocities velocities of spacecraft in reference frame
+     * @param rotations orientations (attitudes) of the spacecraft with respect to reference frame
+     * @param masses spacecraft masses
+     * @return accelerations
+     * @exception OrekitException if the underlying force models cannot compute the acceleration
+     */
+    private Vector3D[] computeSequentially(final AbsoluteDate date, final Frame frame,
+                                           final Vector3D[] positions, final Vector3D[] velocities,
+                                           final Rotation[] rotations, final double[] masses)
+        throws OrekitException {
+        final Vector3D[] accelerations = new Vector3D[positions.length];
+        final AccelerationRetriever retriever = new AccelerationRetriever();
+        for (int k = 0; k < accelerations.length; ++k) {
+            computeShiftedAcceleration(forceModel, retriever, date, frame,
+                                       positions[k], velocities[k], rotations[k], masses[k]);
+            accelerations[k] = retriever.getAcceleration();
+        }
+        return accelerations;
+    }
+
+    /** Compute accelerations in parallel.
+     * @param date current date
+     * @param frame inertial reference frame for state (both orbit and attitude)
+     * @param positions positions of spacecraft in reference frame
+     * @param velocities velocities of spacecraft in reference frame
+     * @param rotations orientations (attitudes) of the spacecraft with respect to reference frame
+     * @param masses spacecraft masses
+     * @return accelerations
+     * @exception OrekitException if the underlying force models cannot compute the acceleration
+     */
+    private Vector3D[] computeInParallel(final AbsoluteDate date, final Frame frame,
+                                         final Vector3D[] positions, final Vector3D[] velocities,
+                                         final Rotation[] rotations, final double[] masses)
+        throws OrekitException {
+        final List<Callable<Vector3D>> tasks = new ArrayList<Callable<Vector3D>>(positions.length);
+        for (int k = 0; k < positions.length; ++k) {
+            final int index = k;
+            final ForceModel model = (k == 0) ? forceModel : getCopy(k - 1);
+            tasks.add(new Callable<Vector3D>() {
+                /** {@inheritDoc} */
+                @Override
+                public Vector3D call() throws OrekitException {
+                    final AccelerationRetriever retriever = new AccelerationRetriever();
+                    computeShiftedAcceleration(model, retriever, date, frame,
+                                               positions[index], velocities[index],
+                                               rotations[index], masses[index]);
+                    return retriever.getAcceleration();
+                }
+            });
+        }
+        final List<Vector3D> accelerations = ParallelExecution.invokeAll(executor, tasks);
+        return accelerations.toArray(new Vector3D[accelerations.size()]);
+    }
+
+    /** Get a force model copy, with parameters synchronized with the wrapped model.
+     * @param index index of the copy
+     * @return force model copy
+     * @exception OrekitException if a parameter of the wrapped model is not supported by the copy
+     */
+    private ForceModel getCopy(final int index) throws OrekitException {
+        while (copies.size() <= index) {
+            copies.add(copiesFactory.create());
+        }
+        final ForceModel copy = copies.get(index);
+        for (final ParameterDriver driver : forceModel.getParametersDrivers()) {
+            copy.getParameterDriver(driver.getName()).setValue(driver.getValue());
+        }
+        return copy;
+    }
+
     /** Shift a vector.
      * @param nominal nominal vector
      * @param index index of the variable with respect to which we shift
@@ -34,6 +34,7 @@ import org.orekit.errors.OrekitMessages;
 import org.orekit.forces.ForceModel;
 import org.orekit.propagation.SpacecraftState;
 import org.orekit.propagation.integration.AdditionalEquations;
+import org.orekit.utils.Gradient;
 import org.orekit.utils.ParameterDriver;
 import org.orekit.utils.ParameterDriversList;
 
@@ -392,38 +393,38 @@ public class PartialDerivativesEquations implements AdditionalEquations {
 
         // position corresponds three free parameters
         final Vector3D position = s.getPVCoordinates().getPosition();
-        final FieldVector3D<DerivativeStructure> dsP =
-                        new FieldVector3D<DerivativeStructure>(new DerivativeStructure(nbVars, 1, 0, position.getX()),
-                                                               new DerivativeStructure(nbVars, 1, 1, position.getY()),
-                                                               new DerivativeStructure(nbVars, 1, 2, position.getZ()));
+        final FieldVector3D<Gradient> gP =
+                        new FieldVector3D<Gradient>(Gradient.variable(nbVars, 0, position.getX()),
+                                                    Gradient.variable(nbVars, 1, position.getY()),
+                                                    Gradient.variable(nbVars, 2, position.getZ()));
 
         // velocity corresponds three free parameters
         final Vector3D velocity = s.getPVCoordinates().getVelocity();
-        final FieldVector3D<DerivativeStructure> dsV =
-                        new FieldVector3D<DerivativeStructure>(new DerivativeStructure(nbVars, 1, 3, velocity.getX()),
-                                                               new DerivativeStructure(nbVars, 1, 4, velocity.getY()),
-                                                               new DerivativeStructure(nbVars, 1, 5, velocity.getZ()));
+        final FieldVector3D<Gradient> gV =
+                        new FieldVector3D<Gradient>(Gradient.variable(nbVars, 3, velocity.getX()),
+                                                    Gradient.variable(nbVars, 4, velocity.getY()),
+                                                    Gradient.variable(nbVars, 5, velocity.getZ()));
 
         // mass corresponds either to a constant or to one free parameter
-        final DerivativeStructure dsM = (dAccdM == null) ?
-                                        new DerivativeStructure(nbVars, 1,    s.getMass()) :
-                                        new DerivativeStructure(nbVars, 1, 6, s.getMass());
+        final Gradient gM = (dAccdM == null) ?
+                            Gradient.constant(nbVars,    s.getMass()) :
+                            Gradient.variable(nbVars, 6, s.getMass());
 
         // we should compute attitude partial derivatives with respect to position/velocity
         // see issue #200
         final Rotation rotation = s.getAttitude().getRotation();
-        final FieldRotation<DerivativeStructure> dsR =
-                new FieldRotation<DerivativeStructure>(new DerivativeStructure(nbVars, 1, rotation.getQ0()),
-                                                       new DerivativeStructure(nbVars, 1, rotation.getQ1()),
-                                                       new DerivativeStructure(nbVars, 1, rotation.getQ2()),
-                                                       new DerivativeStructure(nbVars, 1, rotation.getQ3()),
-                                                       false);
+        final FieldRotation<Gradient> gR =
+                new FieldRotation<Gradient>(Gradient.constant(nbVars, rotation.getQ0()),
+                                            Gradient.constant(nbVars, rotation.getQ1()),
+                                            Gradient.constant(nbVars, rotation.getQ2()),
+                                            Gradient.constant(nbVars, rotation.getQ3()),
+                                            false);
 
         // compute acceleration Jacobians, finishing with the largest force: Newtonian attraction
         for (final ForceModel forceModel : propagator.getAllForceModels()) {
-            final FieldVector3D<DerivativeStructure> acceleration =
-                            forceModel.accelerationDerivatives(s.getDate(), s.getFrame(),
-                                                               dsP, dsV, dsR, dsM);
+            final FieldVector3D<Gradient> acceleration =
+                            forceModel.accelerationGradient(s.getDate(), s.getFrame(),
+                                                            gP, gV, gR, gM);
             addToRow(acceleration.getX(), 0);
             addToRow(acceleration.getY(), 1);
             addToRow(acceleration.getZ(), 2);
@@ -559,39 +560,25 @@ public class PartialDerivativesEquations implements AdditionalEquations {
 
     }
 
-    /** Fill Jacobians rows when mass is needed.
+    /** Fill Jacobians rows.
      * @param accelerationComponent component of acceleration (along either x, y or z)
      * @param index component index (0 for x, 1 for y, 2 for z)
      */
-    private void addToRow(final DerivativeStructure accelerationComponent, final int index) {
+    private void addToRow(final Gradient accelerationComponent, final int index) {
 
-        if (dAccdM == null) {
+        // free parameters 0, 1, 2 are for position
+        dAccdPos[index][0] += accelerationComponent.getPartialDerivative(0);
+        dAccdPos[index][1] += accelerationComponent.getPartialDerivative(1);
+        dAccdPos[index][2] += accelerationComponent.getPartialDerivative(2);
 
-            // free parameters 0, 1, 2 are for position
-            dAccdPos[index][0] += accelerationComponent.getPartialDerivative(1, 0, 0, 0, 0, 0);
-            dAccdPos[index][1] += accelerationComponent.getPartialDerivative(0, 1, 0, 0, 0, 0);
-            dAccdPos[index][2] += accelerationComponent.getPartialDerivative(0, 0, 1, 0, 0, 0);
-
-            // free parameters 3, 4, 5 are for velocity
-            dAccdVel[index][0] += accelerationComponent.getPartialDerivative(0, 0, 0, 1, 0, 0);
-            dAccdVel[index][1] += accelerationComponent.getPartialDerivative(0, 0, 0, 0, 1, 0);
-            dAccdVel[index][2] += accelerationComponent.getPartialDerivative(0, 0, 0, 0, 0, 1);
-
-        } else {
-
-            // free parameters 0, 1, 2 are for position
-            dAccdPos[index][0] += accelerationComponent.getPartialDerivative(1, 0, 0, 0, 0, 0, 0);
-            dAccdPos[index][1] += accelerationComponent.getPartialDerivative(0, 1, 0, 0, 0, 0, 0);
-            dAccdPos[index][2] += accelerationComponent.getPartialDerivative(0, 0, 1, 0, 0, 0, 0);
-
-            // free parameters 3, 4, 5 are for velocity
-            dAccdVel[index][0] += accelerationComponent.getPartialDerivative(0, 0, 0, 1, 0, 0, 0);
-            dAccdVel[index][1] += accelerationComponent.getPartialDerivative(0, 0, 0, 0, 1, 0, 0);
-            dAccdVel[index][2] += accelerationComponent.getPartialDerivative(0, 0, 0, 0, 0, 1, 0);
+        // free parameters 3, 4, 5 are for velocity
+        dAccdVel[index][0] += accelerationComponent.getPartialDerivative(3);
+        dAccdVel[index][1] += accelerationComponent.getPartialDerivative(4);
+        dAccdVel[index][2] += accelerationComponent.getPartialDerivative(5);
 
+        if (dAccdM != null) {
             // free parameter 6 is for mass
-            dAccdM[index]      += accelerationComponent.getPartialDerivative(0, 0, 0, 0, 0, 0, 1);
-
+            dAccdM[index]  += accelerationComponent.getPartialDerivative(6);
         }
 
     }
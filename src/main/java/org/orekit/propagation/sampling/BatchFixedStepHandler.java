@@ -0,0 +1,65 @@
+/* Copyright 2002-2016 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.sampling;
+
+import org.orekit.errors.OrekitException;
+import org.orekit.propagation.SpacecraftState;
+import org.orekit.time.AbsoluteDate;
+
+/** This interface is a fixed size step handler for batches of propagators.
+ *
+ * <p>It mirrors the {@link OrekitFixedStepHandler} interface, but all methods
+ * receive the index of the propagator within the batch they are called for.</p>
+ * <p>
+ * As the propagators of a batch run in parallel, implementations must be
+ * thread-safe: the methods are called concurrently for different indices.
+ * For one given index, all calls are performed sequentially by the same thread,
+ * in propagation order.
+ * </p>
+ * @see org.orekit.propagation.PropagationBatch
+ * @author Luc Maisonobe
+ * @since 9.0
+ */
+@FunctionalInterface
+public interface BatchFixedStepHandler {
+
+    /** Initialize step handler at the start of a propagation.
+     * <p>
+     * The default implementation does nothing
+     * </p>
+     * @param index index of the propagator within the batch
+     * @param s0 initial state
+     * @param t target time for the integration
+     * @param step the duration in seconds of the fixed step. This value is
+     *             positive even if propagation is backwards.
+     * @exception OrekitException if step handler cannot be initialized
+     */
+    default void init(int index, SpacecraftState s0, AbsoluteDate t, double step)
+        throws OrekitException {
+        // nothing by default
+    }
+
+    /** Handle the current step.
+     * @param index index of the propagator within the batch
+     * @param currentState current state at step time
+     * @param isLast if true, this is the last integration step
+     * @exception OrekitException if step cannot be handled
+     */
+    void handleStep(int index, SpacecraftState currentState, boolean isLast)
+        throws OrekitException;
+
+}
@@ -27,6 +27,8 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 import org.hipparchus.ode.ODEIntegrator;
 import org.hipparchus.ode.sampling.ODEStateInterpolator;
@@ -148,6 +150,9 @@ public class DSSTPropagator extends AbstractIntegratedPropagator {
     /** Generator for the interpolation grid. */
     private InterpolationGrid interpolationgrid;
 
+    /** Pool for short periodic coefficients (null for sequential computation). */
+    private ForkJoinPool shortPeriodsExecutor;
+
     /** Create a new instance of DSSTPropagator.
      *  <p>
      *  After creation, there are no perturbing forces at all.
@@ -285,6 +290,39 @@ public class DSSTPropagator extends AbstractIntegratedPropagator {
         interpolationgrid = new MaxGapInterpolationGrid(maxGap);
     }
 
+    /** Set the fork-join pool used to update short periodic coefficients.
+     * <p>
+     * When osculating elements are output, the short periodic coefficients of
+     * all force models are updated at each integration step. If a pool is set,
+     * these updates are distributed among force models, each force model being
+     * processed in a separate task through its {@link
+     * DSSTForceModel#updateShortPeriodTermsInParallel(SpacecraftState...)
+     * updateShortPeriodTermsInParallel} method. Force models may further split
+     * the interpolation grid points of the step into sub-tasks forked in the same
+     * pool (this is what {@link org.orekit.propagation.semianalytical.dsst.forces.DSSTTesseral
+     * DSSTTesseral} does). The coefficients are exactly the same as the ones
+     * computed without pool.
+     * </p>
+     * <p>
+     * By default, no pool is set and coefficients are updated sequentially.
+     * </p>
+     * @param shortPeriodsExecutor pool to use (null for sequential computation)
+     * @see #getShortPeriodsExecutor()
+     * @since 9.0
+     */
+    public void setShortPeriodsExecutor(final ForkJoinPool shortPeriodsExecutor) {
+        this.shortPeriodsExecutor = shortPeriodsExecutor;
+    }
+
+    /** Get the fork-join pool used to update short periodic coefficients.
+     * @return pool used (null for sequential computation)
+     * @see #setShortPeriodsExecutor(ForkJoinPool)
+     * @since 9.0
+     */
+    public ForkJoinPool getShortPeriodsExecutor() {
+        return shortPeriodsExecutor;
+    }
+
     /** Add a force model to the global perturbation model.
      *  <p>
      *  If this method is not called at all,
@@ -956,8 +994,12 @@ public class DSSTPropagator extends AbstractIntegratedPropagator {
                 }
 
                 // Computate short periodic coefficients for this step
-                for (DSSTForceModel forceModel : forceModels) {
-                    forceModel.updateShortPeriodTerms(meanStates);
+                if (shortPeriodsExecutor == null) {
+                    for (DSSTForceModel forceModel : forceModels) {
+                        forceModel.updateShortPeriodTerms(meanStates);
+                    }
+                } else {
+                    updateInParallel(meanStates);
                 }
 
             } catch (OrekitException oe) {
@@ -965,5 +1007,30 @@ public class DSSTPropagator extends AbstractIntegratedPropagator {
             }
 
         }
+
+        /** Update short periodic coefficients of all force models in parallel.
+         * @param meanStates mean states at interpolation grid points
+         * @exception OrekitException if some specific error occurs
+         */
+        private void updateInParallel(final SpacecraftState[] meanStates)
+            throws OrekitException {
+            try {
+                shortPeriodsExecutor.invoke(ForkJoinTask.adapt(() -> {
+                    final List<ForkJoinTask<?>> tasks = new ArrayList<ForkJoinTask<?>>(forceModels.size());
+                    for (final DSSTForceModel forceModel : forceModels) {
+                        tasks.add(ForkJoinTask.adapt(() -> {
+                            try {
+                                forceModel.updateShortPeriodTermsInParallel(meanStates);
+                            } catch (OrekitException oe) {
+                                throw new OrekitExceptionWrapper(oe);
+                            }
+                        }));
+                    }
+                    ForkJoinTask.invokeAll(tasks);
+                }));
+            } catch (OrekitExceptionWrapper oew) {
+                throw oew.getException();
+            }
+        }
     }
 }
@@ -112,4 +112,25 @@ public interface DSSTForceModel {
     void updateShortPeriodTerms(SpacecraftState ... meanStates)
         throws OrekitException;
 
+    /** Update the short period terms, possibly splitting the work into parallel tasks.
+     * <p>
+     * This method is called instead of {@link #updateShortPeriodTerms(SpacecraftState...)}
+     * from within a {@link java.util.concurrent.ForkJoinPool ForkJoinPool} task when
+     * the propagator has been configured to update short periodic coefficients in parallel.
+     * Implementations may then process the mean states in sub-tasks forked in the same pool,
+     * but the updated short period terms must be exactly the same as the ones produced by
+     * {@link #updateShortPeriodTerms(SpacecraftState...)}.
+     * </p>
+     * <p>
+     * The default implementation simply calls {@link #updateShortPeriodTerms(SpacecraftState...)}.
+     * </p>
+     * @param meanStates mean states information: date, kinematics, attitude
+     * @throws OrekitException if some specific error occurs
+     * @since 9.0
+     */
+    default void updateShortPeriodTermsInParallel(final SpacecraftState ... meanStates)
+        throws OrekitException {
+        updateShortPeriodTerms(meanStates);
+    }
+
 }
@@ -23,10 +23,14 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
 import java.util.SortedMap;
 import java.util.SortedSet;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 import org.hipparchus.analysis.differentiation.DerivativeStructure;
 import org.hipparchus.exception.LocalizedCoreFormats;
@@ -35,6 +39,7 @@ import org.hipparchus.util.FastMath;
 import org.hipparchus.util.MathUtils;
 import org.orekit.attitudes.AttitudeProvider;
 import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitExceptionWrapper;
 import org.orekit.forces.gravity.potential.UnnormalizedSphericalHarmonicsProvider;
 import org.orekit.forces.gravity.potential.UnnormalizedSphericalHarmonicsProvider.UnnormalizedSphericalHarmonics;
 import org.orekit.frames.Frame;
@@ -235,6 +240,9 @@ public class DSSTTesseral implements DSSTForceModel {
     /** Short period terms. */
     private TesseralShortPeriodicCoefficients shortPeriodTerms;
 
+    /** Spare working copies used to process grid points in parallel. */
+    private final Queue<DSSTTesseral> workers;
+
     /** Simple constructor.
      * @param centralBodyFrame rotating body frame
      * @param centralBodyRotationRate central body rotation rate (rad/s)
@@ -309,6 +317,46 @@ public class DSSTTesseral implements DSSTForceModel {
         this.maxEccPow = 0;
         this.maxHansen = 0;
 
+        this.workers = new ConcurrentLinkedQueue<DSSTTesseral>();
+
+    }
+
+    /** Create a working copy of an initialized model.
+     * <p>
+     * The copy shares the configuration and the resonant and non-resonant
+     * terms of the original model, but has its own intermediate quantities,
+     * Hansen objects and Fourier coefficients, so it can process grid points
+     * independently of the original model.
+     * </p>
+     * @param original initialized model
+     */
+    private DSSTTesseral(final DSSTTesseral original) {
+
+        this.bodyFrame                  = original.bodyFrame;
+        this.centralBodyRotationRate    = original.centralBodyRotationRate;
+        this.bodyPeriod                 = original.bodyPeriod;
+        this.provider                   = original.provider;
+        this.maxDegree                  = original.maxDegree;
+        this.maxOrder                   = original.maxOrder;
+        this.maxDegreeTesseralSP        = original.maxDegreeTesseralSP;
+        this.maxDegreeMdailyTesseralSP  = original.maxDegreeMdailyTesseralSP;
+        this.maxOrderTesseralSP         = original.maxOrderTesseralSP;
+        this.maxOrderMdailyTesseralSP   = original.maxOrderMdailyTesseralSP;
+        this.maxEccPowTesseralSP        = original.maxEccPowTesseralSP;
+        this.maxEccPowMdailyTesseralSP  = original.maxEccPowMdailyTesseralSP;
+        this.maxFrequencyShortPeriodics = original.maxFrequencyShortPeriodics;
+        this.resOrders                  = original.resOrders;
+        this.nonResOrders               = original.nonResOrders;
+        this.maxEccPow                  = original.maxEccPow;
+        this.maxHansen                  = original.maxHansen;
+        this.orbitPeriod                = original.orbitPeriod;
+        this.ratio                      = original.ratio;
+        this.workers                    = new ConcurrentLinkedQueue<DSSTTesseral>();
+
+        createHansenObjects(false);
+        cjsjFourier = new FourierCjSjCoefficients(maxFrequencyShortPeriodics,
+                                                  FastMath.max(maxOrderTesseralSP, maxOrderMdailyTesseralSP));
+
     }
 
     /** Check an index range.
@@ -373,6 +421,9 @@ public class DSSTTesseral implements DSSTForceModel {
                                                                  new TimeSpanMap<Slot>(new Slot(mMax, maxFrequencyShortPeriodics,
                                                                                                 INTERPOLATION_POINTS)));
 
+        // working copies from a previous propagation are not consistent with the new terms
+        workers.clear();
+
         final List<ShortPeriodTerms> list = new ArrayList<ShortPeriodTerms>();
         list.add(shortPeriodTerms);
         return list;
@@ -537,61 +588,135 @@ public class DSSTTesseral implements DSSTForceModel {
         final Slot slot = shortPeriodTerms.createSlot(meanStates);
 
         for (final SpacecraftState meanState : meanStates) {
+            computeGridPoint(meanState).addTo(slot);
+        }
 
-            initializeStep(new AuxiliaryElements(meanState.getOrbit(), I));
+    }
 
-            // Initialise the Hansen coefficients
-            for (int s = -maxDegree; s <= maxDegree; s++) {
-                // coefficients with j == 0 are always needed
-                this.hansenObjects[s + maxDegree][0].computeInitValues(e2, chi, chi2);
-                if (maxDegreeTesseralSP >= 0) {
-                    // initialize other objects only if required
-                    for (int j = 1; j <= maxFrequencyShortPeriodics; j++) {
-                        this.hansenObjects[s + maxDegree][j].computeInitValues(e2, chi, chi2);
+    /** {@inheritDoc}
+     * <p>
+     * The mean states are split into chunks of consecutive grid points, each chunk
+     * being processed in a separate sub-task with its own working copy of the model
+     * (the intermediate quantities, Hansen objects and Fourier coefficients all depend
+     * on the grid point). Once all sub-tasks are completed, the coefficients are added
+     * to the interpolation grid in grid points order, so the short period terms are
+     * exactly the same as the ones built by {@link #updateShortPeriodTerms(SpacecraftState...)}.
+     * </p>
+     */
+    @Override
+    public void updateShortPeriodTermsInParallel(final SpacecraftState ... meanStates)
+        throws OrekitException {
+
+        final ForkJoinPool pool     = ForkJoinTask.getPool();
+        final int          nbChunks = (pool == null) ? 1 : FastMath.min(pool.getParallelism(), meanStates.length);
+        if (nbChunks < 2) {
+            // nothing to split
+            updateShortPeriodTerms(meanStates);
+            return;
+        }
+
+        // compute the coefficients in parallel, each task handling a chunk of grid points
+        final GridPointCoefficients[] coefficients = new GridPointCoefficients[meanStates.length];
+        final List<ForkJoinTask<?>> tasks = new ArrayList<ForkJoinTask<?>>(nbChunks);
+        for (int chunk = 0; chunk < nbChunks; ++chunk) {
+            final int start = (chunk * meanStates.length) / nbChunks;
+            final int end   = ((chunk + 1) * meanStates.length) / nbChunks;
+            tasks.add(ForkJoinTask.adapt(() -> {
+                DSSTTesseral worker = workers.poll();
+                if (worker == null) {
+                    worker = new DSSTTesseral(this);
+                }
+                try {
+                    for (int i = start; i < end; ++i) {
+                        coefficients[i] = worker.computeGridPoint(meanStates[i]);
                     }
+                } catch (OrekitException oe) {
+                    throw new OrekitExceptionWrapper(oe);
+                } finally {
+                    workers.add(worker);
                 }
-            }
+            }));
+        }
+        try {
+            ForkJoinTask.invokeAll(tasks);
+        } catch (OrekitExceptionWrapper oew) {
+            throw oew.getException();
+        }
 
-            // Compute coefficients
-            // Compute only if there is at least one non-resonant tesseral
-            if (!nonResOrders.isEmpty() || maxDegreeTesseralSP < 0) {
-                // Generate the fourrier coefficients
-                cjsjFourier.generateCoefficients(meanState.getDate());
+        // add the coefficients to the interpolation grid, in grid points order
+        final Slot slot = shortPeriodTerms.createSlot(meanStates);
+        for (final GridPointCoefficients gridPointCoefficients : coefficients) {
+            gridPointCoefficients.addTo(slot);
+        }
 
-                // the coefficient 3n / 2a
-                final double tnota = 1.5 * meanMotion / a;
+    }
 
-                // build the mDaily coefficients
-                for (int m = 1; m <= maxOrderMdailyTesseralSP; m++) {
-                    // build the coefficients
-                    buildCoefficients(meanState.getDate(), slot, m, 0, tnota);
+    /** Compute the short periodic coefficients at one grid point.
+     * @param meanState mean state at grid point
+     * @return coefficients at grid point
+     * @exception OrekitException if some specific error occurs
+     */
+    private GridPointCoefficients computeGridPoint(final SpacecraftState meanState)
+        throws OrekitException {
+
+        final GridPointCoefficients gridPointCoefficients =
+                new GridPointCoefficients(meanState.getDate(),
+                                          FastMath.max(maxOrderTesseralSP, maxOrderMdailyTesseralSP),
+                                          maxFrequencyShortPeriodics);
+
+        initializeStep(new AuxiliaryElements(meanState.getOrbit(), I));
+
+        // Initialise the Hansen coefficients
+        for (int s = -maxDegree; s <= maxDegree; s++) {
+            // coefficients with j == 0 are always needed
+            this.hansenObjects[s + maxDegree][0].computeInitValues(e2, chi, chi2);
+            if (maxDegreeTesseralSP >= 0) {
+                // initialize other objects only if required
+                for (int j = 1; j <= maxFrequencyShortPeriodics; j++) {
+                    this.hansenObjects[s + maxDegree][j].computeInitValues(e2, chi, chi2);
                 }
+            }
+        }
 
-                if (maxDegreeTesseralSP >= 0) {
-                    // generate the other coefficients, if required
-                    for (final Map.Entry<Integer, List<Integer>> entry : nonResOrders.entrySet()) {
+        // Compute coefficients
+        // Compute only if there is at least one non-resonant tesseral
+        if (!nonResOrders.isEmpty() || maxDegreeTesseralSP < 0) {
+            // Generate the fourrier coefficients
+            cjsjFourier.generateCoefficients(meanState.getDate());
 
-                        for (int j : entry.getValue()) {
-                            // build the coefficients
-                            buildCoefficients(meanState.getDate(), slot, entry.getKey(), j, tnota);
-                        }
+            // the coefficient 3n / 2a
+            final double tnota = 1.5 * meanMotion / a;
+
+            // build the mDaily coefficients
+            for (int m = 1; m <= maxOrderMdailyTesseralSP; m++) {
+                // build the coefficients
+                buildCoefficients(gridPointCoefficients, m, 0, tnota);
+            }
+
+            if (maxDegreeTesseralSP >= 0) {
+                // generate the other coefficients, if required
+                for (final Map.Entry<Integer, List<Integer>> entry : nonResOrders.entrySet()) {
+
+                    for (int j : entry.getValue()) {
+                        // build the coefficients
+                        buildCoefficients(gridPointCoefficients, entry.getKey(), j, tnota);
                     }
                 }
             }
-
         }
 
+        return gridPointCoefficients;
+
     }
 
     /** Build a set of coefficients.
      *
-     * @param date the current date
-     * @param slot slot to which the coefficients belong
+     * @param gridPointCoefficients grid point to which the coefficients belong
      * @param m m index
      * @param j j index
      * @param tnota 3n/2a
      */
-    private void buildCoefficients(final AbsoluteDate date, final Slot slot,
+    private void buildCoefficients(final GridPointCoefficients gridPointCoefficients,
                                    final int m, final int j, final double tnota) {
         // Create local arrays
         final double[] currentCijm = new double[] {0., 0., 0., 0., 0., 0.};
@@ -615,9 +740,9 @@ public class DSSTTesseral implements DSSTForceModel {
             currentSijm[i] *= oojnmt;
         }
 
-        // Add the coefficients to the interpolation grid
-        slot.cijm[m][j + maxFrequencyShortPeriodics].addGridPoint(date, currentCijm);
-        slot.sijm[m][j + maxFrequencyShortPeriodics].addGridPoint(date, currentSijm);
+        // Store the coefficients until they are added to the interpolation grid
+        gridPointCoefficients.cijm[m][j + maxFrequencyShortPeriodics] = currentCijm;
+        gridPointCoefficients.sijm[m][j + maxFrequencyShortPeriodics] = currentSijm;
 
     }
 
@@ -1546,6 +1671,55 @@ public class DSSTTesseral implements DSSTForceModel {
 
     }
 
+    /** Coefficients computed at one grid point, before they are added to the interpolation grid. */
+    private static class GridPointCoefficients {
+
+        /** Date of the grid point. */
+        private final AbsoluteDate date;
+
+        /** The coefficients C<sub>i</sub><sup>j</sup><sup>m</sup>.
+         * <p>
+         * The index order is cijm[m][j][i], with null entries for (m, j) pairs
+         * that are not computed.
+         * </p>
+         */
+        private final double[][][] cijm;
+
+        /** The coefficients S<sub>i</sub><sup>j</sup><sup>m</sup>.
+         * <p>
+         * The index order is sijm[m][j][i], with null entries for (m, j) pairs
+         * that are not computed.
+         * </p>
+         */
+        private final double[][][] sijm;
+
+        /** Simple constructor.
+         *  @param date date of the grid point
+         *  @param mMax maximum value for m index
+         *  @param jMax maximum value for j index
+         */
+        GridPointCoefficients(final AbsoluteDate date, final int mMax, final int jMax) {
+            this.date = date;
+            this.cijm = new double[mMax + 1][2 * jMax + 1][];
+            this.sijm = new double[mMax + 1][2 * jMax + 1][];
+        }
+
+        /** Add the coefficients to the interpolation grid of a slot.
+         * @param slot slot to which the coefficients belong
+         */
+        void addTo(final Slot slot) {
+            for (int m = 0; m < cijm.length; ++m) {
+                for (int j = 0; j < cijm[m].length; ++j) {
+                    if (cijm[m][j] != null) {
+                        slot.cijm[m][j].addGridPoint(date, cijm[m][j]);
+                        slot.sijm[m][j].addGridPoint(date, sijm[m][j]);
+                    }
+                }
+            }
+        }
+
+    }
+
     /** Coefficients valid for one time slot. */
     private static class Slot implements Serializable {
 
@@ -30,11 +30,15 @@ import org.orekit.errors.OrekitMessages;
  */
 public class CoefficientsFactory {
 
-    /** Internal storage of the polynomial values. Reused for further computation. */
-    private static TreeMap<NSKey, Double> VNS = new TreeMap<NSKey, Double>();
+    /** Internal storage of the polynomial values. Reused for further computation.
+     * <p>
+     * The map is never modified once published, extensions are done on a copy.
+     * </p>
+     */
+    private static volatile TreeMap<NSKey, Double> VNS = new TreeMap<NSKey, Double>();
 
     /** Last computed order for V<sub>ns</sub> coefficients. */
-    private static int         LAST_VNS_ORDER = 2;
+    private static volatile int         LAST_VNS_ORDER = 2;
 
     /** Static initialization for the V<sub>ns</sub> coefficient. */
     static {
@@ -122,31 +126,37 @@ public class CoefficientsFactory {
     }
 
     /** Compute the V<sub>n,s</sub> coefficients from 2.8.2-(1)(2).
+     * <p>
+     * This method is thread-safe. The returned map must not be modified.
+     * </p>
      * @param order Order of the computation. Computation will be done from 0 to order -1
      * @return Map of the V<sub>n, s</sub> coefficients
      */
-    public static TreeMap<NSKey, Double> computeVns(final int order) {
+    public static synchronized TreeMap<NSKey, Double> computeVns(final int order) {
 
         if (order > LAST_VNS_ORDER) {
-            // Compute coefficient
+            // Compute coefficient on a copy, as other threads may be reading the current map
+            final TreeMap<NSKey, Double> vns = new TreeMap<NSKey, Double>(VNS);
             // Need previous computation as recurrence relation is done at s + 1 and n + 2
             final int min = (LAST_VNS_ORDER - 2 < 0) ? 0 : (LAST_VNS_ORDER - 2);
             for (int n = min; n < order; n++) {
                 for (int s = 0; s < n + 1; s++) {
                     if ((n - s) % 2 != 0) {
-                        VNS.put(new NSKey(n, s), 0.);
+                        vns.put(new NSKey(n, s), 0.);
                     } else {
                         // s = n
                         if (n == s && (s + 1) < order) {
-                            VNS.put(new NSKey(s + 1, s + 1), VNS.get(new NSKey(s, s)) / (2 * s + 2.));
+                            vns.put(new NSKey(s + 1, s + 1), vns.get(new NSKey(s, s)) / (2 * s + 2.));
                         }
                         // otherwise
                         if ((n + 2) < order) {
-                            VNS.put(new NSKey(n + 2, s), VNS.get(new NSKey(n, s)) * (-n + s - 1.) / (n + s + 2.));
+                            vns.put(new NSKey(n + 2, s), vns.get(new NSKey(n, s)) * (-n + s - 1.) / (n + s + 2.));
                         }
                     }
                 }
             }
+            // publish the map before the order, so readers checking the order see the new map
+            VNS            = vns;
             LAST_VNS_ORDER = order;
         }
         return VNS;
@@ -172,15 +182,13 @@ public class CoefficientsFactory {
         // If (n - s) is odd, the Vmsn coefficient is null
         if ((n - s) % 2 == 0) {
             // Update the Vns coefficient
-            if ((n + 1) > LAST_VNS_ORDER) {
-                computeVns(n + 1);
-            }
+            final TreeMap<NSKey, Double> vns = ((n + 1) > LAST_VNS_ORDER) ? computeVns(n + 1) : VNS;
             if (s >= 0) {
-                result = fns  * VNS.get(new NSKey(n, s)) / fnm;
+                result = fns  * vns.get(new NSKey(n, s)) / fnm;
             } else {
                 // If s < 0 : Vmn-s = (-1)^(-s) Vmns
                 final int mops = (s % 2 == 0) ? 1 : -1;
-                result = mops * fns * VNS.get(new NSKey(n, -s)) / fnm;
+                result = mops * fns * vns.get(new NSKey(n, -s)) / fnm;
             }
         }
         return result;
@@ -27,8 +27,13 @@ import org.hipparchus.util.FastMath;
  */
 public class GammaMnsFunction {
 
-    /** Factorial ratios. */
-    private static double[] PRECOMPUTED_RATIOS = new double[0];
+    /** Factorial ratios.
+     * <p>
+     * The array is never modified once published, it is replaced by
+     * a larger one when needed, so it can be read without locking.
+     * </p>
+     */
+    private static volatile double[] PRECOMPUTED_RATIOS = new double[0];
 
     /** Factorial ratios. */
     private final double[] ratios;
@@ -74,38 +79,50 @@ public class GammaMnsFunction {
      * @return factorial ratios
      */
     private static double[] getRatios(final int nMax, final int size) {
-        synchronized (PRECOMPUTED_RATIOS) {
-            if (PRECOMPUTED_RATIOS.length < size) {
-                // we need to compute a larger reference array
-
-                final BigFraction[] bF = new BigFraction[size];
-                for (int n = 0; n <= nMax; ++n) {
-
-                    // populate ratios for s = 0
-                    bF[index(0, n, 0)] = BigFraction.ONE;
-                    for (int m = 1; m <= n; ++m) {
-                        bF[index(m, n, 0)] = bF[index(m - 1, n, 0)].multiply(n + m).divide(n - (m - 1));
-                    }
-
-                    // populate ratios for s != 0
-                    for (int absS = 1; absS <= n; ++absS) {
-                        for (int m = 0; m <= n; ++m) {
-                            bF[index(m, n, +absS)] = bF[index(m, n, absS - 1)].divide(n + absS).multiply(n - (absS - 1));
-                            bF[index(m, n, -absS)] = bF[index(m, n, absS)];
-                        }
-                    }
+        final double[] ratios = PRECOMPUTED_RATIOS;
+        return (ratios.length < size) ? computeRatios(nMax, size) : ratios;
+    }
 
-                }
+    /** Compute a larger reference array of ratios.
+     * @param nMax max value for n
+     * @param size ratio size array
+     * @return factorial ratios
+     */
+    private static synchronized double[] computeRatios(final int nMax, final int size) {
 
-                // convert to double
-                PRECOMPUTED_RATIOS = new double[size];
-                for (int i = 0; i < bF.length; ++i) {
-                    PRECOMPUTED_RATIOS[i] = bF[i].doubleValue();
-                }
+        if (PRECOMPUTED_RATIOS.length >= size) {
+            // another thread has already computed the array while we were waiting for the lock
+            return PRECOMPUTED_RATIOS;
+        }
 
+        final BigFraction[] bF = new BigFraction[size];
+        for (int n = 0; n <= nMax; ++n) {
+
+            // populate ratios for s = 0
+            bF[index(0, n, 0)] = BigFraction.ONE;
+            for (int m = 1; m <= n; ++m) {
+                bF[index(m, n, 0)] = bF[index(m - 1, n, 0)].multiply(n + m).divide(n - (m - 1));
             }
-            return PRECOMPUTED_RATIOS;
+
+            // populate ratios for s != 0
+            for (int absS = 1; absS <= n; ++absS) {
+                for (int m = 0; m <= n; ++m) {
+                    bF[index(m, n, +absS)] = bF[index(m, n, absS - 1)].divide(n + absS).multiply(n - (absS - 1));
+                    bF[index(m, n, -absS)] = bF[index(m, n, absS)];
+                }
+            }
+
+        }
+
+        // convert to double, and publish the array only once it is complete
+        final double[] ratios = new double[size];
+        for (int i = 0; i < bF.length; ++i) {
+            ratios[i] = bF[i].doubleValue();
         }
+        PRECOMPUTED_RATIOS = ratios;
+
+        return ratios;
+
     }
 
     /** Get &Gamma; function value.
@@ -16,14 +16,10 @@
  */
 package org.orekit.propagation.semianalytical.dsst.utilities;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-
 import org.hipparchus.analysis.differentiation.DerivativeStructure;
 import org.hipparchus.analysis.polynomials.PolynomialFunction;
 import org.hipparchus.analysis.polynomials.PolynomialsUtils;
+import org.hipparchus.util.FastMath;
 
 /** Provider of the Jacobi polynomials P<sub>l</sub><sup>v,w</sup>.
  * <p>
@@ -37,9 +33,13 @@ import org.hipparchus.analysis.polynomials.PolynomialsUtils;
  */
 public class JacobiPolynomials {
 
-    /** Storage map. */
-    private static final Map<JacobiKey, List<PolynomialFunction>> MAP =
-            new HashMap<JacobiPolynomials.JacobiKey, List<PolynomialFunction>>();
+    /** Polynomials storage, indexed by v, w and degree.
+     * <p>
+     * The arrays are never modified once published, they are replaced by
+     * larger ones when needed, so they can be read without locking.
+     * </p>
+     */
+    private static volatile PolynomialFunction[][][] POLYNOMIALS = new PolynomialFunction[0][][];
 
     /** Private constructor as class is a utility. */
     private JacobiPolynomials() {
@@ -57,85 +57,60 @@ public class JacobiPolynomials {
      */
     public static DerivativeStructure getValue(final int l, final int v, final int w, final DerivativeStructure gamma) {
 
-        final List<PolynomialFunction> polyList;
-        synchronized (MAP) {
-
-            final JacobiKey key = new JacobiKey(v, w);
-
-            // Check the existence of the corresponding key in the map.
-            if (!MAP.containsKey(key)) {
-                MAP.put(key, new ArrayList<PolynomialFunction>());
-            }
-
-            polyList = MAP.get(key);
-
-        }
-
-        final PolynomialFunction polynomial;
-        synchronized (polyList) {
-            // If the l-th degree polynomial has not been computed yet, the polynomials
-            // up to this degree are computed.
-            for (int degree = polyList.size(); degree <= l; degree++) {
-                polyList.add(degree, PolynomialsUtils.createJacobiPolynomial(degree, v, w));
-            }
-            polynomial = polyList.get(l);
+        PolynomialFunction[][][] table = POLYNOMIALS;
+        if (v >= table.length || w >= table[v].length ||
+            table[v][w] == null || l >= table[v][w].length) {
+            // the polynomial has not been computed yet
+            table = extendTable(l, v, w);
         }
 
         // compute value and derivative
-        return polynomial.value(gamma);
+        return table[v][w][l].value(gamma);
 
     }
 
-
-    /** Inner class for Jacobi polynomials keys.
-     * <p>
-     * Please note that this class is not original content but is a copy from the
-     * Hipparchus library. This library is published under the
-     * Apache License, version 2.0.
-     * </p>
-     *
-     * @see org.hipparchus.analysis.polynomials.PolynomialsUtils
+    /** Extend the polynomials table.
+     * @param l degree of the polynomial
+     * @param v v value
+     * @param w w value
+     * @return extended table, containing at least polynomials up to degree l for (v, w)
      */
-    private static class JacobiKey {
+    private static synchronized PolynomialFunction[][][] extendTable(final int l, final int v, final int w) {
 
-        /** First exponent. */
-        private final int v;
-
-        /** Second exponent. */
-        private final int w;
-
-        /** Simple constructor.
-         * @param v first exponent
-         * @param w second exponent
-         */
-        JacobiKey(final int v, final int w) {
-            this.v = v;
-            this.w = w;
+        final PolynomialFunction[][][] table = POLYNOMIALS;
+        final PolynomialFunction[] existing = (v < table.length && w < table[v].length) ? table[v][w] : null;
+        if (existing != null && l < existing.length) {
+            // another thread has already extended the table while we were waiting for the lock
+            return table;
         }
 
-        /** Get hash code.
-         * @return hash code
-         */
-        @Override
-        public int hashCode() {
-            return (v << 16) ^ w;
+        // compute the polynomials up to the required degree, reusing the already computed ones
+        final PolynomialFunction[] polynomials = new PolynomialFunction[l + 1];
+        final int known = (existing == null) ? 0 : existing.length;
+        if (existing != null) {
+            System.arraycopy(existing, 0, polynomials, 0, known);
+        }
+        for (int degree = known; degree <= l; ++degree) {
+            polynomials[degree] = PolynomialsUtils.createJacobiPolynomial(degree, v, w);
         }
 
-        /** Check if the instance represent the same key as another instance.
-         * @param key other key
-         * @return true if the instance and the other key refer to the same polynomial
-         */
-        @Override
-        public boolean equals(final Object key) {
-
-            if ((key == null) || !(key instanceof JacobiKey)) {
-                return false;
+        // copy only the modified row, other rows are shared
+        final PolynomialFunction[][][] extended = new PolynomialFunction[FastMath.max(v + 1, table.length)][][];
+        System.arraycopy(table, 0, extended, 0, table.length);
+        final PolynomialFunction[][] row = (v < table.length) ? table[v] : new PolynomialFunction[0][];
+        extended[v] = new PolynomialFunction[FastMath.max(w + 1, row.length)][];
+        System.arraycopy(row, 0, extended[v], 0, row.length);
+        for (int i = table.length; i < extended.length; ++i) {
+            if (extended[i] == null) {
+                extended[i] = new PolynomialFunction[0][];
             }
+        }
+        extended[v][w] = polynomials;
 
-            final JacobiKey otherK = (JacobiKey) key;
-            return (v == otherK.v) && (w == otherK.w);
+        // publish the table only once it is complete
+        POLYNOMIALS = extended;
+        return extended;
 
-        }
     }
 
 }
@@ -39,8 +39,8 @@ import org.hipparchus.util.FastMath;
  *
  *  <p> Initialization is given by : Y<sub>0,0</sub><sup>n,s</sup> = 1
  *
- *  <p> Internally, the Modified Newcomb Operators are stored as an array of
- *  {@link PolynomialFunction} :
+ *  <p> Internally, the Modified Newcomb Operators are stored as arrays of
+ *  polynomial coefficients, in a table that can be read without locking :
  *
  *  <p> Y<sub>ρ,σ</sub><sup>n,s</sup> = P<sub>k₀</sub> + P<sub>k₁</sub>n + ... +
  *  P<sub>k<sub>j</sub></sub>n<sup>j</sup>
@@ -54,8 +54,13 @@ import org.hipparchus.util.FastMath;
  */
 public class NewcombOperators {
 
-    /** Storage map. */
-    private static final Map<NewKey, Double> MAP = new TreeMap<NewKey, Double>();
+    /** Polynomials coefficients, indexed by ρ, σ, power of n and power of s.
+     * <p>
+     * The table is never modified once published, it is replaced by
+     * a larger one when needed, so it can be read without locking.
+     * </p>
+     */
+    private static volatile double[][][][] COEFFICIENTS = new double[0][][][];
 
     /** Private constructor as class is a utility.
      */
@@ -74,31 +79,65 @@ public class NewcombOperators {
      */
     public static double getValue(final int rho, final int sigma, final int n, final int s) {
 
-        final NewKey key = new NewKey(n, s, rho, sigma);
-        synchronized (MAP) {
-            if (MAP.containsKey(key)) {
-                return MAP.get(key);
-            }
-        }
-
-        // Get the Newcomb polynomials for the given rho and sigma
-        final List<PolynomialFunction> polynomials = PolynomialsGenerator.getPolynomials(rho, sigma);
+        // Get the Newcomb polynomials coefficients for the given rho and sigma
+        final double[][][][] table = COEFFICIENTS;
+        final double[][] coefficients = (rho < table.length && sigma < table[rho].length) ?
+                                        table[rho][sigma] : extendTable(rho, sigma)[rho][sigma];
 
-        // Compute the value from the list of polynomials for the given n and s
+        // Compute the value from the polynomials for the given n and s
         double nPower = 1.;
         double value = 0.0;
-        for (final PolynomialFunction polynomial : polynomials) {
-            value += polynomial.value(s) * nPower;
+        for (final double[] c : coefficients) {
+            // evaluate the polynomial in s using Horner scheme
+            double p = c[c.length - 1];
+            for (int k = c.length - 2; k >= 0; --k) {
+                p = s * p + c[k];
+            }
+            value += p * nPower;
             nPower = n * nPower;
         }
-        synchronized (MAP) {
-            MAP.put(key, value);
-        }
 
         return value;
 
     }
 
+    /** Extend the polynomials coefficients table.
+     * @param rho ρ index
+     * @param sigma σ index
+     * @return extended table, containing at least the (ρ,σ) couple
+     */
+    private static synchronized double[][][][] extendTable(final int rho, final int sigma) {
+
+        final double[][][][] table = COEFFICIENTS;
+        if (rho < table.length && sigma < table[rho].length) {
+            // another thread has already extended the table while we were waiting for the lock
+            return table;
+        }
+
+        // the table is rectangular, all rows have the same size
+        final int rhoSize   = FastMath.max(rho + 1, table.length);
+        final int sigmaSize = FastMath.max(sigma + 1, table.length == 0 ? 0 : table[0].length);
+        final double[][][][] extended = new double[rhoSize][sigmaSize][][];
+        for (int r = 0; r < rhoSize; ++r) {
+            for (int t = 0; t < sigmaSize; ++t) {
+                if (r < table.length && t < table[r].length) {
+                    extended[r][t] = table[r][t];
+                } else {
+                    final List<PolynomialFunction> polynomials = PolynomialsGenerator.getPolynomials(r, t);
+                    extended[r][t] = new double[polynomials.size()][];
+                    for (int j = 0; j < polynomials.size(); ++j) {
+                        extended[r][t][j] = polynomials.get(j).getCoefficients();
+                    }
+                }
+            }
+        }
+
+        // publish the table only once it is complete
+        COEFFICIENTS = extended;
+        return extended;
+
+    }
+
     /** Generator for Newcomb polynomials. */
     private static class PolynomialsGenerator {
 
@@ -485,87 +524,4 @@ public class NewcombOperators {
 
     }
 
-    /** Newcomb operator's key. */
-    private static class NewKey implements Comparable<NewKey> {
-
-        /** n value. */
-        private final int n;
-
-        /** s value. */
-        private final int s;
-
-        /** ρ value. */
-        private final int rho;
-
-        /** σ value. */
-        private final int sigma;
-
-        /** Simpleconstructor.
-         * @param n n
-         * @param s s
-         * @param rho ρ
-         * @param sigma σ
-         */
-        NewKey(final int n, final int s, final int rho, final int sigma) {
-            this.n = n;
-            this.s = s;
-            this.rho = rho;
-            this.sigma = sigma;
-        }
-
-        /** {@inheritDoc} */
-        public int compareTo(final NewKey key) {
-            int result = 1;
-            if (n == key.n) {
-                if (s == key.s) {
-                    if (rho == key.rho) {
-                        if (sigma < key.sigma) {
-                            result = -1;
-                        } else if (sigma == key.sigma) {
-                            result = 0;
-                        } else {
-                            result = 1;
-                        }
-                    } else if (rho < key.rho) {
-                        result = -1;
-                    } else {
-                        result = 1;
-                    }
-                } else if (s < key.s) {
-                    result = -1;
-                } else {
-                    result = 1;
-                }
-            } else if (n < key.n) {
-                result = -1;
-            }
-            return result;
-        }
-
-        /** {@inheritDoc} */
-        public boolean equals(final Object key) {
-
-            if (key == this) {
-                // first fast check
-                return true;
-            }
-
-            if ((key != null) && (key instanceof NewKey)) {
-                return (n     == ((NewKey) key).n) &&
-                       (s     == ((NewKey) key).s) &&
-                       (rho   == ((NewKey) key).rho) &&
-                       (sigma == ((NewKey) key).sigma);
-            }
-
-            return false;
-
-        }
-
-        /** {@inheritDoc} */
-        public int hashCode() {
-            return 0x25baa451 ^ (n << 24) ^ (s << 16) ^ (rho << 8) ^ sigma;
-        }
-
-    }
-
 }
@@ -16,6 +16,9 @@
  */
 package org.orekit.time;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /** This interface represents a scalar function of time.
  * @param <T> Type of the return value.
  * @author Luc Maisonobe
@@ -28,4 +31,22 @@ public interface TimeFunction<T> {
      */
     T value(AbsoluteDate date);
 
+    /** Compute a function of time for several dates.
+     * <p>
+     * The default implementation simply calls {@link #value(AbsoluteDate)}
+     * for each date in turn. Implementations for which some computation
+     * can be shared between dates may override it.
+     * </p>
+     * @param dates dates
+     * @return values of the function, in the same order as the dates
+     * @since 9.0
+     */
+    default List<T> value(final List<AbsoluteDate> dates) {
+        final List<T> values = new ArrayList<T>(dates.size());
+        for (final AbsoluteDate date : dates) {
+            values.add(value(date));
+        }
+        return values;
+    }
+
 }
@@ -0,0 +1,776 @@
+/* Copyright 2002-2016 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.utils;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.util.FastMath;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.errors.OrekitIllegalStateException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.errors.TimeStampedCacheException;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeStamped;
+
+/** Thread-safe cache for {@link TimeStamped time-stamped} data with lock-free reads.
+ * <p>
+ * This cache is configured and behaves like {@link GenericTimeStampedCache}, but
+ * it is tuned for heavily concurrent read access. Slots are immutable: they are
+ * never changed once they have been published, extending a slot or creating a new
+ * one is done by building new slots and publishing atomically a new list of slots
+ * (copy-on-write). Threads requesting dates already covered by published slots
+ * therefore never wait, they only perform a search in immutable arrays. Only
+ * threads that need new data to be generated are serialized, and they don't
+ * prevent other threads from reading the already published slots in the meantime.
+ * </p>
+ * <p>
+ * As no bookkeeping is performed on read access, the slot evicted when the
+ * maximum number of slots is reached is the least recently created or extended
+ * one, not the least recently accessed one.
+ * </p>
+ * @param <T> Type of the cached data.
+ * @see GenericTimeStampedCache
+ * @see OrekitConfiguration#setLockFreeCaches(boolean)
+ * @author Luc Maisonobe
+ * @since 9.0
+ */
+public class ConcurrentTimeStampedCache<T extends TimeStamped> implements TimeStampedCache<T> {
+
+    /** Quantum step. */
+    private static final double QUANTUM_STEP = 1.0e-6;
+
+    /** Reference date for indexing. */
+    private final AtomicReference<AbsoluteDate> reference;
+
+    /** Maximum number of independent cached time slots. */
+    private final int maxSlots;
+
+    /** Maximum duration span in seconds of one slot. */
+    private final double maxSpan;
+
+    /** Quantum gap above which a new slot is created instead of extending an existing one. */
+    private final long newSlotQuantumGap;
+
+    /** Class of the cached entries. */
+    private final Class<T> entriesClass;
+
+    /** Generator to use for yet non-cached data. */
+    private final TimeStampedGenerator<T> generator;
+
+    /** Number of entries in a neighbors array. */
+    private final int neighborsSize;
+
+    /** Currently published (immutable) list of immutable slots. */
+    private final AtomicReference<List<Slot>> slots;
+
+    /** Number of calls to the getNeighbors method. */
+    private final LongAdder getNeighborsCalls;
+
+    /** Number of calls to the generate method. */
+    private final AtomicInteger generateCalls;
+
+    /** Number of evictions. */
+    private final AtomicInteger evictions;
+
+    /** Lock serializing data generation. */
+    private final ReentrantLock generationLock;
+
+    /** Counter for slots updates (guarded by {@link #generationLock}). */
+    private long updates;
+
+    /** Simple constructor.
+     * @param neighborsSize fixed size of the arrays to be returned by {@link
+     * #getNeighbors(AbsoluteDate)}, must be at least 2
+     * @param maxSlots maximum number of independent cached time slots
+     * @param maxSpan maximum duration span in seconds of one slot
+     * (can be set to {@code Double.POSITIVE_INFINITY} if desired)
+     * @param newSlotInterval time interval above which a new slot is created
+     * instead of extending an existing one
+     * @param generator generator to use for yet non-existent data
+     * @param entriesClass class of the cached entries
+     */
+    public ConcurrentTimeStampedCache(final int neighborsSize, final int maxSlots, final double maxSpan,
+                                      final double newSlotInterval, final TimeStampedGenerator<T> generator,
+                                      final Class<T> entriesClass) {
+
+        // safety check
+        if (maxSlots < 1) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL, maxSlots, 1);
+        }
+        if (neighborsSize < 2) {
+            throw new OrekitIllegalArgumentException(OrekitMessages.NOT_ENOUGH_CACHED_NEIGHBORS,
+                                                      neighborsSize, 2);
+        }
+
+        this.reference         = new AtomicReference<AbsoluteDate>();
+        this.maxSlots          = maxSlots;
+        this.maxSpan           = maxSpan;
+        this.newSlotQuantumGap = FastMath.round(newSlotInterval / QUANTUM_STEP);
+        this.entriesClass      = entriesClass;
+        this.generator         = generator;
+        this.neighborsSize     = neighborsSize;
+        this.slots             = new AtomicReference<List<Slot>>(Collections.<Slot>emptyList());
+        this.getNeighborsCalls = new LongAdder();
+        this.generateCalls     = new AtomicInteger(0);
+        this.evictions         = new AtomicInteger(0);
+        this.generationLock    = new ReentrantLock();
+        this.updates           = 0L;
+
+    }
+
+    /** Get the generator.
+     * @return generator
+     */
+    public TimeStampedGenerator<T> getGenerator() {
+        return generator;
+    }
+
+    /** Get the maximum number of independent cached time slots.
+     * @return maximum number of independent cached time slots
+     */
+    public int getMaxSlots() {
+        return maxSlots;
+    }
+
+    /** Get the maximum duration span in seconds of one slot.
+     * @return maximum duration span in seconds of one slot
+     */
+    public double getMaxSpan() {
+        return maxSpan;
+    }
+
+    /** Get quantum gap above which a new slot is created instead of extending an existing one.
+     * <p>
+     * The quantum gap is the {@code newSlotInterval} value provided at construction
+     * rounded to the nearest quantum step used internally by the cache.
+     * </p>
+     * @return quantum gap in seconds
+     */
+    public double getNewSlotQuantumGap() {
+        return newSlotQuantumGap * QUANTUM_STEP;
+    }
+
+    /** Get the number of calls to the {@link #getNeighbors(AbsoluteDate)} method.
+     * <p>
+     * This number of calls is used as a reference to interpret {@link #getGenerateCalls()}.
+     * </p>
+     * @return number of calls to the {@link #getNeighbors(AbsoluteDate)} method
+     * @see #getGenerateCalls()
+     */
+    public int getGetNeighborsCalls() {
+        return getNeighborsCalls.intValue();
+    }
+
+    /** Get the number of calls to the generate method.
+     * <p>
+     * This number of calls is related to the number of cache misses and may
+     * be used to tune the cache configuration. Each cache miss implies at
+     * least one call is performed, but may require several calls if the new
+     * date is far offset from the existing cache, depending on the number of
+     * elements and step between elements in the arrays returned by the generator.
+     * </p>
+     * @return number of calls to the generate method
+     * @see #getGetNeighborsCalls()
+     */
+    public int getGenerateCalls() {
+        return generateCalls.get();
+    }
+
+    /** Get the number of slots evictions.
+     * <p>
+     * This number should remain small when the max number of slots is sufficient
+     * with respect to the number of concurrent requests to the cache. If it
+     * increases too much, then the cache configuration is probably bad and cache
+     * does not really improve things (in this case, the {@link #getGenerateCalls()
+     * number of calls to the generate method} will probably increase too.
+     * </p>
+     * @return number of slots evictions
+     */
+    public int getSlotsEvictions() {
+        return evictions.get();
+    }
+
+    /** Get the number of slots in use.
+     * @return number of slots in use
+     */
+    public int getSlots() {
+        return slots.get().size();
+    }
+
+    /** Get the total number of entries cached.
+     * @return total number of entries cached
+     */
+    public int getEntries() {
+        int entries = 0;
+        for (final Slot slot : slots.get()) {
+            entries += slot.getEntries();
+        }
+        return entries;
+    }
+
+    /** {@inheritDoc} */
+    public T getEarliest() throws IllegalStateException {
+        final List<Slot> published = slots.get();
+        if (published.isEmpty()) {
+            throw new OrekitIllegalStateException(OrekitMessages.NO_CACHED_ENTRIES);
+        }
+        return published.get(0).getEarliest();
+    }
+
+    /** {@inheritDoc} */
+    public T getLatest() throws IllegalStateException {
+        final List<Slot> published = slots.get();
+        if (published.isEmpty()) {
+            throw new OrekitIllegalStateException(OrekitMessages.NO_CACHED_ENTRIES);
+        }
+        return published.get(published.size() - 1).getLatest();
+    }
+
+    /** {@inheritDoc} */
+    public int getNeighborsSize() {
+        return neighborsSize;
+    }
+
+    /** Get the entries surrounding a central date.
+     * <p>
+     * If the central date is well within covered range, the returned array
+     * will be balanced with half the points before central date and half the
+     * points after it (depending on n parity, of course). If the central date
+     * is near the generator range boundary, then the returned array will be
+     * unbalanced and will contain only the n earliest (or latest) generated
+     * (and cached) entries. A typical example of the later case is leap seconds
+     * cache, since the number of leap seconds cannot be arbitrarily increased.
+     * </p>
+     * <p>
+     * The returned list is an unmodifiable view on the cache content.
+     * </p>
+     * @param central central date
+     * @return list of cached entries surrounding specified date (the size
+     * of the list is fixed to the one specified in the {@link
+     * #ConcurrentTimeStampedCache(int, int, double, double, TimeStampedGenerator,
+     * Class) constructor})
+     * @exception TimeStampedCacheException if entries are not chronologically
+     * sorted or if new data cannot be generated
+     * @see #getEarliest()
+     * @see #getLatest()
+     */
+    public List<T> getNeighbors(final AbsoluteDate central) throws TimeStampedCacheException {
+
+        getNeighborsCalls.increment();
+        final long dateQuantum = quantum(central);
+
+        // fast path: look for an already published slot, without any lock
+        final List<Slot> published = slots.get();
+        if (!published.isEmpty()) {
+            final Slot slot = published.get(slotIndex(published, dateQuantum));
+            if (slot.covers(dateQuantum)) {
+                final int firstNeighbor = slot.firstNeighbor(dateQuantum);
+                if (firstNeighbor >= 0 && firstNeighbor + neighborsSize <= slot.getEntries()) {
+                    return slot.getNeighbors(firstNeighbor);
+                }
+            }
+        }
+
+        // slow path: new data must be generated, we serialize generation
+        // but threads reading published slots are not blocked
+        generationLock.lock();
+        try {
+            return generateNeighbors(central, dateQuantum);
+        } finally {
+            generationLock.unlock();
+        }
+
+    }
+
+    /** Generate data and publish an updated list of slots.
+     * <p>
+     * We own the generation lock while calling this method.
+     * </p>
+     * @param central central date
+     * @param dateQuantum global quantum of the date
+     * @return list of cached entries surrounding specified date
+     * @exception TimeStampedCacheException if entries are not chronologically
+     * sorted or if new data cannot be generated
+     */
+    private List<T> generateNeighbors(final AbsoluteDate central, final long dateQuantum)
+        throws TimeStampedCacheException {
+
+        // check slots again as another thread may have published
+        // the data we need while we were waiting for the lock
+        final List<Slot> current = slots.get();
+        final List<Slot> updated = new ArrayList<Slot>(current);
+        int index = current.isEmpty() ? 0 : slotIndex(current, dateQuantum);
+
+        final Slot slot;
+        if (current.isEmpty() || !current.get(index).covers(dateQuantum)) {
+            // no existing slot is suitable, we need to create a new one
+
+            if ((!current.isEmpty()) &&
+                current.get(index).getLatestQuantum() < dateQuantum - newSlotQuantumGap) {
+                ++index;
+            }
+
+            slot = new SlotBuilder(central).rebalance(central, dateQuantum).build();
+
+            if (updated.size() >= maxSlots) {
+                // we must prevent exceeding allowed max
+
+                // select the least recently updated slot for eviction
+                int evict = 0;
+                for (int i = 0; i < updated.size(); ++i) {
+                    if (updated.get(i).getUpdate() < updated.get(evict).getUpdate()) {
+                        evict = i;
+                    }
+                }
+
+                // evict the selected slot
+                evictions.incrementAndGet();
+                updated.remove(evict);
+
+                if (evict < index) {
+                    // adjust index of created slot as it was shifted by the eviction
+                    index--;
+                }
+            }
+
+            updated.add(index, slot);
+
+        } else {
+            // an existing slot must be extended to be balanced around the central date
+            final Slot existing = current.get(index);
+            final int firstNeighbor = existing.firstNeighbor(dateQuantum);
+            if (firstNeighbor >= 0 && firstNeighbor + neighborsSize <= existing.getEntries()) {
+                // another thread has already extended the slot
+                return existing.getNeighbors(firstNeighbor);
+            }
+            slot = new SlotBuilder(existing).rebalance(central, dateQuantum).build();
+            updated.set(index, slot);
+        }
+
+        // publish the updated slots
+        slots.set(Collections.unmodifiableList(updated));
+
+        // we may end up with a non-balanced neighborhood,
+        // adjust the start point to fit within the cache
+        final int firstNeighbor = FastMath.max(0,
+                                               FastMath.min(slot.firstNeighbor(dateQuantum),
+                                                            slot.getEntries() - neighborsSize));
+        return slot.getNeighbors(firstNeighbor);
+
+    }
+
+    /** Convert a date to a rough global quantum.
+     * @param date date to convert
+     * @return quantum corresponding to the date
+     */
+    private long quantum(final AbsoluteDate date) {
+        reference.compareAndSet(null, date);
+        return FastMath.round(date.durationFrom(reference.get()) / QUANTUM_STEP);
+    }
+
+    /** Get the index of the slot in which a date could be cached.
+     * @param list non-empty list of slots to search in
+     * @param dateQuantum quantum of the date to search for
+     * @return the slot in which the date could be cached
+     */
+    private int slotIndex(final List<Slot> list, final long dateQuantum) {
+
+        int  iInf = 0;
+        final long qInf = list.get(iInf).getEarliestQuantum();
+        int  iSup = list.size() - 1;
+        final long qSup = list.get(iSup).getLatestQuantum();
+        while (iSup - iInf > 0) {
+            final int iInterp = (int) ((iInf * (qSup - dateQuantum) + iSup * (dateQuantum - qInf)) / (qSup - qInf));
+            final int iMed    = FastMath.max(iInf, FastMath.min(iInterp, iSup));
+            final Slot slot   = list.get(iMed);
+            if (dateQuantum < slot.getEarliestQuantum()) {
+                iSup = iMed - 1;
+            } else if (dateQuantum > slot.getLatestQuantum()) {
+                iInf = FastMath.min(iSup, iMed + 1);
+            } else {
+                return iMed;
+            }
+        }
+
+        return iInf;
+
+    }
+
+    /** Immutable time slot. */
+    private final class Slot {
+
+        /** Cached time-stamped entries. */
+        private final T[] data;
+
+        /** Global quantums of the entries. */
+        private final long[] quantums;
+
+        /** Update counter at slot creation. */
+        private final long update;
+
+        /** Simple constructor.
+         * @param data cached time-stamped entries (will be copied)
+         * @param quantums global quantums of the entries (will be copied)
+         * @param update update counter at slot creation
+         */
+        Slot(final List<T> data, final long[] quantums, final long update) {
+            @SuppressWarnings("unchecked")
+            final T[] array = (T[]) Array.newInstance(entriesClass, data.size());
+            this.data     = data.toArray(array);
+            this.quantums = quantums.clone();
+            this.update   = update;
+        }
+
+        /** Get the update counter at slot creation.
+         * @return update counter at slot creation
+         */
+        public long getUpdate() {
+            return update;
+        }
+
+        /** Get the earliest entry contained in the slot.
+         * @return earliest entry contained in the slot
+         */
+        public T getEarliest() {
+            return data[0];
+        }
+
+        /** Get the quantum of the earliest date contained in the slot.
+         * @return quantum of the earliest date contained in the slot
+         */
+        public long getEarliestQuantum() {
+            return quantums[0];
+        }
+
+        /** Get the latest entry contained in the slot.
+         * @return latest entry contained in the slot
+         */
+        public T getLatest() {
+            return data[data.length - 1];
+        }
+
+        /** Get the quantum of the latest date contained in the slot.
+         * @return quantum of the latest date contained in the slot
+         */
+        public long getLatestQuantum() {
+            return quantums[quantums.length - 1];
+        }
+
+        /** Get the number of entries contained in the slot.
+         * @return number of entries contained in the slot
+         */
+        public int getEntries() {
+            return data.length;
+        }
+
+        /** Check if a date is close enough to the slot to be cached in it.
+         * @param dateQuantum global quantum of the date
+         * @return true if the slot can be used or extended for the date
+         */
+        public boolean covers(final long dateQuantum) {
+            return getEarliestQuantum() <= dateQuantum + newSlotQuantumGap &&
+                   getLatestQuantum()   >= dateQuantum - newSlotQuantumGap;
+        }
+
+        /** Get the index of the first neighbor of a date.
+         * @param dateQuantum global quantum of the date
+         * @return index of the first neighbor of the date (may be out
+         * of slot range if the slot is not balanced around the date)
+         */
+        public int firstNeighbor(final long dateQuantum) {
+            return entryIndex(quantums, quantums.length, dateQuantum) - (neighborsSize - 1) / 2;
+        }
+
+        /** Get a view on neighbors.
+         * @param firstNeighbor index of the first neighbor (must be
+         * such that all neighbors are within slot range)
+         * @return unmodifiable view on neighbors
+         */
+        public List<T> getNeighbors(final int firstNeighbor) {
+            return Collections.unmodifiableList(Arrays.asList(data).subList(firstNeighbor,
+                                                                            firstNeighbor + neighborsSize));
+        }
+
+    }
+
+    /** Get the index of the entry corresponding to a date.
+     * @param quantums sorted array of entries quantums
+     * @param size number of entries in the array
+     * @param dateQuantum global quantum of the date
+     * @return index in the array such that entry[index] is before
+     * date and entry[index + 1] is after date (or they are at array boundaries)
+     */
+    private static int entryIndex(final long[] quantums, final int size, final long dateQuantum) {
+        if (dateQuantum < quantums[0]) {
+            // date if before the first entry
+            return -1;
+        } else if (dateQuantum > quantums[size - 1]) {
+            // date is after the last entry
+            return size;
+        } else {
+            final int index = Arrays.binarySearch(quantums, 0, size, dateQuantum);
+            return index >= 0 ? index : -(index + 2);
+        }
+    }
+
+    /** Builder for slots, used only while owning the generation lock. */
+    private final class SlotBuilder {
+
+        /** Time-stamped entries. */
+        private final List<T> data;
+
+        /** Global quantums of the entries. */
+        private long[] quantums;
+
+        /** Build a builder for a new slot.
+         * @param date central date for initial entries to insert in the slot
+         * @exception TimeStampedCacheException if entries are not chronologically
+         * sorted or if new data cannot be generated
+         */
+        SlotBuilder(final AbsoluteDate date) throws TimeStampedCacheException {
+
+            this.data     = new ArrayList<T>();
+            this.quantums = new long[0];
+
+            // set up first entries
+            generateCalls.incrementAndGet();
+            final List<T> first = generateAndCheck(null, date);
+            data.addAll(first);
+            updateQuantums();
+
+            while (data.size() < neighborsSize) {
+                // we need to generate more entries
+
+                final T entry0 = data.get(0);
+                final T entryN = data.get(data.size() - 1);
+                generateCalls.incrementAndGet();
+
+                if (entryN.getDate().durationFrom(date) <= date.durationFrom(entry0.getDate())) {
+                    // generate additional point at the end of the slot
+                    final AbsoluteDate generationDate =
+                            entryN.getDate().shiftedBy(getMeanStep() * (neighborsSize - data.size()));
+                    appendAtEnd(generateAndCheck(entryN, generationDate));
+                } else {
+                    // generate additional point at the start of the slot
+                    final AbsoluteDate generationDate =
+                            entry0.getDate().shiftedBy(-getMeanStep() * (neighborsSize - data.size()));
+                    insertAtStart(generateAndCheck(entry0, generationDate));
+                }
+
+            }
+
+        }
+
+        /** Build a builder for extending an existing slot.
+         * @param slot existing slot
+         */
+        SlotBuilder(final Slot slot) {
+            this.data     = new ArrayList<T>(Arrays.asList(slot.data));
+            this.quantums = slot.quantums.clone();
+        }
+
+        /** Generate data so the slot is balanced around a date.
+         * @param central central date
+         * @param dateQuantum global quantum of the date
+         * @return the instance
+         * @exception TimeStampedCacheException if entries are not chronologically
+         * sorted or if new data cannot be generated
+         */
+        public SlotBuilder rebalance(final AbsoluteDate central, final long dateQuantum)
+            throws TimeStampedCacheException {
+
+            boolean loop = true;
+            while (loop) {
+                final int firstNeighbor = entryIndex(quantums, data.size(), dateQuantum) - (neighborsSize - 1) / 2;
+                if (firstNeighbor < 0 || firstNeighbor + neighborsSize > data.size()) {
+
+                    // estimate which data we need to be generated
+                    final double step = getMeanStep();
+                    final T existing;
+                    final AbsoluteDate generationDate;
+                    final boolean simplyRebalance;
+                    if (firstNeighbor < 0) {
+                        existing        = data.get(0);
+                        generationDate  = existing.getDate().shiftedBy(step * firstNeighbor);
+                        simplyRebalance = existing.getDate().compareTo(central) <= 0;
+                    } else {
+                        existing        = data.get(data.size() - 1);
+                        generationDate  = existing.getDate().shiftedBy(step * (firstNeighbor + neighborsSize - data.size()));
+                        simplyRebalance = existing.getDate().compareTo(central) >= 0;
+                    }
+                    generateCalls.incrementAndGet();
+
+                    // generated data and add it to the slot
+                    try {
+                        if (firstNeighbor < 0) {
+                            insertAtStart(generateAndCheck(existing, generationDate));
+                        } else {
+                            appendAtEnd(generateAndCheck(existing, generationDate));
+                        }
+                    } catch (TimeStampedCacheException tce) {
+                        if (simplyRebalance) {
+                            // we were simply trying to rebalance an unbalanced interval near slot end
+                            // we failed, but the central date is already covered by the existing (unbalanced) data
+                            // so we ignore the exception and stop the loop, we will continue with what we have
+                            loop = false;
+                        } else {
+                            throw tce;
+                        }
+                    }
+
+                } else {
+                    loop = false;
+                }
+            }
+
+            return this;
+
+        }
+
+        /** Build the immutable slot.
+         * @return immutable slot
+         */
+        public Slot build() {
+            return new Slot(data, quantums, ++updates);
+        }
+
+        /** Get the mean step between entries.
+         * @return mean step between entries (or an arbitrary non-null value
+         * if there are fewer than 2 entries)
+         */
+        private double getMeanStep() {
+            if (data.size() < 2) {
+                return 1.0;
+            } else {
+                final AbsoluteDate t0 = data.get(0).getDate();
+                final AbsoluteDate tn = data.get(data.size() - 1).getDate();
+                return tn.durationFrom(t0) / (data.size() - 1);
+            }
+        }
+
+        /** Insert data at slot start.
+         * @param generated data to insert
+         * @exception TimeStampedCacheException if new data cannot be generated
+         */
+        private void insertAtStart(final List<T> generated) throws TimeStampedCacheException {
+
+            // insert data at start
+            boolean inserted = false;
+            final long q0 = quantums[0];
+            for (int i = 0; i < generated.size(); ++i) {
+                if (quantum(generated.get(i).getDate()) < q0) {
+                    data.add(i, generated.get(i));
+                    inserted = true;
+                } else {
+                    break;
+                }
+            }
+
+            if (!inserted) {
+                throw new TimeStampedCacheException(OrekitMessages.UNABLE_TO_GENERATE_NEW_DATA_BEFORE,
+                                                    data.get(0).getDate());
+            }
+
+            // evict excess data at end
+            final AbsoluteDate t0 = data.get(0).getDate();
+            while (data.size() > neighborsSize &&
+                   data.get(data.size() - 1).getDate().durationFrom(t0) > maxSpan) {
+                data.remove(data.size() - 1);
+            }
+
+            updateQuantums();
+
+        }
+
+        /** Append data at slot end.
+         * @param generated data to append
+         * @exception TimeStampedCacheException if new data cannot be generated
+         */
+        private void appendAtEnd(final List<T> generated) throws TimeStampedCacheException {
+
+            // append data at end
+            boolean appended = false;
+            final long qn = quantums[quantums.length - 1];
+            final int  n  = data.size();
+            for (int i = generated.size() - 1; i >= 0; --i) {
+                if (quantum(generated.get(i).getDate()) > qn) {
+                    data.add(n, generated.get(i));
+                    appended = true;
+                } else {
+                    break;
+                }
+            }
+
+            if (!appended) {
+                throw new TimeStampedCacheException(OrekitMessages.UNABLE_TO_GENERATE_NEW_DATA_AFTER,
+                                                    data.get(data.size() - 1).getDate());
+            }
+
+            // evict excess data at start
+            final AbsoluteDate tn = data.get(data.size() - 1).getDate();
+            while (data.size() > neighborsSize &&
+                   tn.durationFrom(data.get(0).getDate()) > maxSpan) {
+                data.remove(0);
+            }
+
+            updateQuantums();
+
+        }
+
+        /** Update the quantums array after data changes. */
+        private void updateQuantums() {
+            quantums = new long[data.size()];
+            for (int i = 0; i < quantums.length; ++i) {
+                quantums[i] = quantum(data.get(i).getDate());
+            }
+        }
+
+        /** Generate entries and check ordering.
+         * @param existing closest already existing entry (may be null)
+         * @param date date that must be covered by the range of the generated array
+         * @return chronologically sorted list of generated entries
+         * @exception TimeStampedCacheException if if entries are not chronologically
+         * sorted or if new data cannot be generated
+         */
+        private List<T> generateAndCheck(final T existing, final AbsoluteDate date)
+            throws TimeStampedCacheException {
+            final List<T> entries = generator.generate(existing, date);
+            if (entries.isEmpty()) {
+                throw new TimeStampedCacheException(OrekitMessages.NO_DATA_GENERATED, date);
+            }
+            for (int i = 1; i < entries.size(); ++i) {
+                if (entries.get(i).getDate().compareTo(entries.get(i - 1).getDate()) < 0) {
+                    throw new TimeStampedCacheException(OrekitMessages.NON_CHRONOLOGICALLY_SORTED_ENTRIES,
+                                                        entries.get(i - 1).getDate(),
+                                                        entries.get(i).getDate());
+                }
+            }
+            return entries;
+        }
+
+    }
+
+}
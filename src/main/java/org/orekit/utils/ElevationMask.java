@@ -68,6 +68,22 @@ public class ElevationMask implements Serializable {
         return elevation;
     }
 
+    /** Get the minimum elevation of the mask, over all azimuths.
+     * <p>
+     * As the mask is linearly interpolated between tabulated points,
+     * the minimum is reached at one of these points.
+     * </p>
+     * @return minimum elevation angle (rad)
+     * @since 9.0
+     */
+    public double getMinElevation() {
+        double min = Double.POSITIVE_INFINITY;
+        for (final double[] azel : azelmask) {
+            min = FastMath.min(min, azel[1]);
+        }
+        return min;
+    }
+
     /** Checking and ordering the azimuth-elevation tabulation.
      * @param azimelev azimuth-elevation tabulation to be checked and ordered
      * @return ordered azimuth-elevation tabulation ordered
@@ -0,0 +1,789 @@
+/* Copyright 2002-2016 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.utils;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+import org.hipparchus.RealFieldElement;
+import org.hipparchus.analysis.differentiation.DerivativeStructure;
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.MathArrays;
+import org.orekit.errors.OrekitIllegalArgumentException;
+
+/** Lightweight first order derivatives with respect to a fixed number of variables.
+ * <p>
+ * This class is a specialized replacement for {@link DerivativeStructure}
+ * when only first order derivatives are needed, as is the case when computing
+ * state transition matrices and Jacobians with respect to parameters. The value
+ * and the gradient are stored directly in fields, and all operations are
+ * implemented as straightforward loops over the gradient, without the
+ * indirection needed by {@link DerivativeStructure} to handle arbitrary orders.
+ * </p>
+ * <p>
+ * Instances of this class are immutable.
+ * </p>
+ * @see GradientField
+ * @author Luc Maisonobe
+ * @since 9.0
+ */
+public class Gradient implements RealFieldElement<Gradient>, Serializable {
+
+    /** Serializable UID. */
+    private static final long serialVersionUID = 20170312L;
+
+    /** Value of the function. */
+    private final double value;
+
+    /** Gradient of the function. */
+    private final double[] grad;
+
+    /** Build an instance with values and uninitialized derivatives.
+     * @param value value of the function
+     * @param freeParameters number of free parameters
+     */
+    private Gradient(final double value, final int freeParameters) {
+        this.value = value;
+        this.grad  = new double[freeParameters];
+    }
+
+    /** Build an instance from a value and a gradient.
+     * @param value value of the function
+     * @param gradient gradient of the function (will be copied)
+     */
+    public Gradient(final double value, final double ... gradient) {
+        this.value = value;
+        this.grad  = gradient.clone();
+    }
+
+    /** Build an instance from a first order derivative structure.
+     * @param ds derivative structure, must be at most first order
+     */
+    public Gradient(final DerivativeStructure ds) {
+        if (ds.getOrder() > 1) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_LARGE,
+                                                     ds.getOrder(), 1);
+        }
+        final double[] all = ds.getAllDerivatives();
+        this.value = all[0];
+        this.grad  = new double[ds.getFreeParameters()];
+        if (ds.getOrder() > 0) {
+            System.arraycopy(all, 1, grad, 0, grad.length);
+        }
+    }
+
+    /** Build an instance corresponding to a constant value.
+     * @param freeParameters number of free parameters
+     * @param value constant value of the function
+     * @return a {@code Gradient} with a constant value and all derivatives set to 0.0
+     */
+    public static Gradient constant(final int freeParameters, final double value) {
+        return new Gradient(value, freeParameters);
+    }
+
+    /** Build an instance corresponding to a variable.
+     * @param freeParameters number of free parameters
+     * @param index index of the variable (from 0 to {@code freeParameters - 1})
+     * @param value value of the variable
+     * @return a {@code Gradient} with a value and a derivative set to 1.0
+     * with respect to the variable, all other derivatives being set to 0.0
+     */
+    public static Gradient variable(final int freeParameters, final int index, final double value) {
+        final Gradient g = new Gradient(value, freeParameters);
+        g.grad[index] = 1.0;
+        return g;
+    }
+
+    /** Convert the instance to a first order derivative structure.
+     * @return derivative structure with the same value and derivatives
+     */
+    public DerivativeStructure toDerivativeStructure() {
+        final double[] all = new double[1 + grad.length];
+        all[0] = value;
+        System.arraycopy(grad, 0, all, 1, grad.length);
+        return new DerivativeStructure(grad.length, 1, all);
+    }
+
+    /** Get the number of free parameters.
+     * @return number of free parameters
+     */
+    public int getFreeParameters() {
+        return grad.length;
+    }
+
+    /** Get the value of the function.
+     * @return value of the function
+     */
+    public double getValue() {
+        return value;
+    }
+
+    /** Get the gradient of the function.
+     * @return gradient of the function (a copy of the internal array)
+     */
+    public double[] getGradient() {
+        return grad.clone();
+    }
+
+    /** Get one partial derivative.
+     * @param index index of the variable
+     * @return partial derivative with respect to the variable
+     */
+    public double getPartialDerivative(final int index) {
+        return grad[index];
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public GradientField getField() {
+        return GradientField.getField(grad.length);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double getReal() {
+        return value;
+    }
+
+    /** Compute composition of the instance by a univariate function.
+     * @param f0 value of the function at current point
+     * @param f1 first derivative of the function at current point
+     * @return f(this)
+     */
+    public Gradient compose(final double f0, final double f1) {
+        final Gradient result = new Gradient(f0, grad.length);
+        for (int i = 0; i < grad.length; ++i) {
+            result.grad[i] = f1 * grad[i];
+        }
+        return result;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Gradient add(final double a) {
+        return new Gradient(value + a, grad);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Gradient add(final Gradient a) {
+        checkCompatibility(a);
+        final Gradient result = new Gradient(value + a.value, grad.length);
+        for (int i = 0; i < grad.length; ++i) {
+            result.grad[i] = grad[i] + a.grad[i];
+        }
+        return result;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Gradient subtract(final double a) {
+        return new Gradient(value - a, grad);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Gradient subtract(final Gradient a) {
+        checkCompatibility(a);
+        final Gradient result = new Gradient(value - a.value, grad.length);
+        for (int i = 0; i < grad.length; ++i) {
+            result.grad[i] = grad[i] - a.grad[i];
+        }
+        return result;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Gradient multiply(final int n) {
+        return multiply((double) n);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Gradient multiply(final double a) {
+        final Gradient result = new Gradient(value * a, grad.length);
+        for (int i = 0; i < grad.length; ++i) {
+            result.grad[i] = a * grad[i];
+        }
+        return result;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Gradient multiply(final Gradient a) {
+        checkCompatibility(a);
+        final Gradient result = new Gradient(value * a.value, grad.length);
+        for (int i = 0; i < grad.length; ++i) {
+            result.grad[i] = value * a.grad[i] + a.value * grad[i];
+        }
+        return result;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Gradient divide(final double a) {
+        return multiply(1.0 / a);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Gradient divide(final Gradient a) {
+        checkCompatibility(a);
+        final double   inv    = 1.0 / a.value;
+        final double   q      = value * inv;
+        final Gradient result = new Gradient(q, grad.length);
+        for (int i = 0; i < grad.length; ++i) {
+            result.grad[i] = (grad[i] - q * a.grad[i]) * inv;
+        }
+        return result;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Gradient remainder(final double a) {
+        return new Gradient(FastMath.IEEEremainder(value, a), grad);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Gradient remainder(final Gradient a) {
+        checkCompatibility(a);
+        final double rem = FastMath.IEEEremainder(value, a.value);
+        final double k   = FastMath.rint((value - rem) / a.value);
+        final Gradient result = new Gradient(rem, grad.length);
+        for (int i = 0; i < grad.length; ++i) {
+            result.grad[i] = grad[i] - k * a.grad[i];
+        }
+        return result;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Gradient negate() {
+        final Gradient result = new Gradient(-value, grad.length);
+        for (int i = 0; i < grad.length; ++i) {
+            result.grad[i] = -grad[i];
+        }
+        return result;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Gradient abs() {
+        if (Double.doubleToLongBits(value) < 0) {
+            // we use the bits representation to also handle -0.0
+            return negate();
+        } else {
+            return this;
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Gradient ceil() {
+        return constant(grad.length, FastMath.ceil(value));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Gradient floor() {
+        return constant(grad.length, FastMath.floor(value));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Gradient rint() {
+        return constant(grad.length, FastMath.rint(value));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long round() {
+        return FastMath.round(value);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Gradient signum() {
+        return constant(grad.length, FastMath.signum(value));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Gradient copySign(final Gradient sign) {
+        return copySign(sign.value);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Gradient copySign(final double sign) {
+        final long m = Double.doubleToLongBits(value);
+        final long s = Double.doubleToLongBits(sign);
+        if ((m >= 0 && s >= 0) || (m < 0 && s < 0)) {
+            // sign is currently OK
+            return this;
+        }
+        return negate();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Gradient scalb(final int n) {
+        final Gradient result = new Gradient(FastMath.scalb(value, n), grad.length);
+        for (int i = 0; i < grad.length; ++i) {
+            result.grad[i] = FastMath.scalb(grad[i], n);
+        }
+        return result;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Gradient hypot(final Gradient y) {
+
+        checkCompatibility(y);
+
+        if (Double.isInfinite(value) || Double.isInfinite(y.value)) {
+            return constant(grad.length, Double.POSITIVE_INFINITY);
+        } else if (Double.isNaN(value) || Double.isNaN(y.value)) {
+            return constant(grad.length, Double.NaN);
+        }
+
+        final double h = FastMath.hypot(value, y.value);
+        if (h == 0) {
+            return constant(grad.length, 0.0);
+        }
+
+        final double   xOh    = value   / h;
+        final double   yOh    = y.value / h;
+        final Gradient result = new Gradient(h, grad.length);
+        for (int i = 0; i < grad.length; ++i) {
+            result.grad[i] = xOh * grad[i] + yOh * y.grad[i];
+        }
+        return result;
+
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Gradient reciprocal() {
+        final double inv = 1.0 / value;
+        return compose(inv, -inv * inv);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Gradient sqrt() {
+        final double s = FastMath.sqrt(value);
+        return compose(s, 0.5 / s);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Gradient cbrt() {
+        final double c = FastMath.cbrt(value);
+        return compose(c, 1.0 / (3 * c * c));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Gradient rootN(final int n) {
+        if (n == 2) {
+            return sqrt();
+        } else if (n == 3) {
+            return cbrt();
+        } else {
+            final double r = FastMath.pow(value, 1.0 / n);
+            return compose(r, 1.0 / (n * FastMath.pow(r, n - 1)));
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Gradient pow(final double p) {
+        if (p == 0) {
+            return constant(grad.length, 1.0);
+        }
+        return compose(FastMath.pow(value, p), p * FastMath.pow(value, p - 1));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Gradient pow(final int n) {
+        if (n == 0) {
+            return constant(grad.length, 1.0);
+        }
+        return compose(FastMath.pow(value, n), n * FastMath.pow(value, n - 1));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Gradient pow(final Gradient e) {
+        checkCompatibility(e);
+        return log().multiply(e).exp();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Gradient exp() {
+        final double e = FastMath.exp(value);
+        return compose(e, e);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Gradient expm1() {
+        return compose(FastMath.expm1(value), FastMath.exp(value));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Gradient log() {
+        return compose(FastMath.log(value), 1.0 / value);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Gradient log1p() {
+        return compose(FastMath.log1p(value), 1.0 / (1.0 + value));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Gradient log10() {
+        return compose(FastMath.log10(value), 1.0 / (value * FastMath.log(10.0)));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Gradient cos() {
+        return compose(FastMath.cos(value), -FastMath.sin(value));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Gradient sin() {
+        return compose(FastMath.sin(value), FastMath.cos(value));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Gradient tan() {
+        final double t = FastMath.tan(value);
+        return compose(t, 1 + t * t);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Gradient acos() {
+        return compose(FastMath.acos(value), -1.0 / FastMath.sqrt(1 - value * value));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Gradient asin() {
+        return compose(FastMath.asin(value), 1.0 / FastMath.sqrt(1 - value * value));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Gradient atan() {
+        return compose(FastMath.atan(value), 1.0 / (1 + value * value));
+    }
+
+    /** {@inheritDoc}
+     * <p>
+     * The instance is considered to be the y coordinate.
+     * </p>
+     */
+    @Override
+    public Gradient atan2(final Gradient x) {
+        checkCompatibility(x);
+        final double   inv    = 1.0 / (value * value + x.value * x.value);
+        final Gradient result = new Gradient(FastMath.atan2(value, x.value), grad.length);
+        for (int i = 0; i < grad.length; ++i) {
+            result.grad[i] = (x.value * grad[i] - value * x.grad[i]) * inv;
+        }
+        return result;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Gradient cosh() {
+        return compose(FastMath.cosh(value), FastMath.sinh(value));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Gradient sinh() {
+        return compose(FastMath.sinh(value), FastMath.cosh(value));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Gradient tanh() {
+        final double t = FastMath.tanh(value);
+        return compose(t, 1 - t * t);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Gradient acosh() {
+        return compose(FastMath.acosh(value), 1.0 / FastMath.sqrt(value * value - 1));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Gradient asinh() {
+        return compose(FastMath.asinh(value), 1.0 / FastMath.sqrt(value * value + 1));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Gradient atanh() {
+        return compose(FastMath.atanh(value), 1.0 / (1 - value * value));
+    }
+
+    /** {@inheritDoc}
+     * <p>
+     * The value is computed using an accurate linear combination,
+     * the gradient is computed using plain sums.
+     * </p>
+     */
+    @Override
+    public Gradient linearCombination(final Gradient[] a, final Gradient[] b) {
+
+        if (a.length != b.length) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                     a.length, b.length);
+        }
+
+        final double[] aValues = new double[a.length];
+        final double[] bValues = new double[b.length];
+        for (int j = 0; j < a.length; ++j) {
+            a[0].checkCompatibility(a[j]);
+            a[0].checkCompatibility(b[j]);
+            aValues[j] = a[j].value;
+            bValues[j] = b[j].value;
+        }
+
+        final Gradient result = new Gradient(MathArrays.linearCombination(aValues, bValues), a[0].grad.length);
+        for (int j = 0; j < a.length; ++j) {
+            final double[] aGrad = a[j].grad;
+            final double[] bGrad = b[j].grad;
+            for (int i = 0; i < result.grad.length; ++i) {
+                result.grad[i] += aValues[j] * bGrad[i] + bValues[j] * aGrad[i];
+            }
+        }
+        return result;
+
+    }
+
+    /** {@inheritDoc}
+     * <p>
+     * The value is computed using an accurate linear combination,
+     * the gradient is computed using plain sums.
+     * </p>
+     */
+    @Override
+    public Gradient linearCombination(final double[] a, final Gradient[] b) {
+
+        if (a.length != b.length) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                     a.length, b.length);
+        }
+
+        final double[] bValues = new double[b.length];
+        for (int j = 0; j < b.length; ++j) {
+            b[0].checkCompatibility(b[j]);
+            bValues[j] = b[j].value;
+        }
+
+        final Gradient result = new Gradient(MathArrays.linearCombination(a, bValues), b[0].grad.length);
+        for (int j = 0; j < a.length; ++j) {
+            final double[] bGrad = b[j].grad;
+            for (int i = 0; i < result.grad.length; ++i) {
+                result.grad[i] += a[j] * bGrad[i];
+            }
+        }
+        return result;
+
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Gradient linearCombination(final Gradient a1, final Gradient b1,
+                                      final Gradient a2, final Gradient b2) {
+        checkCompatibility(a1);
+        checkCompatibility(b1);
+        checkCompatibility(a2);
+        checkCompatibility(b2);
+        final Gradient result = new Gradient(MathArrays.linearCombination(a1.value, b1.value,
+                                                                          a2.value, b2.value),
+                                             grad.length);
+        for (int i = 0; i < grad.length; ++i) {
+            result.grad[i] = a1.value * b1.grad[i] + b1.value * a1.grad[i] +
+                             a2.value * b2.grad[i] + b2.value * a2.grad[i];
+        }
+        return result;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Gradient linearCombination(final double a1, final Gradient b1,
+                                      final double a2, final Gradient b2) {
+        checkCompatibility(b1);
+        checkCompatibility(b2);
+        final Gradient result = new Gradient(MathArrays.linearCombination(a1, b1.value,
+                                                                          a2, b2.value),
+                                             grad.length);
+        for (int i = 0; i < grad.length; ++i) {
+            result.grad[i] = a1 * b1.grad[i] + a2 * b2.grad[i];
+        }
+        return result;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Gradient linearCombination(final Gradient a1, final Gradient b1,
+                                      final Gradient a2, final Gradient b2,
+                                      final Gradient a3, final Gradient b3) {
+        checkCompatibility(a1);
+        checkCompatibility(b1);
+        checkCompatibility(a2);
+        checkCompatibility(b2);
+        checkCompatibility(a3);
+        checkCompatibility(b3);
+        final Gradient result = new Gradient(MathArrays.linearCombination(a1.value, b1.value,
+                                                                          a2.value, b2.value,
+                                                                          a3.value, b3.value),
+                                             grad.length);
+        for (int i = 0; i < grad.length; ++i) {
+            result.grad[i] = a1.value * b1.grad[i] + b1.value * a1.grad[i] +
+                             a2.value * b2.grad[i] + b2.value * a2.grad[i] +
+                             a3.value * b3.grad[i] + b3.value * a3.grad[i];
+        }
+        return result;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Gradient linearCombination(final double a1, final Gradient b1,
+                                      final double a2, final Gradient b2,
+                                      final double a3, final Gradient b3) {
+        checkCompatibility(b1);
+        checkCompatibility(b2);
+        checkCompatibility(b3);
+        final Gradient result = new Gradient(MathArrays.linearCombination(a1, b1.value,
+                                                                          a2, b2.value,
+                                                                          a3, b3.value),
+                                             grad.length);
+        for (int i = 0; i < grad.length; ++i) {
+            result.grad[i] = a1 * b1.grad[i] + a2 * b2.grad[i] + a3 * b3.grad[i];
+        }
+        return result;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Gradient linearCombination(final Gradient a1, final Gradient b1,
+                                      final Gradient a2, final Gradient b2,
+                                      final Gradient a3, final Gradient b3,
+                                      final Gradient a4, final Gradient b4) {
+        checkCompatibility(a1);
+        checkCompatibility(b1);
+        checkCompatibility(a2);
+        checkCompatibility(b2);
+        checkCompatibility(a3);
+        checkCompatibility(b3);
+        checkCompatibility(a4);
+        checkCompatibility(b4);
+        final Gradient result = new Gradient(MathArrays.linearCombination(a1.value, b1.value,
+                                                                          a2.value, b2.value,
+                                                                          a3.value, b3.value,
+                                                                          a4.value, b4.value),
+                                             grad.length);
+        for (int i = 0; i < grad.length; ++i) {
+            result.grad[i] = a1.value * b1.grad[i] + b1.value * a1.grad[i] +
+                             a2.value * b2.grad[i] + b2.value * a2.grad[i] +
+                             a3.value * b3.grad[i] + b3.value * a3.grad[i] +
+                             a4.value * b4.grad[i] + b4.value * a4.grad[i];
+        }
+        return result;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Gradient linearCombination(final double a1, final Gradient b1,
+                                      final double a2, final Gradient b2,
+                                      final double a3, final Gradient b3,
+                                      final double a4, final Gradient b4) {
+        checkCompatibility(b1);
+        checkCompatibility(b2);
+        checkCompatibility(b3);
+        checkCompatibility(b4);
+        final Gradient result = new Gradient(MathArrays.linearCombination(a1, b1.value,
+                                                                          a2, b2.value,
+                                                                          a3, b3.value,
+                                                                          a4, b4.value),
+                                             grad.length);
+        for (int i = 0; i < grad.length; ++i) {
+            result.grad[i] = a1 * b1.grad[i] + a2 * b2.grad[i] + a3 * b3.grad[i] + a4 * b4.grad[i];
+        }
+        return result;
+    }
+
+    /** Check that another instance has the same number of free parameters.
+     * @param g other instance
+     */
+    private void checkCompatibility(final Gradient g) {
+        if (g.grad.length != grad.length) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                     g.grad.length, grad.length);
+        }
+    }
+
+    /** Test for the equality of two gradients.
+     * @param other object to test for equality to this
+     * @return true if two gradients are equal
+     */
+    @Override
+    public boolean equals(final Object other) {
+
+        if (this == other) {
+            return true;
+        }
+
+        if (other instanceof Gradient) {
+            final Gradient rhs = (Gradient) other;
+            return Double.doubleToLongBits(value) == Double.doubleToLongBits(rhs.value) &&
+                   Arrays.equals(grad, rhs.grad);
+        }
+
+        return false;
+
+    }
+
+    /** Get a hashCode for the gradient.
+     * @return a hash code value for this object
+     */
+    @Override
+    public int hashCode() {
+        return 743 + 229 * Double.hashCode(value) + 809 * Arrays.hashCode(grad);
+    }
+
+}
@@ -0,0 +1,85 @@
+/* Copyright 2002-2016 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.utils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.hipparchus.Field;
+import org.hipparchus.FieldElement;
+
+/** Field for {@link Gradient} instances.
+ * <p>
+ * There is one field instance for each number of free parameters,
+ * they are cached and shared.
+ * </p>
+ * @author Luc Maisonobe
+ * @since 9.0
+ */
+public class GradientField implements Field<Gradient> {
+
+    /** Cached fields. */
+    private static final Map<Integer, GradientField> CACHE = new ConcurrentHashMap<Integer, GradientField>();
+
+    /** Zero constant. */
+    private final Gradient zero;
+
+    /** One constant. */
+    private final Gradient one;
+
+    /** Private constructor for the field.
+     * @param freeParameters number of free parameters
+     */
+    private GradientField(final int freeParameters) {
+        this.zero = Gradient.constant(freeParameters, 0.0);
+        this.one  = Gradient.constant(freeParameters, 1.0);
+    }
+
+    /** Get the field for a number of free parameters.
+     * @param freeParameters number of free parameters
+     * @return cached field
+     */
+    public static GradientField getField(final int freeParameters) {
+        return CACHE.computeIfAbsent(freeParameters, n -> new GradientField(n));
+    }
+
+    /** Get the number of free parameters.
+     * @return number of free parameters
+     */
+    public int getFreeParameters() {
+        return zero.getFreeParameters();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Gradient getZero() {
+        return zero;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Gradient getOne() {
+        return one;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Class<? extends FieldElement<Gradient>> getRuntimeClass() {
+        return Gradient.class;
+    }
+
+}
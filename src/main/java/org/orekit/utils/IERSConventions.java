@@ -21,6 +21,8 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.hipparchus.analysis.differentiation.DerivativeStructure;
@@ -188,9 +190,28 @@ public enum IERSConventions {
                 /** {@inheritDoc} */
                 @Override
                 public double[] value(final AbsoluteDate date) {
-
                     final BodiesElements elements = arguments.evaluateAll(date);
-                    final double[] xy             = xySum.value(elements);
+                    return combine(elements, xySum.value(elements));
+                }
+
+                /** {@inheritDoc} */
+                @Override
+                public List<double[]> value(final List<AbsoluteDate> dates) {
+                    final BodiesElements[] elements = arguments.evaluateAll(dates.toArray(new AbsoluteDate[dates.size()]));
+                    final double[][]       xy       = xySum.value(elements);
+                    final List<double[]>   values   = new ArrayList<double[]>(elements.length);
+                    for (int k = 0; k < elements.length; ++k) {
+                        values.add(combine(elements[k], xy[k]));
+                    }
+                    return values;
+                }
+
+                /** Combine the series with the additional terms.
+                 * @param elements bodies elements for nutation
+                 * @param xy value of the X and Y series
+                 * @return X, Y and S + XY/2 components
+                 */
+                private double[] combine(final BodiesElements elements, final double[] xy) {
 
                     final double omega     = elements.getOmega();
                     final double f         = elements.getF();
@@ -287,15 +308,37 @@ public enum IERSConventions {
                     PoissonSeries.compile(psiSeries, epsilonSeries);
 
             return new TimeFunction<double[]>() {
+
                 /** {@inheritDoc} */
                 @Override
                 public double[] value(final AbsoluteDate date) {
                     final BodiesElements elements = arguments.evaluateAll(date);
-                    final double[] psiEpsilon = psiEpsilonSeries.value(elements);
+                    return combine(elements, psiEpsilonSeries.value(elements));
+                }
+
+                /** {@inheritDoc} */
+                @Override
+                public List<double[]> value(final List<AbsoluteDate> dates) {
+                    final BodiesElements[] elements   = arguments.evaluateAll(dates.toArray(new AbsoluteDate[dates.size()]));
+                    final double[][]       psiEpsilon = psiEpsilonSeries.value(elements);
+                    final List<double[]>   values     = new ArrayList<double[]>(elements.length);
+                    for (int k = 0; k < elements.length; ++k) {
+                        values.add(combine(elements[k], psiEpsilon[k]));
+                    }
+                    return values;
+                }
+
+                /** Combine the series with the equation of equinoxes correction.
+                 * @param elements bodies elements for nutation
+                 * @param psiEpsilon value of the ΔΨ and Δε series
+                 * @return ΔΨ, Δε and correction of equation of equinoxes
+                 */
+                private double[] combine(final BodiesElements elements, final double[] psiEpsilon) {
                     return new double[] {
                         psiEpsilon[0], psiEpsilon[1], IAU1994ResolutionC7.value(elements)
                     };
                 }
+
             };
 
         }
@@ -654,6 +697,12 @@ public enum IERSConventions {
                     return xys.value(arguments.evaluateAll(date));
                 }
 
+                /** {@inheritDoc} */
+                @Override
+                public List<double[]> value(final List<AbsoluteDate> dates) {
+                    return Arrays.asList(xys.value(arguments.evaluateAll(dates.toArray(new AbsoluteDate[dates.size()]))));
+                }
+
             };
 
         }
@@ -738,17 +787,41 @@ public enum IERSConventions {
                     PoissonSeries.compile(psiPlanetarySeries, epsilonPlanetarySeries);
 
             return new TimeFunction<double[]>() {
+
                 /** {@inheritDoc} */
                 @Override
                 public double[] value(final AbsoluteDate date) {
                     final BodiesElements elements = arguments.evaluateAll(date);
-                    final double[] luniSolar = luniSolarSeries.value(elements);
-                    final double[] planetary = planetarySeries.value(elements);
+                    return combine(elements, luniSolarSeries.value(elements), planetarySeries.value(elements));
+                }
+
+                /** {@inheritDoc} */
+                @Override
+                public List<double[]> value(final List<AbsoluteDate> dates) {
+                    final BodiesElements[] elements  = arguments.evaluateAll(dates.toArray(new AbsoluteDate[dates.size()]));
+                    final double[][]       luniSolar = luniSolarSeries.value(elements);
+                    final double[][]       planetary = planetarySeries.value(elements);
+                    final List<double[]>   values    = new ArrayList<double[]>(elements.length);
+                    for (int k = 0; k < elements.length; ++k) {
+                        values.add(combine(elements[k], luniSolar[k], planetary[k]));
+                    }
+                    return values;
+                }
+
+                /** Combine the series with the equation of equinoxes correction.
+                 * @param elements bodies elements for nutation
+                 * @param luniSolar value of the luni-solar ΔΨ and Δε series
+                 * @param planetary value of the planetary ΔΨ and Δε series
+                 * @return ΔΨ, Δε and correction of equation of equinoxes
+                 */
+                private double[] combine(final BodiesElements elements,
+                                         final double[] luniSolar, final double[] planetary) {
                     return new double[] {
                         luniSolar[0] + planetary[0], luniSolar[1] + planetary[1],
                         IAU1994ResolutionC7.value(elements)
                     };
                 }
+
             };
 
         }
@@ -1222,6 +1295,12 @@ public enum IERSConventions {
                     return xys.value(arguments.evaluateAll(date));
                 }
 
+                /** {@inheritDoc} */
+                @Override
+                public List<double[]> value(final List<AbsoluteDate> dates) {
+                    return Arrays.asList(xys.value(arguments.evaluateAll(dates.toArray(new AbsoluteDate[dates.size()]))));
+                }
+
             };
 
         }
@@ -1473,15 +1552,37 @@ public enum IERSConventions {
                     PoissonSeries.compile(psiSeries, epsilonSeries);
 
             return new TimeFunction<double[]>() {
+
                 /** {@inheritDoc} */
                 @Override
                 public double[] value(final AbsoluteDate date) {
                     final BodiesElements elements = arguments.evaluateAll(date);
-                    final double[] psiEpsilon = psiEpsilonSeries.value(elements);
+                    return combine(elements, psiEpsilonSeries.value(elements));
+                }
+
+                /** {@inheritDoc} */
+                @Override
+                public List<double[]> value(final List<AbsoluteDate> dates) {
+                    final BodiesElements[] elements   = arguments.evaluateAll(dates.toArray(new AbsoluteDate[dates.size()]));
+                    final double[][]       psiEpsilon = psiEpsilonSeries.value(elements);
+                    final List<double[]>   values     = new ArrayList<double[]>(elements.length);
+                    for (int k = 0; k < elements.length; ++k) {
+                        values.add(combine(elements[k], psiEpsilon[k]));
+                    }
+                    return values;
+                }
+
+                /** Combine the series with the equation of equinoxes correction.
+                 * @param elements bodies elements for nutation
+                 * @param psiEpsilon value of the ΔΨ and Δε series
+                 * @return ΔΨ, Δε and correction of equation of equinoxes
+                 */
+                private double[] combine(final BodiesElements elements, final double[] psiEpsilon) {
                     return new double[] {
                         psiEpsilon[0], psiEpsilon[1], IAU1994ResolutionC7.value(elements)
                     };
                 }
+
             };
 
         }
@@ -0,0 +1,40 @@
+/* Copyright 2002-2016 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.utils;
+
+import org.orekit.errors.OrekitException;
+
+/** Interface for building new independent instances of an object.
+ * <p>
+ * This interface is used when several tasks running in parallel need
+ * their own copies of objects that are not thread-safe, like force models
+ * or propagator builders.
+ * </p>
+ * @param <T> type of the built instances
+ * @see ParallelExecution
+ * @author Luc Maisonobe
+ * @since 9.0
+ */
+public interface InstanceFactory<T> {
+
+    /** Build a new instance.
+     * @return new instance, independent from all previously built ones
+     * @exception OrekitException if instance cannot be built
+     */
+    T create() throws OrekitException;
+
+}
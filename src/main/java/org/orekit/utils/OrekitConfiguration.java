@@ -26,8 +26,12 @@ public class OrekitConfiguration {
     /** Number of slots to use in caches. */
     private static int CACHE_SLOTS_NUMBER;
 
+    /** Indicator for lock-free caches. */
+    private static boolean LOCK_FREE_CACHES;
+
     static {
         CACHE_SLOTS_NUMBER = 100;
+        LOCK_FREE_CACHES   = false;
     }
 
     /** Private constructor.
@@ -52,4 +56,28 @@ public class OrekitConfiguration {
         return CACHE_SLOTS_NUMBER;
     }
 
+    /** Set the indicator for lock-free caches.
+     * <p>
+     * When this indicator is set to true, the caches used by frames transforms
+     * are {@link ConcurrentTimeStampedCache lock-free caches} instead of
+     * {@link GenericTimeStampedCache generic caches}. This is recommended
+     * when many threads compute transforms concurrently. As caches are
+     * created when frames are first built, this indicator must be set
+     * before any frame is retrieved from {@link org.orekit.frames.FramesFactory}.
+     * </p>
+     * @param lockFree if true, lock-free caches will be used
+     * @since 9.0
+     */
+    public static void setLockFreeCaches(final boolean lockFree) {
+        OrekitConfiguration.LOCK_FREE_CACHES = lockFree;
+    }
+
+    /** Check if lock-free caches should be used.
+     * @return true if lock-free caches should be used
+     * @since 9.0
+     */
+    public static boolean isLockFreeCaches() {
+        return LOCK_FREE_CACHES;
+    }
+
 }
@@ -0,0 +1,114 @@
+/* Copyright 2002-2016 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.utils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.orekit.errors.OrekitException;
+
+/** Utility class for running Orekit tasks in an executor service.
+ * <p>
+ * The methods of this class wait for the results, convert the failures
+ * of the tasks back into {@link OrekitException} and never leave tasks
+ * running when something went wrong.
+ * </p>
+ * @author Luc Maisonobe
+ * @since 9.0
+ */
+public class ParallelExecution {
+
+    /** Private constructor.
+     * <p>This class is a utility class, it should neither have a public
+     * nor a default constructor. This private constructor prevents
+     * the compiler from generating one automatically.</p>
+     */
+    private ParallelExecution() {
+    }
+
+    /** Run tasks in an executor service and wait for all their results.
+     * <p>
+     * If one task fails, the remaining ones are cancelled.
+     * </p>
+     * @param executor executor service in which tasks are run
+     * @param tasks tasks to run
+     * @param <T> type of the tasks results
+     * @return tasks results, in tasks order
+     * @exception OrekitException if some task fails or if the calling thread is interrupted
+     */
+    public static <T> List<T> invokeAll(final ExecutorService executor,
+                                        final List<? extends Callable<T>> tasks)
+        throws OrekitException {
+        final List<Future<T>> futures = new ArrayList<Future<T>>(tasks.size());
+        try {
+            for (final Callable<T> task : tasks) {
+                futures.add(executor.submit(task));
+            }
+            final List<T> results = new ArrayList<T>(tasks.size());
+            for (final Future<T> future : futures) {
+                results.add(get(future));
+            }
+            return results;
+        } finally {
+            // in case of error, don't let remaining tasks run
+            cancelAll(futures);
+        }
+    }
+
+    /** Wait for the result of a task.
+     * @param future future result of the task
+     * @param <T> type of the task result
+     * @return task result
+     * @exception OrekitException if the task failed or if the calling thread is interrupted
+     */
+    public static <T> T get(final Future<T> future) throws OrekitException {
+        try {
+            return future.get();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new OrekitException(ie, LocalizedCoreFormats.SIMPLE_MESSAGE, ie.getLocalizedMessage());
+        } catch (ExecutionException ee) {
+            final Throwable cause = ee.getCause();
+            if (cause instanceof OrekitException) {
+                throw (OrekitException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new OrekitException(cause, LocalizedCoreFormats.SIMPLE_MESSAGE, cause.getLocalizedMessage());
+        }
+    }
+
+    /** Cancel tasks that are not needed anymore.
+     * @param futures future results of the tasks (null elements are ignored)
+     */
+    public static void cancelAll(final Collection<? extends Future<?>> futures) {
+        for (final Future<?> future : futures) {
+            if (future != null) {
+                future.cancel(true);
+            }
+        }
+    }
+
+}
@@ -16,6 +16,8 @@
  */
 package org.orekit;
 
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 import java.net.URISyntaxException;
@@ -24,7 +26,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.SortedSet;
 
+import org.hipparchus.util.FastMath;
 import org.junit.Assert;
+import org.junit.Assume;
 import org.orekit.bodies.CelestialBodyFactory;
 import org.orekit.data.DataProvidersManager;
 import org.orekit.errors.OrekitException;
@@ -32,7 +36,6 @@ import org.orekit.forces.gravity.potential.GravityFieldFactory;
 import org.orekit.frames.EOPEntry;
 import org.orekit.frames.EOPHistoryLoader;
 import org.orekit.frames.FramesFactory;
-import org.orekit.propagation.semianalytical.dsst.utilities.JacobiPolynomials;
 import org.orekit.propagation.semianalytical.dsst.utilities.NewcombOperators;
 import org.orekit.time.AbsoluteDate;
 import org.orekit.time.DateComponents;
@@ -58,14 +61,61 @@ public class Utils {
     public static final double ae =  6378136.460;
     public static final double mu =  3.986004415e+14;
 
+    /** Check that a task allocates only a bounded amount of memory.
+     * <p>
+     * The task is run several times so the JIT compiler can optimize it,
+     * and the smallest amount allocated by one run is checked. The check
+     * is skipped if the JVM cannot measure allocations.
+     * </p>
+     * @param task task to check
+     * @param maxBytes maximum number of bytes one run may allocate
+     * @exception OrekitException if the task fails
+     */
+    public static void checkAllocations(final AllocatingTask task, final long maxBytes)
+        throws OrekitException {
+
+        Assume.assumeTrue(allocatedBytes() >= 0);
+
+        // let the JIT compiler optimize the task before checking allocations
+        long allocated = Long.MAX_VALUE;
+        for (int i = 0; i < 20; ++i) {
+            final long before = allocatedBytes();
+            task.run();
+            allocated = FastMath.min(allocated, allocatedBytes() - before);
+        }
+
+        Assert.assertTrue("allocated " + allocated + " bytes", allocated < maxBytes);
+
+    }
+
+    /** Get the number of bytes allocated so far by the current thread.
+     * @return number of bytes allocated, or -1 if the JVM does not provide this information
+     */
+    private static long allocatedBytes() {
+        final ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+
+    /** Task whose allocations are checked by {@link Utils#checkAllocations(AllocatingTask, long)}. */
+    public interface AllocatingTask {
+
+        /** Run the task.
+         * @exception OrekitException if the task fails
+         */
+        void run() throws OrekitException;
+
+    }
+
     public static void clearFactories() {
         clearFactoryMaps(CelestialBodyFactory.class);
         CelestialBodyFactory.clearCelestialBodyLoaders();
+        CelestialBodyFactory.setCelestialBodiesCacheSlots(0);
         clearFactoryMaps(FramesFactory.class);
         clearFactoryMaps(TimeScalesFactory.class);
         clearFactory(TimeScalesFactory.class, TimeScale.class);
-        clearFactoryMaps(JacobiPolynomials.class);
-        clearFactoryMaps(NewcombOperators.class);
         for (final Class<?> c : NewcombOperators.class.getDeclaredClasses()) {
             if (c.getName().endsWith("PolynomialsGenerator")) {
                 clearFactoryMaps(c);
@@ -24,17 +24,22 @@ import java.io.ObjectOutputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 
+import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.util.FastMath;
 import org.junit.Assert;
 import org.junit.Test;
 import org.orekit.Utils;
 import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
 import org.orekit.frames.Frame;
 import org.orekit.frames.FramesFactory;
 import org.orekit.time.AbsoluteDate;
@@ -225,6 +230,99 @@ public class CelestialBodyFactoryTest {
         }
     }
 
+    @Test
+    public void testCachedBodies()
+        throws OrekitException, IOException, ClassNotFoundException, InterruptedException, ExecutionException {
+        Utils.setDataRoot("regular-data");
+        Assert.assertEquals(0, CelestialBodyFactory.getCelestialBodiesCacheSlots());
+        final CelestialBody rawSun  = CelestialBodyFactory.getSun();
+        final CelestialBody rawMoon = CelestialBodyFactory.getMoon();
+        Assert.assertFalse(rawSun instanceof CachedCelestialBody);
+
+        CelestialBodyFactory.setCelestialBodiesCacheSlots(16);
+        Assert.assertEquals(16, CelestialBodyFactory.getCelestialBodiesCacheSlots());
+        final CelestialBody sun  = CelestialBodyFactory.getSun();
+        final CelestialBody moon = CelestialBodyFactory.getMoon();
+        Assert.assertTrue(sun instanceof CachedCelestialBody);
+        Assert.assertEquals(16, ((CachedCelestialBody) sun).getSlots());
+        Assert.assertEquals(rawSun.getName(), sun.getName());
+        Assert.assertEquals(rawSun.getGM(),   sun.getGM(), 0.0);
+        Assert.assertSame(sun, CelestialBodyFactory.getSun());
+
+        // repeated lookups return the cached instance, with the exact raw values
+        final Frame gcrf = FramesFactory.getGCRF();
+        final AbsoluteDate t0 = new AbsoluteDate(2003, 3, 1, TimeScalesFactory.getTT());
+        final TimeStampedPVCoordinates pv1 = sun.getPVCoordinates(t0, gcrf);
+        Assert.assertSame(pv1, sun.getPVCoordinates(t0, gcrf));
+        Assert.assertNotSame(pv1, sun.getPVCoordinates(t0, FramesFactory.getEME2000()));
+        Assert.assertNotSame(pv1, sun.getPVCoordinates(t0.shiftedBy(1.0), gcrf));
+        Assert.assertEquals(0.0, Vector3D.distance(rawSun.getPVCoordinates(t0, gcrf).getPosition(),
+                                                   pv1.getPosition()), 0.0);
+
+        // concurrent lookups
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final List<Future<Double>> futures = new ArrayList<Future<Double>>();
+            for (int i = 0; i < 32; ++i) {
+                final int start = i % 4;
+                futures.add(executor.submit(new Callable<Double>() {
+                    public Double call() throws OrekitException {
+                        double maxError = 0;
+                        for (int j = 0; j < 200; ++j) {
+                            final AbsoluteDate date = t0.shiftedBy(600.0 * ((start + j) % 50));
+                            for (final CelestialBody[] pair : new CelestialBody[][] {
+                                { sun, rawSun }, { moon, rawMoon }
+                            }) {
+                                final TimeStampedPVCoordinates cached = pair[0].getPVCoordinates(date, gcrf);
+                                final TimeStampedPVCoordinates raw    = pair[1].getPVCoordinates(date, gcrf);
+                                maxError = FastMath.max(maxError,
+                                                        Vector3D.distance(cached.getPosition(), raw.getPosition()));
+                                maxError = FastMath.max(maxError,
+                                                        Vector3D.distance(cached.getVelocity(), raw.getVelocity()));
+                                maxError = FastMath.max(maxError, FastMath.abs(cached.getDate().durationFrom(date)));
+                            }
+                        }
+                        return maxError;
+                    }
+                }));
+            }
+            for (final Future<Double> future : futures) {
+                Assert.assertEquals(0.0, future.get().doubleValue(), 0.0);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // serialization
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        ObjectOutputStream    oos = new ObjectOutputStream(bos);
+        oos.writeObject(sun);
+        ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bos.toByteArray()));
+        CachedCelestialBody deserialized  = (CachedCelestialBody) ois.readObject();
+        Assert.assertSame(((CachedCelestialBody) sun).getBody(), deserialized.getBody());
+        Assert.assertEquals(16, deserialized.getSlots());
+
+        CelestialBodyFactory.setCelestialBodiesCacheSlots(0);
+        Assert.assertFalse(CelestialBodyFactory.getSun() instanceof CachedCelestialBody);
+
+    }
+
+    @Test
+    public void testCachedBodiesWrongSlots() throws OrekitException {
+        try {
+            CelestialBodyFactory.setCelestialBodiesCacheSlots(-1);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL, oiae.getSpecifier());
+        }
+        try {
+            new CachedCelestialBody(null, 0);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL, oiae.getSpecifier());
+        }
+    }
+
     @Test
     public void multithreadTest() throws OrekitException {
         Utils.setDataRoot("regular-data");
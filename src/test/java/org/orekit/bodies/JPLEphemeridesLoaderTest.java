@@ -17,7 +17,9 @@
 package org.orekit.bodies;
 
 
+import java.io.File;
 import java.io.IOException;
+import java.net.URISyntaxException;
 
 import org.hipparchus.geometry.euclidean.threed.Vector3D;
 import org.junit.Assert;
@@ -26,6 +28,7 @@ import org.junit.Test;
 import org.orekit.Utils;
 import org.orekit.data.DataProvidersManager;
 import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitMessages;
 import org.orekit.frames.Frame;
 import org.orekit.frames.FramesFactory;
 import org.orekit.time.AbsoluteDate;
@@ -262,6 +265,99 @@ public class JPLEphemeridesLoaderTest {
 
     }
 
+    @Test
+    public void testMappedJPL() throws OrekitException, URISyntaxException {
+        Utils.setDataRoot("regular-data/de405-ephemerides");
+        final File[] files = new File[] {
+            getResourceFile("/regular-data/de405-ephemerides/unxp0003.405"),
+            getResourceFile("/regular-data/de405-ephemerides/unxp0000.405")
+        };
+        for (final JPLEphemeridesLoader.EphemerisType type :
+            new JPLEphemeridesLoader.EphemerisType[] {
+                JPLEphemeridesLoader.EphemerisType.SUN,
+                JPLEphemeridesLoader.EphemerisType.MOON,
+                JPLEphemeridesLoader.EphemerisType.EARTH_MOON,
+                JPLEphemeridesLoader.EphemerisType.MARS
+            }) {
+            final JPLEphemeridesLoader streamLoader =
+                            new JPLEphemeridesLoader(JPLEphemeridesLoader.DEFAULT_DE_SUPPORTED_NAMES, type);
+            final JPLEphemeridesLoader mappedLoader = new JPLEphemeridesLoader(type, files);
+            Assert.assertEquals(streamLoader.getLoadedAstronomicalUnit(),
+                                mappedLoader.getLoadedAstronomicalUnit(), 1.0e-15);
+            Assert.assertEquals(streamLoader.getLoadedEarthMoonMassRatio(),
+                                mappedLoader.getLoadedEarthMoonMassRatio(), 1.0e-15);
+            final CelestialBody streamBody = streamLoader.loadCelestialBody(type.name());
+            final CelestialBody mappedBody = mappedLoader.loadCelestialBody(type.name());
+            checkSame(streamBody, mappedBody,
+                      new AbsoluteDate(1969, 6, 25, TimeScalesFactory.getTT()), 30 * Constants.JULIAN_DAY, 3719.0);
+            checkSame(streamBody, mappedBody,
+                      new AbsoluteDate(2003, 1, 1, TimeScalesFactory.getTT()), 365 * Constants.JULIAN_DAY, 40000.0);
+        }
+    }
+
+    @Test
+    public void testMappedInpop() throws OrekitException, URISyntaxException {
+        Utils.setDataRoot("inpop");
+        final JPLEphemeridesLoader.EphemerisType type = JPLEphemeridesLoader.EphemerisType.MARS;
+        final JPLEphemeridesLoader streamLoader =
+                        new JPLEphemeridesLoader("^inpop.*_TCB_.*_bigendian\\.dat$", type);
+        final JPLEphemeridesLoader mappedLoader =
+                        new JPLEphemeridesLoader(type, getResourceFile("/inpop/inpop10b_TCB_summer_1969_littleendian.dat"));
+        Assert.assertEquals(1.0, mappedLoader.getLoadedConstant("TIMESC"), 1.0e-10);
+        checkSame(streamLoader.loadCelestialBody(CelestialBodyFactory.MARS),
+                  mappedLoader.loadCelestialBody(CelestialBodyFactory.MARS),
+                  new AbsoluteDate(1969, 7, 17, 10, 43, 23.4, TimeScalesFactory.getTT()),
+                  30 * Constants.JULIAN_DAY, 3600.0);
+    }
+
+    @Test
+    public void testMappedOutOfRange() throws OrekitException, URISyntaxException {
+        final JPLEphemeridesLoader loader =
+                        new JPLEphemeridesLoader(JPLEphemeridesLoader.EphemerisType.MOON,
+                                                 getResourceFile("/regular-data/de405-ephemerides/unxp0000.405"));
+        final CelestialBody moon = loader.loadCelestialBody(CelestialBodyFactory.MOON);
+        try {
+            moon.getPVCoordinates(new AbsoluteDate(1969, 11, 1, TimeScalesFactory.getTT()), FramesFactory.getGCRF());
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.OUT_OF_RANGE_EPHEMERIDES_DATE, oe.getSpecifier());
+        }
+    }
+
+    @Test
+    public void testMappedMissingFile() {
+        try {
+            new JPLEphemeridesLoader(JPLEphemeridesLoader.EphemerisType.MOON, new File("no-such-file.405"));
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.UNABLE_TO_FIND_FILE, oe.getSpecifier());
+        }
+        try {
+            new JPLEphemeridesLoader(JPLEphemeridesLoader.EphemerisType.MOON);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.NO_JPL_EPHEMERIDES_BINARY_FILES_FOUND, oe.getSpecifier());
+        }
+    }
+
+    private void checkSame(final CelestialBody expected, final CelestialBody actual,
+                           final AbsoluteDate start, final double duration, final double step)
+        throws OrekitException {
+        final Frame icrf = FramesFactory.getICRF();
+        for (double dt = 0; dt < duration; dt += step) {
+            final AbsoluteDate date = start.shiftedBy(dt);
+            final PVCoordinates pvE = expected.getPVCoordinates(date, icrf);
+            final PVCoordinates pvA = actual.getPVCoordinates(date, icrf);
+            Assert.assertEquals(0.0, Vector3D.distance(pvE.getPosition(),     pvA.getPosition()),     0.0);
+            Assert.assertEquals(0.0, Vector3D.distance(pvE.getVelocity(),     pvA.getVelocity()),     0.0);
+            Assert.assertEquals(0.0, Vector3D.distance(pvE.getAcceleration(), pvA.getAcceleration()), 0.0);
+        }
+    }
+
+    private File getResourceFile(final String name) throws URISyntaxException {
+        return new File(getClass().getResource(name).toURI().getPath());
+    }
+
     private void checkDerivative(String supportedNames, AbsoluteDate date, double maxChunkDuration)
         throws OrekitException {
         JPLEphemeridesLoader loader =
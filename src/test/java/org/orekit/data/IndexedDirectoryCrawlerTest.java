@@ -0,0 +1,367 @@
+/* Copyright 2002-2016 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.data;
+
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.regex.Pattern;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.orekit.errors.OrekitException;
+
+public class IndexedDirectoryCrawlerTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test(expected=OrekitException.class)
+    public void testNoDirectory() throws OrekitException, URISyntaxException {
+        File existing = new File(getClass().getClassLoader().getResource("regular-data").toURI().getPath());
+        File inexistent = new File(existing.getParent(), "inexistant-directory");
+        new IndexedDirectoryCrawler(inexistent).feed(Pattern.compile(".*"), new RecordingLoader());
+    }
+
+    @Test
+    public void testNominal() throws OrekitException, URISyntaxException {
+        checkSameAsDirectoryCrawler("regular-data", ".*", null);
+    }
+
+    @Test
+    public void testCompressed() throws OrekitException, URISyntaxException {
+        checkSameAsDirectoryCrawler("compressed-data", ".*", null);
+    }
+
+    @Test
+    public void testMultiZipClasspath() throws OrekitException, URISyntaxException {
+        Assert.assertEquals(6, checkSameAsDirectoryCrawler("zipped-data", ".*\\.txt$", null));
+    }
+
+    @Test
+    public void testParallel() throws OrekitException, URISyntaxException {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            Assert.assertTrue(checkSameAsDirectoryCrawler("regular-data", ".*", executor) > 0);
+            Assert.assertTrue(checkSameAsDirectoryCrawler("compressed-data", ".*", executor) > 0);
+            Assert.assertEquals(6, checkSameAsDirectoryCrawler("zipped-data", ".*\\.txt$", executor));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testStopAccepting() throws OrekitException, URISyntaxException {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            File root = new File(getClass().getClassLoader().getResource("regular-data").toURI().getPath());
+            RecordingLoader loader = new RecordingLoader(3);
+            Assert.assertTrue(new IndexedDirectoryCrawler(root, null, executor).feed(Pattern.compile(".*"), loader));
+            Assert.assertEquals(3, loader.names.size());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testBoundedReadAhead() throws OrekitException, URISyntaxException {
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) Executors.newFixedThreadPool(8);
+        try {
+            File root = new File(getClass().getClassLoader().getResource("regular-data").toURI().getPath());
+            RecordingLoader loader = new RecordingLoader(3);
+            Assert.assertTrue(new IndexedDirectoryCrawler(root, null, executor).feed(Pattern.compile(".*"), loader));
+            Assert.assertEquals(3, loader.names.size());
+            Assert.assertTrue(executor.getTaskCount() <= 3 + IndexedDirectoryCrawler.READ_AHEAD);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testPersistentIndex() throws OrekitException, IOException {
+
+        File root = temporaryFolder.newFolder("data");
+        File sub  = new File(root, "sub");
+        Assert.assertTrue(sub.mkdir());
+        write(new File(root, "a.txt"), "alpha");
+        write(new File(sub,  "b.txt"), "beta");
+        File index = new File(temporaryFolder.getRoot(), "data.index");
+
+        RecordingLoader loader1 = new RecordingLoader();
+        IndexedDirectoryCrawler crawler1 = new IndexedDirectoryCrawler(root, index, null);
+        Assert.assertTrue(crawler1.feed(Pattern.compile(".*\\.txt$"), loader1));
+        Assert.assertEquals(2, loader1.names.size());
+        Assert.assertEquals(2, crawler1.getIndexedDirectories());
+        Assert.assertTrue(index.exists());
+        List<String> lines = Files.readAllLines(index.toPath());
+        Assert.assertEquals("# Orekit data index v2", lines.get(0));
+        Assert.assertEquals("root " + root.getAbsolutePath(), lines.get(1));
+        int p = lines.indexOf("P\t.*\\.txt$");
+        Assert.assertTrue(p > 0);
+        Assert.assertEquals("M\tf\ta.txt",     lines.get(p + 1));
+        Assert.assertEquals("M\tf\tsub/b.txt", lines.get(p + 2));
+
+        // a new crawler reuses the index without writing it again
+        Assert.assertTrue(index.setLastModified(0l));
+        RecordingLoader loader2 = new RecordingLoader();
+        IndexedDirectoryCrawler crawler2 = new IndexedDirectoryCrawler(root, index, null);
+        Assert.assertTrue(crawler2.feed(Pattern.compile(".*\\.txt$"), loader2));
+        Assert.assertEquals(loader1.names, loader2.names);
+        Assert.assertEquals(loader1.contents, loader2.contents);
+        Assert.assertEquals(0l, index.lastModified());
+
+        // an index referring to another root is ignored
+        File other = temporaryFolder.newFolder("other");
+        write(new File(other, "c.txt"), "gamma");
+        RecordingLoader loader3 = new RecordingLoader();
+        Assert.assertTrue(new IndexedDirectoryCrawler(other, index, null).feed(Pattern.compile(".*\\.txt$"), loader3));
+        Assert.assertEquals(1, loader3.names.size());
+        Assert.assertEquals("gamma", loader3.contents.get(0));
+
+    }
+
+    @Test
+    public void testCorruptedIndex() throws OrekitException, IOException {
+        File root = temporaryFolder.newFolder("data");
+        write(new File(root, "a.txt"), "alpha");
+        File index = new File(temporaryFolder.getRoot(), "data.index");
+        write(index, "# Orekit data index v2\nroot " + root.getAbsolutePath() + "\nD\t12\t.\nz\ta.txt\n");
+        RecordingLoader loader = new RecordingLoader();
+        Assert.assertTrue(new IndexedDirectoryCrawler(root, index, null).feed(Pattern.compile(".*\\.txt$"), loader));
+        Assert.assertEquals(1, loader.names.size());
+        Assert.assertEquals("alpha", loader.contents.get(0));
+    }
+
+    @Test
+    public void testIncrementalUpdate() throws OrekitException, IOException {
+
+        File root = temporaryFolder.newFolder("data");
+        File sub  = new File(root, "sub");
+        Assert.assertTrue(sub.mkdir());
+        File a = new File(root, "a.txt");
+        write(a, "alpha");
+        write(new File(sub, "b.txt"), "beta");
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            IndexedDirectoryCrawler crawler = new IndexedDirectoryCrawler(root, null, executor);
+            RecordingLoader loader1 = new RecordingLoader();
+            Assert.assertTrue(crawler.feed(Pattern.compile(".*\\.txt$"), loader1));
+            Assert.assertEquals(2, loader1.names.size());
+
+            // add a file in the sub-directory, and change the content of an existing file
+            File c = new File(sub, "c.txt");
+            write(c, "gamma");
+            Assert.assertTrue(sub.setLastModified(sub.lastModified() + 10000l));
+            write(a, "alpha, modified");
+            Assert.assertTrue(a.setLastModified(a.lastModified() + 10000l));
+            RecordingLoader loader2 = new RecordingLoader();
+            Assert.assertTrue(crawler.feed(Pattern.compile(".*\\.txt$"), loader2));
+            Assert.assertEquals(3, loader2.names.size());
+            Assert.assertEquals("alpha, modified", loader2.contents.get(0));
+            Assert.assertEquals("beta",            loader2.contents.get(1));
+            Assert.assertEquals("gamma",           loader2.contents.get(2));
+
+            // remove the sub-directory
+            Assert.assertTrue(new File(sub, "b.txt").delete());
+            Assert.assertTrue(c.delete());
+            Assert.assertTrue(sub.delete());
+            Assert.assertTrue(root.setLastModified(root.lastModified() + 10000l));
+            RecordingLoader loader3 = new RecordingLoader();
+            Assert.assertTrue(crawler.feed(Pattern.compile(".*\\.txt$"), loader3));
+            Assert.assertEquals(1, loader3.names.size());
+            Assert.assertEquals(1, crawler.getIndexedDirectories());
+
+        } finally {
+            executor.shutdown();
+        }
+
+    }
+
+    @Test
+    public void testContentsCacheSequential() throws OrekitException, IOException {
+        doTestContentsCache(null);
+    }
+
+    @Test
+    public void testContentsCacheParallel() throws OrekitException, IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            doTestContentsCache(executor);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private void doTestContentsCache(final ExecutorService executor) throws OrekitException, IOException {
+
+        File root = temporaryFolder.newFolder("data");
+        File a = new File(root, "a.txt");
+        write(a, "alpha");
+        final long t0 = a.lastModified();
+        IndexedDirectoryCrawler crawler = new IndexedDirectoryCrawler(root, null, executor);
+        RecordingLoader loader1 = new RecordingLoader();
+        Assert.assertTrue(crawler.feed(Pattern.compile(".*\\.txt$"), loader1));
+        Assert.assertEquals("alpha", loader1.contents.get(0));
+
+        // change the content without changing size nor last modification time,
+        // the file is considered unchanged and is not read again
+        write(a, "ALPHA");
+        Assert.assertTrue(a.setLastModified(t0));
+        RecordingLoader loader2 = new RecordingLoader();
+        Assert.assertTrue(crawler.feed(Pattern.compile(".*\\.txt$"), loader2));
+        Assert.assertEquals("alpha", loader2.contents.get(0));
+
+        // once the last modification time changes, the file is read again
+        Assert.assertTrue(a.setLastModified(t0 + 10000l));
+        RecordingLoader loader3 = new RecordingLoader();
+        Assert.assertTrue(crawler.feed(Pattern.compile(".*\\.txt$"), loader3));
+        Assert.assertEquals("ALPHA", loader3.contents.get(0));
+
+        // clearing the cache forces reading again
+        write(a, "Alpha");
+        Assert.assertTrue(a.setLastModified(t0 + 10000l));
+        RecordingLoader loader4 = new RecordingLoader();
+        Assert.assertTrue(crawler.feed(Pattern.compile(".*\\.txt$"), loader4));
+        Assert.assertEquals("ALPHA", loader4.contents.get(0));
+        crawler.clearContentsCache();
+        RecordingLoader loader5 = new RecordingLoader();
+        Assert.assertTrue(crawler.feed(Pattern.compile(".*\\.txt$"), loader5));
+        Assert.assertEquals("Alpha", loader5.contents.get(0));
+
+    }
+
+    @Test(expected=OrekitException.class)
+    public void testIOException() throws OrekitException, URISyntaxException {
+        URL url =
+            IndexedDirectoryCrawlerTest.class.getClassLoader().getResource("regular-data");
+        try {
+            new IndexedDirectoryCrawler(new File(url.toURI().getPath())).feed(Pattern.compile(".*"), new IOExceptionLoader());
+        } catch (OrekitException oe) {
+            // expected behavior
+            Assert.assertNotNull(oe.getCause());
+            Assert.assertEquals(IOException.class, oe.getCause().getClass());
+            Assert.assertEquals("dummy error", oe.getMessage());
+            throw oe;
+        }
+    }
+
+    @Test(expected=OrekitException.class)
+    public void testParseException() throws OrekitException, URISyntaxException {
+        URL url =
+            IndexedDirectoryCrawlerTest.class.getClassLoader().getResource("regular-data");
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            new IndexedDirectoryCrawler(new File(url.toURI().getPath()), null, executor).feed(Pattern.compile(".*"), new ParseExceptionLoader());
+        } catch (OrekitException oe) {
+            // expected behavior
+            Assert.assertNotNull(oe.getCause());
+            Assert.assertEquals(ParseException.class, oe.getCause().getClass());
+            Assert.assertEquals("dummy error", oe.getMessage());
+            throw oe;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private int checkSameAsDirectoryCrawler(final String resource, final String regexp,
+                                            final ExecutorService executor)
+        throws OrekitException, URISyntaxException {
+        File root = new File(getClass().getClassLoader().getResource(resource).toURI().getPath());
+        RecordingLoader reference = new RecordingLoader();
+        new DirectoryCrawler(root).feed(Pattern.compile(regexp), reference);
+        IndexedDirectoryCrawler crawler = new IndexedDirectoryCrawler(root, null, executor);
+        for (int i = 0; i < 2; ++i) {
+            // second feed uses the memorized index, matches and contents
+            RecordingLoader loader = new RecordingLoader();
+            crawler.feed(Pattern.compile(regexp), loader);
+            Assert.assertEquals(reference.names, loader.names);
+            Assert.assertEquals(reference.contents, loader.contents);
+        }
+        return reference.names.size();
+    }
+
+    private void write(final File file, final String content) throws IOException {
+        PrintWriter writer = new PrintWriter(new FileOutputStream(file));
+        writer.print(content);
+        writer.close();
+    }
+
+    private static class RecordingLoader implements DataLoader {
+        private final int max;
+        private final List<String> names;
+        private final List<String> contents;
+        RecordingLoader() {
+            this(Integer.MAX_VALUE);
+        }
+        RecordingLoader(final int max) {
+            this.max      = max;
+            this.names    = new ArrayList<String>();
+            this.contents = new ArrayList<String>();
+        }
+        public boolean stillAcceptsData() {
+            return names.size() < max;
+        }
+        public void loadData(InputStream input, String name) throws IOException {
+            names.add(name);
+            BufferedReader reader = new BufferedReader(new InputStreamReader(input, "UTF-8"));
+            StringBuilder builder = new StringBuilder();
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                builder.append(line).append('\n');
+            }
+            contents.add(builder.toString().trim());
+        }
+    }
+
+    private static class IOExceptionLoader implements DataLoader {
+        public boolean stillAcceptsData() {
+            return true;
+        }
+        public void loadData(InputStream input, String name) throws IOException {
+            if (name.endsWith("UTC-TAI.history")) {
+                throw new IOException("dummy error");
+            }
+        }
+    }
+
+    private static class ParseExceptionLoader implements DataLoader {
+        public boolean stillAcceptsData() {
+            return true;
+        }
+        public void loadData(InputStream input, String name) throws ParseException {
+            if (name.endsWith("UTC-TAI.history")) {
+                throw new ParseException("dummy error", 0);
+            }
+        }
+    }
+
+}
@@ -21,6 +21,7 @@ import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.Arrays;
 
 import org.hipparchus.analysis.UnivariateFunction;
 import org.hipparchus.analysis.differentiation.DerivativeStructure;
@@ -545,6 +546,55 @@ public class PoissonSeriesParserTest {
 
     }
 
+    @Test
+    public void testCompileBulk() throws OrekitException {
+        Utils.setDataRoot("regular-data");
+        String directory = "/assets/org/orekit/IERS-conventions/";
+
+        // luni-solar, planetary and mixed terms
+        PoissonSeriesParser<DerivativeStructure> xysParser =
+                new PoissonSeriesParser<DerivativeStructure>(17).withPolynomialPart('t', PolynomialParser.Unit.NO_UNITS).
+                    withFirstDelaunay(4).withFirstPlanetary(9).withSinCos(0, 2, 1.0, 3, 1.0);
+        PoissonSeries<DerivativeStructure> xSeries =
+                xysParser.parse(getClass().getResourceAsStream(directory + "2010/tab5.2a.txt"), "2010/tab5.2a.txt");
+        PoissonSeries<DerivativeStructure> ySeries =
+                xysParser.parse(getClass().getResourceAsStream(directory + "2010/tab5.2b.txt"), "2010/tab5.2b.txt");
+        PoissonSeries<DerivativeStructure> sSeries =
+                xysParser.parse(getClass().getResourceAsStream(directory + "2010/tab5.2d.txt"), "2010/tab5.2d.txt");
+
+        // tide terms
+        PoissonSeriesParser<DerivativeStructure> tidesParser =
+                new PoissonSeriesParser<DerivativeStructure>(13).withOptionalColumn(1).withGamma(2).withFirstDelaunay(3);
+        PoissonSeries<DerivativeStructure> xpSeries =
+                tidesParser.withSinCos(0, 10, 1.0, 11, 1.0).
+                parse(getClass().getResourceAsStream(directory + "2003/tab8.2ab.txt"), "2003/tab8.2ab.txt");
+        PoissonSeries<DerivativeStructure> ypSeries =
+                tidesParser.withSinCos(0, 12, 1.0, 13, 1.0).
+                parse(getClass().getResourceAsStream(directory + "2003/tab8.2ab.txt"), "2003/tab8.2ab.txt");
+
+        TimeScale ut1 = TimeScalesFactory.getUT1(FramesFactory.getEOPHistory(IERSConventions.IERS_2010, true));
+        FundamentalNutationArguments arguments = IERSConventions.IERS_2010.getNutationArguments(ut1);
+        BodiesElements[] elements = new BodiesElements[365];
+        for (int k = 0; k < elements.length; ++k) {
+            elements[k] = arguments.evaluateAll(AbsoluteDate.J2000_EPOCH.shiftedBy(k * Constants.JULIAN_DAY));
+        }
+
+        for (final PoissonSeries.CompiledSeries<DerivativeStructure> compiled :
+             Arrays.asList(PoissonSeries.compile(xSeries, ySeries, sSeries),
+                           PoissonSeries.compile(xpSeries, ypSeries))) {
+            double[][] bulk = compiled.value(elements);
+            Assert.assertEquals(elements.length, bulk.length);
+            for (int k = 0; k < elements.length; ++k) {
+                double[] single = compiled.value(elements[k]);
+                Assert.assertEquals(single.length, bulk[k].length);
+                for (int i = 0; i < single.length; ++i) {
+                    Assert.assertEquals(single[i], bulk[k][i], 0.0);
+                }
+            }
+        }
+
+    }
+
     @Test
     public void testDerivatives() throws OrekitException {
 
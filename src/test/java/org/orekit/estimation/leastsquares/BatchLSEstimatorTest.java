@@ -18,6 +18,8 @@ package org.orekit.estimation.leastsquares;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.optim.nonlinear.vector.leastsquares.LeastSquaresProblem.Evaluation;
@@ -41,6 +43,7 @@ import org.orekit.propagation.conversion.NumericalPropagatorBuilder;
 import org.orekit.time.AbsoluteDate;
 import org.orekit.utils.ParameterDriver;
 import org.orekit.utils.ParameterDriversList;
+import org.orekit.utils.ParameterDriversList.DelegatingDriver;
 
 public class BatchLSEstimatorTest {
 
@@ -157,6 +160,64 @@ public class BatchLSEstimatorTest {
 
     }
 
+    @Test
+    public void testParallelRange() throws OrekitException {
+
+        Context context = EstimationTestUtils.eccentricContext();
+
+        // create perfect range measurements
+        final Propagator propagator =
+                        EstimationTestUtils.createPropagator(context.initialOrbit,
+                                                             context.createBuilder(OrbitType.KEPLERIAN, PositionAngle.TRUE, true,
+                                                                                   1.0e-6, 60.0, 1.0));
+        final List<ObservedMeasurement<?>> measurements =
+                        EstimationTestUtils.createMeasurements(propagator,
+                                                               new RangeMeasurementCreator(context),
+                                                               1.0, 3.0, 300.0);
+
+        final BatchLSEstimator sequential = createRangeEstimator(context, measurements);
+        sequential.estimate();
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final BatchLSEstimator parallel = createRangeEstimator(context, measurements);
+            parallel.setMeasurementsExecutor(executor);
+            parallel.estimate();
+
+            Assert.assertEquals(sequential.getIterationsCount(),  parallel.getIterationsCount());
+            Assert.assertEquals(sequential.getEvaluationsCount(), parallel.getEvaluationsCount());
+            Assert.assertEquals(sequential.getOptimum().getRMS(), parallel.getOptimum().getRMS(), 0.0);
+            final List<DelegatingDriver> sDrivers = sequential.getOrbitalParametersDrivers(true).getDrivers();
+            final List<DelegatingDriver> pDrivers = parallel.getOrbitalParametersDrivers(true).getDrivers();
+            Assert.assertEquals(sDrivers.size(), pDrivers.size());
+            for (int i = 0; i < sDrivers.size(); ++i) {
+                Assert.assertEquals(sDrivers.get(i).getValue(), pDrivers.get(i).getValue(), 0.0);
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+    }
+
+    private BatchLSEstimator createRangeEstimator(final Context context,
+                                                  final List<ObservedMeasurement<?>> measurements)
+        throws OrekitException {
+        final NumericalPropagatorBuilder propagatorBuilder =
+                        context.createBuilder(OrbitType.KEPLERIAN, PositionAngle.TRUE, true,
+                                              1.0e-6, 60.0, 1.0);
+        final BatchLSEstimator estimator = new BatchLSEstimator(propagatorBuilder,
+                                                                new LevenbergMarquardtOptimizer());
+        for (final ObservedMeasurement<?> range : measurements) {
+            estimator.addMeasurement(range);
+        }
+        estimator.setParametersConvergenceThreshold(1.0e-2);
+        estimator.setMaxIterations(10);
+        estimator.setMaxEvaluations(20);
+        final ParameterDriver aDriver = estimator.getOrbitalParametersDrivers(true).getDrivers().get(0);
+        aDriver.setValue(aDriver.getValue() + 1.2);
+        return estimator;
+    }
+
     @Test
     public void testWrappedException() throws OrekitException {
 
@@ -84,7 +84,7 @@ public class ModelTest {
                 Assert.assertEquals(measurements.size(), newEvaluations.size());
             }
         };
-        final Model model = new Model(propagatorBuilder, measurements, estimatedMeasurementsParameters, modelObserver);
+        final Model model = new Model(propagatorBuilder, measurements, estimatedMeasurementsParameters, modelObserver, null);
         model.setIterationsCounter(new Incrementor(100));
         model.setEvaluationsCounter(new Incrementor(100));
 
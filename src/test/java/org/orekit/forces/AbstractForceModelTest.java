@@ -18,8 +18,11 @@ package org.orekit.forces;
 
 
 import org.hipparchus.analysis.differentiation.DerivativeStructure;
+import org.hipparchus.geometry.euclidean.threed.FieldRotation;
 import org.hipparchus.geometry.euclidean.threed.FieldVector3D;
+import org.hipparchus.geometry.euclidean.threed.Rotation;
 import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.util.FastMath;
 import org.junit.Assert;
 import org.orekit.errors.OrekitException;
 import org.orekit.errors.OrekitMessages;
@@ -34,6 +37,7 @@ import org.orekit.propagation.numerical.TimeDerivativesEquations;
 import org.orekit.propagation.sampling.OrekitStepHandler;
 import org.orekit.propagation.sampling.OrekitStepInterpolator;
 import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.Gradient;
 import org.orekit.utils.ParameterDriver;
 
 
@@ -108,6 +112,61 @@ public abstract class AbstractForceModelTest {
 
     }
 
+    protected void checkGradient(SpacecraftState state, ForceModel forceModel, double tol)
+        throws OrekitException {
+
+        final Vector3D p = state.getPVCoordinates().getPosition();
+        final Vector3D v = state.getPVCoordinates().getVelocity();
+        final Rotation r = state.getAttitude().getRotation();
+
+        final FieldVector3D<DerivativeStructure> accDS =
+                forceModel.accelerationDerivatives(state.getDate(), state.getFrame(),
+                                                   new FieldVector3D<DerivativeStructure>(new DerivativeStructure(7, 1, 0, p.getX()),
+                                                                                          new DerivativeStructure(7, 1, 1, p.getY()),
+                                                                                          new DerivativeStructure(7, 1, 2, p.getZ())),
+                                                   new FieldVector3D<DerivativeStructure>(new DerivativeStructure(7, 1, 3, v.getX()),
+                                                                                          new DerivativeStructure(7, 1, 4, v.getY()),
+                                                                                          new DerivativeStructure(7, 1, 5, v.getZ())),
+                                                   new FieldRotation<DerivativeStructure>(new DerivativeStructure(7, 1, r.getQ0()),
+                                                                                          new DerivativeStructure(7, 1, r.getQ1()),
+                                                                                          new DerivativeStructure(7, 1, r.getQ2()),
+                                                                                          new DerivativeStructure(7, 1, r.getQ3()),
+                                                                                          false),
+                                                   new DerivativeStructure(7, 1, 6, state.getMass()));
+
+        final FieldVector3D<Gradient> accG =
+                forceModel.accelerationGradient(state.getDate(), state.getFrame(),
+                                                new FieldVector3D<Gradient>(Gradient.variable(7, 0, p.getX()),
+                                                                            Gradient.variable(7, 1, p.getY()),
+                                                                            Gradient.variable(7, 2, p.getZ())),
+                                                new FieldVector3D<Gradient>(Gradient.variable(7, 3, v.getX()),
+                                                                            Gradient.variable(7, 4, v.getY()),
+                                                                            Gradient.variable(7, 5, v.getZ())),
+                                                new FieldRotation<Gradient>(Gradient.constant(7, r.getQ0()),
+                                                                            Gradient.constant(7, r.getQ1()),
+                                                                            Gradient.constant(7, r.getQ2()),
+                                                                            Gradient.constant(7, r.getQ3()),
+                                                                            false),
+                                                Gradient.variable(7, 6, state.getMass()));
+
+        checkGradient(accDS.getX(), accG.getX(), tol);
+        checkGradient(accDS.getY(), accG.getY(), tol);
+        checkGradient(accDS.getZ(), accG.getZ(), tol);
+
+    }
+
+    private void checkGradient(DerivativeStructure ds, Gradient g, double tol) {
+        final double[] all = ds.getAllDerivatives();
+        Assert.assertEquals(all[0], g.getValue(), tol * FastMath.abs(all[0]));
+        double scale = 0;
+        for (int i = 1; i < all.length; ++i) {
+            scale = FastMath.max(scale, FastMath.abs(all[i]));
+        }
+        for (int i = 1; i < all.length; ++i) {
+            Assert.assertEquals(all[i], g.getPartialDerivative(i - 1), tol * scale);
+        }
+    }
+
     protected void checkStateJacobian(NumericalPropagator propagator, SpacecraftState state0,
                                       AbsoluteDate targetDate, double hFactor,
                                       double[] integratorAbsoluteTolerances, double checkTolerance)
@@ -16,6 +16,13 @@
  */
 package org.orekit.forces.drag.atmosphere;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.hipparchus.geometry.euclidean.threed.Rotation;
 import org.hipparchus.geometry.euclidean.threed.RotationConvention;
@@ -27,13 +34,16 @@ import org.junit.Test;
 import org.orekit.SolarInputs97to05;
 import org.orekit.Utils;
 import org.orekit.bodies.CelestialBodyFactory;
+import org.orekit.bodies.GeodeticPoint;
 import org.orekit.bodies.OneAxisEllipsoid;
 import org.orekit.errors.OrekitException;
 import org.orekit.forces.drag.atmosphere.DTM2000;
+import org.orekit.forces.drag.atmosphere.data.MarshallSolarActivityFutureEstimation;
 import org.orekit.frames.Frame;
 import org.orekit.frames.FramesFactory;
 import org.orekit.frames.Transform;
 import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScalesFactory;
 import org.orekit.utils.IERSConventions;
 import org.orekit.utils.PVCoordinatesProvider;
 
@@ -189,6 +199,74 @@ public class DTM2000Test {
         Assert.assertEquals(atm.getDensity(date, pEcef, ecef), actual, 0.0);
     }
 
+    @Test
+    public void testGettersBeforeEvaluation() throws OrekitException {
+        Frame itrf = FramesFactory.getITRF(IERSConventions.IERS_2010, true);
+        OneAxisEllipsoid earth = new OneAxisEllipsoid(6378136.460, 1.0 / 298.257222101, itrf);
+        DTM2000 atm = new DTM2000(SolarInputs97to05.getInstance(), CelestialBodyFactory.getSun(), earth);
+        Assert.assertEquals(0.0, atm.getTinf(), 0.0);
+        Assert.assertEquals(0.0, atm.getT(), 0.0);
+        Assert.assertEquals(0.0, atm.getMam(), 0.0);
+        for (int identifier = DTM2000.HYDROGEN; identifier <= DTM2000.ATOMIC_NITROGEN; ++identifier) {
+            Assert.assertEquals(0.0, atm.getPartialDensities(identifier), 0.0);
+        }
+    }
+
+    @Test
+    public void testConcurrentEvaluations() throws OrekitException, InterruptedException, ExecutionException {
+
+        Utils.setDataRoot("regular-data:atmosphere");
+        final Frame itrf = FramesFactory.getITRF(IERSConventions.IERS_2010, true);
+        final OneAxisEllipsoid earth = new OneAxisEllipsoid(6378136.460, 1.0 / 298.257222101, itrf);
+
+        // sequential reference values
+        final DTM2000 sequential = new DTM2000(createMSAFE(), CelestialBodyFactory.getSun(), earth);
+        final int n = 1000;
+        final double[] reference = new double[n];
+        for (int i = 0; i < n; ++i) {
+            reference[i] = evaluate(sequential, earth, i);
+        }
+
+        // concurrent evaluations sharing the same model instance,
+        // with solar activity data loaded lazily by the first evaluations
+        final DTM2000 shared = new DTM2000(createMSAFE(), CelestialBodyFactory.getSun(), earth);
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final List<Future<Double>> results = new ArrayList<Future<Double>>(n);
+            for (int i = 0; i < n; ++i) {
+                final int index = i;
+                results.add(executor.submit(new Callable<Double>() {
+                    public Double call() throws OrekitException {
+                        return evaluate(shared, earth, index);
+                    }
+                }));
+            }
+            for (int i = 0; i < n; ++i) {
+                // Sun and Earth frame caches may differ in the last bits depending on access order
+                Assert.assertEquals(reference[i], results.get(i).get().doubleValue(), 1.0e-12 * reference[i]);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+    }
+
+    private MarshallSolarActivityFutureEstimation createMSAFE() {
+        return new MarshallSolarActivityFutureEstimation("Jan2000F10-edited-data\\.txt",
+                                                         MarshallSolarActivityFutureEstimation.StrengthLevel.AVERAGE);
+    }
+
+    private double evaluate(final DTM2000 atm, final OneAxisEllipsoid earth, final int i)
+        throws OrekitException {
+        // dates alternate between distant parts of the data set to change bracketing entries
+        final int k = (i % 2 == 0) ? i : 999 - i;
+        final AbsoluteDate date = new AbsoluteDate(2003, 1, 1, TimeScalesFactory.getUTC()).shiftedBy(k * 34000.0);
+        final GeodeticPoint point = new GeodeticPoint(FastMath.toRadians(i % 170 - 85.0),
+                                                      FastMath.toRadians(i % 360 - 180.0),
+                                                      (120 + i % 700) * 1000.0);
+        return atm.getDensity(date, earth.transform(point), earth.getBodyFrame());
+    }
+
     @Before
     public void setUp() {
         Utils.setDataRoot("regular-data");
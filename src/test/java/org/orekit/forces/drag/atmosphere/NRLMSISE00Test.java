@@ -16,6 +16,14 @@
  */
 package org.orekit.forces.drag.atmosphere;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import org.hipparchus.geometry.euclidean.threed.Vector3D;
 import org.hipparchus.util.FastMath;
 import org.junit.Assert;
@@ -181,6 +189,73 @@ public class NRLMSISE00Test {
         Assert.assertEquals(rho, out.getDensity(5), rho * 1.e-3);
    }
 
+    @Test
+    public void testSwitchesChangeBetweenCalls() {
+        final double[] ap  = {4., 100., 100., 100., 100., 100., 100.};
+
+        // populate cache with default switches, then change switch #9
+        final NRLMSISE00 reused = new NRLMSISE00(null, null, null);
+        reused.gtd7d(172, 29000., 400., 60., -70., 16., 150., 150., ap);
+        reused.setSwitch(9, -1);
+        final Output fromReused = reused.gtd7d(172, 29000., 400., 60., -70., 16., 150., 150., ap);
+
+        // fresh model with switch #9 set from start
+        final NRLMSISE00 fresh = new NRLMSISE00(null, null, null);
+        fresh.setSwitch(9, -1);
+        final Output fromFresh = fresh.gtd7d(172, 29000., 400., 60., -70., 16., 150., 150., ap);
+
+        for (int i = 0; i < 9; ++i) {
+            Assert.assertEquals(fromFresh.getDensity(i), fromReused.getDensity(i), 0.0);
+        }
+        Assert.assertEquals(fromFresh.getTemperature(0), fromReused.getTemperature(0), 0.0);
+        Assert.assertEquals(fromFresh.getTemperature(1), fromReused.getTemperature(1), 0.0);
+
+    }
+
+    @Test
+    public void testConcurrentEvaluations() throws InterruptedException, ExecutionException {
+
+        final NRLMSISE00 atm = new NRLMSISE00(null, null, null);
+        atm.setSwitch(9, -1);
+
+        // sequential reference values
+        final int n = 2000;
+        final double[] reference = new double[n];
+        for (int i = 0; i < n; ++i) {
+            reference[i] = evaluate(atm, i);
+        }
+
+        // concurrent evaluations sharing the same model instance,
+        // with activity changing often so the cache is updated concurrently
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final List<Future<Double>> results = new ArrayList<Future<Double>>(n);
+            for (int i = 0; i < n; ++i) {
+                final int index = i;
+                results.add(executor.submit(new Callable<Double>() {
+                    public Double call() {
+                        return evaluate(atm, index);
+                    }
+                }));
+            }
+            for (int i = 0; i < n; ++i) {
+                Assert.assertEquals(reference[i], results.get(i).get().doubleValue(), 0.0);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+    }
+
+    private double evaluate(final NRLMSISE00 atm, final int i) {
+        final int    activity = i / 10;
+        final double ap       = 4.0 + activity % 50;
+        final double[] aps    = {ap, ap + 1, ap + 2, ap + 3, ap + 4, ap + 5, ap + 6};
+        return atm.gtd7d(1 + activity % 365, 37.0 * i, 80.0 + i % 900, i % 170 - 85.0, i % 360 - 180.0,
+                         i % 24, 70.0 + activity % 150, 70.0 + (7 * activity) % 150, aps).
+               getDensity(Output.TOTAL_MASS);
+    }
+
     private void checkLegacy(final int nb, final NRLMSISE00.Output out, final boolean print) {
         final double[] tInfRef = {1.250540E+03, 1.166754E+03, 1.239892E+03, 1.027318E+03, 
                                   1.212396E+03, 1.220146E+03, 1.116385E+03, 1.031247E+03, 
@@ -0,0 +1,292 @@
+/* Copyright 2002-2016 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.forces.gravity;
+
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.ode.nonstiff.DormandPrince853Integrator;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.hipparchus.util.FastMath;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.orekit.Utils;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.forces.AbstractForceModelTest;
+import org.orekit.forces.ForceModel;
+import org.orekit.forces.gravity.potential.GRGSFormatReader;
+import org.orekit.forces.gravity.potential.GravityFieldFactory;
+import org.orekit.forces.gravity.potential.NormalizedSphericalHarmonicsProvider;
+import org.orekit.frames.Frame;
+import org.orekit.frames.FramesFactory;
+import org.orekit.orbits.KeplerianOrbit;
+import org.orekit.orbits.Orbit;
+import org.orekit.orbits.OrbitType;
+import org.orekit.orbits.PositionAngle;
+import org.orekit.propagation.SpacecraftState;
+import org.orekit.propagation.numerical.NumericalPropagator;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.IERSConventions;
+
+public class GriddedAttractionModelTest extends AbstractForceModelTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testAccuracy() throws OrekitException, IOException {
+
+        File file = temporaryFolder.newFile("grid.bin");
+        double error = GriddedAttractionModel.write(provider, date, 6.6e6, 7.2e6, 1.0e-8, 6, file);
+        Assert.assertTrue(error <= 1.0e-8);
+
+        GriddedAttractionModel gridded = new GriddedAttractionModel(itrf, file);
+        Assert.assertEquals(error, gridded.getEstimatedError(), 0.0);
+        Assert.assertEquals(6.6e6, gridded.getMinRadius(), 0.0);
+        Assert.assertEquals(7.2e6, gridded.getMaxRadius(), 0.0);
+        Assert.assertEquals(6, gridded.getInterpolationPoints());
+        Assert.assertEquals(provider.getTideSystem(), gridded.getTideSystem());
+        Assert.assertEquals(1.40625, FastMath.toDegrees(gridded.getAngularStep()), 1.0e-12);
+        Assert.assertEquals(6.6e6 * gridded.getAngularStep(), gridded.getRadialStep(), 1.0e-6);
+
+        RandomGenerator random = new Well19937a(0x5c4d1b7bl);
+        double maxGradientError = 0;
+        double maxHessianError  = 0;
+        for (int i = 0; i < 1000; ++i) {
+            Vector3D position = new Vector3D(6.6e6 + 6.0e5 * random.nextDouble(),
+                                             new Vector3D(random.nextDouble() - 0.5,
+                                                          random.nextDouble() - 0.5,
+                                                          random.nextDouble() - 0.5).normalize());
+            HolmesFeatherstoneAttractionModel.GradientHessian ref = reference.gradientHessian(date, position);
+            HolmesFeatherstoneAttractionModel.GradientHessian gh  = gridded.gradientHessian(position);
+            maxGradientError = FastMath.max(maxGradientError,
+                                            Vector3D.distance(new Vector3D(ref.getGradient()),
+                                                              new Vector3D(gh.getGradient())));
+            Assert.assertArrayEquals(gh.getGradient(), gridded.gradient(position), 0.0);
+            for (int j = 0; j < 3; ++j) {
+                for (int k = 0; k < 3; ++k) {
+                    maxHessianError = FastMath.max(maxHessianError,
+                                                   FastMath.abs(ref.getHessian()[j][k] - gh.getHessian()[j][k]));
+                }
+            }
+        }
+        Assert.assertEquals(0, maxGradientError, 1.6e-9);
+        Assert.assertEquals(0, maxHessianError,  3.0e-14);
+
+    }
+
+    @Test
+    public void testPropagation() throws OrekitException, IOException {
+
+        File file = temporaryFolder.newFile("grid.bin");
+        GriddedAttractionModel.write(provider, date, 6.6e6, 7.2e6, 1.0e-8, 6, file);
+        GriddedAttractionModel gridded = new GriddedAttractionModel(itrf, file);
+
+        Orbit orbit = new KeplerianOrbit(7.0e6, 1.0e-3, FastMath.toRadians(98.7), FastMath.toRadians(93.0),
+                                         FastMath.toRadians(15.0 * 22.5), 0, PositionAngle.MEAN,
+                                         FramesFactory.getEME2000(), date, provider.getMu());
+        SpacecraftState refState = propagate(orbit, reference, 86400.0);
+        SpacecraftState state    = propagate(orbit, gridded,   86400.0);
+        Assert.assertEquals(0,
+                            Vector3D.distance(refState.getPVCoordinates().getPosition(),
+                                              state.getPVCoordinates().getPosition()),
+                            0.09);
+
+    }
+
+    @Test
+    public void testParameterDerivative() throws OrekitException, IOException {
+
+        File file = temporaryFolder.newFile("grid.bin");
+        GriddedAttractionModel.write(provider, date, 6.6e6, 7.2e6, 1.0e-6, 4, file);
+        GriddedAttractionModel gridded = new GriddedAttractionModel(itrf, file);
+
+        Orbit orbit = new KeplerianOrbit(7.0e6, 1.0e-3, FastMath.toRadians(98.7), FastMath.toRadians(93.0),
+                                         FastMath.toRadians(15.0 * 22.5), 0, PositionAngle.MEAN,
+                                         FramesFactory.getEME2000(), date, provider.getMu());
+        checkParameterDerivative(new SpacecraftState(orbit), gridded,
+                                 NewtonianAttraction.CENTRAL_ATTRACTION_COEFFICIENT, 1.0e-5, 5.0e-11);
+
+    }
+
+    @Test
+    public void testOutsideShell() throws OrekitException, IOException {
+        File file = temporaryFolder.newFile("grid.bin");
+        GriddedAttractionModel.write(provider, date, 6.6e6, 7.2e6, 1.0e-6, 4, file);
+        GriddedAttractionModel gridded = new GriddedAttractionModel(itrf, file);
+        gridded.gradient(new Vector3D(7.2e6, 0, 0));
+        try {
+            gridded.gradient(new Vector3D(7.3e6, 0, 0));
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(7.3e6, ((Double) oe.getParts()[0]).doubleValue(), 1.0e-6);
+        }
+    }
+
+    @Test
+    public void testPolarAxis() throws OrekitException, IOException {
+        File file = temporaryFolder.newFile("grid.bin");
+        GriddedAttractionModel.write(provider, date, 6.6e6, 7.2e6, 1.0e-8, 6, file);
+        GriddedAttractionModel gridded = new GriddedAttractionModel(itrf, file);
+        for (final Vector3D position : new Vector3D[] {
+            new Vector3D(0, 0, 7.0e6), new Vector3D(0, 0, -6.9e6), new Vector3D(1.0, -2.0, 6.8e6)
+        }) {
+            // the reference model itself is singular on the polar axis, we evaluate it 1mm away
+            HolmesFeatherstoneAttractionModel.GradientHessian ref =
+                    reference.gradientHessian(date, position.add(new Vector3D(1.0e-3, 1.0e-3, 0)));
+            HolmesFeatherstoneAttractionModel.GradientHessian gh  = gridded.gradientHessian(position);
+            Assert.assertEquals(0,
+                                Vector3D.distance(new Vector3D(ref.getGradient()), new Vector3D(gh.getGradient())),
+                                1.6e-9);
+            for (int j = 0; j < 3; ++j) {
+                for (int k = 0; k < 3; ++k) {
+                    Assert.assertFalse(Double.isNaN(gh.getHessian()[j][k]));
+                    Assert.assertEquals(ref.getHessian()[j][k], gh.getHessian()[j][k], 5.0e-14);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testTooManyNodes() throws OrekitException, IOException {
+        File file = temporaryFolder.newFile("grid.bin");
+        try {
+            GriddedAttractionModel.write(provider, date, 6.6e6, 6.6e11, 1.0e-8, 6, file);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(LocalizedCoreFormats.MAX_COUNT_EXCEEDED, oe.getSpecifier());
+            Assert.assertEquals(1L << 25, ((Long) oe.getParts()[0]).longValue());
+            // the existing file is left untouched and no temporary file remains
+            Assert.assertTrue(file.exists());
+            Assert.assertEquals(0L, file.length());
+            Assert.assertEquals(1, temporaryFolder.getRoot().list().length);
+        }
+    }
+
+    @Test
+    public void testReplaceMappedFile() throws OrekitException, IOException {
+        File file = temporaryFolder.newFile("grid.bin");
+        GriddedAttractionModel.write(provider, date, 6.6e6, 7.2e6, 1.0e-6, 4, file);
+        GriddedAttractionModel first = new GriddedAttractionModel(itrf, file);
+        final Vector3D position = new Vector3D(6.9e6, 0, 0);
+        final double[] before = first.gradient(position);
+
+        // replace the file while the first model still maps it
+        GriddedAttractionModel.write(provider, date, 6.6e6, 7.2e6, 1.0e-8, 6, file);
+        Assert.assertArrayEquals(before, first.gradient(position), 0.0);
+        Assert.assertEquals(1, temporaryFolder.getRoot().list().length);
+
+        GriddedAttractionModel second = new GriddedAttractionModel(itrf, file);
+        Assert.assertEquals(6, second.getInterpolationPoints());
+        Assert.assertTrue(second.getEstimatedError() <= 1.0e-8);
+    }
+
+    @Test
+    public void testWrongInterpolationPoints() throws OrekitException, IOException {
+        try {
+            GriddedAttractionModel.write(provider, date, 6.6e6, 7.2e6, 1.0e-6, 1,
+                                         temporaryFolder.newFile("grid.bin"));
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(1, ((Integer) oiae.getParts()[0]).intValue());
+        }
+    }
+
+    @Test
+    public void testEmptyShell() throws OrekitException, IOException {
+        try {
+            GriddedAttractionModel.write(provider, date, 7.2e6, 6.6e6, 1.0e-6, 4,
+                                         temporaryFolder.newFile("grid.bin"));
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(6.6e6, ((Double) oiae.getParts()[0]).doubleValue(), 1.0e-6);
+        }
+    }
+
+    @Test
+    public void testMissingFile() throws OrekitException {
+        File file = new File(temporaryFolder.getRoot(), "missing.bin");
+        try {
+            new GriddedAttractionModel(itrf, file);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.UNABLE_TO_FIND_FILE, oe.getSpecifier());
+        }
+    }
+
+    @Test
+    public void testNotAGridFile() throws OrekitException, IOException {
+        File file = temporaryFolder.newFile("not-a-grid.bin");
+        FileOutputStream out = new FileOutputStream(file);
+        out.write(new byte[] { 0x4f, 0x47, 0x52, 0x56, 0, 0, 0, 1, 0, 0 });
+        out.close();
+        try {
+            new GriddedAttractionModel(itrf, file);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.NOT_A_GRIDDED_GRAVITY_FIELD_FILE, oe.getSpecifier());
+        }
+    }
+
+    private SpacecraftState propagate(final Orbit orbit, final ForceModel model, final double duration)
+        throws OrekitException {
+        double[][] tolerances = NumericalPropagator.tolerances(0.001, orbit, OrbitType.CARTESIAN);
+        NumericalPropagator propagator =
+                new NumericalPropagator(new DormandPrince853Integrator(1.0e-3, 120,
+                                                                       tolerances[0], tolerances[1]));
+        propagator.setOrbitType(OrbitType.CARTESIAN);
+        propagator.addForceModel(model);
+        propagator.setInitialState(new SpacecraftState(orbit));
+        return propagator.propagate(orbit.getDate().shiftedBy(duration));
+    }
+
+    @Before
+    public void setUp() throws OrekitException {
+        Utils.setDataRoot("regular-data:potential/grgs-format");
+        GravityFieldFactory.addPotentialCoefficientsReader(new GRGSFormatReader("grim4s4_gr", true));
+        provider  = GravityFieldFactory.getNormalizedProvider(8, 8);
+        itrf      = FramesFactory.getITRF(IERSConventions.IERS_2010, true);
+        reference = new HolmesFeatherstoneAttractionModel(itrf, provider);
+        date      = new AbsoluteDate(2004, 1, 1, 23, 30, 00.000, TimeScalesFactory.getUTC());
+    }
+
+    @After
+    public void tearDown() {
+        provider  = null;
+        itrf      = null;
+        reference = null;
+        date      = null;
+    }
+
+    private NormalizedSphericalHarmonicsProvider provider;
+    private Frame                                itrf;
+    private HolmesFeatherstoneAttractionModel    reference;
+    private AbsoluteDate                         date;
+
+}
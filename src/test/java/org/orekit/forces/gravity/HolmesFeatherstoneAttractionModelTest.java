@@ -17,6 +17,14 @@
 package org.orekit.forces.gravity;
 
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import org.hipparchus.dfp.Dfp;
 import org.hipparchus.geometry.euclidean.threed.Rotation;
 import org.hipparchus.geometry.euclidean.threed.Vector3D;
@@ -151,6 +159,134 @@ public class HolmesFeatherstoneAttractionModelTest extends AbstractForceModelTes
 
     }
 
+    @Test
+    public void testBatchGradient() throws OrekitException {
+
+        int max = 50;
+        NormalizedSphericalHarmonicsProvider provider = new GleasonProvider(max, max);
+        HolmesFeatherstoneAttractionModel model =
+                new HolmesFeatherstoneAttractionModel(itrf, provider);
+
+        double r = 1.25;
+        List<Vector3D> positions = new ArrayList<Vector3D>();
+        for (double lambda = 0; lambda < 2 * FastMath.PI; lambda += 0.5) {
+            for (double theta = 0.05; theta < 3.11; theta += 0.03) {
+                positions.add(new Vector3D(r * FastMath.sin(theta) * FastMath.cos(lambda),
+                                           r * FastMath.sin(theta) * FastMath.sin(lambda),
+                                           r * FastMath.cos(theta)));
+            }
+        }
+
+        double[] flat = new double[3 * positions.size()];
+        for (int i = 0; i < positions.size(); ++i) {
+            flat[3 * i]     = positions.get(i).getX();
+            flat[3 * i + 1] = positions.get(i).getY();
+            flat[3 * i + 2] = positions.get(i).getZ();
+        }
+        double[] gradients = new double[flat.length];
+        model.gradient(null, flat, positions.size(), gradients);
+
+        for (int i = 0; i < positions.size(); ++i) {
+            double[] gradient = model.gradient(null, positions.get(i));
+            double[] ghGradient = model.gradientHessian(null, positions.get(i)).getGradient();
+            for (int k = 0; k < 3; ++k) {
+                Assert.assertEquals(gradient[k],   gradients[3 * i + k], 0.0);
+                Assert.assertEquals(ghGradient[k], gradients[3 * i + k], 0.0);
+            }
+        }
+
+    }
+
+    @Test
+    public void testConcurrentEvaluations()
+        throws OrekitException, InterruptedException, ExecutionException {
+
+        int max = 50;
+        NormalizedSphericalHarmonicsProvider provider = new GleasonProvider(max, max);
+        final HolmesFeatherstoneAttractionModel model =
+                new HolmesFeatherstoneAttractionModel(itrf, provider);
+
+        final List<Vector3D> positions = new ArrayList<Vector3D>();
+        final List<double[]> reference = new ArrayList<double[]>();
+        for (int i = 0; i < 200; ++i) {
+            final double lambda = 0.1 * i;
+            final double theta  = 0.05 + 0.015 * i;
+            final double r      = 1.1 + 0.001 * i;
+            final Vector3D position = new Vector3D(r * FastMath.sin(theta) * FastMath.cos(lambda),
+                                                   r * FastMath.sin(theta) * FastMath.sin(lambda),
+                                                   r * FastMath.cos(theta));
+            positions.add(position);
+            reference.add(new double[] {
+                model.nonCentralPart(null, position),
+                model.gradient(null, position)[0],
+                model.gradientHessian(null, position).getHessian()[2][1]
+            });
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<double[][]>> futures = new ArrayList<Future<double[][]>>();
+        for (int k = 0; k < 16; ++k) {
+            futures.add(executor.submit(new Callable<double[][]>() {
+                public double[][] call() throws OrekitException {
+                    double[][] results = new double[positions.size()][];
+                    for (int i = 0; i < positions.size(); ++i) {
+                        final Vector3D position = positions.get(i);
+                        results[i] = new double[] {
+                            model.nonCentralPart(null, position),
+                            model.gradient(null, position)[0],
+                            model.gradientHessian(null, position).getHessian()[2][1]
+                        };
+                    }
+                    return results;
+                }
+            }));
+        }
+        executor.shutdown();
+
+        for (Future<double[][]> future : futures) {
+            double[][] results = future.get();
+            for (int i = 0; i < positions.size(); ++i) {
+                for (int j = 0; j < 3; ++j) {
+                    Assert.assertEquals(reference.get(i)[j], results[i][j], 0.0);
+                }
+            }
+        }
+
+    }
+
+    @Test
+    public void testNoStaleValuesAfterNaN() throws OrekitException {
+
+        int max = 50;
+        NormalizedSphericalHarmonicsProvider provider = new GleasonProvider(max, max);
+        HolmesFeatherstoneAttractionModel reference = new HolmesFeatherstoneAttractionModel(itrf, provider);
+        HolmesFeatherstoneAttractionModel model     = new HolmesFeatherstoneAttractionModel(itrf, provider);
+
+        // at the center of the body, all terms are NaN or infinite
+        Assert.assertTrue(Double.isNaN(model.nonCentralPart(null, Vector3D.ZERO)));
+        Assert.assertTrue(Double.isNaN(model.gradient(null, Vector3D.ZERO)[0]));
+        Assert.assertTrue(Double.isNaN(model.gradientHessian(null, Vector3D.ZERO).getHessian()[2][1]));
+
+        // the next evaluations from the same thread must not be poisoned by the previous ones
+        Vector3D position = new Vector3D(0.3, -0.7, 1.1);
+        double value = model.nonCentralPart(null, position);
+        Assert.assertFalse(Double.isNaN(value));
+        Assert.assertEquals(reference.nonCentralPart(null, position), value, 0.0);
+        double[] gradient = model.gradient(null, position);
+        double[] refGradient = reference.gradient(null, position);
+        double[][] hessian = model.gradientHessian(null, position).getHessian();
+        double[][] refHessian = reference.gradientHessian(null, position).getHessian();
+        for (int i = 0; i < 3; ++i) {
+            Assert.assertFalse(Double.isNaN(gradient[i]));
+            Assert.assertEquals(refGradient[i], gradient[i], 0.0);
+            for (int j = 0; j < 3; ++j) {
+                Assert.assertFalse(Double.isNaN(hessian[i][j]));
+                Assert.assertEquals(refHessian[i][j], hessian[i][j], 0.0);
+            }
+        }
+
+    }
+
     @Test
     public void testHessian() throws OrekitException {
 
@@ -603,6 +739,29 @@ public class HolmesFeatherstoneAttractionModelTest extends AbstractForceModelTes
 
     }
 
+    @Test
+    public void testAccelerationGradient() throws OrekitException {
+
+        Utils.setDataRoot("regular-data:potential/grgs-format");
+        GravityFieldFactory.addPotentialCoefficientsReader(new GRGSFormatReader("grim4s4_gr", true));
+
+        // pos-vel (from a ZOOM ephemeris reference)
+        final Vector3D pos = new Vector3D(6.46885878304673824e+06, -1.88050918456274318e+06, -1.32931592294715829e+04);
+        final Vector3D vel = new Vector3D(2.14718074509906819e+03, 7.38239351251748485e+03, -1.14097953925384523e+01);
+        final SpacecraftState state =
+                new SpacecraftState(new CartesianOrbit(new PVCoordinates(pos, vel),
+                                                       FramesFactory.getGCRF(),
+                                                       new AbsoluteDate(2005, 3, 5, 0, 24, 0.0, TimeScalesFactory.getTAI()),
+                                                       GravityFieldFactory.getUnnormalizedProvider(1, 1).getMu()));
+
+        final HolmesFeatherstoneAttractionModel holmesFeatherstoneModel =
+                new HolmesFeatherstoneAttractionModel(FramesFactory.getITRF(IERSConventions.IERS_2010, true),
+                                                      GravityFieldFactory.getNormalizedProvider(20, 20));
+
+        checkGradient(state, holmesFeatherstoneModel, 0.0);
+
+    }
+
     private double accelerationRelativeError(ForceModel testModel, ForceModel referenceModel,
                                              SpacecraftState state)
         throws OrekitException {
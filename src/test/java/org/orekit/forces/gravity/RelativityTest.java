@@ -115,6 +115,17 @@ public class RelativityTest extends AbstractForceModelTest {
      *
      * @throws OrekitException on error
      */
+    /** check the default conversion path through derivative structures */
+    @Test
+    public void testAccelerationGradient() throws OrekitException {
+        double gm = Constants.EIGEN5C_EARTH_MU;
+        final Vector3D p = new Vector3D(3777828.75000531, -5543949.549783845, 2563117.448578311);
+        final Vector3D v = new Vector3D(489.0060271721, -2849.9328929417, -6866.4671013153);
+        SpacecraftState s = new SpacecraftState(new CartesianOrbit(new PVCoordinates(p, v),
+                                                                   frame, date, gm));
+        checkGradient(s, new Relativity(gm), 0.0);
+    }
+
     @Test
     public void testAccelerationCircular() throws OrekitException {
         double gm = Constants.EIGEN5C_EARTH_MU;
@@ -161,6 +161,22 @@ public class ThirdBodyAttractionTest extends AbstractForceModelTest {
 
     }
 
+    @Test
+    public void testAccelerationGradient() throws OrekitException {
+
+        final Vector3D pos = new Vector3D(6.46885878304673824e+06, -1.88050918456274318e+06, -1.32931592294715829e+04);
+        final Vector3D vel = new Vector3D(2.14718074509906819e+03, 7.38239351251748485e+03, -1.14097953925384523e+01);
+        final SpacecraftState state =
+                new SpacecraftState(new CartesianOrbit(new PVCoordinates(pos, vel),
+                                                       FramesFactory.getGCRF(),
+                                                       new AbsoluteDate(2003, 3, 5, 0, 24, 0.0, TimeScalesFactory.getTAI()),
+                                                       Constants.EIGEN5C_EARTH_MU));
+
+        checkGradient(state, new ThirdBodyAttraction(CelestialBodyFactory.getMoon()), 1.0e-15);
+        checkGradient(state, new NewtonianAttraction(Constants.EIGEN5C_EARTH_MU), 1.0e-15);
+
+    }
+
     @Test
     public void testStateJacobian()
         throws OrekitException {
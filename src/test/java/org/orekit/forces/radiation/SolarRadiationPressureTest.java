@@ -317,6 +317,50 @@ public class SolarRadiationPressureTest extends AbstractForceModelTest {
 
     }
 
+    @Test
+    public void testAccelerationGradientIsotropic() throws OrekitException {
+
+        final Vector3D pos = new Vector3D(6.46885878304673824e+06, -1.88050918456274318e+06, -1.32931592294715829e+04);
+        final Vector3D vel = new Vector3D(2.14718074509906819e+03, 7.38239351251748485e+03, -1.14097953925384523e+01);
+        final SpacecraftState state =
+                new SpacecraftState(new CartesianOrbit(new PVCoordinates(pos, vel),
+                                                       FramesFactory.getGCRF(),
+                                                       new AbsoluteDate(2003, 3, 5, 0, 24, 0.0, TimeScalesFactory.getTAI()),
+                                                       Constants.EIGEN5C_EARTH_MU));
+
+        for (final RadiationSensitive rs : new RadiationSensitive[] {
+            new IsotropicRadiationSingleCoefficient(2.5, 0.7),
+            new IsotropicRadiationClassicalConvention(2.5, 0.7, 0.2),
+            new IsotropicRadiationCNES95Convention(2.5, 0.7, 0.2)
+        }) {
+            checkGradient(state,
+                          new SolarRadiationPressure(CelestialBodyFactory.getSun(),
+                                                     Constants.WGS84_EARTH_EQUATORIAL_RADIUS, rs),
+                          1.0e-15);
+        }
+
+    }
+
+    @Test
+    public void testAccelerationGradientBox() throws OrekitException {
+
+        final Vector3D pos = new Vector3D(6.46885878304673824e+06, -1.88050918456274318e+06, -1.32931592294715829e+04);
+        final Vector3D vel = new Vector3D(2.14718074509906819e+03, 7.38239351251748485e+03, -1.14097953925384523e+01);
+        final SpacecraftState state =
+                new SpacecraftState(new CartesianOrbit(new PVCoordinates(pos, vel),
+                                                       FramesFactory.getGCRF(),
+                                                       new AbsoluteDate(2003, 3, 5, 0, 24, 0.0, TimeScalesFactory.getTAI()),
+                                                       Constants.EIGEN5C_EARTH_MU));
+
+        SolarRadiationPressure forceModel =
+                new SolarRadiationPressure(CelestialBodyFactory.getSun(), Constants.WGS84_EARTH_EQUATORIAL_RADIUS,
+                               new BoxAndSolarArraySpacecraft(1.5, 2.0, 1.8, CelestialBodyFactory.getSun(), 20.0,
+                                                             Vector3D.PLUS_J, 1.2, 0.7, 0.2));
+
+        checkGradient(state, forceModel, 1.0e-15);
+
+    }
+
     @Test
     public void testParameterDerivativeBox() throws OrekitException {
 
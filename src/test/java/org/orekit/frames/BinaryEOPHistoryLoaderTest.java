@@ -0,0 +1,153 @@
+/* Copyright 2002-2016 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.frames;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.orekit.Utils;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.Constants;
+import org.orekit.utils.IERSConventions;
+
+
+public class BinaryEOPHistoryLoaderTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void testRoundTrip() throws OrekitException, IOException {
+
+        final EOPHistory original = FramesFactory.getEOPHistory(IERSConventions.IERS_2010, true);
+        final File file = tempFolder.newFile("eop-2010.bin");
+        BinaryEOPHistoryLoader.write(original, file);
+
+        final BinaryEOPHistoryLoader loader = new BinaryEOPHistoryLoader(file);
+        Assert.assertEquals(IERSConventions.IERS_2010, loader.getConventions());
+        Assert.assertEquals(original.getEntries().size(), loader.getSize());
+
+        // replace text-based loaders by the compiled one
+        FramesFactory.clearEOPHistoryLoaders();
+        FramesFactory.addEOPHistoryLoader(loader.getConventions(), loader);
+        final EOPHistory compiled = FramesFactory.getEOPHistory(IERSConventions.IERS_2010, true);
+
+        Assert.assertEquals(0.0, original.getStartDate().durationFrom(compiled.getStartDate()), 1.0e-15);
+        Assert.assertEquals(0.0, original.getEndDate().durationFrom(compiled.getEndDate()),     1.0e-15);
+        for (AbsoluteDate date = original.getStartDate();
+             date.compareTo(original.getEndDate()) < 0;
+             date = date.shiftedBy(0.3 * Constants.JULIAN_DAY)) {
+            Assert.assertEquals(original.getUT1MinusUTC(date), compiled.getUT1MinusUTC(date), 1.0e-15);
+            Assert.assertEquals(original.getLOD(date), compiled.getLOD(date), 1.0e-15);
+            Assert.assertEquals(original.getPoleCorrection(date).getXp(),
+                                compiled.getPoleCorrection(date).getXp(),
+                                1.0e-15);
+            Assert.assertEquals(original.getPoleCorrection(date).getYp(),
+                                compiled.getPoleCorrection(date).getYp(),
+                                1.0e-15);
+            final double[] originalNRO = original.getNonRotatinOriginNutationCorrection(date);
+            final double[] compiledNRO = compiled.getNonRotatinOriginNutationCorrection(date);
+            Assert.assertEquals(originalNRO[0], compiledNRO[0], 1.0e-15);
+            Assert.assertEquals(originalNRO[1], compiledNRO[1], 1.0e-15);
+        }
+
+        AbsoluteDate date = new AbsoluteDate(2004, 1, 4, TimeScalesFactory.getUTC());
+        Assert.assertEquals(-0.3906070, compiled.getUT1MinusUTC(date), 1.0e-10);
+
+    }
+
+    @Test
+    public void testMissingFile() {
+        try {
+            new BinaryEOPHistoryLoader(new File(tempFolder.getRoot(), "missing.bin"));
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.UNABLE_TO_FIND_FILE, oe.getSpecifier());
+        }
+    }
+
+    @Test
+    public void testNotCompiledFile() throws IOException {
+        final File file = tempFolder.newFile("not-compiled.bin");
+        try (FileOutputStream out = new FileOutputStream(file)) {
+            out.write("  2004  1  4  53008 -0.390607".getBytes("US-ASCII"));
+        }
+        try {
+            new BinaryEOPHistoryLoader(file);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.NOT_A_SUPPORTED_IERS_DATA_FILE, oe.getSpecifier());
+        }
+    }
+
+    @Test
+    public void testConventionsCode() throws OrekitException, IOException {
+        final File file = tempFolder.newFile("eop-2003.bin");
+        BinaryEOPHistoryLoader.write(FramesFactory.getEOPHistory(IERSConventions.IERS_2003, true), file);
+        try (DataInputStream in = new DataInputStream(new FileInputStream(file))) {
+            in.readInt();
+            in.readInt();
+            Assert.assertEquals(2003, in.readInt());
+        }
+        Assert.assertEquals(IERSConventions.IERS_2003, new BinaryEOPHistoryLoader(file).getConventions());
+    }
+
+    @Test
+    public void testUnknownConventionsCode() throws IOException {
+        checkRejected(IERSConventions.IERS_2010.ordinal(), 0);
+    }
+
+    @Test
+    public void testSizeOverflow() throws IOException {
+        // 72 × 2²⁹ overflows to 0 in int arithmetic, which would match the header-only file
+        checkRejected(2010, 1 << 29);
+    }
+
+    private void checkRejected(final int code, final int size) throws IOException {
+        final File file = tempFolder.newFile("forged.bin");
+        try (DataOutputStream out = new DataOutputStream(new FileOutputStream(file))) {
+            out.writeInt(0x4f454f50);
+            out.writeInt(1);
+            out.writeInt(code);
+            out.writeInt(size);
+        }
+        try {
+            new BinaryEOPHistoryLoader(file);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.NOT_A_SUPPORTED_IERS_DATA_FILE, oe.getSpecifier());
+        }
+    }
+
+    @Before
+    public void setUp() {
+        Utils.setDataRoot("regular-data");
+    }
+
+}
@@ -23,6 +23,7 @@ import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.util.ArrayList;
+import java.util.List;
 
 import org.hipparchus.util.FastMath;
 import org.junit.Assert;
@@ -160,6 +161,31 @@ public class CIRFProviderTest {
 
     }
 
+    @Test
+    public void testBulkTransforms() throws OrekitException {
+        EOPHistory eopHistory = FramesFactory.getEOPHistory(IERSConventions.IERS_2010, true);
+        checkBulk(new CIRFProvider(eopHistory));
+        checkBulk(new CIRFProvider(FramesFactory.getEOPHistory(IERSConventions.IERS_2003, true)));
+    }
+
+    private void checkBulk(final TransformProvider provider) throws OrekitException {
+        AbsoluteDate t0 = new AbsoluteDate(2005, 3, 7, 13, 0, 0.0, TimeScalesFactory.getUTC());
+        List<AbsoluteDate> dates = new ArrayList<AbsoluteDate>();
+        for (int i = 0; i < 48; ++i) {
+            dates.add(t0.shiftedBy(i * 3600.0));
+        }
+        List<Transform> bulk = provider.getTransforms(dates);
+        Assert.assertEquals(dates.size(), bulk.size());
+        for (int i = 0; i < dates.size(); ++i) {
+            Transform single = provider.getTransform(dates.get(i));
+            Assert.assertEquals(0.0, bulk.get(i).getDate().durationFrom(dates.get(i)), 0.0);
+            Assert.assertEquals(single.getRotation().getQ0(), bulk.get(i).getRotation().getQ0(), 0.0);
+            Assert.assertEquals(single.getRotation().getQ1(), bulk.get(i).getRotation().getQ1(), 0.0);
+            Assert.assertEquals(single.getRotation().getQ2(), bulk.get(i).getRotation().getQ2(), 0.0);
+            Assert.assertEquals(single.getRotation().getQ3(), bulk.get(i).getRotation().getQ3(), 0.0);
+        }
+    }
+
     @Test
     public void testSerialization() throws OrekitException, IOException, ClassNotFoundException {
         CIRFProvider provider = new CIRFProvider(FramesFactory.getEOPHistory(IERSConventions.IERS_2010, true));
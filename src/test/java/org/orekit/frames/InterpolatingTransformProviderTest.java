@@ -34,6 +34,7 @@ import org.orekit.errors.OrekitMessages;
 import org.orekit.time.AbsoluteDate;
 import org.orekit.utils.AngularDerivativesFilter;
 import org.orekit.utils.CartesianDerivativesFilter;
+import org.orekit.utils.OrekitConfiguration;
 
 
 public class InterpolatingTransformProviderTest {
@@ -95,6 +96,41 @@ public class InterpolatingTransformProviderTest {
 
     }
 
+    @Test
+    public void testCacheHitLockFree() throws OrekitException {
+
+        AbsoluteDate t0 = AbsoluteDate.GALILEO_EPOCH;
+        CirclingProvider referenceProvider = new CirclingProvider(t0, 0.2);
+        CirclingProvider rawProvider = new CirclingProvider(t0, 0.2);
+        InterpolatingTransformProvider interpolatingProvider;
+        try {
+            OrekitConfiguration.setLockFreeCaches(true);
+            interpolatingProvider =
+                    new InterpolatingTransformProvider(rawProvider,
+                                                       CartesianDerivativesFilter.USE_PVA,
+                                                       AngularDerivativesFilter.USE_RR,
+                                                       AbsoluteDate.PAST_INFINITY, AbsoluteDate.FUTURE_INFINITY,
+                                                       5, 0.8, 10, 60.0, 60.0);
+        } finally {
+            OrekitConfiguration.setLockFreeCaches(false);
+        }
+
+        for (double dt = 0.1; dt <= 3.1; dt += 0.001) {
+            Transform reference = referenceProvider.getTransform(t0.shiftedBy(dt));
+            Transform interpolated = interpolatingProvider.getTransform(t0.shiftedBy(dt));
+            Transform error = new Transform(reference.getDate(), reference, interpolated.getInverse());
+            Assert.assertEquals(0.0, error.getCartesian().getPosition().getNorm(),           7.0e-15);
+            Assert.assertEquals(0.0, error.getCartesian().getVelocity().getNorm(),           3.0e-14);
+            Assert.assertEquals(0.0, error.getAngular().getRotation().getAngle(),            1.3e-15);
+            Assert.assertEquals(0.0, error.getAngular().getRotationRate().getNorm(),         2.2e-15);
+            Assert.assertEquals(0.0, error.getAngular().getRotationAcceleration().getNorm(), 1.2e-14);
+
+        }
+        Assert.assertEquals(10,   rawProvider.getCount());
+        Assert.assertEquals(3001, referenceProvider.getCount());
+
+    }
+
     @Test(expected=OrekitException.class)
     public void testForwardException() throws OrekitException {
         InterpolatingTransformProvider interpolatingProvider =
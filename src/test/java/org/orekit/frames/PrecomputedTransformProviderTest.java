@@ -0,0 +1,154 @@
+/* Copyright 2002-2016 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.frames;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import org.hipparchus.geometry.euclidean.threed.Rotation;
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.orekit.Utils;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.Constants;
+import org.orekit.utils.IERSConventions;
+
+
+public class PrecomputedTransformProviderTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void testITRF() throws OrekitException, IOException {
+
+        final Frame gcrf = FramesFactory.getGCRF();
+        final Frame itrf = FramesFactory.getITRF(IERSConventions.IERS_2010, false);
+        final AbsoluteDate start = new AbsoluteDate(2003, 3, 1, TimeScalesFactory.getUTC());
+        final AbsoluteDate end   = start.shiftedBy(Constants.JULIAN_DAY);
+        final File file = tempFolder.newFile("itrf.bin");
+        PrecomputedTransformProvider.write(gcrf, itrf, start, end, 60.0, 6, file);
+
+        final PrecomputedTransformProvider provider = new PrecomputedTransformProvider(file);
+        Assert.assertEquals(60.0, provider.getStep(), 1.0e-15);
+        Assert.assertEquals(6, provider.getInterpolationPoints());
+        Assert.assertTrue(provider.getMinDate().compareTo(start) < 0);
+        Assert.assertTrue(provider.getMaxDate().compareTo(end) > 0);
+
+        final Frame precomputed = new Frame(gcrf, provider, "precomputed ITRF");
+        for (double dt = 0; dt < Constants.JULIAN_DAY; dt += 17.0) {
+            final AbsoluteDate date = start.shiftedBy(dt);
+            final Transform reference = gcrf.getTransformTo(itrf, date);
+            final Transform t         = gcrf.getTransformTo(precomputed, date);
+            Assert.assertEquals(0.0, Rotation.distance(reference.getRotation(), t.getRotation()), 5.0e-12);
+            Assert.assertEquals(0.0,
+                                Vector3D.distance(reference.getRotationRate(), t.getRotationRate()),
+                                1.0e-12);
+        }
+
+    }
+
+    @Test
+    public void testOutOfRange() throws OrekitException, IOException {
+        final AbsoluteDate start = new AbsoluteDate(2003, 3, 1, TimeScalesFactory.getUTC());
+        final File file = tempFolder.newFile("short.bin");
+        PrecomputedTransformProvider.write(FramesFactory.getGCRF(),
+                                           FramesFactory.getITRF(IERSConventions.IERS_2010, true),
+                                           start, start.shiftedBy(600.0), 60.0, 4, file);
+        final PrecomputedTransformProvider provider = new PrecomputedTransformProvider(file);
+        try {
+            provider.getTransform(provider.getMaxDate().shiftedBy(1.0));
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.OUT_OF_RANGE_EPHEMERIDES_DATE, oe.getSpecifier());
+        }
+    }
+
+    @Test
+    public void testNotCompiledFile() throws IOException {
+        final File file = tempFolder.newFile("empty.bin");
+        try {
+            new PrecomputedTransformProvider(file);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.NOT_A_PRECOMPUTED_TRANSFORMS_FILE, oe.getSpecifier());
+        }
+    }
+
+    @Test
+    public void testSizeOverflow() throws IOException {
+        // 104 × 2²⁹ overflows to 0 in int arithmetic, which would match the header-only file
+        final File file = tempFolder.newFile("forged.bin");
+        try (DataOutputStream out = new DataOutputStream(new FileOutputStream(file))) {
+            out.writeInt(0x4f545246);
+            out.writeInt(1);
+            out.writeInt(1 << 29);
+            out.writeInt(4);
+            out.writeDouble(0.0);
+            out.writeDouble(60.0);
+        }
+        try {
+            new PrecomputedTransformProvider(file);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.NOT_A_PRECOMPUTED_TRANSFORMS_FILE, oe.getSpecifier());
+        }
+    }
+
+    @Test
+    public void testSerialization() throws OrekitException, IOException, ClassNotFoundException {
+        final AbsoluteDate start = new AbsoluteDate(2003, 3, 1, TimeScalesFactory.getUTC());
+        final File file = tempFolder.newFile("serialized.bin");
+        PrecomputedTransformProvider.write(FramesFactory.getGCRF(),
+                                           FramesFactory.getITRF(IERSConventions.IERS_2010, true),
+                                           start, start.shiftedBy(3600.0), 60.0, 4, file);
+        final PrecomputedTransformProvider provider = new PrecomputedTransformProvider(file);
+
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        ObjectOutputStream    oos = new ObjectOutputStream(bos);
+        oos.writeObject(provider);
+        Assert.assertTrue(bos.size() < 1000);
+
+        ByteArrayInputStream bis = new ByteArrayInputStream(bos.toByteArray());
+        ObjectInputStream    ois = new ObjectInputStream(bis);
+        PrecomputedTransformProvider deserialized = (PrecomputedTransformProvider) ois.readObject();
+        final AbsoluteDate date = start.shiftedBy(1234.5);
+        Assert.assertEquals(0.0,
+                            Rotation.distance(provider.getTransform(date).getRotation(),
+                                              deserialized.getTransform(date).getRotation()),
+                            1.0e-20);
+    }
+
+    @Before
+    public void setUp() {
+        Utils.setDataRoot("regular-data");
+    }
+
+}
@@ -23,6 +23,8 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.hipparchus.geometry.euclidean.threed.Rotation;
 import org.hipparchus.geometry.euclidean.threed.RotationConvention;
@@ -378,6 +380,32 @@ public class TODProviderTest {
 
     }
 
+    @Test
+    public void testBulkTransforms() throws OrekitException {
+        checkBulk(new TODProvider(IERSConventions.IERS_1996, null));
+        for (final IERSConventions conventions : IERSConventions.values()) {
+            checkBulk(new TODProvider(conventions, FramesFactory.getEOPHistory(conventions, true)));
+        }
+    }
+
+    private void checkBulk(final TransformProvider provider) throws OrekitException {
+        AbsoluteDate t0 = new AbsoluteDate(2005, 3, 7, 13, 0, 0.0, TimeScalesFactory.getUTC());
+        List<AbsoluteDate> dates = new ArrayList<AbsoluteDate>();
+        for (int i = 0; i < 48; ++i) {
+            dates.add(t0.shiftedBy(i * 3600.0));
+        }
+        List<Transform> bulk = provider.getTransforms(dates);
+        Assert.assertEquals(dates.size(), bulk.size());
+        for (int i = 0; i < dates.size(); ++i) {
+            Transform single = provider.getTransform(dates.get(i));
+            Assert.assertEquals(0.0, bulk.get(i).getDate().durationFrom(dates.get(i)), 0.0);
+            Assert.assertEquals(single.getRotation().getQ0(), bulk.get(i).getRotation().getQ0(), 0.0);
+            Assert.assertEquals(single.getRotation().getQ1(), bulk.get(i).getRotation().getQ1(), 0.0);
+            Assert.assertEquals(single.getRotation().getQ2(), bulk.get(i).getRotation().getQ2(), 0.0);
+            Assert.assertEquals(single.getRotation().getQ3(), bulk.get(i).getRotation().getQ3(), 0.0);
+        }
+    }
+
     @Test
     public void testSerialization() throws OrekitException, IOException, ClassNotFoundException {
         TODProvider provider = new TODProvider(IERSConventions.IERS_2010,
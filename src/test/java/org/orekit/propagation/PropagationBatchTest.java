@@ -0,0 +1,192 @@
+/* Copyright 2002-2016 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.hipparchus.exception.DummyLocalizable;
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.util.FastMath;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.orekit.Utils;
+import org.orekit.errors.OrekitException;
+import org.orekit.frames.FramesFactory;
+import org.orekit.orbits.KeplerianOrbit;
+import org.orekit.orbits.PositionAngle;
+import org.orekit.propagation.analytical.KeplerianPropagator;
+import org.orekit.propagation.analytical.tle.TLE;
+import org.orekit.propagation.analytical.tle.TLEPropagator;
+import org.orekit.propagation.sampling.BatchFixedStepHandler;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.Constants;
+
+public class PropagationBatchTest {
+
+    @Test
+    public void testEmptyBatch() {
+        final PropagationBatch batch = new PropagationBatch();
+        Assert.assertEquals(0, batch.getPropagatorsNumber());
+        Assert.assertTrue(batch.propagate().isEmpty());
+    }
+
+    @Test
+    public void testSameAsSequential() throws OrekitException {
+
+        final int n = 24;
+        final AbsoluteDate target = tle.getDate().shiftedBy(Constants.JULIAN_DAY);
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            final PropagationBatch batch = new PropagationBatch(pool);
+            for (int i = 0; i < n; ++i) {
+                Assert.assertEquals(i, batch.addPropagator(createPropagator(i), target));
+            }
+            Assert.assertEquals(n, batch.getPropagatorsNumber());
+
+            final List<List<SpacecraftState>> samples = new ArrayList<List<SpacecraftState>>();
+            for (int i = 0; i < n; ++i) {
+                samples.add(new ArrayList<SpacecraftState>());
+            }
+            batch.setStepHandler(600.0, new BatchFixedStepHandler() {
+                @Override
+                public void init(int index, SpacecraftState s0, AbsoluteDate t, double step) {
+                    Assert.assertEquals(600.0, step, 1.0e-15);
+                    Assert.assertEquals(0.0, t.durationFrom(target), 1.0e-15);
+                    samples.get(index).clear();
+                }
+                @Override
+                public void handleStep(int index, SpacecraftState currentState, boolean isLast) {
+                    samples.get(index).add(currentState);
+                }
+            });
+
+            final List<PropagationBatch.Result> results = batch.propagate();
+            Assert.assertEquals(n, results.size());
+            for (int i = 0; i < n; ++i) {
+
+                final PropagationBatch.Result result = results.get(i);
+                Assert.assertEquals(i, result.getIndex());
+                Assert.assertSame(batch.getPropagator(i), result.getPropagator());
+                Assert.assertTrue(result.isSuccessful());
+                Assert.assertNull(result.getFailure());
+                Assert.assertEquals(Propagator.MASTER_MODE, result.getPropagator().getMode());
+
+                // reference sequential propagation
+                final Propagator reference = createPropagator(i);
+                final SpacecraftState finalState = reference.propagate(target);
+                Assert.assertEquals(0.0,
+                                    Vector3D.distance(finalState.getPVCoordinates().getPosition(),
+                                                      result.getFinalState().getPVCoordinates().getPosition()),
+                                    1.0e-15);
+
+                Assert.assertEquals(145, samples.get(i).size());
+                for (final SpacecraftState sample : samples.get(i)) {
+                    final SpacecraftState expected = createPropagator(i).propagate(sample.getDate());
+                    Assert.assertEquals(0.0,
+                                        Vector3D.distance(expected.getPVCoordinates().getPosition(),
+                                                          sample.getPVCoordinates().getPosition()),
+                                        1.0e-8);
+                }
+
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+    }
+
+    @Test
+    public void testFailureDoesNotAbortBatch() throws OrekitException {
+
+        final int n = 10;
+        final AbsoluteDate target = tle.getDate().shiftedBy(3600.0);
+        final PropagationBatch batch = new PropagationBatch();
+        for (int i = 0; i < n; ++i) {
+            batch.addPropagator(createPropagator(i), target);
+        }
+        batch.setStepHandler(60.0, (index, currentState, isLast) -> {
+            if (index == 3 && currentState.getDate().durationFrom(tle.getDate()) > 1800.0) {
+                throw new OrekitException(new DummyLocalizable("boom"));
+            } else if (index == 7) {
+                throw new IllegalStateException("bang");
+            }
+        });
+
+        final List<PropagationBatch.Result> results = batch.propagate();
+        for (int i = 0; i < n; ++i) {
+            final PropagationBatch.Result result = results.get(i);
+            if (i == 3) {
+                Assert.assertFalse(result.isSuccessful());
+                Assert.assertNull(result.getFinalState());
+                Assert.assertTrue(result.getFailure() instanceof OrekitException);
+                Assert.assertEquals("boom", result.getFailure().getMessage());
+            } else if (i == 7) {
+                Assert.assertFalse(result.isSuccessful());
+                Assert.assertNull(result.getFinalState());
+                Assert.assertTrue(result.getFailure() instanceof IllegalStateException);
+                Assert.assertEquals("bang", result.getFailure().getMessage());
+            } else {
+                Assert.assertTrue(result.isSuccessful());
+                Assert.assertEquals(0.0, result.getFinalState().getDate().durationFrom(target), 1.0e-15);
+            }
+        }
+
+    }
+
+    @Test
+    public void testStartDateSlaveMode() throws OrekitException {
+
+        final AbsoluteDate start  = tle.getDate().shiftedBy(600.0);
+        final AbsoluteDate target = tle.getDate().shiftedBy(1200.0);
+        final PropagationBatch batch = new PropagationBatch();
+        batch.addPropagator(createPropagator(0), start, target);
+        batch.addPropagator(createPropagator(1), start, target);
+        final List<PropagationBatch.Result> results = batch.propagate();
+        for (final PropagationBatch.Result result : results) {
+            Assert.assertTrue(result.isSuccessful());
+            Assert.assertEquals(Propagator.SLAVE_MODE, result.getPropagator().getMode());
+            Assert.assertEquals(0.0, result.getFinalState().getDate().durationFrom(target), 1.0e-15);
+        }
+
+    }
+
+    private Propagator createPropagator(final int i) throws OrekitException {
+        if (i % 2 == 0) {
+            return TLEPropagator.selectExtrapolator(tle);
+        } else {
+            final KeplerianOrbit orbit =
+                            new KeplerianOrbit(7.0e6 + i * 1.0e4, 0.01, FastMath.toRadians(50.0 + i),
+                                               0.1 * i, 0.2, 0.3 * i, PositionAngle.MEAN,
+                                               FramesFactory.getEME2000(), tle.getDate(),
+                                               Constants.EIGEN5C_EARTH_MU);
+            return new KeplerianPropagator(orbit);
+        }
+    }
+
+    @Before
+    public void setUp() throws OrekitException {
+        Utils.setDataRoot("regular-data");
+        tle = new TLE("1 37753U 11036A   12090.13205652 -.00000006  00000-0  00000+0 0  2272",
+                      "2 37753  55.0032 176.5796 0004733  13.2285 346.8266  2.00565440  5153");
+    }
+
+    private TLE tle;
+
+}
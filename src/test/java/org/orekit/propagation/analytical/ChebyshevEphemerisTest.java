@@ -0,0 +1,272 @@
+/* Copyright 2002-2016 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.analytical;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.util.FastMath;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.orekit.Utils;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.frames.Frame;
+import org.orekit.frames.FramesFactory;
+import org.orekit.orbits.KeplerianOrbit;
+import org.orekit.orbits.Orbit;
+import org.orekit.orbits.PositionAngle;
+import org.orekit.propagation.SpacecraftState;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.Constants;
+import org.orekit.utils.IERSConventions;
+import org.orekit.utils.PVCoordinates;
+import org.orekit.utils.TimeStampedPVCoordinates;
+
+public class ChebyshevEphemerisTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testCircularOrbit() throws OrekitException {
+        doTestAccuracy(new KeplerianOrbit(7.0e6, 0.001, 1.7, 0.3, 0.5, 0.2, PositionAngle.MEAN,
+                                          eme2000, date, Constants.EIGEN5C_EARTH_MU),
+                       12, 1.0e-3, 50, 1.0e-5, 2.0e-8);
+    }
+
+    @Test
+    public void testEccentricOrbit() throws OrekitException {
+        // segments are shorter near perigee
+        doTestAccuracy(new KeplerianOrbit(2.4e7, 0.72, 0.1, 0.3, 0.5, 0.2, PositionAngle.MEAN,
+                                          eme2000, date, Constants.EIGEN5C_EARTH_MU),
+                       12, 1.0e-3, 40, 5.0e-4, 6.0e-5);
+    }
+
+    private void doTestAccuracy(final Orbit orbit, final int degree, final double tolerance,
+                                final int maxSegments, final double tolV, final double tolA)
+        throws OrekitException {
+
+        final KeplerianPropagator reference = new KeplerianPropagator(orbit);
+        final AbsoluteDate end = date.shiftedBy(Constants.JULIAN_DAY);
+        final ChebyshevEphemeris ephemeris =
+                        ChebyshevEphemeris.fit(reference, eme2000, orbit.getMu(), date, end,
+                                               degree, 3600.0, tolerance);
+        Assert.assertEquals(degree, ephemeris.getDegree());
+        Assert.assertEquals(orbit.getMu(), ephemeris.getMu(), 0.0);
+        Assert.assertSame(eme2000, ephemeris.getFrame());
+        Assert.assertEquals(0.0, ephemeris.getMinDate().durationFrom(date), 0.0);
+        Assert.assertEquals(0.0, ephemeris.getMaxDate().durationFrom(end),  1.0e-10);
+        Assert.assertTrue(ephemeris.getFittingError() <= tolerance);
+        Assert.assertTrue("segments = " + ephemeris.getNumberOfSegments(), ephemeris.getNumberOfSegments() <= maxSegments);
+
+        double maxP = 0;
+        double maxV = 0;
+        double maxA = 0;
+        final double[] pva = new double[9];
+        for (double dt = 0; dt <= Constants.JULIAN_DAY; dt += 7.25) {
+            final AbsoluteDate t = date.shiftedBy(dt);
+            final PVCoordinates pv = reference.getPVCoordinates(t, eme2000);
+            ephemeris.getPositionVelocityAcceleration(t, pva);
+            maxP = FastMath.max(maxP, Vector3D.distance(pv.getPosition(),     new Vector3D(pva[0], pva[1], pva[2])));
+            maxV = FastMath.max(maxV, Vector3D.distance(pv.getVelocity(),     new Vector3D(pva[3], pva[4], pva[5])));
+            maxA = FastMath.max(maxA, Vector3D.distance(pv.getAcceleration(), new Vector3D(pva[6], pva[7], pva[8])));
+        }
+        Assert.assertEquals(0.0, maxP, 1.5 * tolerance);
+        Assert.assertEquals(0.0, maxV, tolV);
+        Assert.assertEquals(0.0, maxA, tolA);
+
+    }
+
+    @Test
+    public void testPropagate() throws OrekitException {
+        final Orbit orbit = new KeplerianOrbit(7.0e6, 0.001, 1.7, 0.3, 0.5, 0.2, PositionAngle.MEAN,
+                                               eme2000, date, Constants.EIGEN5C_EARTH_MU);
+        final KeplerianPropagator reference = new KeplerianPropagator(orbit);
+        final ChebyshevEphemeris ephemeris =
+                        ChebyshevEphemeris.fit(reference, eme2000, orbit.getMu(),
+                                               date, date.shiftedBy(7200.0), 12, 600.0, 1.0e-3);
+
+        final SpacecraftState initial = ephemeris.getInitialState();
+        Assert.assertEquals(0.0, initial.getDate().durationFrom(date), 0.0);
+        Assert.assertEquals(ChebyshevEphemeris.DEFAULT_MASS, initial.getMass(), 0.0);
+
+        final AbsoluteDate t = date.shiftedBy(4321.0);
+        final SpacecraftState state = ephemeris.propagate(t);
+        Assert.assertEquals(0.0, state.getDate().durationFrom(t), 0.0);
+        Assert.assertEquals(orbit.getA(), state.getA(), 1.0e-3);
+        Assert.assertEquals(0.0,
+                            Vector3D.distance(reference.propagate(t).getPVCoordinates().getPosition(),
+                                              state.getPVCoordinates().getPosition()),
+                            1.0e-3);
+
+        final Frame itrf = FramesFactory.getITRF(IERSConventions.IERS_2010, true);
+        final TimeStampedPVCoordinates pvItrf = ephemeris.getPVCoordinates(t, itrf);
+        Assert.assertEquals(0.0,
+                            Vector3D.distance(reference.getPVCoordinates(t, itrf).getPosition(),
+                                              pvItrf.getPosition()),
+                            1.0e-3);
+
+        try {
+            ephemeris.resetInitialState(state);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.NON_RESETABLE_STATE, oe.getSpecifier());
+        }
+
+    }
+
+    @Test
+    public void testWriteRead() throws OrekitException, IOException {
+
+        final Orbit orbit = new KeplerianOrbit(2.4e7, 0.72, 0.1, 0.3, 0.5, 0.2, PositionAngle.MEAN,
+                                               eme2000, date.shiftedBy(0.123456789), Constants.EIGEN5C_EARTH_MU);
+        final ChebyshevEphemeris fitted =
+                        ChebyshevEphemeris.fit(new KeplerianPropagator(orbit), eme2000, orbit.getMu(),
+                                               orbit.getDate(), orbit.getDate().shiftedBy(Constants.JULIAN_DAY),
+                                               10, 3600.0, 1.0e-2);
+        final File file = temporaryFolder.newFile("chebyshev.bin");
+        fitted.write(file);
+        Assert.assertEquals(48 + 8 * (fitted.getNumberOfSegments() + 1) +
+                            24 * fitted.getNumberOfSegments() * (fitted.getDegree() + 1),
+                            file.length());
+
+        final ChebyshevEphemeris mapped = new ChebyshevEphemeris(file, eme2000);
+        Assert.assertEquals(fitted.getDegree(),            mapped.getDegree());
+        Assert.assertEquals(fitted.getNumberOfSegments(),  mapped.getNumberOfSegments());
+        Assert.assertEquals(fitted.getMu(),                mapped.getMu(),           0.0);
+        Assert.assertEquals(fitted.getFittingError(),      mapped.getFittingError(), 0.0);
+        Assert.assertEquals(0.0, mapped.getMinDate().durationFrom(fitted.getMinDate()), 0.0);
+        Assert.assertEquals(0.0, mapped.getMaxDate().durationFrom(fitted.getMaxDate()), 0.0);
+
+        final double[] pvaFitted = new double[9];
+        final double[] pvaMapped = new double[9];
+        for (double dt = 0; dt <= Constants.JULIAN_DAY; dt += 13.0) {
+            final AbsoluteDate t = orbit.getDate().shiftedBy(dt);
+            fitted.getPositionVelocityAcceleration(t, pvaFitted);
+            mapped.getPositionVelocityAcceleration(t, pvaMapped);
+            for (int i = 0; i < pvaFitted.length; ++i) {
+                Assert.assertEquals(pvaFitted[i], pvaMapped[i], 0.0);
+            }
+        }
+
+    }
+
+    @Test
+    public void testOutOfRange() throws OrekitException {
+        final Orbit orbit = new KeplerianOrbit(7.0e6, 0.001, 1.7, 0.3, 0.5, 0.2, PositionAngle.MEAN,
+                                               eme2000, date, Constants.EIGEN5C_EARTH_MU);
+        final ChebyshevEphemeris ephemeris =
+                        ChebyshevEphemeris.fit(new KeplerianPropagator(orbit), eme2000, orbit.getMu(),
+                                               date, date.shiftedBy(600.0), 12, 600.0, 1.0e-3);
+        ephemeris.propagate(date.shiftedBy(600.0));
+        try {
+            ephemeris.propagate(date.shiftedBy(600.002));
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.OUT_OF_RANGE_EPHEMERIDES_DATE, oe.getSpecifier());
+        }
+    }
+
+    @Test
+    public void testUnreachableTolerance() throws OrekitException {
+        final Orbit orbit = new KeplerianOrbit(7.0e6, 0.001, 1.7, 0.3, 0.5, 0.2, PositionAngle.MEAN,
+                                               eme2000, date, Constants.EIGEN5C_EARTH_MU);
+        try {
+            ChebyshevEphemeris.fit(new KeplerianPropagator(orbit), eme2000, orbit.getMu(),
+                                   date, date.shiftedBy(600.0), 4, 600.0, 1.0e-15);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(LocalizedCoreFormats.MAX_COUNT_EXCEEDED, oe.getSpecifier());
+        }
+    }
+
+    @Test
+    public void testWrongArguments() throws OrekitException {
+        final KeplerianPropagator reference =
+                        new KeplerianPropagator(new KeplerianOrbit(7.0e6, 0.001, 1.7, 0.3, 0.5, 0.2,
+                                                                   PositionAngle.MEAN, eme2000, date,
+                                                                   Constants.EIGEN5C_EARTH_MU));
+        checkWrongArgument(reference, 1, 600.0, 600.0, 1.0e-3, LocalizedCoreFormats.NUMBER_TOO_SMALL);
+        checkWrongArgument(reference, 8, 0.0, 600.0, 1.0e-3, LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED);
+        checkWrongArgument(reference, 8, 600.0, 0.0, 1.0e-3, LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED);
+        checkWrongArgument(reference, 8, 600.0, 600.0, 0.0, LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED);
+    }
+
+    private void checkWrongArgument(final KeplerianPropagator reference, final int degree,
+                                    final double span, final double maxDuration, final double tolerance,
+                                    final LocalizedCoreFormats expected)
+        throws OrekitException {
+        try {
+            ChebyshevEphemeris.fit(reference, eme2000, Constants.EIGEN5C_EARTH_MU,
+                                   date, date.shiftedBy(span), degree, maxDuration, tolerance);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(expected, oiae.getSpecifier());
+        }
+    }
+
+    @Test
+    public void testMissingFile() {
+        try {
+            new ChebyshevEphemeris(new File(temporaryFolder.getRoot(), "missing.bin"), eme2000);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.UNABLE_TO_FIND_FILE, oe.getSpecifier());
+        }
+    }
+
+    @Test
+    public void testNotAChebyshevFile() throws IOException {
+        File file = temporaryFolder.newFile("not-chebyshev.bin");
+        FileOutputStream out = new FileOutputStream(file);
+        out.write(new byte[] { 0x4f, 0x43, 0x48, 0x45, 0, 0, 0, 1, 0, 0 });
+        out.close();
+        try {
+            new ChebyshevEphemeris(file, eme2000);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.NOT_A_CHEBYSHEV_EPHEMERIS_FILE, oe.getSpecifier());
+        }
+    }
+
+    @Before
+    public void setUp() throws OrekitException {
+        Utils.setDataRoot("regular-data");
+        eme2000 = FramesFactory.getEME2000();
+        date    = new AbsoluteDate(2004, 1, 1, 23, 30, 00.000, TimeScalesFactory.getUTC());
+    }
+
+    @After
+    public void tearDown() {
+        eme2000 = null;
+        date    = null;
+    }
+
+    private Frame        eme2000;
+    private AbsoluteDate date;
+
+}
@@ -81,6 +81,7 @@ import org.orekit.propagation.events.handlers.ContinueOnEvent;
 import org.orekit.propagation.numerical.NumericalPropagator;
 import org.orekit.propagation.sampling.OrekitFixedStepHandler;
 import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScalesFactory;
 import org.orekit.utils.CartesianDerivativesFilter;
 import org.orekit.utils.IERSConventions;
 import org.orekit.utils.PVCoordinates;
@@ -996,6 +997,62 @@ public class EcksteinHechlerPropagatorTest {
                                                                  - ey * ey));
     }
 
+    @Test
+    public void testPropagatePV() throws OrekitException {
+
+        final AbsoluteDate initDate = new AbsoluteDate(2003, 5, 1, TimeScalesFactory.getUTC());
+        final Orbit initialOrbit = new CircularOrbit(7.2e6, 1.0e-3, -2.0e-3, FastMath.toRadians(98.2),
+                                                     0.6, 1.3, PositionAngle.MEAN,
+                                                     FramesFactory.getEME2000(), initDate, provider.getMu());
+        final EcksteinHechlerPropagator propagator = new EcksteinHechlerPropagator(initialOrbit, provider);
+        final AbsoluteDate start = initDate.shiftedBy(-7200.0);
+        final Frame itrf = FramesFactory.getITRF(IERSConventions.IERS_2010, true);
+        checkPropagatePV(propagator, start, 60.0, 1440, initialOrbit.getFrame(), 1.0e-6, 1.0e-9);
+        checkPropagatePV(propagator, start, 60.0, 1440, itrf,                    1.0e-6, 1.0e-9);
+
+        // maneuvers split the timeline in several models
+        propagator.addEventDetector(new ImpulseManeuver<DateDetector>(new DateDetector(initDate.shiftedBy(1000.0)),
+                                                                      new Vector3D(0.0, 5.0, 0.0), 300.0));
+        propagator.propagate(initDate.shiftedBy(2000.0));
+        propagator.clearEventsDetectors();
+        checkPropagatePV(propagator, initDate, 60.0, 40, initialOrbit.getFrame(), 1.0e-6, 1.0e-9);
+
+    }
+
+    @Test
+    public void testPropagatePVAllocations() throws OrekitException {
+
+        final AbsoluteDate initDate = new AbsoluteDate(2003, 5, 1, TimeScalesFactory.getUTC());
+        final Orbit initialOrbit = new CircularOrbit(7.2e6, 1.0e-3, -2.0e-3, FastMath.toRadians(98.2),
+                                                     0.6, 1.3, PositionAngle.MEAN,
+                                                     FramesFactory.getEME2000(), initDate, provider.getMu());
+        final EcksteinHechlerPropagator propagator = new EcksteinHechlerPropagator(initialOrbit, provider);
+        final int count = 10000;
+        final double[] positions  = new double[3 * count];
+        final double[] velocities = new double[3 * count];
+
+        // only the work array of the grid loop is allocated, regardless of the number of points
+        Utils.checkAllocations(() -> propagator.propagatePV(initDate, 60.0, count, initialOrbit.getFrame(), positions, velocities),
+                               1000);
+
+    }
+
+    private void checkPropagatePV(final EcksteinHechlerPropagator propagator,
+                                  final AbsoluteDate start, final double step, final int count,
+                                  final Frame frame, final double positionTolerance, final double velocityTolerance)
+        throws OrekitException {
+        final double[] positions  = new double[3 * count];
+        final double[] velocities = new double[3 * count];
+        propagator.propagatePV(start, step, count, frame, positions, velocities);
+        for (int k = 0; k < count; ++k) {
+            final PVCoordinates expected = propagator.propagate(start.shiftedBy(k * step)).getPVCoordinates(frame);
+            final Vector3D p = new Vector3D(positions[3 * k], positions[3 * k + 1], positions[3 * k + 2]);
+            final Vector3D v = new Vector3D(velocities[3 * k], velocities[3 * k + 1], velocities[3 * k + 2]);
+            Assert.assertEquals(0.0, Vector3D.distance(expected.getPosition(), p), positionTolerance);
+            Assert.assertEquals(0.0, Vector3D.distance(expected.getVelocity(), v), velocityTolerance);
+        }
+    }
+
     @Before
     public void setUp() {
         Utils.setDataRoot("regular-data");
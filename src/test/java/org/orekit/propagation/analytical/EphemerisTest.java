@@ -42,14 +42,18 @@ import org.orekit.frames.FramesFactory;
 import org.orekit.frames.LOFType;
 import org.orekit.orbits.KeplerianOrbit;
 import org.orekit.orbits.Orbit;
+import org.orekit.orbits.OrbitType;
 import org.orekit.orbits.PositionAngle;
 import org.orekit.propagation.AdditionalStateProvider;
 import org.orekit.propagation.Propagator;
 import org.orekit.propagation.SpacecraftState;
+import org.orekit.propagation.events.DateDetector;
+import org.orekit.propagation.events.handlers.EventHandler;
 import org.orekit.time.AbsoluteDate;
 import org.orekit.time.DateComponents;
 import org.orekit.time.TimeComponents;
 import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.IERSConventions;
 import org.orekit.utils.TimeStampedPVCoordinates;
 
 public class EphemerisTest {
@@ -153,6 +157,132 @@ public class EphemerisTest {
 
     }
 
+    @Test
+    public void testUniformGrid() throws OrekitException {
+        doTestUniformGrid(2, 6.0e-8, 1.0e-10, 3.0e-13);
+        doTestUniformGrid(5, 6.0e-8, 1.0e-10, 3.0e-13);
+        doTestUniformGrid(8, 6.0e-8, 5.0e-10, 6.0e-11);
+    }
+
+    private void doTestUniformGrid(final int interpolationPoints,
+                                   final double tolP, final double tolV, final double tolA)
+        throws OrekitException {
+
+        Ephemeris ephemeris = new Ephemeris(sample(60.0, OrbitType.CARTESIAN, -1), interpolationPoints);
+        final double[] pva = new double[9];
+        for (double dt = 0; dt <= finalDate.durationFrom(initDate); dt += 7.25) {
+            final AbsoluteDate date = initDate.shiftedBy(dt);
+
+            // reference uses general interpolation of spacecraft states
+            final TimeStampedPVCoordinates ref = ephemeris.propagate(date).getPVCoordinates();
+
+            ephemeris.getPositionVelocityAcceleration(date, pva);
+            Assert.assertEquals(0.0, Vector3D.distance(ref.getPosition(),     new Vector3D(pva[0], pva[1], pva[2])), tolP);
+            Assert.assertEquals(0.0, Vector3D.distance(ref.getVelocity(),     new Vector3D(pva[3], pva[4], pva[5])), tolV);
+            Assert.assertEquals(0.0, Vector3D.distance(ref.getAcceleration(), new Vector3D(pva[6], pva[7], pva[8])), tolA);
+
+            final TimeStampedPVCoordinates pv = ephemeris.getPVCoordinates(date, inertialFrame);
+            Assert.assertEquals(0.0, pv.getDate().durationFrom(date), 0.0);
+            Assert.assertEquals(0.0, Vector3D.distance(ref.getPosition(),     pv.getPosition()),     tolP);
+            Assert.assertEquals(0.0, Vector3D.distance(ref.getVelocity(),     pv.getVelocity()),     tolV);
+            Assert.assertEquals(0.0, Vector3D.distance(ref.getAcceleration(), pv.getAcceleration()), tolA);
+
+        }
+
+        final AbsoluteDate date = initDate.shiftedBy(3600.0);
+        final Frame itrf = FramesFactory.getITRF(IERSConventions.IERS_2010, true);
+        Assert.assertEquals(0.0,
+                            Vector3D.distance(ephemeris.propagate(date).getPVCoordinates(itrf).getPosition(),
+                                              ephemeris.getPVCoordinates(date, itrf).getPosition()),
+                            tolP);
+
+    }
+
+    @Test
+    public void testNonUniformGrid() throws OrekitException {
+        // one state missing
+        checkGeneralPath(new Ephemeris(sample(60.0, OrbitType.CARTESIAN, 17), 4));
+    }
+
+    @Test
+    public void testNonCartesianGrid() throws OrekitException {
+        // orbits interpolation depends on orbit type, so only Cartesian orbits use the fast path
+        checkGeneralPath(new Ephemeris(sample(60.0, OrbitType.KEPLERIAN, -1), 4));
+    }
+
+    private void checkGeneralPath(final Ephemeris ephemeris) throws OrekitException {
+        final double[] pva = new double[9];
+        for (double dt = 0; dt <= finalDate.durationFrom(initDate); dt += 7.25) {
+            final AbsoluteDate date = initDate.shiftedBy(dt);
+            final TimeStampedPVCoordinates ref = ephemeris.propagate(date).getPVCoordinates();
+            ephemeris.getPositionVelocityAcceleration(date, pva);
+            Assert.assertEquals(0.0, Vector3D.distance(ref.getPosition(),     new Vector3D(pva[0], pva[1], pva[2])), 0.0);
+            Assert.assertEquals(0.0, Vector3D.distance(ref.getVelocity(),     new Vector3D(pva[3], pva[4], pva[5])), 0.0);
+            Assert.assertEquals(0.0, Vector3D.distance(ref.getAcceleration(), new Vector3D(pva[6], pva[7], pva[8])), 0.0);
+        }
+    }
+
+    @Test
+    public void testUniformGridAllocations() throws OrekitException {
+
+        Ephemeris ephemeris = new Ephemeris(sample(60.0, OrbitType.CARTESIAN, -1), 8);
+        final List<AbsoluteDate> dates = new ArrayList<AbsoluteDate>();
+        for (double dt = 0; dt <= finalDate.durationFrom(initDate); dt += 7.25) {
+            dates.add(initDate.shiftedBy(dt));
+        }
+        final double[] pva = new double[9];
+
+        // Newton coefficients are computed in a per-thread buffer
+        Utils.checkAllocations(() -> {
+            for (final AbsoluteDate date : dates) {
+                ephemeris.getPositionVelocityAcceleration(date, pva);
+            }
+        }, 1000);
+
+    }
+
+    @Test
+    public void testUniformGridEvents() throws OrekitException {
+        Ephemeris ephemeris = new Ephemeris(sample(60.0, OrbitType.CARTESIAN, -1), 4);
+        final AbsoluteDate eventDate = initDate.shiftedBy(1800.0);
+        final List<AbsoluteDate> events = new ArrayList<AbsoluteDate>();
+        ephemeris.addEventDetector(new DateDetector(eventDate).
+                                   withHandler((s, detector, increasing) -> {
+                                       events.add(s.getDate());
+                                       return EventHandler.Action.CONTINUE;
+                                   }));
+
+        // the fast path is used only by getPositionVelocityAcceleration,
+        // getPVCoordinates still propagates and triggers events
+        ephemeris.getPVCoordinates(initDate.shiftedBy(3600.0), inertialFrame);
+        Assert.assertEquals(1, events.size());
+        Assert.assertEquals(0.0, events.get(0).durationFrom(eventDate), 1.0e-6);
+
+    }
+
+    @Test
+    public void testUniformGridOutOfRange() throws OrekitException {
+        Ephemeris ephemeris = new Ephemeris(sample(60.0, OrbitType.CARTESIAN, -1), 4);
+        try {
+            ephemeris.getPositionVelocityAcceleration(finalDate.shiftedBy(0.001), new double[9]);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.UNABLE_TO_GENERATE_NEW_DATA_AFTER, oe.getSpecifier());
+        }
+    }
+
+    private List<SpacecraftState> sample(final double step, final OrbitType type, final int skipped)
+        throws OrekitException {
+        final List<SpacecraftState> states = new ArrayList<SpacecraftState>();
+        for (int j = 0; j * step <= finalDate.durationFrom(initDate); ++j) {
+            if (j != skipped) {
+                final Orbit orbit = propagator.propagate(initDate.shiftedBy(j * step)).getOrbit();
+                states.add(new SpacecraftState(type.convertType(orbit)));
+            }
+        }
+        return states;
+    }
+
     @Test
     public void testNonResettableState() {
         try {
@@ -46,6 +46,7 @@ import org.orekit.bodies.BodyShape;
 import org.orekit.bodies.GeodeticPoint;
 import org.orekit.bodies.OneAxisEllipsoid;
 import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
 import org.orekit.forces.maneuvers.ImpulseManeuver;
 import org.orekit.frames.Frame;
 import org.orekit.frames.FramesFactory;
@@ -55,6 +56,7 @@ import org.orekit.orbits.CircularOrbit;
 import org.orekit.orbits.EquinoctialOrbit;
 import org.orekit.orbits.KeplerianOrbit;
 import org.orekit.orbits.Orbit;
+import org.orekit.orbits.OrbitType;
 import org.orekit.orbits.PositionAngle;
 import org.orekit.propagation.AdditionalStateProvider;
 import org.orekit.propagation.BoundedPropagator;
@@ -65,6 +67,8 @@ import org.orekit.propagation.events.AltitudeDetector;
 import org.orekit.propagation.events.ApsideDetector;
 import org.orekit.propagation.events.DateDetector;
 import org.orekit.propagation.events.ElevationDetector;
+import org.orekit.propagation.events.EventsLogger;
+import org.orekit.propagation.events.EventsLogger.LoggedEvent;
 import org.orekit.propagation.events.NodeDetector;
 import org.orekit.propagation.events.handlers.ContinueOnEvent;
 import org.orekit.propagation.sampling.OrekitFixedStepHandler;
@@ -850,6 +854,149 @@ public class KeplerianPropagatorTest {
         (1 + ex*FastMath.cos(Lv) + ey*FastMath.sin(Lv) + FastMath.sqrt(1 - ex*ex - ey*ey));
     }
 
+    @Test
+    public void testPropagatePV() throws OrekitException {
+
+        final AbsoluteDate initDate = new AbsoluteDate(2003, 5, 1, TimeScalesFactory.getUTC());
+        for (final OrbitType type : OrbitType.values()) {
+            final Orbit ic = type.convertType(new KeplerianOrbit(7.2e6, 0.05, 0.8, 0.5, 1.2, 0.3,
+                                                                 PositionAngle.TRUE, FramesFactory.getGCRF(),
+                                                                 initDate, mu));
+            final KeplerianPropagator propagator = new KeplerianPropagator(ic);
+            checkPropagatePV(propagator, initDate.shiftedBy(-3600.0), 60.0, 1440, FramesFactory.getGCRF(),  2.0e-8, 2.0e-11);
+            checkPropagatePV(propagator, initDate.shiftedBy(-3600.0), 60.0, 1440, FramesFactory.getEME2000(), 2.0e-8, 2.0e-11);
+        }
+
+    }
+
+    @Test
+    public void testPropagatePVAllocations() throws OrekitException {
+
+        final AbsoluteDate initDate = new AbsoluteDate(2003, 5, 1, TimeScalesFactory.getUTC());
+        final Orbit ic = new KeplerianOrbit(7.2e6, 0.05, 0.8, 0.5, 1.2, 0.3,
+                                            PositionAngle.TRUE, FramesFactory.getGCRF(),
+                                            initDate, mu);
+        final KeplerianPropagator propagator = new KeplerianPropagator(ic);
+        final int count = 10000;
+        final double[] positions  = new double[3 * count];
+        final double[] velocities = new double[3 * count];
+
+        // only the work array of the grid loop is allocated, regardless of the number of points
+        Utils.checkAllocations(() -> propagator.propagatePV(initDate, 60.0, count, ic.getFrame(), positions, velocities),
+                               1000);
+
+    }
+
+    @Test
+    public void testPropagatePVManeuvers() throws OrekitException {
+
+        final AbsoluteDate initDate = new AbsoluteDate(2003, 5, 1, TimeScalesFactory.getUTC());
+        final Orbit ic = new KeplerianOrbit(7.2e6, 0.05, 0.8, 0.5, 1.2, 0.3,
+                                            PositionAngle.TRUE, FramesFactory.getGCRF(),
+                                            initDate, mu);
+        final KeplerianPropagator propagator = new KeplerianPropagator(ic);
+        propagator.addEventDetector(new ImpulseManeuver<DateDetector>(new DateDetector(initDate.shiftedBy(1000.0)),
+                                                                      new Vector3D(10.0, 0.0, 0.0), 300.0));
+        propagator.addEventDetector(new ImpulseManeuver<DateDetector>(new DateDetector(initDate.shiftedBy(5000.0)),
+                                                                      new Vector3D(0.0, 20.0, 0.0), 300.0));
+        propagator.propagate(initDate.shiftedBy(6000.0));
+        propagator.clearEventsDetectors();
+        checkPropagatePV(propagator, initDate.shiftedBy(-30.0), 60.0, 120, FramesFactory.getGCRF(), 2.0e-8, 2.0e-11);
+
+    }
+
+    @Test
+    public void testPropagatePVBufferTooSmall() throws OrekitException {
+        final Orbit ic = new KeplerianOrbit(7.2e6, 0.05, 0.8, 0.5, 1.2, 0.3,
+                                            PositionAngle.TRUE, FramesFactory.getGCRF(),
+                                            AbsoluteDate.J2000_EPOCH, mu);
+        final KeplerianPropagator propagator = new KeplerianPropagator(ic);
+        try {
+            propagator.propagatePV(ic.getDate(), 60.0, 10, ic.getFrame(), new double[30], new double[29]);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(LocalizedCoreFormats.DIMENSIONS_MISMATCH, oiae.getSpecifier());
+            Assert.assertEquals(29, ((Integer) oiae.getParts()[0]).intValue());
+            Assert.assertEquals(30, ((Integer) oiae.getParts()[1]).intValue());
+        }
+    }
+
+    @Test
+    public void testSharedEventsSampling() throws OrekitException {
+        final KeplerianOrbit orbit =
+            new KeplerianOrbit(7.8e6, 0.032, 0.4, 0.1, 0.2, 0.3, PositionAngle.TRUE,
+                               FramesFactory.getEME2000(), AbsoluteDate.J2000_EPOCH, 3.986004415e14);
+        final OneAxisEllipsoid earthShape =
+            new OneAxisEllipsoid(6378136.460, 1 / 298.257222101, FramesFactory.getITRF(IERSConventions.IERS_2010, true));
+
+        final int[] independentCalls = new int[1];
+        final List<LoggedEvent> independent = propagateWithStations(orbit, earthShape, false, independentCalls);
+        final int[] sharedCalls = new int[1];
+        final List<LoggedEvent> shared = propagateWithStations(orbit, earthShape, true, sharedCalls);
+
+        Assert.assertEquals(73, independent.size());
+        Assert.assertEquals(independent.size(), shared.size());
+        for (int i = 0; i < independent.size(); ++i) {
+            Assert.assertEquals(independent.get(i).isIncreasing(), shared.get(i).isIncreasing());
+            Assert.assertEquals(0.0,
+                                shared.get(i).getState().getDate().durationFrom(independent.get(i).getState().getDate()),
+                                1.0e-6);
+        }
+
+        // all stations use the same grid, so states are computed far less often
+        Assert.assertTrue(sharedCalls[0] < independentCalls[0] / 4);
+
+    }
+
+    private List<LoggedEvent> propagateWithStations(final Orbit orbit, final OneAxisEllipsoid earthShape,
+                                                    final boolean sharedSampling, final int[] calls)
+        throws OrekitException {
+        final KeplerianPropagator propagator = new KeplerianPropagator(orbit);
+        propagator.setSharedEventsSampling(sharedSampling);
+        Assert.assertEquals(sharedSampling, propagator.isSharedEventsSampling());
+        propagator.addAdditionalStateProvider(new AdditionalStateProvider() {
+            public String getName() {
+                return "counter";
+            }
+            public double[] getAdditionalState(final SpacecraftState state) {
+                ++calls[0];
+                return new double[] { calls[0] };
+            }
+        });
+        final EventsLogger logger = new EventsLogger();
+        for (int i = 0; i < 6; ++i) {
+            final TopocentricFrame topo =
+                new TopocentricFrame(earthShape,
+                                     new GeodeticPoint(FastMath.toRadians(-50.0 + 20.0 * i),
+                                                       FastMath.toRadians(-120.0 + 45.0 * i),
+                                                       0.0),
+                                     "station-" + i);
+            propagator.addEventDetector(logger.monitorDetector(new ElevationDetector(60.0, 1.0e-7, topo).
+                                                               withConstantElevation(FastMath.toRadians(5.0)).
+                                                               withHandler(new ContinueOnEvent<ElevationDetector>())));
+        }
+        propagator.propagate(orbit.getDate().shiftedBy(Constants.JULIAN_DAY));
+        return logger.getLoggedEvents();
+    }
+
+    private void checkPropagatePV(final KeplerianPropagator propagator,
+                                  final AbsoluteDate start, final double step, final int count,
+                                  final Frame frame, final double positionTolerance, final double velocityTolerance)
+        throws OrekitException {
+        final double[] positions  = new double[3 * count];
+        final double[] velocities = new double[3 * count];
+        propagator.propagatePV(start, step, count, frame, positions, velocities);
+        for (int k = 0; k < count; ++k) {
+            final PVCoordinates expected = propagator.propagate(start.shiftedBy(k * step)).getPVCoordinates(frame);
+            final Vector3D p = new Vector3D(positions[3 * k], positions[3 * k + 1], positions[3 * k + 2]);
+            final Vector3D v = new Vector3D(velocities[3 * k], velocities[3 * k + 1], velocities[3 * k + 2]);
+            Assert.assertEquals(0.0, Vector3D.distance(expected.getPosition(), p),
+                                positionTolerance * expected.getPosition().getNorm());
+            Assert.assertEquals(0.0, Vector3D.distance(expected.getVelocity(), v),
+                                velocityTolerance * expected.getVelocity().getNorm());
+        }
+    }
+
     @Before
     public void setUp() {
         Utils.setDataRoot("regular-data");
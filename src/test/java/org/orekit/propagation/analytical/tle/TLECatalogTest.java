@@ -0,0 +1,131 @@
+/* Copyright 2002-2016 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.analytical.tle;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.orekit.Utils;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.PVCoordinates;
+
+public class TLECatalogTest {
+
+    @Test
+    public void testBitForBitGrid() throws OrekitException {
+
+        final TLECatalog catalog = new TLECatalog(tles);
+        Assert.assertEquals(tles.size(), catalog.size());
+        Assert.assertEquals(tles, catalog.getTLEs());
+
+        final List<TLEPropagator> references = new ArrayList<TLEPropagator>();
+        int deepSpace = 0;
+        for (int k = 0; k < tles.size(); ++k) {
+            Assert.assertSame(tles.get(k), catalog.getTLE(k));
+            final TLEPropagator reference = TLEPropagator.selectExtrapolator(tles.get(k));
+            Assert.assertEquals(reference instanceof DeepSDP4, catalog.isDeepSpace(k));
+            if (catalog.isDeepSpace(k)) {
+                ++deepSpace;
+            }
+            references.add(reference);
+        }
+        Assert.assertTrue(deepSpace > 0);
+        Assert.assertTrue(deepSpace < tles.size());
+
+        final AbsoluteDate start  = tles.get(0).getDate().shiftedBy(-86400.0);
+        final double       step   = 1800.0;
+        final int          points = 97;
+        final double[]     pv     = new double[TLECatalog.COMPONENTS * catalog.size() * points];
+        final int failures = catalog.getPVCoordinates(start, step, points, pv);
+
+        int expectedFailures = 0;
+        for (int p = 0; p < points; ++p) {
+            final AbsoluteDate date = start.shiftedBy(p * step);
+            for (int k = 0; k < catalog.size(); ++k) {
+                final int first = TLECatalog.COMPONENTS * (p * catalog.size() + k);
+                try {
+                    final PVCoordinates reference = references.get(k).getPVCoordinates(date);
+                    Assert.assertEquals(reference.getPosition().getX(), pv[first],     0.0);
+                    Assert.assertEquals(reference.getPosition().getY(), pv[first + 1], 0.0);
+                    Assert.assertEquals(reference.getPosition().getZ(), pv[first + 2], 0.0);
+                    Assert.assertEquals(reference.getVelocity().getX(), pv[first + 3], 0.0);
+                    Assert.assertEquals(reference.getVelocity().getY(), pv[first + 4], 0.0);
+                    Assert.assertEquals(reference.getVelocity().getZ(), pv[first + 5], 0.0);
+                } catch (OrekitException oe) {
+                    ++expectedFailures;
+                    for (int c = 0; c < TLECatalog.COMPONENTS; ++c) {
+                        Assert.assertTrue(Double.isNaN(pv[first + c]));
+                    }
+                }
+            }
+        }
+        Assert.assertEquals(expectedFailures, failures);
+
+    }
+
+    @Test
+    public void testSingleDate() throws OrekitException {
+        final TLECatalog catalog = new TLECatalog(tles.subList(0, 5));
+        final AbsoluteDate date = tles.get(2).getDate().shiftedBy(3600.0);
+        final double[] pv = new double[TLECatalog.COMPONENTS * catalog.size()];
+        Assert.assertEquals(0, catalog.getPVCoordinates(date, pv));
+        for (int k = 0; k < catalog.size(); ++k) {
+            final PVCoordinates reference = TLEPropagator.selectExtrapolator(tles.get(k)).getPVCoordinates(date);
+            Assert.assertEquals(reference.getPosition().getX(), pv[TLECatalog.COMPONENTS * k],     0.0);
+            Assert.assertEquals(reference.getVelocity().getZ(), pv[TLECatalog.COMPONENTS * k + 5], 0.0);
+        }
+    }
+
+    @Test
+    public void testBufferTooSmall() throws OrekitException {
+        final TLECatalog catalog = new TLECatalog(tles);
+        try {
+            catalog.getPVCoordinates(tles.get(0).getDate(), 3600.0, 2, new double[TLECatalog.COMPONENTS * catalog.size()]);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(LocalizedCoreFormats.DIMENSIONS_MISMATCH, oiae.getSpecifier());
+            Assert.assertEquals(TLECatalog.COMPONENTS * catalog.size(),     ((Integer) oiae.getParts()[0]).intValue());
+            Assert.assertEquals(2 * TLECatalog.COMPONENTS * catalog.size(), ((Integer) oiae.getParts()[1]).intValue());
+        }
+    }
+
+    @Before
+    public void setUp() throws IOException, OrekitException {
+        Utils.setDataRoot("regular-data");
+        tles = new ArrayList<TLE>();
+        try (BufferedReader reader =
+                        new BufferedReader(new InputStreamReader(TLECatalogTest.class.getResourceAsStream("/tle/extrapolationTest-data/SatCode-entry")))) {
+            for (String line1 = reader.readLine(); line1 != null; line1 = reader.readLine()) {
+                if (line1.startsWith("1 ")) {
+                    tles.add(new TLE(line1, reader.readLine()));
+                }
+            }
+        }
+    }
+
+    private List<TLE> tles;
+
+}
@@ -188,6 +188,48 @@ public class TLEPropagatorTest {
 
     }
 
+    @Test
+    public void testPropagatePV() throws OrekitException {
+        final TLE[] tles = new TLE[] {
+            tle,
+            new TLE("1 27421U 02021A   02124.48976499 -.00021470  00000-0 -89879-2 0    20",
+                    "2 27421  98.7490 199.5121 0001333 133.9522 226.1918 14.26113993    62")
+        };
+        for (final TLE t : tles) {
+            final TLEPropagator propagator = TLEPropagator.selectExtrapolator(t);
+            final AbsoluteDate start = t.getDate().shiftedBy(-3600.0);
+            final int count = 500;
+            final double[] positions  = new double[3 * count];
+            final double[] velocities = new double[3 * count];
+            propagator.propagatePV(start, 120.0, count, propagator.getFrame(), positions, velocities);
+            for (int k = 0; k < count; ++k) {
+                final PVCoordinates expected = propagator.getPVCoordinates(start.shiftedBy(k * 120.0));
+                Assert.assertEquals(expected.getPosition().getX(), positions[3 * k],      1.0e-7);
+                Assert.assertEquals(expected.getPosition().getY(), positions[3 * k + 1],  1.0e-7);
+                Assert.assertEquals(expected.getPosition().getZ(), positions[3 * k + 2],  1.0e-7);
+                Assert.assertEquals(expected.getVelocity().getX(), velocities[3 * k],     1.0e-10);
+                Assert.assertEquals(expected.getVelocity().getY(), velocities[3 * k + 1], 1.0e-10);
+                Assert.assertEquals(expected.getVelocity().getZ(), velocities[3 * k + 2], 1.0e-10);
+            }
+        }
+    }
+
+    @Test
+    public void testPropagatePVAllocations() throws OrekitException {
+        // near-Earth TLE, as the deep-space model uses FastMath.pow which allocates a temporary array
+        final TLE nearEarth = new TLE("1 27421U 02021A   02124.48976499 -.00021470  00000-0 -89879-2 0    20",
+                                      "2 27421  98.7490 199.5121 0001333 133.9522 226.1918 14.26113993    62");
+        final TLEPropagator propagator = TLEPropagator.selectExtrapolator(nearEarth);
+        final int count = 10000;
+        final double[] positions  = new double[3 * count];
+        final double[] velocities = new double[3 * count];
+
+        // only the work array of the grid loop is allocated, regardless of the number of points
+        Utils.checkAllocations(() -> propagator.propagatePV(nearEarth.getDate(), 60.0, count, propagator.getFrame(),
+                                                            positions, velocities),
+                               1000);
+    }
+
     @Before
     public void setUp() throws OrekitException {
         Utils.setDataRoot("regular-data");
@@ -18,6 +18,8 @@ package org.orekit.propagation.conversion;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.hipparchus.geometry.euclidean.threed.Vector3D;
 import org.junit.Assert;
@@ -59,6 +61,49 @@ public class KeplerianConverterTest {
         checkFit(orbit, 86400, 300, 1.0e-3, true, 2.65e-8, "toto");
     }
 
+    @Test
+    public void testParallelJacobian() throws OrekitException {
+
+        Propagator p = new KeplerianPropagator(orbit);
+        List<SpacecraftState> sample = new ArrayList<SpacecraftState>();
+        for (double dt = 0; dt < 86400; dt += 300) {
+            sample.add(p.propagate(orbit.getDate().shiftedBy(dt)));
+        }
+
+        FiniteDifferencePropagatorConverter sequential =
+                new FiniteDifferencePropagatorConverter(new KeplerianPropagatorBuilder(OrbitType.KEPLERIAN.convertType(orbit),
+                                                                                       PositionAngle.MEAN, 1.0),
+                                                        1.0e-3, 1000);
+        Assert.assertNull(sequential.getExecutor());
+        Orbit expected = sequential.convert(sample, false).getInitialState().getOrbit();
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            FiniteDifferencePropagatorConverter parallel =
+                    new FiniteDifferencePropagatorConverter(new KeplerianPropagatorBuilder(OrbitType.KEPLERIAN.convertType(orbit),
+                                                                                           PositionAngle.MEAN, 1.0),
+                                                            1.0e-3, 1000);
+            parallel.setExecutor(executor,
+                                 () -> new KeplerianPropagatorBuilder(OrbitType.KEPLERIAN.convertType(orbit),
+                                                                      PositionAngle.MEAN, 1.0));
+            Assert.assertSame(executor, parallel.getExecutor());
+            Orbit fitted = parallel.convert(sample, false).getInitialState().getOrbit();
+            Assert.assertEquals(sequential.getRMS(), parallel.getRMS(), 0.0);
+            Assert.assertEquals(sequential.getEvaluations(), parallel.getEvaluations());
+            Assert.assertEquals(0.0,
+                                Vector3D.distance(expected.getPVCoordinates().getPosition(),
+                                                  fitted.getPVCoordinates().getPosition()),
+                                0.0);
+            Assert.assertEquals(0.0,
+                                Vector3D.distance(expected.getPVCoordinates().getVelocity(),
+                                                  fitted.getPVCoordinates().getVelocity()),
+                                0.0);
+        } finally {
+            executor.shutdownNow();
+        }
+
+    }
+
     protected void checkFit(final Orbit orbit,
                             final double duration,
                             final double stepSize,
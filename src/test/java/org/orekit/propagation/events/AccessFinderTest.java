@@ -0,0 +1,266 @@
+/* Copyright 2002-2016 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.events;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.util.FastMath;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.orekit.Utils;
+import org.orekit.bodies.GeodeticPoint;
+import org.orekit.bodies.OneAxisEllipsoid;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.frames.FramesFactory;
+import org.orekit.frames.TopocentricFrame;
+import org.orekit.models.earth.EarthStandardAtmosphereRefraction;
+import org.orekit.orbits.KeplerianOrbit;
+import org.orekit.orbits.Orbit;
+import org.orekit.orbits.PositionAngle;
+import org.orekit.propagation.BoundedPropagator;
+import org.orekit.propagation.Propagator;
+import org.orekit.propagation.analytical.KeplerianPropagator;
+import org.orekit.propagation.events.EventsLogger.LoggedEvent;
+import org.orekit.propagation.events.handlers.ContinueOnEvent;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.Constants;
+import org.orekit.utils.ElevationMask;
+import org.orekit.utils.IERSConventions;
+
+public class AccessFinderTest {
+
+    private AbsoluteDate            start;
+    private AbsoluteDate            end;
+    private List<Orbit>             orbits;
+    private List<BoundedPropagator> ephemerides;
+    private List<ElevationDetector> stations;
+
+    @Test
+    public void testSameAsElevationDetector() throws OrekitException {
+        final List<AccessWindow> windows = new AccessFinder(300.0).findAccesses(stations, ephemerides, start, end);
+        Assert.assertEquals(72, windows.size());
+
+        int index = 0;
+        for (int j = 0; j < orbits.size(); ++j) {
+            for (int i = 0; i < stations.size(); ++i) {
+                for (final AccessWindow reference : referenceWindows(i, j)) {
+                    final AccessWindow window = windows.get(index++);
+                    Assert.assertEquals(i, window.getStationIndex());
+                    Assert.assertEquals(j, window.getSatelliteIndex());
+                    Assert.assertEquals(reference.isRise(), window.isRise());
+                    Assert.assertEquals(reference.isSet(),  window.isSet());
+                    Assert.assertEquals(0.0, window.getStart().durationFrom(reference.getStart()), 1.0e-6);
+                    Assert.assertEquals(0.0, window.getEnd().durationFrom(reference.getEnd()),     1.0e-6);
+                    Assert.assertEquals(0.0, window.getCulmination().durationFrom(reference.getCulmination()), 1.0e-6);
+                    Assert.assertEquals(reference.getCulminationElevation(), window.getCulminationElevation(), 1.0e-10);
+                    Assert.assertTrue(window.getCulmination().compareTo(window.getStart()) >= 0);
+                    Assert.assertTrue(window.getCulmination().compareTo(window.getEnd())   <= 0);
+                }
+            }
+        }
+        Assert.assertEquals(windows.size(), index);
+
+    }
+
+    @Test
+    public void testParallel() throws OrekitException {
+        final List<AccessWindow> sequential = new AccessFinder(300.0).findAccesses(stations, ephemerides, start, end);
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final List<AccessWindow> parallel =
+                            new AccessFinder(300.0, executor).findAccesses(stations, ephemerides, start, end);
+            Assert.assertEquals(sequential.size(), parallel.size());
+            for (int i = 0; i < sequential.size(); ++i) {
+                Assert.assertEquals(sequential.get(i).getStationIndex(),   parallel.get(i).getStationIndex());
+                Assert.assertEquals(sequential.get(i).getSatelliteIndex(), parallel.get(i).getSatelliteIndex());
+                Assert.assertEquals(0.0, parallel.get(i).getStart().durationFrom(sequential.get(i).getStart()), 0.0);
+                Assert.assertEquals(0.0, parallel.get(i).getEnd().durationFrom(sequential.get(i).getEnd()), 0.0);
+                Assert.assertEquals(0.0,
+                                    parallel.get(i).getCulmination().durationFrom(sequential.get(i).getCulmination()),
+                                    0.0);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testTruncatedWindow() throws OrekitException {
+        final AccessWindow full = new AccessFinder(300.0).findAccesses(stations, ephemerides, start, end).get(0);
+        final AbsoluteDate middle = full.getStart().shiftedBy(0.5 * full.getEnd().durationFrom(full.getStart()));
+        final List<AccessWindow> windows = new AccessFinder(300.0).findAccesses(stations.subList(0, 1),
+                                                                                ephemerides.subList(0, 1),
+                                                                                middle, full.getEnd().shiftedBy(100.0));
+        Assert.assertEquals(1, windows.size());
+        Assert.assertFalse(windows.get(0).isRise());
+        Assert.assertTrue(windows.get(0).isSet());
+        Assert.assertEquals(0.0, windows.get(0).getStart().durationFrom(middle), 0.0);
+        Assert.assertEquals(0.0, windows.get(0).getEnd().durationFrom(full.getEnd()), 1.0e-6);
+
+        final List<AccessWindow> both = new AccessFinder(300.0).findAccesses(stations.subList(0, 1),
+                                                                             ephemerides.subList(0, 1),
+                                                                             middle, middle.shiftedBy(10.0));
+        Assert.assertEquals(1, both.size());
+        Assert.assertFalse(both.get(0).isRise());
+        Assert.assertFalse(both.get(0).isSet());
+    }
+
+    @Test
+    public void testWrongCoarseStep() {
+        try {
+            new AccessFinder(0.0);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED, oiae.getSpecifier());
+        }
+    }
+
+    @Test
+    public void testWrongInterval() throws OrekitException {
+        try {
+            new AccessFinder(300.0).findAccesses(stations, ephemerides, end, start);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED, oiae.getSpecifier());
+        }
+    }
+
+    private List<AccessWindow> referenceWindows(final int stationIndex, final int satelliteIndex)
+        throws OrekitException {
+
+        // regular propagation with one elevation detector
+        final ElevationDetector station = stations.get(stationIndex);
+        final Propagator propagator = new KeplerianPropagator(orbits.get(satelliteIndex));
+        final EventsLogger logger = new EventsLogger();
+        propagator.addEventDetector(logger.monitorDetector(station.withHandler(new ContinueOnEvent<ElevationDetector>())));
+        final ElevationExtremumDetector extremum =
+                        new ElevationExtremumDetector(station.getMaxCheckInterval(), station.getThreshold(),
+                                                      station.getTopocentricFrame()).
+                        withHandler(new ContinueOnEvent<ElevationExtremumDetector>());
+        propagator.addEventDetector(logger.monitorDetector(extremum));
+        final boolean visibleAtStart = station.g(propagator.getInitialState()) > 0;
+        propagator.propagate(start, end);
+
+        final List<AccessWindow> windows = new ArrayList<AccessWindow>();
+        AbsoluteDate windowStart = visibleAtStart ? start : null;
+        boolean      rise        = false;
+        AbsoluteDate culmination = null;
+        double       elevation   = Double.NEGATIVE_INFINITY;
+        for (final LoggedEvent event : logger.getLoggedEvents()) {
+            if (event.getEventDetector() == extremum) {
+                if (windowStart != null && !event.isIncreasing()) {
+                    culmination = event.getState().getDate();
+                    elevation   = extremum.getElevation(event.getState());
+                }
+            } else if (event.isIncreasing()) {
+                windowStart = event.getState().getDate();
+                rise        = true;
+                culmination = null;
+                elevation   = Double.NEGATIVE_INFINITY;
+            } else if (windowStart != null) {
+                windows.add(new AccessWindow(stationIndex, satelliteIndex, windowStart, rise,
+                                             event.getState().getDate(), true, culmination, elevation));
+                windowStart = null;
+            }
+        }
+        if (windowStart != null) {
+            windows.add(new AccessWindow(stationIndex, satelliteIndex, windowStart, rise,
+                                         end, false, culmination, elevation));
+        }
+        return windows;
+
+    }
+
+    @Before
+    public void setUp() throws OrekitException {
+        Utils.setDataRoot("regular-data");
+        start = new AbsoluteDate(2016, 3, 7, 12, 0, 0.0, TimeScalesFactory.getUTC());
+        end   = start.shiftedBy(Constants.JULIAN_DAY);
+
+        orbits      = new ArrayList<Orbit>();
+        ephemerides = new ArrayList<BoundedPropagator>();
+        for (int j = 0; j < 3; ++j) {
+            final Orbit orbit = new KeplerianOrbit(7.0e6 + 300.0e3 * j, 0.001 + 0.005 * j,
+                                                   FastMath.toRadians(51.6 + 23.4 * j),
+                                                   0.3 * j, 1.1 * j, 2.3 * j, PositionAngle.MEAN,
+                                                   FramesFactory.getEME2000(), start,
+                                                   Constants.EIGEN5C_EARTH_MU);
+            orbits.add(orbit);
+            final Propagator propagator = new KeplerianPropagator(orbit);
+            propagator.setEphemerisMode();
+            propagator.propagate(start, end);
+            ephemerides.add(propagator.getGeneratedEphemeris());
+        }
+
+        final OneAxisEllipsoid earth =
+                        new OneAxisEllipsoid(Constants.WGS84_EARTH_EQUATORIAL_RADIUS, Constants.WGS84_EARTH_FLATTENING,
+                                             FramesFactory.getITRF(IERSConventions.IERS_2010, true));
+        stations = new ArrayList<ElevationDetector>();
+        stations.add(new ElevationDetector(60.0, 1.0e-6,
+                                           new TopocentricFrame(earth,
+                                                                new GeodeticPoint(FastMath.toRadians(43.6),
+                                                                                  FastMath.toRadians(1.4),
+                                                                                  150.0),
+                                                                "Toulouse")).
+                     withConstantElevation(FastMath.toRadians(5.0)));
+        stations.add(new ElevationDetector(60.0, 1.0e-6,
+                                           new TopocentricFrame(earth,
+                                                                new GeodeticPoint(FastMath.toRadians(-33.9),
+                                                                                  FastMath.toRadians(18.4),
+                                                                                  10.0),
+                                                                "Cape Town")).
+                     withElevationMask(new ElevationMask(new double[][] {
+                         { FastMath.toRadians(  0.0), FastMath.toRadians(10.0) },
+                         { FastMath.toRadians( 90.0), FastMath.toRadians( 3.0) },
+                         { FastMath.toRadians(180.0), FastMath.toRadians( 7.0) },
+                         { FastMath.toRadians(270.0), FastMath.toRadians( 2.0) }
+                     })));
+        stations.add(new ElevationDetector(30.0, 1.0e-6,
+                                           new TopocentricFrame(earth,
+                                                                new GeodeticPoint(FastMath.toRadians(64.8),
+                                                                                  FastMath.toRadians(-147.7),
+                                                                                  200.0),
+                                                                "Fairbanks")).
+                     withConstantElevation(0.0).
+                     withRefraction(new EarthStandardAtmosphereRefraction()));
+        stations.add(new ElevationDetector(60.0, 1.0e-6,
+                                           new TopocentricFrame(earth,
+                                                                new GeodeticPoint(FastMath.toRadians(-0.2),
+                                                                                  FastMath.toRadians(-78.5),
+                                                                                  2800.0),
+                                                                "Quito")).
+                     withConstantElevation(FastMath.toRadians(10.0)));
+    }
+
+    @After
+    public void tearDown() {
+        start       = null;
+        end         = null;
+        orbits      = null;
+        ephemerides = null;
+        stations    = null;
+    }
+
+}
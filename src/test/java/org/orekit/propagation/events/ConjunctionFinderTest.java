@@ -0,0 +1,268 @@
+/* Copyright 2002-2016 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.events;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.hipparchus.analysis.solvers.AllowedSolution;
+import org.hipparchus.analysis.solvers.BracketingNthOrderBrentSolver;
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.hipparchus.util.FastMath;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.orekit.Utils;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.frames.Frame;
+import org.orekit.frames.FramesFactory;
+import org.orekit.orbits.CartesianOrbit;
+import org.orekit.orbits.KeplerianOrbit;
+import org.orekit.orbits.Orbit;
+import org.orekit.orbits.PositionAngle;
+import org.orekit.propagation.BoundedPropagator;
+import org.orekit.propagation.Propagator;
+import org.orekit.propagation.analytical.KeplerianPropagator;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.Constants;
+import org.orekit.utils.PVCoordinates;
+
+public class ConjunctionFinderTest {
+
+    private Frame                   frame;
+    private AbsoluteDate            start;
+    private AbsoluteDate            end;
+    private List<BoundedPropagator> objects;
+
+    @Test
+    public void testDesignedConjunction() throws OrekitException {
+
+        // two objects crossing the ascending node at the same time, with 500m radial separation
+        final AbsoluteDate tca = start.shiftedBy(3000.0);
+        final double r = 7.0e6;
+        final double v = FastMath.sqrt(Constants.EIGEN5C_EARTH_MU / r);
+        final List<BoundedPropagator> pair = new ArrayList<BoundedPropagator>();
+        pair.add(ephemeris(new CartesianOrbit(new PVCoordinates(new Vector3D(r, 0, 0), new Vector3D(0, v, 0)),
+                                              frame, tca, Constants.EIGEN5C_EARTH_MU)));
+        pair.add(ephemeris(new CartesianOrbit(new PVCoordinates(new Vector3D(r + 500.0, 0, 0), new Vector3D(0, 0, v)),
+                                              frame, tca, Constants.EIGEN5C_EARTH_MU)));
+
+        final List<Conjunction> conjunctions =
+                        new ConjunctionFinder(frame, 2.0e3, 60.0, 1.0e-6).findConjunctions(pair, start, end);
+        Assert.assertEquals(1, conjunctions.size());
+        final Conjunction conjunction = conjunctions.get(0);
+        Assert.assertEquals(0, conjunction.getFirstIndex());
+        Assert.assertEquals(1, conjunction.getSecondIndex());
+        Assert.assertEquals(0.0, conjunction.getDate().durationFrom(tca), 1.0e-6);
+        Assert.assertEquals(500.0, conjunction.getMissDistance(), 1.0e-6);
+        Assert.assertEquals(v * FastMath.sqrt(2.0), conjunction.getRelativeSpeed(), 1.0e-6);
+
+    }
+
+    @Test
+    public void testSameAsAllPairs() throws OrekitException {
+        final double distance = 200.0e3;
+        final List<Conjunction> conjunctions =
+                        new ConjunctionFinder(frame, distance, 120.0, 1.0e-6).findConjunctions(objects, start, end);
+        final List<Conjunction> reference = allPairs(distance, 10.0);
+        Assert.assertEquals(87, reference.size());
+        Assert.assertEquals(reference.size(), conjunctions.size());
+        for (int k = 0; k < reference.size(); ++k) {
+            Assert.assertEquals(reference.get(k).getFirstIndex(),  conjunctions.get(k).getFirstIndex());
+            Assert.assertEquals(reference.get(k).getSecondIndex(), conjunctions.get(k).getSecondIndex());
+            Assert.assertEquals(0.0, conjunctions.get(k).getDate().durationFrom(reference.get(k).getDate()), 1.0e-5);
+            Assert.assertEquals(reference.get(k).getMissDistance(), conjunctions.get(k).getMissDistance(), 1.0e-3);
+            Assert.assertTrue(conjunctions.get(k).getMissDistance() <= distance);
+        }
+    }
+
+    @Test
+    public void testMixedSpheresSizes() throws OrekitException {
+
+        // highly eccentric orbits have much larger bounding spheres near perigee
+        final RandomGenerator random = new Well19937a(0x3f0e1a6b28c4d975l);
+        for (int i = 0; i < 10; ++i) {
+            objects.add(ephemeris(new KeplerianOrbit(2.4e7, 0.71, FastMath.PI * random.nextDouble(),
+                                                     2 * FastMath.PI * random.nextDouble(),
+                                                     2 * FastMath.PI * random.nextDouble(),
+                                                     2 * FastMath.PI * random.nextDouble(),
+                                                     PositionAngle.MEAN, frame, start,
+                                                     Constants.EIGEN5C_EARTH_MU)));
+        }
+
+        final double distance = 200.0e3;
+        final List<Conjunction> conjunctions =
+                        new ConjunctionFinder(frame, distance, 120.0, 1.0e-6).findConjunctions(objects, start, end);
+        final List<Conjunction> reference = allPairs(distance, 10.0);
+        Assert.assertEquals(89, reference.size());
+        Assert.assertEquals(reference.size(), conjunctions.size());
+        for (int k = 0; k < reference.size(); ++k) {
+            Assert.assertEquals(reference.get(k).getFirstIndex(),  conjunctions.get(k).getFirstIndex());
+            Assert.assertEquals(reference.get(k).getSecondIndex(), conjunctions.get(k).getSecondIndex());
+            Assert.assertEquals(0.0, conjunctions.get(k).getDate().durationFrom(reference.get(k).getDate()), 1.0e-5);
+            Assert.assertEquals(reference.get(k).getMissDistance(), conjunctions.get(k).getMissDistance(), 1.0e-3);
+        }
+
+    }
+
+    @Test
+    public void testParallel() throws OrekitException {
+        final List<Conjunction> sequential =
+                        new ConjunctionFinder(frame, 200.0e3, 120.0, 1.0e-6).findConjunctions(objects, start, end);
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final List<Conjunction> parallel =
+                            new ConjunctionFinder(frame, 200.0e3, 120.0, 1.0e-6, executor).findConjunctions(objects, start, end);
+            Assert.assertEquals(sequential.size(), parallel.size());
+            for (int k = 0; k < sequential.size(); ++k) {
+                Assert.assertEquals(sequential.get(k).getFirstIndex(),  parallel.get(k).getFirstIndex());
+                Assert.assertEquals(sequential.get(k).getSecondIndex(), parallel.get(k).getSecondIndex());
+                Assert.assertEquals(0.0, parallel.get(k).getDate().durationFrom(sequential.get(k).getDate()), 0.0);
+                Assert.assertEquals(sequential.get(k).getMissDistance(), parallel.get(k).getMissDistance(), 0.0);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testWrongParameters() throws OrekitException {
+        checkWrongParameter(0.0, 60.0, 1.0e-6);
+        checkWrongParameter(1.0e3, 0.0, 1.0e-6);
+        checkWrongParameter(1.0e3, 60.0, 0.0);
+        try {
+            new ConjunctionFinder(frame, 1.0e3, 60.0, 1.0e-6).findConjunctions(objects, end, start);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED, oiae.getSpecifier());
+        }
+        try {
+            new ConjunctionFinder(frame, 1.0e3, 60.0, 1.0e-6, 0.0, null);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED, oiae.getSpecifier());
+        }
+    }
+
+    private void checkWrongParameter(final double distance, final double step, final double threshold) {
+        try {
+            new ConjunctionFinder(frame, distance, step, threshold);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED, oiae.getSpecifier());
+        }
+    }
+
+    private List<Conjunction> allPairs(final double distance, final double step) throws OrekitException {
+
+        // sample all objects
+        final int n = (int) FastMath.ceil(end.durationFrom(start) / step);
+        final AbsoluteDate[]    dates = new AbsoluteDate[n + 1];
+        final PVCoordinates[][] pvs   = new PVCoordinates[objects.size()][n + 1];
+        for (int k = 0; k <= n; ++k) {
+            dates[k] = (k == n) ? end : start.shiftedBy(k * step);
+            for (int i = 0; i < objects.size(); ++i) {
+                pvs[i][k] = objects.get(i).propagate(dates[k]).getPVCoordinates(frame);
+            }
+        }
+
+        // check all pairs
+        final List<Conjunction> conjunctions = new ArrayList<Conjunction>();
+        final BracketingNthOrderBrentSolver solver = new BracketingNthOrderBrentSolver(0, 1.0e-6, 0, 5);
+        for (int i = 0; i < objects.size(); ++i) {
+            for (int j = i + 1; j < objects.size(); ++j) {
+                final Propagator pi = objects.get(i);
+                final Propagator pj = objects.get(j);
+                for (int k = 0; k < n; ++k) {
+                    if (rangeRate(pvs[i][k], pvs[j][k]) < 0 && rangeRate(pvs[i][k + 1], pvs[j][k + 1]) >= 0) {
+                        final AbsoluteDate t0 = dates[k];
+                        final double dt = solver.solve(100, x -> {
+                            try {
+                                return rangeRate(pi.propagate(t0.shiftedBy(x)).getPVCoordinates(frame),
+                                                 pj.propagate(t0.shiftedBy(x)).getPVCoordinates(frame));
+                            } catch (OrekitException oe) {
+                                throw new RuntimeException(oe);
+                            }
+                        }, 0, dates[k + 1].durationFrom(t0), AllowedSolution.ANY_SIDE);
+                        final AbsoluteDate tca = t0.shiftedBy(dt);
+                        final PVCoordinates pvi = pi.propagate(tca).getPVCoordinates(frame);
+                        final PVCoordinates pvj = pj.propagate(tca).getPVCoordinates(frame);
+                        final double d = Vector3D.distance(pvi.getPosition(), pvj.getPosition());
+                        if (d <= distance) {
+                            conjunctions.add(new Conjunction(i, j, tca, d,
+                                                             Vector3D.distance(pvi.getVelocity(), pvj.getVelocity())));
+                        }
+                    }
+                }
+            }
+        }
+
+        conjunctions.sort((c1, c2) -> c1.getDate().compareTo(c2.getDate()));
+        return conjunctions;
+
+    }
+
+    private double rangeRate(final PVCoordinates pvi, final PVCoordinates pvj) {
+        return Vector3D.dotProduct(pvj.getPosition().subtract(pvi.getPosition()),
+                                   pvj.getVelocity().subtract(pvi.getVelocity()));
+    }
+
+    private BoundedPropagator ephemeris(final Orbit orbit) throws OrekitException {
+        final Propagator propagator = new KeplerianPropagator(orbit);
+        propagator.setEphemerisMode();
+        propagator.propagate(start, end);
+        return propagator.getGeneratedEphemeris();
+    }
+
+    @Before
+    public void setUp() throws OrekitException {
+        Utils.setDataRoot("regular-data");
+        frame = FramesFactory.getEME2000();
+        start = AbsoluteDate.J2000_EPOCH.shiftedBy(16.0 * Constants.JULIAN_YEAR);
+        end   = start.shiftedBy(6 * 3600.0);
+
+        // random catalog of low Earth orbit objects
+        final RandomGenerator random = new Well19937a(0x6cb1d2a0f55c7a4bl);
+        objects = new ArrayList<BoundedPropagator>();
+        for (int i = 0; i < 40; ++i) {
+            objects.add(ephemeris(new KeplerianOrbit(6.9e6 + 100.0e3 * random.nextDouble(),
+                                                     0.01 * random.nextDouble(),
+                                                     FastMath.PI * random.nextDouble(),
+                                                     2 * FastMath.PI * random.nextDouble(),
+                                                     2 * FastMath.PI * random.nextDouble(),
+                                                     2 * FastMath.PI * random.nextDouble(),
+                                                     PositionAngle.MEAN, frame, start,
+                                                     Constants.EIGEN5C_EARTH_MU)));
+        }
+    }
+
+    @After
+    public void tearDown() {
+        frame   = null;
+        start   = null;
+        end     = null;
+        objects = null;
+    }
+
+}
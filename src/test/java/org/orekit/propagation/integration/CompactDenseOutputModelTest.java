@@ -0,0 +1,288 @@
+/* Copyright 2002-2016 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.integration;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.ode.DenseOutputModel;
+import org.hipparchus.ode.ExpandableODE;
+import org.hipparchus.ode.LocalizedODEFormats;
+import org.hipparchus.ode.ODEIntegrator;
+import org.hipparchus.ode.ODEState;
+import org.hipparchus.ode.ODEStateAndDerivative;
+import org.hipparchus.ode.OrdinaryDifferentialEquation;
+import org.hipparchus.ode.SecondaryODE;
+import org.hipparchus.ode.nonstiff.ClassicalRungeKuttaIntegrator;
+import org.hipparchus.ode.nonstiff.DormandPrince853Integrator;
+import org.hipparchus.util.FastMath;
+import org.junit.Assert;
+import org.junit.Test;
+import org.orekit.errors.OrekitIllegalArgumentException;
+
+public class CompactDenseOutputModelTest {
+
+    @Test
+    public void testDormandPrince853Forward() {
+        doTestAgainstDenseOutput(new DormandPrince853Integrator(1.0e-6, 10.0, 1.0e-10, 1.0e-10),
+                                 0.0, 20.0, 7, 8, 4.0e-15, 3.0e-12);
+    }
+
+    @Test
+    public void testDormandPrince853Backward() {
+        doTestAgainstDenseOutput(new DormandPrince853Integrator(1.0e-6, 10.0, 1.0e-10, 1.0e-10),
+                                 20.0, 0.0, 7, 8, 4.0e-15, 3.0e-12);
+    }
+
+    @Test
+    public void testSinglePrecision() {
+        doTestAgainstDenseOutput(new DormandPrince853Integrator(1.0e-6, 10.0, 1.0e-10, 1.0e-10),
+                                 0.0, 20.0, 7, 3, 2.0e-8, 8.0e-8);
+    }
+
+    @Test
+    public void testUniformForward() {
+        // classical Runge-Kutta dense output is a cubic polynomial
+        doTestAgainstDenseOutput(new ClassicalRungeKuttaIntegrator(0.01),
+                                 0.0, 20.0, 3, 4, 2.0e-15, 4.0e-12);
+    }
+
+    @Test
+    public void testUniformBackward() {
+        doTestAgainstDenseOutput(new ClassicalRungeKuttaIntegrator(0.01),
+                                 20.0, 0.0, 3, 4, 2.0e-15, 4.0e-12);
+    }
+
+    @Test
+    public void testExtrapolation() {
+        final CompactDenseOutputModel compact = new CompactDenseOutputModel(3);
+        final DenseOutputModel        dense   = new DenseOutputModel();
+        final ODEIntegrator integrator = new ClassicalRungeKuttaIntegrator(0.01);
+        integrator.addStepHandler(compact);
+        integrator.addStepHandler(dense);
+        integrator.integrate(new ExpandableODE(new Oscillator()), new ODEState(0.0, new double[] { 0.0, 1.0 }), 1.0);
+        for (final double t : new double[] { -0.001, 1.001 }) {
+            Assert.assertEquals(dense.getInterpolatedState(t).getPrimaryState()[0],
+                                compact.getInterpolatedState(t).getPrimaryState()[0],
+                                1.0e-15);
+        }
+    }
+
+    @Test
+    public void testSecondaryState() {
+
+        final CompactDenseOutputModel compact = new CompactDenseOutputModel(7);
+        final DenseOutputModel        dense   = new DenseOutputModel();
+        final ODEIntegrator integrator = new DormandPrince853Integrator(1.0e-6, 10.0, 1.0e-10, 1.0e-10);
+        integrator.addStepHandler(compact);
+        integrator.addStepHandler(dense);
+
+        final ExpandableODE expandable = new ExpandableODE(new Oscillator());
+        final int index = expandable.addSecondaryEquations(new Decay());
+        final ODEState initial = new ODEState(0.0, new double[] { 0.0, 1.0 },
+                                              new double[][] { { 1.0, 2.0, 3.0 } });
+        integrator.integrate(expandable, initial, 5.0);
+
+        for (double t = 0; t <= 5.0; t += 0.01) {
+            final ODEStateAndDerivative c = compact.getInterpolatedState(t);
+            final ODEStateAndDerivative d = dense.getInterpolatedState(t);
+            Assert.assertEquals(2, c.getPrimaryStateDimension());
+            Assert.assertEquals(1, c.getNumberOfSecondaryStates());
+            Assert.assertEquals(3, c.getSecondaryStateDimension(index));
+            for (int i = 0; i < 3; ++i) {
+                Assert.assertEquals(d.getSecondaryState(index)[i],      c.getSecondaryState(index)[i],      2.0e-14);
+                Assert.assertEquals(d.getSecondaryDerivative(index)[i], c.getSecondaryDerivative(index)[i], 5.0e-12);
+            }
+        }
+
+    }
+
+    @Test
+    public void testAppend() {
+
+        final CompactDenseOutputModel first  = new CompactDenseOutputModel(3);
+        final CompactDenseOutputModel second = new CompactDenseOutputModel(3);
+        final ODEIntegrator integrator = new ClassicalRungeKuttaIntegrator(0.01);
+        final ExpandableODE expandable = new ExpandableODE(new Oscillator());
+        integrator.addStepHandler(first);
+        final ODEStateAndDerivative middle =
+                        integrator.integrate(expandable, new ODEState(0.0, new double[] { 0.0, 1.0 }), 1.0);
+        integrator.clearStepHandlers();
+        integrator.addStepHandler(second);
+        integrator.integrate(expandable, middle, 2.0);
+
+        final CompactDenseOutputModel appended = new CompactDenseOutputModel(3);
+        appended.append(first);
+        appended.append(second);
+        Assert.assertEquals(first.getNumberOfSteps() + second.getNumberOfSteps(), appended.getNumberOfSteps());
+        Assert.assertEquals(0.0, appended.getInitialTime(), 1.0e-15);
+        Assert.assertEquals(2.0, appended.getFinalTime(),   1.0e-15);
+        for (double t = 0; t <= 2.0; t += 0.001) {
+            final CompactDenseOutputModel reference = t <= 1.0 ? first : second;
+            Assert.assertEquals(reference.getInterpolatedState(t).getPrimaryState()[0],
+                                appended.getInterpolatedState(t).getPrimaryState()[0],
+                                1.0e-15);
+        }
+
+        try {
+            appended.append(new CompactDenseOutputModel(4));
+            appended.append(first);
+            Assert.fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            Assert.assertEquals(LocalizedODEFormats.HOLE_BETWEEN_MODELS_TIME_RANGES, miae.getSpecifier());
+        }
+
+        try {
+            appended.append(new DenseOutputModel());
+            Assert.fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            Assert.assertEquals(LocalizedCoreFormats.UNSUPPORTED_OPERATION, miae.getSpecifier());
+        }
+
+        // settings must match even when appending to an empty model
+        try {
+            new CompactDenseOutputModel(4).append(first);
+            Assert.fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            Assert.assertEquals(LocalizedCoreFormats.DIMENSIONS_MISMATCH, miae.getSpecifier());
+        }
+        try {
+            new CompactDenseOutputModel(3, 2).append(first);
+            Assert.fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            Assert.assertEquals(LocalizedCoreFormats.DIMENSIONS_MISMATCH, miae.getSpecifier());
+        }
+
+    }
+
+    @Test
+    public void testWrongDegree() {
+        try {
+            new CompactDenseOutputModel(0);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL, oiae.getSpecifier());
+        }
+        try {
+            new CompactDenseOutputModel(3, 0);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL, oiae.getSpecifier());
+        }
+    }
+
+    @Test
+    public void testSerialization() throws IOException, ClassNotFoundException {
+
+        final CompactDenseOutputModel compact = new CompactDenseOutputModel(7, 4);
+        final DenseOutputModel        dense   = new DenseOutputModel();
+        final ODEIntegrator integrator = new DormandPrince853Integrator(1.0e-6, 10.0, 1.0e-10, 1.0e-10);
+        integrator.addStepHandler(compact);
+        integrator.addStepHandler(dense);
+        integrator.integrate(new ExpandableODE(new Oscillator()), new ODEState(0.0, new double[] { 0.0, 1.0 }), 20.0);
+
+        final int compactSize = serialize(compact).length;
+        final int denseSize   = serialize(dense).length;
+        Assert.assertTrue("compact size = " + compactSize + ", dense size = " + denseSize,
+                          4 * compactSize < denseSize);
+
+        final ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(serialize(compact)));
+        final CompactDenseOutputModel deserialized = (CompactDenseOutputModel) ois.readObject();
+        Assert.assertEquals(compact.getNumberOfSteps(), deserialized.getNumberOfSteps());
+        for (double t = 0; t <= 20.0; t += 0.01) {
+            Assert.assertEquals(compact.getInterpolatedState(t).getPrimaryState()[0],
+                                deserialized.getInterpolatedState(t).getPrimaryState()[0],
+                                0.0);
+        }
+
+    }
+
+    private byte[] serialize(final Object o) throws IOException {
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        final ObjectOutputStream    oos = new ObjectOutputStream(bos);
+        oos.writeObject(o);
+        return bos.toByteArray();
+    }
+
+    private void doTestAgainstDenseOutput(final ODEIntegrator integrator,
+                                          final double t0, final double t1,
+                                          final int degree, final int singlePrecisionDegree,
+                                          final double tolState, final double tolDerivative) {
+
+        final CompactDenseOutputModel compact = new CompactDenseOutputModel(degree, singlePrecisionDegree);
+        final DenseOutputModel        dense   = new DenseOutputModel();
+        integrator.addStepHandler(compact);
+        integrator.addStepHandler(dense);
+        integrator.integrate(new ExpandableODE(new Oscillator()),
+                             new ODEState(t0, new double[] { FastMath.sin(t0), FastMath.cos(t0) }),
+                             t1);
+        Assert.assertEquals(t0, compact.getInitialTime(), 1.0e-15);
+        Assert.assertEquals(t1, compact.getFinalTime(),   1.0e-15);
+
+        double maxState      = 0;
+        double maxDerivative = 0;
+        for (double t = FastMath.min(t0, t1); t <= FastMath.max(t0, t1); t += 0.0013) {
+            final ODEStateAndDerivative c = compact.getInterpolatedState(t);
+            final ODEStateAndDerivative d = dense.getInterpolatedState(t);
+            Assert.assertEquals(t, c.getTime(), 0.0);
+            for (int i = 0; i < 2; ++i) {
+                maxState      = FastMath.max(maxState,
+                                             FastMath.abs(c.getPrimaryState()[i] - d.getPrimaryState()[i]));
+                maxDerivative = FastMath.max(maxDerivative,
+                                             FastMath.abs(c.getPrimaryDerivative()[i] - d.getPrimaryDerivative()[i]));
+            }
+        }
+        Assert.assertEquals(0.0, maxState,      tolState);
+        Assert.assertEquals(0.0, maxDerivative, tolDerivative);
+
+    }
+
+    private static class Oscillator implements OrdinaryDifferentialEquation {
+
+        public int getDimension() {
+            return 2;
+        }
+
+        public double[] computeDerivatives(final double t, final double[] y) {
+            return new double[] { y[1], -y[0] };
+        }
+
+    }
+
+    private static class Decay implements SecondaryODE {
+
+        public int getDimension() {
+            return 3;
+        }
+
+        public double[] computeDerivatives(final double t, final double[] primary,
+                                           final double[] primaryDot, final double[] secondary) {
+            final double[] secondaryDot = new double[secondary.length];
+            for (int i = 0; i < secondary.length; ++i) {
+                secondaryDot[i] = -(i + 1) * secondary[i] + primary[0];
+            }
+            return secondaryDot;
+        }
+
+    }
+
+}
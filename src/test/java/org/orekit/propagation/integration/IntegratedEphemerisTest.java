@@ -22,6 +22,7 @@ import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 
+import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.geometry.euclidean.threed.Vector3D;
 import org.hipparchus.linear.Array2DRowRealMatrix;
 import org.hipparchus.linear.MatrixUtils;
@@ -35,6 +36,7 @@ import org.orekit.Utils;
 import org.orekit.bodies.CelestialBody;
 import org.orekit.bodies.CelestialBodyFactory;
 import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
 import org.orekit.forces.gravity.HolmesFeatherstoneAttractionModel;
 import org.orekit.forces.gravity.ThirdBodyAttraction;
 import org.orekit.forces.gravity.potential.GravityFieldFactory;
@@ -111,6 +113,73 @@ public class IntegratedEphemerisTest {
 
     }
 
+    @Test
+    public void testCompactEphemeris() throws OrekitException, IOException {
+        doTestCompactEphemeris(Integer.MAX_VALUE, 1.0e-6, 0.40);
+    }
+
+    @Test
+    public void testCompactEphemerisSinglePrecision() throws OrekitException, IOException {
+        doTestCompactEphemeris(4, 1.0e-4, 0.31);
+    }
+
+    @Test
+    public void testCompactEphemerisWrongDegree() {
+        try {
+            numericalPropagator.setCompactEphemeris(0, Integer.MAX_VALUE);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL, oiae.getSpecifier());
+        }
+        try {
+            numericalPropagator.setCompactEphemeris(7, 0);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL, oiae.getSpecifier());
+        }
+        Assert.assertEquals(-1, numericalPropagator.getCompactDegree());
+
+        // negative degrees revert to regular storage, whatever the single precision degree
+        numericalPropagator.setCompactEphemeris(-1, 0);
+        Assert.assertEquals(-1, numericalPropagator.getCompactDegree());
+    }
+
+    private void doTestCompactEphemeris(final int singlePrecisionDegree,
+                                        final double tolerance, final double maxSizeRatio)
+        throws OrekitException, IOException {
+
+        AbsoluteDate finalDate = initialOrbit.getDate().shiftedBy(Constants.JULIAN_DAY);
+        numericalPropagator.setEphemerisMode();
+        numericalPropagator.setInitialState(new SpacecraftState(initialOrbit));
+        numericalPropagator.propagate(finalDate);
+        BoundedPropagator regular = numericalPropagator.getGeneratedEphemeris();
+
+        numericalPropagator.setCompactEphemeris(7, singlePrecisionDegree);
+        Assert.assertEquals(7, numericalPropagator.getCompactDegree());
+        Assert.assertEquals(singlePrecisionDegree, numericalPropagator.getCompactSinglePrecisionDegree());
+        numericalPropagator.setEphemerisMode();
+        numericalPropagator.setInitialState(new SpacecraftState(initialOrbit));
+        numericalPropagator.propagate(finalDate);
+        BoundedPropagator compact = numericalPropagator.getGeneratedEphemeris();
+
+        Assert.assertEquals(0.0, compact.getMinDate().durationFrom(regular.getMinDate()), 1.0e-15);
+        Assert.assertEquals(0.0, compact.getMaxDate().durationFrom(regular.getMaxDate()), 1.0e-15);
+        for (double dt = 0; dt <= Constants.JULIAN_DAY; dt += 17.0) {
+            AbsoluteDate date = initialOrbit.getDate().shiftedBy(dt);
+            Vector3D regularPosition = regular.propagate(date).getPVCoordinates().getPosition();
+            Vector3D compactPosition = compact.propagate(date).getPVCoordinates().getPosition();
+            Assert.assertEquals(0, regularPosition.distance(compactPosition), tolerance);
+        }
+
+        ByteArrayOutputStream regularBos = new ByteArrayOutputStream();
+        new ObjectOutputStream(regularBos).writeObject(regular);
+        ByteArrayOutputStream compactBos = new ByteArrayOutputStream();
+        new ObjectOutputStream(compactBos).writeObject(compact);
+        Assert.assertTrue("size ratio = " + ((double) compactBos.size()) / regularBos.size(),
+                          compactBos.size() < maxSizeRatio * regularBos.size());
+
+    }
+
     @Test
     public void testPartialDerivativesIssue16() throws OrekitException {
 
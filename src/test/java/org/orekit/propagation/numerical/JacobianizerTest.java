@@ -0,0 +1,120 @@
+/* Copyright 2002-2016 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.numerical;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.hipparchus.analysis.differentiation.DerivativeStructure;
+import org.hipparchus.geometry.euclidean.threed.FieldRotation;
+import org.hipparchus.geometry.euclidean.threed.FieldVector3D;
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.util.FastMath;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.orekit.Utils;
+import org.orekit.errors.OrekitException;
+import org.orekit.forces.ForceModel;
+import org.orekit.forces.gravity.HolmesFeatherstoneAttractionModel;
+import org.orekit.forces.gravity.NewtonianAttraction;
+import org.orekit.forces.gravity.potential.GravityFieldFactory;
+import org.orekit.forces.gravity.potential.ICGEMFormatReader;
+import org.orekit.forces.gravity.potential.NormalizedSphericalHarmonicsProvider;
+import org.orekit.frames.Frame;
+import org.orekit.frames.FramesFactory;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.IERSConventions;
+
+public class JacobianizerTest {
+
+    @Test
+    public void testParallelWithoutMass() throws OrekitException {
+        doTestParallel(6);
+    }
+
+    @Test
+    public void testParallelWithMass() throws OrekitException {
+        doTestParallel(7);
+    }
+
+    private void doTestParallel(final int parameters) throws OrekitException {
+
+        final NormalizedSphericalHarmonicsProvider provider = GravityFieldFactory.getNormalizedProvider(8, 8);
+        final Frame itrf = FramesFactory.getITRF(IERSConventions.IERS_2010, true);
+        final ForceModel model = new HolmesFeatherstoneAttractionModel(itrf, provider);
+
+        // change a parameter in the wrapped model, the copies must follow it
+        model.getParameterDriver(NewtonianAttraction.CENTRAL_ATTRACTION_COEFFICIENT).setValue(1.001 * provider.getMu());
+        final AbsoluteDate date  = new AbsoluteDate(2005, 3, 5, 0, 24, 0.0, TimeScalesFactory.getTAI());
+        final Frame        frame = FramesFactory.getGCRF();
+        final Vector3D     p     = new Vector3D(6.46885878304673824e+06, -1.88050918456274318e+06, -1.32931592294715829e+04);
+        final Vector3D     v     = new Vector3D(2.14718074509906819e+03, 7.38239351251748485e+03, -1.14097953925384523e+01);
+        final FieldVector3D<DerivativeStructure> position =
+                new FieldVector3D<DerivativeStructure>(new DerivativeStructure(parameters, 1, 0, p.getX()),
+                                                       new DerivativeStructure(parameters, 1, 1, p.getY()),
+                                                       new DerivativeStructure(parameters, 1, 2, p.getZ()));
+        final FieldVector3D<DerivativeStructure> velocity =
+                new FieldVector3D<DerivativeStructure>(new DerivativeStructure(parameters, 1, 3, v.getX()),
+                                                       new DerivativeStructure(parameters, 1, 4, v.getY()),
+                                                       new DerivativeStructure(parameters, 1, 5, v.getZ()));
+        final FieldRotation<DerivativeStructure> rotation =
+                new FieldRotation<DerivativeStructure>(new DerivativeStructure(parameters, 1, 1.0),
+                                                       new DerivativeStructure(parameters, 1, 0.0),
+                                                       new DerivativeStructure(parameters, 1, 0.0),
+                                                       new DerivativeStructure(parameters, 1, 0.0),
+                                                       false);
+        final DerivativeStructure mass = (parameters < 7) ?
+                                         new DerivativeStructure(parameters, 1, 1000.0) :
+                                         new DerivativeStructure(parameters, 1, 6, 1000.0);
+
+        final Jacobianizer jacobianizer = new Jacobianizer(model, provider.getMu(), 10.0);
+        Assert.assertNull(jacobianizer.getExecutor());
+        final FieldVector3D<DerivativeStructure> sequential =
+                jacobianizer.accelerationDerivatives(date, frame, position, velocity, rotation, mass);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            jacobianizer.setExecutor(executor, () -> new HolmesFeatherstoneAttractionModel(itrf, provider));
+            Assert.assertSame(executor, jacobianizer.getExecutor());
+            final FieldVector3D<DerivativeStructure> parallel =
+                    jacobianizer.accelerationDerivatives(date, frame, position, velocity, rotation, mass);
+            Assert.assertArrayEquals(sequential.getX().getAllDerivatives(), parallel.getX().getAllDerivatives(), 0.0);
+            Assert.assertArrayEquals(sequential.getY().getAllDerivatives(), parallel.getY().getAllDerivatives(), 0.0);
+            Assert.assertArrayEquals(sequential.getZ().getAllDerivatives(), parallel.getZ().getAllDerivatives(), 0.0);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // check finite differences are consistent with the analytical derivatives
+        final FieldVector3D<DerivativeStructure> analytical =
+                model.accelerationDerivatives(date, frame, position, velocity, rotation, mass);
+        for (int i = 1; i < 4; ++i) {
+            Assert.assertEquals(analytical.getX().getAllDerivatives()[i], sequential.getX().getAllDerivatives()[i],
+                                1.0e-3 * FastMath.abs(analytical.getX().getAllDerivatives()[i]));
+        }
+
+    }
+
+    @Before
+    public void setUp() {
+        Utils.setDataRoot("regular-data:potential/icgem-format");
+        GravityFieldFactory.addPotentialCoefficientsReader(new ICGEMFormatReader("^eigen-6s-truncated$", false));
+    }
+
+}
@@ -45,6 +45,7 @@ import org.junit.Test;
 import org.orekit.OrekitMatchers;
 import org.orekit.Utils;
 import org.orekit.bodies.CelestialBodyFactory;
+import org.orekit.bodies.GeodeticPoint;
 import org.orekit.bodies.OneAxisEllipsoid;
 import org.orekit.data.DataProvidersManager;
 import org.orekit.errors.OrekitException;
@@ -64,6 +65,7 @@ import org.orekit.forces.radiation.IsotropicRadiationSingleCoefficient;
 import org.orekit.forces.radiation.SolarRadiationPressure;
 import org.orekit.frames.Frame;
 import org.orekit.frames.FramesFactory;
+import org.orekit.frames.TopocentricFrame;
 import org.orekit.orbits.CartesianOrbit;
 import org.orekit.orbits.EquinoctialOrbit;
 import org.orekit.orbits.KeplerianOrbit;
@@ -77,7 +79,10 @@ import org.orekit.propagation.SpacecraftState;
 import org.orekit.propagation.events.AbstractDetector;
 import org.orekit.propagation.events.ApsideDetector;
 import org.orekit.propagation.events.DateDetector;
+import org.orekit.propagation.events.ElevationDetector;
 import org.orekit.propagation.events.EventDetector;
+import org.orekit.propagation.events.EventsLogger;
+import org.orekit.propagation.events.EventsLogger.LoggedEvent;
 import org.orekit.propagation.events.handlers.ContinueOnEvent;
 import org.orekit.propagation.events.handlers.EventHandler;
 import org.orekit.propagation.events.handlers.EventHandler.Action;
@@ -997,6 +1002,61 @@ public class NumericalPropagatorTest {
 
     }
 
+    @Test
+    public void testSharedEventsSampling() throws OrekitException {
+
+        final int[] independentCalls = new int[1];
+        final List<LoggedEvent> independent = propagateWithStations(false, independentCalls);
+        final int[] sharedCalls = new int[1];
+        final List<LoggedEvent> shared = propagateWithStations(true, sharedCalls);
+
+        Assert.assertEquals(50, independent.size());
+        Assert.assertEquals(independent.size(), shared.size());
+        for (int i = 0; i < independent.size(); ++i) {
+            Assert.assertEquals(independent.get(i).isIncreasing(), shared.get(i).isIncreasing());
+            Assert.assertEquals(0.0,
+                                shared.get(i).getState().getDate().durationFrom(independent.get(i).getState().getDate()),
+                                1.0e-15);
+        }
+
+        // converted states are shared between stations
+        Assert.assertTrue(sharedCalls[0] < independentCalls[0] / 2);
+
+    }
+
+    private List<LoggedEvent> propagateWithStations(final boolean sharedSampling, final int[] calls)
+        throws OrekitException {
+        setUp();
+        propagator.setSharedEventsSampling(sharedSampling);
+        Assert.assertEquals(sharedSampling, propagator.isSharedEventsSampling());
+        propagator.addAdditionalStateProvider(new AdditionalStateProvider() {
+            public String getName() {
+                return "counter";
+            }
+            public double[] getAdditionalState(final SpacecraftState state) {
+                ++calls[0];
+                return new double[] { 0.0 };
+            }
+        });
+        final OneAxisEllipsoid earthShape =
+            new OneAxisEllipsoid(Constants.WGS84_EARTH_EQUATORIAL_RADIUS, Constants.WGS84_EARTH_FLATTENING,
+                                 FramesFactory.getITRF(IERSConventions.IERS_2010, true));
+        final EventsLogger logger = new EventsLogger();
+        for (int i = 0; i < 6; ++i) {
+            final TopocentricFrame topo =
+                new TopocentricFrame(earthShape,
+                                     new GeodeticPoint(FastMath.toRadians(-50.0 + 20.0 * i),
+                                                       FastMath.toRadians(-120.0 + 45.0 * i),
+                                                       0.0),
+                                     "station-" + i);
+            propagator.addEventDetector(logger.monitorDetector(new ElevationDetector(60.0, 1.0e-7, topo).
+                                                               withConstantElevation(FastMath.toRadians(5.0)).
+                                                               withHandler(new ContinueOnEvent<ElevationDetector>())));
+        }
+        propagator.propagate(initDate.shiftedBy(Constants.JULIAN_DAY));
+        return logger.getLoggedEvents();
+    }
+
     /**
      * Assume we have 5 epochs, we will propagate from the input epoch to all the following epochs.
      *   If we have [0,1,2,3,4], and input is 2, then we will do 2->3, 2->4. 
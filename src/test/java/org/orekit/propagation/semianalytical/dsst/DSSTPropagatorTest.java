@@ -23,6 +23,7 @@ import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 import org.hipparchus.geometry.euclidean.threed.Vector3D;
 import org.hipparchus.ode.nonstiff.AdaptiveStepsizeIntegrator;
@@ -575,6 +576,126 @@ public class DSSTPropagatorTest {
 
     }
 
+    @Test
+    public void testParallelShortPeriods() throws OrekitException {
+        Utils.setDataRoot("regular-data:potential/icgem-format");
+        GravityFieldFactory.addPotentialCoefficientsReader(new ICGEMFormatReader("^eigen-6s-truncated$", false));
+        UnnormalizedSphericalHarmonicsProvider nshp = GravityFieldFactory.getUnnormalizedProvider(8, 8);
+        Orbit orbit = new KeplerianOrbit(13378000, 0.05, 0, 0, FastMath.PI, 0, PositionAngle.MEAN,
+                                         FramesFactory.getTOD(false),
+                                         new AbsoluteDate(2003, 5, 6, TimeScalesFactory.getUTC()),
+                                         nshp.getMu());
+
+        final List<SpacecraftState> sequential = new ArrayList<SpacecraftState>();
+        DSSTPropagator propagator = createFullModelPropagator(orbit, nshp);
+        Assert.assertNull(propagator.getShortPeriodsExecutor());
+        propagator.setMasterMode(600, (currentState, isLast) -> sequential.add(currentState));
+        propagator.propagate(orbit.getDate().shiftedBy(10 * Constants.JULIAN_DAY));
+
+        final ForkJoinPool executor = new ForkJoinPool(4);
+        try {
+            final List<SpacecraftState> parallel = new ArrayList<SpacecraftState>();
+            propagator = createFullModelPropagator(orbit, nshp);
+            propagator.setShortPeriodsExecutor(executor);
+            Assert.assertSame(executor, propagator.getShortPeriodsExecutor());
+            propagator.setMasterMode(600, (currentState, isLast) -> parallel.add(currentState));
+            propagator.propagate(orbit.getDate().shiftedBy(10 * Constants.JULIAN_DAY));
+
+            Assert.assertEquals(sequential.size(), parallel.size());
+            for (int i = 0; i < sequential.size(); ++i) {
+                final PVCoordinates pvS = sequential.get(i).getPVCoordinates();
+                final PVCoordinates pvP = parallel.get(i).getPVCoordinates();
+                Assert.assertEquals(0.0, sequential.get(i).getDate().durationFrom(parallel.get(i).getDate()), 0.0);
+                Assert.assertEquals(0.0, Vector3D.distance(pvS.getPosition(), pvP.getPosition()), 0.0);
+                Assert.assertEquals(0.0, Vector3D.distance(pvS.getVelocity(), pvP.getVelocity()), 0.0);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+    }
+
+    @Test
+    public void testParallelTesseralGridPoints() throws OrekitException {
+        Utils.setDataRoot("regular-data:potential/icgem-format");
+        GravityFieldFactory.addPotentialCoefficientsReader(new ICGEMFormatReader("^eigen-6s-truncated$", false));
+        UnnormalizedSphericalHarmonicsProvider nshp = GravityFieldFactory.getUnnormalizedProvider(8, 8);
+        Orbit orbit = new KeplerianOrbit(13378000, 0.05, 0, 0, FastMath.PI, 0, PositionAngle.MEAN,
+                                         FramesFactory.getTOD(false),
+                                         new AbsoluteDate(2003, 5, 6, TimeScalesFactory.getUTC()),
+                                         nshp.getMu());
+
+        // a single force model, so all parallelism comes from splitting grid points
+        final List<SpacecraftState> sequential = new ArrayList<SpacecraftState>();
+        DSSTPropagator propagator = createTesseralPropagator(orbit, nshp);
+        propagator.setMasterMode(600, (currentState, isLast) -> sequential.add(currentState));
+        propagator.propagate(orbit.getDate().shiftedBy(5 * Constants.JULIAN_DAY));
+
+        final ForkJoinPool executor = new ForkJoinPool(3);
+        try {
+            final List<SpacecraftState> parallel = new ArrayList<SpacecraftState>();
+            propagator = createTesseralPropagator(orbit, nshp);
+            propagator.setShortPeriodsExecutor(executor);
+            propagator.setMasterMode(600, (currentState, isLast) -> parallel.add(currentState));
+            propagator.propagate(orbit.getDate().shiftedBy(5 * Constants.JULIAN_DAY));
+
+            Assert.assertEquals(sequential.size(), parallel.size());
+            for (int i = 0; i < sequential.size(); ++i) {
+                final PVCoordinates pvS = sequential.get(i).getPVCoordinates();
+                final PVCoordinates pvP = parallel.get(i).getPVCoordinates();
+                Assert.assertEquals(0.0, sequential.get(i).getDate().durationFrom(parallel.get(i).getDate()), 0.0);
+                Assert.assertEquals(0.0, Vector3D.distance(pvS.getPosition(), pvP.getPosition()), 0.0);
+                Assert.assertEquals(0.0, Vector3D.distance(pvS.getVelocity(), pvP.getVelocity()), 0.0);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+    }
+
+    private DSSTPropagator createTesseralPropagator(final Orbit orbit,
+                                                    final UnnormalizedSphericalHarmonicsProvider nshp)
+        throws OrekitException {
+        double period = orbit.getKeplerianPeriod();
+        double[][] tolerance = DSSTPropagator.tolerances(1.0, orbit);
+        AdaptiveStepsizeIntegrator integrator =
+                new DormandPrince853Integrator(period / 100, period * 100, tolerance[0], tolerance[1]);
+        integrator.setInitialStepSize(10 * period);
+        DSSTPropagator propagator = new DSSTPropagator(integrator, false);
+        propagator.setInterpolationGridToFixedNumberOfPoints(8);
+        propagator.addForceModel(new DSSTTesseral(FramesFactory.getITRF(IERSConventions.IERS_2010, true),
+                                                  Constants.WGS84_EARTH_ANGULAR_VELOCITY,
+                                                  nshp, 8, 8, 4, 12, 8, 8, 4));
+        propagator.setInitialState(new SpacecraftState(orbit, 45.0), false);
+        return propagator;
+    }
+
+    private DSSTPropagator createFullModelPropagator(final Orbit orbit,
+                                                     final UnnormalizedSphericalHarmonicsProvider nshp)
+        throws OrekitException {
+        double period = orbit.getKeplerianPeriod();
+        double[][] tolerance = DSSTPropagator.tolerances(1.0, orbit);
+        AdaptiveStepsizeIntegrator integrator =
+                new DormandPrince853Integrator(period / 100, period * 100, tolerance[0], tolerance[1]);
+        integrator.setInitialStepSize(10 * period);
+        DSSTPropagator propagator = new DSSTPropagator(integrator, false);
+        OneAxisEllipsoid earth = new OneAxisEllipsoid(Constants.WGS84_EARTH_EQUATORIAL_RADIUS,
+                                                      Constants.WGS84_EARTH_FLATTENING,
+                                                      FramesFactory.getGTOD(false));
+        CelestialBody sun = CelestialBodyFactory.getSun();
+        CelestialBody moon = CelestialBodyFactory.getMoon();
+        propagator.addForceModel(new DSSTZonal(nshp, 8, 7, 17));
+        propagator.addForceModel(new DSSTTesseral(earth.getBodyFrame(),
+                                                  Constants.WGS84_EARTH_ANGULAR_VELOCITY,
+                                                  nshp, 8, 8, 4, 12, 8, 8, 4));
+        propagator.addForceModel(new DSSTThirdBody(sun));
+        propagator.addForceModel(new DSSTThirdBody(moon));
+        propagator.addForceModel(new DSSTAtmosphericDrag(new HarrisPriester(sun, earth), 2.1, 180));
+        propagator.addForceModel(new DSSTSolarRadiationPressure(1.2, 180, sun, earth.getEquatorialRadius()));
+        propagator.setInitialState(new SpacecraftState(orbit, 45.0), false);
+        return propagator;
+    }
+
     @Test
     public void testEphemerisGeneration() throws OrekitException {
         Utils.setDataRoot("regular-data:potential/icgem-format");
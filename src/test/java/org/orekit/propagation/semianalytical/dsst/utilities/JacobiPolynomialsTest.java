@@ -0,0 +1,92 @@
+/* Copyright 2002-2016 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.semianalytical.dsst.utilities;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.hipparchus.analysis.differentiation.DerivativeStructure;
+import org.hipparchus.analysis.polynomials.PolynomialsUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class JacobiPolynomialsTest {
+
+    @Test
+    public void testValues() {
+        for (int v = 0; v < 6; ++v) {
+            for (int w = 0; w < 6; ++w) {
+                // descending degrees first, so lower degrees are already available
+                for (int l = 8; l >= 0; --l) {
+                    checkValue(l, v, w, 0.3);
+                }
+                // then extend to higher degrees
+                for (int l = 9; l < 12; ++l) {
+                    checkValue(l, v, w, -0.7);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testConcurrentAccess() throws InterruptedException, ExecutionException {
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final List<Future<Boolean>> futures = new ArrayList<Future<Boolean>>();
+            for (int k = 0; k < 64; ++k) {
+                final int shift = k % 7;
+                futures.add(executor.submit(new Callable<Boolean>() {
+                    public Boolean call() {
+                        for (int v = 0; v < 10; ++v) {
+                            for (int w = 0; w < 10; ++w) {
+                                final int l = (v + w + shift) % 15;
+                                final DerivativeStructure gamma = new DerivativeStructure(1, 1, 0, 0.25);
+                                final DerivativeStructure value = JacobiPolynomials.getValue(l, (v + shift) % 10, w, gamma);
+                                final DerivativeStructure reference =
+                                                PolynomialsUtils.createJacobiPolynomial(l, (v + shift) % 10, w).value(gamma);
+                                if (value.getValue() != reference.getValue() ||
+                                    value.getPartialDerivative(1) != reference.getPartialDerivative(1)) {
+                                    return false;
+                                }
+                            }
+                        }
+                        return true;
+                    }
+                }));
+            }
+            for (final Future<Boolean> future : futures) {
+                Assert.assertTrue(future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private void checkValue(final int l, final int v, final int w, final double x) {
+        final DerivativeStructure gamma = new DerivativeStructure(1, 1, 0, x);
+        final DerivativeStructure value = JacobiPolynomials.getValue(l, v, w, gamma);
+        final DerivativeStructure reference = PolynomialsUtils.createJacobiPolynomial(l, v, w).value(gamma);
+        Assert.assertEquals(reference.getValue(),              value.getValue(),              0.0);
+        Assert.assertEquals(reference.getPartialDerivative(1), value.getPartialDerivative(1), 0.0);
+    }
+
+}
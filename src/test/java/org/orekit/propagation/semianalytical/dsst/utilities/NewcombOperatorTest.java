@@ -16,6 +16,14 @@
  */
 package org.orekit.propagation.semianalytical.dsst.utilities;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -65,6 +73,53 @@ public class NewcombOperatorTest {
         Assert.assertEquals(value, 90061805802.16286, 0.1);
     }
 
+    @Test
+    public void testConcurrentAccess() throws InterruptedException, ExecutionException {
+
+        // reference values computed sequentially
+        final double[][][][] reference = new double[8][8][10][10];
+        for (int rho = 0; rho < 8; ++rho) {
+            for (int sigma = 0; sigma < 8; ++sigma) {
+                for (int n = 0; n < 10; ++n) {
+                    for (int s = 0; s < 10; ++s) {
+                        reference[rho][sigma][n][s] = NewcombOperators.getValue(rho, sigma, -n - 2, s);
+                    }
+                }
+            }
+        }
+
+        // concurrent evaluations, some of them extending the table
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final List<Future<Boolean>> futures = new ArrayList<Future<Boolean>>();
+            for (int k = 0; k < 64; ++k) {
+                final int extra = k % 16;
+                futures.add(executor.submit(new Callable<Boolean>() {
+                    public Boolean call() {
+                        boolean same = true;
+                        for (int rho = 7; rho >= 0; --rho) {
+                            for (int sigma = 7; sigma >= 0; --sigma) {
+                                for (int n = 0; n < 10; ++n) {
+                                    for (int s = 0; s < 10; ++s) {
+                                        same &= NewcombOperators.getValue(rho, sigma, -n - 2, s) == reference[rho][sigma][n][s];
+                                    }
+                                }
+                            }
+                        }
+                        NewcombOperators.getValue(8 + extra, 8 + extra / 2, -3, 2);
+                        return same;
+                    }
+                }));
+            }
+            for (final Future<Boolean> future : futures) {
+                Assert.assertTrue(future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+    }
+
     @Before
     public void setUp() {
         Utils.clearFactories();
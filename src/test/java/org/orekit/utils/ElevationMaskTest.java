@@ -67,4 +67,13 @@ public class ElevationMaskTest {
         Assert.assertEquals(FastMath.toRadians(4), elevation, 1.0e-15);
     }
 
+    @Test
+    public void testGetMinElevation() throws OrekitException {
+        double [][] masqueData = {{FastMath.toRadians(  0),FastMath.toRadians(5)},
+                              {FastMath.toRadians(180),FastMath.toRadians(3)},
+                              {FastMath.toRadians(-90),FastMath.toRadians(4)}};
+        ElevationMask mask = new ElevationMask(masqueData);
+        Assert.assertEquals(FastMath.toRadians(3), mask.getMinElevation(), 1.0e-15);
+    }
+
 }
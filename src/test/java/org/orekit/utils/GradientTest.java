@@ -0,0 +1,246 @@
+/* Copyright 2002-2016 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.utils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import org.hipparchus.analysis.differentiation.DerivativeStructure;
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.geometry.euclidean.threed.FieldVector3D;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.hipparchus.util.FastMath;
+import org.junit.Assert;
+import org.junit.Test;
+import org.orekit.errors.OrekitIllegalArgumentException;
+
+public class GradientTest {
+
+    @Test
+    public void testVariablesAndConstants() {
+        Gradient x = Gradient.variable(3, 1, 2.5);
+        Assert.assertEquals(3, x.getFreeParameters());
+        Assert.assertEquals(2.5, x.getValue(), 0.0);
+        Assert.assertEquals(2.5, x.getReal(), 0.0);
+        Assert.assertArrayEquals(new double[] { 0.0, 1.0, 0.0 }, x.getGradient(), 0.0);
+        Gradient c = Gradient.constant(3, -1.5);
+        Assert.assertArrayEquals(new double[] { 0.0, 0.0, 0.0 }, c.getGradient(), 0.0);
+        Assert.assertSame(x.getField(), c.getField());
+        Assert.assertEquals(3, x.getField().getFreeParameters());
+        Assert.assertEquals(0.0, x.getField().getZero().getValue(), 0.0);
+        Assert.assertEquals(1.0, x.getField().getOne().getValue(), 0.0);
+        Assert.assertEquals(Gradient.class, x.getField().getRuntimeClass());
+    }
+
+    @Test
+    public void testDerivativeStructureConversion() {
+        DerivativeStructure ds = new DerivativeStructure(2, 1, 1.25, 3.0, -4.0);
+        Gradient g = new Gradient(ds);
+        Assert.assertEquals(1.25, g.getValue(), 0.0);
+        Assert.assertArrayEquals(new double[] { 3.0, -4.0 }, g.getGradient(), 0.0);
+        Assert.assertArrayEquals(ds.getAllDerivatives(), g.toDerivativeStructure().getAllDerivatives(), 0.0);
+        Assert.assertEquals(0, new Gradient(new DerivativeStructure(0, 0, 2.0)).getFreeParameters());
+        try {
+            new Gradient(new DerivativeStructure(2, 2, 0, 1.0));
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(LocalizedCoreFormats.NUMBER_TOO_LARGE, oiae.getSpecifier());
+        }
+    }
+
+    @Test
+    public void testDimensionMismatch() {
+        try {
+            Gradient.variable(3, 0, 1.0).add(Gradient.variable(4, 0, 1.0));
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(LocalizedCoreFormats.DIMENSIONS_MISMATCH, oiae.getSpecifier());
+        }
+    }
+
+    @Test
+    public void testUnaryFunctions() {
+        checkUnary(x -> x.add(2.5),          x -> x.add(2.5),          -5.0, 5.0, 0.0);
+        checkUnary(x -> x.subtract(2.5),     x -> x.subtract(2.5),     -5.0, 5.0, 0.0);
+        checkUnary(x -> x.multiply(3),       x -> x.multiply(3),       -5.0, 5.0, 0.0);
+        checkUnary(x -> x.multiply(-1.5),    x -> x.multiply(-1.5),    -5.0, 5.0, 0.0);
+        checkUnary(x -> x.divide(7.0),       x -> x.divide(7.0),       -5.0, 5.0, 1.0e-15);
+        checkUnary(x -> x.remainder(0.75),   x -> x.remainder(0.75),   -5.0, 5.0, 0.0);
+        checkUnary(x -> x.negate(),          x -> x.negate(),          -5.0, 5.0, 0.0);
+        checkUnary(x -> x.abs(),             x -> x.abs(),             -5.0, 5.0, 0.0);
+        checkUnary(x -> x.ceil(),            x -> x.ceil(),            -5.0, 5.0, 0.0);
+        checkUnary(x -> x.floor(),           x -> x.floor(),           -5.0, 5.0, 0.0);
+        checkUnary(x -> x.rint(),            x -> x.rint(),            -5.0, 5.0, 0.0);
+        checkUnary(x -> x.signum(),          x -> x.signum(),          -5.0, 5.0, 0.0);
+        checkUnary(x -> x.copySign(-2.0),    x -> x.copySign(-2.0),    -5.0, 5.0, 0.0);
+        checkUnary(x -> x.scalb(3),          x -> x.scalb(3),          -5.0, 5.0, 0.0);
+        checkUnary(x -> x.reciprocal(),      x -> x.reciprocal(),       0.1, 5.0, 1.0e-15);
+        checkUnary(x -> x.sqrt(),            x -> x.sqrt(),             0.1, 5.0, 1.0e-15);
+        checkUnary(x -> x.cbrt(),            x -> x.cbrt(),            0.1, 5.0, 1.0e-15);
+        checkUnary(x -> x.rootN(5),          x -> x.rootN(5),           0.1, 5.0, 1.0e-15);
+        checkUnary(x -> x.pow(2.7),          x -> x.pow(2.7),           0.1, 5.0, 1.0e-15);
+        checkUnary(x -> x.pow(0.0),          x -> x.pow(0.0),           0.1, 5.0, 0.0);
+        checkUnary(x -> x.pow(5),            x -> x.pow(5),            -5.0, 5.0, 1.0e-15);
+        checkUnary(x -> x.pow(0),            x -> x.pow(0),            -5.0, 5.0, 0.0);
+        checkUnary(x -> x.exp(),             x -> x.exp(),             -5.0, 5.0, 1.0e-15);
+        checkUnary(x -> x.expm1(),           x -> x.expm1(),           -5.0, 5.0, 1.0e-15);
+        checkUnary(x -> x.log(),             x -> x.log(),              0.1, 5.0, 1.0e-15);
+        checkUnary(x -> x.log1p(),           x -> x.log1p(),           -0.9, 5.0, 1.0e-15);
+        checkUnary(x -> x.log10(),           x -> x.log10(),            0.1, 5.0, 1.0e-15);
+        checkUnary(x -> x.cos(),             x -> x.cos(),             -5.0, 5.0, 1.0e-15);
+        checkUnary(x -> x.sin(),             x -> x.sin(),             -5.0, 5.0, 1.0e-15);
+        checkUnary(x -> x.tan(),             x -> x.tan(),             -1.5, 1.5, 1.0e-15);
+        checkUnary(x -> x.acos(),            x -> x.acos(),            -0.9, 0.9, 1.0e-15);
+        checkUnary(x -> x.asin(),            x -> x.asin(),            -0.9, 0.9, 1.0e-15);
+        checkUnary(x -> x.atan(),            x -> x.atan(),            -5.0, 5.0, 1.0e-15);
+        checkUnary(x -> x.cosh(),            x -> x.cosh(),            -5.0, 5.0, 1.0e-15);
+        checkUnary(x -> x.sinh(),            x -> x.sinh(),            -5.0, 5.0, 1.0e-15);
+        checkUnary(x -> x.tanh(),            x -> x.tanh(),            -5.0, 5.0, 1.0e-15);
+        checkUnary(x -> x.acosh(),           x -> x.acosh(),            1.1, 5.0, 1.0e-15);
+        checkUnary(x -> x.asinh(),           x -> x.asinh(),           -5.0, 5.0, 1.0e-15);
+        checkUnary(x -> x.atanh(),           x -> x.atanh(),           -0.9, 0.9, 1.0e-15);
+    }
+
+    @Test
+    public void testPowAtZero() {
+        final Gradient zero = Gradient.variable(1, 0, 0.0);
+        checkPowAtZero(zero.pow(0.5), 0.0, Double.POSITIVE_INFINITY);
+        checkPowAtZero(zero.pow(2.5), 0.0, 0.0);
+        checkPowAtZero(zero.pow(1.0), 0.0, 1.0);
+        checkPowAtZero(zero.pow(3),   0.0, 0.0);
+        checkPowAtZero(zero.pow(1),   0.0, 1.0);
+    }
+
+    private void checkPowAtZero(final Gradient g, final double expectedValue, final double expectedDerivative) {
+        Assert.assertEquals(expectedValue,      g.getValue(),       0.0);
+        Assert.assertEquals(expectedDerivative, g.getGradient()[0], 0.0);
+    }
+
+    @Test
+    public void testBinaryFunctions() {
+        checkBinary((x, y) -> x.add(y),       (x, y) -> x.add(y),       -5.0, 5.0, 0.0);
+        checkBinary((x, y) -> x.subtract(y),  (x, y) -> x.subtract(y),  -5.0, 5.0, 0.0);
+        checkBinary((x, y) -> x.multiply(y),  (x, y) -> x.multiply(y),  -5.0, 5.0, 1.0e-15);
+        checkBinary((x, y) -> x.divide(y),    (x, y) -> x.divide(y),     0.1, 5.0, 1.0e-14);
+        checkBinary((x, y) -> x.remainder(y), (x, y) -> x.remainder(y),  0.1, 5.0, 1.0e-14);
+        checkBinary((x, y) -> x.copySign(y),  (x, y) -> x.copySign(y),  -5.0, 5.0, 0.0);
+        checkBinary((x, y) -> x.hypot(y),     (x, y) -> x.hypot(y),     -5.0, 5.0, 1.0e-15);
+        checkBinary((x, y) -> x.pow(y),       (x, y) -> x.pow(y),        0.1, 5.0, 1.0e-14);
+        checkBinary((x, y) -> x.atan2(y),     (x, y) -> x.atan2(y),     -5.0, 5.0, 1.0e-15);
+        // linear combinations gradients are computed with plain sums, so they are less accurate
+        checkBinary((x, y) -> x.linearCombination(x, y, y, x),
+                    (x, y) -> x.linearCombination(x, y, y, x),          -5.0, 5.0, 1.0e-13);
+        checkBinary((x, y) -> x.linearCombination(2.0, x, -3.0, y),
+                    (x, y) -> x.linearCombination(2.0, x, -3.0, y),     -5.0, 5.0, 1.0e-13);
+        checkBinary((x, y) -> x.linearCombination(x, y, y, x, x, x),
+                    (x, y) -> x.linearCombination(x, y, y, x, x, x),    -5.0, 5.0, 1.0e-13);
+        checkBinary((x, y) -> x.linearCombination(2.0, x, -3.0, y, 0.5, x),
+                    (x, y) -> x.linearCombination(2.0, x, -3.0, y, 0.5, x), -5.0, 5.0, 1.0e-13);
+        checkBinary((x, y) -> x.linearCombination(x, y, y, x, x, x, y, y),
+                    (x, y) -> x.linearCombination(x, y, y, x, x, x, y, y), -5.0, 5.0, 1.0e-13);
+        checkBinary((x, y) -> x.linearCombination(2.0, x, -3.0, y, 0.5, x, 0.25, y),
+                    (x, y) -> x.linearCombination(2.0, x, -3.0, y, 0.5, x, 0.25, y), -5.0, 5.0, 1.0e-13);
+        checkBinary((x, y) -> x.linearCombination(new Gradient[] { x, y, x }, new Gradient[] { y, y, x }),
+                    (x, y) -> x.linearCombination(new DerivativeStructure[] { x, y, x },
+                                                  new DerivativeStructure[] { y, y, x }), -5.0, 5.0, 1.0e-13);
+        checkBinary((x, y) -> x.linearCombination(new double[] { 1.5, -2.0, 3.0 }, new Gradient[] { y, x, x }),
+                    (x, y) -> x.linearCombination(new double[] { 1.5, -2.0, 3.0 },
+                                                  new DerivativeStructure[] { y, x, x }), -5.0, 5.0, 1.0e-13);
+    }
+
+    @Test
+    public void testFieldVector() {
+        final FieldVector3D<Gradient> p =
+                new FieldVector3D<Gradient>(Gradient.variable(3, 0, 7.0e6),
+                                            Gradient.variable(3, 1, -1.5e6),
+                                            Gradient.variable(3, 2, 2.0e5));
+        final FieldVector3D<DerivativeStructure> pDS =
+                new FieldVector3D<DerivativeStructure>(new DerivativeStructure(3, 1, 0, 7.0e6),
+                                                       new DerivativeStructure(3, 1, 1, -1.5e6),
+                                                       new DerivativeStructure(3, 1, 2, 2.0e5));
+        final Gradient r2 = p.getNormSq();
+        final FieldVector3D<Gradient> a = new FieldVector3D<Gradient>(r2.sqrt().multiply(r2).reciprocal().multiply(-Constants.EIGEN5C_EARTH_MU), p);
+        final DerivativeStructure r2DS = pDS.getNormSq();
+        final FieldVector3D<DerivativeStructure> aDS =
+                new FieldVector3D<DerivativeStructure>(r2DS.sqrt().multiply(r2DS).reciprocal().multiply(-Constants.EIGEN5C_EARTH_MU), pDS);
+        checkEquals(aDS.getX(), a.getX(), 1.0e-15);
+        checkEquals(aDS.getY(), a.getY(), 1.0e-15);
+        checkEquals(aDS.getZ(), a.getZ(), 1.0e-15);
+    }
+
+    @Test
+    public void testEqualsHashCode() {
+        final Gradient g1 = new Gradient(1.0, 2.0, 3.0);
+        final Gradient g2 = new Gradient(1.0, 2.0, 3.0);
+        final Gradient g3 = new Gradient(1.0, 2.0, 4.0);
+        Assert.assertTrue(g1.equals(g1));
+        Assert.assertTrue(g1.equals(g2));
+        Assert.assertFalse(g1.equals(g3));
+        Assert.assertFalse(g1.equals("g1"));
+        Assert.assertEquals(g1.hashCode(), g2.hashCode());
+        Assert.assertEquals(1L, g1.round());
+    }
+
+    @Test
+    public void testSerialization() throws IOException, ClassNotFoundException {
+        final Gradient g = new Gradient(1.0, 2.0, 3.0);
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        ObjectOutputStream    oos = new ObjectOutputStream(bos);
+        oos.writeObject(g);
+        ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bos.toByteArray()));
+        Assert.assertEquals(g, ois.readObject());
+    }
+
+    private void checkUnary(final Function<Gradient, Gradient> f,
+                            final Function<DerivativeStructure, DerivativeStructure> fDS,
+                            final double min, final double max, final double tol) {
+        final RandomGenerator random = new Well19937a(0x4d5ea3c8f2a71e09l);
+        for (int k = 0; k < 100; ++k) {
+            final double x = min + (max - min) * random.nextDouble();
+            final double[] dx = new double[] { random.nextDouble(), random.nextDouble() - 0.5, 0.0, 1.0 };
+            checkEquals(fDS.apply(new Gradient(x, dx).toDerivativeStructure()), f.apply(new Gradient(x, dx)), tol);
+        }
+    }
+
+    private void checkBinary(final BiFunction<Gradient, Gradient, Gradient> f,
+                             final BiFunction<DerivativeStructure, DerivativeStructure, DerivativeStructure> fDS,
+                             final double min, final double max, final double tol) {
+        final RandomGenerator random = new Well19937a(0x2f3ac5e8b4d9712cl);
+        for (int k = 0; k < 100; ++k) {
+            final Gradient x = new Gradient(min + (max - min) * random.nextDouble(),
+                                            random.nextDouble(), random.nextDouble() - 0.5, 1.0);
+            final Gradient y = new Gradient(min + (max - min) * random.nextDouble(),
+                                            random.nextDouble() - 0.5, 0.0, random.nextDouble());
+            checkEquals(fDS.apply(x.toDerivativeStructure(), y.toDerivativeStructure()), f.apply(x, y), tol);
+        }
+    }
+
+    private void checkEquals(final DerivativeStructure expected, final Gradient g, final double tol) {
+        final double[] all = expected.getAllDerivatives();
+        Assert.assertEquals(all[0], g.getValue(), tol * FastMath.abs(all[0]));
+        for (int i = 1; i < all.length; ++i) {
+            Assert.assertEquals(all[i], g.getPartialDerivative(i - 1), tol * FastMath.max(1.0, FastMath.abs(all[i])));
+        }
+    }
+
+}
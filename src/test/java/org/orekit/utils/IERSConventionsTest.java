@@ -17,6 +17,9 @@
 package org.orekit.utils;
 
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.hipparchus.analysis.UnivariateFunction;
 import org.hipparchus.analysis.differentiation.DerivativeStructure;
 import org.hipparchus.analysis.differentiation.FiniteDifferencesDifferentiator;
@@ -616,6 +619,36 @@ public class IERSConventionsTest {
         }
     }
 
+    @Test
+    public void testBulkNutation() throws OrekitException {
+        for (final IERSConventions conventions : IERSConventions.values()) {
+            checkBulk(conventions.getNutationFunction());
+        }
+    }
+
+    @Test
+    public void testBulkXYSpXY2() throws OrekitException {
+        for (final IERSConventions conventions : IERSConventions.values()) {
+            checkBulk(conventions.getXYSpXY2Function());
+        }
+    }
+
+    private void checkBulk(final TimeFunction<double[]> function) {
+        final List<AbsoluteDate> dates = new ArrayList<AbsoluteDate>();
+        for (double dt = -10 * Constants.JULIAN_YEAR; dt < 10 * Constants.JULIAN_YEAR; dt += 17.25 * Constants.JULIAN_DAY) {
+            dates.add(new AbsoluteDate(AbsoluteDate.J2000_EPOCH, dt));
+        }
+        final List<double[]> bulk = function.value(dates);
+        Assert.assertEquals(dates.size(), bulk.size());
+        for (int i = 0; i < dates.size(); ++i) {
+            final double[] single = function.value(dates.get(i));
+            Assert.assertEquals(single.length, bulk.get(i).length);
+            for (int j = 0; j < single.length; ++j) {
+                Assert.assertEquals(single[j], bulk.get(i)[j], 0.0);
+            }
+        }
+    }
+
     @Test
     public void testIAU1994ResolutionC7Discontinuity() throws OrekitException {
         TimeFunction<double[]> nutation = IERSConventions.IERS_1996.getNutationFunction();
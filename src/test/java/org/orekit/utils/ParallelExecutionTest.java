@@ -0,0 +1,136 @@
+/* Copyright 2002-2016 CS Systèmes d'Information
+ * Licensed to CS Systèmes d'Information (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.utils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.orekit.errors.OrekitException;
+
+public class ParallelExecutionTest {
+
+    @Test
+    public void testResultsOrder() throws OrekitException {
+        final List<Callable<Integer>> tasks = new ArrayList<Callable<Integer>>();
+        for (int i = 0; i < 20; ++i) {
+            final int index = i;
+            tasks.add(() -> {
+                Thread.sleep(20 - index);
+                return index * index;
+            });
+        }
+        final List<Integer> results = ParallelExecution.invokeAll(executor, tasks);
+        Assert.assertEquals(tasks.size(), results.size());
+        for (int i = 0; i < results.size(); ++i) {
+            Assert.assertEquals(i * i, results.get(i).intValue());
+        }
+    }
+
+    @Test
+    public void testOrekitExceptionCancelsRemainingTasks() throws InterruptedException {
+        final OrekitException failure = new OrekitException(LocalizedCoreFormats.SIMPLE_MESSAGE, "boom");
+        final CountDownLatch started   = new CountDownLatch(1);
+        final CountDownLatch cancelled = new CountDownLatch(1);
+        final List<Callable<Integer>> tasks = new ArrayList<Callable<Integer>>();
+        tasks.add(() -> {
+            started.await();
+            throw failure;
+        });
+        tasks.add(() -> {
+            started.countDown();
+            try {
+                Thread.sleep(60000);
+            } catch (InterruptedException ie) {
+                cancelled.countDown();
+            }
+            return 0;
+        });
+        try {
+            ParallelExecution.invokeAll(executor, tasks);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertSame(failure, oe);
+        }
+        Assert.assertTrue(cancelled.await(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testRuntimeException() throws OrekitException {
+        final IllegalStateException failure = new IllegalStateException("boom");
+        final Future<Integer> future = executor.submit(() -> {
+            throw failure;
+        });
+        try {
+            ParallelExecution.get(future);
+            Assert.fail("an exception should have been thrown");
+        } catch (IllegalStateException ise) {
+            Assert.assertSame(failure, ise);
+        }
+    }
+
+    @Test
+    public void testCheckedException() {
+        final IOException failure = new IOException("boom");
+        final Future<Integer> future = executor.submit(() -> {
+            throw failure;
+        });
+        try {
+            ParallelExecution.get(future);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertSame(failure, oe.getCause());
+            Assert.assertEquals("boom", oe.getMessage());
+        }
+    }
+
+    @Test
+    public void testCancelAllIgnoresNull() {
+        final List<Future<Integer>> futures = new ArrayList<Future<Integer>>();
+        futures.add(null);
+        futures.add(executor.submit(() -> {
+            Thread.sleep(60000);
+            return 0;
+        }));
+        ParallelExecution.cancelAll(futures);
+        Assert.assertTrue(futures.get(1).isCancelled());
+    }
+
+    @Before
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private ExecutorService executor;
+
+}